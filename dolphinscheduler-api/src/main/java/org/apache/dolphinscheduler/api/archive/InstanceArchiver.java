@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.archive;
+
+import org.apache.dolphinscheduler.api.configuration.ApiConfig;
+import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.repository.InstanceArchiveDao;
+import org.apache.dolphinscheduler.registry.api.RegistryClient;
+import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Move the finished workflow instances which end before the retention, together with their task instances, into the
+ * archive tables, and delete the stale error commands.
+ * <p>
+ * Each round moves at most {@code maxBatchesPerRound} batches, and sleeps {@code batchInterval} between two batches,
+ * so that the archival will not hold the locks of the hot tables for a long time. The instances in the refresh window
+ * of the state statistics are never archived, otherwise they will be missed when the buckets are recounted.
+ * <p>
+ * The archival runs on only one api server at the same time, guarded by the registry lock.
+ */
+@Slf4j
+@Component
+public class InstanceArchiver extends BaseDaemonThread {
+
+    @Autowired
+    private ApiConfig apiConfig;
+
+    @Autowired
+    private InstanceArchiveDao instanceArchiveDao;
+
+    @Autowired
+    private RegistryClient registryClient;
+
+    private volatile boolean flag = true;
+
+    public InstanceArchiver() {
+        super("InstanceArchiver");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void onApplicationReady() {
+        if (!apiConfig.getArchive().isEnabled()) {
+            return;
+        }
+        log.info("InstanceArchiver starting...");
+        flag = true;
+        super.start();
+        log.info("InstanceArchiver started...");
+    }
+
+    @Override
+    public void run() {
+        while (flag) {
+            try {
+                registryClient.getLock(RegistryNodeType.API_INSTANCE_ARCHIVE_LOCK.getRegistryPath());
+                try {
+                    StopWatch archiveCost = StopWatch.createStarted();
+                    int archivedCount = archiveWorkflowInstances();
+                    int purgedCount = purgeErrorCommands();
+                    log.info("InstanceArchiver archived {} workflow instances, purged {} error commands, cost: {}/ms",
+                            archivedCount, purgedCount, archiveCost.getTime());
+                } finally {
+                    registryClient.releaseLock(RegistryNodeType.API_INSTANCE_ARCHIVE_LOCK.getRegistryPath());
+                }
+            } catch (Throwable e) {
+                log.error("InstanceArchiver error", e);
+            } finally {
+                ThreadUtils.sleep(apiConfig.getArchive().getCheckInterval().toMillis());
+            }
+        }
+    }
+
+    int archiveWorkflowInstances() {
+        final ApiConfig.ArchiveConfiguration archiveConfig = apiConfig.getArchive();
+        final Date archiveBefore = new Date(System.currentTimeMillis() - getInstanceRetention().toMillis());
+        int archivedCount = 0;
+        for (int batch = 0; batch < archiveConfig.getMaxBatchesPerRound() && flag; batch++) {
+            final List<Integer> workflowInstanceIds =
+                    instanceArchiveDao.queryArchivableWorkflowInstanceIds(archiveBefore, archiveConfig.getBatchSize());
+            if (workflowInstanceIds.isEmpty()) {
+                break;
+            }
+            archivedCount += instanceArchiveDao.archiveWorkflowInstances(workflowInstanceIds);
+            if (workflowInstanceIds.size() < archiveConfig.getBatchSize()) {
+                break;
+            }
+            ThreadUtils.sleep(archiveConfig.getBatchInterval().toMillis());
+        }
+        return archivedCount;
+    }
+
+    int purgeErrorCommands() {
+        final ApiConfig.ArchiveConfiguration archiveConfig = apiConfig.getArchive();
+        final Date purgeBefore =
+                new Date(System.currentTimeMillis() - archiveConfig.getErrorCommandRetention().toMillis());
+        int purgedCount = 0;
+        for (int batch = 0; batch < archiveConfig.getMaxBatchesPerRound() && flag; batch++) {
+            final int deletedCount = instanceArchiveDao.purgeErrorCommands(purgeBefore, archiveConfig.getBatchSize());
+            purgedCount += deletedCount;
+            if (deletedCount < archiveConfig.getBatchSize()) {
+                break;
+            }
+            ThreadUtils.sleep(archiveConfig.getBatchInterval().toMillis());
+        }
+        return purgedCount;
+    }
+
+    private Duration getInstanceRetention() {
+        final Duration retention = apiConfig.getArchive().getRetention();
+        if (!apiConfig.getStatistics().isEnabled()) {
+            return retention;
+        }
+        // Keep one more bucket, the refresh window starts from the floor of the bucket
+        final Duration statisticsRefreshWindow = apiConfig.getStatistics().getRefreshWindow().plusHours(1);
+        return retention.compareTo(statisticsRefreshWindow) > 0 ? retention : statisticsRefreshWindow;
+    }
+
+    @PreDestroy
+    public void close() {
+        flag = false;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.cache;
+
+import org.apache.dolphinscheduler.dao.entity.AccessToken;
+import org.apache.dolphinscheduler.dao.entity.DatasourceUser;
+import org.apache.dolphinscheduler.dao.entity.K8sNamespaceUser;
+import org.apache.dolphinscheduler.dao.entity.ProjectUser;
+import org.apache.dolphinscheduler.dao.entity.Session;
+import org.apache.dolphinscheduler.dao.entity.User;
+import org.apache.dolphinscheduler.dao.mapper.AccessTokenMapper;
+import org.apache.dolphinscheduler.dao.mapper.AlertGroupMapper;
+import org.apache.dolphinscheduler.dao.mapper.AlertPluginInstanceMapper;
+import org.apache.dolphinscheduler.dao.mapper.DataSourceMapper;
+import org.apache.dolphinscheduler.dao.mapper.DataSourceUserMapper;
+import org.apache.dolphinscheduler.dao.mapper.EnvironmentMapper;
+import org.apache.dolphinscheduler.dao.mapper.K8sNamespaceMapper;
+import org.apache.dolphinscheduler.dao.mapper.K8sNamespaceUserMapper;
+import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
+import org.apache.dolphinscheduler.dao.mapper.ProjectUserMapper;
+import org.apache.dolphinscheduler.dao.mapper.QueueMapper;
+import org.apache.dolphinscheduler.dao.mapper.SessionMapper;
+import org.apache.dolphinscheduler.dao.mapper.TaskGroupMapper;
+import org.apache.dolphinscheduler.dao.mapper.TenantMapper;
+import org.apache.dolphinscheduler.dao.mapper.UserMapper;
+import org.apache.dolphinscheduler.dao.mapper.WorkerGroupMapper;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+
+/**
+ * Invalidate the api cache once the tables which the cached data is loaded from are changed.
+ * <p>
+ * Only the entries of the affected user are invalidated if the user can be told from the parameter of the statement,
+ * e.g. the entity or the {@code userId} param, otherwise the whole cache of the related type is invalidated, e.g. a
+ * project is updated which might be authorized to many users.
+ * <p>
+ * The absent principals are never cached, so inserting a user, a token or a session doesn't invalidate any principal.
+ */
+@Component
+@Intercepts({@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})})
+public class ApiCacheInvalidationInterceptor implements Interceptor {
+
+    private static final Map<String, Set<ApiCacheType>> MAPPER_CACHE_TYPES = new HashMap<>();
+
+    static {
+        registerMapper(ApiCacheType.PRINCIPAL, UserMapper.class, AccessTokenMapper.class, SessionMapper.class);
+        registerMapper(ApiCacheType.AUTHORIZED_RESOURCE,
+                UserMapper.class,
+                AccessTokenMapper.class,
+                AlertGroupMapper.class,
+                AlertPluginInstanceMapper.class,
+                DataSourceMapper.class,
+                DataSourceUserMapper.class,
+                EnvironmentMapper.class,
+                K8sNamespaceMapper.class,
+                K8sNamespaceUserMapper.class,
+                ProjectMapper.class,
+                ProjectUserMapper.class,
+                QueueMapper.class,
+                TaskGroupMapper.class,
+                TenantMapper.class,
+                WorkerGroupMapper.class);
+    }
+
+    private final ApiCacheInvalidator apiCacheInvalidator;
+
+    public ApiCacheInvalidationInterceptor(@Lazy ApiCacheInvalidator apiCacheInvalidator) {
+        this.apiCacheInvalidator = apiCacheInvalidator;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+        String mapperName = StringUtils.substringBeforeLast(mappedStatement.getId(), ".");
+        Set<ApiCacheType> apiCacheTypes = MAPPER_CACHE_TYPES.getOrDefault(mapperName, Collections.emptySet());
+        if (apiCacheTypes.isEmpty()) {
+            return result;
+        }
+        Integer userId = getAffectedUserId(mapperName, invocation.getArgs()[1]);
+        for (ApiCacheType apiCacheType : apiCacheTypes) {
+            if (apiCacheType == ApiCacheType.PRINCIPAL
+                    && mappedStatement.getSqlCommandType() == SqlCommandType.INSERT) {
+                continue;
+            }
+            if (userId == null) {
+                apiCacheInvalidator.invalidate(apiCacheType);
+            } else {
+                apiCacheInvalidator.invalidate(apiCacheType, userId);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the id of the user whose cached data is affected by the statement, null if it's unknown.
+     */
+    @Nullable
+    static Integer getAffectedUserId(String mapperName, @Nullable Object parameter) {
+        if (parameter instanceof Map) {
+            Map<?, ?> paramMap = (Map<?, ?>) parameter;
+            if (paramMap.containsKey("userId")) {
+                return toUserId(paramMap.get("userId"));
+            }
+            // updateById(entity) of mybatis-plus
+            if (paramMap.containsKey(Constants.ENTITY)) {
+                return getAffectedUserId(mapperName, paramMap.get(Constants.ENTITY));
+            }
+            // update(entity, wrapper) or delete(wrapper) of mybatis-plus, only the conditions set by the entity of
+            // the wrapper can be told
+            if (paramMap.containsKey(Constants.WRAPPER) && paramMap.get(Constants.WRAPPER) instanceof Wrapper) {
+                return getAffectedUserId(mapperName, ((Wrapper<?>) paramMap.get(Constants.WRAPPER)).getEntity());
+            }
+            return null;
+        }
+        if (parameter instanceof User) {
+            return toUserId(((User) parameter).getId());
+        }
+        if (parameter instanceof Session) {
+            return toUserId(((Session) parameter).getUserId());
+        }
+        if (parameter instanceof AccessToken) {
+            return toUserId(((AccessToken) parameter).getUserId());
+        }
+        if (parameter instanceof ProjectUser) {
+            return toUserId(((ProjectUser) parameter).getUserId());
+        }
+        if (parameter instanceof DatasourceUser) {
+            return toUserId(((DatasourceUser) parameter).getUserId());
+        }
+        if (parameter instanceof K8sNamespaceUser) {
+            return toUserId(((K8sNamespaceUser) parameter).getUserId());
+        }
+        // The id passed to deleteById of the user mapper
+        if (UserMapper.class.getName().equals(mapperName)) {
+            return toUserId(parameter);
+        }
+        return null;
+    }
+
+    @Nullable
+    private static Integer toUserId(@Nullable Object userId) {
+        // The userId of an entity which is not set is 0
+        if (userId instanceof Integer && (Integer) userId > 0) {
+            return (Integer) userId;
+        }
+        return null;
+    }
+
+    private static void registerMapper(ApiCacheType apiCacheType, Class<?>... mappers) {
+        Arrays.stream(mappers).forEach(mapper -> MAPPER_CACHE_TYPES
+                .computeIfAbsent(mapper.getName(), key -> EnumSet.noneOf(ApiCacheType.class))
+                .add(apiCacheType));
+    }
+}
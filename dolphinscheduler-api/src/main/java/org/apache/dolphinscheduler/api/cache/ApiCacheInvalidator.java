@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.cache;
+
+import org.apache.dolphinscheduler.registry.api.Event;
+import org.apache.dolphinscheduler.registry.api.RegistryClient;
+import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.UUID;
+
+import javax.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Invalidate the {@link ApiCacheManager} of the current api server, and broadcast the invalidation to the other api
+ * servers through the registry.
+ * <p>
+ * Each invalidation writes a new value into {@code /cache/api-server/{cacheType}}, or
+ * {@code /cache/api-server/{cacheType}-{userId}} if only the entries of a user are invalidated, every api server
+ * subscribes the path and invalidates its local cache once the value is changed by others.
+ */
+@Slf4j
+@Component
+public class ApiCacheInvalidator {
+
+    private static final String SEPARATOR = "@";
+
+    private static final String USER_SEPARATOR = "-";
+
+    private final String apiServerId = UUID.randomUUID().toString();
+
+    @Autowired
+    private ApiCacheManager apiCacheManager;
+
+    @Autowired
+    private RegistryClient registryClient;
+
+    @PostConstruct
+    public void init() {
+        if (!apiCacheManager.isEnabled()) {
+            return;
+        }
+        registryClient.subscribe(RegistryNodeType.API_CACHE_INVALIDATION.getRegistryPath(), this::onEvent);
+        log.info("Subscribed the api cache invalidation events, api server id: {}", apiServerId);
+    }
+
+    /**
+     * Invalidate the cache, if there is an active transaction, the cache will be invalidated again after the
+     * transaction completed, so the data loaded by other requests before the commit will not be kept.
+     */
+    public void invalidate(ApiCacheType apiCacheType) {
+        invalidate(apiCacheType, null);
+    }
+
+    /**
+     * Invalidate the entries of the given user, or the whole cache if the user is null.
+     */
+    public void invalidate(ApiCacheType apiCacheType, Integer userId) {
+        if (!apiCacheManager.isEnabled()) {
+            return;
+        }
+        invalidateLocally(apiCacheType, userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateLocally(apiCacheType, userId);
+                    broadcast(apiCacheType, userId);
+                }
+            });
+        } else {
+            broadcast(apiCacheType, userId);
+        }
+    }
+
+    private void invalidateLocally(ApiCacheType apiCacheType, Integer userId) {
+        if (userId == null) {
+            apiCacheManager.invalidate(apiCacheType);
+        } else {
+            apiCacheManager.invalidate(apiCacheType, userId);
+        }
+    }
+
+    private void broadcast(ApiCacheType apiCacheType, Integer userId) {
+        try {
+            registryClient.persist(getRegistryKey(apiCacheType, userId),
+                    apiServerId + SEPARATOR + System.currentTimeMillis());
+        } catch (Exception e) {
+            // The other api servers will still drop the stale entries once they expire
+            log.error("Broadcast the invalidation of api cache: {}, user: {} error", apiCacheType, userId, e);
+        }
+    }
+
+    private void onEvent(Event event) {
+        if (event.type() == Event.Type.REMOVE) {
+            return;
+        }
+        if (StringUtils.startsWith(event.data(), apiServerId + SEPARATOR)) {
+            // The invalidation is triggered by the current api server
+            return;
+        }
+        String key = StringUtils.substringAfterLast(event.path(), "/");
+        String cacheType = StringUtils.substringBefore(key, USER_SEPARATOR);
+        String userId = StringUtils.substringAfter(key, USER_SEPARATOR);
+        for (ApiCacheType apiCacheType : ApiCacheType.values()) {
+            if (!apiCacheType.name().equals(cacheType)) {
+                continue;
+            }
+            if (StringUtils.isEmpty(userId)) {
+                invalidateLocally(apiCacheType, null);
+                return;
+            }
+            if (StringUtils.isNumeric(userId)) {
+                invalidateLocally(apiCacheType, Integer.valueOf(userId));
+                return;
+            }
+        }
+        log.warn("Unknown api cache invalidation event: {}", event);
+    }
+
+    private String getRegistryKey(ApiCacheType apiCacheType, Integer userId) {
+        String key = RegistryNodeType.API_CACHE_INVALIDATION.getRegistryPath() + "/" + apiCacheType.name();
+        return userId == null ? key : key + USER_SEPARATOR + userId;
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.cache;
+
+import org.apache.dolphinscheduler.api.configuration.ApiConfig;
+import org.apache.dolphinscheduler.common.enums.AuthorizationType;
+import org.apache.dolphinscheduler.dao.entity.AccessToken;
+import org.apache.dolphinscheduler.dao.entity.User;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+
+/**
+ * The cache of the authenticated users and the authorized resources on the api server request path.
+ * <p>
+ * The entries expire after the configured time, and are invalidated by {@link ApiCacheInvalidator} once the related
+ * tables are changed, either the entries of the affected user or the whole cache of a type. If the cache is disabled,
+ * all the lookups go to the loader directly.
+ */
+@Slf4j
+@Component
+public class ApiCacheManager {
+
+    private final boolean enabled;
+
+    private final Cache<PrincipalKey, CachedPrincipal> principalCache;
+
+    private final Cache<AuthorizedResourceKey, Set<?>> authorizedResourceCache;
+
+    /**
+     * The generation of each cache type is increased on every invalidation, a loaded value is only put into the
+     * cache if no invalidation happened during the loading, so a stale value will never overwrite the invalidation.
+     */
+    private final Map<ApiCacheType, AtomicLong> generations = new EnumMap<>(ApiCacheType.class);
+
+    public ApiCacheManager(ApiConfig apiConfig) {
+        ApiConfig.CacheConfiguration cacheConfiguration = apiConfig.getCache();
+        this.enabled = cacheConfiguration.isEnabled();
+        this.principalCache = CacheBuilder.newBuilder()
+                .maximumSize(cacheConfiguration.getMaximumSize())
+                .expireAfterWrite(cacheConfiguration.getPrincipalExpireTime().toMillis(), TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        this.authorizedResourceCache = CacheBuilder.newBuilder()
+                .maximumSize(cacheConfiguration.getMaximumSize())
+                .expireAfterWrite(cacheConfiguration.getAuthorizedResourceExpireTime().toMillis(),
+                        TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        for (ApiCacheType apiCacheType : ApiCacheType.values()) {
+            generations.put(apiCacheType, new AtomicLong());
+        }
+        if (enabled) {
+            GuavaCacheMetrics.monitor(Metrics.globalRegistry, principalCache, "ds.api.cache.principal");
+            GuavaCacheMetrics.monitor(Metrics.globalRegistry, authorizedResourceCache,
+                    "ds.api.cache.authorized.resource");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the user of the token, null if the token doesn't exist or has expired.
+     * <p> The expire time of the token is cached with the user and checked on every hit, so the cached user never
+     * outlives the token.
+     */
+    public User getUserByToken(String token, Supplier<AccessToken> accessTokenLoader, IntFunction<User> userLoader) {
+        final Supplier<CachedPrincipal> principalLoader = () -> {
+            AccessToken accessToken = accessTokenLoader.get();
+            if (accessToken == null || accessToken.getExpireTime() == null
+                    || accessToken.getExpireTime().getTime() <= System.currentTimeMillis()) {
+                return null;
+            }
+            User user = userLoader.apply(accessToken.getUserId());
+            return user == null ? null : new CachedPrincipal(user, accessToken.getExpireTime().getTime());
+        };
+        if (!enabled) {
+            CachedPrincipal cachedPrincipal = principalLoader.get();
+            return cachedPrincipal == null ? null : cachedPrincipal.user;
+        }
+        return loadPrincipal(new PrincipalKey(PrincipalType.TOKEN, token), principalLoader);
+    }
+
+    public User getUserBySession(String sessionId, Supplier<User> userLoader) {
+        return getPrincipal(new PrincipalKey(PrincipalType.SESSION, sessionId), userLoader);
+    }
+
+    public User getUserById(Integer userId, Supplier<User> userLoader) {
+        return getPrincipal(new PrincipalKey(PrincipalType.USER_ID, String.valueOf(userId)), userLoader);
+    }
+
+    /**
+     * Get the authorized resource ids, the returned set is a copy which can be modified by the caller.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Set<T> getAuthorizedResourceIds(AuthorizationType authorizationType, int userId,
+                                               Supplier<Set<T>> resourceIdsLoader) {
+        if (!enabled) {
+            return resourceIdsLoader.get();
+        }
+        AuthorizedResourceKey key = new AuthorizedResourceKey(authorizationType, userId);
+        Set<?> resourceIds = authorizedResourceCache.getIfPresent(key);
+        if (resourceIds == null) {
+            resourceIds = load(ApiCacheType.AUTHORIZED_RESOURCE, authorizedResourceCache, key, resourceIdsLoader);
+        }
+        return resourceIds == null ? null : new HashSet<>((Set<T>) resourceIds);
+    }
+
+    public void invalidateAuthorizedResourceIds(AuthorizationType authorizationType, int userId) {
+        authorizedResourceCache.invalidate(new AuthorizedResourceKey(authorizationType, userId));
+    }
+
+    /**
+     * Invalidate the entries of the given user in the cache, the authorized resources cached for user 0 are also
+     * invalidated, since they are all the resources listed for the admin users.
+     */
+    public void invalidate(ApiCacheType apiCacheType, int userId) {
+        generations.get(apiCacheType).incrementAndGet();
+        switch (apiCacheType) {
+            case PRINCIPAL:
+                principalCache.asMap().values()
+                        .removeIf(cachedPrincipal -> Objects.equals(cachedPrincipal.user.getId(), userId));
+                break;
+            case AUTHORIZED_RESOURCE:
+                authorizedResourceCache.asMap().keySet().removeIf(key -> key.userId == userId || key.userId == 0);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported api cache type: " + apiCacheType);
+        }
+        log.debug("Invalidated the api cache: {} of user: {}", apiCacheType, userId);
+    }
+
+    public void invalidate(ApiCacheType apiCacheType) {
+        generations.get(apiCacheType).incrementAndGet();
+        switch (apiCacheType) {
+            case PRINCIPAL:
+                principalCache.invalidateAll();
+                break;
+            case AUTHORIZED_RESOURCE:
+                authorizedResourceCache.invalidateAll();
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported api cache type: " + apiCacheType);
+        }
+        log.debug("Invalidated the api cache: {}", apiCacheType);
+    }
+
+    private User getPrincipal(PrincipalKey key, Supplier<User> userLoader) {
+        if (!enabled) {
+            return userLoader.get();
+        }
+        return loadPrincipal(key, () -> {
+            User user = userLoader.get();
+            return user == null ? null : new CachedPrincipal(user, Long.MAX_VALUE);
+        });
+    }
+
+    private User loadPrincipal(PrincipalKey key, Supplier<CachedPrincipal> principalLoader) {
+        CachedPrincipal cachedPrincipal = principalCache.getIfPresent(key);
+        if (cachedPrincipal != null && cachedPrincipal.expireTime <= System.currentTimeMillis()) {
+            principalCache.invalidate(key);
+            cachedPrincipal = null;
+        }
+        if (cachedPrincipal == null) {
+            cachedPrincipal = load(ApiCacheType.PRINCIPAL, principalCache, key, principalLoader);
+        }
+        return cachedPrincipal == null ? null : cachedPrincipal.user;
+    }
+
+    private <K, V> V load(ApiCacheType apiCacheType, Cache<K, ? super V> cache, K key, Supplier<V> loader) {
+        long generation = generations.get(apiCacheType).get();
+        V value = loader.get();
+        // Do not cache the absent value, e.g. an unknown token, otherwise a new created one will be rejected
+        if (value != null) {
+            cache.put(key, value);
+            if (generation != generations.get(apiCacheType).get()) {
+                // The cache has been invalidated during the loading, the loaded value might be stale
+                cache.invalidate(key);
+            }
+        }
+        return value;
+    }
+
+    private enum PrincipalType {
+        TOKEN,
+        SESSION,
+        USER_ID,
+    }
+
+    @AllArgsConstructor
+    private static class CachedPrincipal {
+
+        private final User user;
+
+        /**
+         * The time in millis after which the principal is no longer valid, e.g. the expire time of the token.
+         */
+        private final long expireTime;
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class PrincipalKey {
+
+        private final PrincipalType principalType;
+
+        private final String principal;
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class AuthorizedResourceKey {
+
+        private final AuthorizationType authorizationType;
+
+        private final int userId;
+    }
+}
@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.api.configuration;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -44,6 +45,14 @@ public class ApiConfig implements Validator {
 
     private PythonGatewayConfiguration pythonGateway = new PythonGatewayConfiguration();
 
+    private CacheConfiguration cache = new CacheConfiguration();
+
+    private StatisticsConfiguration statistics = new StatisticsConfiguration();
+
+    private ArchiveConfiguration archive = new ArchiveConfiguration();
+
+    private LogTailConfiguration logTail = new LogTailConfiguration();
+
     @Override
     public boolean supports(Class<?> clazz) {
         return ApiConfig.class.isAssignableFrom(clazz);
@@ -58,6 +67,10 @@ public class ApiConfig implements Validator {
         log.info("API config: auditEnable -> {} ", auditEnable);
         log.info("API config: trafficControl -> {} ", trafficControl);
         log.info("API config: pythonGateway -> {} ", pythonGateway);
+        log.info("API config: cache -> {} ", cache);
+        log.info("API config: statistics -> {} ", statistics);
+        log.info("API config: archive -> {} ", archive);
+        log.info("API config: logTail -> {} ", logTail);
     }
 
     @Data
@@ -87,4 +100,52 @@ public class ApiConfig implements Validator {
         private String authToken = "jwUDzpLsNKEFER4*a8gruBH_GsAurNxU7A@Xc";
     }
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CacheConfiguration {
+
+        private boolean enabled = false;
+        private int maximumSize = 10000;
+        private Duration principalExpireTime = Duration.ofMinutes(1);
+        private Duration authorizedResourceExpireTime = Duration.ofMinutes(5);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StatisticsConfiguration {
+
+        private boolean enabled = false;
+        private Duration compactionInterval = Duration.ofMinutes(1);
+        private Duration refreshWindow = Duration.ofDays(1);
+        private int maxCompactBucketsPerRound = 720;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ArchiveConfiguration {
+
+        private boolean enabled = false;
+        private Duration checkInterval = Duration.ofMinutes(10);
+        private Duration retention = Duration.ofDays(30);
+        private Duration errorCommandRetention = Duration.ofDays(30);
+        private int batchSize = 500;
+        private Duration batchInterval = Duration.ofSeconds(1);
+        private int maxBatchesPerRound = 100;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LogTailConfiguration {
+
+        private Duration pollInterval = Duration.ofSeconds(1);
+        private int chunkSize = 64 * 1024;
+        private int maxChunksPerRound = 16;
+        private Duration timeout = Duration.ofMinutes(30);
+        private int tailThreads = 4;
+    }
+
 }
@@ -20,8 +20,10 @@ package org.apache.dolphinscheduler.api.controller;
 import static org.apache.dolphinscheduler.api.enums.Status.BATCH_EXECUTE_WORKFLOW_INSTANCE_ERROR;
 import static org.apache.dolphinscheduler.api.enums.Status.BATCH_START_WORKFLOW_INSTANCE_ERROR;
 import static org.apache.dolphinscheduler.api.enums.Status.EXECUTE_WORKFLOW_INSTANCE_ERROR;
+import static org.apache.dolphinscheduler.api.enums.Status.QUERY_BACKFILL_WORKFLOW_JOB_ERROR;
 import static org.apache.dolphinscheduler.api.enums.Status.START_TASK_INSTANCE_ERROR;
 import static org.apache.dolphinscheduler.api.enums.Status.START_WORKFLOW_INSTANCE_ERROR;
+import static org.apache.dolphinscheduler.api.enums.Status.SUBMIT_BACKFILL_WORKFLOW_JOB_ERROR;
 
 import org.apache.dolphinscheduler.api.audit.OperatorLog;
 import org.apache.dolphinscheduler.api.audit.enums.AuditType;
@@ -30,6 +32,7 @@ import org.apache.dolphinscheduler.api.dto.workflow.WorkflowTriggerRequest;
 import org.apache.dolphinscheduler.api.enums.ExecuteType;
 import org.apache.dolphinscheduler.api.exceptions.ApiException;
 import org.apache.dolphinscheduler.api.exceptions.ServiceException;
+import org.apache.dolphinscheduler.api.executor.workflow.BackfillWorkflowJob;
 import org.apache.dolphinscheduler.api.service.ExecutorService;
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.api.utils.WorkflowUtils;
@@ -56,6 +59,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestAttribute;
@@ -203,6 +207,105 @@ public class ExecutorController extends BaseController {
         }
     }
 
+    /**
+     * backfill workflow in background, used for the backfill with a large range of date
+     *
+     * @param loginUser                 login user
+     * @param workflowDefinitionCode     workflow definition code
+     * @param scheduleTime              backfill time, the same as the scheduleTime of start-workflow-instance
+     * @param expectedParallelismNumber the expected parallelism number when execute complement in parallel mode
+     * @return the backfill job, use the job id to query the progress
+     */
+    @Operation(summary = "submitBackfillWorkflowJob", description = "SUBMIT_BACKFILL_WORKFLOW_JOB_NOTES")
+    @Parameters({
+            @Parameter(name = "workflowDefinitionCode", description = "WORKFLOW_DEFINITION_CODE", required = true, schema = @Schema(implementation = Long.class), example = "100"),
+            @Parameter(name = "scheduleTime", description = "SCHEDULE_TIME", required = true, schema = @Schema(implementation = String.class), example = "2022-04-06 00:00:00,2022-04-06 00:00:00"),
+            @Parameter(name = "failureStrategy", description = "FAILURE_STRATEGY", required = true, schema = @Schema(implementation = FailureStrategy.class)),
+            @Parameter(name = "startNodeList", description = "START_NODE_LIST", schema = @Schema(implementation = String.class)),
+            @Parameter(name = "taskDependType", description = "TASK_DEPEND_TYPE", schema = @Schema(implementation = TaskDependType.class)),
+            @Parameter(name = "warningType", description = "WARNING_TYPE", required = true, schema = @Schema(implementation = WarningType.class)),
+            @Parameter(name = "warningGroupId", description = "WARNING_GROUP_ID", schema = @Schema(implementation = int.class, example = "100")),
+            @Parameter(name = "runMode", description = "RUN_MODE", schema = @Schema(implementation = RunMode.class)),
+            @Parameter(name = "workflowInstancePriority", description = "WORKFLOW_INSTANCE_PRIORITY", required = true, schema = @Schema(implementation = Priority.class)),
+            @Parameter(name = "workerGroup", description = "WORKER_GROUP", schema = @Schema(implementation = String.class, example = "default")),
+            @Parameter(name = "tenantCode", description = "TENANT_CODE", schema = @Schema(implementation = String.class, example = "default")),
+            @Parameter(name = "environmentCode", description = "ENVIRONMENT_CODE", schema = @Schema(implementation = Long.class, example = "-1")),
+            @Parameter(name = "expectedParallelismNumber", description = "EXPECTED_PARALLELISM_NUMBER", schema = @Schema(implementation = int.class, example = "8")),
+            @Parameter(name = "dryRun", description = "DRY_RUN", schema = @Schema(implementation = int.class, example = "0")),
+            @Parameter(name = "testFlag", description = "TEST_FLAG", schema = @Schema(implementation = int.class, example = "0")),
+            @Parameter(name = "complementDependentMode", description = "COMPLEMENT_DEPENDENT_MODE", schema = @Schema(implementation = ComplementDependentMode.class)),
+            @Parameter(name = "allLevelDependent", description = "ALL_LEVEL_DEPENDENT", schema = @Schema(implementation = boolean.class, example = "false")),
+            @Parameter(name = "executionOrder", description = "EXECUTION_ORDER", schema = @Schema(implementation = ExecutionOrder.class))
+    })
+    @PostMapping(value = "backfill-workflow-job")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiException(SUBMIT_BACKFILL_WORKFLOW_JOB_ERROR)
+    @OperatorLog(auditType = AuditType.WORKFLOW_START)
+    public Result<BackfillWorkflowJob> submitBackfillWorkflowJob(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                                                 @RequestParam(value = "workflowDefinitionCode") long workflowDefinitionCode,
+                                                                 @RequestParam(value = "scheduleTime") String scheduleTime,
+                                                                 @RequestParam(value = "failureStrategy") FailureStrategy failureStrategy,
+                                                                 @RequestParam(value = "startNodeList", required = false) String startNodeList,
+                                                                 @RequestParam(value = "taskDependType", required = false, defaultValue = "TASK_POST") TaskDependType taskDependType,
+                                                                 @RequestParam(value = "warningType") WarningType warningType,
+                                                                 @RequestParam(value = "warningGroupId", required = false) Integer warningGroupId,
+                                                                 @RequestParam(value = "runMode", required = false) RunMode runMode,
+                                                                 @RequestParam(value = "workflowInstancePriority", required = false) Priority workflowInstancePriority,
+                                                                 @RequestParam(value = "workerGroup", required = false, defaultValue = "default") String workerGroup,
+                                                                 @RequestParam(value = "tenantCode", required = false, defaultValue = "default") String tenantCode,
+                                                                 @RequestParam(value = "environmentCode", required = false, defaultValue = "-1") Long environmentCode,
+                                                                 @RequestParam(value = "startParams", required = false) String startParams,
+                                                                 @RequestParam(value = "expectedParallelismNumber", required = false) Integer expectedParallelismNumber,
+                                                                 @RequestParam(value = "dryRun", defaultValue = "0", required = false) int dryRun,
+                                                                 @RequestParam(value = "testFlag", defaultValue = "0") int testFlag,
+                                                                 @RequestParam(value = "complementDependentMode", required = false) ComplementDependentMode complementDependentMode,
+                                                                 @RequestParam(value = "allLevelDependent", required = false, defaultValue = "false") boolean allLevelDependent,
+                                                                 @RequestParam(value = "executionOrder", required = false) ExecutionOrder executionOrder) {
+        final WorkflowBackFillRequest workflowBackFillRequest = WorkflowBackFillRequest.builder()
+                .loginUser(loginUser)
+                .workflowDefinitionCode(workflowDefinitionCode)
+                .startNodes(startNodeList)
+                .failureStrategy(failureStrategy)
+                .taskDependType(taskDependType)
+                .execType(CommandType.COMPLEMENT_DATA)
+                .warningType(warningType)
+                .warningGroupId(warningGroupId)
+                .backfillRunMode(runMode)
+                .workflowInstancePriority(workflowInstancePriority)
+                .workerGroup(workerGroup)
+                .tenantCode(tenantCode)
+                .environmentCode(environmentCode)
+                .startParamList(startParams)
+                .dryRun(Flag.of(dryRun))
+                .testFlag(Flag.of(testFlag))
+                .backfillTime(WorkflowUtils.parseBackfillTime(scheduleTime))
+                .expectedParallelismNumber(expectedParallelismNumber)
+                .backfillDependentMode(complementDependentMode)
+                .allLevelDependent(allLevelDependent)
+                .executionOrder(executionOrder)
+                .build();
+        return Result.success(execService.submitBackfillWorkflowJob(workflowBackFillRequest));
+    }
+
+    /**
+     * query the progress of the backfill job
+     *
+     * @param loginUser login user
+     * @param jobId     backfill job id
+     * @return the backfill job
+     */
+    @Operation(summary = "queryBackfillWorkflowJob", description = "QUERY_BACKFILL_WORKFLOW_JOB_NOTES")
+    @Parameters({
+            @Parameter(name = "jobId", description = "BACKFILL_WORKFLOW_JOB_ID", required = true, schema = @Schema(implementation = String.class))
+    })
+    @GetMapping(value = "backfill-workflow-job/{jobId}")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiException(QUERY_BACKFILL_WORKFLOW_JOB_ERROR)
+    public Result<BackfillWorkflowJob> queryBackfillWorkflowJob(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                                                @PathVariable("jobId") String jobId) {
+        return Result.success(execService.queryBackfillWorkflowJob(loginUser, jobId));
+    }
+
     /**
      * batch execute workflow instance
      * If any workflowDefinitionCode cannot be found, the failure information is returned and the status is set to
@@ -34,11 +34,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -82,6 +84,30 @@ public class LoggerController extends BaseController {
         return loggerService.queryLog(loginUser, taskInstanceId, skipNum, limit);
     }
 
+    /**
+     * tail task log, the appended log is pushed by server-sent events, each event id is the byte offset of the log
+     * after it, so the client resumes from the Last-Event-ID once reconnected
+     *
+     * @param loginUser      login user
+     * @param taskInstanceId task instance id
+     * @param offset         the byte offset of the log to tail from
+     * @param lastEventId    the last event id received by the reconnected client
+     * @return sse emitter
+     */
+    @Operation(summary = "tailLog", description = "TAIL_TASK_INSTANCE_LOG_NOTES")
+    @Parameters({
+            @Parameter(name = "taskInstanceId", description = "TASK_ID", required = true, schema = @Schema(implementation = int.class, example = "100")),
+            @Parameter(name = "offset", description = "LOG_OFFSET", schema = @Schema(implementation = long.class, example = "0"))
+    })
+    @GetMapping(value = "/tail")
+    @ApiException(QUERY_TASK_INSTANCE_LOG_ERROR)
+    public SseEmitter tailLog(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                              @RequestParam(value = "taskInstanceId") int taskInstanceId,
+                              @RequestParam(value = "offset", required = false, defaultValue = "0") long offset,
+                              @Parameter(hidden = true) @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return loggerService.tailLog(loginUser, taskInstanceId, lastEventId != null ? lastEventId : offset);
+    }
+
     /**
      * download log file
      *
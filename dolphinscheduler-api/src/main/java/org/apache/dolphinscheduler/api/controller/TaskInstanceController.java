@@ -137,6 +137,77 @@ public class TaskInstanceController extends BaseController {
                 pageSize);
     }
 
+    /**
+     * query task list by cursor, ordered by submit time desc
+     *
+     * @param loginUser login user
+     * @param projectCode project code
+     * @param workflowInstanceId workflow instance id
+     * @param searchVal search value
+     * @param taskName task name
+     * @param stateType state type
+     * @param host host
+     * @param startTime start time
+     * @param endTime end time
+     * @param taskExecuteType task execute type
+     * @param cursor the next cursor returned by the previous page, empty for the first page
+     * @param pageSize page size
+     * @return task list page
+     */
+    @Operation(summary = "queryTaskListByCursor", description = "QUERY_TASK_INSTANCE_LIST_BY_CURSOR_NOTES")
+    @Parameters({
+            @Parameter(name = "workflowInstanceId", description = "WORKFLOW_INSTANCE_ID", schema = @Schema(implementation = int.class, example = "100")),
+            @Parameter(name = "workflowInstanceName", description = "WORKFLOW_INSTANCE_NAME", schema = @Schema(implementation = String.class)),
+            @Parameter(name = "searchVal", description = "SEARCH_VAL", schema = @Schema(implementation = String.class)),
+            @Parameter(name = "taskName", description = "TASK_NAME", schema = @Schema(implementation = String.class)),
+            @Parameter(name = "taskCode", description = "TASK_CODE", schema = @Schema(implementation = Long.class)),
+            @Parameter(name = "executorName", description = "EXECUTOR_NAME", schema = @Schema(implementation = String.class)),
+            @Parameter(name = "stateType", description = "EXECUTION_STATUS", schema = @Schema(implementation = TaskExecutionStatus.class)),
+            @Parameter(name = "host", description = "HOST", schema = @Schema(implementation = String.class)),
+            @Parameter(name = "startDate", description = "START_DATE", schema = @Schema(implementation = String.class)),
+            @Parameter(name = "endDate", description = "END_DATE", schema = @Schema(implementation = String.class)),
+            @Parameter(name = "taskExecuteType", description = "TASK_EXECUTE_TYPE", schema = @Schema(implementation = TaskExecuteType.class, example = "BATCH")),
+            @Parameter(name = "cursor", description = "PAGE_CURSOR", schema = @Schema(implementation = String.class)),
+            @Parameter(name = "pageSize", description = "PAGE_SIZE", required = true, schema = @Schema(implementation = int.class, example = "20")),
+    })
+    @GetMapping(value = "/cursor")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiException(QUERY_TASK_LIST_PAGING_ERROR)
+    public Result queryTaskListByCursor(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                        @Parameter(name = "projectCode", description = "PROJECT_CODE", required = true) @PathVariable long projectCode,
+                                        @RequestParam(value = "workflowInstanceId", required = false, defaultValue = "0") Integer workflowInstanceId,
+                                        @RequestParam(value = "workflowInstanceName", required = false) String workflowInstanceName,
+                                        @RequestParam(value = "searchVal", required = false) String searchVal,
+                                        @RequestParam(value = "taskName", required = false) String taskName,
+                                        @RequestParam(value = "taskCode", required = false) Long taskCode,
+                                        @RequestParam(value = "executorName", required = false) String executorName,
+                                        @RequestParam(value = "stateType", required = false) TaskExecutionStatus stateType,
+                                        @RequestParam(value = "host", required = false) String host,
+                                        @RequestParam(value = "startDate", required = false) String startTime,
+                                        @RequestParam(value = "endDate", required = false) String endTime,
+                                        @RequestParam(value = "taskExecuteType", required = false, defaultValue = "BATCH") TaskExecuteType taskExecuteType,
+                                        @RequestParam(value = "cursor", required = false) String cursor,
+                                        @RequestParam("pageSize") Integer pageSize) {
+        checkPageParams(1, pageSize);
+        searchVal = ParameterUtils.handleEscapes(searchVal);
+        return taskInstanceService.queryTaskListByCursor(
+                loginUser,
+                projectCode,
+                workflowInstanceId,
+                workflowInstanceName,
+                taskName,
+                taskCode,
+                executorName,
+                startTime,
+                endTime,
+                searchVal,
+                stateType,
+                host,
+                taskExecuteType,
+                cursor,
+                pageSize);
+    }
+
     /**
      * change one task instance's state from FAILURE to FORCED_SUCCESS
      *
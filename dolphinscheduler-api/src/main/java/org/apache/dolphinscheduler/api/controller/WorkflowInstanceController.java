@@ -126,6 +126,55 @@ public class WorkflowInstanceController extends BaseController {
                 searchVal, executorName, stateType, host, otherParamsJson, pageNo, pageSize);
     }
 
+    /**
+     * query workflow instance list by cursor, ordered by start time desc
+     *
+     * @param loginUser login user
+     * @param projectCode project code
+     * @param workflowDefinitionCode workflow definition code
+     * @param searchVal search value
+     * @param stateType state type
+     * @param host host
+     * @param startTime start time
+     * @param endTime end time
+     * @param cursor the next cursor returned by the previous page, empty for the first page
+     * @param pageSize page size
+     * @return workflow instance list
+     */
+    @Operation(summary = "queryWorkflowInstanceListByCursor", description = "QUERY_WORKFLOW_INSTANCE_LIST_BY_CURSOR_NOTES")
+    @Parameters({
+            @Parameter(name = "workflowDefinitionCode", description = "WORKFLOW_DEFINITION_CODE", schema = @Schema(implementation = long.class, example = "100")),
+            @Parameter(name = "searchVal", description = "SEARCH_VAL", schema = @Schema(implementation = String.class)),
+            @Parameter(name = "executorName", description = "EXECUTOR_NAME", schema = @Schema(implementation = String.class)),
+            @Parameter(name = "stateType", description = "EXECUTION_STATUS", schema = @Schema(implementation = WorkflowExecutionStatus.class)),
+            @Parameter(name = "host", description = "HOST", schema = @Schema(implementation = String.class)),
+            @Parameter(name = "startDate", description = "START_DATE", schema = @Schema(implementation = String.class)),
+            @Parameter(name = "endDate", description = "END_DATE", schema = @Schema(implementation = String.class)),
+            @Parameter(name = "cursor", description = "PAGE_CURSOR", schema = @Schema(implementation = String.class)),
+            @Parameter(name = "pageSize", description = "PAGE_SIZE", required = true, schema = @Schema(implementation = int.class, example = "10"))
+    })
+    @GetMapping(value = "/cursor")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiException(Status.QUERY_WORKFLOW_INSTANCE_LIST_PAGING_ERROR)
+    public Result queryWorkflowInstanceListByCursor(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                                    @Parameter(name = "projectCode", description = "PROJECT_CODE", required = true) @PathVariable long projectCode,
+                                                    @RequestParam(value = "workflowDefinitionCode", required = false, defaultValue = "0") long workflowDefinitionCode,
+                                                    @RequestParam(value = "searchVal", required = false) String searchVal,
+                                                    @RequestParam(value = "executorName", required = false) String executorName,
+                                                    @RequestParam(value = "stateType", required = false) WorkflowExecutionStatus stateType,
+                                                    @RequestParam(value = "host", required = false) String host,
+                                                    @RequestParam(value = "startDate", required = false) String startTime,
+                                                    @RequestParam(value = "endDate", required = false) String endTime,
+                                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                                    @RequestParam("pageSize") Integer pageSize) {
+
+        checkPageParams(1, pageSize);
+        searchVal = ParameterUtils.handleEscapes(searchVal);
+        return workflowInstanceService.queryWorkflowInstanceListByCursor(loginUser, projectCode,
+                workflowDefinitionCode, startTime, endTime, searchVal, executorName, stateType, host, cursor,
+                pageSize);
+    }
+
     /**
      * query task list by workflow instance id
      *
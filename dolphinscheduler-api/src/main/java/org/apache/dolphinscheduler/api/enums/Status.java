@@ -421,6 +421,9 @@ public enum Status {
 
     TASK_PARALLELISM_PARAMS_ERROR(50080, "task parallelism parameter is not valid", "任务并行度参数无效"),
     TASK_COMPLEMENT_DATA_DATE_ERROR(50081, "The range of date for complementing date is not valid", "补数选择的日期范围无效"),
+    SUBMIT_BACKFILL_WORKFLOW_JOB_ERROR(50082, "submit backfill workflow job error", "提交补数作业错误"),
+    QUERY_BACKFILL_WORKFLOW_JOB_ERROR(50083, "query backfill workflow job error", "查询补数作业错误"),
+    BACKFILL_WORKFLOW_JOB_NOT_EXIST(50084, "backfill workflow job {0} not exist", "补数作业[{0}]不存在"),
 
     HDFS_NOT_STARTUP(60001, "hdfs not startup", "hdfs未启用"),
     STORAGE_NOT_STARTUP(60002, "storage not startup", "存储未启用"),
@@ -30,13 +30,17 @@ import org.apache.dolphinscheduler.extract.base.client.Clients;
 import org.apache.dolphinscheduler.extract.master.IWorkflowControlClient;
 import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBackfillTriggerRequest;
 import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBackfillTriggerResponse;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBatchBackfillTriggerRequest;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBatchBackfillTriggerResponse;
 import org.apache.dolphinscheduler.registry.api.RegistryClient;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -50,6 +54,12 @@ import com.google.common.collect.Lists;
 @Component
 public class BackfillWorkflowExecutorDelegate implements IExecutorDelegate<BackfillWorkflowDTO, List<Integer>> {
 
+    /**
+     * The max count of the workflow instances created by one rpc request in parallel mode, the master inserts them in
+     * one transaction.
+     */
+    private static final int BATCH_TRIGGER_SIZE = 200;
+
     @Autowired
     private CommandDao commandDao;
 
@@ -61,15 +71,47 @@ public class BackfillWorkflowExecutorDelegate implements IExecutorDelegate<Backf
 
     @Override
     public List<Integer> execute(final BackfillWorkflowDTO backfillWorkflowDTO) {
+        return execute(backfillWorkflowDTO, workflowInstanceIds -> {
+        });
+    }
+
+    /**
+     * Backfill the workflow, the listener is called with the workflow instance ids created by each rpc request, so
+     * the caller can track the progress of a large backfill.
+     */
+    public List<Integer> execute(final BackfillWorkflowDTO backfillWorkflowDTO,
+                                 final Consumer<List<Integer>> workflowInstancesTriggeredListener) {
         // todo: directly call the master api to do backfill
+        final List<List<String>> backfillTimeLists = splitBackfillTimeList(backfillWorkflowDTO);
+        if (backfillTimeLists.size() == 1) {
+            final List<Integer> workflowInstanceIds =
+                    Lists.newArrayList(doBackfillWorkflow(backfillWorkflowDTO, backfillTimeLists.get(0)));
+            workflowInstancesTriggeredListener.accept(workflowInstanceIds);
+            return workflowInstanceIds;
+        }
+        final List<Integer> workflowInstanceIdList = new ArrayList<>(backfillTimeLists.size());
+        for (List<List<String>> batchBackfillTimeLists : Lists.partition(backfillTimeLists, BATCH_TRIGGER_SIZE)) {
+            final List<Integer> workflowInstanceIds =
+                    doBatchBackfillWorkflow(backfillWorkflowDTO, batchBackfillTimeLists);
+            workflowInstanceIdList.addAll(workflowInstanceIds);
+            workflowInstancesTriggeredListener.accept(workflowInstanceIds);
+        }
+        return workflowInstanceIdList;
+    }
+
+    /**
+     * Split the backfill dates into the date list of each workflow instance, the serial mode creates one workflow
+     * instance with all the dates, the parallel mode creates one workflow instance per expectedParallelismNumber dates.
+     */
+    List<List<String>> splitBackfillTimeList(final BackfillWorkflowDTO backfillWorkflowDTO) {
         if (backfillWorkflowDTO.getBackfillParams().getRunMode() == RunMode.RUN_MODE_SERIAL) {
-            return doSerialBackfillWorkflow(backfillWorkflowDTO);
+            return Collections.singletonList(splitSerialBackfillTimeList(backfillWorkflowDTO));
         } else {
-            return doParallelBackfillWorkflow(backfillWorkflowDTO);
+            return splitParallelBackfillTimeList(backfillWorkflowDTO);
         }
     }
 
-    private List<Integer> doSerialBackfillWorkflow(final BackfillWorkflowDTO backfillWorkflowDTO) {
+    private List<String> splitSerialBackfillTimeList(final BackfillWorkflowDTO backfillWorkflowDTO) {
         final BackfillWorkflowDTO.BackfillParamsDTO backfillParams = backfillWorkflowDTO.getBackfillParams();
         final List<ZonedDateTime> backfillTimeList = backfillParams.getBackfillDateList();
         if (backfillParams.getExecutionOrder() == ExecutionOrder.DESC_ORDER) {
@@ -77,14 +119,10 @@ public class BackfillWorkflowExecutorDelegate implements IExecutorDelegate<Backf
         } else {
             Collections.sort(backfillTimeList);
         }
-
-        final Integer workflowInstanceId = doBackfillWorkflow(
-                backfillWorkflowDTO,
-                backfillTimeList.stream().map(DateUtils::dateToString).collect(Collectors.toList()));
-        return Lists.newArrayList(workflowInstanceId);
+        return backfillTimeList.stream().map(DateUtils::dateToString).collect(Collectors.toList());
     }
 
-    private List<Integer> doParallelBackfillWorkflow(final BackfillWorkflowDTO backfillWorkflowDTO) {
+    private List<List<String>> splitParallelBackfillTimeList(final BackfillWorkflowDTO backfillWorkflowDTO) {
         final BackfillWorkflowDTO.BackfillParamsDTO backfillParams = backfillWorkflowDTO.getBackfillParams();
         Integer expectedParallelismNumber = backfillParams.getExpectedParallelismNumber();
 
@@ -96,25 +134,55 @@ public class BackfillWorkflowExecutorDelegate implements IExecutorDelegate<Backf
         }
 
         log.info("In parallel mode, current expectedParallelismNumber:{}", expectedParallelismNumber);
-        final List<Integer> workflowInstanceIdList = Lists.newArrayList();
-        for (List<ZonedDateTime> stringDate : Lists.partition(listDate, expectedParallelismNumber)) {
-            final Integer workflowInstanceId = doBackfillWorkflow(
-                    backfillWorkflowDTO,
-                    stringDate.stream().map(DateUtils::dateToString).collect(Collectors.toList()));
-            workflowInstanceIdList.add(workflowInstanceId);
-        }
-        return workflowInstanceIdList;
+        return Lists.partition(listDate, expectedParallelismNumber)
+                .stream()
+                .map(stringDate -> stringDate.stream().map(DateUtils::dateToString).collect(Collectors.toList()))
+                .collect(Collectors.toList());
     }
 
     private Integer doBackfillWorkflow(final BackfillWorkflowDTO backfillWorkflowDTO,
                                        final List<String> backfillTimeList) {
-        final Server masterServer = registryClient.getRandomServer(RegistryNodeType.MASTER).orElse(null);
-        if (masterServer == null) {
-            throw new ServiceException("no master server available");
+        final WorkflowBackfillTriggerResponse backfillTriggerResponse = Clients
+                .withService(IWorkflowControlClient.class)
+                .withHost(getMasterServerAddress())
+                .backfillTriggerWorkflow(createBackfillTriggerRequest(backfillWorkflowDTO, backfillTimeList));
+        if (!backfillTriggerResponse.isSuccess()) {
+            throw new ServiceException("Backfill workflow failed: " + backfillTriggerResponse.getMessage());
         }
+        final BackfillWorkflowDTO.BackfillParamsDTO backfillParams = backfillWorkflowDTO.getBackfillParams();
+        if (backfillParams.getBackfillDependentMode() == ComplementDependentMode.ALL_DEPENDENT) {
+            doBackfillDependentWorkflow(backfillWorkflowDTO, backfillTimeList);
+        }
+        return backfillTriggerResponse.getWorkflowInstanceId();
+    }
 
+    private List<Integer> doBatchBackfillWorkflow(final BackfillWorkflowDTO backfillWorkflowDTO,
+                                                  final List<List<String>> backfillTimeLists) {
+        final WorkflowBatchBackfillTriggerRequest batchBackfillTriggerRequest = WorkflowBatchBackfillTriggerRequest
+                .builder()
+                .backfillTriggerRequests(backfillTimeLists.stream()
+                        .map(backfillTimeList -> createBackfillTriggerRequest(backfillWorkflowDTO, backfillTimeList))
+                        .collect(Collectors.toList()))
+                .build();
+        final WorkflowBatchBackfillTriggerResponse batchBackfillTriggerResponse = Clients
+                .withService(IWorkflowControlClient.class)
+                .withHost(getMasterServerAddress())
+                .batchBackfillTriggerWorkflow(batchBackfillTriggerRequest);
+        if (!batchBackfillTriggerResponse.isSuccess()) {
+            throw new ServiceException("Backfill workflow failed: " + batchBackfillTriggerResponse.getMessage());
+        }
+        final BackfillWorkflowDTO.BackfillParamsDTO backfillParams = backfillWorkflowDTO.getBackfillParams();
+        if (backfillParams.getBackfillDependentMode() == ComplementDependentMode.ALL_DEPENDENT) {
+            backfillTimeLists.forEach(
+                    backfillTimeList -> doBackfillDependentWorkflow(backfillWorkflowDTO, backfillTimeList));
+        }
+        return batchBackfillTriggerResponse.getWorkflowInstanceIds();
+    }
+
+    private WorkflowBackfillTriggerRequest createBackfillTriggerRequest(final BackfillWorkflowDTO backfillWorkflowDTO,
+                                                                        final List<String> backfillTimeList) {
         final WorkflowDefinition workflowDefinition = backfillWorkflowDTO.getWorkflowDefinition();
-        final WorkflowBackfillTriggerRequest backfillTriggerRequest = WorkflowBackfillTriggerRequest.builder()
+        return WorkflowBackfillTriggerRequest.builder()
                 .userId(backfillWorkflowDTO.getLoginUser().getId())
                 .backfillTimeList(backfillTimeList)
                 .workflowCode(workflowDefinition.getCode())
@@ -132,19 +200,14 @@ public class BackfillWorkflowExecutorDelegate implements IExecutorDelegate<Backf
                 .dryRun(backfillWorkflowDTO.getDryRun())
                 .testFlag(backfillWorkflowDTO.getTestFlag())
                 .build();
+    }
 
-        final WorkflowBackfillTriggerResponse backfillTriggerResponse = Clients
-                .withService(IWorkflowControlClient.class)
-                .withHost(masterServer.getHost() + ":" + masterServer.getPort())
-                .backfillTriggerWorkflow(backfillTriggerRequest);
-        if (!backfillTriggerResponse.isSuccess()) {
-            throw new ServiceException("Backfill workflow failed: " + backfillTriggerResponse.getMessage());
-        }
-        final BackfillWorkflowDTO.BackfillParamsDTO backfillParams = backfillWorkflowDTO.getBackfillParams();
-        if (backfillParams.getBackfillDependentMode() == ComplementDependentMode.ALL_DEPENDENT) {
-            doBackfillDependentWorkflow(backfillWorkflowDTO, backfillTimeList);
+    private String getMasterServerAddress() {
+        final Server masterServer = registryClient.getRandomServer(RegistryNodeType.MASTER).orElse(null);
+        if (masterServer == null) {
+            throw new ServiceException("no master server available");
         }
-        return backfillTriggerResponse.getWorkflowInstanceId();
+        return masterServer.getHost() + ":" + masterServer.getPort();
     }
 
     private void doBackfillDependentWorkflow(final BackfillWorkflowDTO backfillWorkflowDTO,
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.executor.workflow;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import lombok.Getter;
+
+/**
+ * The handle of a backfill submitted in background, used to query the progress of the backfill.
+ */
+@Getter
+public class BackfillWorkflowJob {
+
+    private final String jobId;
+
+    private final int userId;
+
+    private final long workflowDefinitionCode;
+
+    /**
+     * The count of the workflow instances which will be created by the backfill.
+     */
+    private final int totalWorkflowInstanceCount;
+
+    private final List<Integer> workflowInstanceIds = new CopyOnWriteArrayList<>();
+
+    private final Date submitTime = new Date();
+
+    private volatile Date finishTime;
+
+    private volatile State state = State.RUNNING;
+
+    private volatile String errorMessage;
+
+    public BackfillWorkflowJob(String jobId, int userId, long workflowDefinitionCode, int totalWorkflowInstanceCount) {
+        this.jobId = jobId;
+        this.userId = userId;
+        this.workflowDefinitionCode = workflowDefinitionCode;
+        this.totalWorkflowInstanceCount = totalWorkflowInstanceCount;
+    }
+
+    public int getTriggeredWorkflowInstanceCount() {
+        return workflowInstanceIds.size();
+    }
+
+    void onWorkflowInstancesTriggered(List<Integer> triggeredWorkflowInstanceIds) {
+        workflowInstanceIds.addAll(triggeredWorkflowInstanceIds);
+    }
+
+    void onSuccess() {
+        finishTime = new Date();
+        state = State.SUCCESS;
+    }
+
+    void onFailure(String errorMessage) {
+        this.errorMessage = errorMessage;
+        finishTime = new Date();
+        state = State.FAILURE;
+    }
+
+    public enum State {
+        RUNNING,
+        SUCCESS,
+        FAILURE,
+    }
+}
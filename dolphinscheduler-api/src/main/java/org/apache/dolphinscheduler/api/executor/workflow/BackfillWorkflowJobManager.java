@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.executor.workflow;
+
+import org.apache.dolphinscheduler.api.validator.workflow.BackfillWorkflowDTO;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Run the backfill in background and keep the {@link BackfillWorkflowJob} in memory, the job is only visible in the api
+ * server which accept it, and is evicted if it is not queried in {@link #JOB_EXPIRE_MINUTES}.
+ */
+@Slf4j
+@Component
+public class BackfillWorkflowJobManager {
+
+    private static final int JOB_THREADS = 4;
+
+    private static final int JOB_EXPIRE_MINUTES = 60;
+
+    @Autowired
+    private BackfillWorkflowExecutorDelegate backfillWorkflowExecutorDelegate;
+
+    private final ExecutorService jobExecutor =
+            ThreadUtils.newDaemonFixedThreadExecutor("BackfillWorkflowJob-%d", JOB_THREADS);
+
+    private final Cache<String, BackfillWorkflowJob> jobCache = CacheBuilder.newBuilder()
+            .expireAfterAccess(JOB_EXPIRE_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    public BackfillWorkflowJob submit(final BackfillWorkflowDTO backfillWorkflowDTO) {
+        final BackfillWorkflowJob backfillWorkflowJob = new BackfillWorkflowJob(
+                UUID.randomUUID().toString(),
+                backfillWorkflowDTO.getLoginUser().getId(),
+                backfillWorkflowDTO.getWorkflowDefinition().getCode(),
+                backfillWorkflowExecutorDelegate.splitBackfillTimeList(backfillWorkflowDTO).size());
+        jobCache.put(backfillWorkflowJob.getJobId(), backfillWorkflowJob);
+        jobExecutor.execute(() -> runJob(backfillWorkflowJob, backfillWorkflowDTO));
+        return backfillWorkflowJob;
+    }
+
+    public Optional<BackfillWorkflowJob> getJob(final String jobId) {
+        return Optional.ofNullable(jobCache.getIfPresent(jobId));
+    }
+
+    private void runJob(final BackfillWorkflowJob backfillWorkflowJob, final BackfillWorkflowDTO backfillWorkflowDTO) {
+        try {
+            backfillWorkflowExecutorDelegate.execute(backfillWorkflowDTO,
+                    backfillWorkflowJob::onWorkflowInstancesTriggered);
+            backfillWorkflowJob.onSuccess();
+            log.info("Backfill job: {} finished, created {} workflow instances", backfillWorkflowJob.getJobId(),
+                    backfillWorkflowJob.getTriggeredWorkflowInstanceCount());
+        } catch (Exception ex) {
+            log.error("Backfill job: {} failed", backfillWorkflowJob.getJobId(), ex);
+            backfillWorkflowJob.onFailure(ExceptionUtils.getMessage(ex));
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        jobExecutor.shutdownNow();
+    }
+}
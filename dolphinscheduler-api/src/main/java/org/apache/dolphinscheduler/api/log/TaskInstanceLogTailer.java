@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.log;
+
+import org.apache.dolphinscheduler.api.configuration.ApiConfig;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.repository.InstanceArchiveDao;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.extract.base.client.Clients;
+import org.apache.dolphinscheduler.extract.common.ILogService;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailResponse;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Push the appended task log to the subscribed clients by server-sent events.
+ * <p>
+ * The subscribers of the same task instance share one tail: in each round, the log is read from the worker by the
+ * byte offset of the subscribers, the subscribers at the same offset share the same rpc call, so the worker never
+ * reads the log from the beginning again, no matter how many clients are watching it. Each event carries the byte
+ * offset of the next read as its id, so a reconnected client resumes from the {@code Last-Event-ID}.
+ * <p>
+ * The {@link #END_EVENT} is sent and the subscription is completed once the task instance is finished and the log is
+ * no longer written.
+ */
+@Slf4j
+@Component
+public class TaskInstanceLogTailer {
+
+    public static final String LOG_EVENT = "log";
+
+    public static final String END_EVENT = "end";
+
+    @Autowired
+    private ApiConfig apiConfig;
+
+    @Autowired
+    private TaskInstanceDao taskInstanceDao;
+
+    @Autowired
+    private InstanceArchiveDao instanceArchiveDao;
+
+    private final Map<Integer, TaskInstanceLogTail> taskInstanceLogTails = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService tailScheduler;
+
+    private ExecutorService tailExecutor;
+
+    @PostConstruct
+    public void start() {
+        final ApiConfig.LogTailConfiguration logTailConfig = apiConfig.getLogTail();
+        tailExecutor = ThreadUtils.newDaemonFixedThreadExecutor("TaskInstanceLogTailer-%d",
+                logTailConfig.getTailThreads());
+        tailScheduler = ThreadUtils.newSingleDaemonScheduledExecutorService("TaskInstanceLogTailScheduler");
+        final long pollInterval = logTailConfig.getPollInterval().toMillis();
+        tailScheduler.scheduleWithFixedDelay(this::tailAll, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (tailScheduler != null) {
+            tailScheduler.shutdownNow();
+        }
+        if (tailExecutor != null) {
+            tailExecutor.shutdownNow();
+        }
+        taskInstanceLogTails.values()
+                .forEach(taskInstanceLogTail -> taskInstanceLogTail.getSubscribers()
+                        .forEach(subscriber -> subscriber.getEmitter().complete()));
+        taskInstanceLogTails.clear();
+    }
+
+    /**
+     * Subscribe the log of the task instance from the given byte offset.
+     *
+     * @param head the content sent before the log, null if no head
+     */
+    public SseEmitter subscribe(TaskInstance taskInstance, long offset, String head) {
+        return subscribe(taskInstance, offset, head, new SseEmitter(apiConfig.getLogTail().getTimeout().toMillis()));
+    }
+
+    SseEmitter subscribe(TaskInstance taskInstance, long offset, String head, SseEmitter emitter) {
+        final int taskInstanceId = taskInstance.getId();
+        final LogTailSubscriber subscriber = new LogTailSubscriber(emitter, offset);
+        emitter.onCompletion(() -> unsubscribe(taskInstanceId, subscriber));
+        emitter.onTimeout(() -> {
+            unsubscribe(taskInstanceId, subscriber);
+            emitter.complete();
+        });
+        emitter.onError(ex -> unsubscribe(taskInstanceId, subscriber));
+        if (head != null && !send(taskInstanceId, subscriber, LOG_EVENT, new LogChunk(head, offset))) {
+            return emitter;
+        }
+        taskInstanceLogTails.compute(taskInstanceId, (id, taskInstanceLogTail) -> {
+            if (taskInstanceLogTail == null) {
+                taskInstanceLogTail = new TaskInstanceLogTail(id);
+            }
+            taskInstanceLogTail.getSubscribers().add(subscriber);
+            return taskInstanceLogTail;
+        });
+        return emitter;
+    }
+
+    int getSubscriberCount(int taskInstanceId) {
+        final TaskInstanceLogTail taskInstanceLogTail = taskInstanceLogTails.get(taskInstanceId);
+        return taskInstanceLogTail == null ? 0 : taskInstanceLogTail.getSubscribers().size();
+    }
+
+    private void unsubscribe(int taskInstanceId, LogTailSubscriber subscriber) {
+        taskInstanceLogTails.computeIfPresent(taskInstanceId, (id, taskInstanceLogTail) -> {
+            taskInstanceLogTail.getSubscribers().remove(subscriber);
+            return taskInstanceLogTail.getSubscribers().isEmpty() ? null : taskInstanceLogTail;
+        });
+    }
+
+    private void tailAll() {
+        for (TaskInstanceLogTail taskInstanceLogTail : taskInstanceLogTails.values()) {
+            // Skip the tail which is still running, e.g. the worker is slow
+            if (!taskInstanceLogTail.getTailing().compareAndSet(false, true)) {
+                continue;
+            }
+            try {
+                tailExecutor.execute(() -> {
+                    try {
+                        tail(taskInstanceLogTail);
+                    } catch (Throwable ex) {
+                        log.error("Tail the log of task instance: {} failed",
+                                taskInstanceLogTail.getTaskInstanceId(), ex);
+                    } finally {
+                        taskInstanceLogTail.getTailing().set(false);
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                taskInstanceLogTail.getTailing().set(false);
+            }
+        }
+    }
+
+    void tail(int taskInstanceId) {
+        final TaskInstanceLogTail taskInstanceLogTail = taskInstanceLogTails.get(taskInstanceId);
+        if (taskInstanceLogTail != null) {
+            tail(taskInstanceLogTail);
+        }
+    }
+
+    private void tail(TaskInstanceLogTail taskInstanceLogTail) {
+        final int taskInstanceId = taskInstanceLogTail.getTaskInstanceId();
+        final TaskInstance taskInstance = queryTaskInstanceById(taskInstanceId);
+        if (taskInstance == null) {
+            taskInstanceLogTail.getSubscribers().forEach(subscriber -> end(taskInstanceId, subscriber));
+            return;
+        }
+        if (StringUtils.isBlank(taskInstance.getHost()) || StringUtils.isBlank(taskInstance.getLogPath())) {
+            // The task instance hasn't been dispatched
+            return;
+        }
+        final boolean taskInstanceFinished = taskInstance.getState() != null && taskInstance.getState().isFinished();
+        final Map<Long, List<LogTailSubscriber>> subscribersByOffset = taskInstanceLogTail.getSubscribers()
+                .stream()
+                .collect(Collectors.groupingBy(LogTailSubscriber::getOffset));
+        for (Map.Entry<Long, List<LogTailSubscriber>> entry : subscribersByOffset.entrySet()) {
+            tail(taskInstance, taskInstanceFinished, entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void tail(TaskInstance taskInstance,
+                      boolean taskInstanceFinished,
+                      long offset,
+                      List<LogTailSubscriber> subscribers) {
+        final ApiConfig.LogTailConfiguration logTailConfig = apiConfig.getLogTail();
+        final int taskInstanceId = taskInstance.getId();
+        for (int i = 0; i < logTailConfig.getMaxChunksPerRound() && !subscribers.isEmpty(); i++) {
+            final TaskInstanceLogTailResponse response;
+            try {
+                final TaskInstanceLogTailRequest request = TaskInstanceLogTailRequest.builder()
+                        .taskInstanceId(taskInstanceId)
+                        .taskInstanceLogAbsolutePath(taskInstance.getLogPath())
+                        .offset(offset)
+                        .maxBytes(logTailConfig.getChunkSize())
+                        .build();
+                response = Clients
+                        .withService(ILogService.class)
+                        .withHost(taskInstance.getHost())
+                        .tailTaskInstanceLog(request);
+            } catch (Exception ex) {
+                log.warn("Tail the log of task instance: {} from host: {} failed", taskInstanceId,
+                        taskInstance.getHost(), ex);
+                if (taskInstanceFinished) {
+                    subscribers.forEach(subscriber -> end(taskInstanceId, subscriber));
+                }
+                return;
+            }
+            if (StringUtils.isEmpty(response.getLogContent())) {
+                if (taskInstanceFinished && !response.isWriting()) {
+                    subscribers.forEach(subscriber -> end(taskInstanceId, subscriber));
+                }
+                return;
+            }
+            final LogChunk logChunk = new LogChunk(response.getLogContent(), response.getNextOffset());
+            subscribers.removeIf(subscriber -> !send(taskInstanceId, subscriber, LOG_EVENT, logChunk));
+            subscribers.forEach(subscriber -> subscriber.setOffset(response.getNextOffset()));
+            offset = response.getNextOffset();
+        }
+    }
+
+    private void end(int taskInstanceId, LogTailSubscriber subscriber) {
+        if (send(taskInstanceId, subscriber, END_EVENT, new LogChunk("", subscriber.getOffset()))) {
+            unsubscribe(taskInstanceId, subscriber);
+            subscriber.getEmitter().complete();
+        }
+    }
+
+    private boolean send(int taskInstanceId, LogTailSubscriber subscriber, String eventName, LogChunk logChunk) {
+        try {
+            subscriber.getEmitter().send(SseEmitter.event()
+                    .id(String.valueOf(logChunk.getOffset()))
+                    .name(eventName)
+                    .data(logChunk, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            // The client is disconnected
+            unsubscribe(taskInstanceId, subscriber);
+            subscriber.getEmitter().completeWithError(ex);
+            return false;
+        }
+    }
+
+    private TaskInstance queryTaskInstanceById(int taskInstanceId) {
+        final TaskInstance taskInstance = taskInstanceDao.queryById(taskInstanceId);
+        if (taskInstance != null) {
+            return taskInstance;
+        }
+        return instanceArchiveDao.queryArchivedTaskInstanceById(taskInstanceId).orElse(null);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class TaskInstanceLogTail {
+
+        private final int taskInstanceId;
+
+        private final List<LogTailSubscriber> subscribers = new CopyOnWriteArrayList<>();
+
+        private final AtomicBoolean tailing = new AtomicBoolean(false);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class LogTailSubscriber {
+
+        private final SseEmitter emitter;
+
+        @Setter
+        private volatile long offset;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class LogChunk {
+
+        private String content;
+
+        /**
+         * The byte offset of the log after this chunk.
+         */
+        private long offset;
+    }
+}
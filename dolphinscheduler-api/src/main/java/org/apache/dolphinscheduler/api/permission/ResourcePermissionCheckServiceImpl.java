@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.api.permission;
 
 import static java.util.stream.Collectors.toSet;
 
+import org.apache.dolphinscheduler.api.cache.ApiCacheManager;
 import org.apache.dolphinscheduler.common.enums.AuthorizationType;
 import org.apache.dolphinscheduler.common.enums.UserType;
 import org.apache.dolphinscheduler.dao.entity.AccessToken;
@@ -72,6 +73,9 @@ public class ResourcePermissionCheckServiceImpl
     @Autowired
     private ProcessService processService;
 
+    @Autowired
+    private ApiCacheManager apiCacheManager;
+
     public static final Map<AuthorizationType, ResourceAcquisitionAndPermissionCheck<?>> RESOURCE_LIST_MAP =
             new ConcurrentHashMap<>();
 
@@ -89,8 +93,14 @@ public class ResourcePermissionCheckServiceImpl
                                            Logger logger) {
         if (Objects.nonNull(needChecks) && needChecks.length > 0) {
             Set<?> originResSet = new HashSet<>(Arrays.asList(needChecks));
-            Set<?> ownResSets = RESOURCE_LIST_MAP.get(authorizationType).listAuthorizedResourceIds(userId, logger);
+            Set<?> ownResSets = listAuthorizedResourceIds(authorizationType, userId, logger);
             boolean checkResult = ownResSets != null && ownResSets.containsAll(originResSet);
+            if (!checkResult && apiCacheManager.isEnabled()) {
+                // Never reject by the cached resources, the resource might be authorized after it is cached
+                apiCacheManager.invalidateAuthorizedResourceIds((AuthorizationType) authorizationType, userId);
+                ownResSets = listAuthorizedResourceIds(authorizationType, userId, logger);
+                checkResult = ownResSets != null && ownResSets.containsAll(originResSet);
+            }
             if (!checkResult) {
                 logger.warn("User does not have resource permission on associated resources, userId:{}", userId);
             }
@@ -102,7 +112,7 @@ public class ResourcePermissionCheckServiceImpl
     @Override
     public boolean operationPermissionCheck(Object authorizationType, Integer userId,
                                             String permissionKey, Logger logger) {
-        User user = processService.getUserById(userId);
+        User user = apiCacheManager.getUserById(userId, () -> processService.getUserById(userId));
         if (user == null) {
             logger.error("User does not exist, userId:{}.", userId);
             return false;
@@ -120,15 +130,27 @@ public class ResourcePermissionCheckServiceImpl
 
     @Override
     public Set<Object> userOwnedResourceIdsAcquisition(Object authorizationType, Integer userId, Logger logger) {
-        User user = processService.getUserById(userId);
+        User user = apiCacheManager.getUserById(userId, () -> processService.getUserById(userId));
         if (user == null) {
             logger.error("User does not exist, userId:{}.", userId);
             return Collections.emptySet();
         }
-        return (Set<Object>) RESOURCE_LIST_MAP.get(authorizationType).listAuthorizedResourceIds(
+        return (Set<Object>) listAuthorizedResourceIds(authorizationType,
                 user.getUserType().equals(UserType.ADMIN_USER) ? 0 : userId, logger);
     }
 
+    private Set<?> listAuthorizedResourceIds(Object authorizationType, int userId, Logger logger) {
+        return listAuthorizedResourceIds((AuthorizationType) authorizationType,
+                RESOURCE_LIST_MAP.get(authorizationType), userId, logger);
+    }
+
+    private <T> Set<T> listAuthorizedResourceIds(AuthorizationType authorizationType,
+                                                 ResourceAcquisitionAndPermissionCheck<T> resourceAcquisition,
+                                                 int userId, Logger logger) {
+        return apiCacheManager.getAuthorizedResourceIds(authorizationType, userId,
+                () -> resourceAcquisition.listAuthorizedResourceIds(userId, logger));
+    }
+
     @Component
     public static class QueueResourcePermissionCheck implements ResourceAcquisitionAndPermissionCheck<Integer> {
 
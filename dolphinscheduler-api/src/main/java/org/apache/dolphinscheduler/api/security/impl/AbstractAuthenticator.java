@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.api.security.impl;
 
+import org.apache.dolphinscheduler.api.cache.ApiCacheManager;
 import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.api.security.AuthenticationType;
 import org.apache.dolphinscheduler.api.security.Authenticator;
@@ -56,6 +57,9 @@ public abstract class AbstractAuthenticator implements Authenticator {
     @Autowired
     private SecurityConfig securityConfig;
 
+    @Autowired
+    private ApiCacheManager apiCacheManager;
+
     /**
      * user login and return user in db
      *
@@ -119,12 +123,15 @@ public abstract class AbstractAuthenticator implements Authenticator {
                 sessionId = cookie.getValue();
             }
         }
-        Session session = sessionService.getSession(sessionId);
-        if (session == null) {
-            return null;
-        }
-        // get user object from session
-        return userService.queryUser(session.getUserId());
+        String finalSessionId = sessionId;
+        return apiCacheManager.getUserBySession(sessionId, () -> {
+            Session session = sessionService.getSession(finalSessionId);
+            if (session == null) {
+                return null;
+            }
+            // get user object from session
+            return userService.queryUser(session.getUserId());
+        });
     }
 
 }
@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.api.dto.workflow.WorkflowBackFillRequest;
 import org.apache.dolphinscheduler.api.dto.workflow.WorkflowTriggerRequest;
 import org.apache.dolphinscheduler.api.dto.workflowInstance.WorkflowExecuteResponse;
 import org.apache.dolphinscheduler.api.enums.ExecuteType;
+import org.apache.dolphinscheduler.api.executor.workflow.BackfillWorkflowJob;
 import org.apache.dolphinscheduler.common.enums.TaskDependType;
 import org.apache.dolphinscheduler.dao.entity.User;
 import org.apache.dolphinscheduler.dao.entity.WorkflowDefinition;
@@ -40,6 +41,17 @@ public interface ExecutorService {
      */
     List<Integer> backfillWorkflowDefinition(final WorkflowBackFillRequest workflowBackFillRequest);
 
+    /**
+     * Backfill the workflow in background and return the job, the progress of the backfill can be queried by
+     * {@link #queryBackfillWorkflowJob(User, String)}.
+     */
+    BackfillWorkflowJob submitBackfillWorkflowJob(final WorkflowBackFillRequest workflowBackFillRequest);
+
+    /**
+     * Query the backfill job submitted by the login user.
+     */
+    BackfillWorkflowJob queryBackfillWorkflowJob(final User loginUser, final String jobId);
+
     /**
      * check whether the workflow definition can be executed
      *
@@ -21,6 +21,8 @@ import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.dao.entity.ResponseTaskLog;
 import org.apache.dolphinscheduler.dao.entity.User;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
 /**
  * logger service
  */
@@ -67,4 +69,14 @@ public interface LoggerService {
      * @return log byte array
      */
     byte[] getLogBytes(User loginUser, long projectCode, int taskInstId);
+
+    /**
+     * tail log, the log appended after the offset is pushed by server-sent events
+     *
+     * @param loginUser  login user
+     * @param taskInstId task instance id
+     * @param offset     the byte offset of the log to tail from
+     * @return sse emitter
+     */
+    SseEmitter tailLog(User loginUser, int taskInstId, long offset);
 }
@@ -61,6 +61,41 @@ public interface TaskInstanceService {
                                Integer pageNo,
                                Integer pageSize);
 
+    /**
+     * keyset paging query task list, ordered by submit time desc, the filters are the same as the batch task list of
+     * {@link #queryTaskListPaging}
+     *
+     * @param loginUser login user
+     * @param projectCode project code
+     * @param workflowInstanceId workflow instance id
+     * @param searchVal search value
+     * @param taskName task name
+     * @param taskCode task code
+     * @param stateType state type
+     * @param host host
+     * @param startDate start time
+     * @param endDate end time
+     * @param taskExecuteType task execute type
+     * @param cursor the next cursor returned by the previous page, blank for the first page
+     * @param pageSize page size
+     * @return task list page
+     */
+    Result queryTaskListByCursor(User loginUser,
+                                 long projectCode,
+                                 Integer workflowInstanceId,
+                                 String workflowInstanceName,
+                                 String taskName,
+                                 Long taskCode,
+                                 String executorName,
+                                 String startDate,
+                                 String endDate,
+                                 String searchVal,
+                                 TaskExecutionStatus stateType,
+                                 String host,
+                                 TaskExecuteType taskExecuteType,
+                                 String cursor,
+                                 Integer pageSize);
+
     /**
      * change one task instance's state from failure to forced success
      *
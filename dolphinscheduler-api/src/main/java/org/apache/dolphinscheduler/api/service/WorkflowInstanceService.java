@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.api.service;
 
 import org.apache.dolphinscheduler.api.dto.DynamicSubWorkflowDto;
 import org.apache.dolphinscheduler.api.dto.workflowInstance.WorkflowInstanceQueryRequest;
+import org.apache.dolphinscheduler.api.utils.CursorPageInfo;
 import org.apache.dolphinscheduler.api.utils.PageInfo;
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
@@ -93,6 +94,35 @@ public interface WorkflowInstanceService {
                                                                  Integer pageNo,
                                                                  Integer pageSize);
 
+    /**
+     * keyset paging query workflow instance list, ordered by start time desc, the filters are the same as
+     * {@link #queryWorkflowInstanceList(User, long, long, String, String, String, String, WorkflowExecutionStatus, String, String, Integer, Integer)}
+     *
+     * @param loginUser         login user
+     * @param projectCode       project code
+     * @param workflowDefinitionCode workflow definition code
+     * @param startDate         start time
+     * @param endDate           end time
+     * @param searchVal         search value
+     * @param executorName      executor name
+     * @param stateType         state type
+     * @param host              host
+     * @param cursor            the next cursor returned by the previous page, blank for the first page
+     * @param pageSize          page size
+     * @return workflow instance list
+     */
+    Result<CursorPageInfo<WorkflowInstance>> queryWorkflowInstanceListByCursor(User loginUser,
+                                                                               long projectCode,
+                                                                               long workflowDefinitionCode,
+                                                                               String startDate,
+                                                                               String endDate,
+                                                                               String searchVal,
+                                                                               String executorName,
+                                                                               WorkflowExecutionStatus stateType,
+                                                                               String host,
+                                                                               String cursor,
+                                                                               Integer pageSize);
+
     /**
      * paging query workflow instance list, filtering according to project, workflow definition, time range, keyword, workflow status
      *
@@ -27,6 +27,7 @@ import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.api.exceptions.ServiceException;
 import org.apache.dolphinscheduler.api.service.DataAnalysisService;
 import org.apache.dolphinscheduler.api.service.ProjectService;
+import org.apache.dolphinscheduler.api.statistics.InstanceStateCounter;
 import org.apache.dolphinscheduler.api.utils.PageInfo;
 import org.apache.dolphinscheduler.api.vo.TaskInstanceCountVO;
 import org.apache.dolphinscheduler.api.vo.WorkflowDefinitionCountVO;
@@ -86,6 +87,10 @@ import com.google.common.collect.Lists;
 @Slf4j
 public class DataAnalysisServiceImpl extends BaseServiceImpl implements DataAnalysisService {
 
+    private static final Set<Integer> TASK_EXECUTION_STATUS_CODES = Arrays.stream(TaskExecutionStatus.values())
+            .map(TaskExecutionStatus::getCode)
+            .collect(Collectors.toSet());
+
     @Autowired
     private ProjectMapper projectMapper;
 
@@ -110,6 +115,9 @@ public class DataAnalysisServiceImpl extends BaseServiceImpl implements DataAnal
     @Autowired
     private TaskDefinitionMapper taskDefinitionMapper;
 
+    @Autowired
+    private InstanceStateCounter instanceStateCounter;
+
     @Override
     public TaskInstanceCountVO getTaskInstanceStateCountByProject(User loginUser,
                                                                   Long projectCode,
@@ -119,7 +127,7 @@ public class DataAnalysisServiceImpl extends BaseServiceImpl implements DataAnal
         Date start = startDate == null ? null : transformDate(startDate);
         Date end = endDate == null ? null : transformDate(endDate);
         List<TaskInstanceStatusCountDto> taskInstanceStatusCounts =
-                taskInstanceMapper.countTaskInstanceStateByProjectCodes(start, end, Lists.newArrayList(projectCode));
+                instanceStateCounter.countTaskInstanceState(start, end, Lists.newArrayList(projectCode));
         return TaskInstanceCountVO.of(taskInstanceStatusCounts);
     }
 
@@ -134,7 +142,7 @@ public class DataAnalysisServiceImpl extends BaseServiceImpl implements DataAnal
         Date start = startDate == null ? null : transformDate(startDate);
         Date end = endDate == null ? null : transformDate(endDate);
         List<TaskInstanceStatusCountDto> taskInstanceStatusCounts =
-                taskInstanceMapper.countTaskInstanceStateByProjectCodes(start, end, projectCodes);
+                instanceStateCounter.countTaskInstanceState(start, end, projectCodes);
         return TaskInstanceCountVO.of(taskInstanceStatusCounts);
     }
 
@@ -146,8 +154,8 @@ public class DataAnalysisServiceImpl extends BaseServiceImpl implements DataAnal
         projectService.checkProjectAndAuthThrowException(loginUser, projectCode, PROJECT_OVERVIEW);
         Date start = startDate == null ? null : transformDate(startDate);
         Date end = endDate == null ? null : transformDate(endDate);
-        List<WorkflowInstanceStatusCountDto> workflowInstanceStatusCountDtos = workflowInstanceMapper
-                .countWorkflowInstanceStateByProjectCodes(start, end, Lists.newArrayList(projectCode));
+        List<WorkflowInstanceStatusCountDto> workflowInstanceStatusCountDtos =
+                instanceStateCounter.countWorkflowInstanceState(start, end, Lists.newArrayList(projectCode));
         return WorkflowInstanceCountVO.of(workflowInstanceStatusCountDtos);
     }
 
@@ -163,7 +171,7 @@ public class DataAnalysisServiceImpl extends BaseServiceImpl implements DataAnal
         Date end = endDate == null ? null : transformDate(endDate);
 
         List<WorkflowInstanceStatusCountDto> workflowInstanceStatusCountDtos =
-                workflowInstanceMapper.countWorkflowInstanceStateByProjectCodes(start, end, projectCodes);
+                instanceStateCounter.countWorkflowInstanceState(start, end, projectCodes);
         return WorkflowInstanceCountVO.of(workflowInstanceStatusCountDtos);
     }
 
@@ -268,6 +276,21 @@ public class DataAnalysisServiceImpl extends BaseServiceImpl implements DataAnal
                 : statisticsStateRequest.getStartTime();
         Date endTime = statisticsStateRequest.getEndTime() == null ? date : statisticsStateRequest.getEndTime();
 
+        if (instanceStateCounter.isEnabled() && model <= Constants.QUERY_ALL_ON_PROJECT) {
+            List<Long> projectCodes = getStatisticsProjectCodes(projectIds, projectCode, model);
+            if (projectCodes.isEmpty()) {
+                return new TaskCountDto(Collections.emptyList());
+            }
+            // Keep the same as countInstanceStateV2, which reads the workflow state as TaskExecutionStatus
+            List<ExecuteStatusCount> executeStatusCounts = instanceStateCounter
+                    .countWorkflowInstanceState(startTime, endTime, projectCodes)
+                    .stream()
+                    .filter(count -> TASK_EXECUTION_STATUS_CODES.contains(count.getState().getCode()))
+                    .map(count -> new ExecuteStatusCount(TaskExecutionStatus.of(count.getState().getCode()),
+                            count.getCount()))
+                    .collect(Collectors.toList());
+            return new TaskCountDto(executeStatusCounts);
+        }
         List<ExecuteStatusCount> executeStatusCounts = workflowInstanceMapper.countInstanceStateV2(
                 startTime, endTime, projectCode, workflowCode, model, projectIds);
         return new TaskCountDto(executeStatusCounts);
@@ -341,8 +364,21 @@ public class DataAnalysisServiceImpl extends BaseServiceImpl implements DataAnal
                 : statisticsStateRequest.getStartTime();
         Date endTime = statisticsStateRequest.getEndTime() == null ? date : statisticsStateRequest.getEndTime();
 
-        Optional<List<ExecuteStatusCount>> startTimeStates = Optional.ofNullable(
-                taskInstanceMapper.countTaskInstanceStateByProjectIdsV2(startTime, endTime, projectIds));
+        Optional<List<ExecuteStatusCount>> startTimeStates;
+        if (instanceStateCounter.isEnabled() && model <= Constants.QUERY_ALL_ON_PROJECT) {
+            List<Long> projectCodes = getStatisticsProjectCodes(projectIds, projectCode, model);
+            if (projectCodes.isEmpty()) {
+                return new TaskCountDto(Collections.emptyList());
+            }
+            startTimeStates = Optional.of(instanceStateCounter
+                    .countTaskInstanceState(startTime, endTime, projectCodes)
+                    .stream()
+                    .map(count -> new ExecuteStatusCount(count.getState(), count.getCount()))
+                    .collect(Collectors.toList()));
+        } else {
+            startTimeStates = Optional.ofNullable(
+                    taskInstanceMapper.countTaskInstanceStateByProjectIdsV2(startTime, endTime, projectIds));
+        }
         List<TaskExecutionStatus> needRecountState = setOptional(startTimeStates);
         if (needRecountState.size() == 0) {
             return new TaskCountDto(startTimeStates.get());
@@ -474,6 +510,21 @@ public class DataAnalysisServiceImpl extends BaseServiceImpl implements DataAnal
         return new DefineUserDto(workflowDefinitionCountDtos);
     }
 
+    /**
+     * The codes of the authorized projects which the statistics is queried on, the model should be
+     * {@link Constants#QUERY_ALL_ON_SYSTEM} or {@link Constants#QUERY_ALL_ON_PROJECT}.
+     */
+    private List<Long> getStatisticsProjectCodes(Set<Integer> projectIds, Long projectCode, Integer model) {
+        List<Long> projectCodes = projectMapper.selectBatchIds(projectIds)
+                .stream()
+                .map(Project::getCode)
+                .collect(Collectors.toList());
+        if (Constants.QUERY_ALL_ON_PROJECT.equals(model)) {
+            return projectCodes.contains(projectCode) ? Lists.newArrayList(projectCode) : Collections.emptyList();
+        }
+        return projectCodes;
+    }
+
     private List<TaskExecutionStatus> setOptional(Optional<List<ExecuteStatusCount>> startTimeStates) {
         List<TaskExecutionStatus> allState = Arrays.stream(TaskExecutionStatus.values()).collect(Collectors.toList());
         if (startTimeStates.isPresent() && startTimeStates.get().size() != 0) {
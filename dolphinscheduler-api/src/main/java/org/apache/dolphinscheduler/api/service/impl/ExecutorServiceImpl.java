@@ -33,6 +33,8 @@ import org.apache.dolphinscheduler.api.dto.workflowInstance.WorkflowExecuteRespo
 import org.apache.dolphinscheduler.api.enums.ExecuteType;
 import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.api.exceptions.ServiceException;
+import org.apache.dolphinscheduler.api.executor.workflow.BackfillWorkflowJob;
+import org.apache.dolphinscheduler.api.executor.workflow.BackfillWorkflowJobManager;
 import org.apache.dolphinscheduler.api.executor.workflow.ExecutorClient;
 import org.apache.dolphinscheduler.api.service.ExecutorService;
 import org.apache.dolphinscheduler.api.service.ProjectService;
@@ -159,6 +161,9 @@ public class ExecutorServiceImpl extends BaseServiceImpl implements ExecutorServ
     @Autowired
     private ExecutorClient executorClient;
 
+    @Autowired
+    private BackfillWorkflowJobManager backfillWorkflowJobManager;
+
     @Override
     @Transactional
     public Integer triggerWorkflowDefinition(final WorkflowTriggerRequest triggerRequest) {
@@ -176,6 +181,24 @@ public class ExecutorServiceImpl extends BaseServiceImpl implements ExecutorServ
         return executorClient.backfillWorkflowDefinition().execute(backfillWorkflowDTO);
     }
 
+    @Override
+    public BackfillWorkflowJob submitBackfillWorkflowJob(final WorkflowBackFillRequest workflowBackFillRequest) {
+        final BackfillWorkflowDTO backfillWorkflowDTO =
+                backfillWorkflowRequestTransformer.transform(workflowBackFillRequest);
+        backfillWorkflowDTOValidator.validate(backfillWorkflowDTO);
+        return backfillWorkflowJobManager.submit(backfillWorkflowDTO);
+    }
+
+    @Override
+    public BackfillWorkflowJob queryBackfillWorkflowJob(final User loginUser, final String jobId) {
+        final BackfillWorkflowJob backfillWorkflowJob = backfillWorkflowJobManager.getJob(jobId)
+                .orElseThrow(() -> new ServiceException(Status.BACKFILL_WORKFLOW_JOB_NOT_EXIST, jobId));
+        if (backfillWorkflowJob.getUserId() != loginUser.getId() && !isAdmin(loginUser)) {
+            throw new ServiceException(Status.USER_NO_OPERATION_PERM);
+        }
+        return backfillWorkflowJob;
+    }
+
     /**
      * check whether the workflow definition can be executed
      *
@@ -22,6 +22,7 @@ import static org.apache.dolphinscheduler.api.constants.ApiFuncIdentificationCon
 
 import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.api.exceptions.ServiceException;
+import org.apache.dolphinscheduler.api.log.TaskInstanceLogTailer;
 import org.apache.dolphinscheduler.api.service.LoggerService;
 import org.apache.dolphinscheduler.api.service.ProjectService;
 import org.apache.dolphinscheduler.api.utils.Result;
@@ -33,6 +34,7 @@ import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.User;
 import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
+import org.apache.dolphinscheduler.dao.repository.InstanceArchiveDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.extract.base.client.Clients;
 import org.apache.dolphinscheduler.extract.common.ILogService;
@@ -49,6 +51,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.google.common.primitives.Bytes;
 
@@ -64,6 +67,9 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
+    @Autowired
+    private InstanceArchiveDao instanceArchiveDao;
+
     @Autowired
     private ProjectMapper projectMapper;
 
@@ -73,6 +79,9 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
     @Autowired
     private TaskDefinitionMapper taskDefinitionMapper;
 
+    @Autowired
+    private TaskInstanceLogTailer taskInstanceLogTailer;
+
     /**
      * view log
      *
@@ -86,7 +95,7 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
     @SuppressWarnings("unchecked")
     public Result<ResponseTaskLog> queryLog(User loginUser, int taskInstId, int skipLineNum, int limit) {
 
-        TaskInstance taskInstance = taskInstanceDao.queryById(taskInstId);
+        TaskInstance taskInstance = queryTaskInstanceById(taskInstId);
 
         if (taskInstance == null) {
             log.error("Task instance does not exist, taskInstanceId:{}.", taskInstId);
@@ -113,11 +122,15 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
      */
     @Override
     public byte[] getLogBytes(User loginUser, int taskInstId) {
-        TaskInstance taskInstance = taskInstanceDao.queryById(taskInstId);
+        TaskInstance taskInstance = queryTaskInstanceById(taskInstId);
         if (taskInstance == null || StringUtils.isBlank(taskInstance.getHost())) {
             throw new ServiceException("task instance is null or host is null");
         }
         Project project = projectMapper.queryProjectByTaskInstanceId(taskInstId);
+        if (project == null && taskInstance.getProjectCode() != null) {
+            // The task instance has been moved into the archive table
+            project = projectMapper.queryByCode(taskInstance.getProjectCode());
+        }
         projectService.checkProjectAndAuthThrowException(loginUser, project, DOWNLOAD_LOG);
         return getLogBytes(taskInstance);
     }
@@ -138,7 +151,7 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         // check user access for project
         projectService.checkProjectAndAuthThrowException(loginUser, projectCode, VIEW_LOG);
         // check whether the task instance can be found
-        TaskInstance task = taskInstanceDao.queryById(taskInstId);
+        TaskInstance task = queryTaskInstanceById(taskInstId);
         if (task == null || StringUtils.isBlank(task.getHost())) {
             throw new ServiceException(Status.TASK_INSTANCE_NOT_FOUND);
         }
@@ -164,7 +177,7 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         projectService.checkProjectAndAuthThrowException(loginUser, projectCode, DOWNLOAD_LOG);
 
         // check whether the task instance can be found
-        TaskInstance task = taskInstanceDao.queryById(taskInstId);
+        TaskInstance task = queryTaskInstanceById(taskInstId);
         if (task == null || StringUtils.isBlank(task.getHost())) {
             throw new ServiceException("task instance is null or host is null");
         }
@@ -176,6 +189,47 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         return getLogBytes(task);
     }
 
+    /**
+     * tail log
+     *
+     * @param loginUser  login user
+     * @param taskInstId task instance id
+     * @param offset     the byte offset of the log to tail from
+     * @return sse emitter
+     */
+    @Override
+    public SseEmitter tailLog(User loginUser, int taskInstId, long offset) {
+        TaskInstance taskInstance = queryTaskInstanceById(taskInstId);
+        if (taskInstance == null) {
+            throw new ServiceException(Status.TASK_INSTANCE_NOT_FOUND);
+        }
+        if (StringUtils.isBlank(taskInstance.getHost())) {
+            throw new ServiceException(Status.TASK_INSTANCE_HOST_IS_NULL);
+        }
+        projectService.checkProjectAndAuthThrowException(loginUser, taskInstance.getProjectCode(), VIEW_LOG);
+        if (StringUtils.isBlank(taskInstance.getLogPath())) {
+            throw new ServiceException(Status.QUERY_TASK_INSTANCE_LOG_ERROR,
+                    "TaskInstanceLogPath is empty, maybe the taskInstance doesn't be dispatched");
+        }
+        log.info("Tail task instance log, taskInstanceId:{}, host: {}, logPath:{}, offset: {}",
+                taskInstance.getId(), taskInstance.getHost(), taskInstance.getLogPath(), offset);
+        String head = offset > 0 ? null
+                : String.format(LOG_HEAD_FORMAT,
+                        taskInstance.getLogPath(),
+                        taskInstance.getHost(),
+                        Constants.SYSTEM_LINE_SEPARATOR);
+        return taskInstanceLogTailer.subscribe(taskInstance, Math.max(offset, 0), head);
+    }
+
+    private TaskInstance queryTaskInstanceById(int taskInstanceId) {
+        TaskInstance taskInstance = taskInstanceDao.queryById(taskInstanceId);
+        if (taskInstance != null) {
+            return taskInstance;
+        }
+        // The task instance may have been moved into the archive table
+        return instanceArchiveDao.queryArchivedTaskInstanceById(taskInstanceId).orElse(null);
+    }
+
     /**
      * query log
      *
@@ -28,6 +28,8 @@ import org.apache.dolphinscheduler.api.service.ProjectService;
 import org.apache.dolphinscheduler.api.service.TaskGroupQueueService;
 import org.apache.dolphinscheduler.api.service.TaskInstanceService;
 import org.apache.dolphinscheduler.api.service.UsersService;
+import org.apache.dolphinscheduler.api.utils.CursorPageInfo;
+import org.apache.dolphinscheduler.api.utils.PageCursor;
 import org.apache.dolphinscheduler.api.utils.PageInfo;
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.Constants;
@@ -41,6 +43,7 @@ import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
 import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
+import org.apache.dolphinscheduler.dao.repository.InstanceArchiveDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceDao;
 import org.apache.dolphinscheduler.dao.utils.TaskCacheUtils;
@@ -105,6 +108,9 @@ public class TaskInstanceServiceImpl extends BaseServiceImpl implements TaskInst
     @Autowired
     private WorkflowInstanceDao workflowInstanceDao;
 
+    @Autowired
+    private InstanceArchiveDao instanceArchiveDao;
+
     /**
      * query task list by project, workflow instance, task name, task start time, task end time, task status, keyword paging
      *
@@ -182,10 +188,97 @@ public class TaskInstanceServiceImpl extends BaseServiceImpl implements TaskInst
                     start,
                     end);
         }
+        fillDurationAndExecutorName(taskInstanceIPage.getRecords());
+        pageInfo.setTotal((int) taskInstanceIPage.getTotal());
+        pageInfo.setTotalList(CollectionUtils.getListByExclusion(taskInstanceIPage.getRecords(), getExclusionSet()));
+        result.setData(pageInfo);
+        putMsg(result, Status.SUCCESS);
+        return result;
+    }
+
+    /**
+     * keyset paging query task list, the deep pages cost the same as the first page since there is no offset to skip
+     * and no total count to calculate
+     *
+     * @param loginUser         login user
+     * @param projectCode       project code
+     * @param workflowInstanceId workflow instance id
+     * @param searchVal         search value
+     * @param taskName          task name
+     * @param taskCode          task code
+     * @param stateType         state type
+     * @param host              host
+     * @param startDate         start time
+     * @param endDate           end time
+     * @param taskExecuteType   task execute type
+     * @param cursor            the next cursor returned by the previous page, blank for the first page
+     * @param pageSize          page size
+     * @return task list page
+     */
+    @Override
+    public Result queryTaskListByCursor(User loginUser,
+                                        long projectCode,
+                                        Integer workflowInstanceId,
+                                        String workflowInstanceName,
+                                        String taskName,
+                                        Long taskCode,
+                                        String executorName,
+                                        String startDate,
+                                        String endDate,
+                                        String searchVal,
+                                        TaskExecutionStatus stateType,
+                                        String host,
+                                        TaskExecuteType taskExecuteType,
+                                        String cursor,
+                                        Integer pageSize) {
+        Result result = new Result();
+        // check user access for project
+        projectService.checkProjectAndAuthThrowException(loginUser, projectCode, TASK_INSTANCE);
+        int[] statusArray = null;
+        if (stateType != null) {
+            statusArray = new int[]{stateType.getCode()};
+        }
+        Date start = checkAndParseDateParameters(startDate);
+        Date end = checkAndParseDateParameters(endDate);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        // query one more row to know whether there is a next page, and skip the count query
+        Page<TaskInstance> page = new Page<>(1, pageSize + 1, false);
+        List<TaskInstance> taskInstances = taskInstanceMapper.queryTaskInstanceListByCursor(
+                page,
+                projectCode,
+                workflowInstanceId,
+                workflowInstanceName,
+                searchVal,
+                taskName,
+                taskCode,
+                executorName,
+                statusArray,
+                host,
+                taskExecuteType,
+                start,
+                end,
+                pageCursor == null ? null : pageCursor.getTime(),
+                pageCursor == null ? null : pageCursor.getId()).getRecords();
+        CursorPageInfo<TaskInstance> taskInstancePage = CursorPageInfo.of(taskInstances, pageSize,
+                taskInstance -> new PageCursor(taskInstance.getSubmitTime(), taskInstance.getId()));
+        fillDurationAndExecutorName(taskInstancePage.getTotalList());
+        CursorPageInfo<Map<String, Object>> pageInfo = new CursorPageInfo<>(
+                CollectionUtils.getListByExclusion(taskInstancePage.getTotalList(), getExclusionSet()),
+                pageSize,
+                taskInstancePage.getNextCursor());
+        result.setData(pageInfo);
+        putMsg(result, Status.SUCCESS);
+        return result;
+    }
+
+    private Set<String> getExclusionSet() {
         Set<String> exclusionSet = new HashSet<>();
         exclusionSet.add(Constants.CLASS);
         exclusionSet.add("taskJson");
-        List<TaskInstance> taskInstanceList = taskInstanceIPage.getRecords();
+        return exclusionSet;
+    }
+
+    private void fillDurationAndExecutorName(List<TaskInstance> taskInstanceList) {
         List<Integer> executorIds =
                 taskInstanceList.stream().map(TaskInstance::getExecutorId).distinct().collect(Collectors.toList());
         List<User> users = usersService.queryUser(executorIds);
@@ -197,11 +290,6 @@ public class TaskInstanceServiceImpl extends BaseServiceImpl implements TaskInst
                 taskInstance.setExecutorName(user.getUserName());
             }
         }
-        pageInfo.setTotal((int) taskInstanceIPage.getTotal());
-        pageInfo.setTotalList(CollectionUtils.getListByExclusion(taskInstanceIPage.getRecords(), exclusionSet));
-        result.setData(pageInfo);
-        putMsg(result, Status.SUCCESS);
-        return result;
     }
 
     /**
@@ -318,6 +406,10 @@ public class TaskInstanceServiceImpl extends BaseServiceImpl implements TaskInst
         // check user access for project
         projectService.checkProjectAndAuthThrowException(loginUser, project, FORCED_SUCCESS);
         TaskInstance taskInstance = taskInstanceMapper.selectById(taskInstanceId);
+        if (taskInstance == null) {
+            // The task instance may have been moved into the archive table
+            taskInstance = instanceArchiveDao.queryArchivedTaskInstanceById(taskInstanceId.intValue()).orElse(null);
+        }
         if (taskInstance == null) {
             log.error("Task instance can not be found, projectCode:{}, taskInstanceId:{}.", projectCode,
                     taskInstanceId);
@@ -41,6 +41,8 @@ import org.apache.dolphinscheduler.api.service.TaskInstanceService;
 import org.apache.dolphinscheduler.api.service.UsersService;
 import org.apache.dolphinscheduler.api.service.WorkflowDefinitionService;
 import org.apache.dolphinscheduler.api.service.WorkflowInstanceService;
+import org.apache.dolphinscheduler.api.utils.CursorPageInfo;
+import org.apache.dolphinscheduler.api.utils.PageCursor;
 import org.apache.dolphinscheduler.api.utils.PageInfo;
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.CommandKeyConstants;
@@ -70,6 +72,7 @@ import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
 import org.apache.dolphinscheduler.dao.mapper.WorkflowDefinitionLogMapper;
 import org.apache.dolphinscheduler.dao.mapper.WorkflowDefinitionMapper;
 import org.apache.dolphinscheduler.dao.mapper.WorkflowInstanceMapper;
+import org.apache.dolphinscheduler.dao.repository.InstanceArchiveDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceDao;
 import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceMapDao;
@@ -138,6 +141,9 @@ public class WorkflowInstanceServiceImpl extends BaseServiceImpl implements Work
     @Autowired
     private WorkflowInstanceMapDao workflowInstanceMapDao;
 
+    @Autowired
+    private InstanceArchiveDao instanceArchiveDao;
+
     @Autowired
     WorkflowDefinitionMapper workflowDefinitionMapper;
 
@@ -237,8 +243,7 @@ public class WorkflowInstanceServiceImpl extends BaseServiceImpl implements Work
         if (result.get(Constants.STATUS) != Status.SUCCESS) {
             return result;
         }
-        WorkflowInstance workflowInstance = processService.findWorkflowInstanceDetailById(workflowInstanceId)
-                .orElseThrow(() -> new ServiceException(WORKFLOW_INSTANCE_NOT_EXIST, workflowInstanceId));
+        WorkflowInstance workflowInstance = queryWorkflowInstanceDetailIncludeArchive(workflowInstanceId);
 
         WorkflowDefinition workflowDefinition =
                 processService.findWorkflowDefinition(workflowInstance.getWorkflowDefinitionCode(),
@@ -275,13 +280,20 @@ public class WorkflowInstanceServiceImpl extends BaseServiceImpl implements Work
      */
     @Override
     public Map<String, Object> queryWorkflowInstanceById(User loginUser, Integer workflowInstanceId) {
-        WorkflowInstance workflowInstance = workflowInstanceMapper.selectById(workflowInstanceId);
+        WorkflowInstance workflowInstance = queryWorkflowInstanceDetailIncludeArchive(workflowInstanceId);
         WorkflowDefinition workflowDefinition =
                 workflowDefinitionMapper.queryByCode(workflowInstance.getWorkflowDefinitionCode());
 
         return queryWorkflowInstanceById(loginUser, workflowDefinition.getProjectCode(), workflowInstanceId);
     }
 
+    private WorkflowInstance queryWorkflowInstanceDetailIncludeArchive(Integer workflowInstanceId) {
+        // The finished workflow instance may have been moved into the archive table
+        return processService.findWorkflowInstanceDetailById(workflowInstanceId)
+                .orElseGet(() -> instanceArchiveDao.queryArchivedWorkflowInstanceById(workflowInstanceId)
+                        .orElseThrow(() -> new ServiceException(WORKFLOW_INSTANCE_NOT_EXIST, workflowInstanceId)));
+    }
+
     /**
      * paging query workflow instance list, filtering according to project, workflow definition, time range, keyword, workflow status
      *
@@ -340,6 +352,83 @@ public class WorkflowInstanceServiceImpl extends BaseServiceImpl implements Work
                 end);
 
         List<WorkflowInstance> workflowInstances = workflowInstanceList.getRecords();
+        fillDurationAndExecutorName(workflowInstances);
+
+        pageInfo.setTotal((int) workflowInstanceList.getTotal());
+        pageInfo.setTotalList(workflowInstances);
+        result.setData(pageInfo);
+        putMsg(result, Status.SUCCESS);
+        return result;
+    }
+
+    /**
+     * keyset paging query workflow instance list, the deep pages cost the same as the first page since there is no
+     * offset to skip and no total count to calculate
+     *
+     * @param loginUser         login user
+     * @param projectCode       project code
+     * @param workflowDefinitionCode workflow definition code
+     * @param startDate         start time
+     * @param endDate           end time
+     * @param searchVal         search value
+     * @param executorName      executor name
+     * @param stateType         state type
+     * @param host              host
+     * @param cursor            the next cursor returned by the previous page, blank for the first page
+     * @param pageSize          page size
+     * @return workflow instance list
+     */
+    @Override
+    public Result<CursorPageInfo<WorkflowInstance>> queryWorkflowInstanceListByCursor(User loginUser,
+                                                                                      long projectCode,
+                                                                                      long workflowDefinitionCode,
+                                                                                      String startDate,
+                                                                                      String endDate,
+                                                                                      String searchVal,
+                                                                                      String executorName,
+                                                                                      WorkflowExecutionStatus stateType,
+                                                                                      String host,
+                                                                                      String cursor,
+                                                                                      Integer pageSize) {
+        Result<CursorPageInfo<WorkflowInstance>> result = new Result<>();
+        // check user access for project
+        projectService.checkProjectAndAuthThrowException(loginUser, projectCode, WORKFLOW_INSTANCE);
+
+        int[] statusArray = null;
+        // filter by state
+        if (stateType != null) {
+            statusArray = new int[]{stateType.getCode()};
+        }
+
+        Date start = checkAndParseDateParameters(startDate);
+        Date end = checkAndParseDateParameters(endDate);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+
+        // query one more row to know whether there is a next page, and skip the count query
+        Page<WorkflowInstance> page = new Page<>(1, pageSize + 1, false);
+        List<WorkflowInstance> workflowInstances = workflowInstanceMapper.queryWorkflowInstanceListByCursor(
+                page,
+                projectCode,
+                workflowDefinitionCode,
+                searchVal,
+                executorName,
+                statusArray,
+                host,
+                start,
+                end,
+                pageCursor == null ? null : pageCursor.getTime(),
+                pageCursor == null ? null : pageCursor.getId()).getRecords();
+
+        CursorPageInfo<WorkflowInstance> pageInfo = CursorPageInfo.of(workflowInstances, pageSize,
+                workflowInstance -> new PageCursor(workflowInstance.getStartTime(), workflowInstance.getId()));
+        fillDurationAndExecutorName(pageInfo.getTotalList());
+
+        result.setData(pageInfo);
+        putMsg(result, Status.SUCCESS);
+        return result;
+    }
+
+    private void fillDurationAndExecutorName(List<WorkflowInstance> workflowInstances) {
         List<Integer> userIds = Collections.emptyList();
         if (CollectionUtils.isNotEmpty(workflowInstances)) {
             userIds = workflowInstances.stream().map(WorkflowInstance::getExecutorId).collect(Collectors.toList());
@@ -357,12 +446,6 @@ public class WorkflowInstanceServiceImpl extends BaseServiceImpl implements Work
                 workflowInstance.setExecutorName(executor.getUserName());
             }
         }
-
-        pageInfo.setTotal((int) workflowInstanceList.getTotal());
-        pageInfo.setTotalList(workflowInstances);
-        result.setData(pageInfo);
-        putMsg(result, Status.SUCCESS);
-        return result;
     }
 
     /**
@@ -447,8 +530,7 @@ public class WorkflowInstanceServiceImpl extends BaseServiceImpl implements Work
         if (result.get(Constants.STATUS) != Status.SUCCESS) {
             return result;
         }
-        WorkflowInstance workflowInstance = processService.findWorkflowInstanceDetailById(workflowInstanceId)
-                .orElseThrow(() -> new ServiceException(WORKFLOW_INSTANCE_NOT_EXIST, workflowInstanceId));
+        WorkflowInstance workflowInstance = queryWorkflowInstanceDetailIncludeArchive(workflowInstanceId);
         WorkflowDefinition workflowDefinition =
                 workflowDefinitionMapper.queryByCode(workflowInstance.getWorkflowDefinitionCode());
         if (workflowDefinition != null && projectCode != workflowDefinition.getProjectCode()) {
@@ -460,6 +542,13 @@ public class WorkflowInstanceServiceImpl extends BaseServiceImpl implements Work
         List<TaskInstance> taskInstanceList =
                 taskInstanceDao.queryValidTaskListByWorkflowInstanceId(workflowInstanceId,
                         workflowInstance.getTestFlag());
+        if (taskInstanceList.isEmpty()) {
+            // The workflow instance and its task instances are archived together
+            taskInstanceList = instanceArchiveDao.queryArchivedTaskInstanceByWorkflowInstanceId(workflowInstanceId)
+                    .stream()
+                    .filter(taskInstance -> taskInstance.getFlag() == Flag.YES)
+                    .collect(Collectors.toList());
+        }
         Map<String, Object> resultMap = new HashMap<>();
         resultMap.put(WORKFLOW_INSTANCE_STATE, workflowInstance.getState().toString());
         resultMap.put(TASK_LIST, taskInstanceList);
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.statistics;
+
+import org.apache.dolphinscheduler.api.configuration.ApiConfig;
+import org.apache.dolphinscheduler.common.enums.StatisticsInstanceType;
+import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
+import org.apache.dolphinscheduler.dao.mapper.WorkflowInstanceMapper;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStatusCountDto;
+import org.apache.dolphinscheduler.dao.model.WorkflowInstanceStatusCountDto;
+import org.apache.dolphinscheduler.dao.repository.InstanceStateStatisticsDao;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Count the workflow/task instances group by state.
+ * <p>
+ * If the statistics rollup is enabled, the complete hour buckets before the compaction watermark are read from the
+ * rollup, only the partial buckets at the head and the instances after the watermark are counted from the instance
+ * table. Otherwise, all the instances are counted from the instance table.
+ * <p>
+ * The time range has the same semantic as {@link WorkflowInstanceMapper#countWorkflowInstanceStateByProjectCodes}
+ * and {@link TaskInstanceMapper#countTaskInstanceStateByProjectCodes}, except that the instances without start time
+ * are not counted if both the start time and the end time are null.
+ */
+@Component
+public class InstanceStateCounter {
+
+    @Autowired
+    private ApiConfig apiConfig;
+
+    @Autowired
+    private InstanceStateStatisticsDao instanceStateStatisticsDao;
+
+    @Autowired
+    private WorkflowInstanceMapper workflowInstanceMapper;
+
+    @Autowired
+    private TaskInstanceMapper taskInstanceMapper;
+
+    public boolean isEnabled() {
+        return apiConfig.getStatistics().isEnabled();
+    }
+
+    /**
+     * Count the workflow instances whose start_time is in [startTime, endTime].
+     */
+    public List<WorkflowInstanceStatusCountDto> countWorkflowInstanceState(Date startTime,
+                                                                           Date endTime,
+                                                                           List<Long> projectCodes) {
+        Optional<Date> watermark = getWatermark(StatisticsInstanceType.WORKFLOW_INSTANCE);
+        if (!watermark.isPresent()) {
+            return workflowInstanceMapper.countWorkflowInstanceStateByProjectCodes(startTime, endTime, projectCodes);
+        }
+        Date rollupStart = startTime == null ? null : StatisticsBuckets.ceil(startTime);
+        Date rollupEnd = getRollupEnd(watermark.get(), endTime);
+        if (rollupStart != null && !rollupStart.before(rollupEnd)) {
+            return workflowInstanceMapper.countWorkflowInstanceStateByProjectCodes(startTime, endTime, projectCodes);
+        }
+
+        List<WorkflowInstanceStatusCountDto> counts = new ArrayList<>();
+        if (rollupStart != null && startTime.before(rollupStart)) {
+            counts.addAll(workflowInstanceMapper.countWorkflowInstanceStateByProjectCodes(startTime,
+                    beforeBucket(rollupStart), projectCodes));
+        }
+        counts.addAll(instanceStateStatisticsDao.sumWorkflowInstanceStateCount(rollupStart, rollupEnd, projectCodes));
+        counts.addAll(
+                workflowInstanceMapper.countWorkflowInstanceStateByProjectCodes(rollupEnd, endTime, projectCodes));
+        return merge(counts, WorkflowInstanceStatusCountDto::getState, WorkflowInstanceStatusCountDto::getCount,
+                WorkflowInstanceStatusCountDto::new);
+    }
+
+    /**
+     * Count the task instances whose start_time is in (startTime, endTime].
+     */
+    public List<TaskInstanceStatusCountDto> countTaskInstanceState(Date startTime,
+                                                                   Date endTime,
+                                                                   List<Long> projectCodes) {
+        Optional<Date> watermark = getWatermark(StatisticsInstanceType.TASK_INSTANCE);
+        if (!watermark.isPresent()) {
+            return taskInstanceMapper.countTaskInstanceStateByProjectCodes(startTime, endTime, projectCodes);
+        }
+        Date rollupStart = startTime == null ? null : StatisticsBuckets.nextBucket(startTime);
+        Date rollupEnd = getRollupEnd(watermark.get(), endTime);
+        if (rollupStart != null && !rollupStart.before(rollupEnd)) {
+            return taskInstanceMapper.countTaskInstanceStateByProjectCodes(startTime, endTime, projectCodes);
+        }
+
+        List<TaskInstanceStatusCountDto> counts = new ArrayList<>();
+        if (rollupStart != null) {
+            counts.addAll(taskInstanceMapper.countTaskInstanceStateByProjectCodes(startTime,
+                    beforeBucket(rollupStart), projectCodes));
+        }
+        counts.addAll(instanceStateStatisticsDao.sumTaskInstanceStateCount(rollupStart, rollupEnd, projectCodes));
+        counts.addAll(taskInstanceMapper.countTaskInstanceStateByProjectCodes(beforeBucket(rollupEnd), endTime,
+                projectCodes));
+        return merge(counts, TaskInstanceStatusCountDto::getState, TaskInstanceStatusCountDto::getCount,
+                TaskInstanceStatusCountDto::new);
+    }
+
+    private Optional<Date> getWatermark(StatisticsInstanceType instanceType) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        return instanceStateStatisticsDao.queryWatermark(instanceType);
+    }
+
+    /**
+     * The rollup is read until the watermark or the bucket which the end time is in, whichever is earlier.
+     */
+    private Date getRollupEnd(Date watermark, Date endTime) {
+        if (endTime == null) {
+            return watermark;
+        }
+        Date endBucket = StatisticsBuckets.floor(endTime);
+        return endBucket.before(watermark) ? endBucket : watermark;
+    }
+
+    /**
+     * The last millisecond before the bucket, the time stored in database is no more precise than millisecond.
+     */
+    private Date beforeBucket(Date bucket) {
+        return new Date(bucket.getTime() - 1);
+    }
+
+    private <S, T> List<T> merge(List<T> counts,
+                                 Function<T, S> stateGetter,
+                                 ToIntFunction<T> countGetter,
+                                 BiFunction<S, Integer, T> countCreator) {
+        Map<S, Integer> stateCounts = new LinkedHashMap<>();
+        for (T count : counts) {
+            stateCounts.merge(stateGetter.apply(count), countGetter.applyAsInt(count), Integer::sum);
+        }
+        List<T> result = new ArrayList<>(stateCounts.size());
+        stateCounts.forEach((state, count) -> result.add(countCreator.apply(state, count)));
+        return result;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.statistics;
+
+import org.apache.dolphinscheduler.api.configuration.ApiConfig;
+import org.apache.dolphinscheduler.common.enums.StatisticsInstanceType;
+import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.repository.InstanceStateStatisticsDao;
+import org.apache.dolphinscheduler.registry.api.RegistryClient;
+import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.util.Date;
+import java.util.Optional;
+
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compact the workflow/task instances into the hourly state statistics rollup.
+ * <p>
+ * Each round recounts the buckets from the watermark (or the start of the refresh window, whichever is earlier) to
+ * the current hour, and moves the watermark forward once a bucket is compacted. The first round backfills the whole
+ * history from the earliest instance, at most {@code maxCompactBucketsPerRound} buckets are compacted in one round.
+ * The buckets before them which still contain unfinished instances are recounted as well.
+ * <p>
+ * The compaction runs on only one api server at the same time, guarded by the registry lock.
+ */
+@Slf4j
+@Component
+public class InstanceStateStatisticsCompactor extends BaseDaemonThread {
+
+    @Autowired
+    private ApiConfig apiConfig;
+
+    @Autowired
+    private InstanceStateStatisticsDao instanceStateStatisticsDao;
+
+    @Autowired
+    private RegistryClient registryClient;
+
+    private volatile boolean flag = true;
+
+    public InstanceStateStatisticsCompactor() {
+        super("InstanceStateStatisticsCompactor");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void onApplicationReady() {
+        if (!apiConfig.getStatistics().isEnabled()) {
+            return;
+        }
+        log.info("InstanceStateStatisticsCompactor starting...");
+        flag = true;
+        super.start();
+        log.info("InstanceStateStatisticsCompactor started...");
+    }
+
+    @Override
+    public void run() {
+        while (flag) {
+            try {
+                registryClient.getLock(RegistryNodeType.API_STATISTICS_COMPACTION_LOCK.getRegistryPath());
+                try {
+                    StopWatch compactionCost = StopWatch.createStarted();
+                    compact(StatisticsInstanceType.WORKFLOW_INSTANCE);
+                    compact(StatisticsInstanceType.TASK_INSTANCE);
+                    log.debug("InstanceStateStatisticsCompactor round cost: {}/ms", compactionCost.getTime());
+                } finally {
+                    registryClient.releaseLock(RegistryNodeType.API_STATISTICS_COMPACTION_LOCK.getRegistryPath());
+                }
+            } catch (Throwable e) {
+                log.error("InstanceStateStatisticsCompactor error", e);
+            } finally {
+                ThreadUtils.sleep(apiConfig.getStatistics().getCompactionInterval().toMillis());
+            }
+        }
+    }
+
+    void compact(StatisticsInstanceType instanceType) {
+        Date now = new Date();
+        Date currentBucket = StatisticsBuckets.floor(now);
+        Date refreshWindowStart = StatisticsBuckets
+                .floor(new Date(now.getTime() - apiConfig.getStatistics().getRefreshWindow().toMillis()));
+
+        Optional<Date> watermarkOptional = instanceStateStatisticsDao.queryWatermark(instanceType);
+        Date watermark;
+        Date bucket;
+        if (watermarkOptional.isPresent()) {
+            watermark = watermarkOptional.get();
+            bucket = watermark.before(refreshWindowStart) ? watermark : refreshWindowStart;
+        } else {
+            Optional<Date> earliestStartTime = instanceStateStatisticsDao.queryEarliestInstanceStartTime(instanceType);
+            if (!earliestStartTime.isPresent()) {
+                instanceStateStatisticsDao.upsertWatermark(instanceType, currentBucket);
+                return;
+            }
+            // There is no instance before the earliest bucket
+            watermark = StatisticsBuckets.floor(earliestStartTime.get());
+            instanceStateStatisticsDao.upsertWatermark(instanceType, watermark);
+            bucket = watermark;
+        }
+
+        Date refreshStartBucket = bucket;
+        int maxCompactBuckets = apiConfig.getStatistics().getMaxCompactBucketsPerRound();
+        int compactedBuckets = 0;
+        while (bucket.before(currentBucket) && compactedBuckets < maxCompactBuckets) {
+            Date bucketEndTime = new Date(bucket.getTime() + StatisticsBuckets.BUCKET_MILLIS);
+            instanceStateStatisticsDao.compactBucket(instanceType, bucket, bucketEndTime);
+            if (bucketEndTime.after(watermark)) {
+                watermark = bucketEndTime;
+                instanceStateStatisticsDao.upsertWatermark(instanceType, watermark);
+            }
+            bucket = bucketEndTime;
+            compactedBuckets++;
+        }
+        // The buckets before the refresh window are recounted until the instances in them are all finished, e.g. a
+        // long-running workflow instance, otherwise they are frozen in the state of the last compaction
+        for (Date unfinishedBucket : instanceStateStatisticsDao.queryUnfinishedBucketTimes(instanceType,
+                refreshStartBucket)) {
+            if (compactedBuckets >= maxCompactBuckets) {
+                break;
+            }
+            instanceStateStatisticsDao.compactBucket(instanceType, unfinishedBucket,
+                    new Date(unfinishedBucket.getTime() + StatisticsBuckets.BUCKET_MILLIS));
+            compactedBuckets++;
+        }
+        log.debug("Compacted {} buckets of {} statistics, watermark: {}", compactedBuckets, instanceType, watermark);
+    }
+
+    @PreDestroy
+    public void close() {
+        flag = false;
+    }
+}
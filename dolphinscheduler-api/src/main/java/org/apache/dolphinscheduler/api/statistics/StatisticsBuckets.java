@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.statistics;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * The instances are aggregated into the hour bucket which is aligned to the epoch, so the buckets computed by
+ * different api servers are always the same no matter which timezone they are in.
+ */
+@UtilityClass
+public class StatisticsBuckets {
+
+    public static final long BUCKET_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * The start time of the bucket which the given time is in.
+     */
+    public static Date floor(Date time) {
+        long millis = time.getTime();
+        return new Date(millis - Math.floorMod(millis, BUCKET_MILLIS));
+    }
+
+    /**
+     * The start time of the first bucket which starts after the given time.
+     */
+    public static Date nextBucket(Date time) {
+        return new Date(floor(time).getTime() + BUCKET_MILLIS);
+    }
+
+    /**
+     * The start time of the first bucket which starts at or after the given time.
+     */
+    public static Date ceil(Date time) {
+        Date floor = floor(time);
+        return floor.equals(time) ? floor : new Date(floor.getTime() + BUCKET_MILLIS);
+    }
+}
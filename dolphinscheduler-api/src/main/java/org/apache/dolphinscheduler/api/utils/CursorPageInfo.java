@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Keyset page, unlike {@link PageInfo} it doesn't carry the total count, the client uses {@link #nextCursor} to
+ * fetch the next page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageInfo<T> {
+
+    /**
+     * totalList
+     */
+    private List<T> totalList = Collections.emptyList();
+    /**
+     * page size
+     */
+    private Integer pageSize = 20;
+    /**
+     * the cursor of the next page, null if there is no more data
+     */
+    private String nextCursor;
+
+    /**
+     * Build the page from the rows queried with {@code pageSize + 1} limit, the extra row only tells whether there
+     * is a next page and is dropped.
+     */
+    public static <T> CursorPageInfo<T> of(List<T> rows, int pageSize, Function<T, PageCursor> cursorExtractor) {
+        if (rows.size() <= pageSize) {
+            return new CursorPageInfo<>(rows, pageSize, null);
+        }
+        List<T> pageRows = new ArrayList<>(rows.subList(0, pageSize));
+        String nextCursor = cursorExtractor.apply(pageRows.get(pageSize - 1)).encode();
+        return new CursorPageInfo<>(pageRows, pageSize, nextCursor);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.utils;
+
+import org.apache.dolphinscheduler.api.enums.Status;
+import org.apache.dolphinscheduler.api.exceptions.ServiceException;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * The position of the last row of a keyset page, the rows are sorted by (time desc, id desc).
+ * <p>
+ * The cursor is handed to the client as an opaque url-safe string, the client should not rely on its format.
+ */
+@Data
+@AllArgsConstructor
+public class PageCursor {
+
+    private static final String SEPARATOR = "_";
+
+    private Date time;
+
+    private int id;
+
+    public String encode() {
+        String raw = time.getTime() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode the cursor returned by a previous page.
+     *
+     * @param cursor the cursor, blank means the first page
+     * @return the decoded cursor, or null if the cursor is blank
+     * @throws ServiceException if the cursor is malformed
+     */
+    public static PageCursor decode(String cursor) {
+        if (StringUtils.isBlank(cursor)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR);
+            if (parts.length != 2) {
+                throw new ServiceException(Status.REQUEST_PARAMS_NOT_VALID_ERROR, "cursor");
+            }
+            return new PageCursor(new Date(Long.parseLong(parts[0])), Integer.parseInt(parts[1]));
+        } catch (IllegalArgumentException ex) {
+            throw new ServiceException(Status.REQUEST_PARAMS_NOT_VALID_ERROR, "cursor");
+        }
+    }
+}
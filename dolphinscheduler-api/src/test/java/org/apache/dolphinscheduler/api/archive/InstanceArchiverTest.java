@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.api.configuration.ApiConfig;
+import org.apache.dolphinscheduler.dao.repository.InstanceArchiveDao;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class InstanceArchiverTest {
+
+    @InjectMocks
+    private InstanceArchiver instanceArchiver;
+
+    @Spy
+    private ApiConfig apiConfig = new ApiConfig();
+
+    @Mock
+    private InstanceArchiveDao instanceArchiveDao;
+
+    @BeforeEach
+    void setUp() {
+        apiConfig.getArchive().setBatchSize(2);
+        apiConfig.getArchive().setBatchInterval(Duration.ZERO);
+    }
+
+    @Test
+    void archiveWorkflowInstances_untilNoMoreInstance() {
+        when(instanceArchiveDao.queryArchivableWorkflowInstanceIds(any(), eq(2)))
+                .thenReturn(Arrays.asList(1, 2))
+                .thenReturn(Collections.singletonList(3));
+        when(instanceArchiveDao.archiveWorkflowInstances(any())).thenReturn(2, 1);
+
+        assertEquals(3, instanceArchiver.archiveWorkflowInstances());
+        verify(instanceArchiveDao, times(2)).queryArchivableWorkflowInstanceIds(any(), anyInt());
+    }
+
+    @Test
+    void archiveWorkflowInstances_limitedByMaxBatches() {
+        apiConfig.getArchive().setMaxBatchesPerRound(3);
+        when(instanceArchiveDao.queryArchivableWorkflowInstanceIds(any(), eq(2))).thenReturn(Arrays.asList(1, 2));
+        when(instanceArchiveDao.archiveWorkflowInstances(any())).thenReturn(2);
+
+        assertEquals(6, instanceArchiver.archiveWorkflowInstances());
+        verify(instanceArchiveDao, times(3)).archiveWorkflowInstances(any());
+    }
+
+    @Test
+    void archiveWorkflowInstances_keepStatisticsRefreshWindow() {
+        apiConfig.getStatistics().setEnabled(true);
+        apiConfig.getStatistics().setRefreshWindow(Duration.ofDays(10));
+        apiConfig.getArchive().setRetention(Duration.ofDays(1));
+        when(instanceArchiveDao.queryArchivableWorkflowInstanceIds(any(), eq(2))).thenReturn(Collections.emptyList());
+
+        instanceArchiver.archiveWorkflowInstances();
+        ArgumentCaptor<Date> archiveBefore = ArgumentCaptor.forClass(Date.class);
+        verify(instanceArchiveDao).queryArchivableWorkflowInstanceIds(archiveBefore.capture(), eq(2));
+        assertTrue(archiveBefore.getValue().getTime() < System.currentTimeMillis() - Duration.ofDays(10).toMillis());
+    }
+
+    @Test
+    void purgeErrorCommands() {
+        when(instanceArchiveDao.purgeErrorCommands(any(), eq(2))).thenReturn(2, 2, 1);
+
+        assertEquals(5, instanceArchiver.purgeErrorCommands());
+        verify(instanceArchiveDao, times(3)).purgeErrorCommands(any(), anyInt());
+    }
+}
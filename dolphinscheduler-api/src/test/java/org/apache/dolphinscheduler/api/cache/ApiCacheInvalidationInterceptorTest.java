@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.cache;
+
+import org.apache.dolphinscheduler.dao.entity.AccessToken;
+import org.apache.dolphinscheduler.dao.entity.Project;
+import org.apache.dolphinscheduler.dao.entity.Session;
+import org.apache.dolphinscheduler.dao.mapper.AccessTokenMapper;
+import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
+import org.apache.dolphinscheduler.dao.mapper.SessionMapper;
+import org.apache.dolphinscheduler.dao.mapper.UserMapper;
+
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+
+public class ApiCacheInvalidationInterceptorTest {
+
+    private final ApiCacheInvalidator apiCacheInvalidator = Mockito.mock(ApiCacheInvalidator.class);
+
+    private final ApiCacheInvalidationInterceptor interceptor =
+            new ApiCacheInvalidationInterceptor(apiCacheInvalidator);
+
+    @Test
+    public void testInsertSessionDoesNotInvalidatePrincipal() throws Throwable {
+        Session session = Session.builder().id("session").userId(1).build();
+        intercept(SessionMapper.class, "insert", SqlCommandType.INSERT, session);
+
+        Mockito.verifyNoInteractions(apiCacheInvalidator);
+    }
+
+    @Test
+    public void testUpdateSessionInvalidatesTheUser() throws Throwable {
+        MapperMethod.ParamMap<Object> paramMap = new MapperMethod.ParamMap<>();
+        paramMap.put("et", Session.builder().id("session").userId(1).build());
+        intercept(SessionMapper.class, "updateById", SqlCommandType.UPDATE, paramMap);
+
+        Mockito.verify(apiCacheInvalidator).invalidate(ApiCacheType.PRINCIPAL, 1);
+        Mockito.verifyNoMoreInteractions(apiCacheInvalidator);
+    }
+
+    @Test
+    public void testDeleteSessionsByUserInvalidatesTheUser() throws Throwable {
+        MapperMethod.ParamMap<Object> paramMap = new MapperMethod.ParamMap<>();
+        paramMap.put("ew", new QueryWrapper<>(Session.builder().userId(2).build()));
+        intercept(SessionMapper.class, "delete", SqlCommandType.DELETE, paramMap);
+
+        Mockito.verify(apiCacheInvalidator).invalidate(ApiCacheType.PRINCIPAL, 2);
+        Mockito.verifyNoMoreInteractions(apiCacheInvalidator);
+    }
+
+    @Test
+    public void testInsertAccessTokenOnlyInvalidatesAuthorizedResourcesOfTheUser() throws Throwable {
+        AccessToken accessToken = new AccessToken();
+        accessToken.setUserId(3);
+        intercept(AccessTokenMapper.class, "insert", SqlCommandType.INSERT, accessToken);
+
+        Mockito.verify(apiCacheInvalidator).invalidate(ApiCacheType.AUTHORIZED_RESOURCE, 3);
+        Mockito.verifyNoMoreInteractions(apiCacheInvalidator);
+    }
+
+    @Test
+    public void testDeleteUserByIdInvalidatesTheUser() throws Throwable {
+        intercept(UserMapper.class, "deleteById", SqlCommandType.DELETE, 4);
+
+        Mockito.verify(apiCacheInvalidator).invalidate(ApiCacheType.PRINCIPAL, 4);
+        Mockito.verify(apiCacheInvalidator).invalidate(ApiCacheType.AUTHORIZED_RESOURCE, 4);
+    }
+
+    @Test
+    public void testUnknownUserInvalidatesTheWholeCache() throws Throwable {
+        MapperMethod.ParamMap<Object> paramMap = new MapperMethod.ParamMap<>();
+        paramMap.put("et", new Project());
+        intercept(ProjectMapper.class, "updateById", SqlCommandType.UPDATE, paramMap);
+        intercept(AccessTokenMapper.class, "deleteById", SqlCommandType.DELETE, 5);
+
+        Mockito.verify(apiCacheInvalidator, Mockito.times(2)).invalidate(ApiCacheType.AUTHORIZED_RESOURCE);
+        Mockito.verify(apiCacheInvalidator).invalidate(ApiCacheType.PRINCIPAL);
+    }
+
+    private void intercept(Class<?> mapper, String method, SqlCommandType sqlCommandType,
+                           Object parameter) throws Throwable {
+        Configuration configuration = new Configuration();
+        MappedStatement mappedStatement = new MappedStatement.Builder(configuration, mapper.getName() + "." + method,
+                configuration.getDefaultScriptingLanguageInstance().createSqlSource(configuration, "", Object.class),
+                sqlCommandType)
+                        .resultMaps(Collections.emptyList())
+                        .build();
+        Executor executor = Mockito.mock(Executor.class);
+        interceptor.intercept(new Invocation(executor, Executor.class.getMethod("update", MappedStatement.class,
+                Object.class), new Object[]{mappedStatement, parameter}));
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.cache;
+
+import org.apache.dolphinscheduler.api.configuration.ApiConfig;
+import org.apache.dolphinscheduler.common.enums.AuthorizationType;
+import org.apache.dolphinscheduler.dao.entity.AccessToken;
+import org.apache.dolphinscheduler.dao.entity.User;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ApiCacheManagerTest {
+
+    @Test
+    public void testGetUserByToken() {
+        ApiCacheManager apiCacheManager = createApiCacheManager(true);
+        AtomicInteger loadTimes = new AtomicInteger();
+        User user = new User();
+        user.setId(1);
+
+        AccessToken accessToken = createAccessToken(1, System.currentTimeMillis() + 60_000);
+
+        Assertions.assertSame(user, apiCacheManager.getUserByToken("token", () -> {
+            loadTimes.incrementAndGet();
+            return accessToken;
+        }, userId -> user));
+        Assertions.assertSame(user, apiCacheManager.getUserByToken("token", () -> {
+            loadTimes.incrementAndGet();
+            return accessToken;
+        }, userId -> user));
+        Assertions.assertEquals(1, loadTimes.get());
+
+        apiCacheManager.invalidate(ApiCacheType.PRINCIPAL);
+        apiCacheManager.getUserByToken("token", () -> {
+            loadTimes.incrementAndGet();
+            return accessToken;
+        }, userId -> user);
+        Assertions.assertEquals(2, loadTimes.get());
+    }
+
+    @Test
+    public void testCachedUserOfTokenExpiresWithToken() throws InterruptedException {
+        ApiCacheManager apiCacheManager = createApiCacheManager(true);
+        User user = new User();
+        user.setId(1);
+        AccessToken accessToken = createAccessToken(1, System.currentTimeMillis() + 100);
+
+        Assertions.assertSame(user, apiCacheManager.getUserByToken("token", () -> accessToken, userId -> user));
+        Thread.sleep(200);
+        // The token is still cached but has expired
+        Assertions.assertNull(apiCacheManager.getUserByToken("token", () -> accessToken, userId -> user));
+        Assertions.assertNull(apiCacheManager.getUserByToken("token",
+                () -> createAccessToken(1, System.currentTimeMillis() - 1), userId -> user));
+    }
+
+    @Test
+    public void testInvalidateByUser() {
+        ApiCacheManager apiCacheManager = createApiCacheManager(true);
+        AtomicInteger loadTimes = new AtomicInteger();
+        User user1 = new User();
+        user1.setId(1);
+        User user2 = new User();
+        user2.setId(2);
+        apiCacheManager.getUserBySession("session1", () -> user1);
+        apiCacheManager.getUserBySession("session2", () -> user2);
+        apiCacheManager.getAuthorizedResourceIds(AuthorizationType.PROJECTS, 1, () -> Collections.singleton(1));
+        apiCacheManager.getAuthorizedResourceIds(AuthorizationType.PROJECTS, 2, () -> Collections.singleton(2));
+
+        apiCacheManager.invalidate(ApiCacheType.PRINCIPAL, 1);
+        apiCacheManager.invalidate(ApiCacheType.AUTHORIZED_RESOURCE, 1);
+
+        apiCacheManager.getUserBySession("session1", () -> {
+            loadTimes.incrementAndGet();
+            return user1;
+        });
+        apiCacheManager.getUserBySession("session2", () -> {
+            loadTimes.incrementAndGet();
+            return user2;
+        });
+        Assertions.assertEquals(1, loadTimes.get());
+        apiCacheManager.getAuthorizedResourceIds(AuthorizationType.PROJECTS, 1, () -> {
+            loadTimes.incrementAndGet();
+            return Collections.singleton(1);
+        });
+        apiCacheManager.getAuthorizedResourceIds(AuthorizationType.PROJECTS, 2, () -> {
+            loadTimes.incrementAndGet();
+            return Collections.singleton(2);
+        });
+        Assertions.assertEquals(2, loadTimes.get());
+    }
+
+    @Test
+    public void testAbsentUserIsNotCached() {
+        ApiCacheManager apiCacheManager = createApiCacheManager(true);
+        User user = new User();
+
+        Assertions.assertNull(apiCacheManager.getUserBySession("session", () -> null));
+        Assertions.assertSame(user, apiCacheManager.getUserBySession("session", () -> user));
+    }
+
+    @Test
+    public void testGetAuthorizedResourceIds() {
+        ApiCacheManager apiCacheManager = createApiCacheManager(true);
+        AtomicInteger loadTimes = new AtomicInteger();
+
+        Set<Integer> projectIds = apiCacheManager.getAuthorizedResourceIds(AuthorizationType.PROJECTS, 1, () -> {
+            loadTimes.incrementAndGet();
+            return new HashSet<>(Collections.singleton(1));
+        });
+        // the returned set is a copy of the cached one
+        projectIds.add(2);
+        Assertions.assertEquals(Collections.singleton(1),
+                apiCacheManager.getAuthorizedResourceIds(AuthorizationType.PROJECTS, 1, () -> {
+                    loadTimes.incrementAndGet();
+                    return new HashSet<>(Collections.singleton(1));
+                }));
+        Assertions.assertEquals(1, loadTimes.get());
+
+        apiCacheManager.invalidateAuthorizedResourceIds(AuthorizationType.PROJECTS, 1);
+        apiCacheManager.getAuthorizedResourceIds(AuthorizationType.PROJECTS, 1, () -> {
+            loadTimes.incrementAndGet();
+            return new HashSet<>(Collections.singleton(1));
+        });
+        Assertions.assertEquals(2, loadTimes.get());
+    }
+
+    @Test
+    public void testInvalidateDuringLoading() {
+        ApiCacheManager apiCacheManager = createApiCacheManager(true);
+        AtomicInteger loadTimes = new AtomicInteger();
+        User user = new User();
+
+        apiCacheManager.getUserById(1, () -> {
+            loadTimes.incrementAndGet();
+            apiCacheManager.invalidate(ApiCacheType.PRINCIPAL);
+            return user;
+        });
+        apiCacheManager.getUserById(1, () -> {
+            loadTimes.incrementAndGet();
+            return user;
+        });
+        Assertions.assertEquals(2, loadTimes.get());
+    }
+
+    @Test
+    public void testCacheDisabled() {
+        ApiCacheManager apiCacheManager = createApiCacheManager(false);
+        AtomicInteger loadTimes = new AtomicInteger();
+        User user = new User();
+
+        apiCacheManager.getUserBySession("session", () -> {
+            loadTimes.incrementAndGet();
+            return user;
+        });
+        apiCacheManager.getUserBySession("session", () -> {
+            loadTimes.incrementAndGet();
+            return user;
+        });
+        Assertions.assertEquals(2, loadTimes.get());
+    }
+
+    private AccessToken createAccessToken(int userId, long expireTime) {
+        AccessToken accessToken = new AccessToken();
+        accessToken.setUserId(userId);
+        accessToken.setToken("token");
+        accessToken.setExpireTime(new Date(expireTime));
+        return accessToken;
+    }
+
+    private ApiCacheManager createApiCacheManager(boolean enabled) {
+        ApiConfig apiConfig = new ApiConfig();
+        apiConfig.getCache().setEnabled(enabled);
+        return new ApiCacheManager(apiConfig);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.executor.workflow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.api.validator.workflow.BackfillWorkflowDTO;
+import org.apache.dolphinscheduler.common.enums.ExecutionOrder;
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.enums.RunMode;
+import org.apache.dolphinscheduler.common.model.Server;
+import org.apache.dolphinscheduler.dao.entity.User;
+import org.apache.dolphinscheduler.dao.entity.WorkflowDefinition;
+import org.apache.dolphinscheduler.extract.base.client.Clients;
+import org.apache.dolphinscheduler.extract.master.IWorkflowControlClient;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBatchBackfillTriggerRequest;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBatchBackfillTriggerResponse;
+import org.apache.dolphinscheduler.registry.api.RegistryClient;
+import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BackfillWorkflowExecutorDelegateTest {
+
+    @Mock
+    private RegistryClient registryClient;
+
+    @InjectMocks
+    private BackfillWorkflowExecutorDelegate backfillWorkflowExecutorDelegate;
+
+    @Test
+    void splitBackfillTimeList_serial() {
+        final BackfillWorkflowDTO backfillWorkflowDTO = createBackfillWorkflowDTO(RunMode.RUN_MODE_SERIAL, 3, null);
+        backfillWorkflowDTO.getBackfillParams().setExecutionOrder(ExecutionOrder.DESC_ORDER);
+
+        final List<List<String>> backfillTimeLists =
+                backfillWorkflowExecutorDelegate.splitBackfillTimeList(backfillWorkflowDTO);
+        assertEquals(1, backfillTimeLists.size());
+        assertEquals(3, backfillTimeLists.get(0).size());
+        assertEquals("2024-01-03 00:00:00", backfillTimeLists.get(0).get(0));
+    }
+
+    @Test
+    void splitBackfillTimeList_parallel() {
+        final BackfillWorkflowDTO backfillWorkflowDTO = createBackfillWorkflowDTO(RunMode.RUN_MODE_PARALLEL, 10, 3);
+
+        final List<Integer> sizes = backfillWorkflowExecutorDelegate.splitBackfillTimeList(backfillWorkflowDTO)
+                .stream()
+                .map(List::size)
+                .collect(Collectors.toList());
+        assertEquals(List.of(3, 3, 3, 1), sizes);
+    }
+
+    @Test
+    void execute_parallel_triggerInBatches() {
+        final BackfillWorkflowDTO backfillWorkflowDTO = createBackfillWorkflowDTO(RunMode.RUN_MODE_PARALLEL, 450, 1);
+        final Server masterServer = new Server();
+        masterServer.setHost("127.0.0.1");
+        masterServer.setPort(5678);
+        when(registryClient.getRandomServer(RegistryNodeType.MASTER)).thenReturn(Optional.of(masterServer));
+
+        final IWorkflowControlClient workflowControlClient = mock(IWorkflowControlClient.class);
+        when(workflowControlClient.batchBackfillTriggerWorkflow(any(WorkflowBatchBackfillTriggerRequest.class)))
+                .thenAnswer(invocation -> {
+                    final WorkflowBatchBackfillTriggerRequest request = invocation.getArgument(0);
+                    return WorkflowBatchBackfillTriggerResponse.success(IntStream
+                            .range(0, request.getBackfillTriggerRequests().size())
+                            .boxed()
+                            .collect(Collectors.toList()));
+                });
+        final Clients.JdkDynamicRpcClientProxyBuilder<IWorkflowControlClient> clientProxyBuilder =
+                mock(Clients.JdkDynamicRpcClientProxyBuilder.class);
+        when(clientProxyBuilder.withHost(anyString())).thenReturn(workflowControlClient);
+
+        try (MockedStatic<Clients> clients = mockStatic(Clients.class)) {
+            clients.when(() -> Clients.withService(IWorkflowControlClient.class)).thenReturn(clientProxyBuilder);
+
+            final List<Integer> triggeredCounts = new ArrayList<>();
+            final List<Integer> workflowInstanceIds = backfillWorkflowExecutorDelegate.execute(backfillWorkflowDTO,
+                    triggeredWorkflowInstanceIds -> triggeredCounts.add(triggeredWorkflowInstanceIds.size()));
+
+            assertEquals(450, workflowInstanceIds.size());
+            assertEquals(List.of(200, 200, 50), triggeredCounts);
+            verify(workflowControlClient, times(3)).batchBackfillTriggerWorkflow(any());
+            verify(workflowControlClient, never()).backfillTriggerWorkflow(any());
+        }
+    }
+
+    private BackfillWorkflowDTO createBackfillWorkflowDTO(RunMode runMode, int dateCount,
+                                                          Integer expectedParallelismNumber) {
+        final User loginUser = new User();
+        loginUser.setId(1);
+        final WorkflowDefinition workflowDefinition = new WorkflowDefinition();
+        workflowDefinition.setCode(1L);
+        workflowDefinition.setVersion(1);
+        final ZonedDateTime firstDate = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZonedDateTime.now().getZone());
+        final List<ZonedDateTime> backfillDateList = IntStream.range(0, dateCount)
+                .mapToObj(firstDate::plusDays)
+                .collect(Collectors.toList());
+        return BackfillWorkflowDTO.builder()
+                .loginUser(loginUser)
+                .workflowDefinition(workflowDefinition)
+                .dryRun(Flag.NO)
+                .testFlag(Flag.NO)
+                .backfillParams(BackfillWorkflowDTO.BackfillParamsDTO.builder()
+                        .runMode(runMode)
+                        .backfillDateList(backfillDateList)
+                        .expectedParallelismNumber(expectedParallelismNumber)
+                        .build())
+                .build();
+    }
+}
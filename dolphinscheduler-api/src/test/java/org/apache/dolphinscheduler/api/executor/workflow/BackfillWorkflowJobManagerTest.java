@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.executor.workflow;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.api.exceptions.ServiceException;
+import org.apache.dolphinscheduler.api.validator.workflow.BackfillWorkflowDTO;
+import org.apache.dolphinscheduler.dao.entity.User;
+import org.apache.dolphinscheduler.dao.entity.WorkflowDefinition;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BackfillWorkflowJobManagerTest {
+
+    @Mock
+    private BackfillWorkflowExecutorDelegate backfillWorkflowExecutorDelegate;
+
+    @InjectMocks
+    private BackfillWorkflowJobManager backfillWorkflowJobManager;
+
+    @AfterEach
+    void tearDown() {
+        backfillWorkflowJobManager.close();
+    }
+
+    @Test
+    void submit_success() {
+        final BackfillWorkflowDTO backfillWorkflowDTO = createBackfillWorkflowDTO();
+        when(backfillWorkflowExecutorDelegate.splitBackfillTimeList(backfillWorkflowDTO))
+                .thenReturn(Arrays.asList(Arrays.asList("2024-01-01 00:00:00"), Arrays.asList("2024-01-02 00:00:00")));
+        when(backfillWorkflowExecutorDelegate.execute(any(), any())).thenAnswer(invocation -> {
+            final Consumer<List<Integer>> listener = invocation.getArgument(1);
+            listener.accept(Arrays.asList(1));
+            listener.accept(Arrays.asList(2));
+            return Arrays.asList(1, 2);
+        });
+
+        final BackfillWorkflowJob backfillWorkflowJob = backfillWorkflowJobManager.submit(backfillWorkflowDTO);
+        assertEquals(2, backfillWorkflowJob.getTotalWorkflowInstanceCount());
+        assertSame(backfillWorkflowJob, backfillWorkflowJobManager.getJob(backfillWorkflowJob.getJobId()).get());
+
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> backfillWorkflowJob.getState() == BackfillWorkflowJob.State.SUCCESS);
+        assertEquals(Arrays.asList(1, 2), backfillWorkflowJob.getWorkflowInstanceIds());
+        assertEquals(2, backfillWorkflowJob.getTriggeredWorkflowInstanceCount());
+    }
+
+    @Test
+    void submit_failure() {
+        final BackfillWorkflowDTO backfillWorkflowDTO = createBackfillWorkflowDTO();
+        when(backfillWorkflowExecutorDelegate.splitBackfillTimeList(backfillWorkflowDTO))
+                .thenReturn(Arrays.asList(Arrays.asList("2024-01-01 00:00:00")));
+        when(backfillWorkflowExecutorDelegate.execute(any(), any()))
+                .thenThrow(new ServiceException("no master server available"));
+
+        final BackfillWorkflowJob backfillWorkflowJob = backfillWorkflowJobManager.submit(backfillWorkflowDTO);
+
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> backfillWorkflowJob.getState() == BackfillWorkflowJob.State.FAILURE);
+        assertEquals("ServiceException: Internal Server Error: no master server available",
+                backfillWorkflowJob.getErrorMessage());
+    }
+
+    @Test
+    void getJob_notExist() {
+        assertFalse(backfillWorkflowJobManager.getJob("not-exist").isPresent());
+    }
+
+    private BackfillWorkflowDTO createBackfillWorkflowDTO() {
+        final User loginUser = new User();
+        loginUser.setId(1);
+        final WorkflowDefinition workflowDefinition = new WorkflowDefinition();
+        workflowDefinition.setCode(1L);
+        return BackfillWorkflowDTO.builder()
+                .loginUser(loginUser)
+                .workflowDefinition(workflowDefinition)
+                .build();
+    }
+}
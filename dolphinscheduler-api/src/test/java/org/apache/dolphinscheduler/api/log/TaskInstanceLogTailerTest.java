@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.log;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.api.configuration.ApiConfig;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.repository.InstanceArchiveDao;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
+import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvokerDiscovery;
+import org.apache.dolphinscheduler.extract.common.ILogService;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailResponse;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TaskInstanceLogTailerTest {
+
+    @InjectMocks
+    private TaskInstanceLogTailer taskInstanceLogTailer;
+
+    @Spy
+    private ApiConfig apiConfig = new ApiConfig();
+
+    @Mock
+    private TaskInstanceDao taskInstanceDao;
+
+    @Mock
+    private InstanceArchiveDao instanceArchiveDao;
+
+    private SpringServerMethodInvokerDiscovery springServerMethodInvokerDiscovery;
+
+    private final AtomicInteger tailCount = new AtomicInteger();
+
+    private volatile String logContent = "";
+
+    private volatile boolean writing = true;
+
+    private TaskInstance taskInstance;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        int nettyServerPort;
+        try (ServerSocket s = new ServerSocket(0)) {
+            nettyServerPort = s.getLocalPort();
+        }
+        springServerMethodInvokerDiscovery = new SpringServerMethodInvokerDiscovery(
+                NettyServerConfig.builder().serverName("TestLogTailServer").listenPort(nettyServerPort).build());
+        springServerMethodInvokerDiscovery.start();
+        springServerMethodInvokerDiscovery.registerServerMethodInvokerProvider(new FakeLogService());
+
+        apiConfig.getLogTail().setChunkSize(12);
+
+        taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        taskInstance.setHost("127.0.0.1:" + nettyServerPort);
+        taskInstance.setLogPath("/tmp/task.log");
+        taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        when(taskInstanceDao.queryById(1)).thenReturn(taskInstance);
+        when(instanceArchiveDao.queryArchivedTaskInstanceById(1)).thenReturn(Optional.empty());
+    }
+
+    @AfterEach
+    void tearDown() {
+        springServerMethodInvokerDiscovery.close();
+    }
+
+    @Test
+    void tail_subscribersAtSameOffsetShareTheRpcCall() {
+        RecordingEmitter emitter1 = new RecordingEmitter();
+        RecordingEmitter emitter2 = new RecordingEmitter();
+        taskInstanceLogTailer.subscribe(taskInstance, 0, "head\n", emitter1);
+        taskInstanceLogTailer.subscribe(taskInstance, 0, null, emitter2);
+
+        logContent = "line0\nline1\nline2\n";
+        taskInstanceLogTailer.tail(1);
+
+        // Two chunks and one empty tail
+        assertThat(tailCount.get()).isEqualTo(3);
+        assertThat(emitter1.contents).containsExactly("head\n", "line0\nline1\n", "line2\n").inOrder();
+        assertThat(emitter2.contents).containsExactly("line0\nline1\n", "line2\n").inOrder();
+        assertThat(emitter2.offsets).containsExactly(12L, 18L).inOrder();
+
+        logContent += "line3\n";
+        taskInstanceLogTailer.tail(1);
+        assertThat(emitter1.contents).contains("line3\n");
+        assertThat(emitter2.contents).contains("line3\n");
+        assertThat(emitter2.completed).isFalse();
+    }
+
+    @Test
+    void tail_resumeFromOffset() {
+        logContent = "line0\nline1\nline2\n";
+        RecordingEmitter emitter = new RecordingEmitter();
+        taskInstanceLogTailer.subscribe(taskInstance, 12, null, emitter);
+
+        taskInstanceLogTailer.tail(1);
+
+        assertThat(emitter.contents).containsExactly("line2\n");
+        assertThat(emitter.offsets).containsExactly(18L);
+    }
+
+    @Test
+    void tail_endOnceTaskInstanceFinishedAndLogNotWriting() {
+        logContent = "line0\n";
+        RecordingEmitter emitter = new RecordingEmitter();
+        taskInstanceLogTailer.subscribe(taskInstance, 0, null, emitter);
+
+        taskInstance.setState(TaskExecutionStatus.SUCCESS);
+        taskInstanceLogTailer.tail(1);
+        // The log is still being written after the task instance finished
+        assertThat(emitter.completed).isFalse();
+
+        writing = false;
+        taskInstanceLogTailer.tail(1);
+        assertThat(emitter.contents).containsExactly("line0\n", "");
+        assertThat(emitter.events).contains(TaskInstanceLogTailer.END_EVENT);
+        assertThat(emitter.completed).isTrue();
+        assertThat(taskInstanceLogTailer.getSubscriberCount(1)).isEqualTo(0);
+    }
+
+    @Test
+    void tail_removeDisconnectedSubscriber() {
+        logContent = "line0\n";
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.disconnected = true;
+        taskInstanceLogTailer.subscribe(taskInstance, 0, null, emitter);
+        assertThat(taskInstanceLogTailer.getSubscriberCount(1)).isEqualTo(1);
+
+        taskInstanceLogTailer.tail(1);
+
+        assertThat(taskInstanceLogTailer.getSubscriberCount(1)).isEqualTo(0);
+    }
+
+    private class FakeLogService implements ILogService {
+
+        @Override
+        public TaskInstanceLogFileDownloadResponse getTaskInstanceWholeLogFileBytes(TaskInstanceLogFileDownloadRequest taskInstanceLogFileDownloadRequest) {
+            return new TaskInstanceLogFileDownloadResponse(new byte[0]);
+        }
+
+        @Override
+        public TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest) {
+            return new TaskInstanceLogPageQueryResponse();
+        }
+
+        @Override
+        public TaskInstanceLogTailResponse tailTaskInstanceLog(TaskInstanceLogTailRequest taskInstanceLogTailRequest) {
+            tailCount.incrementAndGet();
+            byte[] bytes = logContent.getBytes(StandardCharsets.UTF_8);
+            int offset = (int) taskInstanceLogTailRequest.getOffset();
+            int end = Math.min(bytes.length, offset + taskInstanceLogTailRequest.getMaxBytes());
+            while (end > offset && bytes[end - 1] != '\n') {
+                end--;
+            }
+            return new TaskInstanceLogTailResponse(
+                    new String(bytes, offset, end - offset, StandardCharsets.UTF_8), end, writing);
+        }
+
+        @Override
+        public void removeTaskInstanceLog(String taskInstanceLogAbsolutePath) {
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> contents = new ArrayList<>();
+
+        private final List<Long> offsets = new ArrayList<>();
+
+        private final List<String> events = new ArrayList<>();
+
+        private boolean disconnected;
+
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (disconnected) {
+                throw new IOException("Broken pipe");
+            }
+            for (ResponseBodyEmitter.DataWithMediaType dataWithMediaType : builder.build()) {
+                Object data = dataWithMediaType.getData();
+                if (data instanceof TaskInstanceLogTailer.LogChunk) {
+                    TaskInstanceLogTailer.LogChunk logChunk = (TaskInstanceLogTailer.LogChunk) data;
+                    contents.add(logChunk.getContent());
+                    if (!logChunk.getContent().isEmpty() && !logChunk.getContent().startsWith("head")) {
+                        offsets.add(logChunk.getOffset());
+                    }
+                } else if (data.toString().contains("\nevent:")) {
+                    String event = data.toString().substring(data.toString().indexOf("\nevent:") + 7);
+                    events.add(event.substring(0, event.indexOf('\n')).trim());
+                }
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            completed = true;
+        }
+    }
+}
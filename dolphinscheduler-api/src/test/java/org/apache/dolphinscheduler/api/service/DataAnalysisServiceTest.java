@@ -23,8 +23,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.apache.dolphinscheduler.api.dto.CommandStateCount;
@@ -32,12 +34,15 @@ import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.api.exceptions.ServiceException;
 import org.apache.dolphinscheduler.api.permission.ResourcePermissionCheckService;
 import org.apache.dolphinscheduler.api.service.impl.DataAnalysisServiceImpl;
+import org.apache.dolphinscheduler.api.statistics.InstanceStateCounter;
 import org.apache.dolphinscheduler.api.utils.PageInfo;
 import org.apache.dolphinscheduler.api.vo.TaskInstanceCountVO;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.enums.AuthorizationType;
 import org.apache.dolphinscheduler.common.enums.CommandType;
 import org.apache.dolphinscheduler.common.enums.UserType;
+import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
+import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.CommandCount;
 import org.apache.dolphinscheduler.dao.entity.ErrorCommand;
@@ -50,6 +55,8 @@ import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
 import org.apache.dolphinscheduler.dao.mapper.WorkflowDefinitionMapper;
 import org.apache.dolphinscheduler.dao.mapper.WorkflowInstanceMapper;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStatusCountDto;
+import org.apache.dolphinscheduler.dao.model.WorkflowInstanceStatusCountDto;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
 import java.text.MessageFormat;
@@ -75,6 +82,7 @@ import org.slf4j.LoggerFactory;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.google.common.collect.Lists;
 
 /**
  * data analysis service test
@@ -112,6 +120,9 @@ public class DataAnalysisServiceTest {
     @Mock
     private ResourcePermissionCheckService resourcePermissionCheckService;
 
+    @Mock
+    private InstanceStateCounter instanceStateCounter;
+
     private Map<String, Object> resultMap;
 
     private User user;
@@ -146,10 +157,17 @@ public class DataAnalysisServiceTest {
         String endDate = "2020-02-11 16:03:18";
 
         doNothing().when(projectService).checkProjectAndAuthThrowException(any(), anyLong(), any());
+        when(instanceStateCounter.countTaskInstanceState(any(), any(), any()))
+                .thenReturn(Lists.newArrayList(
+                        new TaskInstanceStatusCountDto(TaskExecutionStatus.SUCCESS, 2),
+                        new TaskInstanceStatusCountDto(TaskExecutionStatus.FAILURE, 1)));
 
         // SUCCESS
-        assertDoesNotThrow(
-                () -> dataAnalysisServiceImpl.getTaskInstanceStateCountByProject(user, 1L, startDate, endDate));
+        TaskInstanceCountVO taskInstanceCountVO =
+                dataAnalysisServiceImpl.getTaskInstanceStateCountByProject(user, 1L, startDate, endDate);
+        assertThat(taskInstanceCountVO.getTotalCount()).isEqualTo(3);
+        verify(instanceStateCounter).countTaskInstanceState(DateUtils.stringToDate(startDate),
+                DateUtils.stringToDate(endDate), Lists.newArrayList(1L));
     }
 
     @Test
@@ -195,9 +213,11 @@ public class DataAnalysisServiceTest {
         user.setUserType(UserType.GENERAL_USER);
         when(resourcePermissionCheckService.userOwnedResourceIdsAcquisition(AuthorizationType.PROJECTS, 1,
                 serviceLogger)).thenReturn(projectIds());
-        when(taskInstanceMapper.countTaskInstanceStateByProjectCodes(any(), any(), any()))
+        when(instanceStateCounter.countTaskInstanceState(any(), any(), any()))
                 .thenReturn(Collections.emptyList());
-        assertDoesNotThrow(() -> dataAnalysisServiceImpl.getTaskInstanceStateCountByProject(user, 1L, null, null));
+        TaskInstanceCountVO taskInstanceCountVO =
+                dataAnalysisServiceImpl.getTaskInstanceStateCountByProject(user, 1L, null, null);
+        assertThat(taskInstanceCountVO.getTotalCount()).isEqualTo(0);
 
     }
 
@@ -207,13 +227,16 @@ public class DataAnalysisServiceTest {
         when(resourcePermissionCheckService.userOwnedResourceIdsAcquisition(AuthorizationType.PROJECTS, 1,
                 serviceLogger)).thenReturn(projectIds());
 
-        // when instanceStateCounter return null, then return nothing
+        // when there is no task instance, then return nothing
         user.setUserType(UserType.GENERAL_USER);
-        when(taskInstanceMapper.countTaskInstanceStateByProjectCodes(any(), any(), any()))
+        when(instanceStateCounter.countTaskInstanceState(any(), any(), any()))
                 .thenReturn(Collections.emptyList());
         TaskInstanceCountVO taskInstanceStateCountByProject =
                 dataAnalysisServiceImpl.getTaskInstanceStateCountByProject(user, 1L, null, null);
         assertThat(taskInstanceStateCountByProject).isNotNull();
+        assertThat(taskInstanceStateCountByProject.getTaskInstanceStatusCounts())
+                .allMatch(count -> count.getCount() == 0);
+        verify(instanceStateCounter).countTaskInstanceState(isNull(), isNull(), any());
     }
 
     @Test
@@ -228,10 +251,15 @@ public class DataAnalysisServiceTest {
                 () -> dataAnalysisServiceImpl.getWorkflowInstanceStateCountByProject(user, 1L, startDate, endDate));
 
         doNothing().when(projectService).checkProjectAndAuthThrowException(any(), anyLong(), any());
+        when(instanceStateCounter.countWorkflowInstanceState(any(), any(), any()))
+                .thenReturn(Lists.newArrayList(
+                        new WorkflowInstanceStatusCountDto(WorkflowExecutionStatus.SUCCESS, 4)));
 
         // SUCCESS
-        assertDoesNotThrow(
-                () -> dataAnalysisServiceImpl.getWorkflowInstanceStateCountByProject(user, 1L, startDate, endDate));
+        assertThat(dataAnalysisServiceImpl.getWorkflowInstanceStateCountByProject(user, 1L, startDate, endDate)
+                .getTotalCount()).isEqualTo(4);
+        verify(instanceStateCounter).countWorkflowInstanceState(DateUtils.stringToDate(startDate),
+                DateUtils.stringToDate(endDate), Lists.newArrayList(1L));
     }
 
     @Test
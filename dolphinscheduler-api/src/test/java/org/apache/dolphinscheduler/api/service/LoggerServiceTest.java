@@ -29,6 +29,7 @@ import static org.mockito.Mockito.when;
 import org.apache.dolphinscheduler.api.AssertionsHelper;
 import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.api.exceptions.ServiceException;
+import org.apache.dolphinscheduler.api.log.TaskInstanceLogTailer;
 import org.apache.dolphinscheduler.api.service.impl.LoggerServiceImpl;
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.Constants;
@@ -39,6 +40,7 @@ import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.User;
 import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
+import org.apache.dolphinscheduler.dao.repository.InstanceArchiveDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
 import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvokerDiscovery;
@@ -47,12 +49,15 @@ import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFil
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailResponse;
 
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.text.MessageFormat;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -66,6 +71,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -79,6 +85,9 @@ public class LoggerServiceTest {
     @Mock
     private TaskInstanceDao taskInstanceDao;
 
+    @Mock
+    private InstanceArchiveDao instanceArchiveDao;
+
     @Mock
     private ProjectMapper projectMapper;
 
@@ -88,6 +97,9 @@ public class LoggerServiceTest {
     @Mock
     private TaskDefinitionMapper taskDefinitionMapper;
 
+    @Mock
+    private TaskInstanceLogTailer taskInstanceLogTailer;
+
     private SpringServerMethodInvokerDiscovery springServerMethodInvokerDiscovery;
 
     private int nettyServerPort = 18080;
@@ -129,6 +141,11 @@ public class LoggerServiceTest {
                 return new TaskInstanceLogPageQueryResponse();
             }
 
+            @Override
+            public TaskInstanceLogTailResponse tailTaskInstanceLog(TaskInstanceLogTailRequest taskInstanceLogTailRequest) {
+                return new TaskInstanceLogTailResponse("", taskInstanceLogTailRequest.getOffset(), false);
+            }
+
             @Override
             public void removeTaskInstanceLog(String taskInstanceLogAbsolutePath) {
 
@@ -194,6 +211,34 @@ public class LoggerServiceTest {
                 () -> loggerService.queryLog(loginUser, 1, 1, 1));
     }
 
+    @Test
+    public void testTailLog() {
+        User loginUser = new User();
+        loginUser.setId(1);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        when(taskInstanceDao.queryById(1)).thenReturn(taskInstance);
+        when(instanceArchiveDao.queryArchivedTaskInstanceById(2)).thenReturn(Optional.empty());
+
+        assertThrowsServiceException(Status.TASK_INSTANCE_NOT_FOUND, () -> loggerService.tailLog(loginUser, 2, 0));
+        assertThrowsServiceException(Status.TASK_INSTANCE_HOST_IS_NULL, () -> loggerService.tailLog(loginUser, 1, 0));
+
+        taskInstance.setHost("127.0.0.1:" + nettyServerPort);
+        taskInstance.setLogPath("/temp/log");
+        doThrow(new ServiceException(Status.USER_NO_OPERATION_PERM)).when(projectService)
+                .checkProjectAndAuthThrowException(loginUser, taskInstance.getProjectCode(), VIEW_LOG);
+        assertThrowsServiceException(Status.USER_NO_OPERATION_PERM, () -> loggerService.tailLog(loginUser, 1, 0));
+
+        doNothing().when(projectService).checkProjectAndAuthThrowException(loginUser, taskInstance.getProjectCode(),
+                VIEW_LOG);
+        SseEmitter sseEmitter = new SseEmitter();
+        when(taskInstanceLogTailer.subscribe(taskInstance, 0, "[LOG-PATH]: /temp/log, [HOST]: "
+                + taskInstance.getHost() + Constants.SYSTEM_LINE_SEPARATOR)).thenReturn(sseEmitter);
+        when(taskInstanceLogTailer.subscribe(taskInstance, 10, null)).thenReturn(sseEmitter);
+        assertEquals(sseEmitter, loggerService.tailLog(loginUser, 1, 0));
+        assertEquals(sseEmitter, loggerService.tailLog(loginUser, 1, 10));
+    }
+
     @Test
     public void testGetLogBytes() {
 
@@ -44,6 +44,7 @@ import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
 import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
+import org.apache.dolphinscheduler.dao.repository.InstanceArchiveDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
@@ -102,6 +103,9 @@ public class TaskInstanceServiceTest {
     @Mock
     WorkflowInstanceDao workflowInstanceDao;
 
+    @Mock
+    InstanceArchiveDao instanceArchiveDao;
+
     @Test
     public void queryTaskListPaging() {
         long projectCode = 1L;
@@ -31,6 +31,8 @@ import org.apache.dolphinscheduler.api.exceptions.ServiceException;
 import org.apache.dolphinscheduler.api.service.impl.LoggerServiceImpl;
 import org.apache.dolphinscheduler.api.service.impl.ProjectServiceImpl;
 import org.apache.dolphinscheduler.api.service.impl.WorkflowInstanceServiceImpl;
+import org.apache.dolphinscheduler.api.utils.CursorPageInfo;
+import org.apache.dolphinscheduler.api.utils.PageCursor;
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.enums.CommandType;
@@ -60,6 +62,7 @@ import org.apache.dolphinscheduler.dao.mapper.TenantMapper;
 import org.apache.dolphinscheduler.dao.mapper.WorkflowDefinitionLogMapper;
 import org.apache.dolphinscheduler.dao.mapper.WorkflowDefinitionMapper;
 import org.apache.dolphinscheduler.dao.mapper.WorkflowInstanceMapper;
+import org.apache.dolphinscheduler.dao.repository.InstanceArchiveDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceDao;
 import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceMapDao;
@@ -72,6 +75,7 @@ import org.apache.dolphinscheduler.service.process.ProcessService;
 import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -154,6 +158,9 @@ public class WorkflowInstanceServiceTest {
     @Mock
     private WorkflowInstanceMapDao workflowInstanceMapDao;
 
+    @Mock
+    private InstanceArchiveDao instanceArchiveDao;
+
     private String shellJson = "[{\"name\":\"\",\"preTaskCode\":0,\"preTaskVersion\":0,\"postTaskCode\":123456789,"
             + "\"postTaskVersion\":1,\"conditionType\":0,\"conditionParams\":\"{}\"},{\"name\":\"\",\"preTaskCode\":123456789,"
             + "\"preTaskVersion\":1,\"postTaskCode\":123451234,\"postTaskVersion\":1,\"conditionType\":0,\"conditionParams\":\"{}\"}]";
@@ -297,6 +304,42 @@ public class WorkflowInstanceServiceTest {
 
     }
 
+    @Test
+    public void testQueryWorkflowInstanceListByCursor() {
+        long projectCode = 1L;
+        User loginUser = getAdminUser();
+        WorkflowInstance first = getProcessInstance();
+        WorkflowInstance second = getProcessInstance();
+        second.setId(2);
+        Page<WorkflowInstance> pageReturn = new Page<>(1, 2, false);
+        pageReturn.setRecords(Arrays.asList(first, second));
+        doNothing().when(projectService).checkProjectAndAuthThrowException(loginUser, projectCode, WORKFLOW_INSTANCE);
+        when(workflowInstanceMapper.queryWorkflowInstanceListByCursor(Mockito.any(Page.class), eq(projectCode),
+                eq(0L), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.isNull(), Mockito.isNull())).thenReturn(pageReturn);
+
+        Result<CursorPageInfo<WorkflowInstance>> firstPage =
+                workflowInstanceService.queryWorkflowInstanceListByCursor(loginUser, projectCode, 0, null, null,
+                        null, null, null, null, null, 1);
+        Assertions.assertEquals(Status.SUCCESS.getCode(), (int) firstPage.getCode());
+        Assertions.assertEquals(1, firstPage.getData().getTotalList().size());
+        PageCursor nextCursor = PageCursor.decode(firstPage.getData().getNextCursor());
+        Assertions.assertEquals(new PageCursor(first.getStartTime(), first.getId()), nextCursor);
+
+        when(workflowInstanceMapper.queryWorkflowInstanceListByCursor(Mockito.any(Page.class), eq(projectCode),
+                eq(0L), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                eq(first.getStartTime()), eq(first.getId()))).thenReturn(new Page<>(1, 2, false));
+        Result<CursorPageInfo<WorkflowInstance>> lastPage =
+                workflowInstanceService.queryWorkflowInstanceListByCursor(loginUser, projectCode, 0, null, null,
+                        null, null, null, null, firstPage.getData().getNextCursor(), 1);
+        Assertions.assertTrue(lastPage.getData().getTotalList().isEmpty());
+        Assertions.assertNull(lastPage.getData().getNextCursor());
+
+        assertThrows(ServiceException.class,
+                () -> workflowInstanceService.queryWorkflowInstanceListByCursor(loginUser, projectCode, 0, null,
+                        null, null, null, null, null, "%%%", 1));
+    }
+
     @Test
     public void queryByTriggerCode() {
         long projectCode = 666L;
@@ -481,6 +524,41 @@ public class WorkflowInstanceServiceTest {
         Assertions.assertEquals(Status.SUCCESS, successRes.get(Constants.STATUS));
     }
 
+    @Test
+    public void testQueryTaskListByWorkflowInstanceId_archived() {
+        long projectCode = 1L;
+        User loginUser = getAdminUser();
+        Project project = getProject(projectCode);
+        Map<String, Object> result = new HashMap<>();
+        putMsg(result, Status.SUCCESS, projectCode);
+        WorkflowInstance workflowInstance = getProcessInstance();
+        workflowInstance.setState(WorkflowExecutionStatus.SUCCESS);
+        TaskInstance validTaskInstance = new TaskInstance();
+        validTaskInstance.setId(1);
+        validTaskInstance.setFlag(Flag.YES);
+        TaskInstance invalidTaskInstance = new TaskInstance();
+        invalidTaskInstance.setId(2);
+        invalidTaskInstance.setFlag(Flag.NO);
+        when(projectMapper.queryByCode(projectCode)).thenReturn(project);
+        when(projectService.checkProjectAndAuth(loginUser, project, projectCode, WORKFLOW_INSTANCE)).thenReturn(result);
+        when(processService.findWorkflowInstanceDetailById(workflowInstance.getId())).thenReturn(Optional.empty());
+        when(instanceArchiveDao.queryArchivedWorkflowInstanceById(workflowInstance.getId()))
+                .thenReturn(Optional.of(workflowInstance));
+        when(instanceArchiveDao.queryArchivedTaskInstanceByWorkflowInstanceId(workflowInstance.getId()))
+                .thenReturn(Arrays.asList(validTaskInstance, invalidTaskInstance));
+
+        Map<String, Object> successRes =
+                workflowInstanceService.queryTaskListByWorkflowInstanceId(loginUser, projectCode, 1);
+        Assertions.assertEquals(Status.SUCCESS, successRes.get(Constants.STATUS));
+        Map<String, Object> data = (Map<String, Object>) successRes.get(Constants.DATA_LIST);
+        Assertions.assertEquals(Arrays.asList(validTaskInstance), data.get(Constants.TASK_LIST));
+
+        when(instanceArchiveDao.queryArchivedWorkflowInstanceById(workflowInstance.getId()))
+                .thenReturn(Optional.empty());
+        assertThrows(ServiceException.class,
+                () -> workflowInstanceService.queryTaskListByWorkflowInstanceId(loginUser, projectCode, 1));
+    }
+
     @Test
     public void testQuerySubWorkflowInstanceByTaskId() {
         long projectCode = 1L;
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.api.configuration.ApiConfig;
+import org.apache.dolphinscheduler.common.enums.StatisticsInstanceType;
+import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
+import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
+import org.apache.dolphinscheduler.dao.mapper.WorkflowInstanceMapper;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStatusCountDto;
+import org.apache.dolphinscheduler.dao.model.WorkflowInstanceStatusCountDto;
+import org.apache.dolphinscheduler.dao.repository.InstanceStateStatisticsDao;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.google.common.collect.Lists;
+
+@ExtendWith(MockitoExtension.class)
+class InstanceStateCounterTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private static final List<Long> PROJECT_CODES = Collections.singletonList(1L);
+
+    @InjectMocks
+    private InstanceStateCounter instanceStateCounter;
+
+    @Spy
+    private ApiConfig apiConfig = new ApiConfig();
+
+    @Mock
+    private InstanceStateStatisticsDao instanceStateStatisticsDao;
+
+    @Mock
+    private WorkflowInstanceMapper workflowInstanceMapper;
+
+    @Mock
+    private TaskInstanceMapper taskInstanceMapper;
+
+    @BeforeEach
+    void setUp() {
+        apiConfig.getStatistics().setEnabled(true);
+    }
+
+    @Test
+    void countTaskInstanceState_disabled() {
+        apiConfig.getStatistics().setEnabled(false);
+        Date startTime = new Date(HOUR * 2);
+        Date endTime = new Date(HOUR * 12);
+        when(taskInstanceMapper.countTaskInstanceStateByProjectCodes(startTime, endTime, PROJECT_CODES))
+                .thenReturn(Lists.newArrayList(new TaskInstanceStatusCountDto(TaskExecutionStatus.SUCCESS, 3)));
+
+        List<TaskInstanceStatusCountDto> counts =
+                instanceStateCounter.countTaskInstanceState(startTime, endTime, PROJECT_CODES);
+        assertEquals(1, counts.size());
+        assertEquals(3, counts.get(0).getCount());
+        verify(instanceStateStatisticsDao, never()).queryWatermark(any());
+    }
+
+    @Test
+    void countTaskInstanceState_withRollup() {
+        Date startTime = new Date(HOUR * 2 + HOUR / 2);
+        Date endTime = new Date(HOUR * 12 + HOUR / 2);
+        when(instanceStateStatisticsDao.queryWatermark(StatisticsInstanceType.TASK_INSTANCE))
+                .thenReturn(Optional.of(new Date(HOUR * 10)));
+        // head: (02:30, 03:00)
+        when(taskInstanceMapper.countTaskInstanceStateByProjectCodes(startTime, new Date(HOUR * 3 - 1),
+                PROJECT_CODES))
+                        .thenReturn(Lists.newArrayList(new TaskInstanceStatusCountDto(TaskExecutionStatus.SUCCESS, 1)));
+        // rollup: [03:00, 10:00)
+        when(instanceStateStatisticsDao.sumTaskInstanceStateCount(new Date(HOUR * 3), new Date(HOUR * 10),
+                PROJECT_CODES))
+                        .thenReturn(Lists.newArrayList(
+                                new TaskInstanceStatusCountDto(TaskExecutionStatus.SUCCESS, 10),
+                                new TaskInstanceStatusCountDto(TaskExecutionStatus.FAILURE, 2)));
+        // tail: [10:00, 12:30]
+        when(taskInstanceMapper.countTaskInstanceStateByProjectCodes(new Date(HOUR * 10 - 1), endTime,
+                PROJECT_CODES))
+                        .thenReturn(Lists.newArrayList(new TaskInstanceStatusCountDto(TaskExecutionStatus.FAILURE, 5)));
+
+        List<TaskInstanceStatusCountDto> counts =
+                instanceStateCounter.countTaskInstanceState(startTime, endTime, PROJECT_CODES);
+        assertEquals(2, counts.size());
+        assertEquals(new TaskInstanceStatusCountDto(TaskExecutionStatus.SUCCESS, 11), counts.get(0));
+        assertEquals(new TaskInstanceStatusCountDto(TaskExecutionStatus.FAILURE, 7), counts.get(1));
+    }
+
+    @Test
+    void countTaskInstanceState_withinOneBucket() {
+        Date startTime = new Date(HOUR * 2 + HOUR / 4);
+        Date endTime = new Date(HOUR * 2 + HOUR / 2);
+        when(instanceStateStatisticsDao.queryWatermark(StatisticsInstanceType.TASK_INSTANCE))
+                .thenReturn(Optional.of(new Date(HOUR * 10)));
+
+        instanceStateCounter.countTaskInstanceState(startTime, endTime, PROJECT_CODES);
+        verify(taskInstanceMapper).countTaskInstanceStateByProjectCodes(startTime, endTime, PROJECT_CODES);
+        verify(instanceStateStatisticsDao, never()).sumTaskInstanceStateCount(any(), any(), any());
+    }
+
+    @Test
+    void countWorkflowInstanceState_withRollup() {
+        // The start time is aligned to the bucket, so there is no head
+        Date startTime = new Date(HOUR * 3);
+        when(instanceStateStatisticsDao.queryWatermark(StatisticsInstanceType.WORKFLOW_INSTANCE))
+                .thenReturn(Optional.of(new Date(HOUR * 10)));
+        when(instanceStateStatisticsDao.sumWorkflowInstanceStateCount(startTime, new Date(HOUR * 10),
+                PROJECT_CODES))
+                        .thenReturn(Lists
+                                .newArrayList(new WorkflowInstanceStatusCountDto(WorkflowExecutionStatus.STOP, 4)));
+        when(workflowInstanceMapper.countWorkflowInstanceStateByProjectCodes(new Date(HOUR * 10), null,
+                PROJECT_CODES))
+                        .thenReturn(Lists
+                                .newArrayList(new WorkflowInstanceStatusCountDto(WorkflowExecutionStatus.STOP, 1)));
+
+        List<WorkflowInstanceStatusCountDto> counts =
+                instanceStateCounter.countWorkflowInstanceState(startTime, null, PROJECT_CODES);
+        assertEquals(1, counts.size());
+        assertEquals(5, counts.get(0).getCount());
+        verify(workflowInstanceMapper, never()).countWorkflowInstanceStateByProjectCodes(startTime,
+                new Date(HOUR * 3 - 1), PROJECT_CODES);
+    }
+
+    @Test
+    void countWorkflowInstanceState_disabled() {
+        apiConfig.getStatistics().setEnabled(false);
+        when(workflowInstanceMapper.countWorkflowInstanceStateByProjectCodes(null, null, PROJECT_CODES))
+                .thenReturn(Lists.newArrayList(
+                        new WorkflowInstanceStatusCountDto(WorkflowExecutionStatus.SUCCESS, 2),
+                        new WorkflowInstanceStatusCountDto(WorkflowExecutionStatus.FAILURE, 1)));
+
+        List<WorkflowInstanceStatusCountDto> counts =
+                instanceStateCounter.countWorkflowInstanceState(null, null, PROJECT_CODES);
+        assertEquals(2, counts.size());
+        assertEquals(2, counts.get(0).getCount());
+        assertEquals(1, counts.get(1).getCount());
+        verify(instanceStateStatisticsDao, never()).queryWatermark(any());
+    }
+
+    @Test
+    void countWorkflowInstanceState_withoutWatermark() {
+        when(instanceStateStatisticsDao.queryWatermark(StatisticsInstanceType.WORKFLOW_INSTANCE))
+                .thenReturn(Optional.empty());
+
+        instanceStateCounter.countWorkflowInstanceState(null, null, PROJECT_CODES);
+        verify(workflowInstanceMapper).countWorkflowInstanceStateByProjectCodes(null, null, PROJECT_CODES);
+        verify(instanceStateStatisticsDao, never()).sumWorkflowInstanceStateCount(any(), any(), any());
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.statistics;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.api.configuration.ApiConfig;
+import org.apache.dolphinscheduler.common.enums.StatisticsInstanceType;
+import org.apache.dolphinscheduler.dao.repository.InstanceStateStatisticsDao;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class InstanceStateStatisticsCompactorTest {
+
+    @InjectMocks
+    private InstanceStateStatisticsCompactor instanceStateStatisticsCompactor;
+
+    @Spy
+    private ApiConfig apiConfig = new ApiConfig();
+
+    @Mock
+    private InstanceStateStatisticsDao instanceStateStatisticsDao;
+
+    @Test
+    void compact_withoutInstance() {
+        when(instanceStateStatisticsDao.queryWatermark(StatisticsInstanceType.TASK_INSTANCE))
+                .thenReturn(Optional.empty());
+        when(instanceStateStatisticsDao.queryEarliestInstanceStartTime(StatisticsInstanceType.TASK_INSTANCE))
+                .thenReturn(Optional.empty());
+
+        instanceStateStatisticsCompactor.compact(StatisticsInstanceType.TASK_INSTANCE);
+        verify(instanceStateStatisticsDao).upsertWatermark(StatisticsInstanceType.TASK_INSTANCE,
+                StatisticsBuckets.floor(new Date()));
+        verify(instanceStateStatisticsDao, never()).compactBucket(any(), any(), any());
+    }
+
+    @Test
+    void compact_backfill() {
+        apiConfig.getStatistics().setMaxCompactBucketsPerRound(3);
+        Date earliestStartTime = new Date(System.currentTimeMillis() - Duration.ofDays(30).toMillis());
+        Date earliestBucket = StatisticsBuckets.floor(earliestStartTime);
+        when(instanceStateStatisticsDao.queryWatermark(StatisticsInstanceType.WORKFLOW_INSTANCE))
+                .thenReturn(Optional.empty());
+        when(instanceStateStatisticsDao.queryEarliestInstanceStartTime(StatisticsInstanceType.WORKFLOW_INSTANCE))
+                .thenReturn(Optional.of(earliestStartTime));
+
+        instanceStateStatisticsCompactor.compact(StatisticsInstanceType.WORKFLOW_INSTANCE);
+        verify(instanceStateStatisticsDao, times(3)).compactBucket(any(), any(), any());
+        verify(instanceStateStatisticsDao).upsertWatermark(StatisticsInstanceType.WORKFLOW_INSTANCE,
+                earliestBucket);
+        verify(instanceStateStatisticsDao).upsertWatermark(StatisticsInstanceType.WORKFLOW_INSTANCE,
+                new Date(earliestBucket.getTime() + StatisticsBuckets.BUCKET_MILLIS * 3));
+    }
+
+    @Test
+    void compact_refreshWindow() {
+        apiConfig.getStatistics().setRefreshWindow(Duration.ofHours(3));
+        Date currentBucket = StatisticsBuckets.floor(new Date());
+        when(instanceStateStatisticsDao.queryWatermark(StatisticsInstanceType.TASK_INSTANCE))
+                .thenReturn(Optional.of(currentBucket));
+
+        instanceStateStatisticsCompactor.compact(StatisticsInstanceType.TASK_INSTANCE);
+        // The buckets in the refresh window are recounted, the watermark is not changed
+        verify(instanceStateStatisticsDao, times(3)).compactBucket(any(), any(), any());
+        verify(instanceStateStatisticsDao, never()).upsertWatermark(any(), any());
+    }
+
+    @Test
+    void compact_unfinishedBucketBeforeRefreshWindow() {
+        apiConfig.getStatistics().setRefreshWindow(Duration.ofHours(3));
+        Date currentBucket = StatisticsBuckets.floor(new Date());
+        Date refreshWindowStart = new Date(currentBucket.getTime() - StatisticsBuckets.BUCKET_MILLIS * 3);
+        Date unfinishedBucket = new Date(currentBucket.getTime() - Duration.ofDays(2).toMillis());
+        when(instanceStateStatisticsDao.queryWatermark(StatisticsInstanceType.WORKFLOW_INSTANCE))
+                .thenReturn(Optional.of(currentBucket));
+        when(instanceStateStatisticsDao.queryUnfinishedBucketTimes(StatisticsInstanceType.WORKFLOW_INSTANCE,
+                refreshWindowStart)).thenReturn(Collections.singletonList(unfinishedBucket));
+
+        instanceStateStatisticsCompactor.compact(StatisticsInstanceType.WORKFLOW_INSTANCE);
+        // The buckets in the refresh window and the unfinished bucket are recounted
+        verify(instanceStateStatisticsDao, times(4)).compactBucket(any(), any(), any());
+        verify(instanceStateStatisticsDao).compactBucket(StatisticsInstanceType.WORKFLOW_INSTANCE, unfinishedBucket,
+                new Date(unfinishedBucket.getTime() + StatisticsBuckets.BUCKET_MILLIS));
+    }
+}
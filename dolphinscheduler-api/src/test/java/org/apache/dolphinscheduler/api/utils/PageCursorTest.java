@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.utils;
+
+import org.apache.dolphinscheduler.api.exceptions.ServiceException;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PageCursorTest {
+
+    @Test
+    public void testEncodeAndDecode() {
+        PageCursor pageCursor = new PageCursor(new Date(1577808000000L), 100);
+        Assertions.assertEquals(pageCursor, PageCursor.decode(pageCursor.encode()));
+    }
+
+    @Test
+    public void testDecodeBlankCursor() {
+        Assertions.assertNull(PageCursor.decode(null));
+        Assertions.assertNull(PageCursor.decode(""));
+    }
+
+    @Test
+    public void testDecodeMalformedCursor() {
+        Assertions.assertThrows(ServiceException.class, () -> PageCursor.decode("%%%"));
+        Assertions.assertThrows(ServiceException.class, () -> PageCursor.decode("YWJj"));
+        Assertions.assertThrows(ServiceException.class, () -> PageCursor.decode("YV9i"));
+    }
+
+    @Test
+    public void testCursorPageInfo() {
+        List<Integer> rows = Arrays.asList(5, 4, 3);
+
+        CursorPageInfo<Integer> lastPage = CursorPageInfo.of(rows, 3, id -> new PageCursor(new Date(0), id));
+        Assertions.assertEquals(rows, lastPage.getTotalList());
+        Assertions.assertNull(lastPage.getNextCursor());
+
+        CursorPageInfo<Integer> page = CursorPageInfo.of(rows, 2, id -> new PageCursor(new Date(0), id));
+        Assertions.assertEquals(Arrays.asList(5, 4), page.getTotalList());
+        Assertions.assertEquals(4, PageCursor.decode(page.getNextCursor()).getId());
+    }
+}
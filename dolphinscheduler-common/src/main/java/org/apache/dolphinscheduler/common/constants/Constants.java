@@ -506,6 +506,30 @@ public final class Constants {
 
     public static final String REMOTE_LOGGING_THREAD_POOL_SIZE = "remote.logging.thread.pool.size";
 
+    /**
+     * remote logging range read
+     */
+    public static final String REMOTE_LOGGING_INDEX_INTERVAL = "remote.logging.index.interval";
+
+    public static final int DEFAULT_REMOTE_LOGGING_INDEX_INTERVAL = 1000;
+
+    public static final String REMOTE_LOGGING_READ_CHUNK_SIZE = "remote.logging.read.chunk.size";
+
+    public static final int DEFAULT_REMOTE_LOGGING_READ_CHUNK_SIZE = 1024 * 1024;
+
+    public static final String REMOTE_LOGGING_READ_CACHE_SIZE = "remote.logging.read.cache.size";
+
+    public static final Long DEFAULT_REMOTE_LOGGING_READ_CACHE_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * remote logging compression
+     */
+    public static final String REMOTE_LOGGING_COMPRESSION_ENABLE = "remote.logging.compression.enable";
+
+    public static final String REMOTE_LOGGING_COMPRESSION_BLOCK_SIZE = "remote.logging.compression.block.size";
+
+    public static final int DEFAULT_REMOTE_LOGGING_COMPRESSION_BLOCK_SIZE = 1024 * 1024;
+
     /**
      * remote logging for OSS
      */
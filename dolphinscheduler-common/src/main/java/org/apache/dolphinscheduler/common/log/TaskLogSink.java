@@ -0,0 +1,428 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import org.apache.dolphinscheduler.common.log.remote.LogLineIndex;
+
+import org.apache.commons.io.input.BoundedInputStream;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The append-only writer of a task log.
+ * <p> The producers copy the log bytes into a bounded in-memory ring, the ring is drained into memory-mapped segments
+ * of the log file by the flusher of {@link TaskLogSinks} or by the producer itself once the ring is full, so the
+ * producers never contend on the file. When the ring is full, the producer is either blocked until the ring is
+ * drained, or the log is dropped and counted, see {@link TaskLogSinks#configure}.
+ * <p> The line index of the log is built while draining, so a page of the log which is still being written can be read
+ * without scanning the whole file.
+ * <p> Each drain only maps the bytes it writes, at most one segment at a time, and unmaps them before it returns, so
+ * the file is never extended beyond the written logs and no mapping outlives the drain. A server crashed in the
+ * middle of a drain might leave a {@code '\0'} tail, which is stripped when the file is reopened.
+ */
+@Slf4j
+public class TaskLogSink implements Closeable {
+
+    @Getter
+    private final Path logPath;
+
+    private final FileChannel fileChannel;
+
+    private final int segmentSize;
+
+    private final boolean blockWhenFull;
+
+    private final byte[] ring;
+
+    /**
+     * The position of the next byte to be drained, guarded by ringLock.
+     */
+    private long ringHead;
+
+    /**
+     * The position of the next byte to be appended, guarded by ringLock.
+     */
+    private long ringTail;
+
+    /**
+     * The count of the dropped lines which haven't been reported in the log, guarded by ringLock.
+     */
+    private long pendingDroppedLineCount;
+
+    private final ReentrantLock ringLock = new ReentrantLock();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * The mapped segment which is being written by the current drain, guarded by writeLock.
+     */
+    private MappedByteBuffer segment;
+
+    /**
+     * The length of the log content which has been written into the file, guarded by writeLock.
+     */
+    private long writtenLength;
+
+    private final LogLineIndex.Builder lineIndexBuilder;
+
+    @Getter
+    private volatile long droppedLineCount;
+
+    @Getter
+    private volatile long droppedByteCount;
+
+    private volatile boolean closed;
+
+    TaskLogSink(Path logPath, int ringBufferSize, int segmentSize, boolean blockWhenFull,
+                int lineIndexInterval) throws IOException {
+        if (ringBufferSize <= 0 || segmentSize <= 0) {
+            throw new IllegalArgumentException("The ringBufferSize and segmentSize of TaskLogSink should be positive");
+        }
+        this.logPath = logPath;
+        this.segmentSize = segmentSize;
+        this.blockWhenFull = blockWhenFull;
+        this.ring = new byte[ringBufferSize];
+        this.lineIndexBuilder = new LogLineIndex.Builder(lineIndexInterval);
+        if (logPath.getParent() != null) {
+            Files.createDirectories(logPath.getParent());
+        }
+        this.fileChannel = FileChannel.open(logPath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            recover();
+        } catch (IOException | RuntimeException ex) {
+            fileChannel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Append the bytes of whole lines into the log.
+     *
+     * @return false if the log is dropped since the ring is full or the sink is closed
+     */
+    public boolean append(byte[] bytes) {
+        if (bytes.length == 0) {
+            return true;
+        }
+        if (bytes.length > ring.length) {
+            // The log which cannot be buffered is written directly after the buffered logs
+            writeLock.lock();
+            try {
+                if (closed) {
+                    return false;
+                }
+                drain();
+                try {
+                    write(bytes, 0, bytes.length, bytes.length);
+                } finally {
+                    unmapSegment();
+                }
+                return true;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        while (true) {
+            ringLock.lock();
+            try {
+                if (closed) {
+                    return false;
+                }
+                final long used = ringTail - ringHead;
+                if (ring.length - used >= bytes.length) {
+                    final int start = (int) (ringTail % ring.length);
+                    final int firstPart = Math.min(bytes.length, ring.length - start);
+                    System.arraycopy(bytes, 0, ring, start, firstPart);
+                    System.arraycopy(bytes, firstPart, ring, 0, bytes.length - firstPart);
+                    ringTail += bytes.length;
+                    if (used < ring.length / 2 && ringTail - ringHead >= ring.length / 2) {
+                        TaskLogSinks.wakeUpFlusher();
+                    }
+                    return true;
+                }
+                if (!blockWhenFull) {
+                    pendingDroppedLineCount++;
+                    droppedLineCount++;
+                    droppedByteCount += bytes.length;
+                    return false;
+                }
+            } finally {
+                ringLock.unlock();
+            }
+            // Backpressure: the producer drains the ring by itself, it will wait here if the ring is being drained
+            flush();
+        }
+    }
+
+    /**
+     * Drain the buffered logs into the file, the drained logs are visible to the readers after this method returns.
+     */
+    public void flush() {
+        writeLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            drain();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Get the length of the log content which has been written into the file.
+     */
+    public long getWrittenLength() {
+        writeLock.lock();
+        try {
+            return writtenLength;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Get the line index of the log content which has been written into the file.
+     */
+    public LogLineIndex getLineIndex() {
+        writeLock.lock();
+        try {
+            return lineIndexBuilder.build();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Read the lines in [skipLine, skipLine + limit) of the log, the buffered logs are flushed before reading.
+     */
+    public List<String> readLines(int skipLine, int limit) throws IOException {
+        flush();
+        final long length;
+        final LogLineIndex lineIndex;
+        writeLock.lock();
+        try {
+            length = writtenLength;
+            lineIndex = lineIndexBuilder.build();
+        } finally {
+            writeLock.unlock();
+        }
+        final List<String> lines = new ArrayList<>();
+        if (limit <= 0) {
+            return lines;
+        }
+        final long offset = lineIndex.getClosestOffset(skipLine);
+        long lineNum = lineIndex.getClosestLineNum(skipLine);
+        try (
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(openInputStream(offset, length), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null && lines.size() < limit) {
+                if (lineNum++ >= skipLine) {
+                    lines.add(line);
+                }
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Open an input stream of the written log content in [offset, length).
+     */
+    public InputStream openInputStream(long offset, long length) throws IOException {
+        final FileChannel readChannel = FileChannel.open(logPath, StandardOpenOption.READ);
+        readChannel.position(offset);
+        return new BoundedInputStream(Channels.newInputStream(readChannel), Math.max(0, length - offset));
+    }
+
+    /**
+     * Drain the buffered logs and close the file.
+     */
+    @Override
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            drain();
+            ringLock.lock();
+            try {
+                closed = true;
+            } finally {
+                ringLock.unlock();
+            }
+            // The file should be at the written length already, unless a drain failed after mapping a segment
+            fileChannel.truncate(writtenLength);
+            fileChannel.close();
+        } finally {
+            writeLock.unlock();
+        }
+        if (droppedLineCount > 0) {
+            log.warn("The task log: {} dropped {} lines, {} bytes since the log buffer is full",
+                    logPath, droppedLineCount, droppedByteCount);
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private void drain() {
+        final long head;
+        final long tail;
+        final long droppedLines;
+        ringLock.lock();
+        try {
+            head = ringHead;
+            tail = ringTail;
+            droppedLines = pendingDroppedLineCount;
+            pendingDroppedLineCount = 0;
+        } finally {
+            ringLock.unlock();
+        }
+        final byte[] droppedMessage = droppedLines > 0
+                ? String.format("[TaskLogSink] %d lines are dropped since the log buffer is full%n", droppedLines)
+                        .getBytes(StandardCharsets.UTF_8)
+                : new byte[0];
+        final int ringLength = (int) (tail - head);
+        long remaining = ringLength + droppedMessage.length;
+        if (remaining == 0) {
+            return;
+        }
+        try {
+            // The producers never overwrite [head, tail) before ringHead is moved
+            if (ringLength > 0) {
+                final int start = (int) (head % ring.length);
+                final int firstPart = Math.min(ringLength, ring.length - start);
+                write(ring, start, firstPart, remaining);
+                remaining -= firstPart;
+                write(ring, 0, ringLength - firstPart, remaining);
+                remaining -= ringLength - firstPart;
+                ringLock.lock();
+                try {
+                    ringHead = tail;
+                } finally {
+                    ringLock.unlock();
+                }
+            }
+            write(droppedMessage, 0, droppedMessage.length, remaining);
+        } finally {
+            unmapSegment();
+        }
+    }
+
+    /**
+     * Write the bytes into the mapped segment, a new segment is mapped for the bytes left in this drain once the
+     * current segment is full.
+     *
+     * @param remaining the length of the bytes left in this drain, including the given bytes
+     */
+    private void write(byte[] bytes, int offset, int length, long remaining) {
+        int written = 0;
+        while (written < length) {
+            if (segment == null || !segment.hasRemaining()) {
+                unmapSegment();
+                segment = mapSegment(writtenLength, (int) Math.min(segmentSize, remaining - written));
+            }
+            final int size = Math.min(length - written, segment.remaining());
+            segment.put(bytes, offset + written, size);
+            lineIndexBuilder.append(bytes, offset + written, size);
+            writtenLength += size;
+            written += size;
+        }
+    }
+
+    private MappedByteBuffer mapSegment(long position, int size) {
+        try {
+            return fileChannel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        } catch (IOException e) {
+            throw new IllegalStateException("Map the segment of task log: " + logPath + " failed", e);
+        }
+    }
+
+    private void unmapSegment() {
+        if (segment == null) {
+            return;
+        }
+        MappedByteBufferUtils.unmap(segment);
+        segment = null;
+    }
+
+    /**
+     * Strip the {@code '\0'} tail left by a crashed server and index the existing log content.
+     */
+    private void recover() throws IOException {
+        long length = fileChannel.size();
+        final ByteBuffer buffer = ByteBuffer.allocate(8192);
+        boolean found = false;
+        while (length > 0 && !found) {
+            final int size = (int) Math.min(buffer.capacity(), length);
+            buffer.clear().limit(size);
+            readFully(buffer, length - size);
+            for (int i = size - 1; i >= 0; i--) {
+                if (buffer.get(i) != 0) {
+                    found = true;
+                    break;
+                }
+                length--;
+            }
+        }
+        if (length < fileChannel.size()) {
+            fileChannel.truncate(length);
+        }
+        long position = 0;
+        while (position < length) {
+            final int size = (int) Math.min(buffer.capacity(), length - position);
+            buffer.clear().limit(size);
+            readFully(buffer, position);
+            lineIndexBuilder.append(buffer.array(), 0, size);
+            position += size;
+        }
+        writtenLength = length;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            final int read = fileChannel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of the task log: " + logPath);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The registry of the opened {@link TaskLogSink}, the sinks are shared by the writers of the same task log path and
+ * closed once all the writers released them.
+ * <p> The sinks are enabled by the task log appender configured in logback, if not enabled, the task log is written by
+ * the configured logback appender.
+ */
+@Slf4j
+@UtilityClass
+public class TaskLogSinks {
+
+    public static final int DEFAULT_RING_BUFFER_SIZE = 512 * 1024;
+
+    public static final int DEFAULT_SEGMENT_SIZE = 8 * 1024 * 1024;
+
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLS = 200;
+
+    private static final Map<String, SinkHolder> SINKS = new HashMap<>();
+
+    private static volatile boolean enabled;
+
+    private static volatile int ringBufferSize = DEFAULT_RING_BUFFER_SIZE;
+
+    private static volatile int segmentSize = DEFAULT_SEGMENT_SIZE;
+
+    private static volatile boolean blockWhenFull = true;
+
+    private static volatile long flushIntervalMills = DEFAULT_FLUSH_INTERVAL_MILLS;
+
+    private static Thread flusher;
+
+    /**
+     * Enable the sinks.
+     *
+     * @param ringBufferSize the size of the in-memory ring of each task log
+     * @param segmentSize    the size of each mapped segment of the task log file
+     * @param blockWhenFull  block the writer when the ring is full if true, otherwise drop the log and count it
+     * @param flushInterval  the max interval in milliseconds before the buffered log is visible to the readers
+     */
+    public static synchronized void configure(int ringBufferSize, int segmentSize, boolean blockWhenFull,
+                                              long flushInterval) {
+        if (ringBufferSize <= 0 || segmentSize <= 0 || flushInterval <= 0) {
+            throw new IllegalArgumentException(
+                    "The ringBufferSize, segmentSize and flushInterval of TaskLogSinks should be positive");
+        }
+        TaskLogSinks.ringBufferSize = ringBufferSize;
+        TaskLogSinks.segmentSize = segmentSize;
+        TaskLogSinks.blockWhenFull = blockWhenFull;
+        TaskLogSinks.flushIntervalMills = flushInterval;
+        TaskLogSinks.enabled = true;
+        if (flusher == null) {
+            flusher = ThreadUtils.newDaemonThreadFactory("TaskLogSinkFlusher").newThread(TaskLogSinks::flushLoop);
+            flusher.start();
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Open the sink of the given task log, the sink should be {@link #release released} once it is no longer used.
+     */
+    public static synchronized TaskLogSink open(String logPath) throws IOException {
+        final String key = normalize(logPath);
+        SinkHolder sinkHolder = SINKS.get(key);
+        if (sinkHolder == null) {
+            sinkHolder = new SinkHolder(new TaskLogSink(Paths.get(key), ringBufferSize, segmentSize, blockWhenFull,
+                    Constants.DEFAULT_REMOTE_LOGGING_INDEX_INTERVAL));
+            SINKS.put(key, sinkHolder);
+        }
+        sinkHolder.referenceCount++;
+        return sinkHolder.sink;
+    }
+
+    /**
+     * Acquire the sink of the given task log only if it is opened in this server, the acquired sink should be
+     * {@link #release released} once it is no longer used.
+     */
+    public static synchronized Optional<TaskLogSink> acquireIfOpened(String logPath) {
+        final SinkHolder sinkHolder = SINKS.get(normalize(logPath));
+        if (sinkHolder == null) {
+            return Optional.empty();
+        }
+        sinkHolder.referenceCount++;
+        return Optional.of(sinkHolder.sink);
+    }
+
+    /**
+     * Whether the given task log is still being written by a sink in this server.
+     */
+    public static synchronized boolean isOpened(String logPath) {
+        return SINKS.containsKey(normalize(logPath));
+    }
+
+    /**
+     * Release the sink, the sink will be closed if it is released by all the writers and readers.
+     */
+    public static void release(TaskLogSink taskLogSink) {
+        synchronized (TaskLogSinks.class) {
+            final String key = taskLogSink.getLogPath().toString();
+            final SinkHolder sinkHolder = SINKS.get(key);
+            if (sinkHolder == null || sinkHolder.sink != taskLogSink || --sinkHolder.referenceCount > 0) {
+                return;
+            }
+            SINKS.remove(key);
+        }
+        try {
+            taskLogSink.close();
+        } catch (IOException e) {
+            log.error("Close the task log sink: {} failed", taskLogSink.getLogPath(), e);
+        }
+    }
+
+    static void wakeUpFlusher() {
+        final Thread flusherThread = flusher;
+        if (flusherThread != null) {
+            LockSupport.unpark(flusherThread);
+        }
+    }
+
+    private static void flushLoop() {
+        while (true) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMills));
+            final TaskLogSink[] taskLogSinks;
+            synchronized (TaskLogSinks.class) {
+                taskLogSinks = SINKS.values().stream().map(sinkHolder -> sinkHolder.sink).toArray(TaskLogSink[]::new);
+            }
+            for (TaskLogSink taskLogSink : taskLogSinks) {
+                try {
+                    taskLogSink.flush();
+                } catch (Throwable ex) {
+                    log.error("Flush the task log sink: {} failed", taskLogSink.getLogPath(), ex);
+                }
+            }
+        }
+    }
+
+    private static String normalize(String logPath) {
+        return Paths.get(logPath).toAbsolutePath().normalize().toString();
+    }
+
+    private static class SinkHolder {
+
+        private final TaskLogSink sink;
+
+        private int referenceCount;
+
+        private SinkHolder(TaskLogSink sink) {
+            this.sink = sink;
+        }
+    }
+}
@@ -20,17 +20,21 @@ package org.apache.dolphinscheduler.common.log.remote;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.FileOutputStream;
 import java.io.IOException;
 
 import lombok.extern.slf4j.Slf4j;
 
+import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.models.BlobRange;
 import com.azure.storage.blob.specialized.BlobInputStream;
 import com.azure.storage.common.StorageSharedKeyCredential;
 
@@ -123,6 +127,50 @@ public class AbsRemoteLogHandler implements RemoteLogHandler, Closeable {
         }
     }
 
+    @Override
+    public void sendRemoteLogIndex(String logPath, byte[] logIndex) {
+        String indexObjectName = RemoteLogUtils.getIndexObjectNameFromLogPath(logPath);
+
+        try {
+            blobContainerClient.getBlobClient(indexObjectName)
+                    .upload(new ByteArrayInputStream(logIndex), logIndex.length, true);
+        } catch (Exception e) {
+            log.error("error while sending remote log index of {} to Azure Blob {}", logPath, indexObjectName, e);
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogIndex(String logPath) {
+        String indexObjectName = RemoteLogUtils.getIndexObjectNameFromLogPath(logPath);
+
+        try {
+            BlobClient blobClient = blobContainerClient.getBlobClient(indexObjectName);
+            if (!blobClient.exists()) {
+                return null;
+            }
+            return blobClient.downloadContent().toBytes();
+        } catch (Exception e) {
+            log.error("error while getting remote log index on Azure Blob {}", indexObjectName, e);
+            return null;
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogRange(String logPath, long offset, int length) {
+        String objectName = RemoteLogUtils.getObjectNameFromLogPath(logPath);
+
+        try (
+                BlobInputStream bis = blobContainerClient.getBlobClient(objectName)
+                        .openInputStream(new BlobRange(offset, (long) length), null)) {
+            return IOUtils.toByteArray(bis);
+        } catch (Exception e) {
+            throw new RemoteLogException(
+                    String.format("error while getting remote log range [%s, %s) on Azure Blob %s", offset,
+                            offset + length, objectName),
+                    e);
+        }
+    }
+
     protected String readAccountName() {
         return PropertyUtils.getString(Constants.REMOTE_LOGGING_ABS_ACCOUNT_NAME);
     }
@@ -20,11 +20,14 @@ package org.apache.dolphinscheduler.common.log.remote;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -34,6 +37,7 @@ import com.qcloud.cos.auth.BasicCOSCredentials;
 import com.qcloud.cos.auth.COSCredentials;
 import com.qcloud.cos.http.HttpProtocol;
 import com.qcloud.cos.model.GetObjectRequest;
+import com.qcloud.cos.model.ObjectMetadata;
 import com.qcloud.cos.model.PutObjectRequest;
 import com.qcloud.cos.region.Region;
 
@@ -90,6 +94,53 @@ public class CosRemoteLogHandler implements RemoteLogHandler, Closeable {
         }
     }
 
+    @Override
+    public void sendRemoteLogIndex(String logPath, byte[] logIndex) {
+        String indexObjectName = RemoteLogUtils.getIndexObjectNameFromLogPath(logPath);
+
+        try {
+            ObjectMetadata objectMetadata = new ObjectMetadata();
+            objectMetadata.setContentLength(logIndex.length);
+            cosClient.putObject(bucketName, indexObjectName, new ByteArrayInputStream(logIndex), objectMetadata);
+        } catch (Exception e) {
+            log.error("error while sending remote log index of {} to tencent cos {}, reason:", logPath,
+                    indexObjectName, e);
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogIndex(String logPath) {
+        String indexObjectName = RemoteLogUtils.getIndexObjectNameFromLogPath(logPath);
+
+        try {
+            if (!cosClient.doesObjectExist(bucketName, indexObjectName)) {
+                return null;
+            }
+            try (InputStream inputStream = cosClient.getObject(bucketName, indexObjectName).getObjectContent()) {
+                return IOUtils.toByteArray(inputStream);
+            }
+        } catch (Exception e) {
+            log.error("error while getting remote log index from tencent cos {}, reason:", indexObjectName, e);
+            return null;
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogRange(String logPath, long offset, int length) {
+        String objectName = RemoteLogUtils.getObjectNameFromLogPath(logPath);
+
+        GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, objectName);
+        getObjectRequest.setRange(offset, offset + length - 1);
+        try (InputStream inputStream = cosClient.getObject(getObjectRequest).getObjectContent()) {
+            return IOUtils.toByteArray(inputStream);
+        } catch (Exception e) {
+            throw new RemoteLogException(
+                    String.format("error while getting remote log range [%s, %s) from tencent cos %s", offset,
+                            offset + length, objectName),
+                    e);
+        }
+    }
+
     @Override
     public void close() throws IOException {
         if (cosClient != null) {
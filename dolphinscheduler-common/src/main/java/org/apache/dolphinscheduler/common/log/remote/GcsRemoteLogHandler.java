@@ -24,12 +24,14 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
 import lombok.extern.slf4j.Slf4j;
 
 import com.google.auth.oauth2.ServiceAccountCredentials;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
@@ -109,6 +111,53 @@ public class GcsRemoteLogHandler implements RemoteLogHandler, Closeable {
         }
     }
 
+    @Override
+    public void sendRemoteLogIndex(String logPath, byte[] logIndex) {
+        String indexObjectName = RemoteLogUtils.getIndexObjectNameFromLogPath(logPath);
+
+        try {
+            gcsStorage.create(BlobInfo.newBuilder(BlobId.of(bucketName, indexObjectName)).build(), logIndex);
+        } catch (Exception e) {
+            log.error("error while sending remote log index of {} to GCS {}", logPath, indexObjectName, e);
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogIndex(String logPath) {
+        String indexObjectName = RemoteLogUtils.getIndexObjectNameFromLogPath(logPath);
+
+        try {
+            Blob blob = gcsStorage.get(BlobId.of(bucketName, indexObjectName));
+            return blob == null ? null : blob.getContent();
+        } catch (Exception e) {
+            log.error("error while getting remote log index on GCS {}", indexObjectName, e);
+            return null;
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogRange(String logPath, long offset, int length) {
+        String objectName = RemoteLogUtils.getObjectNameFromLogPath(logPath);
+
+        try (ReadChannel readChannel = gcsStorage.reader(BlobId.of(bucketName, objectName))) {
+            readChannel.seek(offset);
+            readChannel.limit(offset + length);
+            ByteBuffer byteBuffer = ByteBuffer.allocate(length);
+            while (byteBuffer.hasRemaining() && readChannel.read(byteBuffer) >= 0) {
+                // read until the range is filled or reach the end of the object
+            }
+            byte[] bytes = new byte[byteBuffer.position()];
+            byteBuffer.flip();
+            byteBuffer.get(bytes);
+            return bytes;
+        } catch (Exception e) {
+            throw new RemoteLogException(
+                    String.format("error while getting remote log range [%s, %s) on GCS %s", offset,
+                            offset + length, objectName),
+                    e);
+        }
+    }
+
     protected Storage buildGcsStorage(String credential) throws IOException {
         return StorageOptions.newBuilder()
                 .setCredentials(ServiceAccountCredentials.fromStream(
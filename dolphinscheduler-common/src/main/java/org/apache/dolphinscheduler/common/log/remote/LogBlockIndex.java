@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log.remote;
+
+import lombok.Getter;
+
+/**
+ * The block index of a log compressed by {@link SeekableLogCompressor}, every block holds {@code blockSize} bytes of
+ * the original log (except the last one), and is compressed independently, so it can be fetched and decompressed
+ * without touching the other blocks.
+ */
+public class LogBlockIndex {
+
+    @Getter
+    private final int blockSize;
+
+    /**
+     * The compressed offset of every block, with the compressed length of the whole log at the end.
+     */
+    private final long[] compressedOffsets;
+
+    LogBlockIndex(int blockSize, long[] compressedOffsets) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("The block size of LogBlockIndex should be positive: " + blockSize);
+        }
+        if (compressedOffsets.length == 0) {
+            throw new IllegalArgumentException("The compressed offsets of LogBlockIndex should not be empty");
+        }
+        this.blockSize = blockSize;
+        this.compressedOffsets = compressedOffsets;
+    }
+
+    public int getBlockCount() {
+        return compressedOffsets.length - 1;
+    }
+
+    public long getCompressedOffset(int blockIndex) {
+        return compressedOffsets[blockIndex];
+    }
+
+    public int getCompressedLength(int blockIndex) {
+        return (int) (compressedOffsets[blockIndex + 1] - compressedOffsets[blockIndex]);
+    }
+
+    long[] getCompressedOffsets() {
+        return compressedOffsets;
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log.remote;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import lombok.Getter;
+
+/**
+ * The sidecar line-offset index of a task log, it records the byte offset of every {@code interval}-th line so that
+ * a page of the log can be read by a range request instead of downloading the whole log file.
+ */
+public class LogLineIndex {
+
+    private static final int MAGIC = 0x444C4958;
+
+    private static final int VERSION_WITHOUT_BLOCK_INDEX = 1;
+
+    private static final int VERSION = 2;
+
+    @Getter
+    private final int interval;
+
+    @Getter
+    private final long lineCount;
+
+    @Getter
+    private final long fileLength;
+
+    private final long[] offsets;
+
+    /**
+     * The block index of the compressed log, null if the log is stored uncompressed.
+     */
+    @Getter
+    private final LogBlockIndex blockIndex;
+
+    LogLineIndex(int interval, long lineCount, long fileLength, long[] offsets) {
+        this(interval, lineCount, fileLength, offsets, null);
+    }
+
+    LogLineIndex(int interval, long lineCount, long fileLength, long[] offsets, LogBlockIndex blockIndex) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("The interval of LogLineIndex should be positive: " + interval);
+        }
+        this.interval = interval;
+        this.lineCount = lineCount;
+        this.fileLength = fileLength;
+        this.offsets = offsets;
+        this.blockIndex = blockIndex;
+    }
+
+    public boolean isCompressed() {
+        return blockIndex != null;
+    }
+
+    public LogLineIndex withBlockIndex(LogBlockIndex blockIndex) {
+        return new LogLineIndex(interval, lineCount, fileLength, offsets, blockIndex);
+    }
+
+    /**
+     * Get the byte offset of the indexed line which is closest to, and not after the given line.
+     */
+    public long getClosestOffset(long lineNum) {
+        if (lineNum <= 0 || offsets.length == 0) {
+            return 0;
+        }
+        int slot = (int) Math.min(lineNum / interval, offsets.length - 1);
+        return offsets[slot];
+    }
+
+    /**
+     * Get the line number of the indexed line which is closest to, and not after the given line.
+     */
+    public long getClosestLineNum(long lineNum) {
+        if (lineNum <= 0 || offsets.length == 0) {
+            return 0;
+        }
+        return Math.min(lineNum / interval, offsets.length - 1) * interval;
+    }
+
+    public static LogLineIndex build(Path logPath, int interval) throws IOException {
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(logPath))) {
+            return build(inputStream, interval);
+        }
+    }
+
+    public static LogLineIndex build(InputStream inputStream, int interval) throws IOException {
+        final Builder builder = new Builder(interval);
+        byte[] buffer = new byte[8192];
+        int readLen;
+        while ((readLen = inputStream.read(buffer)) != -1) {
+            builder.append(buffer, 0, readLen);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Build the {@link LogLineIndex} incrementally while the log content is appended, so that a log which is still
+     * being written can be paged without scanning it again.
+     * <p> The builder is not thread-safe.
+     */
+    public static class Builder {
+
+        private final int interval;
+
+        private long[] offsets = new long[16];
+
+        private int offsetSize;
+
+        private long position;
+
+        private long lineCount;
+
+        private boolean lineStart = true;
+
+        public Builder(int interval) {
+            if (interval <= 0) {
+                throw new IllegalArgumentException("The interval of LogLineIndex should be positive: " + interval);
+            }
+            this.interval = interval;
+        }
+
+        public void append(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                append(bytes[i]);
+            }
+        }
+
+        public void append(byte b) {
+            if (lineStart) {
+                if (lineCount % interval == 0) {
+                    if (offsetSize == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, offsetSize * 2);
+                    }
+                    offsets[offsetSize++] = position;
+                }
+                lineCount++;
+                lineStart = false;
+            }
+            if (b == '\n') {
+                lineStart = true;
+            }
+            position++;
+        }
+
+        public LogLineIndex build() {
+            return new LogLineIndex(interval, lineCount, position, Arrays.copyOf(offsets, offsetSize));
+        }
+    }
+
+    public byte[] serialize() {
+        try (
+                ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(64 + offsets.length * 8);
+                DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream)) {
+            dataOutputStream.writeInt(MAGIC);
+            dataOutputStream.writeInt(VERSION);
+            dataOutputStream.writeInt(interval);
+            dataOutputStream.writeLong(lineCount);
+            dataOutputStream.writeLong(fileLength);
+            dataOutputStream.writeInt(offsets.length);
+            for (long offset : offsets) {
+                dataOutputStream.writeLong(offset);
+            }
+            if (blockIndex == null) {
+                dataOutputStream.writeInt(0);
+            } else {
+                long[] compressedOffsets = blockIndex.getCompressedOffsets();
+                dataOutputStream.writeInt(blockIndex.getBlockSize());
+                dataOutputStream.writeInt(compressedOffsets.length);
+                for (long compressedOffset : compressedOffsets) {
+                    dataOutputStream.writeLong(compressedOffset);
+                }
+            }
+            dataOutputStream.flush();
+            return byteArrayOutputStream.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Serialize LogLineIndex failed", e);
+        }
+    }
+
+    public static LogLineIndex deserialize(byte[] bytes) {
+        try (DataInputStream dataInputStream = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (dataInputStream.readInt() != MAGIC) {
+                throw new IllegalArgumentException("The content is not a LogLineIndex");
+            }
+            int version = dataInputStream.readInt();
+            if (version != VERSION && version != VERSION_WITHOUT_BLOCK_INDEX) {
+                throw new IllegalArgumentException("Unsupported LogLineIndex version: " + version);
+            }
+            int interval = dataInputStream.readInt();
+            long lineCount = dataInputStream.readLong();
+            long fileLength = dataInputStream.readLong();
+            long[] offsets = new long[dataInputStream.readInt()];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = dataInputStream.readLong();
+            }
+            if (version == VERSION_WITHOUT_BLOCK_INDEX) {
+                return new LogLineIndex(interval, lineCount, fileLength, offsets);
+            }
+            int blockSize = dataInputStream.readInt();
+            if (blockSize == 0) {
+                return new LogLineIndex(interval, lineCount, fileLength, offsets);
+            }
+            long[] compressedOffsets = new long[dataInputStream.readInt()];
+            for (int i = 0; i < compressedOffsets.length; i++) {
+                compressedOffsets[i] = dataInputStream.readLong();
+            }
+            return new LogLineIndex(interval, lineCount, fileLength, offsets,
+                    new LogBlockIndex(blockSize, compressedOffsets));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Deserialize LogLineIndex failed", e);
+        }
+    }
+}
@@ -22,11 +22,14 @@ import org.apache.dolphinscheduler.common.factory.OssClientFactory;
 import org.apache.dolphinscheduler.common.model.OssConnection;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -86,6 +89,50 @@ public class OssRemoteLogHandler implements RemoteLogHandler, Closeable {
         }
     }
 
+    @Override
+    public void sendRemoteLogIndex(String logPath, byte[] logIndex) {
+        String indexObjectName = RemoteLogUtils.getIndexObjectNameFromLogPath(logPath);
+
+        try {
+            ossClient.putObject(bucketName, indexObjectName, new ByteArrayInputStream(logIndex));
+        } catch (Exception e) {
+            log.error("error while sending remote log index of {} to OSS {}", logPath, indexObjectName, e);
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogIndex(String logPath) {
+        String indexObjectName = RemoteLogUtils.getIndexObjectNameFromLogPath(logPath);
+
+        try {
+            if (!ossClient.doesObjectExist(bucketName, indexObjectName)) {
+                return null;
+            }
+            try (InputStream inputStream = ossClient.getObject(bucketName, indexObjectName).getObjectContent()) {
+                return IOUtils.toByteArray(inputStream);
+            }
+        } catch (Exception e) {
+            log.error("error while getting remote log index on OSS {}", indexObjectName, e);
+            return null;
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogRange(String logPath, long offset, int length) {
+        String objectName = RemoteLogUtils.getObjectNameFromLogPath(logPath);
+
+        GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, objectName);
+        getObjectRequest.setRange(offset, offset + length - 1);
+        try (InputStream inputStream = ossClient.getObject(getObjectRequest).getObjectContent()) {
+            return IOUtils.toByteArray(inputStream);
+        } catch (Exception e) {
+            throw new RemoteLogException(
+                    String.format("error while getting remote log range [%s, %s) on OSS %s", offset,
+                            offset + length, objectName),
+                    e);
+        }
+    }
+
     @Override
     public void close() throws IOException {
         if (ossClient != null) {
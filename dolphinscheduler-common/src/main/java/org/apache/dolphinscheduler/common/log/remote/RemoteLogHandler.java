@@ -22,4 +22,24 @@ public interface RemoteLogHandler {
     void sendRemoteLog(String logPath);
 
     void getRemoteLog(String logPath);
+
+    /**
+     * Upload the line-offset index of the given log, the index object is stored alongside the log object.
+     */
+    void sendRemoteLogIndex(String logPath, byte[] logIndex);
+
+    /**
+     * Get the line-offset index of the given log.
+     *
+     * @return the content of the index, or null if the log has no index on the remote storage
+     */
+    byte[] getRemoteLogIndex(String logPath);
+
+    /**
+     * Read a range of the remote log without downloading the whole log.
+     *
+     * @param offset the start byte offset of the range
+     * @param length the byte length of the range
+     */
+    byte[] getRemoteLogRange(String logPath, long offset, int length);
 }
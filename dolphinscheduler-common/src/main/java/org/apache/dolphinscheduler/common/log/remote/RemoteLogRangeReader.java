@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log.remote;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Read a page of a remote log by range requests, with the help of the sidecar {@link LogLineIndex}.
+ * <p>
+ * The fetched ranges are aligned to fixed size chunks, and kept in a LRU cache bounded by
+ * {@link Constants#REMOTE_LOGGING_READ_CACHE_SIZE}, so paging through an archived log only costs the I/O of the
+ * chunks which cover the page. If the log is compressed by {@link SeekableLogCompressor}, each chunk is a block of
+ * the compressed log, which is decompressed once fetched.
+ */
+@Slf4j
+public class RemoteLogRangeReader {
+
+    private final RemoteLogHandler remoteLogHandler;
+
+    private final int chunkSize;
+
+    private final Cache<String, LogLineIndex> logIndexCache;
+
+    private final Cache<ChunkKey, byte[]> chunkCache;
+
+    private static volatile RemoteLogRangeReader instance;
+
+    public RemoteLogRangeReader(RemoteLogHandler remoteLogHandler, int chunkSize, long cacheSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size should be positive: " + chunkSize);
+        }
+        this.remoteLogHandler = Objects.requireNonNull(remoteLogHandler);
+        this.chunkSize = chunkSize;
+        this.logIndexCache = CacheBuilder.newBuilder()
+                .maximumSize(1024)
+                .expireAfterWrite(10, TimeUnit.MINUTES)
+                .build();
+        this.chunkCache = CacheBuilder.newBuilder()
+                .maximumWeight(Math.max(cacheSize, chunkSize))
+                .weigher((ChunkKey key, byte[] value) -> value.length)
+                .build();
+    }
+
+    /**
+     * Get the reader of the configured remote logging target, return null if the remote logging is disabled.
+     */
+    public static RemoteLogRangeReader getInstance() {
+        if (instance == null) {
+            synchronized (RemoteLogRangeReader.class) {
+                if (instance == null) {
+                    RemoteLogHandler remoteLogHandler = RemoteLogHandlerFactory.getRemoteLogHandler();
+                    if (remoteLogHandler == null) {
+                        return null;
+                    }
+                    instance = new RemoteLogRangeReader(remoteLogHandler,
+                            PropertyUtils.getInt(Constants.REMOTE_LOGGING_READ_CHUNK_SIZE,
+                                    Constants.DEFAULT_REMOTE_LOGGING_READ_CHUNK_SIZE),
+                            PropertyUtils.getLong(Constants.REMOTE_LOGGING_READ_CACHE_SIZE,
+                                    Constants.DEFAULT_REMOTE_LOGGING_READ_CACHE_SIZE));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Read the lines [skipLine, skipLine + limit) of the remote log.
+     *
+     * @return the lines, or null if the remote log doesn't have a line index, then the caller should download the
+     * whole log instead
+     */
+    public List<String> readPartLogContent(String logPath, int skipLine, int limit) {
+        LogLineIndex logLineIndex = getLogLineIndex(logPath);
+        if (logLineIndex == null) {
+            return null;
+        }
+        List<String> lines = new ArrayList<>();
+        if (limit <= 0 || skipLine >= logLineIndex.getLineCount()) {
+            return lines;
+        }
+        long startOffset = logLineIndex.getClosestOffset(skipLine);
+        long linesToSkip = skipLine - logLineIndex.getClosestLineNum(skipLine);
+        try (
+                BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(
+                        new ChunkInputStream(logPath, logLineIndex, startOffset),
+                        StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = bufferedReader.readLine()) != null && lines.size() < limit) {
+                if (linesToSkip > 0) {
+                    linesToSkip--;
+                    continue;
+                }
+                lines.add(line);
+            }
+        } catch (IOException e) {
+            throw new RemoteLogException("Read remote log: " + logPath + " error", e);
+        }
+        return lines;
+    }
+
+    private LogLineIndex getLogLineIndex(String logPath) {
+        LogLineIndex logLineIndex = logIndexCache.getIfPresent(logPath);
+        if (logLineIndex != null) {
+            return logLineIndex;
+        }
+        byte[] logIndexContent = remoteLogHandler.getRemoteLogIndex(logPath);
+        if (logIndexContent == null) {
+            return null;
+        }
+        try {
+            logLineIndex = LogLineIndex.deserialize(logIndexContent);
+        } catch (IllegalArgumentException e) {
+            log.warn("The remote log index of {} is broken, will ignore it", logPath, e);
+            return null;
+        }
+        logIndexCache.put(logPath, logLineIndex);
+        return logLineIndex;
+    }
+
+    private byte[] getChunk(String logPath, LogLineIndex logLineIndex, long chunkIndex) throws IOException {
+        long fileLength = logLineIndex.getFileLength();
+        LogBlockIndex blockIndex = logLineIndex.getBlockIndex();
+        ChunkKey chunkKey = new ChunkKey(logPath, fileLength, logLineIndex.isCompressed(), chunkIndex);
+        try {
+            return chunkCache.get(chunkKey, () -> {
+                if (blockIndex != null) {
+                    // The chunk of a compressed log is a compressed block
+                    int block = (int) chunkIndex;
+                    byte[] compressedBlock = remoteLogHandler.getRemoteLogRange(
+                            logPath + SeekableLogCompressor.COMPRESSED_LOG_SUFFIX,
+                            blockIndex.getCompressedOffset(block),
+                            blockIndex.getCompressedLength(block));
+                    return SeekableLogCompressor.decompressBlock(compressedBlock);
+                }
+                long chunkOffset = chunkIndex * chunkSize;
+                int chunkLength = (int) Math.min(chunkSize, fileLength - chunkOffset);
+                return remoteLogHandler.getRemoteLogRange(logPath, chunkOffset, chunkLength);
+            });
+        } catch (ExecutionException e) {
+            throw new IOException("Fetch chunk " + chunkIndex + " of remote log: " + logPath + " error",
+                    e.getCause());
+        }
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class ChunkKey {
+
+        private final String logPath;
+
+        // The log length is a part of the key, so the chunks of an overwritten log will not be reused
+        private final long fileLength;
+
+        private final boolean compressed;
+
+        private final long chunkIndex;
+    }
+
+    /**
+     * Read the remote log from the given offset chunk by chunk, the chunks are fetched lazily.
+     */
+    private class ChunkInputStream extends InputStream {
+
+        private final String logPath;
+
+        private final LogLineIndex logLineIndex;
+
+        private final long fileLength;
+
+        private final int streamChunkSize;
+
+        private long position;
+
+        private byte[] currentChunk;
+
+        private long currentChunkIndex = -1;
+
+        ChunkInputStream(String logPath, LogLineIndex logLineIndex, long position) {
+            this.logPath = logPath;
+            this.logLineIndex = logLineIndex;
+            this.fileLength = logLineIndex.getFileLength();
+            this.streamChunkSize =
+                    logLineIndex.isCompressed() ? logLineIndex.getBlockIndex().getBlockSize() : chunkSize;
+            this.position = position;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            int readLen = read(b, 0, 1);
+            return readLen == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= fileLength) {
+                return -1;
+            }
+            long chunkIndex = position / streamChunkSize;
+            if (chunkIndex != currentChunkIndex) {
+                currentChunk = getChunk(logPath, logLineIndex, chunkIndex);
+                currentChunkIndex = chunkIndex;
+            }
+            int chunkPosition = (int) (position - chunkIndex * streamChunkSize);
+            int readLen = Math.min(len, currentChunk.length - chunkPosition);
+            if (readLen <= 0) {
+                // The remote log is shorter than the index declared
+                return -1;
+            }
+            System.arraycopy(currentChunk, chunkPosition, b, off, readLen);
+            position += readLen;
+            return readLen;
+        }
+    }
+}
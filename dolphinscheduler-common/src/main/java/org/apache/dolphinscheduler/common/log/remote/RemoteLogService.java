@@ -20,6 +20,11 @@ package org.apache.dolphinscheduler.common.log.remote;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.scheduling.annotation.Async;
@@ -39,9 +44,61 @@ public class RemoteLogService {
             if (remoteLogHandler == null) {
                 return;
             }
-            remoteLogHandler.sendRemoteLog(logPath);
+            if (RemoteLogUtils.isRemoteLoggingCompressionEnable()) {
+                sendCompressedRemoteLog(remoteLogHandler, logPath);
+            } else {
+                remoteLogHandler.sendRemoteLog(logPath);
+                sendRemoteLogIndex(remoteLogHandler, logPath, null);
+            }
             log.info("End send log {} to remote target {}", logPath,
                     PropertyUtils.getString(Constants.REMOTE_LOGGING_TARGET));
         }
     }
+
+    /**
+     * Compress the log block by block and send the compressed log instead of the original one, the block index is
+     * sent within the line index, so a page of the log can be read by decompressing only the blocks covering it.
+     */
+    private void sendCompressedRemoteLog(RemoteLogHandler remoteLogHandler, String logPath) {
+        Path compressedLogPath = Paths.get(logPath + SeekableLogCompressor.COMPRESSED_LOG_SUFFIX);
+        LogBlockIndex logBlockIndex;
+        try {
+            logBlockIndex = SeekableLogCompressor.compress(Paths.get(logPath), compressedLogPath,
+                    PropertyUtils.getInt(Constants.REMOTE_LOGGING_COMPRESSION_BLOCK_SIZE,
+                            Constants.DEFAULT_REMOTE_LOGGING_COMPRESSION_BLOCK_SIZE));
+        } catch (Exception e) {
+            log.error("Compress log {} error, will send the uncompressed log", logPath, e);
+            deleteQuietly(compressedLogPath);
+            remoteLogHandler.sendRemoteLog(logPath);
+            sendRemoteLogIndex(remoteLogHandler, logPath, null);
+            return;
+        }
+        try {
+            remoteLogHandler.sendRemoteLog(compressedLogPath.toString());
+            sendRemoteLogIndex(remoteLogHandler, logPath, logBlockIndex);
+        } finally {
+            deleteQuietly(compressedLogPath);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Delete file {} error", path, e);
+        }
+    }
+
+    private void sendRemoteLogIndex(RemoteLogHandler remoteLogHandler, String logPath, LogBlockIndex logBlockIndex) {
+        try {
+            LogLineIndex logLineIndex = LogLineIndex.build(Paths.get(logPath),
+                    PropertyUtils.getInt(Constants.REMOTE_LOGGING_INDEX_INTERVAL,
+                            Constants.DEFAULT_REMOTE_LOGGING_INDEX_INTERVAL))
+                    .withBlockIndex(logBlockIndex);
+            remoteLogHandler.sendRemoteLogIndex(logPath, logLineIndex.serialize());
+        } catch (Exception e) {
+            // The log can still be read by downloading the whole file without the index
+            log.error("Build the line index of log {} error", logPath, e);
+        }
+    }
 }
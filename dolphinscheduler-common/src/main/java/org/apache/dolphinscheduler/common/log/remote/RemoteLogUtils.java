@@ -22,6 +22,7 @@ import static org.apache.dolphinscheduler.common.utils.LogUtils.getLocalLogBaseD
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -36,6 +37,8 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class RemoteLogUtils {
 
+    private static final String LOG_INDEX_SUFFIX = ".idx";
+
     private static RemoteLogService remoteLogService;
 
     @Autowired
@@ -62,12 +65,41 @@ public class RemoteLogUtils {
             if (remoteLogHandler == null) {
                 return;
             }
-            remoteLogHandler.getRemoteLog(logPath);
+            if (isCompressedRemoteLog(remoteLogHandler, logPath)) {
+                getCompressedRemoteLog(remoteLogHandler, logPath);
+            } else {
+                remoteLogHandler.getRemoteLog(logPath);
+            }
             log.info("End get log {} from remote target {}", logPath,
                     PropertyUtils.getString(Constants.REMOTE_LOGGING_TARGET));
         }
     }
 
+    private static boolean isCompressedRemoteLog(RemoteLogHandler remoteLogHandler, String logPath) {
+        byte[] logIndex = remoteLogHandler.getRemoteLogIndex(logPath);
+        if (logIndex == null) {
+            return false;
+        }
+        try {
+            return LogLineIndex.deserialize(logIndex).isCompressed();
+        } catch (IllegalArgumentException e) {
+            log.warn("The remote log index of {} is broken, will ignore it", logPath, e);
+            return false;
+        }
+    }
+
+    private static void getCompressedRemoteLog(RemoteLogHandler remoteLogHandler, String logPath) {
+        Path compressedLogPath = Paths.get(logPath + SeekableLogCompressor.COMPRESSED_LOG_SUFFIX);
+        remoteLogHandler.getRemoteLog(compressedLogPath.toString());
+        try {
+            SeekableLogCompressor.decompress(compressedLogPath, Paths.get(logPath));
+        } catch (IOException e) {
+            log.error("Decompress remote log {} error", compressedLogPath, e);
+        } finally {
+            compressedLogPath.toFile().delete();
+        }
+    }
+
     private static void mkdirOfLog(String logPath) {
         Path directory = Paths.get(logPath).getParent();
         directory.toFile().mkdirs();
@@ -77,6 +109,10 @@ public class RemoteLogUtils {
         return PropertyUtils.getBoolean(Constants.REMOTE_LOGGING_ENABLE, Boolean.FALSE);
     }
 
+    public static boolean isRemoteLoggingCompressionEnable() {
+        return PropertyUtils.getBoolean(Constants.REMOTE_LOGGING_COMPRESSION_ENABLE, Boolean.FALSE);
+    }
+
     public static String getObjectNameFromLogPath(String logPath) {
         Path localLogBaseDirPath = Paths.get(getLocalLogBaseDir()).toAbsolutePath();
 
@@ -87,4 +123,8 @@ public class RemoteLogUtils {
         return Paths.get(remoteLogBaseDir, path.subpath(localLogBaseDirPath.getNameCount(), nameCount).toString())
                 .toString();
     }
+
+    public static String getIndexObjectNameFromLogPath(String logPath) {
+        return getObjectNameFromLogPath(logPath) + LOG_INDEX_SUFFIX;
+    }
 }
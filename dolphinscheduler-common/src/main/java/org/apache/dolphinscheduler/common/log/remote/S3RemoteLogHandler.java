@@ -21,8 +21,10 @@ import org.apache.dolphinscheduler.authentication.aws.AmazonS3ClientFactory;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileOutputStream;
@@ -32,6 +34,8 @@ import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectInputStream;
 
@@ -101,6 +105,52 @@ public class S3RemoteLogHandler implements RemoteLogHandler, Closeable {
         }
     }
 
+    @Override
+    public void sendRemoteLogIndex(String logPath, byte[] logIndex) {
+        String indexObjectName = RemoteLogUtils.getIndexObjectNameFromLogPath(logPath);
+
+        try {
+            ObjectMetadata objectMetadata = new ObjectMetadata();
+            objectMetadata.setContentLength(logIndex.length);
+            s3Client.putObject(bucketName, indexObjectName, new ByteArrayInputStream(logIndex), objectMetadata);
+        } catch (Exception e) {
+            log.error("error while sending remote log index of {} to S3 {}", logPath, indexObjectName, e);
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogIndex(String logPath) {
+        String indexObjectName = RemoteLogUtils.getIndexObjectNameFromLogPath(logPath);
+
+        try {
+            if (!s3Client.doesObjectExist(bucketName, indexObjectName)) {
+                return null;
+            }
+            try (S3ObjectInputStream s3is = s3Client.getObject(bucketName, indexObjectName).getObjectContent()) {
+                return IOUtils.toByteArray(s3is);
+            }
+        } catch (Exception e) {
+            log.error("error while getting remote log index on S3 {}", indexObjectName, e);
+            return null;
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogRange(String logPath, long offset, int length) {
+        String objectName = RemoteLogUtils.getObjectNameFromLogPath(logPath);
+
+        GetObjectRequest getObjectRequest =
+                new GetObjectRequest(bucketName, objectName).withRange(offset, offset + length - 1);
+        try (S3ObjectInputStream s3is = s3Client.getObject(getObjectRequest).getObjectContent()) {
+            return IOUtils.toByteArray(s3is);
+        } catch (Exception e) {
+            throw new RemoteLogException(
+                    String.format("error while getting remote log range [%s, %s) on S3 %s", offset,
+                            offset + length, objectName),
+                    e);
+        }
+    }
+
     protected String readBucketName() {
         return PropertyUtils.getString(Constants.AWS_S3_BUCKET_NAME);
     }
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log.remote;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Compress a log into independently compressed blocks.
+ * <p>
+ * Each block is a complete gzip member, the concatenation of the members is still a valid gzip file, so the
+ * compressed log can be decompressed by any gzip tool as a whole, or by {@link #decompressBlock(byte[])} block by
+ * block with the help of the {@link LogBlockIndex}.
+ */
+@UtilityClass
+public class SeekableLogCompressor {
+
+    public static final String COMPRESSED_LOG_SUFFIX = ".gz";
+
+    /**
+     * Compress the source log into the target file in a streaming way, only one block is held in memory.
+     */
+    public static LogBlockIndex compress(Path source, Path target, int blockSize) throws IOException {
+        try (
+                InputStream inputStream = Files.newInputStream(source);
+                OutputStream outputStream = Files.newOutputStream(target)) {
+            return compress(inputStream, outputStream, blockSize);
+        }
+    }
+
+    public static LogBlockIndex compress(InputStream inputStream, OutputStream outputStream,
+                                         int blockSize) throws IOException {
+        long[] compressedOffsets = new long[16];
+        int blockCount = 0;
+        long compressedOffset = 0;
+        byte[] block = new byte[blockSize];
+        ByteArrayOutputStream compressedBlock = new ByteArrayOutputStream(blockSize / 4);
+        int blockLength;
+        while ((blockLength = readFully(inputStream, block)) > 0) {
+            compressedBlock.reset();
+            try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressedBlock)) {
+                gzipOutputStream.write(block, 0, blockLength);
+            }
+            compressedBlock.writeTo(outputStream);
+            if (blockCount + 1 >= compressedOffsets.length) {
+                compressedOffsets = Arrays.copyOf(compressedOffsets, compressedOffsets.length * 2);
+            }
+            compressedOffsets[blockCount++] = compressedOffset;
+            compressedOffset += compressedBlock.size();
+        }
+        compressedOffsets[blockCount] = compressedOffset;
+        return new LogBlockIndex(blockSize, Arrays.copyOf(compressedOffsets, blockCount + 1));
+    }
+
+    public static byte[] decompressBlock(byte[] compressedBlock) throws IOException {
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressedBlock))) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    /**
+     * Decompress the whole compressed log into the target file.
+     */
+    public static void decompress(Path source, Path target) throws IOException {
+        try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(source))) {
+            Files.copy(inputStream, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static int readFully(InputStream inputStream, byte[] buffer) throws IOException {
+        int total = 0;
+        int readLen;
+        while (total < buffer.length && (readLen = inputStream.read(buffer, total, buffer.length - total)) != -1) {
+            total += readLen;
+        }
+        return total;
+    }
+}
@@ -55,7 +55,7 @@ public abstract class BaseHeartBeatTask<T extends HeartBeat> extends BaseDaemonT
             try {
                 T heartBeat = getHeartBeat();
                 // if first time or heartBeat status changed, write heartBeatInfo into registry
-                if (System.currentTimeMillis() - lastWriteTime >= heartBeatInterval
+                if (System.currentTimeMillis() - lastWriteTime >= getHeartBeatInterval()
                         || !lastHeartBeat.getServerStatus().equals(heartBeat.getServerStatus())) {
                     lastHeartBeat = heartBeat;
                     writeHeartBeat(heartBeat);
@@ -83,6 +83,13 @@ public abstract class BaseHeartBeatTask<T extends HeartBeat> extends BaseDaemonT
         Thread.currentThread().interrupt();
     }
 
+    /**
+     * The interval to write the heartbeat, the heartbeat is also written once the server status changes.
+     */
+    protected long getHeartBeatInterval() {
+        return heartBeatInterval;
+    }
+
     public abstract T getHeartBeat();
 
     public abstract void writeHeartBeat(T heartBeat);
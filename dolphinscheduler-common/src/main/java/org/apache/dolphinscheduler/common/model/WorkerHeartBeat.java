@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.common.model;
 
+import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
@@ -31,4 +32,15 @@ public class WorkerHeartBeat extends BaseHeartBeat implements HeartBeat {
     private int workerHostWeight; // worker host weight
     private double threadPoolUsage; // worker waiting task count
     private String workerGroup;
+
+    // The cpu quota(percentage of a core) and memory(MB) which can be allocated to the tasks declaring them,
+    // -1 means not limited
+    @Builder.Default
+    private int cpuQuotaCapacity = -1;
+    @Builder.Default
+    private int availableCpuQuota = -1;
+    @Builder.Default
+    private int memoryMaxCapacity = -1;
+    @Builder.Default
+    private int availableMemoryMax = -1;
 }
@@ -17,6 +17,9 @@
 
 package org.apache.dolphinscheduler.common.utils;
 
+import org.apache.dolphinscheduler.common.log.TaskLogSink;
+import org.apache.dolphinscheduler.common.log.TaskLogSinks;
+import org.apache.dolphinscheduler.common.log.remote.RemoteLogRangeReader;
 import org.apache.dolphinscheduler.common.log.remote.RemoteLogUtils;
 
 import java.io.BufferedReader;
@@ -26,10 +29,15 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -43,8 +51,11 @@ import ch.qos.logback.classic.LoggerContext;
 public class LogUtils {
 
     public static byte[] getFileContentBytesFromLocal(String filePath) {
+        final Optional<TaskLogSink> taskLogSink = TaskLogSinks.acquireIfOpened(filePath);
         try (
-                InputStream in = new FileInputStream(filePath);
+                InputStream in = taskLogSink.isPresent()
+                        ? openTaskLogSinkInputStream(taskLogSink.get())
+                        : new FileInputStream(filePath);
                 ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
             byte[] buf = new byte[1024];
             int len;
@@ -54,10 +65,17 @@ public class LogUtils {
             return bos.toByteArray();
         } catch (IOException e) {
             log.error("get file bytes error", e);
+        } finally {
+            taskLogSink.ifPresent(TaskLogSinks::release);
         }
         return new byte[0];
     }
 
+    private static InputStream openTaskLogSinkInputStream(TaskLogSink taskLogSink) throws IOException {
+        taskLogSink.flush();
+        return taskLogSink.openInputStream(0, taskLogSink.getWrittenLength());
+    }
+
     public static byte[] getFileContentBytesFromRemote(String filePath) {
         RemoteLogUtils.getRemoteLog(filePath);
         return getFileContentBytesFromLocal(filePath);
@@ -77,6 +95,18 @@ public class LogUtils {
     public static List<String> readPartFileContentFromLocal(String filePath,
                                                             int skipLine,
                                                             int limit) {
+        final Optional<TaskLogSink> taskLogSink = TaskLogSinks.acquireIfOpened(filePath);
+        if (taskLogSink.isPresent()) {
+            // The log is still being written by this server, read it by the line index of the sink
+            try {
+                return taskLogSink.get().readLines(skipLine, limit);
+            } catch (IOException e) {
+                log.error("read file error", e);
+                throw new RuntimeException(String.format("Read file: %s error", filePath), e);
+            } finally {
+                TaskLogSinks.release(taskLogSink.get());
+            }
+        }
         File file = new File(filePath);
         if (file.exists() && file.isFile()) {
             try (Stream<String> stream = Files.lines(Paths.get(filePath))) {
@@ -93,6 +123,14 @@ public class LogUtils {
     public static List<String> readPartFileContentFromRemote(String filePath,
                                                              int skipLine,
                                                              int limit) {
+        RemoteLogRangeReader remoteLogRangeReader = RemoteLogRangeReader.getInstance();
+        if (remoteLogRangeReader != null) {
+            List<String> lines = remoteLogRangeReader.readPartLogContent(filePath, skipLine, limit);
+            if (lines != null) {
+                return lines;
+            }
+        }
+        // The remote log doesn't have a line index, fallback to download the whole log
         RemoteLogUtils.getRemoteLog(filePath);
         return readPartFileContentFromLocal(filePath, skipLine, limit);
     }
@@ -110,6 +148,87 @@ public class LogUtils {
         return readPartFileContentFromLocal(filePath, skipLine, limit);
     }
 
+    /**
+     * Read the whole lines appended after the given byte offset of the local log, at most maxBytes are read unless a
+     * single line exceeds it.
+     */
+    public static byte[] readFileContentFromOffsetFromLocal(String filePath, long offset, int maxBytes) {
+        final Optional<TaskLogSink> taskLogSink = TaskLogSinks.acquireIfOpened(filePath);
+        try {
+            final InputStream in;
+            if (taskLogSink.isPresent()) {
+                taskLogSink.get().flush();
+                in = taskLogSink.get().openInputStream(offset, taskLogSink.get().getWrittenLength());
+            } else {
+                final File file = new File(filePath);
+                if (!file.exists() || !file.isFile()) {
+                    throw new RuntimeException("The file path: " + filePath + " not exists");
+                }
+                final FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+                in = Channels.newInputStream(fileChannel.position(offset));
+            }
+            try (InputStream inputStream = in) {
+                return readWholeLines(inputStream, maxBytes);
+            }
+        } catch (IOException e) {
+            log.error("read file error", e);
+            throw new RuntimeException(String.format("Read file: %s error", filePath), e);
+        } finally {
+            taskLogSink.ifPresent(TaskLogSinks::release);
+        }
+    }
+
+    /**
+     * Read the whole lines appended after the given byte offset of the remote log. The remote log is downloaded to
+     * the local path once by the first chunk of the tail, the following chunks read the downloaded log.
+     */
+    public static byte[] readFileContentFromOffsetFromRemote(String filePath, long offset, int maxBytes) {
+        if (!new File(filePath).exists()) {
+            RemoteLogUtils.getRemoteLog(filePath);
+        }
+        return readFileContentFromOffsetFromLocal(filePath, offset, maxBytes);
+    }
+
+    public static byte[] readFileContentFromOffset(String filePath, long offset, int maxBytes) {
+        File file = new File(filePath);
+        if (file.exists() || TaskLogSinks.isOpened(filePath)) {
+            return readFileContentFromOffsetFromLocal(filePath, offset, maxBytes);
+        }
+        if (RemoteLogUtils.isRemoteLoggingEnable()) {
+            return readFileContentFromOffsetFromRemote(filePath, offset, maxBytes);
+        }
+        return readFileContentFromOffsetFromLocal(filePath, offset, maxBytes);
+    }
+
+    private static byte[] readWholeLines(InputStream inputStream, int maxBytes) throws IOException {
+        final byte[] buffer = new byte[maxBytes];
+        int length = 0;
+        int readLen;
+        while (length < maxBytes && (readLen = inputStream.read(buffer, length, maxBytes - length)) != -1) {
+            length += readLen;
+        }
+        int end = 0;
+        for (int i = 0; i < length; i++) {
+            if (buffer[i] == '\n') {
+                end = i + 1;
+            }
+        }
+        if (end == 0 && length == maxBytes) {
+            // A single line exceeds the max bytes, return it partially without splitting the last utf-8 character
+            end = length;
+            int charStart = length - 1;
+            while (charStart > 0 && (buffer[charStart] & 0xC0) == 0x80) {
+                charStart--;
+            }
+            final int leadByte = buffer[charStart] & 0xFF;
+            final int charLength = leadByte >= 0xF0 ? 4 : leadByte >= 0xE0 ? 3 : leadByte >= 0xC0 ? 2 : 1;
+            if (charStart > 0 && charStart + charLength > length) {
+                end = charStart;
+            }
+        }
+        return Arrays.copyOf(buffer, end);
+    }
+
     public static String readWholeFileContentFromRemote(String filePath) {
         RemoteLogUtils.getRemoteLog(filePath);
         return LogUtils.readWholeFileContentFromLocal(filePath);
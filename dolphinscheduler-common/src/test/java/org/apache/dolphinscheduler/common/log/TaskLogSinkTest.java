@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TaskLogSinkTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testAppendAndReadLines() throws IOException {
+        Path logPath = tempDir.resolve("task.log");
+        try (TaskLogSink taskLogSink = new TaskLogSink(logPath, 64, 32, true, 3)) {
+            for (int i = 0; i < 10; i++) {
+                Assertions.assertTrue(taskLogSink.append(bytes("line" + i + "\n")));
+            }
+            Assertions.assertEquals(Arrays.asList("line4", "line5", "line6"), taskLogSink.readLines(4, 3));
+            Assertions.assertEquals(Arrays.asList("line8", "line9"), taskLogSink.readLines(8, 100));
+            Assertions.assertEquals(10, taskLogSink.getLineIndex().getLineCount());
+            Assertions.assertEquals(60, taskLogSink.getWrittenLength());
+        }
+        Assertions.assertEquals(60, Files.size(logPath));
+        Assertions.assertEquals("line9", Files.readAllLines(logPath).get(9));
+    }
+
+    @Test
+    public void testAppendLogLargerThanRing() throws IOException {
+        Path logPath = tempDir.resolve("task.log");
+        String largeLine = new String(new char[100]).replace('\0', 'x');
+        try (TaskLogSink taskLogSink = new TaskLogSink(logPath, 16, 32, true, 2)) {
+            taskLogSink.append(bytes("head\n"));
+            taskLogSink.append(bytes(largeLine + "\n"));
+            taskLogSink.append(bytes("tail\n"));
+            Assertions.assertEquals(Arrays.asList("head", largeLine, "tail"), taskLogSink.readLines(0, 10));
+        }
+        Assertions.assertEquals(Arrays.asList("head", largeLine, "tail"), Files.readAllLines(logPath));
+    }
+
+    @Test
+    public void testFileIsNotExtendedBeyondWrittenLength() throws IOException {
+        Path logPath = tempDir.resolve("task.log");
+        try (TaskLogSink taskLogSink = new TaskLogSink(logPath, 64, 32, true, 2)) {
+            for (int i = 0; i < 10; i++) {
+                taskLogSink.append(bytes("line" + i + "\n"));
+                taskLogSink.flush();
+                Assertions.assertEquals(taskLogSink.getWrittenLength(), Files.size(logPath));
+            }
+            taskLogSink.append(bytes(new String(new char[100]).replace('\0', 'x') + "\n"));
+            Assertions.assertEquals(taskLogSink.getWrittenLength(), Files.size(logPath));
+            Assertions.assertEquals(161, Files.size(logPath));
+        }
+    }
+
+    @Test
+    public void testDropWhenRingIsFull() throws IOException {
+        Path logPath = tempDir.resolve("task.log");
+        try (TaskLogSink taskLogSink = new TaskLogSink(logPath, 16, 32, false, 2)) {
+            Assertions.assertTrue(taskLogSink.append(bytes("line0\n")));
+            Assertions.assertTrue(taskLogSink.append(bytes("line1\n")));
+            Assertions.assertFalse(taskLogSink.append(bytes("line2\n")));
+            Assertions.assertEquals(1, taskLogSink.getDroppedLineCount());
+            Assertions.assertEquals(6, taskLogSink.getDroppedByteCount());
+
+            List<String> lines = taskLogSink.readLines(0, 10);
+            Assertions.assertEquals(3, lines.size());
+            Assertions.assertTrue(lines.get(2).contains("1 lines are dropped"));
+        }
+    }
+
+    @Test
+    public void testReopenCrashedLog() throws IOException {
+        Path logPath = tempDir.resolve("task.log");
+        // The mapped segment which is not fully written since the server crashed in the middle of a drain
+        Files.write(logPath, Arrays.copyOf(bytes("line0\nline1\n"), 64));
+        try (TaskLogSink taskLogSink = new TaskLogSink(logPath, 64, 32, true, 2)) {
+            Assertions.assertEquals(12, taskLogSink.getWrittenLength());
+            taskLogSink.append(bytes("line2\n"));
+            Assertions.assertEquals(Arrays.asList("line1", "line2"), taskLogSink.readLines(1, 10));
+        }
+        Assertions.assertEquals(Arrays.asList("line0", "line1", "line2"), Files.readAllLines(logPath));
+    }
+
+    @Test
+    public void testSinksAreSharedByPath() throws IOException {
+        String logPath = tempDir.resolve("task.log").toString();
+        TaskLogSink writer = TaskLogSinks.open(logPath);
+        Assertions.assertSame(writer, TaskLogSinks.open(logPath));
+        TaskLogSink reader = TaskLogSinks.acquireIfOpened(logPath).get();
+        Assertions.assertSame(writer, reader);
+
+        TaskLogSinks.release(reader);
+        TaskLogSinks.release(writer);
+        Assertions.assertFalse(writer.isClosed());
+        TaskLogSinks.release(writer);
+        Assertions.assertTrue(writer.isClosed());
+        Assertions.assertFalse(TaskLogSinks.acquireIfOpened(logPath).isPresent());
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
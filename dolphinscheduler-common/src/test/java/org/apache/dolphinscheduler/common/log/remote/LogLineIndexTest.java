@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log.remote;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LogLineIndexTest {
+
+    @Test
+    public void testBuild() throws IOException {
+        String content = "line0\nline1\nline2\nline3\nline4";
+        LogLineIndex logLineIndex = LogLineIndex.build(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), 2);
+
+        Assertions.assertEquals(5, logLineIndex.getLineCount());
+        Assertions.assertEquals(content.length(), logLineIndex.getFileLength());
+        Assertions.assertEquals(0, logLineIndex.getClosestOffset(1));
+        Assertions.assertEquals(2, logLineIndex.getClosestLineNum(3));
+        Assertions.assertEquals(content.indexOf("line2"), logLineIndex.getClosestOffset(3));
+        Assertions.assertEquals(content.indexOf("line4"), logLineIndex.getClosestOffset(4));
+        Assertions.assertEquals(content.indexOf("line4"), logLineIndex.getClosestOffset(100));
+    }
+
+    @Test
+    public void testBuildEmptyContent() throws IOException {
+        LogLineIndex logLineIndex = LogLineIndex.build(new ByteArrayInputStream(new byte[0]), 2);
+
+        Assertions.assertEquals(0, logLineIndex.getLineCount());
+        Assertions.assertEquals(0, logLineIndex.getFileLength());
+        Assertions.assertEquals(0, logLineIndex.getClosestOffset(10));
+    }
+
+    @Test
+    public void testSerializeAndDeserialize() throws IOException {
+        String content = "line0\nline1\nline2\nline3\n";
+        LogLineIndex logLineIndex = LogLineIndex.build(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), 3);
+
+        LogLineIndex deserialized = LogLineIndex.deserialize(logLineIndex.serialize());
+        Assertions.assertEquals(logLineIndex.getInterval(), deserialized.getInterval());
+        Assertions.assertEquals(logLineIndex.getLineCount(), deserialized.getLineCount());
+        Assertions.assertEquals(logLineIndex.getFileLength(), deserialized.getFileLength());
+        Assertions.assertEquals(logLineIndex.getClosestOffset(3), deserialized.getClosestOffset(3));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> LogLineIndex.deserialize("broken".getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log.remote;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RemoteLogRangeReaderTest {
+
+    private static final String LOG_PATH = "/tmp/logs/1.log";
+
+    @Test
+    public void testReadPartLogContent() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            content.append("line").append(i).append("\n");
+        }
+        InMemoryRemoteLogHandler remoteLogHandler = new InMemoryRemoteLogHandler(content.toString(), 10);
+        RemoteLogRangeReader remoteLogRangeReader = new RemoteLogRangeReader(remoteLogHandler, 16, 1024);
+
+        List<String> lines = remoteLogRangeReader.readPartLogContent(LOG_PATH, 55, 3);
+        Assertions.assertEquals(Arrays.asList("line55", "line56", "line57"), lines);
+        // Only the chunks after the indexed line 50 should be fetched
+        Assertions.assertTrue(remoteLogHandler.fetchedBytes.get() < content.length() / 2);
+
+        int fetchedBytes = remoteLogHandler.fetchedBytes.get();
+        Assertions.assertEquals(lines, remoteLogRangeReader.readPartLogContent(LOG_PATH, 55, 3));
+        Assertions.assertEquals(fetchedBytes, remoteLogHandler.fetchedBytes.get());
+
+        Assertions.assertEquals(Arrays.asList("line98", "line99"),
+                remoteLogRangeReader.readPartLogContent(LOG_PATH, 98, 10));
+        Assertions.assertTrue(remoteLogRangeReader.readPartLogContent(LOG_PATH, 100, 10).isEmpty());
+    }
+
+    @Test
+    public void testReadPartCompressedLogContent() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            content.append("line").append(i).append("\n");
+        }
+        InMemoryRemoteLogHandler remoteLogHandler = new InMemoryRemoteLogHandler(content.toString(), 10);
+        remoteLogHandler.compress(64);
+        RemoteLogRangeReader remoteLogRangeReader = new RemoteLogRangeReader(remoteLogHandler, 16, 1024);
+
+        Assertions.assertEquals(Arrays.asList("line55", "line56", "line57"),
+                remoteLogRangeReader.readPartLogContent(LOG_PATH, 55, 3));
+        Assertions.assertEquals(Arrays.asList("line0", "line1"),
+                remoteLogRangeReader.readPartLogContent(LOG_PATH, 0, 2));
+        Assertions.assertEquals(Arrays.asList("line98", "line99"),
+                remoteLogRangeReader.readPartLogContent(LOG_PATH, 98, 10));
+    }
+
+    @Test
+    public void testReadPartLogContentWithoutIndex() throws IOException {
+        InMemoryRemoteLogHandler remoteLogHandler = new InMemoryRemoteLogHandler("line0\n", 10);
+        remoteLogHandler.logIndex = null;
+        RemoteLogRangeReader remoteLogRangeReader = new RemoteLogRangeReader(remoteLogHandler, 16, 1024);
+
+        Assertions.assertNull(remoteLogRangeReader.readPartLogContent(LOG_PATH, 0, 10));
+    }
+
+    private static class InMemoryRemoteLogHandler implements RemoteLogHandler {
+
+        private final byte[] logContent;
+
+        private byte[] compressedLogContent;
+
+        private byte[] logIndex;
+
+        private final AtomicInteger fetchedBytes = new AtomicInteger();
+
+        InMemoryRemoteLogHandler(String logContent, int indexInterval) throws IOException {
+            this.logContent = logContent.getBytes(StandardCharsets.UTF_8);
+            this.logIndex = LogLineIndex.build(new ByteArrayInputStream(this.logContent), indexInterval).serialize();
+        }
+
+        void compress(int blockSize) throws IOException {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            LogBlockIndex logBlockIndex =
+                    SeekableLogCompressor.compress(new ByteArrayInputStream(logContent), outputStream, blockSize);
+            compressedLogContent = outputStream.toByteArray();
+            logIndex = LogLineIndex.deserialize(logIndex).withBlockIndex(logBlockIndex).serialize();
+        }
+
+        @Override
+        public void sendRemoteLog(String logPath) {
+        }
+
+        @Override
+        public void getRemoteLog(String logPath) {
+        }
+
+        @Override
+        public void sendRemoteLogIndex(String logPath, byte[] logIndex) {
+            this.logIndex = logIndex;
+        }
+
+        @Override
+        public byte[] getRemoteLogIndex(String logPath) {
+            return logIndex;
+        }
+
+        @Override
+        public byte[] getRemoteLogRange(String logPath, long offset, int length) {
+            fetchedBytes.addAndGet(length);
+            byte[] content = logPath.endsWith(SeekableLogCompressor.COMPRESSED_LOG_SUFFIX)
+                    ? compressedLogContent
+                    : logContent;
+            return Arrays.copyOfRange(content, (int) offset, (int) offset + length);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log.remote;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SeekableLogCompressorTest {
+
+    @Test
+    public void testCompressAndDecompressBlock() throws IOException {
+        byte[] content = "0123456789abcdefghij".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        LogBlockIndex logBlockIndex =
+                SeekableLogCompressor.compress(new ByteArrayInputStream(content), outputStream, 8);
+        byte[] compressed = outputStream.toByteArray();
+
+        Assertions.assertEquals(3, logBlockIndex.getBlockCount());
+        Assertions.assertEquals(compressed.length,
+                logBlockIndex.getCompressedOffset(2) + logBlockIndex.getCompressedLength(2));
+        byte[] secondBlock = Arrays.copyOfRange(compressed, (int) logBlockIndex.getCompressedOffset(1),
+                (int) logBlockIndex.getCompressedOffset(1) + logBlockIndex.getCompressedLength(1));
+        Assertions.assertEquals("89abcdef",
+                new String(SeekableLogCompressor.decompressBlock(secondBlock), StandardCharsets.UTF_8));
+
+        // The concatenated blocks should be a valid gzip file
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            Assertions.assertArrayEquals(content, inputStream.readAllBytes());
+        }
+    }
+
+    @Test
+    public void testCompressEmptyContent() throws IOException {
+        LogBlockIndex logBlockIndex = SeekableLogCompressor.compress(new ByteArrayInputStream(new byte[0]),
+                new ByteArrayOutputStream(), 8);
+
+        Assertions.assertEquals(0, logBlockIndex.getBlockCount());
+    }
+}
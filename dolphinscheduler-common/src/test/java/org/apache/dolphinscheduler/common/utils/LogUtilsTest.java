@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.utils;
+
+import org.apache.dolphinscheduler.common.log.remote.RemoteLogUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+public class LogUtilsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testReadFileContentFromOffset() throws IOException {
+        Path logPath = tempDir.resolve("task.log");
+        Files.write(logPath, "line0\nline1\nline2".getBytes(StandardCharsets.UTF_8));
+        String filePath = logPath.toString();
+
+        // The partial line is not returned until it is finished
+        Assertions.assertEquals("line0\nline1\n", read(filePath, 0, 100));
+        Assertions.assertEquals("line1\n", read(filePath, 6, 100));
+        Assertions.assertEquals("", read(filePath, 12, 100));
+        // Only whole lines are returned in the max bytes
+        Assertions.assertEquals("line0\n", read(filePath, 0, 8));
+        // A single line exceeds the max bytes is returned partially
+        Assertions.assertEquals("line", read(filePath, 0, 4));
+    }
+
+    @Test
+    public void testReadFileContentFromOffsetSkipNulTail() throws IOException {
+        Path logPath = tempDir.resolve("task.log");
+        Files.write(logPath, Arrays.copyOf("line0\n".getBytes(StandardCharsets.UTF_8), 32));
+
+        Assertions.assertEquals("line0\n", read(logPath.toString(), 0, 100));
+        Assertions.assertEquals("", read(logPath.toString(), 6, 100));
+    }
+
+    @Test
+    public void testReadFileContentFromOffsetNotSplitUtf8Character() throws IOException {
+        Path logPath = tempDir.resolve("task.log");
+        Files.write(logPath, "ab日志\n".getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertEquals("ab日", read(logPath.toString(), 0, 6));
+    }
+
+    @Test
+    public void testReadFileContentFromOffsetFromRemoteDownloadOnce() {
+        Path logPath = tempDir.resolve("remote.log");
+        String filePath = logPath.toString();
+        try (MockedStatic<RemoteLogUtils> remoteLogUtilsMockedStatic = Mockito.mockStatic(RemoteLogUtils.class)) {
+            remoteLogUtilsMockedStatic.when(RemoteLogUtils::isRemoteLoggingEnable).thenReturn(true);
+            remoteLogUtilsMockedStatic.when(() -> RemoteLogUtils.getRemoteLog(filePath)).thenAnswer(invocation -> {
+                Files.write(logPath, "line0\nline1\n".getBytes(StandardCharsets.UTF_8));
+                return null;
+            });
+
+            Assertions.assertEquals("line0\n", read(filePath, 0, 8));
+            Assertions.assertEquals("line1\n", new String(
+                    LogUtils.readFileContentFromOffsetFromRemote(filePath, 6, 8), StandardCharsets.UTF_8));
+            remoteLogUtilsMockedStatic.verify(() -> RemoteLogUtils.getRemoteLog(filePath), Mockito.times(1));
+        }
+    }
+
+    private static String read(String filePath, long offset, int maxBytes) {
+        return new String(LogUtils.readFileContentFromOffset(filePath, offset, maxBytes), StandardCharsets.UTF_8);
+    }
+}
@@ -52,6 +52,14 @@ public interface AccessTokenMapper extends BaseMapper<AccessToken> {
      */
     List<AccessToken> queryAccessTokenByUser(@Param("userId") int userId);
 
+    /**
+     * Query the access token by the token string
+     *
+     * @param token token
+     * @return the access token, null if not exist
+     */
+    AccessToken queryAccessTokenByToken(@Param("token") String token);
+
     /**
      * delete by userId
      *
@@ -50,4 +50,7 @@ public interface ErrorCommandMapper extends BaseMapper<ErrorCommand> {
 
     IPage<ErrorCommand> queryErrorCommandPageByIds(Page<ErrorCommand> page,
                                                    @Param("workflowDefinitionCodes") List<Long> workflowDefinitionCodes);
+
+    List<Integer> queryIdsByUpdateTimeBefore(@Param("updateTimeBefore") Date updateTimeBefore,
+                                             @Param("limit") int limit);
 }
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.mapper;
+
+import org.apache.dolphinscheduler.common.enums.StatisticsInstanceType;
+import org.apache.dolphinscheduler.dao.entity.InstanceStateStatistics;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStatusCountDto;
+import org.apache.dolphinscheduler.dao.model.WorkflowInstanceStatusCountDto;
+
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Date;
+import java.util.List;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+
+public interface InstanceStateStatisticsMapper extends BaseMapper<InstanceStateStatistics> {
+
+    /**
+     * Sum the workflow instance state count of the buckets in [startBucketTime, endBucketTime), the startBucketTime is
+     * unbounded if it is null.
+     */
+    List<WorkflowInstanceStatusCountDto> sumWorkflowInstanceStateCountByProjectCodes(@Param("startBucketTime") Date startBucketTime,
+                                                                                     @Param("endBucketTime") Date endBucketTime,
+                                                                                     @Param("projectCodes") List<Long> projectCodes);
+
+    /**
+     * Sum the task instance state count of the buckets in [startBucketTime, endBucketTime), the startBucketTime is
+     * unbounded if it is null.
+     */
+    List<TaskInstanceStatusCountDto> sumTaskInstanceStateCountByProjectCodes(@Param("startBucketTime") Date startBucketTime,
+                                                                             @Param("endBucketTime") Date endBucketTime,
+                                                                             @Param("projectCodes") List<Long> projectCodes);
+
+    int deleteByBucketTime(@Param("instanceType") StatisticsInstanceType instanceType,
+                           @Param("bucketTime") Date bucketTime);
+
+    /**
+     * Aggregate the workflow instances whose start_time is in [bucketTime, bucketEndTime) into the bucket.
+     */
+    int insertWorkflowInstanceStatistics(@Param("bucketTime") Date bucketTime,
+                                         @Param("bucketEndTime") Date bucketEndTime,
+                                         @Param("updateTime") Date updateTime);
+
+    /**
+     * Aggregate the task instances whose start_time is in [bucketTime, bucketEndTime) into the bucket.
+     */
+    int insertTaskInstanceStatistics(@Param("bucketTime") Date bucketTime,
+                                     @Param("bucketEndTime") Date bucketEndTime,
+                                     @Param("updateTime") Date updateTime);
+
+    /**
+     * Query the buckets before the endBucketTime which contain the instances in the given states.
+     */
+    List<Date> queryBucketTimesByStates(@Param("instanceType") StatisticsInstanceType instanceType,
+                                        @Param("endBucketTime") Date endBucketTime,
+                                        @Param("states") List<Integer> states);
+
+    Date queryEarliestWorkflowInstanceStartTime();
+
+    Date queryEarliestTaskInstanceStartTime();
+}
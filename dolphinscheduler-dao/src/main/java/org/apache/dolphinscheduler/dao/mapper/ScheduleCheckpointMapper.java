@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.mapper;
+
+import org.apache.dolphinscheduler.dao.entity.ScheduleCheckpoint;
+
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Date;
+import java.util.List;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+
+public interface ScheduleCheckpointMapper extends BaseMapper<ScheduleCheckpoint> {
+
+    /**
+     * Query the checkpoints which match scheduleId % totalSlot = currentSlotIndex and registered after the given time.
+     */
+    List<ScheduleCheckpoint> queryBySlotAndRegisterTimeAfter(@Param("currentSlotIndex") int currentSlotIndex,
+                                                             @Param("totalSlot") int totalSlot,
+                                                             @Param("registerTime") Date registerTime);
+
+    /**
+     * Advance the fire watermark of the schedule to {@link ScheduleCheckpoint#getFireWatermark()}, the watermark will
+     * not move backward.
+     */
+    int advanceFireWatermark(ScheduleCheckpoint scheduleCheckpoint);
+}
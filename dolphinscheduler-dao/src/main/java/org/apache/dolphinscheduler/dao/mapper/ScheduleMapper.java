@@ -118,4 +118,14 @@ public interface ScheduleMapper extends BaseMapper<Schedule> {
      * @return schedule list
      */
     List<Schedule> queryScheduleListByTenant(@Param("tenantCode") String tenantCode);
+
+    /**
+     * query the online schedules which match id % totalSlot = currentSlotIndex
+     *
+     * @param currentSlotIndex current slot index
+     * @param totalSlot        total slot
+     * @return schedule list
+     */
+    List<Schedule> queryOnlineScheduleBySlot(@Param("currentSlotIndex") int currentSlotIndex,
+                                             @Param("totalSlot") int totalSlot);
 }
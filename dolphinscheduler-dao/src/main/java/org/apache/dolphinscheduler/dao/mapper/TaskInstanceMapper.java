@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.enums.TaskExecuteType;
 import org.apache.dolphinscheduler.dao.entity.ExecuteStatusCount;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceDirtyFields;
 import org.apache.dolphinscheduler.dao.model.TaskInstanceStatusCountDto;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
@@ -48,6 +49,10 @@ public interface TaskInstanceMapper extends BaseMapper<TaskInstance> {
 
     TaskInstance queryByCacheKey(@Param("cacheKey") String cacheKey);
 
+    TaskInstance queryLastSuccessByCacheKey(@Param("cacheKey") String cacheKey,
+                                            @Param("state") TaskExecutionStatus state,
+                                            @Param("endTimeAfter") Date endTimeAfter);
+
     Boolean clearCacheByCacheKey(@Param("cacheKey") String cacheKey);
 
     List<TaskInstance> queryByWorkflowInstanceIdsAndTaskCodes(@Param("workflowInstanceIds") List<Integer> workflowInstanceIds,
@@ -116,6 +121,34 @@ public interface TaskInstanceMapper extends BaseMapper<TaskInstance> {
                                                     @Param("startTime") Date startTime,
                                                     @Param("endTime") Date endTime);
 
+    /**
+     * task instance keyset page, ordered by submit_time desc, id desc. Only rows strictly after the
+     * (cursorSubmitTime, cursorId) position are returned, so the cost does not grow with the page depth.
+     */
+    IPage<TaskInstance> queryTaskInstanceListByCursor(IPage<TaskInstance> page,
+                                                      @Param("projectCode") Long projectCode,
+                                                      @Param("workflowInstanceId") Integer workflowInstanceId,
+                                                      @Param("workflowInstanceName") String workflowInstanceName,
+                                                      @Param("searchVal") String searchVal,
+                                                      @Param("taskName") String taskName,
+                                                      @Param("taskCode") Long taskCode,
+                                                      @Param("executorName") String executorName,
+                                                      @Param("states") int[] statusArray,
+                                                      @Param("host") String host,
+                                                      @Param("taskExecuteType") TaskExecuteType taskExecuteType,
+                                                      @Param("startTime") Date startTime,
+                                                      @Param("endTime") Date endTime,
+                                                      @Param("cursorSubmitTime") Date cursorSubmitTime,
+                                                      @Param("cursorId") Integer cursorId);
+
+    /**
+     * Update the dirty columns of the task instance, the clean columns are not touched.
+     *
+     * @param dirtyFields dirty fields, should contain at least one dirty column
+     * @return update count
+     */
+    int updateDirtyFieldsById(TaskInstanceDirtyFields dirtyFields);
+
     IPage<TaskInstance> queryStreamTaskInstanceListPaging(IPage<TaskInstance> page,
                                                           @Param("projectCode") Long projectCode,
                                                           @Param("workflowDefinitionName") String workflowDefinitionName,
@@ -151,4 +184,15 @@ public interface TaskInstanceMapper extends BaseMapper<TaskInstance> {
     void updateTaskInstanceState(@Param("taskInstanceId") Integer taskInstanceId,
                                  @Param("originState") int originState,
                                  @Param("targetState") int targetState);
+
+    /**
+     * Copy the task instances of the given workflow instances into t_ds_task_instance_archive.
+     */
+    int insertArchiveByWorkflowInstanceIds(@Param("workflowInstanceIds") Collection<Integer> workflowInstanceIds);
+
+    int deleteByWorkflowInstanceIds(@Param("workflowInstanceIds") Collection<Integer> workflowInstanceIds);
+
+    TaskInstance queryArchiveById(@Param("id") int id);
+
+    List<TaskInstance> queryArchiveByWorkflowInstanceId(@Param("workflowInstanceId") int workflowInstanceId);
 }
@@ -120,6 +120,35 @@ public interface WorkflowInstanceMapper extends BaseMapper<WorkflowInstance> {
                                                             @Param("startTime") Date startTime,
                                                             @Param("endTime") Date endTime);
 
+    /**
+     * workflow instance keyset page, ordered by start_time desc, id desc. Only rows strictly after the
+     * (cursorStartTime, cursorId) position are returned, so the cost does not grow with the page depth.
+     *
+     * @param page                  page, only the size is used and the count query should be disabled
+     * @param projectCode           projectCode
+     * @param workflowDefinitionCode workflowDefinitionCode
+     * @param searchVal             searchVal
+     * @param executorName          executorName
+     * @param statusArray           statusArray
+     * @param host                  host
+     * @param startTime             startTime
+     * @param endTime               endTime
+     * @param cursorStartTime       start time of the last row of the previous page, null for the first page
+     * @param cursorId              id of the last row of the previous page, null for the first page
+     * @return workflow instance page
+     */
+    IPage<WorkflowInstance> queryWorkflowInstanceListByCursor(Page<WorkflowInstance> page,
+                                                              @Param("projectCode") Long projectCode,
+                                                              @Param("workflowDefinitionCode") Long workflowDefinitionCode,
+                                                              @Param("searchVal") String searchVal,
+                                                              @Param("executorName") String executorName,
+                                                              @Param("states") int[] statusArray,
+                                                              @Param("host") String host,
+                                                              @Param("startTime") Date startTime,
+                                                              @Param("endTime") Date endTime,
+                                                              @Param("cursorStartTime") Date cursorStartTime,
+                                                              @Param("cursorId") Integer cursorId);
+
     /**
      * set failover by host and state array
      *
@@ -311,4 +340,25 @@ public interface WorkflowInstanceMapper extends BaseMapper<WorkflowInstance> {
      * @return
      */
     List<WorkflowInstance> queryByTriggerCode(@Param("triggerCode") Long triggerCode);
+
+    /**
+     * Query the ids of the finished workflow instances which end before the given time, the result is ordered by id.
+     */
+    List<Integer> queryArchivableIds(@Param("endTimeBefore") Date endTimeBefore,
+                                     @Param("states") int[] states,
+                                     @Param("limit") int limit);
+
+    /**
+     * Lock the given workflow instances which are still in the given states, used to avoid archiving an instance
+     * which has been re-run after it was selected.
+     */
+    List<Integer> lockByIdsAndStatus(@Param("ids") Collection<Integer> ids,
+                                     @Param("states") int[] states);
+
+    /**
+     * Copy the workflow instances into t_ds_workflow_instance_archive.
+     */
+    int insertArchiveByIds(@Param("ids") Collection<Integer> ids);
+
+    WorkflowInstance queryArchiveById(@Param("id") int id);
 }
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.model;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+
+import java.util.Date;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The changed columns of a task instance, used to update the task instance partially rather than rewriting the whole
+ * row which contains large columns such as task_params and var_pool.
+ * <p> The value of a column is copied from the task instance when the column is marked as dirty, so the task instance
+ * can be changed again before the update is flushed to DB.
+ */
+@Getter
+@ToString(exclude = "taskInstance")
+public class TaskInstanceDirtyFields {
+
+    @Getter(AccessLevel.NONE)
+    private final TaskInstance taskInstance;
+
+    private final Integer id;
+
+    private boolean stateDirty;
+    private TaskExecutionStatus state;
+
+    private boolean hostDirty;
+    private String host;
+
+    private boolean startTimeDirty;
+    private Date startTime;
+
+    private boolean endTimeDirty;
+    private Date endTime;
+
+    private boolean logPathDirty;
+    private String logPath;
+
+    private boolean appLinkDirty;
+    private String appLink;
+
+    private boolean varPoolDirty;
+    private String varPool;
+
+    private boolean taskParamsDirty;
+    private String taskParams;
+
+    private boolean cacheKeyDirty;
+    private String cacheKey;
+
+    private TaskInstanceDirtyFields(final TaskInstance taskInstance) {
+        this.taskInstance = checkNotNull(taskInstance, "taskInstance is null");
+        this.id = checkNotNull(taskInstance.getId(), "taskInstance id is null");
+    }
+
+    public static TaskInstanceDirtyFields of(final TaskInstance taskInstance) {
+        return new TaskInstanceDirtyFields(taskInstance);
+    }
+
+    public TaskInstanceDirtyFields state() {
+        this.stateDirty = true;
+        this.state = taskInstance.getState();
+        return this;
+    }
+
+    public TaskInstanceDirtyFields host() {
+        this.hostDirty = true;
+        this.host = taskInstance.getHost();
+        return this;
+    }
+
+    public TaskInstanceDirtyFields startTime() {
+        this.startTimeDirty = true;
+        this.startTime = taskInstance.getStartTime();
+        return this;
+    }
+
+    public TaskInstanceDirtyFields endTime() {
+        this.endTimeDirty = true;
+        this.endTime = taskInstance.getEndTime();
+        return this;
+    }
+
+    public TaskInstanceDirtyFields logPath() {
+        this.logPathDirty = true;
+        this.logPath = taskInstance.getLogPath();
+        return this;
+    }
+
+    public TaskInstanceDirtyFields appLink() {
+        this.appLinkDirty = true;
+        this.appLink = taskInstance.getAppLink();
+        return this;
+    }
+
+    public TaskInstanceDirtyFields varPool() {
+        this.varPoolDirty = true;
+        this.varPool = taskInstance.getVarPool();
+        return this;
+    }
+
+    public TaskInstanceDirtyFields taskParams() {
+        this.taskParamsDirty = true;
+        this.taskParams = taskInstance.getTaskParams();
+        return this;
+    }
+
+    public TaskInstanceDirtyFields cacheKey() {
+        this.cacheKeyDirty = true;
+        this.cacheKey = taskInstance.getCacheKey();
+        return this;
+    }
+
+    /**
+     * Merge the newer dirty fields of the same task instance with this one, the newer value wins.
+     *
+     * @return the merged dirty fields, this one and the newer one are not changed
+     */
+    public TaskInstanceDirtyFields merge(final TaskInstanceDirtyFields newer) {
+        if (!id.equals(newer.id)) {
+            throw new IllegalArgumentException(
+                    "Cannot merge the dirty fields of task instance " + newer.id + " with " + id);
+        }
+        final TaskInstanceDirtyFields merged = new TaskInstanceDirtyFields(taskInstance);
+        merged.apply(this);
+        merged.apply(newer);
+        return merged;
+    }
+
+    private void apply(final TaskInstanceDirtyFields other) {
+        if (other.stateDirty) {
+            this.stateDirty = true;
+            this.state = other.state;
+        }
+        if (other.hostDirty) {
+            this.hostDirty = true;
+            this.host = other.host;
+        }
+        if (other.startTimeDirty) {
+            this.startTimeDirty = true;
+            this.startTime = other.startTime;
+        }
+        if (other.endTimeDirty) {
+            this.endTimeDirty = true;
+            this.endTime = other.endTime;
+        }
+        if (other.logPathDirty) {
+            this.logPathDirty = true;
+            this.logPath = other.logPath;
+        }
+        if (other.appLinkDirty) {
+            this.appLinkDirty = true;
+            this.appLink = other.appLink;
+        }
+        if (other.varPoolDirty) {
+            this.varPoolDirty = true;
+            this.varPool = other.varPool;
+        }
+        if (other.taskParamsDirty) {
+            this.taskParamsDirty = true;
+            this.taskParams = other.taskParams;
+        }
+        if (other.cacheKeyDirty) {
+            this.cacheKeyDirty = true;
+            this.cacheKey = other.cacheKey;
+        }
+    }
+
+    /**
+     * The dirty columns as a bit mask, the updates with the same mask generate the same SQL and can share one JDBC
+     * batch statement.
+     */
+    public int getDirtyMask() {
+        int mask = 0;
+        mask |= stateDirty ? 1 : 0;
+        mask |= hostDirty ? 1 << 1 : 0;
+        mask |= startTimeDirty ? 1 << 2 : 0;
+        mask |= endTimeDirty ? 1 << 3 : 0;
+        mask |= logPathDirty ? 1 << 4 : 0;
+        mask |= appLinkDirty ? 1 << 5 : 0;
+        mask |= varPoolDirty ? 1 << 6 : 0;
+        mask |= taskParamsDirty ? 1 << 7 : 0;
+        mask |= cacheKeyDirty ? 1 << 8 : 0;
+        return mask;
+    }
+
+    public boolean isEmpty() {
+        return getDirtyMask() == 0;
+    }
+}
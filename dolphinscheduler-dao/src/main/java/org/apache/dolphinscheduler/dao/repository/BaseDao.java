@@ -18,6 +18,8 @@
 package org.apache.dolphinscheduler.dao.repository;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
 
 import java.io.Serializable;
 import java.util.Collection;
@@ -28,10 +30,17 @@ import java.util.Optional;
 import lombok.NonNull;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.ReflectionKit;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
 
 public abstract class BaseDao<ENTITY, MYBATIS_MAPPER extends BaseMapper<ENTITY>> implements IDao<ENTITY> {
 
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private static final Log MYBATIS_LOG = LogFactory.getLog(BaseDao.class);
+
     protected MYBATIS_MAPPER mybatisMapper;
 
     public BaseDao(@NonNull MYBATIS_MAPPER mybatisMapper) {
@@ -79,9 +88,13 @@ public abstract class BaseDao<ENTITY, MYBATIS_MAPPER extends BaseMapper<ENTITY>>
         if (CollectionUtils.isEmpty(models)) {
             return;
         }
-        for (ENTITY model : models) {
-            insert(model);
-        }
+        // Send the inserts in jdbc batches of INSERT_BATCH_SIZE rather than one round trip per row, the generated ids
+        // are still set back to the models
+        final Class<?> entityClass = ReflectionKit.getSuperClassGenericType(getClass(), BaseDao.class, 0);
+        final Class<?> mapperClass = ReflectionKit.getSuperClassGenericType(getClass(), BaseDao.class, 1);
+        final String insertStatement = SqlHelper.getSqlStatement(mapperClass, SqlMethod.INSERT_ONE);
+        SqlHelper.executeBatch(entityClass, MYBATIS_LOG, models, INSERT_BATCH_SIZE,
+                (sqlSession, model) -> sqlSession.insert(insertStatement, model));
     }
 
     @Override
@@ -57,7 +57,7 @@ public interface IDao<Entity> {
     int insert(@NonNull Entity model);
 
     /**
-     * Insert the entities.
+     * Insert the entities in jdbc batches, the generated ids are set back to the entities.
      */
     void insertBatch(Collection<Entity> models);
 
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.repository;
+
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Move the finished workflow instances and their task instances from the hot tables into
+ * t_ds_workflow_instance_archive and t_ds_task_instance_archive, and read them back from the archive tables.
+ */
+public interface InstanceArchiveDao {
+
+    /**
+     * Query the ids of the finished(success, failure, stop) workflow instances which end before the given time.
+     *
+     * @param endTimeBefore the workflow instances end at or after this time will not be returned
+     * @param limit         max size of the result
+     * @return workflow instance ids in ascending order
+     */
+    List<Integer> queryArchivableWorkflowInstanceIds(Date endTimeBefore, int limit);
+
+    /**
+     * Move the workflow instances and their task instances into the archive tables in one transaction, the workflow
+     * instances which are no longer finished, e.g. have been re-run, will be skipped.
+     *
+     * @param workflowInstanceIds workflow instance ids
+     * @return the number of archived workflow instances
+     */
+    int archiveWorkflowInstances(List<Integer> workflowInstanceIds);
+
+    Optional<WorkflowInstance> queryArchivedWorkflowInstanceById(int workflowInstanceId);
+
+    Optional<TaskInstance> queryArchivedTaskInstanceById(int taskInstanceId);
+
+    List<TaskInstance> queryArchivedTaskInstanceByWorkflowInstanceId(int workflowInstanceId);
+
+    /**
+     * Delete the error commands which are updated before the given time.
+     *
+     * @param updateTimeBefore the error commands updated at or after this time will be kept
+     * @param limit            max number of the error commands deleted in one call
+     * @return the number of deleted error commands
+     */
+    int purgeErrorCommands(Date updateTimeBefore, int limit);
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.repository;
+
+import org.apache.dolphinscheduler.common.enums.StatisticsInstanceType;
+import org.apache.dolphinscheduler.dao.entity.InstanceStateStatistics;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStatusCountDto;
+import org.apache.dolphinscheduler.dao.model.WorkflowInstanceStatusCountDto;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+public interface InstanceStateStatisticsDao extends IDao<InstanceStateStatistics> {
+
+    List<WorkflowInstanceStatusCountDto> sumWorkflowInstanceStateCount(Date startBucketTime,
+                                                                       Date endBucketTime,
+                                                                       List<Long> projectCodes);
+
+    List<TaskInstanceStatusCountDto> sumTaskInstanceStateCount(Date startBucketTime,
+                                                               Date endBucketTime,
+                                                               List<Long> projectCodes);
+
+    /**
+     * Recompute the statistics of the bucket [bucketTime, bucketEndTime) from the instance table.
+     */
+    void compactBucket(StatisticsInstanceType instanceType, Date bucketTime, Date bucketEndTime);
+
+    /**
+     * Query the buckets before the endBucketTime which still contain the unfinished instances, in ascending order.
+     */
+    List<Date> queryUnfinishedBucketTimes(StatisticsInstanceType instanceType, Date endBucketTime);
+
+    Optional<Date> queryEarliestInstanceStartTime(StatisticsInstanceType instanceType);
+
+    Optional<Date> queryWatermark(StatisticsInstanceType instanceType);
+
+    void upsertWatermark(StatisticsInstanceType instanceType, Date watermarkTime);
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.repository;
+
+import org.apache.dolphinscheduler.dao.entity.ScheduleCheckpoint;
+
+import java.util.Date;
+import java.util.List;
+
+public interface ScheduleCheckpointDao extends IDao<ScheduleCheckpoint> {
+
+    /**
+     * Register the schedule online at the given time, the previous fire watermark of the schedule is reset to the
+     * register time, so the fire times before it will not be triggered.
+     *
+     * @param scheduleId   schedule id
+     * @param registerTime register time
+     */
+    void register(int scheduleId, Date registerTime);
+
+    /**
+     * Query the checkpoints which match scheduleId % totalSlot = currentSlotIndex and registered after the given time.
+     *
+     * @param currentSlotIndex current slot index
+     * @param totalSlot        total slot number
+     * @param registerTime     the checkpoints registered before or at this time will not be returned
+     * @return checkpoint list
+     */
+    List<ScheduleCheckpoint> queryBySlotAndRegisterTimeAfter(int currentSlotIndex, int totalSlot, Date registerTime);
+
+    /**
+     * Advance the fire watermarks of the schedules in one batch, the watermark will not move backward.
+     *
+     * @param scheduleCheckpoints the checkpoints which contain the new fire watermark
+     */
+    void batchAdvanceFireWatermark(List<ScheduleCheckpoint> scheduleCheckpoints);
+}
@@ -19,8 +19,10 @@ package org.apache.dolphinscheduler.dao.repository;
 
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceDirtyFields;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Set;
 
@@ -87,6 +89,16 @@ public interface TaskInstanceDao extends IDao<TaskInstance> {
      */
     TaskInstance queryByCacheKey(String cacheKey);
 
+    /**
+     * Find the latest success task instance which generates the cache of the cache_key.
+     * <p> The task instances which reuse the cache hold the tagged cache key, so they are not matched.
+     *
+     * @param cacheKey     cache key
+     * @param endTimeAfter the task instance which ends before this time is regarded as expired, null means never expire
+     * @return task instance, null if not found
+     */
+    TaskInstance queryLastSuccessByCacheKey(String cacheKey, Date endTimeAfter);
+
     /**
      * clear task instance cache by cache_key
      *
@@ -123,4 +135,21 @@ public interface TaskInstanceDao extends IDao<TaskInstance> {
 
     void updateTaskInstanceState(Integer taskInstanceId, TaskExecutionStatus originState,
                                  TaskExecutionStatus targetState);
+
+    /**
+     * Update the dirty columns of the task instance, the clean columns are not touched.
+     *
+     * @param dirtyFields dirty fields
+     * @return true if the task instance is updated
+     */
+    boolean updateDirtyFieldsById(TaskInstanceDirtyFields dirtyFields);
+
+    /**
+     * Update the dirty columns of the task instances in JDBC batches and one transaction, either all the task
+     * instances are updated or none of them.
+     * <p> Each task instance should appear at most once, merge the dirty fields of the same task instance before.
+     *
+     * @param dirtyFieldsList dirty fields of different task instances
+     */
+    void batchUpdateDirtyFieldsById(List<TaskInstanceDirtyFields> dirtyFieldsList);
 }
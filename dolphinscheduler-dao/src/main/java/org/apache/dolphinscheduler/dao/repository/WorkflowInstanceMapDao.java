@@ -31,6 +31,13 @@ public interface WorkflowInstanceMapDao extends IDao<WorkflowInstanceRelation> {
      */
     WorkflowInstanceRelation queryWorkflowMapByParent(Integer parentWorkflowId, Integer parentTaskId);
 
+    /**
+     * find the workflow map which the given sub workflow instance belongs to.
+     * @param subWorkflowInstanceId subWorkflowInstanceId
+     * @return workflow instance map
+     */
+    WorkflowInstanceRelation queryWorkflowMapBySubWorkflowId(Integer subWorkflowInstanceId);
+
     List<Integer> querySubWorkflowInstanceIds(int workflowInstanceId);
 
     void deleteByParentId(int workflowInstanceId);
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.repository.impl;
+
+import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.dao.mapper.ErrorCommandMapper;
+import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
+import org.apache.dolphinscheduler.dao.mapper.WorkflowInstanceMapper;
+import org.apache.dolphinscheduler.dao.repository.InstanceArchiveDao;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import lombok.NonNull;
+
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public class InstanceArchiveDaoImpl implements InstanceArchiveDao {
+
+    // Paused instances can be resumed, so they are kept in the hot table
+    private static final int[] ARCHIVABLE_STATES = new int[]{
+            WorkflowExecutionStatus.SUCCESS.getCode(),
+            WorkflowExecutionStatus.FAILURE.getCode(),
+            WorkflowExecutionStatus.STOP.getCode()
+    };
+
+    private final WorkflowInstanceMapper workflowInstanceMapper;
+
+    private final TaskInstanceMapper taskInstanceMapper;
+
+    private final ErrorCommandMapper errorCommandMapper;
+
+    public InstanceArchiveDaoImpl(@NonNull WorkflowInstanceMapper workflowInstanceMapper,
+                                  @NonNull TaskInstanceMapper taskInstanceMapper,
+                                  @NonNull ErrorCommandMapper errorCommandMapper) {
+        this.workflowInstanceMapper = workflowInstanceMapper;
+        this.taskInstanceMapper = taskInstanceMapper;
+        this.errorCommandMapper = errorCommandMapper;
+    }
+
+    @Override
+    public List<Integer> queryArchivableWorkflowInstanceIds(@NonNull Date endTimeBefore, int limit) {
+        return workflowInstanceMapper.queryArchivableIds(endTimeBefore, ARCHIVABLE_STATES, limit);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int archiveWorkflowInstances(List<Integer> workflowInstanceIds) {
+        if (CollectionUtils.isEmpty(workflowInstanceIds)) {
+            return 0;
+        }
+        final List<Integer> lockedIds =
+                workflowInstanceMapper.lockByIdsAndStatus(workflowInstanceIds, ARCHIVABLE_STATES);
+        if (CollectionUtils.isEmpty(lockedIds)) {
+            return 0;
+        }
+        taskInstanceMapper.insertArchiveByWorkflowInstanceIds(lockedIds);
+        workflowInstanceMapper.insertArchiveByIds(lockedIds);
+        taskInstanceMapper.deleteByWorkflowInstanceIds(lockedIds);
+        workflowInstanceMapper.deleteBatchIds(lockedIds);
+        return lockedIds.size();
+    }
+
+    @Override
+    public Optional<WorkflowInstance> queryArchivedWorkflowInstanceById(int workflowInstanceId) {
+        return Optional.ofNullable(workflowInstanceMapper.queryArchiveById(workflowInstanceId));
+    }
+
+    @Override
+    public Optional<TaskInstance> queryArchivedTaskInstanceById(int taskInstanceId) {
+        return Optional.ofNullable(taskInstanceMapper.queryArchiveById(taskInstanceId));
+    }
+
+    @Override
+    public List<TaskInstance> queryArchivedTaskInstanceByWorkflowInstanceId(int workflowInstanceId) {
+        return taskInstanceMapper.queryArchiveByWorkflowInstanceId(workflowInstanceId);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int purgeErrorCommands(@NonNull Date updateTimeBefore, int limit) {
+        final List<Integer> ids = errorCommandMapper.queryIdsByUpdateTimeBefore(updateTimeBefore, limit);
+        if (CollectionUtils.isEmpty(ids)) {
+            return 0;
+        }
+        return errorCommandMapper.deleteBatchIds(ids);
+    }
+}
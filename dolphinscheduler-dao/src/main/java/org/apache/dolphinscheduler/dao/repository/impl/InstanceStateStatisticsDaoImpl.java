@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.repository.impl;
+
+import org.apache.dolphinscheduler.common.enums.StatisticsInstanceType;
+import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
+import org.apache.dolphinscheduler.dao.entity.InstanceStateStatistics;
+import org.apache.dolphinscheduler.dao.entity.InstanceStateStatisticsWatermark;
+import org.apache.dolphinscheduler.dao.mapper.InstanceStateStatisticsMapper;
+import org.apache.dolphinscheduler.dao.mapper.InstanceStateStatisticsWatermarkMapper;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStatusCountDto;
+import org.apache.dolphinscheduler.dao.model.WorkflowInstanceStatusCountDto;
+import org.apache.dolphinscheduler.dao.repository.BaseDao;
+import org.apache.dolphinscheduler.dao.repository.InstanceStateStatisticsDao;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import lombok.NonNull;
+
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public class InstanceStateStatisticsDaoImpl extends BaseDao<InstanceStateStatistics, InstanceStateStatisticsMapper>
+        implements
+            InstanceStateStatisticsDao {
+
+    private final InstanceStateStatisticsWatermarkMapper watermarkMapper;
+
+    public InstanceStateStatisticsDaoImpl(@NonNull InstanceStateStatisticsMapper instanceStateStatisticsMapper,
+                                          @NonNull InstanceStateStatisticsWatermarkMapper watermarkMapper) {
+        super(instanceStateStatisticsMapper);
+        this.watermarkMapper = watermarkMapper;
+    }
+
+    @Override
+    public List<WorkflowInstanceStatusCountDto> sumWorkflowInstanceStateCount(Date startBucketTime,
+                                                                              Date endBucketTime,
+                                                                              List<Long> projectCodes) {
+        return mybatisMapper.sumWorkflowInstanceStateCountByProjectCodes(startBucketTime, endBucketTime,
+                projectCodes);
+    }
+
+    @Override
+    public List<TaskInstanceStatusCountDto> sumTaskInstanceStateCount(Date startBucketTime,
+                                                                      Date endBucketTime,
+                                                                      List<Long> projectCodes) {
+        return mybatisMapper.sumTaskInstanceStateCountByProjectCodes(startBucketTime, endBucketTime, projectCodes);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void compactBucket(@NonNull StatisticsInstanceType instanceType,
+                              @NonNull Date bucketTime,
+                              @NonNull Date bucketEndTime) {
+        mybatisMapper.deleteByBucketTime(instanceType, bucketTime);
+        switch (instanceType) {
+            case WORKFLOW_INSTANCE:
+                mybatisMapper.insertWorkflowInstanceStatistics(bucketTime, bucketEndTime, new Date());
+                break;
+            case TASK_INSTANCE:
+                mybatisMapper.insertTaskInstanceStatistics(bucketTime, bucketEndTime, new Date());
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported statistics instance type: " + instanceType);
+        }
+    }
+
+    @Override
+    public List<Date> queryUnfinishedBucketTimes(@NonNull StatisticsInstanceType instanceType,
+                                                 @NonNull Date endBucketTime) {
+        final List<Integer> unfinishedStates;
+        switch (instanceType) {
+            case WORKFLOW_INSTANCE:
+                unfinishedStates = Arrays.stream(WorkflowExecutionStatus.values())
+                        .filter(state -> !state.isFinished())
+                        .map(WorkflowExecutionStatus::getCode)
+                        .collect(Collectors.toList());
+                break;
+            case TASK_INSTANCE:
+                unfinishedStates = Arrays.stream(TaskExecutionStatus.values())
+                        .filter(state -> !state.isFinished())
+                        .map(TaskExecutionStatus::getCode)
+                        .collect(Collectors.toList());
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported statistics instance type: " + instanceType);
+        }
+        return mybatisMapper.queryBucketTimesByStates(instanceType, endBucketTime, unfinishedStates);
+    }
+
+    @Override
+    public Optional<Date> queryEarliestInstanceStartTime(@NonNull StatisticsInstanceType instanceType) {
+        switch (instanceType) {
+            case WORKFLOW_INSTANCE:
+                return Optional.ofNullable(mybatisMapper.queryEarliestWorkflowInstanceStartTime());
+            case TASK_INSTANCE:
+                return Optional.ofNullable(mybatisMapper.queryEarliestTaskInstanceStartTime());
+            default:
+                throw new IllegalArgumentException("Unsupported statistics instance type: " + instanceType);
+        }
+    }
+
+    @Override
+    public Optional<Date> queryWatermark(@NonNull StatisticsInstanceType instanceType) {
+        return Optional.ofNullable(watermarkMapper.queryByInstanceType(instanceType))
+                .map(InstanceStateStatisticsWatermark::getWatermarkTime);
+    }
+
+    @Override
+    public void upsertWatermark(@NonNull StatisticsInstanceType instanceType, @NonNull Date watermarkTime) {
+        InstanceStateStatisticsWatermark watermark = watermarkMapper.queryByInstanceType(instanceType);
+        if (watermark == null) {
+            watermarkMapper.insert(InstanceStateStatisticsWatermark.builder()
+                    .instanceType(instanceType)
+                    .watermarkTime(watermarkTime)
+                    .updateTime(new Date())
+                    .build());
+            return;
+        }
+        watermark.setWatermarkTime(watermarkTime);
+        watermark.setUpdateTime(new Date());
+        watermarkMapper.updateById(watermark);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.repository.impl;
+
+import org.apache.dolphinscheduler.dao.entity.ScheduleCheckpoint;
+import org.apache.dolphinscheduler.dao.mapper.ScheduleCheckpointMapper;
+import org.apache.dolphinscheduler.dao.repository.BaseDao;
+import org.apache.dolphinscheduler.dao.repository.ScheduleCheckpointDao;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+import java.util.Date;
+import java.util.List;
+
+import lombok.NonNull;
+
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+
+@Repository
+public class ScheduleCheckpointDaoImpl extends BaseDao<ScheduleCheckpoint, ScheduleCheckpointMapper>
+        implements
+            ScheduleCheckpointDao {
+
+    private static final String ADVANCE_FIRE_WATERMARK_STATEMENT =
+            ScheduleCheckpointMapper.class.getName() + ".advanceFireWatermark";
+
+    private static final Log MYBATIS_LOG = LogFactory.getLog(ScheduleCheckpointDaoImpl.class);
+
+    public ScheduleCheckpointDaoImpl(@NonNull ScheduleCheckpointMapper scheduleCheckpointMapper) {
+        super(scheduleCheckpointMapper);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void register(int scheduleId, Date registerTime) {
+        mybatisMapper.deleteById(scheduleId);
+        mybatisMapper.insert(ScheduleCheckpoint.builder()
+                .scheduleId(scheduleId)
+                .fireWatermark(registerTime)
+                .registerTime(registerTime)
+                .updateTime(registerTime)
+                .build());
+    }
+
+    @Override
+    public List<ScheduleCheckpoint> queryBySlotAndRegisterTimeAfter(int currentSlotIndex,
+                                                                    int totalSlot,
+                                                                    Date registerTime) {
+        return mybatisMapper.queryBySlotAndRegisterTimeAfter(currentSlotIndex, totalSlot, registerTime);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void batchAdvanceFireWatermark(List<ScheduleCheckpoint> scheduleCheckpoints) {
+        if (CollectionUtils.isEmpty(scheduleCheckpoints)) {
+            return;
+        }
+        SqlHelper.executeBatch(
+                ScheduleCheckpoint.class,
+                MYBATIS_LOG,
+                scheduleCheckpoints,
+                scheduleCheckpoints.size(),
+                (sqlSession, scheduleCheckpoint) -> sqlSession.update(ADVANCE_FIRE_WATERMARK_STATEMENT,
+                        scheduleCheckpoint));
+    }
+}
@@ -24,22 +24,30 @@ import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
 import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
 import org.apache.dolphinscheduler.dao.mapper.WorkflowInstanceMapper;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceDirtyFields;
 import org.apache.dolphinscheduler.dao.repository.BaseDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
 
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
 
 /**
  * Task Instance DAO implementation
@@ -48,6 +56,11 @@ import org.springframework.stereotype.Repository;
 @Slf4j
 public class TaskInstanceDaoImpl extends BaseDao<TaskInstance, TaskInstanceMapper> implements TaskInstanceDao {
 
+    private static final String UPDATE_DIRTY_FIELDS_STATEMENT =
+            TaskInstanceMapper.class.getName() + ".updateDirtyFieldsById";
+
+    private static final Log MYBATIS_LOG = LogFactory.getLog(TaskInstanceDaoImpl.class);
+
     @Autowired
     private WorkflowInstanceMapper workflowInstanceMapper;
 
@@ -163,6 +176,14 @@ public class TaskInstanceDaoImpl extends BaseDao<TaskInstance, TaskInstanceMappe
         return mybatisMapper.queryByCacheKey(cacheKey);
     }
 
+    @Override
+    public TaskInstance queryLastSuccessByCacheKey(String cacheKey, Date endTimeAfter) {
+        if (StringUtils.isEmpty(cacheKey)) {
+            return null;
+        }
+        return mybatisMapper.queryLastSuccessByCacheKey(cacheKey, TaskExecutionStatus.SUCCESS, endTimeAfter);
+    }
+
     @Override
     public Boolean clearCacheByCacheKey(String cacheKey) {
         try {
@@ -203,4 +224,31 @@ public class TaskInstanceDaoImpl extends BaseDao<TaskInstance, TaskInstanceMappe
                                         TaskExecutionStatus targetState) {
         mybatisMapper.updateTaskInstanceState(taskInstanceId, originState.getCode(), targetState.getCode());
     }
+
+    @Override
+    public boolean updateDirtyFieldsById(TaskInstanceDirtyFields dirtyFields) {
+        if (dirtyFields.isEmpty()) {
+            return false;
+        }
+        return mybatisMapper.updateDirtyFieldsById(dirtyFields) > 0;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void batchUpdateDirtyFieldsById(List<TaskInstanceDirtyFields> dirtyFieldsList) {
+        // The batch executor only reuses the statement for the adjacent updates with the same SQL
+        final List<TaskInstanceDirtyFields> sortedDirtyFields = dirtyFieldsList.stream()
+                .filter(dirtyFields -> !dirtyFields.isEmpty())
+                .sorted(Comparator.comparingInt(TaskInstanceDirtyFields::getDirtyMask))
+                .collect(Collectors.toList());
+        if (sortedDirtyFields.isEmpty()) {
+            return;
+        }
+        SqlHelper.executeBatch(
+                TaskInstance.class,
+                MYBATIS_LOG,
+                sortedDirtyFields,
+                sortedDirtyFields.size(),
+                (sqlSession, dirtyFields) -> sqlSession.update(UPDATE_DIRTY_FIELDS_STATEMENT, dirtyFields));
+    }
 }
@@ -45,6 +45,11 @@ public class WorkflowInstanceMapDaoImpl extends BaseDao<WorkflowInstanceRelation
         return mybatisMapper.queryByParentId(parentWorkflowId, parentTaskId);
     }
 
+    @Override
+    public WorkflowInstanceRelation queryWorkflowMapBySubWorkflowId(Integer subWorkflowInstanceId) {
+        return mybatisMapper.queryBySubWorkflowId(subWorkflowInstanceId);
+    }
+
     @Override
     public List<Integer> querySubWorkflowInstanceIds(int workflowInstanceId) {
         return mybatisMapper.querySubIdListByParentId(workflowInstanceId);
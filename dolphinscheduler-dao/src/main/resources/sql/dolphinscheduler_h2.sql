@@ -620,7 +620,8 @@ CREATE TABLE t_ds_workflow_instance
     dry_run                    int NULL DEFAULT 0,
     restart_time               datetime     DEFAULT NULL,
     test_flag                  int NULL DEFAULT 0,
-    PRIMARY KEY (id)
+    PRIMARY KEY (id),
+    KEY idx_workflow_instance_project_code_start_time (project_code, is_sub_workflow, start_time, id)
 );
 
 -- ----------------------------
@@ -922,7 +923,9 @@ CREATE TABLE t_ds_task_instance
     cpu_quota               int(11) DEFAULT '-1' NOT NULL,
     memory_max              int(11) DEFAULT '-1' NOT NULL,
     test_flag               int NULL DEFAULT 0,
-    PRIMARY KEY (id)
+    PRIMARY KEY (id),
+    KEY idx_cache_key (cache_key),
+    KEY idx_task_instance_project_code_submit_time (project_code, submit_time, id)
 );
 
 -- ----------------------------
@@ -1392,3 +1395,146 @@ CREATE TABLE `t_ds_jdbc_registry_data_change_event`
 -- ----------------------------
 -- Table structure for jdbc registry
 -- ----------------------------
+
+-- ----------------------------
+-- Table structure for t_ds_instance_state_statistics
+-- ----------------------------
+DROP TABLE IF EXISTS `t_ds_instance_state_statistics`;
+CREATE TABLE `t_ds_instance_state_statistics`
+(
+    `id`             bigint(20) NOT NULL AUTO_INCREMENT,
+    `instance_type`  tinyint(4) NOT NULL,
+    `project_code`   bigint(20) NOT NULL,
+    `state`          tinyint(4) NOT NULL,
+    `bucket_time`    datetime   NOT NULL,
+    `instance_count` bigint(20) NOT NULL DEFAULT 0,
+    `update_time`    datetime   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_instance_type_bucket_time_project_state` (`instance_type`, `bucket_time`, `project_code`, `state`)
+);
+
+-- ----------------------------
+-- Table structure for t_ds_instance_state_statistics_watermark
+-- ----------------------------
+DROP TABLE IF EXISTS `t_ds_instance_state_statistics_watermark`;
+CREATE TABLE `t_ds_instance_state_statistics_watermark`
+(
+    `id`             int(11)    NOT NULL AUTO_INCREMENT,
+    `instance_type`  tinyint(4) NOT NULL,
+    `watermark_time` datetime   NOT NULL,
+    `update_time`    datetime   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_instance_type` (`instance_type`)
+);
+
+-- ----------------------------
+-- Table structure for t_ds_schedule_checkpoint
+-- ----------------------------
+DROP TABLE IF EXISTS `t_ds_schedule_checkpoint`;
+CREATE TABLE `t_ds_schedule_checkpoint`
+(
+    `schedule_id`    int(11)  NOT NULL,
+    `fire_watermark` datetime NOT NULL,
+    `register_time`  datetime NOT NULL,
+    `update_time`    datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (`schedule_id`),
+    KEY `idx_register_time` (`register_time`)
+);
+
+-- ----------------------------
+-- Table structure for t_ds_workflow_instance_archive
+-- ----------------------------
+DROP TABLE IF EXISTS t_ds_workflow_instance_archive CASCADE;
+CREATE TABLE t_ds_workflow_instance_archive
+(
+    id                         int(11) NOT NULL,
+    name                       varchar(255) DEFAULT NULL,
+    workflow_definition_version int(11) NOT NULL DEFAULT '1',
+    workflow_definition_code    bigint(20) not NULL,
+    project_code               bigint(20) DEFAULT NULL,
+    state                      tinyint(4) DEFAULT NULL,
+    state_history              text,
+    recovery                   tinyint(4) DEFAULT NULL,
+    start_time                 datetime     DEFAULT NULL,
+    end_time                   datetime     DEFAULT NULL,
+    run_times                  int(11) DEFAULT NULL,
+    host                       varchar(135) DEFAULT NULL,
+    command_type               tinyint(4) DEFAULT NULL,
+    command_param              text,
+    task_depend_type           tinyint(4) DEFAULT NULL,
+    max_try_times              tinyint(4) DEFAULT '0',
+    failure_strategy           tinyint(4) DEFAULT '0',
+    warning_type               tinyint(4) DEFAULT '0',
+    warning_group_id           int(11) DEFAULT NULL,
+    schedule_time              datetime     DEFAULT NULL,
+    command_start_time         datetime     DEFAULT NULL,
+    global_params              text,
+    flag                       tinyint(4) DEFAULT '1',
+    update_time                timestamp NULL DEFAULT CURRENT_TIMESTAMP,
+    is_sub_workflow             int(11) DEFAULT '0',
+    executor_id                int(11) NOT NULL,
+    executor_name              varchar(64) DEFAULT NULL,
+    history_cmd                text,
+    workflow_instance_priority  int(11) DEFAULT '2',
+    worker_group               varchar(64)  DEFAULT NULL,
+    environment_code           bigint(20) DEFAULT '-1',
+    timeout                    int(11) DEFAULT '0',
+    next_workflow_instance_id   int(11) DEFAULT '0',
+    tenant_code                varchar(64) DEFAULT 'default',
+    var_pool                   longtext,
+    dry_run                    int NULL DEFAULT 0,
+    restart_time               datetime     DEFAULT NULL,
+    test_flag                  int NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    KEY idx_workflow_instance_archive_start_time (start_time, end_time)
+);
+
+-- ----------------------------
+-- Table structure for t_ds_task_instance_archive
+-- ----------------------------
+DROP TABLE IF EXISTS t_ds_task_instance_archive CASCADE;
+CREATE TABLE t_ds_task_instance_archive
+(
+    id                      int(11) NOT NULL,
+    name                    varchar(255) DEFAULT NULL,
+    task_type               varchar(50) NOT NULL,
+    task_execute_type       int(11) DEFAULT '0',
+    task_code               bigint(20) NOT NULL,
+    task_definition_version int(11) NOT NULL DEFAULT '1',
+    workflow_instance_id     int(11) DEFAULT NULL,
+    workflow_instance_name   varchar(255) DEFAULT NULL,
+    project_code            bigint(20) DEFAULT NULL,
+    state                   tinyint(4) DEFAULT NULL,
+    submit_time             datetime     DEFAULT NULL,
+    start_time              datetime     DEFAULT NULL,
+    end_time                datetime     DEFAULT NULL,
+    host                    varchar(135) DEFAULT NULL,
+    execute_path            varchar(200) DEFAULT NULL,
+    log_path                longtext DEFAULT NULL,
+    alert_flag              tinyint(4) DEFAULT NULL,
+    retry_times             int(4) DEFAULT '0',
+    pid                     int(4) DEFAULT NULL,
+    app_link                text,
+    task_params             longtext,
+    flag                    tinyint(4) DEFAULT '1',
+    is_cache                tinyint(2) DEFAULT '0',
+    cache_key               varchar(200) DEFAULT NULL,
+    retry_interval          int(4) DEFAULT NULL,
+    max_retry_times         int(2) DEFAULT NULL,
+    task_instance_priority  int(11) DEFAULT NULL,
+    worker_group            varchar(255)  DEFAULT NULL,
+    environment_code        bigint(20) DEFAULT '-1',
+    environment_config      text         DEFAULT '',
+    executor_id             int(11) DEFAULT NULL,
+    executor_name           varchar(64) DEFAULT NULL,
+    first_submit_time       datetime     DEFAULT NULL,
+    delay_time              int(4) DEFAULT '0',
+    task_group_id           int(11) DEFAULT NULL,
+    var_pool                longtext,
+    dry_run                 int NULL DEFAULT 0,
+    cpu_quota               int(11) DEFAULT '-1' NOT NULL,
+    memory_max              int(11) DEFAULT '-1' NOT NULL,
+    test_flag               int NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    KEY idx_task_instance_archive_workflow_instance_id (workflow_instance_id)
+);
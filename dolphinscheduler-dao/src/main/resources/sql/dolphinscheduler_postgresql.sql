@@ -566,6 +566,7 @@ CREATE TABLE t_ds_workflow_instance (
 
 create index workflow_instance_index on t_ds_workflow_instance (workflow_definition_code,id);
 create index start_time_index on t_ds_workflow_instance (start_time,end_time);
+create index idx_workflow_instance_project_code_start_time on t_ds_workflow_instance (project_code,is_sub_workflow,start_time,id);
 
 --
 -- Table structure for table t_ds_project
@@ -839,6 +840,8 @@ CREATE TABLE t_ds_task_instance (
 
 create index idx_task_instance_code_version on t_ds_task_instance (task_code, task_definition_version);
 create index idx_cache_key on t_ds_task_instance (cache_key);
+create index idx_task_instance_start_time on t_ds_task_instance (start_time);
+create index idx_task_instance_project_code_submit_time on t_ds_task_instance (project_code,submit_time,id);
 
 --
 -- Table structure for table t_ds_tenant
@@ -1369,3 +1372,67 @@ create table t_ds_jdbc_registry_data_change_event
     create_time        timestamp not null default current_timestamp,
     primary key (id)
 );
+
+-- ----------------------------
+-- Table structure for t_ds_instance_state_statistics
+-- ----------------------------
+DROP TABLE IF EXISTS t_ds_instance_state_statistics;
+create table t_ds_instance_state_statistics
+(
+    id             bigserial not null,
+    instance_type  int       not null,
+    project_code   bigint    not null,
+    state          int       not null,
+    bucket_time    timestamp not null,
+    instance_count bigint    not null default 0,
+    update_time    timestamp not null default current_timestamp,
+    primary key (id)
+);
+create unique index uk_instance_type_bucket_time_project_state on t_ds_instance_state_statistics (instance_type, bucket_time, project_code, state);
+
+-- ----------------------------
+-- Table structure for t_ds_instance_state_statistics_watermark
+-- ----------------------------
+DROP TABLE IF EXISTS t_ds_instance_state_statistics_watermark;
+create table t_ds_instance_state_statistics_watermark
+(
+    id             serial    not null,
+    instance_type  int       not null,
+    watermark_time timestamp not null,
+    update_time    timestamp not null default current_timestamp,
+    primary key (id)
+);
+create unique index uk_instance_state_statistics_watermark_instance_type on t_ds_instance_state_statistics_watermark (instance_type);
+
+-- ----------------------------
+-- Table structure for t_ds_schedule_checkpoint
+-- ----------------------------
+DROP TABLE IF EXISTS t_ds_schedule_checkpoint;
+create table t_ds_schedule_checkpoint
+(
+    schedule_id    int       not null,
+    fire_watermark timestamp not null,
+    register_time  timestamp not null,
+    update_time    timestamp not null default current_timestamp,
+    primary key (schedule_id)
+);
+create index idx_schedule_checkpoint_register_time on t_ds_schedule_checkpoint (register_time);
+
+-- ----------------------------
+-- Table structure for t_ds_workflow_instance_archive
+-- ----------------------------
+DROP TABLE IF EXISTS t_ds_workflow_instance_archive;
+create table t_ds_workflow_instance_archive
+(
+    LIKE t_ds_workflow_instance INCLUDING INDEXES
+);
+
+-- ----------------------------
+-- Table structure for t_ds_task_instance_archive
+-- ----------------------------
+DROP TABLE IF EXISTS t_ds_task_instance_archive;
+create table t_ds_task_instance_archive
+(
+    LIKE t_ds_task_instance INCLUDING INDEXES
+);
+create index idx_task_instance_archive_workflow_instance_id on t_ds_task_instance_archive (workflow_instance_id);
@@ -246,3 +246,68 @@ CALL drop_column_t_ds_worker_group_other_params_json;
 DROP PROCEDURE drop_column_t_ds_worker_group_other_params_json;
 
 ALTER TABLE `t_ds_task_definition` ADD INDEX `idx_project_code` USING BTREE (`project_code`);
+
+-- ----------------------------
+-- Table structure for t_ds_instance_state_statistics
+-- ----------------------------
+DROP TABLE IF EXISTS `t_ds_instance_state_statistics`;
+CREATE TABLE `t_ds_instance_state_statistics`
+(
+    `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'primary key',
+    `instance_type`  tinyint(4) NOT NULL COMMENT 'instance type: 0 workflow instance, 1 task instance',
+    `project_code`   bigint(20) NOT NULL COMMENT 'project code',
+    `state`          tinyint(4) NOT NULL COMMENT 'instance state',
+    `bucket_time`    datetime   NOT NULL COMMENT 'the start of the hour which the instances started in',
+    `instance_count` bigint(20) NOT NULL DEFAULT 0 COMMENT 'instance count',
+    `update_time`    datetime   NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT 'update time',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_instance_type_bucket_time_project_state` (`instance_type`, `bucket_time`, `project_code`, `state`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8;
+
+-- ----------------------------
+-- Table structure for t_ds_instance_state_statistics_watermark
+-- ----------------------------
+DROP TABLE IF EXISTS `t_ds_instance_state_statistics_watermark`;
+CREATE TABLE `t_ds_instance_state_statistics_watermark`
+(
+    `id`             int(11)    NOT NULL AUTO_INCREMENT COMMENT 'primary key',
+    `instance_type`  tinyint(4) NOT NULL COMMENT 'instance type: 0 workflow instance, 1 task instance',
+    `watermark_time` datetime   NOT NULL COMMENT 'the statistics buckets before the watermark have been compacted',
+    `update_time`    datetime   NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT 'update time',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_instance_type` (`instance_type`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8;
+
+ALTER TABLE `t_ds_task_instance` ADD INDEX `idx_start_time` USING BTREE (`start_time`);
+
+ALTER TABLE `t_ds_workflow_instance` ADD INDEX `idx_project_code_start_time` USING BTREE (`project_code`,`is_sub_workflow`,`start_time`,`id`);
+ALTER TABLE `t_ds_task_instance` ADD INDEX `idx_project_code_submit_time` USING BTREE (`project_code`,`submit_time`,`id`);
+
+-- ----------------------------
+-- Table structure for t_ds_schedule_checkpoint
+-- ----------------------------
+DROP TABLE IF EXISTS `t_ds_schedule_checkpoint`;
+CREATE TABLE `t_ds_schedule_checkpoint`
+(
+    `schedule_id`    int(11)  NOT NULL COMMENT 'schedule id',
+    `fire_watermark` datetime NOT NULL COMMENT 'the fire times before or at the watermark have been triggered',
+    `register_time`  datetime NOT NULL COMMENT 'the time when the schedule was registered online',
+    `update_time`    datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT 'update time',
+    PRIMARY KEY (`schedule_id`),
+    KEY `idx_register_time` (`register_time`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8;
+
+-- ----------------------------
+-- Table structure for t_ds_workflow_instance_archive
+-- ----------------------------
+DROP TABLE IF EXISTS `t_ds_workflow_instance_archive`;
+CREATE TABLE `t_ds_workflow_instance_archive` LIKE `t_ds_workflow_instance`;
+
+-- ----------------------------
+-- Table structure for t_ds_task_instance_archive
+-- ----------------------------
+DROP TABLE IF EXISTS `t_ds_task_instance_archive`;
+CREATE TABLE `t_ds_task_instance_archive` LIKE `t_ds_task_instance`;
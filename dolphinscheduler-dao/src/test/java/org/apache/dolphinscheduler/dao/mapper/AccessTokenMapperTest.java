@@ -153,6 +153,17 @@ public class AccessTokenMapperTest extends BaseDaoTest {
         Assertions.assertEquals(Integer.valueOf(generalAccessTokenPage.getRecords().size()), emptySize);
     }
 
+    @Test
+    public void testQueryAccessTokenByToken() throws Exception {
+        AccessToken accessToken = createAccessToken(1);
+
+        AccessToken resultAccessToken = accessTokenMapper.queryAccessTokenByToken(accessToken.getToken());
+        Assertions.assertEquals(accessToken.getId(), resultAccessToken.getId());
+        Assertions.assertEquals(accessToken.getUserId(), resultAccessToken.getUserId());
+        Assertions.assertNotNull(resultAccessToken.getExpireTime());
+        Assertions.assertNull(accessTokenMapper.queryAccessTokenByToken("not-exist-token"));
+    }
+
     /**
      * test update
      */
@@ -247,4 +247,17 @@ public class ScheduleMapperTest extends BaseDaoTest {
         Schedule schedules = scheduleMapper.queryByWorkflowDefinitionCode(schedule.getWorkflowDefinitionCode());
         Assertions.assertNotNull(schedules);
     }
+
+    @Test
+    public void testQueryOnlineScheduleBySlot() {
+        Schedule online = insertOne();
+        online.setReleaseState(ReleaseState.ONLINE);
+        scheduleMapper.updateById(online);
+        insertOne();
+
+        List<Schedule> schedules = scheduleMapper.queryOnlineScheduleBySlot(online.getId() % 2, 2);
+        Assertions.assertEquals(1, schedules.size());
+        Assertions.assertEquals(online.getId(), schedules.get(0).getId());
+        Assertions.assertTrue(scheduleMapper.queryOnlineScheduleBySlot((online.getId() + 1) % 2, 2).isEmpty());
+    }
 }
@@ -30,6 +30,7 @@ import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -274,4 +275,30 @@ public class TaskInstanceMapperTest extends BaseDaoTest {
         Assertions.assertEquals(0, taskInstanceIPage.getTotal());
 
     }
+
+    @Test
+    public void testQueryTaskInstanceListByCursor() {
+        Date submitTime = new Date(2019 - 1900, 1 - 1, 1, 0, 10, 0);
+        TaskInstance first = insertTaskInstance(1);
+        first.setSubmitTime(new Date(2019 - 1900, 1 - 1, 1, 0, 20, 0));
+        taskInstanceMapper.updateById(first);
+        TaskInstance second = insertTaskInstance(1);
+        second.setSubmitTime(submitTime);
+        taskInstanceMapper.updateById(second);
+        TaskInstance third = insertTaskInstance(1);
+        third.setSubmitTime(submitTime);
+        taskInstanceMapper.updateById(third);
+
+        List<TaskInstance> firstPage = taskInstanceMapper.queryTaskInstanceListByCursor(
+                new Page<>(1, 2, false), 1L, 0, null, null, null, null, null, null, null, null, null, null, null,
+                null).getRecords();
+        Assertions.assertEquals(Lists.newArrayList(first.getId(), third.getId()),
+                firstPage.stream().map(TaskInstance::getId).collect(Collectors.toList()));
+
+        List<TaskInstance> secondPage = taskInstanceMapper.queryTaskInstanceListByCursor(
+                new Page<>(1, 2, false), 1L, 0, null, null, null, null, null, null, null, null, null, null,
+                submitTime, third.getId()).getRecords();
+        Assertions.assertEquals(Lists.newArrayList(second.getId()),
+                secondPage.stream().map(TaskInstance::getId).collect(Collectors.toList()));
+    }
 }
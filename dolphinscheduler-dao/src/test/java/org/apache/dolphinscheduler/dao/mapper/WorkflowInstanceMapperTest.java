@@ -28,6 +28,7 @@ import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -197,6 +198,36 @@ public class WorkflowInstanceMapperTest extends BaseDaoTest {
         workflowInstanceMapper.deleteById(workflowInstance.getId());
     }
 
+    @Test
+    public void testQueryWorkflowInstanceListByCursor() {
+        Date sameStartTime = new Date(2019 - 1900, 1 - 1, 1, 0, 10, 0);
+        WorkflowInstance first = insertOne();
+        first.setStartTime(new Date(2019 - 1900, 1 - 1, 1, 0, 20, 0));
+        workflowInstanceMapper.updateById(first);
+        WorkflowInstance second = insertOne();
+        WorkflowInstance third = insertOne();
+        WorkflowInstance fourth = insertOne();
+        fourth.setStartTime(new Date(2019 - 1900, 1 - 1, 1, 0, 0, 0));
+        workflowInstanceMapper.updateById(fourth);
+
+        // the instances with the same start time are ordered by id desc
+        List<WorkflowInstance> firstPage = workflowInstanceMapper.queryWorkflowInstanceListByCursor(
+                new Page<>(1, 2, false), 1L, 0L, null, null, null, null, null, null, null, null).getRecords();
+        Assertions.assertEquals(Lists.newArrayList(first.getId(), third.getId()),
+                firstPage.stream().map(WorkflowInstance::getId).collect(Collectors.toList()));
+
+        List<WorkflowInstance> secondPage = workflowInstanceMapper.queryWorkflowInstanceListByCursor(
+                new Page<>(1, 2, false), 1L, 0L, null, null, null, null, null, null, sameStartTime, third.getId())
+                .getRecords();
+        Assertions.assertEquals(Lists.newArrayList(second.getId(), fourth.getId()),
+                secondPage.stream().map(WorkflowInstance::getId).collect(Collectors.toList()));
+
+        List<WorkflowInstance> lastPage = workflowInstanceMapper.queryWorkflowInstanceListByCursor(
+                new Page<>(1, 2, false), 1L, 0L, null, null, null, null, null, null, fourth.getStartTime(),
+                fourth.getId()).getRecords();
+        Assertions.assertTrue(lastPage.isEmpty());
+    }
+
     /**
      * test update process instance by state
      */
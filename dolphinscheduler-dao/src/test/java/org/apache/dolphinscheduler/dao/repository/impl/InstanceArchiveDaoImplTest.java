@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.repository.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
+import org.apache.dolphinscheduler.dao.BaseDaoTest;
+import org.apache.dolphinscheduler.dao.entity.ErrorCommand;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.dao.mapper.ErrorCommandMapper;
+import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
+import org.apache.dolphinscheduler.dao.mapper.WorkflowInstanceMapper;
+import org.apache.dolphinscheduler.dao.repository.InstanceArchiveDao;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class InstanceArchiveDaoImplTest extends BaseDaoTest {
+
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private static final Date ARCHIVE_BEFORE = new Date(DAY * 100);
+
+    @Autowired
+    private InstanceArchiveDao instanceArchiveDao;
+
+    @Autowired
+    private WorkflowInstanceMapper workflowInstanceMapper;
+
+    @Autowired
+    private TaskInstanceMapper taskInstanceMapper;
+
+    @Autowired
+    private ErrorCommandMapper errorCommandMapper;
+
+    @Test
+    void queryArchivableWorkflowInstanceIds() {
+        final int success = insertWorkflowInstance(WorkflowExecutionStatus.SUCCESS, new Date(DAY * 10));
+        final int failure = insertWorkflowInstance(WorkflowExecutionStatus.FAILURE, new Date(DAY * 20));
+        // Paused, running and recently finished instances should stay in the hot table
+        insertWorkflowInstance(WorkflowExecutionStatus.PAUSE, new Date(DAY * 10));
+        insertWorkflowInstance(WorkflowExecutionStatus.RUNNING_EXECUTION, new Date(DAY * 10));
+        insertWorkflowInstance(WorkflowExecutionStatus.SUCCESS, ARCHIVE_BEFORE);
+
+        assertEquals(Arrays.asList(success, failure),
+                instanceArchiveDao.queryArchivableWorkflowInstanceIds(ARCHIVE_BEFORE, 10));
+        assertEquals(Collections.singletonList(success),
+                instanceArchiveDao.queryArchivableWorkflowInstanceIds(ARCHIVE_BEFORE, 1));
+    }
+
+    @Test
+    void archiveWorkflowInstances() {
+        final int workflowInstanceId = insertWorkflowInstance(WorkflowExecutionStatus.SUCCESS, new Date(DAY * 10));
+        final int taskInstanceId = insertTaskInstance(workflowInstanceId);
+        final int otherWorkflowInstanceId =
+                insertWorkflowInstance(WorkflowExecutionStatus.SUCCESS, new Date(DAY * 10));
+        final int otherTaskInstanceId = insertTaskInstance(otherWorkflowInstanceId);
+
+        assertEquals(1, instanceArchiveDao.archiveWorkflowInstances(Collections.singletonList(workflowInstanceId)));
+
+        assertNull(workflowInstanceMapper.selectById(workflowInstanceId));
+        assertNull(taskInstanceMapper.selectById(taskInstanceId));
+        final WorkflowInstance archivedWorkflowInstance =
+                instanceArchiveDao.queryArchivedWorkflowInstanceById(workflowInstanceId).get();
+        assertEquals("test", archivedWorkflowInstance.getName());
+        assertEquals(WorkflowExecutionStatus.SUCCESS, archivedWorkflowInstance.getState());
+        assertEquals(taskInstanceId, instanceArchiveDao.queryArchivedTaskInstanceById(taskInstanceId).get().getId());
+        final List<TaskInstance> archivedTaskInstances =
+                instanceArchiveDao.queryArchivedTaskInstanceByWorkflowInstanceId(workflowInstanceId);
+        assertEquals(1, archivedTaskInstances.size());
+        assertEquals(TaskExecutionStatus.SUCCESS, archivedTaskInstances.get(0).getState());
+
+        // The instances which are not archived are not touched
+        assertNotNull(workflowInstanceMapper.selectById(otherWorkflowInstanceId));
+        assertNotNull(taskInstanceMapper.selectById(otherTaskInstanceId));
+        assertFalse(instanceArchiveDao.queryArchivedWorkflowInstanceById(otherWorkflowInstanceId).isPresent());
+    }
+
+    @Test
+    void archiveWorkflowInstances_skipNotFinished() {
+        final int workflowInstanceId = insertWorkflowInstance(WorkflowExecutionStatus.SUCCESS, new Date(DAY * 10));
+        // The workflow instance is re-run after it was selected
+        final WorkflowInstance workflowInstance = workflowInstanceMapper.selectById(workflowInstanceId);
+        workflowInstance.setState(WorkflowExecutionStatus.RUNNING_EXECUTION);
+        workflowInstanceMapper.updateById(workflowInstance);
+
+        assertEquals(0, instanceArchiveDao.archiveWorkflowInstances(Collections.singletonList(workflowInstanceId)));
+        assertNotNull(workflowInstanceMapper.selectById(workflowInstanceId));
+        assertFalse(instanceArchiveDao.queryArchivedWorkflowInstanceById(workflowInstanceId).isPresent());
+        assertEquals(0, instanceArchiveDao.archiveWorkflowInstances(Collections.emptyList()));
+    }
+
+    @Test
+    void purgeErrorCommands() {
+        insertErrorCommand(1, new Date(DAY * 10));
+        insertErrorCommand(2, new Date(DAY * 20));
+        insertErrorCommand(3, ARCHIVE_BEFORE);
+
+        assertEquals(1, instanceArchiveDao.purgeErrorCommands(ARCHIVE_BEFORE, 1));
+        assertNull(errorCommandMapper.selectById(1));
+        assertEquals(1, instanceArchiveDao.purgeErrorCommands(ARCHIVE_BEFORE, 10));
+        assertEquals(0, instanceArchiveDao.purgeErrorCommands(ARCHIVE_BEFORE, 10));
+        assertNotNull(errorCommandMapper.selectById(3));
+    }
+
+    private int insertWorkflowInstance(WorkflowExecutionStatus state, Date endTime) {
+        WorkflowInstance workflowInstance = new WorkflowInstance();
+        workflowInstance.setName("test");
+        workflowInstance.setState(state);
+        workflowInstance.setStartTime(new Date(endTime.getTime() - 1000));
+        workflowInstance.setEndTime(endTime);
+        workflowInstance.setWorkflowDefinitionCode(1L);
+        workflowInstance.setProjectCode(1L);
+        workflowInstance.setIsSubWorkflow(Flag.NO);
+        workflowInstance.setExecutorId(1);
+        workflowInstance.setTestFlag(0);
+        workflowInstanceMapper.insert(workflowInstance);
+        return workflowInstance.getId();
+    }
+
+    private int insertTaskInstance(int workflowInstanceId) {
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setFlag(Flag.YES);
+        taskInstance.setName("test");
+        taskInstance.setState(TaskExecutionStatus.SUCCESS);
+        taskInstance.setWorkflowInstanceId(workflowInstanceId);
+        taskInstance.setProjectCode(1L);
+        taskInstance.setTaskType("SHELL");
+        taskInstanceMapper.insert(taskInstance);
+        return taskInstance.getId();
+    }
+
+    private void insertErrorCommand(int id, Date updateTime) {
+        ErrorCommand errorCommand = new ErrorCommand();
+        errorCommand.setId(id);
+        errorCommand.setCommandType(CommandType.START_PROCESS);
+        errorCommand.setStartTime(updateTime);
+        errorCommand.setUpdateTime(updateTime);
+        errorCommandMapper.insert(errorCommand);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.repository.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.enums.StatisticsInstanceType;
+import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
+import org.apache.dolphinscheduler.dao.BaseDaoTest;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
+import org.apache.dolphinscheduler.dao.mapper.WorkflowInstanceMapper;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStatusCountDto;
+import org.apache.dolphinscheduler.dao.model.WorkflowInstanceStatusCountDto;
+import org.apache.dolphinscheduler.dao.repository.InstanceStateStatisticsDao;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class InstanceStateStatisticsDaoImplTest extends BaseDaoTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private static final Date BUCKET = new Date(HOUR * 100);
+
+    private static final Date BUCKET_END = new Date(HOUR * 101);
+
+    @Autowired
+    private InstanceStateStatisticsDao instanceStateStatisticsDao;
+
+    @Autowired
+    private WorkflowInstanceMapper workflowInstanceMapper;
+
+    @Autowired
+    private TaskInstanceMapper taskInstanceMapper;
+
+    @Test
+    void compactBucket_workflowInstance() {
+        insertWorkflowInstance(1L, WorkflowExecutionStatus.SUCCESS, BUCKET, 0);
+        insertWorkflowInstance(1L, WorkflowExecutionStatus.SUCCESS, new Date(BUCKET_END.getTime() - 1), 0);
+        insertWorkflowInstance(2L, WorkflowExecutionStatus.FAILURE, BUCKET, 0);
+        // The sub workflow instance and the instance out of the bucket are not counted
+        insertWorkflowInstance(1L, WorkflowExecutionStatus.SUCCESS, BUCKET, 1);
+        insertWorkflowInstance(1L, WorkflowExecutionStatus.SUCCESS, BUCKET_END, 0);
+
+        instanceStateStatisticsDao.compactBucket(StatisticsInstanceType.WORKFLOW_INSTANCE, BUCKET, BUCKET_END);
+
+        List<WorkflowInstanceStatusCountDto> counts =
+                instanceStateStatisticsDao.sumWorkflowInstanceStateCount(BUCKET, BUCKET_END,
+                        Collections.singletonList(1L));
+        assertEquals(1, counts.size());
+        assertEquals(WorkflowExecutionStatus.SUCCESS, counts.get(0).getState());
+        assertEquals(2, counts.get(0).getCount());
+        assertEquals(2, instanceStateStatisticsDao.sumWorkflowInstanceStateCount(null, BUCKET_END, null).size());
+
+        // Compact again will recount the bucket rather than accumulate
+        instanceStateStatisticsDao.compactBucket(StatisticsInstanceType.WORKFLOW_INSTANCE, BUCKET, BUCKET_END);
+        counts = instanceStateStatisticsDao.sumWorkflowInstanceStateCount(BUCKET, BUCKET_END,
+                Collections.singletonList(1L));
+        assertEquals(2, counts.get(0).getCount());
+    }
+
+    @Test
+    void compactBucket_taskInstance() {
+        insertTaskInstance(TaskExecutionStatus.SUCCESS, BUCKET);
+        insertTaskInstance(TaskExecutionStatus.FAILURE, BUCKET);
+        insertTaskInstance(TaskExecutionStatus.FAILURE, BUCKET);
+        insertTaskInstance(TaskExecutionStatus.FAILURE, BUCKET_END);
+
+        instanceStateStatisticsDao.compactBucket(StatisticsInstanceType.TASK_INSTANCE, BUCKET, BUCKET_END);
+
+        List<TaskInstanceStatusCountDto> counts =
+                instanceStateStatisticsDao.sumTaskInstanceStateCount(BUCKET, BUCKET_END, null);
+        assertEquals(2, counts.size());
+        for (TaskInstanceStatusCountDto count : counts) {
+            assertEquals(count.getState() == TaskExecutionStatus.SUCCESS ? 1 : 2, count.getCount());
+        }
+        assertTrue(instanceStateStatisticsDao.sumWorkflowInstanceStateCount(BUCKET, BUCKET_END, null).isEmpty());
+    }
+
+    @Test
+    void queryUnfinishedBucketTimes() {
+        Date runningBucket = new Date(HOUR * 98);
+        insertWorkflowInstance(1L, WorkflowExecutionStatus.RUNNING_EXECUTION, runningBucket, 0);
+        insertWorkflowInstance(1L, WorkflowExecutionStatus.SUCCESS, runningBucket, 0);
+        insertWorkflowInstance(1L, WorkflowExecutionStatus.SUCCESS, BUCKET, 0);
+        insertWorkflowInstance(1L, WorkflowExecutionStatus.SERIAL_WAIT, BUCKET_END, 0);
+        instanceStateStatisticsDao.compactBucket(StatisticsInstanceType.WORKFLOW_INSTANCE, runningBucket,
+                new Date(runningBucket.getTime() + HOUR));
+        instanceStateStatisticsDao.compactBucket(StatisticsInstanceType.WORKFLOW_INSTANCE, BUCKET, BUCKET_END);
+        instanceStateStatisticsDao.compactBucket(StatisticsInstanceType.WORKFLOW_INSTANCE, BUCKET_END,
+                new Date(BUCKET_END.getTime() + HOUR));
+
+        // The bucket at the endBucketTime and the finished bucket are not returned
+        assertEquals(Collections.singletonList(runningBucket), instanceStateStatisticsDao
+                .queryUnfinishedBucketTimes(StatisticsInstanceType.WORKFLOW_INSTANCE, BUCKET_END));
+        assertTrue(instanceStateStatisticsDao
+                .queryUnfinishedBucketTimes(StatisticsInstanceType.TASK_INSTANCE, BUCKET_END).isEmpty());
+    }
+
+    @Test
+    void queryEarliestInstanceStartTime() {
+        assertFalse(instanceStateStatisticsDao
+                .queryEarliestInstanceStartTime(StatisticsInstanceType.TASK_INSTANCE).isPresent());
+
+        insertTaskInstance(TaskExecutionStatus.SUCCESS, BUCKET_END);
+        insertTaskInstance(TaskExecutionStatus.SUCCESS, BUCKET);
+        assertEquals(BUCKET, instanceStateStatisticsDao
+                .queryEarliestInstanceStartTime(StatisticsInstanceType.TASK_INSTANCE).get());
+    }
+
+    @Test
+    void upsertWatermark() {
+        assertFalse(instanceStateStatisticsDao.queryWatermark(StatisticsInstanceType.WORKFLOW_INSTANCE).isPresent());
+
+        instanceStateStatisticsDao.upsertWatermark(StatisticsInstanceType.WORKFLOW_INSTANCE, BUCKET);
+        assertEquals(BUCKET,
+                instanceStateStatisticsDao.queryWatermark(StatisticsInstanceType.WORKFLOW_INSTANCE).get());
+
+        instanceStateStatisticsDao.upsertWatermark(StatisticsInstanceType.WORKFLOW_INSTANCE, BUCKET_END);
+        assertEquals(BUCKET_END,
+                instanceStateStatisticsDao.queryWatermark(StatisticsInstanceType.WORKFLOW_INSTANCE).get());
+        assertFalse(instanceStateStatisticsDao.queryWatermark(StatisticsInstanceType.TASK_INSTANCE).isPresent());
+    }
+
+    private void insertWorkflowInstance(long projectCode, WorkflowExecutionStatus state, Date startTime,
+                                        int isSubWorkflow) {
+        WorkflowInstance workflowInstance = new WorkflowInstance();
+        workflowInstance.setName("test");
+        workflowInstance.setState(state);
+        workflowInstance.setStartTime(startTime);
+        workflowInstance.setWorkflowDefinitionCode(1L);
+        workflowInstance.setProjectCode(projectCode);
+        workflowInstance.setIsSubWorkflow(Flag.of(isSubWorkflow));
+        workflowInstance.setTestFlag(0);
+        workflowInstanceMapper.insert(workflowInstance);
+    }
+
+    private void insertTaskInstance(TaskExecutionStatus state, Date startTime) {
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setFlag(Flag.YES);
+        taskInstance.setName("test");
+        taskInstance.setState(state);
+        taskInstance.setStartTime(startTime);
+        taskInstance.setWorkflowInstanceId(1);
+        taskInstance.setProjectCode(1L);
+        taskInstance.setTaskType("SHELL");
+        taskInstanceMapper.insert(taskInstance);
+    }
+}
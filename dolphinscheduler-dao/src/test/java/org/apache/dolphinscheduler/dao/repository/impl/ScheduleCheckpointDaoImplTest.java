@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.repository.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.dolphinscheduler.dao.BaseDaoTest;
+import org.apache.dolphinscheduler.dao.entity.ScheduleCheckpoint;
+import org.apache.dolphinscheduler.dao.repository.ScheduleCheckpointDao;
+
+import org.apache.commons.lang3.time.DateUtils;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class ScheduleCheckpointDaoImplTest extends BaseDaoTest {
+
+    @Autowired
+    private ScheduleCheckpointDao scheduleCheckpointDao;
+
+    @Test
+    void register_resetFireWatermark() {
+        final Date firstRegisterTime = DateUtils.addHours(new Date(), -1);
+        scheduleCheckpointDao.register(1, firstRegisterTime);
+        scheduleCheckpointDao.batchAdvanceFireWatermark(Arrays.asList(checkpoint(1, new Date())));
+
+        final Date secondRegisterTime = DateUtils.addMinutes(firstRegisterTime, 1);
+        scheduleCheckpointDao.register(1, secondRegisterTime);
+
+        final ScheduleCheckpoint scheduleCheckpoint = scheduleCheckpointDao.queryById(1);
+        assertEquals(secondRegisterTime.getTime() / 1000, scheduleCheckpoint.getFireWatermark().getTime() / 1000);
+        assertEquals(secondRegisterTime.getTime() / 1000, scheduleCheckpoint.getRegisterTime().getTime() / 1000);
+    }
+
+    @Test
+    void queryBySlotAndRegisterTimeAfter() {
+        final Date now = new Date();
+        scheduleCheckpointDao.register(1, DateUtils.addMinutes(now, -10));
+        scheduleCheckpointDao.register(2, now);
+        scheduleCheckpointDao.register(3, now);
+
+        final List<ScheduleCheckpoint> checkpoints =
+                scheduleCheckpointDao.queryBySlotAndRegisterTimeAfter(1, 2, DateUtils.addMinutes(now, -1));
+        assertEquals(1, checkpoints.size());
+        assertEquals(3, checkpoints.get(0).getScheduleId());
+    }
+
+    @Test
+    void batchAdvanceFireWatermark_notMoveBackward() {
+        final Date registerTime = DateUtils.addHours(new Date(), -1);
+        scheduleCheckpointDao.register(1, registerTime);
+        scheduleCheckpointDao.register(2, registerTime);
+
+        final Date advanced = DateUtils.addMinutes(registerTime, 30);
+        scheduleCheckpointDao.batchAdvanceFireWatermark(
+                Arrays.asList(checkpoint(1, advanced), checkpoint(2, DateUtils.addMinutes(registerTime, -30))));
+
+        assertEquals(advanced.getTime() / 1000,
+                scheduleCheckpointDao.queryById(1).getFireWatermark().getTime() / 1000);
+        assertEquals(registerTime.getTime() / 1000,
+                scheduleCheckpointDao.queryById(2).getFireWatermark().getTime() / 1000);
+    }
+
+    @Test
+    void batchAdvanceFireWatermark_empty() {
+        scheduleCheckpointDao.batchAdvanceFireWatermark(Arrays.asList());
+        assertTrue(scheduleCheckpointDao.queryAll().isEmpty());
+    }
+
+    private ScheduleCheckpoint checkpoint(int scheduleId, Date fireWatermark) {
+        return ScheduleCheckpoint.builder()
+                .scheduleId(scheduleId)
+                .fireWatermark(fireWatermark)
+                .updateTime(new Date())
+                .build();
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.repository.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.dao.BaseDaoTest;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceDirtyFields;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.dao.utils.TaskCacheUtils;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+
+import org.apache.commons.lang3.time.DateUtils;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class TaskInstanceDaoImplTest extends BaseDaoTest {
+
+    @Autowired
+    private TaskInstanceDao taskInstanceDao;
+
+    @Test
+    void updateDirtyFieldsById_onlyUpdateDirtyColumns() {
+        final TaskInstance taskInstance = createTaskInstance();
+        taskInstanceDao.insert(taskInstance);
+
+        taskInstance.setState(TaskExecutionStatus.DISPATCH);
+        taskInstance.setHost("127.0.0.1:1234");
+        // not marked as dirty, should not be persisted
+        taskInstance.setTaskParams("{\"changed\":true}");
+        assertTrue(taskInstanceDao.updateDirtyFieldsById(TaskInstanceDirtyFields.of(taskInstance).state().host()));
+
+        final TaskInstance persisted = taskInstanceDao.queryById(taskInstance.getId());
+        assertEquals(TaskExecutionStatus.DISPATCH, persisted.getState());
+        assertEquals("127.0.0.1:1234", persisted.getHost());
+        assertEquals("{}", persisted.getTaskParams());
+        assertEquals(taskInstance.getVarPool(), persisted.getVarPool());
+    }
+
+    @Test
+    void updateDirtyFieldsById_emptyDirtyFields() {
+        final TaskInstance taskInstance = createTaskInstance();
+        taskInstanceDao.insert(taskInstance);
+
+        assertFalse(taskInstanceDao.updateDirtyFieldsById(TaskInstanceDirtyFields.of(taskInstance)));
+    }
+
+    @Test
+    void batchUpdateDirtyFieldsById() {
+        final TaskInstance running = createTaskInstance();
+        taskInstanceDao.insert(running);
+        final TaskInstance success = createTaskInstance();
+        taskInstanceDao.insert(success);
+        final TaskInstance failure = createTaskInstance();
+        taskInstanceDao.insert(failure);
+
+        final Date now = new Date();
+        running.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        running.setStartTime(now);
+        running.setLogPath("/tmp/running.log");
+        success.setState(TaskExecutionStatus.SUCCESS);
+        success.setEndTime(now);
+        success.setVarPool("[{\"prop\":\"a\",\"value\":\"1\"}]");
+        failure.setState(TaskExecutionStatus.FAILURE);
+        failure.setEndTime(now);
+        taskInstanceDao.batchUpdateDirtyFieldsById(Arrays.asList(
+                TaskInstanceDirtyFields.of(running).state().startTime().logPath(),
+                TaskInstanceDirtyFields.of(success).state().endTime().varPool(),
+                TaskInstanceDirtyFields.of(failure).state().endTime()));
+
+        final TaskInstance persistedRunning = taskInstanceDao.queryById(running.getId());
+        assertEquals(TaskExecutionStatus.RUNNING_EXECUTION, persistedRunning.getState());
+        assertEquals("/tmp/running.log", persistedRunning.getLogPath());
+        final TaskInstance persistedSuccess = taskInstanceDao.queryById(success.getId());
+        assertEquals(TaskExecutionStatus.SUCCESS, persistedSuccess.getState());
+        assertEquals(success.getVarPool(), persistedSuccess.getVarPool());
+        assertEquals(TaskExecutionStatus.FAILURE, taskInstanceDao.queryById(failure.getId()).getState());
+    }
+
+    @Test
+    void dirtyFieldsMerge_newerValueWins() {
+        final TaskInstance taskInstance = createTaskInstance();
+        taskInstance.setId(1);
+        taskInstance.setState(TaskExecutionStatus.DISPATCH);
+        taskInstance.setHost("127.0.0.1:1234");
+        final TaskInstanceDirtyFields dispatched = TaskInstanceDirtyFields.of(taskInstance).state().host();
+
+        taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        taskInstance.setLogPath("/tmp/running.log");
+        final TaskInstanceDirtyFields running = TaskInstanceDirtyFields.of(taskInstance).state().logPath();
+
+        final TaskInstanceDirtyFields merged = dispatched.merge(running);
+        assertEquals(TaskExecutionStatus.RUNNING_EXECUTION, merged.getState());
+        assertEquals("127.0.0.1:1234", merged.getHost());
+        assertEquals("/tmp/running.log", merged.getLogPath());
+        assertFalse(merged.isStartTimeDirty());
+        assertFalse(dispatched.isLogPathDirty());
+        assertEquals(TaskExecutionStatus.DISPATCH, dispatched.getState());
+    }
+
+    @Test
+    void queryLastSuccessByCacheKey() {
+        final Date now = new Date();
+        final TaskInstance expired = createCachedTaskInstance("key", TaskExecutionStatus.SUCCESS,
+                DateUtils.addDays(now, -10));
+        final TaskInstance success = createCachedTaskInstance("key", TaskExecutionStatus.SUCCESS, now);
+        createCachedTaskInstance("key", TaskExecutionStatus.FAILURE, now);
+        createCachedTaskInstance(TaskCacheUtils.generateTagCacheKey(success.getId(), "key"),
+                TaskExecutionStatus.SUCCESS, now);
+
+        assertEquals(success.getId(), taskInstanceDao.queryLastSuccessByCacheKey("key", null).getId());
+        assertEquals(success.getId(),
+                taskInstanceDao.queryLastSuccessByCacheKey("key", DateUtils.addDays(now, -1)).getId());
+
+        taskInstanceDao.deleteById(success.getId());
+        assertEquals(expired.getId(), taskInstanceDao.queryLastSuccessByCacheKey("key", null).getId());
+        assertNull(taskInstanceDao.queryLastSuccessByCacheKey("key", DateUtils.addDays(now, -1)));
+        assertNull(taskInstanceDao.queryLastSuccessByCacheKey("", null));
+    }
+
+    @Test
+    void updateDirtyFieldsById_cacheKey() {
+        final TaskInstance taskInstance = createTaskInstance();
+        taskInstanceDao.insert(taskInstance);
+
+        taskInstance.setCacheKey("key");
+        assertTrue(taskInstanceDao.updateDirtyFieldsById(TaskInstanceDirtyFields.of(taskInstance).cacheKey()));
+        assertEquals("key", taskInstanceDao.queryById(taskInstance.getId()).getCacheKey());
+    }
+
+    private TaskInstance createCachedTaskInstance(String cacheKey, TaskExecutionStatus state, Date endTime) {
+        final TaskInstance taskInstance = createTaskInstance();
+        taskInstance.setIsCache(Flag.YES);
+        taskInstance.setCacheKey(cacheKey);
+        taskInstance.setState(state);
+        taskInstance.setEndTime(endTime);
+        taskInstanceDao.insert(taskInstance);
+        return taskInstance;
+    }
+
+    private TaskInstance createTaskInstance() {
+        final TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setName("shell");
+        taskInstance.setTaskType("SHELL");
+        taskInstance.setTaskCode(1L);
+        taskInstance.setWorkflowInstanceId(1);
+        taskInstance.setProjectCode(1L);
+        taskInstance.setFlag(Flag.YES);
+        taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
+        taskInstance.setSubmitTime(new Date());
+        taskInstance.setTaskParams("{}");
+        taskInstance.setVarPool("[]");
+        return taskInstance;
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.dao.repository.impl;
 import static org.apache.commons.collections4.CollectionUtils.isEmpty;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -28,6 +29,9 @@ import org.apache.dolphinscheduler.dao.BaseDaoTest;
 import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
 import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceDao;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -68,6 +72,22 @@ class WorkflowInstanceDaoImplTest extends BaseDaoTest {
                 .queryByWorkflowCodeVersionStatus(workflowDefinitionCode, workflowDefinitionVersion, status).size());
     }
 
+    @Test
+    void insertBatch() {
+        final List<WorkflowInstance> workflowInstances = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            workflowInstances.add(createWorkflowInstance(1L, 1, WorkflowExecutionStatus.SUBMITTED_SUCCESS));
+        }
+        workflowInstanceDao.insertBatch(workflowInstances);
+
+        for (WorkflowInstance workflowInstance : workflowInstances) {
+            assertNotNull(workflowInstance.getId());
+            assertEquals(WorkflowExecutionStatus.SUBMITTED_SUCCESS,
+                    workflowInstanceDao.queryById(workflowInstance.getId()).getState());
+        }
+        assertEquals(3, workflowInstances.stream().map(WorkflowInstance::getId).distinct().count());
+    }
+
     @Test
     void updateWorkflowInstanceState_success() {
         WorkflowInstance workflowInstance = createWorkflowInstance(
@@ -18,14 +18,25 @@
 package org.apache.dolphinscheduler.eventbus;
 
 import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.DelayQueue;
 
 /**
  * The event bus that supports delay event.
+ * <p> The events are stored in a {@link DelayQueue} by default, a {@link TimingWheelDelayQueue} can be used instead when
+ * there are a lot of pending delayed events.
  */
 public abstract class AbstractDelayEventBus<T extends AbstractDelayEvent> implements IEventBus<T> {
 
-    protected final DelayQueue<T> delayEventQueue = new DelayQueue<>();
+    protected final BlockingQueue<T> delayEventQueue;
+
+    protected AbstractDelayEventBus() {
+        this(new DelayQueue<>());
+    }
+
+    protected AbstractDelayEventBus(final BlockingQueue<T> delayEventQueue) {
+        this.delayEventQueue = delayEventQueue;
+    }
 
     @Override
     public void publish(final T event) {
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.eventbus;
+
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The delay event bus which is consumed by a single thread at a time and published by multiple threads.
+ * <p> The event without delay is appended into a lock-free {@link MpscChunkedArrayQueue}, only the delayed event is
+ * stored in the delay queue, which is a {@link DelayQueue} by default. Once the delayed event expires, the consumer
+ * moves it to the tail of the ready events, so the delayed event is handled as if it's published when it expires.
+ * <p> The delay queue is only touched by the consumer when there are pending delayed events, and at most once per
+ * millisecond while there are ready events, so the publish and poll of the events without delay mostly never acquire a
+ * lock, the delayed event might be polled at most one millisecond later than its delay when the bus is busy.
+ * <p> The {@link #poll()}, {@link #pollEvent()}, {@link #peek()}, {@link #remove()} and {@link #returnEvent} can only be
+ * called by the consumer thread.
+ */
+public abstract class AbstractMpscDelayEventBus<T extends AbstractDelayEvent> implements IEventBus<T> {
+
+    private static final int DEFAULT_CHUNK_SIZE = 64;
+
+    private static final long DELAY_EVENT_CHECK_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final MpscChunkedArrayQueue<T> readyEventQueue;
+
+    private final BlockingQueue<T> delayEventQueue;
+
+    private final AtomicInteger delayEventCount = new AtomicInteger();
+
+    // Only accessed by the consumer
+    private long nextDelayEventCheckTime = System.nanoTime();
+
+    // The event returned by the consumer, which will be polled before the other events, only written by the consumer
+    private volatile T returnedEvent;
+
+    protected AbstractMpscDelayEventBus() {
+        this(new DelayQueue<>());
+    }
+
+    protected AbstractMpscDelayEventBus(final BlockingQueue<T> delayEventQueue) {
+        this(delayEventQueue, DEFAULT_CHUNK_SIZE);
+    }
+
+    protected AbstractMpscDelayEventBus(final BlockingQueue<T> delayEventQueue, final int chunkSize) {
+        this.readyEventQueue = new MpscChunkedArrayQueue<>(chunkSize);
+        this.delayEventQueue = delayEventQueue;
+    }
+
+    @Override
+    public void publish(final T event) {
+        if (event.getDelay(TimeUnit.NANOSECONDS) <= 0) {
+            readyEventQueue.offer(event);
+            return;
+        }
+        // Count the event before adding it, so the consumer never misses it after seeing the count is zero
+        delayEventCount.incrementAndGet();
+        delayEventQueue.offer(event);
+    }
+
+    /**
+     * Remove the head event from the bus, return null if there is no expired event.
+     * <p> This is the same as {@link #poll()} without wrapping the event, which is used in the hot loop of the consumer.
+     */
+    public T pollEvent() {
+        final T event = returnedEvent;
+        if (event != null) {
+            returnedEvent = null;
+            return event;
+        }
+        transferExpiredDelayEvents();
+        return readyEventQueue.poll();
+    }
+
+    /**
+     * Return the polled event back to the head of the bus, so it will be polled at first next time, e.g. the event
+     * failed to be handled and need to be retried.
+     *
+     * @throws IllegalStateException if the previous returned event has not been polled
+     */
+    public void returnEvent(final T event) {
+        if (returnedEvent != null) {
+            throw new IllegalStateException("The returned event: " + returnedEvent + " has not been polled");
+        }
+        returnedEvent = event;
+    }
+
+    @Override
+    public Optional<T> poll() {
+        return Optional.ofNullable(pollEvent());
+    }
+
+    @Override
+    public Optional<T> peek() {
+        final T event = returnedEvent;
+        if (event != null) {
+            return Optional.of(event);
+        }
+        transferExpiredDelayEvents();
+        return Optional.ofNullable(readyEventQueue.peek());
+    }
+
+    @Override
+    public Optional<T> remove() {
+        return poll();
+    }
+
+    /**
+     * Whether the bus is empty, the bus is not empty if there are pending delayed events even if they are not expired.
+     */
+    @Override
+    public boolean isEmpty() {
+        return returnedEvent == null && readyEventQueue.isEmpty() && delayEventCount.get() == 0;
+    }
+
+    private void transferExpiredDelayEvents() {
+        if (delayEventCount.get() == 0) {
+            return;
+        }
+        if (!readyEventQueue.isEmpty()) {
+            final long now = System.nanoTime();
+            if (now - nextDelayEventCheckTime < 0) {
+                return;
+            }
+            nextDelayEventCheckTime = now + DELAY_EVENT_CHECK_INTERVAL_NANOS;
+        }
+        T event;
+        while ((event = delayEventQueue.poll()) != null) {
+            readyEventQueue.offer(event);
+            delayEventCount.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.eventbus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel, each level has wheelSize buckets, the tick of a level is the interval of the level
+ * below, the timer whose deadline exceeds the interval of a level is put into the overflow level, and is moved to the
+ * lower level when the overflow bucket expires.
+ * <p> Adding a timer and advancing one tick are O(1), the time unit is decided by the caller, e.g. the milliseconds of
+ * the wall clock or the nanoseconds of {@link System#nanoTime()}.
+ * <p> This class is not thread-safe, it should be only accessed by one thread or under a lock.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tick;
+
+    private final int wheelSize;
+
+    private final long interval;
+
+    // The bucket is created when the first timer is added into it, so an idle wheel only holds the references
+    private final List<List<Timer<T>>> buckets;
+
+    // The start time of the current tick, it's always a multiple of tick
+    private long currentTime;
+
+    private int timerCount;
+
+    private HierarchicalTimingWheel<T> overflowWheel;
+
+    public HierarchicalTimingWheel(long tick, int wheelSize, long startTime) {
+        if (tick <= 0) {
+            throw new IllegalArgumentException("The tick: " + tick + " should be positive");
+        }
+        if (wheelSize < 2) {
+            throw new IllegalArgumentException("The wheelSize: " + wheelSize + " should be greater than 1");
+        }
+        this.tick = tick;
+        this.wheelSize = wheelSize;
+        this.interval = Math.multiplyExact(tick, wheelSize);
+        this.currentTime = floorToTick(startTime);
+        this.buckets = new ArrayList<>(Collections.nCopies(wheelSize, null));
+    }
+
+    /**
+     * Add a timer which expires at the deadline, the deadline is rounded up to the tick, so the timer never expires
+     * before the deadline and at most one tick after the deadline.
+     *
+     * @return false if the deadline is not after the current time, the timer is expired and not added.
+     */
+    public boolean add(long deadline, T item) {
+        final long due = Math.floorMod(deadline, tick) == 0 ? deadline : floorToTick(deadline) + tick;
+        return addTimer(new Timer<>(due, item));
+    }
+
+    /**
+     * Advance the wheel to the given time, the expired timers are passed to the consumer in the order of ticks.
+     */
+    public void advanceTo(long time, Consumer<T> expiredConsumer) {
+        if (isEmpty()) {
+            if (time - currentTime >= tick) {
+                currentTime = floorToTick(time);
+            }
+            overflowWheel = null;
+            return;
+        }
+        advance(time, timer -> {
+            if (!addTimer(timer)) {
+                expiredConsumer.accept(timer.item);
+            }
+        });
+    }
+
+    public long getCurrentTime() {
+        return currentTime;
+    }
+
+    /**
+     * Whether there is no timer in the wheel, including the overflow levels.
+     */
+    public boolean isEmpty() {
+        return timerCount == 0 && (overflowWheel == null || overflowWheel.isEmpty());
+    }
+
+    /**
+     * The earliest time that a timer in the wheel can expire at, it's {@link Long#MAX_VALUE} if the wheel is empty.
+     * <p> The time is not accurate, there may be no timer expires at that time, it can be used as the time to advance
+     * the wheel next time.
+     */
+    public long nextTickTime() {
+        if (timerCount > 0) {
+            return currentTime + tick;
+        }
+        return overflowWheel == null ? Long.MAX_VALUE : overflowWheel.nextTickTime();
+    }
+
+    /**
+     * Pass all the timers which are not expired to the consumer, the order is not specified.
+     */
+    public void forEach(Consumer<T> consumer) {
+        for (List<Timer<T>> bucket : buckets) {
+            if (bucket != null) {
+                bucket.forEach(timer -> consumer.accept(timer.item));
+            }
+        }
+        if (overflowWheel != null) {
+            overflowWheel.forEach(consumer);
+        }
+    }
+
+    private void advance(long time, Consumer<Timer<T>> reinsert) {
+        while (time - currentTime >= tick) {
+            if (timerCount == 0) {
+                // Skip the empty ticks, only the expired bucket of the overflow wheels can add timers into this level
+                final long skipTo = overflowWheel == null
+                        ? floorToTick(time)
+                        : Math.min(floorToTick(time), overflowWheel.nextTickTime() - tick);
+                if (skipTo > currentTime) {
+                    currentTime = skipTo;
+                    continue;
+                }
+            }
+            currentTime += tick;
+            if (overflowWheel != null) {
+                overflowWheel.advance(currentTime, reinsert);
+            }
+            expireBucket(reinsert);
+        }
+    }
+
+    private void expireBucket(Consumer<Timer<T>> reinsert) {
+        final int bucketIndex = bucketIndex(currentTime);
+        final List<Timer<T>> bucket = buckets.get(bucketIndex);
+        if (bucket == null || bucket.isEmpty()) {
+            return;
+        }
+        buckets.set(bucketIndex, null);
+        timerCount -= bucket.size();
+        bucket.forEach(reinsert);
+    }
+
+    private boolean addTimer(Timer<T> timer) {
+        if (timer.deadline - currentTime < tick) {
+            return false;
+        }
+        if (timer.deadline - currentTime < interval) {
+            final int bucketIndex = bucketIndex(timer.deadline);
+            List<Timer<T>> bucket = buckets.get(bucketIndex);
+            if (bucket == null) {
+                bucket = new ArrayList<>();
+                buckets.set(bucketIndex, bucket);
+            }
+            bucket.add(timer);
+            timerCount++;
+            return true;
+        }
+        if (overflowWheel == null) {
+            overflowWheel = new HierarchicalTimingWheel<>(interval, wheelSize, currentTime);
+        }
+        return overflowWheel.addTimer(timer);
+    }
+
+    private long floorToTick(long time) {
+        return time - Math.floorMod(time, tick);
+    }
+
+    private int bucketIndex(long time) {
+        return (int) Math.floorMod(Math.floorDiv(time, tick), (long) wheelSize);
+    }
+
+    private static class Timer<T> {
+
+        private final long deadline;
+
+        private final T item;
+
+        private Timer(long deadline, T item) {
+            this.deadline = deadline;
+            this.item = item;
+        }
+    }
+}
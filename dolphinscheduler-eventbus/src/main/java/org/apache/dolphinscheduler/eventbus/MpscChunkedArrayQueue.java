@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.eventbus;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * An unbounded lock-free multi-producer single-consumer FIFO queue, the elements are stored in linked fixed-size array
+ * chunks, so the offer only allocates a new chunk once per chunk size elements rather than a node per element.
+ * <p> The producer claims a slot of the tail chunk by a getAndIncrement, when the chunk is full the producers race to
+ * link the next chunk. The consumer reads the slots in order and moves to the next chunk once the chunk is consumed.
+ * <p> The {@link #poll()} and {@link #peek()} can only be called by a single consumer thread at a time. The poll might
+ * return null while a concurrent offer has claimed the slot but not yet written it, the {@link #isEmpty()} still return
+ * false in this case, the element can be polled once the offer returns.
+ */
+public class MpscChunkedArrayQueue<E> {
+
+    private final int chunkSize;
+
+    private final AtomicReference<Chunk<E>> producerChunk;
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    // Only accessed by the consumer
+    private Chunk<E> consumerChunk;
+
+    // Only accessed by the consumer
+    private int consumerIndex;
+
+    public MpscChunkedArrayQueue(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunkSize: " + chunkSize + " should be positive");
+        }
+        this.chunkSize = chunkSize;
+        this.consumerChunk = new Chunk<>(chunkSize);
+        this.producerChunk = new AtomicReference<>(consumerChunk);
+    }
+
+    /**
+     * Append the element at the tail of the queue, this method never blocks and can be called by any thread.
+     */
+    public void offer(E e) {
+        Objects.requireNonNull(e, "The element should not be null");
+        while (true) {
+            final Chunk<E> chunk = producerChunk.get();
+            final int index = chunk.claimed.getAndIncrement();
+            if (index < chunkSize) {
+                // Count the element before publishing it, so the size never goes negative after the poll
+                size.incrementAndGet();
+                chunk.slots.lazySet(index, e);
+                return;
+            }
+            // The chunk is full, link the next chunk if no other producer has done it
+            Chunk<E> next = chunk.next;
+            if (next == null) {
+                final Chunk<E> newChunk = new Chunk<>(chunkSize);
+                next = Chunk.NEXT_UPDATER.compareAndSet(chunk, null, newChunk) ? newChunk : chunk.next;
+            }
+            producerChunk.compareAndSet(chunk, next);
+        }
+    }
+
+    /**
+     * Remove the head element of the queue, return null if the queue is empty, can only be called by the consumer.
+     */
+    public E poll() {
+        final E e = peek();
+        if (e == null) {
+            return null;
+        }
+        // The chunk is not reused, so there is no need to clear the slot except to help the gc of the element
+        consumerChunk.slots.lazySet(consumerIndex, null);
+        consumerIndex++;
+        size.decrementAndGet();
+        return e;
+    }
+
+    /**
+     * Get the head element of the queue without removing it, return null if the queue is empty, can only be called by
+     * the consumer.
+     */
+    public E peek() {
+        if (consumerIndex == chunkSize) {
+            final Chunk<E> next = consumerChunk.next;
+            if (next == null) {
+                return null;
+            }
+            consumerChunk = next;
+            consumerIndex = 0;
+        }
+        return consumerChunk.slots.get(consumerIndex);
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    private static final class Chunk<E> {
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<Chunk, Chunk> NEXT_UPDATER =
+                AtomicReferenceFieldUpdater.newUpdater(Chunk.class, Chunk.class, "next");
+
+        private final AtomicReferenceArray<E> slots;
+
+        private final AtomicInteger claimed = new AtomicInteger();
+
+        private volatile Chunk<E> next;
+
+        private Chunk(int chunkSize) {
+            this.slots = new AtomicReferenceArray<>(chunkSize);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.eventbus;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An unbounded {@link BlockingQueue} of {@link Delayed} elements backed by a {@link HierarchicalTimingWheel}, it can be
+ * used instead of {@link java.util.concurrent.DelayQueue} when there are a lot of pending delayed elements.
+ * <p> The element whose delay is not positive is put into the ready queue directly, the others are put into the timing
+ * wheel, and moved into the ready queue once the tick of its deadline passes. So the element never expires before its
+ * delay and at most one tick after it. The expired elements are taken in the order of {@link Delayed#compareTo}, an
+ * expired element doesn't wait for an earlier one which is still delayed, which is different from the DelayQueue.
+ * <p> The producers only append the element into a lock-free queue, the consumer moves them into the timing wheel
+ * under the lock, so the producers don't contend with each other and the insert doesn't pay the O(log n) of a heap.
+ * <p> The iterator is a snapshot of the queue and doesn't support remove.
+ */
+public class TimingWheelDelayQueue<E extends Delayed> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    private final ConcurrentLinkedQueue<E> pendingQueue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicInteger waitingConsumers = new AtomicInteger();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition available = lock.newCondition();
+
+    // The time unit of the timing wheel is the nanoseconds of System.nanoTime, guarded by lock
+    private final HierarchicalTimingWheel<E> timingWheel;
+
+    // guarded by lock
+    private final PriorityQueue<E> readyQueue = new PriorityQueue<>();
+
+    public TimingWheelDelayQueue(long tickMillis, int wheelSize) {
+        this.timingWheel =
+                new HierarchicalTimingWheel<>(TimeUnit.MILLISECONDS.toNanos(tickMillis), wheelSize, System.nanoTime());
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e, "The element should not be null");
+        pendingQueue.offer(e);
+        size.incrementAndGet();
+        if (waitingConsumers.get() > 0) {
+            lock.lock();
+            try {
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void put(E e) {
+        offer(e);
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) {
+        return offer(e);
+    }
+
+    @Override
+    public E poll() {
+        lock.lock();
+        try {
+            return pollExpired();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                // Register as a waiting consumer before checking the pending queue, so the producer either sees the
+                // consumer and signals it, or the consumer sees the element
+                waitingConsumers.incrementAndGet();
+                try {
+                    final E e = pollExpired();
+                    if (e != null) {
+                        signalIfReady();
+                        return e;
+                    }
+                    awaitNextTick(Long.MAX_VALUE);
+                } finally {
+                    waitingConsumers.decrementAndGet();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long remainingNanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                waitingConsumers.incrementAndGet();
+                try {
+                    final E e = pollExpired();
+                    if (e != null) {
+                        signalIfReady();
+                        return e;
+                    }
+                    if (remainingNanos <= 0) {
+                        return null;
+                    }
+                    remainingNanos = awaitNextTick(remainingNanos);
+                } finally {
+                    waitingConsumers.decrementAndGet();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E peek() {
+        lock.lock();
+        try {
+            transferExpired();
+            return readyQueue.peek();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        lock.lock();
+        try {
+            int n = 0;
+            E e;
+            while (n < maxElements && (e = pollExpired()) != null) {
+                c.add(e);
+                n++;
+            }
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        final List<E> snapshot = new ArrayList<>(size());
+        lock.lock();
+        try {
+            snapshot.addAll(readyQueue);
+            timingWheel.forEach(snapshot::add);
+            snapshot.addAll(pendingQueue);
+        } finally {
+            lock.unlock();
+        }
+        return Collections.unmodifiableList(snapshot).iterator();
+    }
+
+    // guarded by lock, wake up another waiting consumer if there are still expired elements
+    private void signalIfReady() {
+        if (!readyQueue.isEmpty()) {
+            available.signal();
+        }
+    }
+
+    // guarded by lock
+    private E pollExpired() {
+        transferExpired();
+        final E e = readyQueue.poll();
+        if (e != null) {
+            size.decrementAndGet();
+        }
+        return e;
+    }
+
+    // guarded by lock
+    private void transferExpired() {
+        E e;
+        while ((e = pendingQueue.poll()) != null) {
+            final long delayNanos = e.getDelay(TimeUnit.NANOSECONDS);
+            // Read the clock after the delay, otherwise the deadline is earlier than the real one when draining a lot
+            // of pending elements takes time
+            if (delayNanos <= 0 || !timingWheel.add(System.nanoTime() + delayNanos, e)) {
+                readyQueue.add(e);
+            }
+        }
+        timingWheel.advanceTo(System.nanoTime(), readyQueue::add);
+    }
+
+    /**
+     * Wait until the next tick of the timing wheel or being signaled by the producer, should be called under the lock.
+     *
+     * @return the remaining nanos of the given max wait time
+     */
+    private long awaitNextTick(long maxWaitNanos) throws InterruptedException {
+        long waitNanos = maxWaitNanos;
+        final long nextTickTime = timingWheel.nextTickTime();
+        if (nextTickTime != Long.MAX_VALUE) {
+            waitNanos = Math.min(waitNanos, Math.max(nextTickTime - System.nanoTime(), 1));
+        }
+        if (waitNanos == Long.MAX_VALUE) {
+            available.await();
+            return Long.MAX_VALUE;
+        }
+        final long remainingNanos = available.awaitNanos(waitNanos);
+        return maxWaitNanos == Long.MAX_VALUE ? Long.MAX_VALUE : maxWaitNanos - (waitNanos - remainingNanos);
+    }
+}
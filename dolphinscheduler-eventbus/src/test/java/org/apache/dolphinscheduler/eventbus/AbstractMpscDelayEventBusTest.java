@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.eventbus;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+
+class AbstractMpscDelayEventBusTest {
+
+    @Test
+    void testPollEvent_readyEventsInPublishOrder() {
+        final TestEventBus eventBus = new TestEventBus();
+        assertThat(eventBus.isEmpty()).isTrue();
+        assertThat(eventBus.pollEvent()).isNull();
+
+        final TestEvent first = new TestEvent(0);
+        final TestEvent second = new TestEvent(0);
+        eventBus.publish(first);
+        eventBus.publish(second);
+
+        assertThat(eventBus.isEmpty()).isFalse();
+        assertThat(eventBus.peek()).hasValue(first);
+        assertThat(eventBus.pollEvent()).isSameInstanceAs(first);
+        assertThat(eventBus.poll()).hasValue(second);
+        assertThat(eventBus.remove()).isEmpty();
+        assertThat(eventBus.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testPollEvent_delayedEvent() {
+        final TestEventBus eventBus = new TestEventBus();
+        final TestEvent delayed = new TestEvent(200);
+        final TestEvent ready = new TestEvent(0);
+        eventBus.publish(delayed);
+        eventBus.publish(ready);
+
+        assertThat(eventBus.pollEvent()).isSameInstanceAs(ready);
+        assertThat(eventBus.pollEvent()).isNull();
+        // The pending delayed event keeps the bus not empty
+        assertThat(eventBus.isEmpty()).isFalse();
+
+        Awaitility.await()
+                .atMost(5, TimeUnit.SECONDS)
+                .until(() -> delayed.getDelay(TimeUnit.NANOSECONDS) <= 0);
+        assertThat(eventBus.pollEvent()).isSameInstanceAs(delayed);
+        assertThat(eventBus.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testReturnEvent() {
+        final TestEventBus eventBus = new TestEventBus();
+        final TestEvent first = new TestEvent(0);
+        final TestEvent second = new TestEvent(0);
+        eventBus.publish(first);
+        eventBus.publish(second);
+
+        assertThat(eventBus.pollEvent()).isSameInstanceAs(first);
+        eventBus.returnEvent(first);
+        assertThrows(IllegalStateException.class, () -> eventBus.returnEvent(second));
+
+        assertThat(eventBus.peek()).hasValue(first);
+        assertThat(eventBus.pollEvent()).isSameInstanceAs(first);
+        assertThat(eventBus.pollEvent()).isSameInstanceAs(second);
+        assertThat(eventBus.isEmpty()).isTrue();
+    }
+
+    private static class TestEventBus extends AbstractMpscDelayEventBus<TestEvent> {
+    }
+
+    private static class TestEvent extends AbstractDelayEvent {
+
+        private TestEvent(long delayTime) {
+            super(delayTime);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.eventbus;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void testAdvanceTo() {
+        final HierarchicalTimingWheel<String> timingWheel = new HierarchicalTimingWheel<>(1000, 10, 0);
+        assertThat(timingWheel.add(3500, "a")).isTrue();
+        assertThat(timingWheel.add(1000, "b")).isTrue();
+        assertThat(timingWheel.add(9999, "c")).isTrue();
+
+        final List<String> expired = new ArrayList<>();
+        timingWheel.advanceTo(3999, expired::add);
+        assertThat(expired).containsExactly("b").inOrder();
+
+        timingWheel.advanceTo(4000, expired::add);
+        assertThat(expired).containsExactly("b", "a").inOrder();
+
+        timingWheel.advanceTo(9999, expired::add);
+        assertThat(expired).containsExactly("b", "a").inOrder();
+
+        timingWheel.advanceTo(10_000, expired::add);
+        assertThat(expired).containsExactly("b", "a", "c").inOrder();
+        assertThat(timingWheel.getCurrentTime()).isEqualTo(10_000);
+    }
+
+    @Test
+    void testAdvanceTo_overflow() {
+        final HierarchicalTimingWheel<String> timingWheel = new HierarchicalTimingWheel<>(1000, 10, 0);
+        assertThat(timingWheel.add(10_500, "a")).isTrue();
+        assertThat(timingWheel.add(1_000_000, "b")).isTrue();
+        assertThat(timingWheel.add(35_000, "c")).isTrue();
+
+        final List<String> expired = new ArrayList<>();
+        timingWheel.advanceTo(10_999, expired::add);
+        assertThat(expired).isEmpty();
+
+        timingWheel.advanceTo(11_000, expired::add);
+        assertThat(expired).containsExactly("a");
+
+        timingWheel.advanceTo(34_999, expired::add);
+        assertThat(expired).containsExactly("a");
+
+        timingWheel.advanceTo(35_000, expired::add);
+        assertThat(expired).containsExactly("a", "c").inOrder();
+
+        timingWheel.advanceTo(999_999, expired::add);
+        assertThat(expired).containsExactly("a", "c").inOrder();
+
+        timingWheel.advanceTo(1_000_000, expired::add);
+        assertThat(expired).containsExactly("a", "c", "b").inOrder();
+    }
+
+    @Test
+    void testAdd_expired() {
+        final HierarchicalTimingWheel<String> timingWheel = new HierarchicalTimingWheel<>(1000, 10, 5500);
+        assertThat(timingWheel.getCurrentTime()).isEqualTo(5000);
+        assertThat(timingWheel.add(100, "a")).isFalse();
+        assertThat(timingWheel.add(5000, "b")).isFalse();
+        assertThat(timingWheel.add(5001, "c")).isTrue();
+    }
+
+    @Test
+    void testAdvanceTo_skipEmptyTicks() {
+        final HierarchicalTimingWheel<String> timingWheel = new HierarchicalTimingWheel<>(1, 8, 0);
+        assertThat(timingWheel.add(3, "a")).isTrue();
+        assertThat(timingWheel.add(1L << 40, "b")).isTrue();
+        assertThat(timingWheel.nextTickTime()).isEqualTo(1);
+
+        final List<String> expired = new ArrayList<>();
+        timingWheel.advanceTo(3, expired::add);
+        assertThat(expired).containsExactly("a");
+        assertThat(timingWheel.isEmpty()).isFalse();
+        assertThat(timingWheel.nextTickTime()).isGreaterThan(3L);
+
+        // Only the ticks which have timers are walked through, otherwise it never returns
+        timingWheel.advanceTo((1L << 40) - 1, expired::add);
+        assertThat(expired).containsExactly("a");
+        timingWheel.advanceTo(1L << 40, expired::add);
+        assertThat(expired).containsExactly("a", "b").inOrder();
+        assertThat(timingWheel.isEmpty()).isTrue();
+        assertThat(timingWheel.nextTickTime()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void testAdvanceTo_negativeTime() {
+        final HierarchicalTimingWheel<String> timingWheel = new HierarchicalTimingWheel<>(10, 4, -95);
+        assertThat(timingWheel.getCurrentTime()).isEqualTo(-100);
+        assertThat(timingWheel.add(-81, "a")).isTrue();
+        assertThat(timingWheel.add(-5, "b")).isTrue();
+
+        final List<String> expired = new ArrayList<>();
+        timingWheel.advanceTo(-81, expired::add);
+        assertThat(expired).isEmpty();
+        timingWheel.advanceTo(-80, expired::add);
+        assertThat(expired).containsExactly("a");
+        timingWheel.advanceTo(0, expired::add);
+        assertThat(expired).containsExactly("a", "b").inOrder();
+    }
+
+    @Test
+    void testForEach() {
+        final HierarchicalTimingWheel<String> timingWheel = new HierarchicalTimingWheel<>(1000, 10, 0);
+        timingWheel.add(1000, "a");
+        timingWheel.add(1_000_000, "b");
+
+        final List<String> timers = new ArrayList<>();
+        timingWheel.forEach(timers::add);
+        assertThat(timers).containsExactly("a", "b");
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.eventbus;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class MpscChunkedArrayQueueTest {
+
+    @Test
+    void testOfferAndPoll_acrossChunks() {
+        final MpscChunkedArrayQueue<Integer> queue = new MpscChunkedArrayQueue<>(4);
+        assertThat(queue.isEmpty()).isTrue();
+        assertThat(queue.poll()).isNull();
+
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+        }
+        assertThat(queue.size()).isEqualTo(10);
+        assertThat(queue.peek()).isEqualTo(0);
+        for (int i = 0; i < 10; i++) {
+            assertThat(queue.poll()).isEqualTo(i);
+        }
+        assertThat(queue.poll()).isNull();
+        assertThat(queue.peek()).isNull();
+        assertThat(queue.isEmpty()).isTrue();
+
+        queue.offer(10);
+        assertThat(queue.poll()).isEqualTo(10);
+    }
+
+    @Test
+    void testConstructor_invalidChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new MpscChunkedArrayQueue<>(0));
+    }
+
+    @Test
+    void testOffer_null() {
+        final MpscChunkedArrayQueue<Integer> queue = new MpscChunkedArrayQueue<>(4);
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+    }
+
+    @Test
+    void testPoll_concurrentProducers() throws Exception {
+        final MpscChunkedArrayQueue<Integer> queue = new MpscChunkedArrayQueue<>(8);
+        final int producerCount = 4;
+        final int elementCountPerProducer = 50_000;
+        final ExecutorService producers = Executors.newFixedThreadPool(producerCount);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < producerCount; i++) {
+                final int producer = i;
+                producers.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int j = 0; j < elementCountPerProducer; j++) {
+                        queue.offer(producer * elementCountPerProducer + j);
+                    }
+                });
+            }
+            start.countDown();
+
+            // The elements of the same producer are polled in the order of offer
+            final int[] lastPolled = new int[producerCount];
+            for (int i = 0; i < producerCount; i++) {
+                lastPolled[i] = -1;
+            }
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            int polledCount = 0;
+            while (polledCount < producerCount * elementCountPerProducer) {
+                assertThat(System.nanoTime()).isLessThan(deadline);
+                final Integer element = queue.poll();
+                if (element == null) {
+                    Thread.yield();
+                    continue;
+                }
+                final int producer = element / elementCountPerProducer;
+                final int sequence = element % elementCountPerProducer;
+                assertThat(sequence).isEqualTo(lastPolled[producer] + 1);
+                lastPolled[producer] = sequence;
+                polledCount++;
+            }
+            assertThat(queue.poll()).isNull();
+            assertThat(queue.isEmpty()).isTrue();
+        } finally {
+            producers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.eventbus;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelDelayQueueTest {
+
+    @Test
+    void testPoll_expiredInOrder() {
+        final TimingWheelDelayQueue<TestEvent> queue = new TimingWheelDelayQueue<>(10, 8);
+        final TestEvent first = new TestEvent(0, 1);
+        final TestEvent second = new TestEvent(0, 2);
+        queue.add(second);
+        queue.add(first);
+
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.peek()).isSameInstanceAs(first);
+        assertThat(queue.poll()).isSameInstanceAs(first);
+        assertThat(queue.poll()).isSameInstanceAs(second);
+        assertThat(queue.poll()).isNull();
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testPoll_notBeforeDelay() throws InterruptedException {
+        final TimingWheelDelayQueue<TestEvent> queue = new TimingWheelDelayQueue<>(10, 8);
+        final TestEvent delayed = new TestEvent(200, 1);
+        final TestEvent ready = new TestEvent(0, 2);
+        queue.add(delayed);
+        queue.add(ready);
+
+        // The expired event doesn't wait for the delayed event which is created earlier
+        assertThat(queue.poll()).isSameInstanceAs(ready);
+        assertThat(queue.poll()).isNull();
+        assertThat(queue.isEmpty()).isFalse();
+        assertThat(queue).containsExactly(delayed);
+
+        final TestEvent polled = queue.poll(5, TimeUnit.SECONDS);
+        assertThat(polled).isSameInstanceAs(delayed);
+        assertThat(delayed.getDelay(TimeUnit.NANOSECONDS)).isAtMost(0L);
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testPoll_timeout() throws InterruptedException {
+        final TimingWheelDelayQueue<TestEvent> queue = new TimingWheelDelayQueue<>(10, 8);
+        queue.add(new TestEvent(60_000, 1));
+        assertThat(queue.poll(50, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(queue.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testRemove_empty() {
+        final TimingWheelDelayQueue<TestEvent> queue = new TimingWheelDelayQueue<>(10, 8);
+        assertThrows(NoSuchElementException.class, queue::remove);
+    }
+
+    @Test
+    void testTake_signaledByProducer() throws Exception {
+        final TimingWheelDelayQueue<TestEvent> queue = new TimingWheelDelayQueue<>(10, 8);
+        final CompletableFuture<TestEvent> taken = CompletableFuture.supplyAsync(() -> {
+            try {
+                return queue.take();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        final TestEvent event = new TestEvent(0, 1);
+        queue.add(event);
+        assertThat(taken.get(5, TimeUnit.SECONDS)).isSameInstanceAs(event);
+    }
+
+    @Test
+    void testTake_concurrentProducers() throws Exception {
+        final TimingWheelDelayQueue<TestEvent> queue = new TimingWheelDelayQueue<>(1, 16);
+        final int producerCount = 4;
+        final int eventCountPerProducer = 5_000;
+        final ExecutorService producers = Executors.newFixedThreadPool(producerCount);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < producerCount; i++) {
+                final int producer = i;
+                producers.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int j = 0; j < eventCountPerProducer; j++) {
+                        queue.add(new TestEvent(j % 50, producer * eventCountPerProducer + j));
+                    }
+                });
+            }
+            start.countDown();
+
+            final List<TestEvent> taken = new ArrayList<>();
+            for (int i = 0; i < producerCount * eventCountPerProducer; i++) {
+                final TestEvent event = queue.poll(10, TimeUnit.SECONDS);
+                assertThat(event).isNotNull();
+                assertThat(event.getDelay(TimeUnit.NANOSECONDS)).isAtMost(0L);
+                taken.add(event);
+            }
+            assertThat(taken.stream().map(TestEvent::getId).distinct().count())
+                    .isEqualTo(producerCount * eventCountPerProducer);
+            assertThat(queue.isEmpty()).isTrue();
+        } finally {
+            producers.shutdownNow();
+        }
+    }
+
+    private static class TestEvent extends AbstractDelayEvent {
+
+        private final int id;
+
+        private TestEvent(long delayTime, int id) {
+            super(delayTime);
+            this.id = id;
+        }
+
+        private int getId() {
+            return id;
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Integer.compare(id, ((TestEvent) other).id);
+        }
+    }
+}
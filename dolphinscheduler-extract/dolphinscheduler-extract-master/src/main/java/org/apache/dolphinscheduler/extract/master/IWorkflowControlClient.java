@@ -19,8 +19,14 @@ package org.apache.dolphinscheduler.extract.master;
 
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.SubWorkflowInstanceFinishedNotifyRequest;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.SubWorkflowInstanceFinishedNotifyResponse;
 import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBackfillTriggerRequest;
 import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBackfillTriggerResponse;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBatchBackfillTriggerRequest;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBatchBackfillTriggerResponse;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBatchScheduleTriggerRequest;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBatchScheduleTriggerResponse;
 import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowInstancePauseRequest;
 import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowInstancePauseResponse;
 import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowInstanceRecoverFailureTasksRequest;
@@ -48,9 +54,15 @@ public interface IWorkflowControlClient {
     @RpcMethod
     WorkflowBackfillTriggerResponse backfillTriggerWorkflow(final WorkflowBackfillTriggerRequest workflowBackfillTriggerRequest);
 
+    @RpcMethod(timeout = 60_000)
+    WorkflowBatchBackfillTriggerResponse batchBackfillTriggerWorkflow(final WorkflowBatchBackfillTriggerRequest workflowBatchBackfillTriggerRequest);
+
     @RpcMethod
     WorkflowScheduleTriggerResponse scheduleTriggerWorkflow(final WorkflowScheduleTriggerRequest workflowScheduleTriggerRequest);
 
+    @RpcMethod
+    WorkflowBatchScheduleTriggerResponse batchScheduleTriggerWorkflow(final WorkflowBatchScheduleTriggerRequest workflowBatchScheduleTriggerRequest);
+
     @RpcMethod
     WorkflowInstanceRepeatRunningResponse repeatTriggerWorkflowInstance(final WorkflowInstanceRepeatRunningRequest workflowInstanceRepeatRunningRequest);
 
@@ -65,4 +77,10 @@ public interface IWorkflowControlClient {
 
     @RpcMethod
     WorkflowInstanceStopResponse stopWorkflowInstance(final WorkflowInstanceStopRequest workflowInstanceStopRequest);
+
+    /**
+     * Push the final state of a sub workflow instance to the master which is tracking it in the parent workflow.
+     */
+    @RpcMethod
+    SubWorkflowInstanceFinishedNotifyResponse notifySubWorkflowInstanceFinished(final SubWorkflowInstanceFinishedNotifyRequest subWorkflowInstanceFinishedNotifyRequest);
 }
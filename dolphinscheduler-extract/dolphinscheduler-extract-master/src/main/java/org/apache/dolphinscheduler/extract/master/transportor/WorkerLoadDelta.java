@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.master.transportor;
+
+import org.apache.dolphinscheduler.common.enums.ServerStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The load of a worker which is streamed to the masters, only the fields marked in {@link #changedFields} are carried.
+ * <p> A full snapshot carries all the fields and resets the base which the following deltas are applied on, the
+ * {@link #sequence} is used by the master to find out the missed deltas.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkerLoadDelta {
+
+    public static final int CPU_USAGE = 1;
+
+    public static final int MEMORY_USAGE = 1 << 1;
+
+    public static final int TASK_THREAD_POOL_USAGE = 1 << 2;
+
+    public static final int SERVER_STATUS = 1 << 3;
+
+    // The available cpu quota and memory which can be allocated to the tasks declaring them
+    public static final int AVAILABLE_RESOURCE = 1 << 4;
+
+    public static final int ALL_FIELDS =
+            CPU_USAGE | MEMORY_USAGE | TASK_THREAD_POOL_USAGE | SERVER_STATUS | AVAILABLE_RESOURCE;
+
+    private String workerAddress;
+
+    private long serverStartupTime;
+
+    private long sequence;
+
+    // The time when the load is collected, in the clock of the worker
+    private long reportTime;
+
+    private boolean fullSnapshot;
+
+    private int changedFields;
+
+    private double cpuUsage;
+
+    private double memoryUsage;
+
+    private double taskThreadPoolUsage;
+
+    private ServerStatus serverStatus;
+
+    private int availableCpuQuota;
+
+    private int availableMemoryMax;
+
+    public boolean isChanged(final int field) {
+        return (changedFields & field) != 0;
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.master.transportor.workflow;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkflowBatchScheduleTriggerResponse {
+
+    private boolean success;
+
+    private String message;
+
+    /**
+     * The ids of the created workflow instances, in the same order as the requests.
+     */
+    private List<Integer> workflowInstanceIds;
+
+    public static WorkflowBatchScheduleTriggerResponse fail(String message) {
+        return WorkflowBatchScheduleTriggerResponse.builder()
+                .success(false)
+                .message(message)
+                .build();
+    }
+
+    public static WorkflowBatchScheduleTriggerResponse success(List<Integer> workflowInstanceIds) {
+        return WorkflowBatchScheduleTriggerResponse.builder()
+                .success(true)
+                .workflowInstanceIds(workflowInstanceIds)
+                .build();
+    }
+
+}
@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.WorkerGroup;
 import org.apache.dolphinscheduler.dao.utils.WorkerGroupUtils;
+import org.apache.dolphinscheduler.extract.master.transportor.WorkerLoadDelta;
 
 import org.apache.commons.collections4.list.UnmodifiableList;
 
@@ -52,6 +53,9 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
     private final List<IClustersChangeListener<WorkerServerMetadata>> workerClusterChangeListeners =
             new CopyOnWriteArrayList<>();
 
+    // WorkerIdentifier(workerAddress) -> the sequence of the last applied load delta
+    private final Map<String, Long> workerLoadSequences = new ConcurrentHashMap<>();
+
     @Override
     public List<WorkerServerMetadata> getServers() {
         return UnmodifiableList.unmodifiableList(new ArrayList<>(workerMapping.values()));
@@ -147,8 +151,41 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
         return WorkerServerMetadata.parseFromHeartBeat(workerHeartBeat);
     }
 
+    /**
+     * Apply the load streamed from the worker, this is synchronized with the registry events.
+     *
+     * @return false if the delta cannot be applied, then the worker should send a full snapshot
+     */
+    public synchronized boolean onWorkerLoadReport(final WorkerLoadDelta workerLoadDelta) {
+        final String address = workerLoadDelta.getWorkerAddress();
+        final WorkerServerMetadata workerServer = workerMapping.get(address);
+        if (workerServer == null || workerServer.getServerStartupTime() != workerLoadDelta.getServerStartupTime()) {
+            // The worker is not registered or the registry event is not received yet
+            workerLoadSequences.remove(address);
+            return false;
+        }
+        final Long lastSequence = workerLoadSequences.get(address);
+        if (!workerLoadDelta.isFullSnapshot()
+                && (lastSequence == null || workerLoadDelta.getSequence() != lastSequence + 1)) {
+            workerLoadSequences.remove(address);
+            return false;
+        }
+        workerLoadSequences.put(address, workerLoadDelta.getSequence());
+        if (workerLoadDelta.getReportTime() < workerServer.getLoadReportTime()) {
+            // The heartbeat in registry is newer
+            return true;
+        }
+        final WorkerServerMetadata updatedWorkerServer = workerServer.applyLoadDelta(workerLoadDelta);
+        workerMapping.put(address, updatedWorkerServer);
+        for (IClustersChangeListener<WorkerServerMetadata> listener : workerClusterChangeListeners) {
+            listener.onServerUpdate(updatedWorkerServer);
+        }
+        return true;
+    }
+
     @Override
     public void onServerAdded(WorkerServerMetadata workerServer) {
+        workerLoadSequences.remove(workerServer.getAddress());
         workerMapping.put(workerServer.getAddress(), workerServer);
         synchronized (configWorkerGroupMapping) {
             List<String> addWorkerGroupAddrList = configWorkerGroupMapping.get(workerServer.getWorkerGroup());
@@ -168,7 +205,11 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
 
     @Override
     public void onServerRemove(WorkerServerMetadata workerServer) {
-        workerMapping.remove(workerServer.getAddress(), workerServer);
+        // The load of the worker might be updated by the load report, so only compare the startup time
+        workerMapping.computeIfPresent(workerServer.getAddress(),
+                (address, existWorkerServer) -> existWorkerServer.getServerStartupTime() == workerServer
+                        .getServerStartupTime() ? null : existWorkerServer);
+        workerLoadSequences.remove(workerServer.getAddress());
         synchronized (configWorkerGroupMapping) {
             List<String> removeWorkerGroupAddrList = configWorkerGroupMapping.get(workerServer.getWorkerGroup());
             if (removeWorkerGroupAddrList != null && removeWorkerGroupAddrList.contains(workerServer.getAddress())) {
@@ -185,6 +226,13 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
 
     @Override
     public void onServerUpdate(WorkerServerMetadata workerServer) {
+        final WorkerServerMetadata existWorkerServer = workerMapping.get(workerServer.getAddress());
+        if (existWorkerServer != null
+                && existWorkerServer.getServerStartupTime() == workerServer.getServerStartupTime()
+                && existWorkerServer.getLoadReportTime() > workerServer.getLoadReportTime()) {
+            // The load streamed from the worker is newer than the heartbeat in registry
+            workerServer = workerServer.withLoadOf(existWorkerServer);
+        }
         workerMapping.put(workerServer.getAddress(), workerServer);
         for (IClustersChangeListener<WorkerServerMetadata> listener : workerClusterChangeListeners) {
             listener.onServerUpdate(workerServer);
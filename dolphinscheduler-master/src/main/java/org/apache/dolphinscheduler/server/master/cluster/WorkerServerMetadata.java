@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.server.master.cluster;
 
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
+import org.apache.dolphinscheduler.extract.master.transportor.WorkerLoadDelta;
 
 import lombok.Builder;
 import lombok.Data;
@@ -39,6 +40,23 @@ public class WorkerServerMetadata extends BaseServerMetadata {
 
     private final double taskThreadPoolUsage;
 
+    // The time when the load is collected, in the clock of the worker
+    private final long loadReportTime;
+
+    // The cpu quota(percentage of a core) and memory(MB) which can be allocated to the tasks declaring them,
+    // -1 means not limited
+    @Builder.Default
+    private final int cpuQuotaCapacity = -1;
+
+    @Builder.Default
+    private final int availableCpuQuota = -1;
+
+    @Builder.Default
+    private final int memoryMaxCapacity = -1;
+
+    @Builder.Default
+    private final int availableMemoryMax = -1;
+
     public static WorkerServerMetadata parseFromHeartBeat(final WorkerHeartBeat workerHeartBeat) {
         return WorkerServerMetadata.builder()
                 .serverStartupTime(workerHeartBeat.getStartupTime())
@@ -49,6 +67,65 @@ public class WorkerServerMetadata extends BaseServerMetadata {
                 .serverStatus(workerHeartBeat.getServerStatus())
                 .workerWeight(workerHeartBeat.getWorkerHostWeight())
                 .taskThreadPoolUsage(workerHeartBeat.getThreadPoolUsage())
+                .loadReportTime(workerHeartBeat.getReportTime())
+                .cpuQuotaCapacity(workerHeartBeat.getCpuQuotaCapacity())
+                .availableCpuQuota(workerHeartBeat.getAvailableCpuQuota())
+                .memoryMaxCapacity(workerHeartBeat.getMemoryMaxCapacity())
+                .availableMemoryMax(workerHeartBeat.getAvailableMemoryMax())
+                .build();
+    }
+
+    /**
+     * Apply the load streamed from the worker, the load fields which are not changed in the delta are kept.
+     */
+    public WorkerServerMetadata applyLoadDelta(final WorkerLoadDelta workerLoadDelta) {
+        return WorkerServerMetadata.builder()
+                .serverStartupTime(getServerStartupTime())
+                .address(getAddress())
+                .workerGroup(workerGroup)
+                .workerWeight(workerWeight)
+                .cpuUsage(workerLoadDelta.isChanged(WorkerLoadDelta.CPU_USAGE)
+                        ? workerLoadDelta.getCpuUsage()
+                        : getCpuUsage())
+                .memoryUsage(workerLoadDelta.isChanged(WorkerLoadDelta.MEMORY_USAGE)
+                        ? workerLoadDelta.getMemoryUsage()
+                        : getMemoryUsage())
+                .taskThreadPoolUsage(workerLoadDelta.isChanged(WorkerLoadDelta.TASK_THREAD_POOL_USAGE)
+                        ? workerLoadDelta.getTaskThreadPoolUsage()
+                        : taskThreadPoolUsage)
+                .serverStatus(workerLoadDelta.isChanged(WorkerLoadDelta.SERVER_STATUS)
+                        ? workerLoadDelta.getServerStatus()
+                        : getServerStatus())
+                .loadReportTime(workerLoadDelta.getReportTime())
+                .cpuQuotaCapacity(cpuQuotaCapacity)
+                .availableCpuQuota(workerLoadDelta.isChanged(WorkerLoadDelta.AVAILABLE_RESOURCE)
+                        ? workerLoadDelta.getAvailableCpuQuota()
+                        : availableCpuQuota)
+                .memoryMaxCapacity(memoryMaxCapacity)
+                .availableMemoryMax(workerLoadDelta.isChanged(WorkerLoadDelta.AVAILABLE_RESOURCE)
+                        ? workerLoadDelta.getAvailableMemoryMax()
+                        : availableMemoryMax)
+                .build();
+    }
+
+    /**
+     * Replace the load fields with the given server's, the other fields are kept.
+     */
+    public WorkerServerMetadata withLoadOf(final WorkerServerMetadata workerServer) {
+        return WorkerServerMetadata.builder()
+                .serverStartupTime(getServerStartupTime())
+                .address(getAddress())
+                .workerGroup(workerGroup)
+                .workerWeight(workerWeight)
+                .cpuUsage(workerServer.getCpuUsage())
+                .memoryUsage(workerServer.getMemoryUsage())
+                .taskThreadPoolUsage(workerServer.getTaskThreadPoolUsage())
+                .serverStatus(workerServer.getServerStatus())
+                .loadReportTime(workerServer.getLoadReportTime())
+                .cpuQuotaCapacity(cpuQuotaCapacity)
+                .availableCpuQuota(workerServer.getAvailableCpuQuota())
+                .memoryMaxCapacity(memoryMaxCapacity)
+                .availableMemoryMax(workerServer.getAvailableMemoryMax())
                 .build();
     }
 
@@ -28,8 +28,11 @@ public class WorkerLoadBalancerConfigurationProperties {
 
     private DynamicWeightConfigProperties dynamicWeightConfigProperties = new DynamicWeightConfigProperties();
 
+    private DataLocalityConfigProperties dataLocalityConfigProperties = new DataLocalityConfigProperties();
+
     public void validate(Errors errors) {
         dynamicWeightConfigProperties.validated(errors);
+        dataLocalityConfigProperties.validated(errors);
     }
 
     @Data
@@ -58,4 +61,26 @@ public class WorkerLoadBalancerConfigurationProperties {
         }
 
     }
+
+    /**
+     * Prefer the worker which produced the upstream files of the task, see DataLocalityWorkerSelector.
+     */
+    @Data
+    public static class DataLocalityConfigProperties {
+
+        private boolean enabled = true;
+
+        /**
+         * The preferred worker is skipped once its task thread pool usage reaches this value.
+         */
+        private double maxTaskThreadPoolUsage = 0.9;
+
+        public void validated(Errors errors) {
+            if (maxTaskThreadPoolUsage <= 0 || maxTaskThreadPoolUsage > 1) {
+                errors.rejectValue("maxTaskThreadPoolUsage", "maxTaskThreadPoolUsage",
+                        "maxTaskThreadPoolUsage must in (0, 1]");
+            }
+        }
+
+    }
 }
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import org.apache.dolphinscheduler.eventbus.DelayQueueType;
+import org.apache.dolphinscheduler.eventbus.TimingWheelDelayQueue;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+/**
+ * The backing queue of the workflow event bus, the system event bus and the task dispatch waiting queue.
+ */
+@Data
+public class DelayQueueConfig {
+
+    /**
+     * DELAY_QUEUE or TIMING_WHEEL, the TIMING_WHEEL fits the master with a lot of pending delayed retries and timeouts.
+     */
+    private DelayQueueType type = DelayQueueType.DELAY_QUEUE;
+
+    /**
+     * The tick of the timing wheel, the delayed element expires at most one tick after its delay.
+     */
+    private Duration timingWheelTick = Duration.ofMillis(10);
+
+    /**
+     * The bucket count of each level of the timing wheel.
+     */
+    private int timingWheelSize = 512;
+
+    public <E extends Delayed> BlockingQueue<E> newDelayQueue() {
+        switch (type) {
+            case TIMING_WHEEL:
+                return new TimingWheelDelayQueue<>(timingWheelTick.toMillis(), timingWheelSize);
+            case DELAY_QUEUE:
+            default:
+                return new DelayQueue<>();
+        }
+    }
+
+    public void validate(Errors errors) {
+        if (type == null) {
+            errors.rejectValue("delay-queue.type", null, "should not be null");
+        }
+        if (timingWheelTick == null || timingWheelTick.toMillis() <= 0) {
+            errors.rejectValue("delay-queue.timing-wheel-tick", null, "should >= 1ms");
+        }
+        if (timingWheelSize < 2) {
+            errors.rejectValue("delay-queue.timing-wheel-size", null, "should > 1");
+        }
+    }
+}
@@ -64,6 +64,14 @@ public class MasterConfig implements Validator {
     private WorkerLoadBalancerConfigurationProperties workerLoadBalancerConfigurationProperties =
             new WorkerLoadBalancerConfigurationProperties();
 
+    private TaskInstanceGroupCommitConfig taskInstanceGroupCommit = new TaskInstanceGroupCommitConfig();
+
+    private TaskCacheConfig taskCache = new TaskCacheConfig();
+
+    private DelayQueueConfig delayQueue = new DelayQueueConfig();
+
+    private WorkflowCacheConfig workflowCache = new WorkflowCacheConfig();
+
     /**
      * The IP address and listening port of the master server in the format 'ip:listenPort'.
      */
@@ -102,6 +110,10 @@ public class MasterConfig implements Validator {
         }
         commandFetchStrategy.validate(errors);
         workerLoadBalancerConfigurationProperties.validate(errors);
+        taskInstanceGroupCommit.validate(errors);
+        taskCache.validate(errors);
+        delayQueue.validate(errors);
+        workflowCache.validate(errors);
 
         masterConfig.setMasterRegistryPath(
                 RegistryNodeType.MASTER.getRegistryPath() + "/" + masterConfig.getMasterAddress());
@@ -122,6 +134,10 @@ public class MasterConfig implements Validator {
                         "\n  command-fetch-strategy: " + commandFetchStrategy +
                         "\n  worker-load-balancer-configuration-properties: "
                         + workerLoadBalancerConfigurationProperties +
+                        "\n  task-instance-group-commit: " + taskInstanceGroupCommit +
+                        "\n  task-cache: " + taskCache +
+                        "\n  delay-queue: " + delayQueue +
+                        "\n  workflow-cache: " + workflowCache +
                         "\n****************************Master Configuration**************************************";
         log.info(config);
     }
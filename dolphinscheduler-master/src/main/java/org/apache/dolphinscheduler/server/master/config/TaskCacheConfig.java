@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+@Data
+public class TaskCacheConfig {
+
+    /**
+     * Whether to reuse the result of the previous success task instance for the task which enables the cache.
+     * <p> If disabled, the cache flag of the task definition is ignored and the task is always executed.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The result of the task instance which ends before this duration is not reused, 0 means never expire.
+     */
+    private Duration expireTime = Duration.ZERO;
+
+    public void validate(Errors errors) {
+        if (expireTime == null || expireTime.isNegative()) {
+            errors.rejectValue("task-cache.expire-time", null, "should not be negative");
+        }
+    }
+}
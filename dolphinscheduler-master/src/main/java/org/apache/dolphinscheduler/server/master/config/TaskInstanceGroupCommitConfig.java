@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+@Data
+public class TaskInstanceGroupCommitConfig {
+
+    /**
+     * Whether to group-commit the task instance state transitions from different workflows into batched updates.
+     * <p> If disabled, each transition is updated to DB directly on the workflow event bus fire thread.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The max count of task instance updates flushed in one batch.
+     */
+    private int maxBatchSize = 200;
+
+    public void validate(Errors errors) {
+        if (maxBatchSize <= 0) {
+            errors.rejectValue("task-instance-group-commit.max-batch-size", null, "should be a positive value");
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import lombok.Data;
+
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.Errors;
+
+@Data
+public class WorkflowCacheConfig {
+
+    /**
+     * The budget of the estimated heap occupied by the running workflows in the master, 0 means no limit.
+     * <p> Once the budget is exceeded, the master offloads the TaskExecutionContexts of the finished tasks from the
+     * largest running workflows, and stops consuming new commands until the estimate is within the budget, the
+     * commands are kept in the database and can be consumed by the other masters.
+     */
+    private DataSize memoryBudget = DataSize.ofBytes(0);
+
+    public boolean isMemoryBudgetEnabled() {
+        return memoryBudget.toBytes() > 0;
+    }
+
+    public void validate(Errors errors) {
+        if (memoryBudget == null || memoryBudget.isNegative()) {
+            errors.rejectValue("workflow-cache.memory-budget", null, "should not be negative");
+        }
+    }
+}
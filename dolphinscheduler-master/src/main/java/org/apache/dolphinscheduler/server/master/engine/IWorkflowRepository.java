@@ -35,4 +35,9 @@ public interface IWorkflowRepository {
 
     void remove(int workflowInstanceId);
 
+    /**
+     * Get the estimated heap bytes occupied by all the workflows in the repository.
+     */
+    long getEstimatedMemory();
+
 }
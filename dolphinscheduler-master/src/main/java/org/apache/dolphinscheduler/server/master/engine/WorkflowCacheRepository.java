@@ -17,29 +17,85 @@
 
 package org.apache.dolphinscheduler.server.master.engine;
 
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.engine.graph.IWorkflowExecutionGraph;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.metrics.WorkflowInstanceMetrics;
+import org.apache.dolphinscheduler.server.master.utils.WorkflowMemoryUtils;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
 
 import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 
+@Slf4j
 @Component
 public class WorkflowCacheRepository implements IWorkflowRepository {
 
+    /**
+     * Estimating the memory walks all the tasks of all the running workflows, so the estimate is cached and refreshed
+     * at most once in this interval, rather than every time the commands are polled or the metrics are collected.
+     */
+    private static final long DEFAULT_MEMORY_ESTIMATE_REFRESH_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
     private final Map<Integer, IWorkflowExecutionRunnable> workflowExecutionRunnableMap = new ConcurrentHashMap<>();
 
+    private final long memoryEstimateRefreshIntervalMillis;
+
+    private final long memoryBudgetBytes;
+
+    // The latest estimate of each workflow, used when a workflow is modified concurrently during the estimate
+    private Map<Integer, Long> workflowEstimatedMemoryMap = new HashMap<>();
+
+    // The estimate of the running workflows of each workflow definition, exported by the per-workflow gauges
+    private volatile Map<Long, Long> workflowDefinitionEstimatedMemoryMap = Collections.emptyMap();
+
+    private final Set<Long> registeredWorkflowDefinitionCodes = new HashSet<>();
+
+    private volatile long estimatedMemory;
+
+    private volatile long maxEstimatedMemory;
+
+    private volatile long latestMemoryEstimateTime;
+
+    @Autowired
+    public WorkflowCacheRepository(final MasterConfig masterConfig) {
+        this(DEFAULT_MEMORY_ESTIMATE_REFRESH_INTERVAL_MILLIS,
+                masterConfig.getWorkflowCache().getMemoryBudget().toBytes());
+    }
+
+    @VisibleForTesting
+    WorkflowCacheRepository(final long memoryEstimateRefreshIntervalMillis, final long memoryBudgetBytes) {
+        this.memoryEstimateRefreshIntervalMillis = memoryEstimateRefreshIntervalMillis;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+    }
+
     @PostConstruct
     public void registerMetrics() {
         WorkflowInstanceMetrics.registerWorkflowInstanceRunningGauge(workflowExecutionRunnableMap::size);
+        WorkflowInstanceMetrics.registerWorkflowInstanceEstimatedMemoryGauge(this::getEstimatedMemory);
+        WorkflowInstanceMetrics.registerWorkflowInstanceMaxEstimatedMemoryGauge(this::getMaxEstimatedMemory);
     }
 
     @Override
@@ -68,4 +124,164 @@ public class WorkflowCacheRepository implements IWorkflowRepository {
         return ImmutableList.copyOf(workflowExecutionRunnableMap.values());
     }
 
+    /**
+     * Get the cached estimate of the heap bytes occupied by all the workflows, it might lag behind for at most the
+     * refresh interval.
+     */
+    @Override
+    public long getEstimatedMemory() {
+        refreshMemoryEstimateIfNeeded();
+        return estimatedMemory;
+    }
+
+    /**
+     * Get the cached estimate of the heap bytes occupied by the largest workflow in the repository, 0 if there is no
+     * workflow.
+     */
+    public long getMaxEstimatedMemory() {
+        refreshMemoryEstimateIfNeeded();
+        return maxEstimatedMemory;
+    }
+
+    private void refreshMemoryEstimateIfNeeded() {
+        if (System.currentTimeMillis() - latestMemoryEstimateTime < memoryEstimateRefreshIntervalMillis) {
+            return;
+        }
+        synchronized (this) {
+            if (System.currentTimeMillis() - latestMemoryEstimateTime < memoryEstimateRefreshIntervalMillis) {
+                return;
+            }
+            final List<IWorkflowExecutionRunnable> workflowExecutionRunnables =
+                    new ArrayList<>(workflowExecutionRunnableMap.values());
+            final Map<Integer, Long> newWorkflowEstimatedMemoryMap = new HashMap<>();
+            long totalBytes = 0;
+            for (final IWorkflowExecutionRunnable workflowExecutionRunnable : workflowExecutionRunnables) {
+                final Integer workflowInstanceId = workflowExecutionRunnable.getId();
+                final long bytes = estimateMemory(workflowExecutionRunnable,
+                        workflowEstimatedMemoryMap.getOrDefault(workflowInstanceId, 0L));
+                newWorkflowEstimatedMemoryMap.put(workflowInstanceId, bytes);
+                totalBytes += bytes;
+            }
+            if (memoryBudgetBytes > 0 && totalBytes > memoryBudgetBytes) {
+                totalBytes = offloadUntilWithinBudget(workflowExecutionRunnables, newWorkflowEstimatedMemoryMap,
+                        totalBytes);
+            }
+            workflowEstimatedMemoryMap = newWorkflowEstimatedMemoryMap;
+            estimatedMemory = totalBytes;
+            maxEstimatedMemory = newWorkflowEstimatedMemoryMap.values()
+                    .stream()
+                    .mapToLong(Long::longValue)
+                    .max()
+                    .orElse(0L);
+            refreshWorkflowDefinitionEstimatedMemory(workflowExecutionRunnables, newWorkflowEstimatedMemoryMap);
+            latestMemoryEstimateTime = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Offload the TaskExecutionContexts of the finished tasks from the largest workflows until the estimate is within
+     * the budget. The workflows which wait for a long time, e.g. the streaming and the dependent workflows, usually
+     * hold most of the finished tasks, the offloaded context is rebuilt from the task instance on the next access.
+     */
+    private long offloadUntilWithinBudget(final List<IWorkflowExecutionRunnable> workflowExecutionRunnables,
+                                          final Map<Integer, Long> workflowEstimatedMemoryMap,
+                                          long totalBytes) {
+        final List<IWorkflowExecutionRunnable> largestFirst = new ArrayList<>(workflowExecutionRunnables);
+        largestFirst.sort(Comparator.comparingLong(
+                (IWorkflowExecutionRunnable workflow) -> workflowEstimatedMemoryMap.get(workflow.getId()))
+                .reversed());
+        for (final IWorkflowExecutionRunnable workflowExecutionRunnable : largestFirst) {
+            if (totalBytes <= memoryBudgetBytes) {
+                break;
+            }
+            if (offloadTaskExecutionContexts(workflowExecutionRunnable) == 0) {
+                continue;
+            }
+            final Integer workflowInstanceId = workflowExecutionRunnable.getId();
+            final long before = workflowEstimatedMemoryMap.get(workflowInstanceId);
+            final long after = estimateMemory(workflowExecutionRunnable, before);
+            workflowEstimatedMemoryMap.put(workflowInstanceId, after);
+            totalBytes += after - before;
+        }
+        return totalBytes;
+    }
+
+    private int offloadTaskExecutionContexts(final IWorkflowExecutionRunnable workflowExecutionRunnable) {
+        final IWorkflowExecutionGraph workflowExecutionGraph =
+                workflowExecutionRunnable.getWorkflowExecuteContext().getWorkflowExecutionGraph();
+        if (workflowExecutionGraph == null) {
+            return 0;
+        }
+        final List<ITaskExecutionRunnable> taskExecutionRunnables;
+        try {
+            taskExecutionRunnables = workflowExecutionGraph.getAllTaskExecutionRunnable();
+        } catch (ConcurrentModificationException ex) {
+            log.debug("The workflow: {} is modified during offloading, will offload it in the next refresh",
+                    workflowExecutionRunnable.getName());
+            return 0;
+        }
+        int offloadedCount = 0;
+        for (final ITaskExecutionRunnable taskExecutionRunnable : taskExecutionRunnables) {
+            if (taskExecutionRunnable.offloadTaskExecutionContext()) {
+                offloadedCount++;
+            }
+        }
+        if (offloadedCount > 0) {
+            log.info("Offloaded {} TaskExecutionContexts of the finished tasks in the workflow: {}", offloadedCount,
+                    workflowExecutionRunnable.getName());
+        }
+        return offloadedCount;
+    }
+
+    private void refreshWorkflowDefinitionEstimatedMemory(final List<IWorkflowExecutionRunnable> workflowExecutionRunnables,
+                                                          final Map<Integer, Long> workflowEstimatedMemoryMap) {
+        final Map<Long, Long> newWorkflowDefinitionEstimatedMemoryMap = new HashMap<>();
+        for (final IWorkflowExecutionRunnable workflowExecutionRunnable : workflowExecutionRunnables) {
+            final WorkflowInstance workflowInstance =
+                    workflowExecutionRunnable.getWorkflowExecuteContext().getWorkflowInstance();
+            if (workflowInstance == null || workflowInstance.getWorkflowDefinitionCode() == null) {
+                continue;
+            }
+            newWorkflowDefinitionEstimatedMemoryMap.merge(workflowInstance.getWorkflowDefinitionCode(),
+                    workflowEstimatedMemoryMap.get(workflowExecutionRunnable.getId()), Long::sum);
+        }
+        workflowDefinitionEstimatedMemoryMap = newWorkflowDefinitionEstimatedMemoryMap;
+
+        for (final Long workflowDefinitionCode : newWorkflowDefinitionEstimatedMemoryMap.keySet()) {
+            if (registeredWorkflowDefinitionCodes.add(workflowDefinitionCode)) {
+                WorkflowInstanceMetrics.registerWorkflowDefinitionEstimatedMemoryGauge(workflowDefinitionCode,
+                        () -> getWorkflowDefinitionEstimatedMemory(workflowDefinitionCode));
+            }
+        }
+        registeredWorkflowDefinitionCodes.removeIf(workflowDefinitionCode -> {
+            if (newWorkflowDefinitionEstimatedMemoryMap.containsKey(workflowDefinitionCode)) {
+                return false;
+            }
+            WorkflowInstanceMetrics.removeWorkflowDefinitionEstimatedMemoryGauge(workflowDefinitionCode);
+            return true;
+        });
+    }
+
+    /**
+     * Get the cached estimate of the heap bytes occupied by the running workflows of the given workflow definition,
+     * it's refreshed together with the total estimate.
+     */
+    @VisibleForTesting
+    long getWorkflowDefinitionEstimatedMemory(final Long workflowDefinitionCode) {
+        return workflowDefinitionEstimatedMemoryMap.getOrDefault(workflowDefinitionCode, 0L);
+    }
+
+    private long estimateMemory(final IWorkflowExecutionRunnable workflowExecutionRunnable,
+                                final long latestEstimatedMemory) {
+        try {
+            return WorkflowMemoryUtils.estimateMemory(workflowExecutionRunnable);
+        } catch (ConcurrentModificationException ex) {
+            // The params of the tasks are plain maps modified by the workflow event thread, it's fine to keep the
+            // latest estimate of this workflow and estimate it again in the next refresh.
+            log.debug("The workflow: {} is modified during estimating the memory, use the latest estimate: {} bytes",
+                    workflowExecutionRunnable.getName(), latestEstimatedMemory);
+            return latestEstimatedMemory;
+        }
+    }
+
 }
@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.server.master.engine;
 
 import org.apache.dolphinscheduler.server.master.engine.command.CommandEngine;
 import org.apache.dolphinscheduler.server.master.engine.executor.LogicTaskEngineDelegator;
+import org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceGroupCommitter;
 import org.apache.dolphinscheduler.server.master.runner.GlobalTaskDispatchWaitingQueueLooper;
 
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +31,9 @@ import org.springframework.stereotype.Component;
 @Component
 public class WorkflowEngine implements AutoCloseable {
 
+    @Autowired
+    private TaskInstanceGroupCommitter taskInstanceGroupCommitter;
+
     @Autowired
     private TaskGroupCoordinator taskGroupCoordinator;
 
@@ -47,6 +51,8 @@ public class WorkflowEngine implements AutoCloseable {
 
     public void start() {
 
+        taskInstanceGroupCommitter.start();
+
         taskGroupCoordinator.start();
 
         workflowEventBusCoordinator.start();
@@ -62,7 +68,9 @@ public class WorkflowEngine implements AutoCloseable {
 
     @Override
     public void close() throws Exception {
+        // The group committer is declared first so that it is closed last, after the event producers have stopped
         try (
+                final TaskInstanceGroupCommitter ignore0 = taskInstanceGroupCommitter;
                 final CommandEngine ignore1 = commandEngine;
                 final WorkflowEventBusCoordinator ignore2 = workflowEventBusCoordinator;
                 final GlobalTaskDispatchWaitingQueueLooper ignore3 =
@@ -17,8 +17,9 @@
 
 package org.apache.dolphinscheduler.server.master.engine;
 
-import org.apache.dolphinscheduler.eventbus.AbstractDelayEventBus;
+import org.apache.dolphinscheduler.eventbus.AbstractMpscDelayEventBus;
 
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import lombok.Data;
@@ -28,17 +29,28 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * The event bus for workflow, this is used to store the whole event in a workflow instance include the task event and the workflow event.
+ * <p> The events of a workflow instance are only fired by the {@link WorkflowEventBusFireWorker} which the workflow is
+ * registered to, so the bus is consumed by a single thread and the events without delay never acquire a lock.
  */
 @Slf4j
 @Getter
-public class WorkflowEventBus extends AbstractDelayEventBus<AbstractLifecycleEvent> {
+public class WorkflowEventBus extends AbstractMpscDelayEventBus<AbstractLifecycleEvent> {
 
     private final WorkflowEventBusSummary workflowEventBusSummary = new WorkflowEventBusSummary();
 
+    public WorkflowEventBus() {
+        super();
+    }
+
+    public WorkflowEventBus(final BlockingQueue<AbstractLifecycleEvent> delayEventQueue) {
+        super(delayEventQueue);
+    }
+
+    @Override
     public void publish(final AbstractLifecycleEvent event) {
         super.publish(event);
         workflowEventBusSummary.increaseEventCount();
-        log.info("Publish event: {}", event);
+        log.debug("Publish event: {}", event);
     }
 
     @Data
@@ -34,7 +34,6 @@ import org.apache.commons.collections4.MapUtils;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -108,12 +107,8 @@ public class WorkflowEventBusFireWorker {
 
     private void doFireSingleWorkflowEventBus(final IWorkflowExecutionRunnable workflowExecutionRunnable) {
         final WorkflowEventBus workflowEventBus = workflowExecutionRunnable.getWorkflowEventBus();
-        while (!workflowEventBus.isEmpty()) {
-            Optional<AbstractLifecycleEvent> eventOptional = workflowEventBus.poll();
-            if (!eventOptional.isPresent()) {
-                return;
-            }
-            final AbstractLifecycleEvent lifecycleEvent = eventOptional.get();
+        AbstractLifecycleEvent lifecycleEvent;
+        while ((lifecycleEvent = workflowEventBus.pollEvent()) != null) {
             try {
                 // Since we will print the event count at FinalizeEventHandler
                 // So we increase the event count before the event fired then we can get the correct event count
@@ -124,7 +119,8 @@ public class WorkflowEventBusFireWorker {
                 // If the database connection is failed, do not remove the event from the event bus
                 // so that the event can be fired again when the database connection is recovered
                 if (ExceptionUtils.isDatabaseConnectedFailedException(ex)) {
-                    workflowEventBus.publish(lifecycleEvent);
+                    workflowEventBus.getWorkflowEventBusSummary().decreaseFireSuccessEventCount();
+                    workflowEventBus.returnEvent(lifecycleEvent);
                     ThreadUtils.sleep(5_000);
                     return;
                 }
@@ -30,6 +30,7 @@ import org.apache.dolphinscheduler.meter.metrics.MetricsProvider;
 import org.apache.dolphinscheduler.meter.metrics.SystemMetrics;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.config.MasterServerLoadProtection;
+import org.apache.dolphinscheduler.server.master.config.WorkflowCacheConfig;
 import org.apache.dolphinscheduler.server.master.engine.IWorkflowRepository;
 import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBusCoordinator;
 import org.apache.dolphinscheduler.server.master.engine.exceptions.CommandDuplicateHandleException;
@@ -46,6 +47,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -80,8 +82,15 @@ public class CommandEngine extends BaseDaemonThread implements AutoCloseable {
     @Autowired
     private WorkflowEventBusCoordinator workflowEventBusCoordinator;
 
+    /**
+     * The budget check runs in every loop, so the warning is logged at most once in this interval.
+     */
+    private static final long MEMORY_BUDGET_EXCEEDED_LOG_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
     private ExecutorService commandHandleThreadPool;
 
+    private long latestMemoryBudgetExceededLogTime;
+
     private boolean flag = false;
 
     protected CommandEngine() {
@@ -118,6 +127,11 @@ public class CommandEngine extends BaseDaemonThread implements AutoCloseable {
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                     continue;
                 }
+                if (isWorkflowMemoryBudgetExceeded()) {
+                    MasterServerMetrics.incMasterWorkflowMemoryBudgetExceeded();
+                    Thread.sleep(Constants.SLEEP_TIME_MILLIS);
+                    continue;
+                }
                 List<Command> commands = commandFetcher.fetchCommands();
                 if (CollectionUtils.isEmpty(commands)) {
                     // indicate that no command ,sleep for 1s
@@ -146,6 +160,25 @@ public class CommandEngine extends BaseDaemonThread implements AutoCloseable {
         }
     }
 
+    private boolean isWorkflowMemoryBudgetExceeded() {
+        final WorkflowCacheConfig workflowCacheConfig = masterConfig.getWorkflowCache();
+        if (!workflowCacheConfig.isMemoryBudgetEnabled()) {
+            return false;
+        }
+        final long estimatedMemory = workflowRepository.getEstimatedMemory();
+        final long memoryBudget = workflowCacheConfig.getMemoryBudget().toBytes();
+        if (estimatedMemory < memoryBudget) {
+            return false;
+        }
+        final long now = System.currentTimeMillis();
+        if (now - latestMemoryBudgetExceededLogTime >= MEMORY_BUDGET_EXCEEDED_LOG_INTERVAL_MILLIS) {
+            log.warn("The estimated memory: {} bytes of the running workflows exceeds the budget: {} bytes,"
+                    + " cannot consumes commands.", estimatedMemory, memoryBudget);
+            latestMemoryBudgetExceededLogTime = now;
+        }
+        return true;
+    }
+
     private CompletableFuture<IWorkflowExecutionRunnable> bootstrapCommand(Command command) {
         return supplyAsync(
                 () -> workflowExecutionRunnableFactory.createWorkflowExecuteRunnable(command), commandHandleThreadPool);
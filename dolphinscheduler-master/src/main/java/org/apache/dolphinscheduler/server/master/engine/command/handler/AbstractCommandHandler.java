@@ -30,6 +30,7 @@ import org.apache.dolphinscheduler.dao.repository.ProjectDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.dao.repository.WorkflowDefinitionLogDao;
 import org.apache.dolphinscheduler.extract.master.command.ICommandParam;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBus;
 import org.apache.dolphinscheduler.server.master.engine.command.ICommandHandler;
 import org.apache.dolphinscheduler.server.master.engine.graph.IWorkflowGraph;
@@ -69,6 +70,9 @@ public abstract class AbstractCommandHandler implements ICommandHandler {
     @Autowired
     protected ProjectDao projectDao;
 
+    @Autowired
+    protected MasterConfig masterConfig;
+
     @Override
     public WorkflowExecutionRunnable handleCommand(final Command command) {
         final WorkflowExecuteContextBuilder workflowExecuteContextBuilder = WorkflowExecuteContext.builder()
@@ -92,7 +96,8 @@ public abstract class AbstractCommandHandler implements ICommandHandler {
 
     protected void assembleWorkflowEventBus(
                                             final WorkflowExecuteContextBuilder workflowExecuteContextBuilder) {
-        workflowExecuteContextBuilder.setWorkflowEventBus(new WorkflowEventBus());
+        workflowExecuteContextBuilder
+                .setWorkflowEventBus(new WorkflowEventBus(masterConfig.getDelayQueue().newDelayQueue()));
     }
 
     protected void assembleWorkflowInstanceLifecycleListeners(
@@ -24,7 +24,6 @@ import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceDao;
-import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteContext.WorkflowExecuteContextBuilder;
 
 import java.util.Date;
@@ -49,9 +48,6 @@ public class ReRunWorkflowCommandHandler extends RunWorkflowCommandHandler {
     @Autowired
     private ApplicationContext applicationContext;
 
-    @Autowired
-    private MasterConfig masterConfig;
-
     /**
      * Generate the repeat running workflow instance.
      * <p> Will use the origin workflow instance, but will update the following fields. Need to note we cannot not
@@ -28,7 +28,6 @@ import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceDao;
 import org.apache.dolphinscheduler.extract.master.command.ICommandParam;
 import org.apache.dolphinscheduler.extract.master.command.RunWorkflowCommandParam;
 import org.apache.dolphinscheduler.plugin.task.api.model.Property;
-import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.engine.graph.IWorkflowGraph;
 import org.apache.dolphinscheduler.server.master.engine.graph.WorkflowExecutionGraph;
 import org.apache.dolphinscheduler.server.master.engine.graph.WorkflowGraphTopologyLogicalVisitor;
@@ -63,9 +62,6 @@ public class RunWorkflowCommandHandler extends AbstractCommandHandler {
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
-    @Autowired
-    private MasterConfig masterConfig;
-
     @Autowired
     private ApplicationContext applicationContext;
 
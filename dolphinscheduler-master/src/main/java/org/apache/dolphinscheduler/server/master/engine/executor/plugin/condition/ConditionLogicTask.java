@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.server.master.engine.executor.plugin.conditi
 
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceDirtyFields;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.enums.DependResult;
@@ -68,6 +69,8 @@ public class ConditionLogicTask extends AbstractLogicTask<ConditionsParameters>
         taskParameters.getConditionResult().setConditionSuccess(conditionResult == DependResult.SUCCESS);
 
         taskInstance.setTaskParams(JSONUtils.toJsonString(taskParameters));
+        // The success transition only persists the state columns, the condition result is persisted here
+        taskInstanceDao.updateDirtyFieldsById(TaskInstanceDirtyFields.of(taskInstance).taskParams());
 
         onTaskSuccess();
     }
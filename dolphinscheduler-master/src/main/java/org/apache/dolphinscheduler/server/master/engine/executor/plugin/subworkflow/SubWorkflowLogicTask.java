@@ -62,6 +62,8 @@ public class SubWorkflowLogicTask extends AbstractLogicTask<SubWorkflowParameter
 
     private ITaskExecutor taskExecutor;
 
+    private boolean subWorkflowTriggered;
+
     public SubWorkflowLogicTask(final TaskExecutionContext taskExecutionContext,
                                 final IWorkflowExecutionRunnable workflowExecutionRunnable,
                                 final ITaskExecutor taskExecutor,
@@ -85,9 +87,12 @@ public class SubWorkflowLogicTask extends AbstractLogicTask<SubWorkflowParameter
         taskExecutor.getTaskExecutorEventBus()
                 .publish(TaskExecutorRuntimeContextChangedLifecycleEvent.of(taskExecutor));
 
-        subWorkflowTracker = new SubWorkflowTracker(
-                subWorkflowLogicTaskRuntimeContext,
-                applicationContext.getBean(WorkflowInstanceDao.class));
+        final WorkflowInstanceDao workflowInstanceDao = applicationContext.getBean(WorkflowInstanceDao.class);
+        subWorkflowTracker = subWorkflowTriggered
+                ? SubWorkflowTracker.ofTriggeredSubWorkflow(subWorkflowLogicTaskRuntimeContext, workflowInstanceDao)
+                : new SubWorkflowTracker(subWorkflowLogicTaskRuntimeContext, workflowInstanceDao);
+        applicationContext.getBean(SubWorkflowTrackerRepository.class)
+                .register(subWorkflowTracker.getSubWorkflowInstanceId(), subWorkflowTracker);
     }
 
     @Override
@@ -97,6 +102,10 @@ public class SubWorkflowLogicTask extends AbstractLogicTask<SubWorkflowParameter
             return taskExecutionStatus;
         }
         taskExecutionStatus = subWorkflowTracker.getSubWorkflowState();
+        if (taskExecutionStatus.isFinished()) {
+            applicationContext.getBean(SubWorkflowTrackerRepository.class)
+                    .unregister(subWorkflowTracker.getSubWorkflowInstanceId(), subWorkflowTracker);
+        }
         return taskExecutionStatus;
     }
 
@@ -223,6 +232,7 @@ public class SubWorkflowLogicTask extends AbstractLogicTask<SubWorkflowParameter
         final Integer subWorkflowInstanceId = applicationContext
                 .getBean(SubWorkflowControlClient.class)
                 .triggerSubWorkflow(workflowManualTriggerRequest);
+        subWorkflowTriggered = true;
         return SubWorkflowLogicTaskRuntimeContext.of(subWorkflowInstanceId);
     }
 
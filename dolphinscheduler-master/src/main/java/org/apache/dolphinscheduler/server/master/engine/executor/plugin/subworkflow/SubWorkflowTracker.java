@@ -17,34 +17,114 @@
 
 package org.apache.dolphinscheduler.server.master.engine.executor.plugin.subworkflow;
 
+import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
 import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
 import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
+import java.util.concurrent.TimeUnit;
+
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Track the state of the sub workflow instance.
+ * <p> The sub workflow instance pushes its final state by {@link #onSubWorkflowFinished(WorkflowExecutionStatus)}
+ * when it is finalized, the database is only queried every reconcile interval, as a safety net in case the push is
+ * lost, e.g. the sub workflow has been failover.
+ */
 @Slf4j
 public class SubWorkflowTracker {
 
+    static final long DEFAULT_RECONCILE_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+
     private final WorkflowInstanceDao workflowInstanceDao;
 
     private final SubWorkflowLogicTaskRuntimeContext subWorkflowLogicTaskRuntimeContext;
 
+    private final long reconcileInterval;
+
+    private volatile WorkflowExecutionStatus finishedSubWorkflowState;
+
+    private long latestReconcileTime;
+
     public SubWorkflowTracker(final SubWorkflowLogicTaskRuntimeContext subWorkflowLogicTaskRuntimeContext,
                               final WorkflowInstanceDao workflowInstanceDao) {
+        this(subWorkflowLogicTaskRuntimeContext, workflowInstanceDao, DEFAULT_RECONCILE_INTERVAL);
+    }
+
+    SubWorkflowTracker(final SubWorkflowLogicTaskRuntimeContext subWorkflowLogicTaskRuntimeContext,
+                       final WorkflowInstanceDao workflowInstanceDao,
+                       final long reconcileInterval) {
+        // The sub workflow has just been recovered, its state in db might be the state of the previous run
+        this(subWorkflowLogicTaskRuntimeContext, workflowInstanceDao, reconcileInterval, System.currentTimeMillis());
+    }
+
+    private SubWorkflowTracker(final SubWorkflowLogicTaskRuntimeContext subWorkflowLogicTaskRuntimeContext,
+                               final WorkflowInstanceDao workflowInstanceDao,
+                               final long reconcileInterval,
+                               final long latestReconcileTime) {
         this.subWorkflowLogicTaskRuntimeContext = subWorkflowLogicTaskRuntimeContext;
         this.workflowInstanceDao = workflowInstanceDao;
+        this.reconcileInterval = reconcileInterval;
+        this.latestReconcileTime = latestReconcileTime;
+    }
+
+    /**
+     * Create the tracker of a newly triggered sub workflow instance.
+     * <p> The state in db belongs to this run, so the first track reconciles from db at once. This covers the sub
+     * workflow which is finished before the tracker is registered, whose push is received by nobody.
+     */
+    public static SubWorkflowTracker ofTriggeredSubWorkflow(final SubWorkflowLogicTaskRuntimeContext subWorkflowLogicTaskRuntimeContext,
+                                                            final WorkflowInstanceDao workflowInstanceDao) {
+        return ofTriggeredSubWorkflow(subWorkflowLogicTaskRuntimeContext, workflowInstanceDao,
+                DEFAULT_RECONCILE_INTERVAL);
+    }
+
+    static SubWorkflowTracker ofTriggeredSubWorkflow(final SubWorkflowLogicTaskRuntimeContext subWorkflowLogicTaskRuntimeContext,
+                                                     final WorkflowInstanceDao workflowInstanceDao,
+                                                     final long reconcileInterval) {
+        return new SubWorkflowTracker(subWorkflowLogicTaskRuntimeContext, workflowInstanceDao, reconcileInterval, 0);
+    }
+
+    public Integer getSubWorkflowInstanceId() {
+        return subWorkflowLogicTaskRuntimeContext.getSubWorkflowInstanceId();
+    }
+
+    /**
+     * Called when the sub workflow instance is finalized.
+     */
+    public void onSubWorkflowFinished(final @NonNull WorkflowExecutionStatus subWorkflowState) {
+        log.info("Receive the SubWorkflow instance: {} finished with state: {}", getSubWorkflowInstanceId(),
+                subWorkflowState);
+        finishedSubWorkflowState = subWorkflowState;
     }
 
     public @NonNull TaskExecutionStatus getSubWorkflowState() {
-        final Integer subWorkflowInstanceId = subWorkflowLogicTaskRuntimeContext.getSubWorkflowInstanceId();
+        final WorkflowExecutionStatus finishedState = finishedSubWorkflowState;
+        if (finishedState != null) {
+            return toTaskExecutionStatus(finishedState);
+        }
+        final long now = System.currentTimeMillis();
+        if (now - latestReconcileTime < reconcileInterval) {
+            return TaskExecutionStatus.RUNNING_EXECUTION;
+        }
+        latestReconcileTime = now;
+        return reconcileSubWorkflowState();
+    }
+
+    private TaskExecutionStatus reconcileSubWorkflowState() {
+        final Integer subWorkflowInstanceId = getSubWorkflowInstanceId();
         final WorkflowInstance subWorkflowInstance = workflowInstanceDao.queryById(subWorkflowInstanceId);
         if (subWorkflowInstance == null) {
             log.info("Cannot find the SubWorkflow instance: {}, maybe it has been deleted", subWorkflowInstanceId);
             return TaskExecutionStatus.FAILURE;
         }
-        switch (subWorkflowInstance.getState()) {
+        return toTaskExecutionStatus(subWorkflowInstance.getState());
+    }
+
+    private TaskExecutionStatus toTaskExecutionStatus(final WorkflowExecutionStatus subWorkflowState) {
+        switch (subWorkflowState) {
             case PAUSE:
                 return TaskExecutionStatus.PAUSE;
             case STOP:
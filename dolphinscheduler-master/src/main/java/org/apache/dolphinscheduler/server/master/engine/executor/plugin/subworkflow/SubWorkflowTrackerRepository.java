@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.executor.plugin.subworkflow;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.NonNull;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the {@link SubWorkflowTracker}s of the running SubWorkflowLogicTasks in this master, keyed by the sub
+ * workflow instance id, so that the finished sub workflow can push its state to the tracker.
+ */
+@Component
+public class SubWorkflowTrackerRepository {
+
+    private final Map<Integer, SubWorkflowTracker> subWorkflowTrackerMap = new ConcurrentHashMap<>();
+
+    public void register(final @NonNull Integer subWorkflowInstanceId, final @NonNull SubWorkflowTracker tracker) {
+        subWorkflowTrackerMap.put(subWorkflowInstanceId, tracker);
+    }
+
+    public void unregister(final @NonNull Integer subWorkflowInstanceId, final @NonNull SubWorkflowTracker tracker) {
+        subWorkflowTrackerMap.remove(subWorkflowInstanceId, tracker);
+    }
+
+    public SubWorkflowTracker get(final @NonNull Integer subWorkflowInstanceId) {
+        return subWorkflowTrackerMap.get(subWorkflowInstanceId);
+    }
+
+    public int size() {
+        return subWorkflowTrackerMap.size();
+    }
+
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.executor.plugin.switchtask;
+
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.plugin.task.api.utils.ParameterUtils;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * The switch condition compiled by {@link SwitchConditionCompiler}, it is immutable and can be shared between threads.
+ * <p> The evaluation follows the javascript semantics, the values are represented as {@link Double}, {@link String}
+ * and {@link Boolean}, and the result is the same as the sandbox evaluating the condition whose parameters are
+ * replaced by SwitchTaskUtils#generateContentWithTaskParams.
+ */
+public class CompiledSwitchCondition {
+
+    private static final Pattern DECIMAL_PATTERN = Pattern.compile("[+-]?(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?");
+
+    private static final Pattern HEX_PATTERN = Pattern.compile("0[xX][0-9a-fA-F]+");
+
+    private final String condition;
+
+    private final Node root;
+
+    private final String[] paramNames;
+
+    CompiledSwitchCondition(final String condition, final Node root, final List<String> paramNames) {
+        this.condition = condition;
+        this.root = root;
+        this.paramNames = paramNames.toArray(new String[0]);
+    }
+
+    /**
+     * Evaluate the condition with the given parameters.
+     *
+     * @return the result of the condition, or empty if the parameters cannot be bound exactly as the sandbox path, e.g.
+     * the parameter doesn't exist or the string value contains quote, then the condition should be evaluated by the
+     * sandbox.
+     */
+    public Optional<Boolean> evaluate(final Map<String, Property> params) {
+        final Object[] values = new Object[paramNames.length];
+        for (int i = 0; i < paramNames.length; i++) {
+            final Object value = bindParameter(params == null ? null : params.get(paramNames[i]));
+            if (value == null) {
+                return Optional.empty();
+            }
+            values[i] = value;
+        }
+        return Optional.of(Boolean.TRUE.equals(root.evaluate(values)));
+    }
+
+    public String getCondition() {
+        return condition;
+    }
+
+    private static Object bindParameter(final Property property) {
+        if (property == null) {
+            return null;
+        }
+        final Object value;
+        try {
+            value = ParameterUtils.getParameterValue(property);
+        } catch (Exception ex) {
+            // e.g. the value of number parameter is invalid, let the sandbox path throw the exception
+            return null;
+        }
+        if (ParameterUtils.isNumber(property)) {
+            // The number is written as java literal e.g. 1.0E10, NaN, Infinity which are the same in javascript
+            return Double.valueOf(String.valueOf(value));
+        }
+        if (ParameterUtils.isBoolean(property)) {
+            return value;
+        }
+        final String string = String.valueOf(value);
+        for (int i = 0; i < string.length(); i++) {
+            final char c = string.charAt(i);
+            if (c == '"' || c == '\\' || c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029') {
+                return null;
+            }
+        }
+        // The placeholder in the value might be replaced by other parameters in the sandbox path
+        return string.contains("${") ? null : string;
+    }
+
+    static boolean toBoolean(final Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof Double) {
+            final double number = (Double) value;
+            return number != 0 && !Double.isNaN(number);
+        }
+        return !((String) value).isEmpty();
+    }
+
+    static double toNumber(final Object value) {
+        if (value instanceof Double) {
+            return (Double) value;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+        return stringToNumber((String) value);
+    }
+
+    private static double stringToNumber(final String value) {
+        final String string = stripWhitespace(value);
+        if (string.isEmpty()) {
+            return 0;
+        }
+        if (DECIMAL_PATTERN.matcher(string).matches()) {
+            return Double.parseDouble(string);
+        }
+        if (HEX_PATTERN.matcher(string).matches()) {
+            return new BigInteger(string.substring(2), 16).doubleValue();
+        }
+        switch (string) {
+            case "Infinity":
+            case "+Infinity":
+                return Double.POSITIVE_INFINITY;
+            case "-Infinity":
+                return Double.NEGATIVE_INFINITY;
+            default:
+                return Double.NaN;
+        }
+    }
+
+    private static String stripWhitespace(final String value) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && isWhitespace(value.charAt(start))) {
+            start++;
+        }
+        while (end > start && isWhitespace(value.charAt(end - 1))) {
+            end--;
+        }
+        return value.substring(start, end);
+    }
+
+    private static boolean isWhitespace(final char c) {
+        switch (c) {
+            case '\t':
+            case '\n':
+            case '\u000B':
+            case '\f':
+            case '\r':
+            case ' ':
+            case '\u00A0':
+            case '\uFEFF':
+            case '\u2028':
+            case '\u2029':
+                return true;
+            default:
+                return Character.getType(c) == Character.SPACE_SEPARATOR;
+        }
+    }
+
+    static boolean looseEquals(final Object left, final Object right) {
+        if (left.getClass() == right.getClass()) {
+            return strictEquals(left, right);
+        }
+        if (left instanceof Boolean) {
+            return looseEquals(toNumber(left), right);
+        }
+        if (right instanceof Boolean) {
+            return looseEquals(left, toNumber(right));
+        }
+        // One is number and the other is string
+        return toNumber(left) == toNumber(right);
+    }
+
+    static boolean strictEquals(final Object left, final Object right) {
+        if (left.getClass() != right.getClass()) {
+            return false;
+        }
+        if (left instanceof Double) {
+            return (Double) left == (double) (Double) right;
+        }
+        return left.equals(right);
+    }
+
+    static boolean compare(final Object left, final Object right, final IntPredicate predicate) {
+        if (left instanceof String && right instanceof String) {
+            return predicate.test(((String) left).compareTo((String) right));
+        }
+        final double l = toNumber(left);
+        final double r = toNumber(right);
+        if (Double.isNaN(l) || Double.isNaN(r)) {
+            return false;
+        }
+        return predicate.test(l < r ? -1 : (l > r ? 1 : 0));
+    }
+
+    @FunctionalInterface
+    interface Node {
+
+        Object evaluate(final Object[] values);
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.executor.plugin.switchtask;
+
+import org.apache.dolphinscheduler.server.master.engine.executor.plugin.switchtask.CompiledSwitchCondition.Node;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compile the switch condition into a {@link CompiledSwitchCondition}, so that it can be evaluated without the nashorn
+ * sandbox and without parsing the script again.
+ * <p> Only the comparison and boolean subset of javascript which is used by the switch conditions is supported:
+ * <pre>
+ * expression := and ('||' and)*
+ * and        := equality ('&&' equality)*
+ * equality   := relational (('==' | '!=' | '===' | '!==') relational)*
+ * relational := unary (('&lt;' | '&lt;=' | '&gt;' | '&gt;=') unary)*
+ * unary      := ('!' | '-') unary | primary
+ * primary    := number | string | 'true' | 'false' | '${param}' | '(' expression ')'
+ * </pre>
+ * If the condition is out of the subset, it will not be compiled and should be evaluated by the sandbox.
+ */
+@Slf4j
+@UtilityClass
+public class SwitchConditionCompiler {
+
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?");
+
+    /**
+     * @return the compiled condition, or empty if the condition is not supported by the compiler.
+     */
+    public static Optional<CompiledSwitchCondition> compile(final String condition) {
+        if (condition == null) {
+            return Optional.empty();
+        }
+        try {
+            // Keep the same with SwitchTaskUtils#generateContentWithTaskParams
+            final String content = condition.replaceAll("'", "\"");
+            final Parser parser = new Parser(tokenize(content));
+            final Node root = parser.parseExpression();
+            parser.expect(TokenType.EOF);
+            return Optional.of(new CompiledSwitchCondition(condition, root, parser.paramNames));
+        } catch (UnsupportedConditionException ex) {
+            log.debug("The switch condition: {} cannot be compiled: {}", condition, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static List<Token> tokenize(final String content) {
+        final List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < content.length()) {
+            final char c = content.charAt(i);
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+                i++;
+            } else if (content.startsWith("${", i)) {
+                final int end = content.indexOf('}', i + 2);
+                if (end < 0) {
+                    throw new UnsupportedConditionException("unclosed parameter at " + i);
+                }
+                final String paramName = content.substring(i + 2, end);
+                if (paramName.indexOf('\n') >= 0 || paramName.indexOf('\r') >= 0) {
+                    throw new UnsupportedConditionException("line terminator in parameter name");
+                }
+                tokens.add(new Token(TokenType.PARAM, paramName));
+                i = end + 1;
+            } else if (c == '"') {
+                final int end = content.indexOf('"', i + 1);
+                if (end < 0) {
+                    throw new UnsupportedConditionException("unclosed string at " + i);
+                }
+                final String literal = content.substring(i + 1, end);
+                if (!isPlainStringLiteral(literal)) {
+                    throw new UnsupportedConditionException("unsupported string literal: " + literal);
+                }
+                tokens.add(new Token(TokenType.STRING, literal));
+                i = end + 1;
+            } else if (Character.isDigit(c) || (c == '.' && i + 1 < content.length()
+                    && Character.isDigit(content.charAt(i + 1)))) {
+                final Matcher matcher = NUMBER_PATTERN.matcher(content).region(i, content.length());
+                if (!matcher.lookingAt()) {
+                    throw new UnsupportedConditionException("unsupported number at " + i);
+                }
+                final String literal = matcher.group();
+                // e.g. 010 is an octal number in javascript
+                if (literal.length() > 1 && literal.charAt(0) == '0' && Character.isDigit(literal.charAt(1))) {
+                    throw new UnsupportedConditionException("unsupported number: " + literal);
+                }
+                i = matcher.end();
+                if (i < content.length() && isIdentifierPart(content.charAt(i))) {
+                    throw new UnsupportedConditionException("unsupported number at " + i);
+                }
+                tokens.add(new Token(TokenType.NUMBER, literal));
+            } else if (isIdentifierPart(c)) {
+                int end = i;
+                while (end < content.length() && isIdentifierPart(content.charAt(end))) {
+                    end++;
+                }
+                final String identifier = content.substring(i, end);
+                if (!"true".equals(identifier) && !"false".equals(identifier)) {
+                    throw new UnsupportedConditionException("unsupported identifier: " + identifier);
+                }
+                tokens.add(new Token(TokenType.BOOLEAN, identifier));
+                i = end;
+            } else {
+                final String operator = readOperator(content, i);
+                tokens.add(new Token(TokenType.OPERATOR, operator));
+                i += operator.length();
+            }
+        }
+        tokens.add(new Token(TokenType.EOF, null));
+        return tokens;
+    }
+
+    private static String readOperator(final String content, final int i) {
+        for (String operator : new String[]{"===", "!==", "==", "!=", "<=", ">=", "&&", "||"}) {
+            if (content.startsWith(operator, i)) {
+                return operator;
+            }
+        }
+        final char c = content.charAt(i);
+        if (c == '-' && (content.startsWith("--", i) || content.startsWith("-${", i))) {
+            // The decrement operator, the negative number parameter will also be replaced as decrement operator
+            throw new UnsupportedConditionException("unsupported operator: --");
+        }
+        if (c == '<' || c == '>' || c == '!' || c == '-' || c == '(' || c == ')') {
+            return String.valueOf(c);
+        }
+        throw new UnsupportedConditionException("unsupported character: " + c);
+    }
+
+    private static boolean isIdentifierPart(final char c) {
+        return c == '$' || c == '_' || c == '.' || Character.isLetterOrDigit(c);
+    }
+
+    private static boolean isPlainStringLiteral(final String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            final char c = literal.charAt(i);
+            if (c == '\\' || c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029') {
+                return false;
+            }
+        }
+        // The parameter placeholder in string will be replaced by the sandbox path
+        return !literal.contains("${");
+    }
+
+    private enum TokenType {
+        NUMBER,
+        STRING,
+        BOOLEAN,
+        PARAM,
+        OPERATOR,
+        EOF
+    }
+
+    private static class Token {
+
+        private final TokenType type;
+
+        private final String text;
+
+        private Token(final TokenType type, final String text) {
+            this.type = type;
+            this.text = text;
+        }
+
+        private boolean isOperator(final String operator) {
+            return type == TokenType.OPERATOR && operator.equals(text);
+        }
+    }
+
+    private static class Parser {
+
+        private final List<Token> tokens;
+
+        private final List<String> paramNames = new ArrayList<>();
+
+        private int position;
+
+        private Parser(final List<Token> tokens) {
+            this.tokens = tokens;
+        }
+
+        private Node parseExpression() {
+            Node left = parseAnd();
+            while (peek().isOperator("||")) {
+                position++;
+                final Node l = left;
+                final Node r = parseAnd();
+                left = values -> {
+                    final Object value = l.evaluate(values);
+                    return CompiledSwitchCondition.toBoolean(value) ? value : r.evaluate(values);
+                };
+            }
+            return left;
+        }
+
+        private Node parseAnd() {
+            Node left = parseEquality();
+            while (peek().isOperator("&&")) {
+                position++;
+                final Node l = left;
+                final Node r = parseEquality();
+                left = values -> {
+                    final Object value = l.evaluate(values);
+                    return CompiledSwitchCondition.toBoolean(value) ? r.evaluate(values) : value;
+                };
+            }
+            return left;
+        }
+
+        private Node parseEquality() {
+            Node left = parseRelational();
+            while (true) {
+                final Token token = peek();
+                final Node l = left;
+                if (token.isOperator("==")) {
+                    position++;
+                    final Node r = parseRelational();
+                    left = values -> CompiledSwitchCondition.looseEquals(l.evaluate(values), r.evaluate(values));
+                } else if (token.isOperator("!=")) {
+                    position++;
+                    final Node r = parseRelational();
+                    left = values -> !CompiledSwitchCondition.looseEquals(l.evaluate(values), r.evaluate(values));
+                } else if (token.isOperator("===")) {
+                    position++;
+                    final Node r = parseRelational();
+                    left = values -> CompiledSwitchCondition.strictEquals(l.evaluate(values), r.evaluate(values));
+                } else if (token.isOperator("!==")) {
+                    position++;
+                    final Node r = parseRelational();
+                    left = values -> !CompiledSwitchCondition.strictEquals(l.evaluate(values), r.evaluate(values));
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private Node parseRelational() {
+            Node left = parseUnary();
+            while (true) {
+                final Token token = peek();
+                final Node l = left;
+                if (token.isOperator("<")) {
+                    position++;
+                    final Node r = parseUnary();
+                    left = values -> CompiledSwitchCondition.compare(l.evaluate(values), r.evaluate(values),
+                            result -> result < 0);
+                } else if (token.isOperator("<=")) {
+                    position++;
+                    final Node r = parseUnary();
+                    left = values -> CompiledSwitchCondition.compare(l.evaluate(values), r.evaluate(values),
+                            result -> result <= 0);
+                } else if (token.isOperator(">")) {
+                    position++;
+                    final Node r = parseUnary();
+                    left = values -> CompiledSwitchCondition.compare(l.evaluate(values), r.evaluate(values),
+                            result -> result > 0);
+                } else if (token.isOperator(">=")) {
+                    position++;
+                    final Node r = parseUnary();
+                    left = values -> CompiledSwitchCondition.compare(l.evaluate(values), r.evaluate(values),
+                            result -> result >= 0);
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private Node parseUnary() {
+            final Token token = peek();
+            if (token.isOperator("!")) {
+                position++;
+                final Node operand = parseUnary();
+                return values -> !CompiledSwitchCondition.toBoolean(operand.evaluate(values));
+            }
+            if (token.isOperator("-")) {
+                position++;
+                final Node operand = parseUnary();
+                return values -> -CompiledSwitchCondition.toNumber(operand.evaluate(values));
+            }
+            return parsePrimary();
+        }
+
+        private Node parsePrimary() {
+            final Token token = tokens.get(position++);
+            switch (token.type) {
+                case NUMBER:
+                    final Double number = Double.valueOf(token.text);
+                    return values -> number;
+                case STRING:
+                    final String string = token.text;
+                    return values -> string;
+                case BOOLEAN:
+                    final Boolean bool = Boolean.valueOf(token.text);
+                    return values -> bool;
+                case PARAM:
+                    final int index = paramIndex(token.text);
+                    return values -> values[index];
+                case OPERATOR:
+                    if ("(".equals(token.text)) {
+                        final Node node = parseExpression();
+                        expect(TokenType.OPERATOR, ")");
+                        return node;
+                    }
+                    throw new UnsupportedConditionException("unexpected operator: " + token.text);
+                default:
+                    throw new UnsupportedConditionException("unexpected end of the condition");
+            }
+        }
+
+        private int paramIndex(final String paramName) {
+            final int index = paramNames.indexOf(paramName);
+            if (index >= 0) {
+                return index;
+            }
+            paramNames.add(paramName);
+            return paramNames.size() - 1;
+        }
+
+        private Token peek() {
+            return tokens.get(position);
+        }
+
+        private void expect(final TokenType type) {
+            if (tokens.get(position).type != type) {
+                throw new UnsupportedConditionException("unexpected token at " + position);
+            }
+        }
+
+        private void expect(final TokenType type, final String text) {
+            final Token token = tokens.get(position++);
+            if (token.type != type || !text.equals(token.text)) {
+                throw new UnsupportedConditionException("expect: " + text + " at " + (position - 1));
+            }
+        }
+    }
+
+    private static class UnsupportedConditionException extends RuntimeException {
+
+        private UnsupportedConditionException(final String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.executor.plugin.switchtask;
+
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.server.master.utils.SwitchTaskUtils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+import javax.script.ScriptException;
+
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Evaluate the switch condition by the {@link CompiledSwitchCondition} which is cached by the task definition version,
+ * the condition which is not supported by the {@link SwitchConditionCompiler} will fall back to the nashorn sandbox.
+ */
+@Slf4j
+@UtilityClass
+public class SwitchConditionEvaluator {
+
+    private static final Cache<ConditionKey, Optional<CompiledSwitchCondition>> COMPILED_CONDITION_CACHE =
+            CacheBuilder.newBuilder()
+                    .maximumSize(10_000)
+                    .build();
+
+    public static boolean evaluate(final long taskCode,
+                                   final int taskDefinitionVersion,
+                                   final String condition,
+                                   final Map<String, Property> params) throws ScriptException {
+        final Optional<CompiledSwitchCondition> compiledCondition =
+                getCompiledCondition(new ConditionKey(taskCode, taskDefinitionVersion, condition));
+        if (compiledCondition.isPresent()) {
+            final Optional<Boolean> result = compiledCondition.get().evaluate(params);
+            if (result.isPresent()) {
+                return result.get();
+            }
+        }
+        final String content =
+                SwitchTaskUtils.generateContentWithTaskParams(condition, params, Collections.emptyMap());
+        log.info("Format condition sentence::{} successfully", content);
+        return SwitchTaskUtils.evaluate(content);
+    }
+
+    private static Optional<CompiledSwitchCondition> getCompiledCondition(final ConditionKey conditionKey) {
+        try {
+            return COMPILED_CONDITION_CACHE.get(conditionKey,
+                    () -> SwitchConditionCompiler.compile(conditionKey.getCondition()));
+        } catch (ExecutionException ex) {
+            log.warn("Compile the switch condition: {} failed", conditionKey.getCondition(), ex);
+            return Optional.empty();
+        }
+    }
+
+    @Value
+    private static class ConditionKey {
+
+        long taskCode;
+
+        int taskDefinitionVersion;
+
+        String condition;
+    }
+}
@@ -20,6 +20,8 @@ package org.apache.dolphinscheduler.server.master.engine.executor.plugin.switcht
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceDirtyFields;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.model.Property;
 import org.apache.dolphinscheduler.plugin.task.api.model.SwitchResultVo;
@@ -28,10 +30,11 @@ import org.apache.dolphinscheduler.server.master.engine.executor.plugin.Abstract
 import org.apache.dolphinscheduler.server.master.engine.executor.plugin.ITaskParameterDeserializer;
 import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.runner.IWorkflowExecuteContext;
-import org.apache.dolphinscheduler.server.master.utils.SwitchTaskUtils;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.MapUtils;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -46,11 +49,14 @@ public class SwitchLogicTask extends AbstractLogicTask<SwitchParameters> {
 
     private final IWorkflowExecutionRunnable workflowExecutionRunnable;
     private final TaskInstance taskInstance;
+    private final TaskInstanceDao taskInstanceDao;
 
     public SwitchLogicTask(IWorkflowExecutionRunnable workflowExecutionRunnable,
-                           TaskExecutionContext taskExecutionContext) {
+                           TaskExecutionContext taskExecutionContext,
+                           TaskInstanceDao taskInstanceDao) {
         super(taskExecutionContext);
         this.workflowExecutionRunnable = workflowExecutionRunnable;
+        this.taskInstanceDao = taskInstanceDao;
         this.taskInstance = workflowExecutionRunnable
                 .getWorkflowExecuteContext()
                 .getWorkflowExecutionGraph()
@@ -71,6 +77,8 @@ public class SwitchLogicTask extends AbstractLogicTask<SwitchParameters> {
         }
         checkIfBranchExist(taskParameters.getNextBranch());
         taskInstance.setTaskParams(JSONUtils.toJsonString(taskParameters));
+        // The success transition only persists the state columns, the chosen branch is persisted here
+        taskInstanceDao.updateDirtyFieldsById(TaskInstanceDirtyFields.of(taskInstance).taskParams());
 
         onTaskSuccess();
         log.info("Switch task execute finished");
@@ -95,15 +103,23 @@ public class SwitchLogicTask extends AbstractLogicTask<SwitchParameters> {
                 .stream()
                 .collect(Collectors.toMap(Property::getProp, Property -> Property));
 
+        Map<String, Property> params = new HashMap<>();
+        if (MapUtils.isNotEmpty(globalParams)) {
+            params.putAll(globalParams);
+        }
+        params.putAll(varParams);
+
         Long nextBranch = null;
         for (SwitchResultVo switchResultVo : switchResultVos) {
             log.info("Begin to execute switch item: {} ", switchResultVo);
             try {
-                String content = SwitchTaskUtils.generateContentWithTaskParams(switchResultVo.getCondition(),
-                        globalParams, varParams);
-                log.info("Format condition sentence::{} successfully", content);
-                boolean conditionResult = SwitchTaskUtils.evaluate(content);
-                log.info("Execute condition sentence: {} successfully: {}", content, conditionResult);
+                boolean conditionResult = SwitchConditionEvaluator.evaluate(
+                        taskInstance.getTaskCode(),
+                        taskInstance.getTaskDefinitionVersion(),
+                        switchResultVo.getCondition(),
+                        params);
+                log.info("Execute condition sentence: {} successfully: {}", switchResultVo.getCondition(),
+                        conditionResult);
                 if (conditionResult) {
                     // If matched, break the loop
                     nextBranch = switchResultVo.getNextNode();
@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.server.master.engine.executor.plugin.switchtask;
 
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.task.SwitchLogicTaskChannelFactory;
 import org.apache.dolphinscheduler.server.master.engine.IWorkflowRepository;
@@ -37,6 +38,9 @@ public class SwitchLogicTaskPluginFactory implements ILogicTaskPluginFactory<Swi
     @Autowired
     private IWorkflowRepository IWorkflowRepository;
 
+    @Autowired
+    private TaskInstanceDao taskInstanceDao;
+
     @Override
     public SwitchLogicTask createLogicTask(final ITaskExecutor taskExecutor) throws LogicTaskInitializeException {
         final TaskExecutionContext taskExecutionContext = taskExecutor.getTaskExecutionContext();
@@ -47,7 +51,7 @@ public class SwitchLogicTaskPluginFactory implements ILogicTaskPluginFactory<Swi
             throw new LogicTaskInitializeException(
                     "Cannot find the WorkflowExecuteRunnable by : " + workflowInstanceId);
         }
-        return new SwitchLogicTask(workflowExecutionRunnable, taskExecutionContext);
+        return new SwitchLogicTask(workflowExecutionRunnable, taskExecutionContext, taskInstanceDao);
     }
 
     @Override
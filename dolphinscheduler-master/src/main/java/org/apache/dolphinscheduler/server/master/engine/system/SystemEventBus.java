@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.server.master.engine.system;
 
 import org.apache.dolphinscheduler.eventbus.AbstractDelayEventBus;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.engine.AbstractLifecycleEvent;
 import org.apache.dolphinscheduler.server.master.engine.system.event.AbstractSystemEvent;
 import org.apache.dolphinscheduler.server.master.engine.task.lifecycle.AbstractTaskLifecycleEvent;
@@ -35,6 +36,10 @@ import org.springframework.stereotype.Component;
 @Component
 public class SystemEventBus extends AbstractDelayEventBus<AbstractSystemEvent> {
 
+    public SystemEventBus(final MasterConfig masterConfig) {
+        super(masterConfig.getDelayQueue().newDelayQueue());
+    }
+
     public void publish(final AbstractSystemEvent event) {
         super.publish(event);
         log.info("Published SystemEvent: {}", event);
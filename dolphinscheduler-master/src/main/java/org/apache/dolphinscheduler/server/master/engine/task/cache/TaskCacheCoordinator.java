@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.task.cache;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceDirtyFields;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.dao.utils.TaskCacheUtils;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.plugin.task.api.utils.TaskTypeUtils;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.TaskCacheConfig;
+import org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceGroupCommitter;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
+
+import java.util.Date;
+import java.util.Optional;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Used to find the previous success task instance whose result can be reused by a task which enables the cache.
+ * <p> The cache key is generated by {@link TaskCacheUtils#generateCacheKey} from the task definition version, the
+ * environment and the input parameters of the task instance. The task instance which misses the cache records the cache
+ * key, so it can be reused after it succeeds; the task instance which hits the cache records the tagged cache key
+ * {@link TaskCacheUtils#generateTagCacheKey}, so it will never be regarded as the source of the cache.
+ */
+@Slf4j
+@Component
+public class TaskCacheCoordinator {
+
+    @Autowired
+    private TaskInstanceDao taskInstanceDao;
+
+    @Autowired
+    private TaskInstanceGroupCommitter taskInstanceGroupCommitter;
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    @Autowired(required = false)
+    private StorageOperator storageOperator;
+
+    /**
+     * Find the success task instance which has the same cache key with the given task.
+     * <p> The cache key of the given task instance will be set and persisted.
+     *
+     * @return the source task instance if the cache is hit, empty if the task doesn't enable the cache or misses.
+     */
+    public Optional<TaskInstance> findCachedTaskInstance(final ITaskExecutionRunnable taskExecutionRunnable) {
+        final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
+        if (!isTaskNeedCache(taskInstance)) {
+            return Optional.empty();
+        }
+
+        final String cacheKey;
+        try {
+            cacheKey = TaskCacheUtils.generateCacheKey(
+                    taskInstance, taskExecutionRunnable.getTaskExecutionContext(), storageOperator);
+        } catch (Exception ex) {
+            log.warn("Generate cache key for task: {} failed, the task will be executed without cache",
+                    taskInstance.getName(), ex);
+            return Optional.empty();
+        }
+
+        final TaskInstance cachedTaskInstance =
+                taskInstanceDao.queryLastSuccessByCacheKey(cacheKey, getCacheEndTimeAfter());
+        if (cachedTaskInstance == null || cachedTaskInstance.getId().equals(taskInstance.getId())) {
+            taskInstance.setCacheKey(cacheKey);
+            taskInstanceGroupCommitter.commit(TaskInstanceDirtyFields.of(taskInstance).cacheKey());
+            TaskMetrics.incTaskCacheMiss();
+            log.info("Task: {} misses the cache: {}", taskInstance.getName(), cacheKey);
+            return Optional.empty();
+        }
+
+        taskInstance.setCacheKey(TaskCacheUtils.generateTagCacheKey(cachedTaskInstance.getId(), cacheKey));
+        taskInstanceGroupCommitter.commit(TaskInstanceDirtyFields.of(taskInstance).cacheKey());
+        TaskMetrics.incTaskCacheHit();
+        log.info("Task: {} hits the cache: {} of task instance: {}",
+                taskInstance.getName(), cacheKey, cachedTaskInstance.getId());
+        return Optional.of(cachedTaskInstance);
+    }
+
+    private boolean isTaskNeedCache(final TaskInstance taskInstance) {
+        if (!masterConfig.getTaskCache().isEnabled() || taskInstance.getIsCache() != Flag.YES) {
+            return false;
+        }
+        // The dry run and test run task instances don't really execute, their result should not be cached
+        if (taskInstance.getDryRun() == Flag.YES.getCode() || taskInstance.getTestFlag() == Flag.YES.getCode()) {
+            return false;
+        }
+        if (TaskTypeUtils.isLogicTask(taskInstance.getTaskType())) {
+            return false;
+        }
+        // The checksum of the file parameters can only be downloaded from the storage
+        if (storageOperator == null && isTaskHasFileInput(taskInstance)) {
+            log.warn("The storage is not configured, the task: {} with file input will be executed without cache",
+                    taskInstance.getName());
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isTaskHasFileInput(final TaskInstance taskInstance) {
+        return JSONUtils.toList(taskInstance.getVarPool(), Property.class)
+                .stream()
+                .anyMatch(property -> property.getType() == DataType.FILE);
+    }
+
+    private Date getCacheEndTimeAfter() {
+        final TaskCacheConfig taskCacheConfig = masterConfig.getTaskCache();
+        if (taskCacheConfig.getExpireTime().isZero()) {
+            return null;
+        }
+        return new Date(System.currentTimeMillis() - taskCacheConfig.getExpireTime().toMillis());
+    }
+}
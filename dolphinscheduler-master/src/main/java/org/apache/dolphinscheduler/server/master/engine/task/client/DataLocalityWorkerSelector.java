@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.task.client;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.plugin.task.api.utils.VarPoolUtils;
+import org.apache.dolphinscheduler.server.master.cluster.ClusterManager;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerClusters;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerServerMetadata;
+import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.WorkerLoadBalancerConfigurationProperties;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Select the worker which produced the upstream files consumed by the task, so that the task can read the files from
+ * the local disk of the worker rather than download them from the remote storage.
+ * <p> The preferred worker is only used when it is still normal and not busy, otherwise the task is dispatched by the
+ * {@link org.apache.dolphinscheduler.server.master.cluster.loadbalancer.IWorkerLoadBalancer}.
+ */
+@Slf4j
+@Component
+public class DataLocalityWorkerSelector {
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    @Autowired
+    private ClusterManager clusterManager;
+
+    public Optional<String> select(final ITaskExecutionRunnable taskExecutionRunnable) {
+        final WorkerLoadBalancerConfigurationProperties.DataLocalityConfigProperties dataLocalityConfigProperties =
+                masterConfig.getWorkerLoadBalancerConfigurationProperties().getDataLocalityConfigProperties();
+        if (!dataLocalityConfigProperties.isEnabled()) {
+            return Optional.empty();
+        }
+        final TaskExecutionContext taskExecutionContext = taskExecutionRunnable.getTaskExecutionContext();
+        final Set<String> consumedFileProps = getConsumedFileProps(taskExecutionContext.getTaskParams());
+        if (consumedFileProps.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final Optional<String> producerHost = getProducerHost(taskExecutionRunnable, consumedFileProps);
+        if (!producerHost.isPresent()) {
+            return Optional.empty();
+        }
+        final String workerGroup = taskExecutionContext.getWorkerGroup();
+        final WorkerClusters workerClusters = clusterManager.getWorkerClusters();
+        if (!workerClusters.getNormalWorkerServerAddressByGroup(workerGroup).contains(producerHost.get())) {
+            log.info("The worker: {} which produced the upstream files of task: {} is not available in group: {}",
+                    producerHost.get(), taskExecutionRunnable.getName(), workerGroup);
+            return Optional.empty();
+        }
+        final double taskThreadPoolUsage = workerClusters.getServer(producerHost.get())
+                .map(WorkerServerMetadata::getTaskThreadPoolUsage)
+                .orElse(1.0);
+        if (taskThreadPoolUsage >= dataLocalityConfigProperties.getMaxTaskThreadPoolUsage()) {
+            log.info("The worker: {} which produced the upstream files of task: {} is busy, taskThreadPoolUsage: {}",
+                    producerHost.get(), taskExecutionRunnable.getName(), taskThreadPoolUsage);
+            return Optional.empty();
+        }
+        return producerHost;
+    }
+
+    /**
+     * Get the varPool props referred by the FILE type IN local params of the task.
+     */
+    private Set<String> getConsumedFileProps(final String taskParams) {
+        final Set<String> consumedFileProps = new HashSet<>();
+        final JsonNode localParams = JSONUtils.parseObject(taskParams).get("localParams");
+        if (localParams == null) {
+            return consumedFileProps;
+        }
+        for (JsonNode localParam : localParams) {
+            final Property property = JSONUtils.parseObject(localParam.toString(), Property.class);
+            if (Direct.IN.equals(property.getDirect()) && DataType.FILE.equals(property.getType())) {
+                consumedFileProps.add(property.getValue());
+            }
+        }
+        return consumedFileProps;
+    }
+
+    /**
+     * Get the host of the predecessor which produced most of the files consumed by the task.
+     */
+    private Optional<String> getProducerHost(final ITaskExecutionRunnable taskExecutionRunnable,
+                                             final Set<String> consumedFileProps) {
+        final Map<String, Integer> producedFileCounts = new HashMap<>();
+        for (ITaskExecutionRunnable predecessor : taskExecutionRunnable.getWorkflowExecutionGraph()
+                .getPredecessors(taskExecutionRunnable.getName())) {
+            if (!predecessor.isTaskInstanceInitialized()) {
+                continue;
+            }
+            final String host = predecessor.getTaskInstance().getHost();
+            final String varPool = predecessor.getTaskInstance().getVarPool();
+            if (StringUtils.isEmpty(host) || StringUtils.isEmpty(varPool)) {
+                continue;
+            }
+            final List<Property> properties = VarPoolUtils.deserializeVarPool(varPool);
+            if (CollectionUtils.isEmpty(properties)) {
+                continue;
+            }
+            final long producedFileCount = properties.stream()
+                    .filter(property -> DataType.FILE.equals(property.getType()))
+                    .filter(property -> consumedFileProps.contains(property.getProp()))
+                    .count();
+            if (producedFileCount > 0) {
+                producedFileCounts.merge(host, (int) producedFileCount, Integer::sum);
+            }
+        }
+        return producedFileCounts.entrySet()
+                .stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey);
+    }
+}
@@ -40,6 +40,8 @@ import org.apache.dolphinscheduler.task.executor.operations.TaskExecutorReassign
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Optional;
+
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -55,12 +57,28 @@ public class PhysicalTaskExecutorClientDelegator implements ITaskExecutorClientD
     @Autowired
     private IWorkerLoadBalancer workerLoadBalancer;
 
+    @Autowired
+    private DataLocalityWorkerSelector dataLocalityWorkerSelector;
+
+    @Autowired
+    private ResourceAwareWorkerSelector resourceAwareWorkerSelector;
+
     @Override
     public void dispatch(final ITaskExecutionRunnable taskExecutionRunnable) throws TaskDispatchException {
         final TaskExecutionContext taskExecutionContext = taskExecutionRunnable.getTaskExecutionContext();
         final String taskName = taskExecutionContext.getTaskName();
-        final String physicalTaskExecutorAddress = workerLoadBalancer
-                .select(taskExecutionContext.getWorkerGroup())
+        Optional<String> selectedWorker = dataLocalityWorkerSelector.select(taskExecutionRunnable)
+                .filter(worker -> resourceAwareWorkerSelector.isResourceEnough(worker, taskExecutionContext));
+        if (selectedWorker.isPresent()) {
+            log.info("Select the worker: {} which produced the upstream files for task: {}",
+                    selectedWorker.get(), taskName);
+        } else {
+            selectedWorker = resourceAwareWorkerSelector.select(taskExecutionContext);
+        }
+        if (!selectedWorker.isPresent()) {
+            selectedWorker = workerLoadBalancer.select(taskExecutionContext.getWorkerGroup());
+        }
+        final String physicalTaskExecutorAddress = selectedWorker
                 .map(Host::of)
                 .map(Host::getAddress)
                 .orElseThrow(() -> new TaskDispatchException(
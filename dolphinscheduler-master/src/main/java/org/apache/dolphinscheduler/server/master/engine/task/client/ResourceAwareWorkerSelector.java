@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.task.client;
+
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.master.cluster.ClusterManager;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerClusters;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerServerMetadata;
+import org.apache.dolphinscheduler.server.master.exception.dispatch.TaskDispatchException;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Select the worker for the task which declares cpu quota or max memory by the resources advertised by the workers.
+ * <p> The task is packed to the worker which has the least resource left after admitting it, so that the idle workers
+ * are kept for the heavy tasks. If no worker in the group limits the resources, the task is dispatched by the
+ * {@link org.apache.dolphinscheduler.server.master.cluster.loadbalancer.IWorkerLoadBalancer}.
+ * <p> The advertised resources might be stale, the worker will reject the task if its resources are not enough, then
+ * the task will be dispatched again.
+ */
+@Component
+public class ResourceAwareWorkerSelector {
+
+    @Autowired
+    private ClusterManager clusterManager;
+
+    /**
+     * Whether the given worker has enough resources for the task, return true if the worker is unknown.
+     */
+    public boolean isResourceEnough(final String workerAddress, final TaskExecutionContext taskExecutionContext) {
+        return clusterManager.getWorkerClusters().getServer(workerAddress)
+                .map(workerServer -> isResourceEnough(workerServer, taskExecutionContext))
+                .orElse(true);
+    }
+
+    /**
+     * Select the worker which has the least resource left after admitting the task.
+     *
+     * @return empty if the task doesn't declare resources or no worker in the group limits the resources
+     * @throws TaskDispatchException if no worker in the group has enough resources for the task
+     */
+    public Optional<String> select(final TaskExecutionContext taskExecutionContext) throws TaskDispatchException {
+        if (!isResourceDeclared(taskExecutionContext)) {
+            return Optional.empty();
+        }
+        final WorkerClusters workerClusters = clusterManager.getWorkerClusters();
+        final List<WorkerServerMetadata> workerServers = workerClusters
+                .getNormalWorkerServerAddressByGroup(taskExecutionContext.getWorkerGroup())
+                .stream()
+                .map(workerClusters::getServer)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toList());
+        if (workerServers.stream().noneMatch(this::isResourceLimited)) {
+            return Optional.empty();
+        }
+        final Optional<String> selectedWorker = workerServers.stream()
+                .filter(workerServer -> isResourceEnough(workerServer, taskExecutionContext))
+                .min(Comparator
+                        .<WorkerServerMetadata>comparingDouble(
+                                workerServer -> getLeftResourceRatio(workerServer, taskExecutionContext))
+                        .thenComparingDouble(WorkerServerMetadata::getTaskThreadPoolUsage))
+                .map(WorkerServerMetadata::getAddress);
+        if (!selectedWorker.isPresent()) {
+            throw new TaskDispatchException(
+                    String.format("No worker in group: %s has enough resource for Task[name=%s, cpuQuota=%s, "
+                            + "memoryMax=%s]",
+                            taskExecutionContext.getWorkerGroup(),
+                            taskExecutionContext.getTaskName(),
+                            taskExecutionContext.getCpuQuota(),
+                            taskExecutionContext.getMemoryMax()));
+        }
+        return selectedWorker;
+    }
+
+    private boolean isResourceDeclared(final TaskExecutionContext taskExecutionContext) {
+        return getDeclaredCpuQuota(taskExecutionContext) > 0 || getDeclaredMemoryMax(taskExecutionContext) > 0;
+    }
+
+    private boolean isResourceLimited(final WorkerServerMetadata workerServer) {
+        return workerServer.getCpuQuotaCapacity() >= 0 || workerServer.getMemoryMaxCapacity() >= 0;
+    }
+
+    private boolean isResourceEnough(final WorkerServerMetadata workerServer,
+                                     final TaskExecutionContext taskExecutionContext) {
+        return isResourceEnough(workerServer.getCpuQuotaCapacity(), workerServer.getAvailableCpuQuota(),
+                getDeclaredCpuQuota(taskExecutionContext))
+                && isResourceEnough(workerServer.getMemoryMaxCapacity(), workerServer.getAvailableMemoryMax(),
+                        getDeclaredMemoryMax(taskExecutionContext));
+    }
+
+    private boolean isResourceEnough(final int capacity, final int available, final int required) {
+        // Keep the same as the admission of the worker, the task requiring more than the capacity is admitted by an
+        // idle worker
+        return capacity < 0 || required == 0 || required <= available || available == capacity;
+    }
+
+    /**
+     * The max ratio of the left resources to the capacity after admitting the task, only the declared resources are
+     * counted and the unlimited one is 1.
+     */
+    private double getLeftResourceRatio(final WorkerServerMetadata workerServer,
+                                        final TaskExecutionContext taskExecutionContext) {
+        return Math.max(
+                getLeftResourceRatio(workerServer.getCpuQuotaCapacity(), workerServer.getAvailableCpuQuota(),
+                        getDeclaredCpuQuota(taskExecutionContext)),
+                getLeftResourceRatio(workerServer.getMemoryMaxCapacity(), workerServer.getAvailableMemoryMax(),
+                        getDeclaredMemoryMax(taskExecutionContext)));
+    }
+
+    private double getLeftResourceRatio(final int capacity, final int available, final int required) {
+        if (required == 0) {
+            return 0;
+        }
+        if (capacity <= 0) {
+            return capacity < 0 ? 1 : 0;
+        }
+        return Math.max(0, available - required) / (double) capacity;
+    }
+
+    private int getDeclaredCpuQuota(final TaskExecutionContext taskExecutionContext) {
+        final Integer cpuQuota = taskExecutionContext.getCpuQuota();
+        return cpuQuota == null || cpuQuota <= 0 ? 0 : cpuQuota;
+    }
+
+    private int getDeclaredMemoryMax(final TaskExecutionContext taskExecutionContext) {
+        final Integer memoryMax = taskExecutionContext.getMemoryMax();
+        return memoryMax == null || memoryMax <= 0 ? 0 : memoryMax;
+    }
+}
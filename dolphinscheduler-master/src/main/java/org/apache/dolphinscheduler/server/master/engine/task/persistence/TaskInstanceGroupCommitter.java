@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.task.persistence;
+
+import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceDirtyFields;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.TaskInstanceGroupCommitConfig;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Persist the dirty fields of the task instances changed by the task state transitions.
+ * <p> If the group commit is enabled, the transitions submitted by the workflow event bus fire threads of different
+ * workflows are collected by this thread, and flushed in one JDBC batch and one transaction. The caller is blocked
+ * until the transaction which contains its update is committed, so the next event of the workflow is fired only after
+ * the transition is durable, the same as updating the task instance directly.
+ * <p> The batch doesn't wait for more updates: while a batch is flushing, the new updates are queued and flushed in
+ * the next batch, so the batch size grows with the load and a single update is not delayed.
+ */
+@Slf4j
+@Component
+public class TaskInstanceGroupCommitter extends BaseDaemonThread implements AutoCloseable {
+
+    @Autowired
+    private TaskInstanceDao taskInstanceDao;
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    private final LinkedBlockingQueue<PendingCommit> pendingCommits = new LinkedBlockingQueue<>();
+
+    private final AtomicBoolean runningFlag = new AtomicBoolean(false);
+
+    private int maxBatchSize;
+
+    public TaskInstanceGroupCommitter() {
+        super("TaskInstanceGroupCommitter");
+    }
+
+    @Override
+    public synchronized void start() {
+        final TaskInstanceGroupCommitConfig groupCommitConfig = masterConfig.getTaskInstanceGroupCommit();
+        if (!groupCommitConfig.isEnabled()) {
+            log.info("TaskInstanceGroupCommitter is disabled, the task instance will be updated directly");
+            return;
+        }
+        if (!runningFlag.compareAndSet(false, true)) {
+            log.error("The TaskInstanceGroupCommitter already started, will not start again");
+            return;
+        }
+        maxBatchSize = groupCommitConfig.getMaxBatchSize();
+        log.info("TaskInstanceGroupCommitter starting...");
+        super.start();
+        log.info("TaskInstanceGroupCommitter started...");
+    }
+
+    /**
+     * Persist the dirty fields of the task instance, return after the update is committed.
+     *
+     * @throws RuntimeException if the update failed
+     */
+    public void commit(final TaskInstanceDirtyFields dirtyFields) {
+        if (dirtyFields.isEmpty()) {
+            return;
+        }
+        if (!runningFlag.get()) {
+            taskInstanceDao.updateDirtyFieldsById(dirtyFields);
+            return;
+        }
+        final PendingCommit pendingCommit = new PendingCommit(dirtyFields);
+        pendingCommits.add(pendingCommit);
+        // The committer is closed after the update was queued, and the remaining updates may have been drained
+        if (!runningFlag.get() && pendingCommits.remove(pendingCommit)) {
+            taskInstanceDao.updateDirtyFieldsById(dirtyFields);
+            return;
+        }
+        awaitCommitted(pendingCommit);
+    }
+
+    @Override
+    public void run() {
+        while (runningFlag.get()) {
+            final PendingCommit first;
+            try {
+                first = pendingCommits.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (first == null) {
+                continue;
+            }
+            final List<PendingCommit> batch = new ArrayList<>();
+            batch.add(first);
+            pendingCommits.drainTo(batch, maxBatchSize - 1);
+            flushOrFail(batch);
+        }
+        // Flush the updates queued before the committer is closed
+        final List<PendingCommit> remaining = new ArrayList<>();
+        pendingCommits.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flushOrFail(remaining);
+        }
+    }
+
+    private void flushOrFail(final List<PendingCommit> batch) {
+        try {
+            flush(batch);
+        } catch (Throwable ex) {
+            log.error("TaskInstanceGroupCommitter flush error", ex);
+            // Fail the callers rather than blocking them forever, the committed ones have already been completed
+            batch.forEach(pendingCommit -> pendingCommit.getFuture().completeExceptionally(ex));
+        }
+    }
+
+    void flush(final List<PendingCommit> batch) {
+        // The updates of the same task instance in one batch are merged, they are committed in the same transaction
+        final Map<Integer, TaskInstanceDirtyFields> mergedDirtyFields = new LinkedHashMap<>();
+        for (PendingCommit pendingCommit : batch) {
+            final TaskInstanceDirtyFields dirtyFields = pendingCommit.getDirtyFields();
+            mergedDirtyFields.merge(dirtyFields.getId(), dirtyFields, TaskInstanceDirtyFields::merge);
+        }
+        try {
+            taskInstanceDao.batchUpdateDirtyFieldsById(new ArrayList<>(mergedDirtyFields.values()));
+            batch.forEach(pendingCommit -> pendingCommit.getFuture().complete(null));
+            return;
+        } catch (Exception ex) {
+            log.warn("Batch update {} task instances failed, will update them one by one", mergedDirtyFields.size(),
+                    ex);
+        }
+        // The batch is rolled back, update them one by one so that the failure only affects the failed one
+        for (PendingCommit pendingCommit : batch) {
+            try {
+                taskInstanceDao.updateDirtyFieldsById(pendingCommit.getDirtyFields());
+                pendingCommit.getFuture().complete(null);
+            } catch (Exception ex) {
+                pendingCommit.getFuture().completeExceptionally(ex);
+            }
+        }
+    }
+
+    private void awaitCommitted(final PendingCommit pendingCommit) {
+        try {
+            pendingCommit.getFuture().get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while waiting the task instance: " + pendingCommit.getDirtyFields().getId()
+                            + " to be committed",
+                    ex);
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(
+                    "Commit the task instance: " + pendingCommit.getDirtyFields().getId() + " failed", cause);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (runningFlag.compareAndSet(true, false)) {
+            log.info("TaskInstanceGroupCommitter stopping...");
+            join(TimeUnit.SECONDS.toMillis(10));
+            log.info("TaskInstanceGroupCommitter stopped...");
+        }
+    }
+
+    static class PendingCommit {
+
+        private final TaskInstanceDirtyFields dirtyFields;
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        PendingCommit(final TaskInstanceDirtyFields dirtyFields) {
+            this.dirtyFields = dirtyFields;
+        }
+
+        TaskInstanceDirtyFields getDirtyFields() {
+            return dirtyFields;
+        }
+
+        CompletableFuture<Void> getFuture() {
+            return future;
+        }
+    }
+}
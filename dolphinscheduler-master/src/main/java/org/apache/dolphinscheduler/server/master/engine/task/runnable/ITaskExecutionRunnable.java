@@ -93,5 +93,20 @@ public interface ITaskExecutionRunnable
 
     TaskDefinition getTaskDefinition();
 
+    /**
+     * Get the TaskExecutionContext, it will be rebuilt from the task instance if it is offloaded.
+     */
     TaskExecutionContext getTaskExecutionContext();
+
+    /**
+     * Get the TaskExecutionContext held in the heap, return null if it is offloaded or not initialized.
+     */
+    TaskExecutionContext getResidentTaskExecutionContext();
+
+    /**
+     * Offload the TaskExecutionContext of the finished task from the heap, it will be rebuilt on the next access.
+     *
+     * @return true if the TaskExecutionContext is offloaded
+     */
+    boolean offloadTaskExecutionContext();
 }
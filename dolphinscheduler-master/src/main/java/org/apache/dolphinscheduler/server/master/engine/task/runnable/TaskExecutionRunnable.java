@@ -26,6 +26,7 @@ import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.WorkflowDefinition;
 import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBus;
 import org.apache.dolphinscheduler.server.master.engine.graph.IWorkflowExecutionGraph;
 import org.apache.dolphinscheduler.server.master.engine.task.client.ITaskExecutorClient;
@@ -60,8 +61,7 @@ public class TaskExecutionRunnable implements ITaskExecutionRunnable {
     private @Nullable TaskInstance taskInstance;
     @Getter
     private final TaskDefinition taskDefinition;
-    @Getter
-    private TaskExecutionContext taskExecutionContext;
+    private volatile TaskExecutionContext taskExecutionContext;
 
     public TaskExecutionRunnable(TaskExecutionRunnableBuilder taskExecutionRunnableBuilder) {
         this.applicationContext = taskExecutionRunnableBuilder.getApplicationContext();
@@ -95,6 +95,39 @@ public class TaskExecutionRunnable implements ITaskExecutionRunnable {
         initializeTaskExecutionContext();
     }
 
+    @Override
+    public TaskExecutionContext getTaskExecutionContext() {
+        final TaskExecutionContext residentTaskExecutionContext = taskExecutionContext;
+        if (residentTaskExecutionContext != null || !isTaskInstanceInitialized()) {
+            return residentTaskExecutionContext;
+        }
+        synchronized (this) {
+            if (taskExecutionContext == null) {
+                // The TaskExecutionContext is offloaded, rebuild it from the task instance
+                initializeTaskExecutionContext();
+            }
+            return taskExecutionContext;
+        }
+    }
+
+    @Override
+    public TaskExecutionContext getResidentTaskExecutionContext() {
+        return taskExecutionContext;
+    }
+
+    @Override
+    public synchronized boolean offloadTaskExecutionContext() {
+        if (taskExecutionContext == null || !isTaskInstanceInitialized()) {
+            return false;
+        }
+        final TaskExecutionStatus taskExecutionStatus = taskInstance.getState();
+        if (taskExecutionStatus == null || !taskExecutionStatus.isFinished()) {
+            return false;
+        }
+        taskExecutionContext = null;
+        return true;
+    }
+
     @Override
     public boolean isTaskInstanceCanRetry() {
         return taskInstance.getRetryTimes() < taskInstance.getMaxRetryTimes();
@@ -139,7 +172,7 @@ public class TaskExecutionRunnable implements ITaskExecutionRunnable {
         getWorkflowEventBus().publish(TaskKillLifecycleEvent.of(this));
     }
 
-    private void initializeTaskExecutionContext() {
+    private synchronized void initializeTaskExecutionContext() {
         checkState(isTaskInstanceInitialized(), "The task instance is null, can't initialize TaskExecutionContext.");
         final TaskExecutionContextCreateRequest request = TaskExecutionContextCreateRequest.builder()
                 .workflowDefinition(workflowDefinition)
@@ -22,6 +22,7 @@ import static org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionSta
 
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceDirtyFields;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.plugin.task.api.utils.VarPoolUtils;
@@ -40,6 +41,7 @@ import org.apache.dolphinscheduler.server.master.engine.task.lifecycle.event.Tas
 import org.apache.dolphinscheduler.server.master.engine.task.lifecycle.event.TaskRunningLifecycleEvent;
 import org.apache.dolphinscheduler.server.master.engine.task.lifecycle.event.TaskRuntimeContextChangedEvent;
 import org.apache.dolphinscheduler.server.master.engine.task.lifecycle.event.TaskSuccessLifecycleEvent;
+import org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceGroupCommitter;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.TaskInstanceFactories;
 import org.apache.dolphinscheduler.server.master.engine.workflow.lifecycle.event.WorkflowTopologyLogicalTransitionWithTaskFinishLifecycleEvent;
@@ -62,6 +64,9 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
     @Autowired
     protected TaskInstanceDao taskInstanceDao;
 
+    @Autowired
+    protected TaskInstanceGroupCommitter taskInstanceGroupCommitter;
+
     @Autowired
     protected TaskInstanceFactories taskInstanceFactories;
 
@@ -108,7 +113,7 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
         final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
         taskInstance.setState(DISPATCH);
         taskInstance.setHost(taskDispatchedEvent.getExecutorHost());
-        taskInstanceDao.updateById(taskInstance);
+        taskInstanceGroupCommitter.commit(TaskInstanceDirtyFields.of(taskInstance).state().host());
     }
 
     @Override
@@ -118,8 +123,8 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
         final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
         if (StringUtils.isNotEmpty(taskRuntimeContextChangedEvent.getRuntimeContext())) {
             taskInstance.setAppLink(taskRuntimeContextChangedEvent.getRuntimeContext());
+            taskInstanceGroupCommitter.commit(TaskInstanceDirtyFields.of(taskInstance).appLink());
         }
-        taskInstanceDao.updateById(taskInstance);
     }
 
     protected void persistentTaskInstanceStartedEventToDB(final ITaskExecutionRunnable taskExecutionRunnable,
@@ -128,7 +133,7 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
         taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
         taskInstance.setStartTime(taskRunningEvent.getStartTime());
         taskInstance.setLogPath(taskRunningEvent.getLogPath());
-        taskInstanceDao.updateById(taskInstance);
+        taskInstanceGroupCommitter.commit(TaskInstanceDirtyFields.of(taskInstance).state().startTime().logPath());
     }
 
     @Override
@@ -145,7 +150,7 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
                                                        final TaskPausedLifecycleEvent taskPausedEvent) {
         final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
         taskInstance.setState(TaskExecutionStatus.PAUSE);
-        taskInstanceDao.updateById(taskInstance);
+        taskInstanceGroupCommitter.commit(TaskInstanceDirtyFields.of(taskInstance).state());
     }
 
     @Override
@@ -163,7 +168,7 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
         final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
         taskInstance.setState(TaskExecutionStatus.KILL);
         taskInstance.setEndTime(taskKilledEvent.getEndTime());
-        taskInstanceDao.updateById(taskInstance);
+        taskInstanceGroupCommitter.commit(TaskInstanceDirtyFields.of(taskInstance).state().endTime());
 
     }
 
@@ -194,7 +199,7 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
         final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
         taskInstance.setState(TaskExecutionStatus.FAILURE);
         taskInstance.setEndTime(taskFailedEvent.getEndTime());
-        taskInstanceDao.updateById(taskInstance);
+        taskInstanceGroupCommitter.commit(TaskInstanceDirtyFields.of(taskInstance).state().endTime());
     }
 
     @Override
@@ -222,7 +227,7 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
         taskInstance.setState(TaskExecutionStatus.SUCCESS);
         taskInstance.setEndTime(taskSuccessEvent.getEndTime());
         taskInstance.setVarPool(taskSuccessEvent.getVarPool());
-        taskInstanceDao.updateById(taskInstance);
+        taskInstanceGroupCommitter.commit(TaskInstanceDirtyFields.of(taskInstance).state().endTime().varPool());
     }
 
     /**
@@ -19,9 +19,10 @@ package org.apache.dolphinscheduler.server.master.engine.task.statemachine;
 
 import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceDirtyFields;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.server.master.engine.TaskGroupCoordinator;
+import org.apache.dolphinscheduler.server.master.engine.task.cache.TaskCacheCoordinator;
 import org.apache.dolphinscheduler.server.master.engine.task.lifecycle.event.TaskDispatchLifecycleEvent;
 import org.apache.dolphinscheduler.server.master.engine.task.lifecycle.event.TaskDispatchedLifecycleEvent;
 import org.apache.dolphinscheduler.server.master.engine.task.lifecycle.event.TaskFailedLifecycleEvent;
@@ -38,6 +39,9 @@ import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecu
 import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.runner.GlobalTaskDispatchWaitingQueue;
 
+import java.util.Date;
+import java.util.Optional;
+
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -57,7 +61,7 @@ public class TaskSubmittedStateAction extends AbstractTaskStateAction {
     private TaskGroupCoordinator taskGroupCoordinator;
 
     @Autowired
-    private TaskInstanceDao taskInstanceDao;
+    private TaskCacheCoordinator taskCacheCoordinator;
 
     @Override
     public void startEventAction(final IWorkflowExecutionRunnable workflowExecutionRunnable,
@@ -99,13 +103,19 @@ public class TaskSubmittedStateAction extends AbstractTaskStateAction {
                                     final ITaskExecutionRunnable taskExecutionRunnable,
                                     final TaskDispatchLifecycleEvent taskDispatchEvent) {
         throwExceptionIfStateIsNotMatch(taskExecutionRunnable);
+        final Optional<TaskInstance> cachedTaskInstance =
+                taskCacheCoordinator.findCachedTaskInstance(taskExecutionRunnable);
+        if (cachedTaskInstance.isPresent()) {
+            reuseCachedTaskInstanceResult(workflowExecutionRunnable, taskExecutionRunnable, cachedTaskInstance.get());
+            return;
+        }
         final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
         long remainTimeMills = DateUtils.getRemainTime(
                 taskInstance.getFirstSubmitTime(),
                 taskInstance.getDelayTime() * 60L) * 1_000;
         if (remainTimeMills > 0) {
             taskInstance.setState(TaskExecutionStatus.DELAY_EXECUTION);
-            taskInstanceDao.updateById(taskInstance);
+            taskInstanceGroupCommitter.commit(TaskInstanceDirtyFields.of(taskInstance).state());
             log.info("Current taskInstance: {} is choose delay execution, delay time: {}/min, remainTime: {}/ms",
                     taskInstance.getName(),
                     taskInstance.getDelayTime(),
@@ -114,6 +124,28 @@ public class TaskSubmittedStateAction extends AbstractTaskStateAction {
         globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnableWithDelay(taskExecutionRunnable, remainTimeMills);
     }
 
+    /**
+     * Mark the task as success with the result of the cached task instance, the task will not be dispatched.
+     */
+    private void reuseCachedTaskInstanceResult(final IWorkflowExecutionRunnable workflowExecutionRunnable,
+                                               final ITaskExecutionRunnable taskExecutionRunnable,
+                                               final TaskInstance cachedTaskInstance) {
+        final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
+        final Date now = new Date();
+        taskInstance.setHost(cachedTaskInstance.getHost());
+        taskInstance.setLogPath(cachedTaskInstance.getLogPath());
+        taskInstance.setStartTime(now);
+        taskInstanceGroupCommitter.commit(TaskInstanceDirtyFields.of(taskInstance).host().logPath().startTime());
+        log.info("Task: {} reuses the result of the cached task instance: {}",
+                taskInstance.getName(), cachedTaskInstance.getId());
+        super.succeedEventAction(workflowExecutionRunnable, taskExecutionRunnable,
+                TaskSuccessLifecycleEvent.builder()
+                        .taskExecutionRunnable(taskExecutionRunnable)
+                        .endTime(now)
+                        .varPool(cachedTaskInstance.getVarPool())
+                        .build());
+    }
+
     @Override
     public void dispatchedEventAction(final IWorkflowExecutionRunnable workflowExecutionRunnable,
                                       final ITaskExecutionRunnable taskExecutionRunnable,
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.workflow.listener;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstanceRelation;
+import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceDao;
+import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceMapDao;
+import org.apache.dolphinscheduler.extract.base.client.Clients;
+import org.apache.dolphinscheduler.extract.master.IWorkflowControlClient;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.SubWorkflowInstanceFinishedNotifyRequest;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.SubWorkflowInstanceFinishedNotifyResponse;
+import org.apache.dolphinscheduler.server.master.engine.executor.plugin.subworkflow.SubWorkflowTracker;
+import org.apache.dolphinscheduler.server.master.engine.executor.plugin.subworkflow.SubWorkflowTrackerRepository;
+import org.apache.dolphinscheduler.server.master.engine.workflow.lifecycle.AbstractWorkflowLifecycleLifecycleEvent;
+import org.apache.dolphinscheduler.server.master.engine.workflow.lifecycle.WorkflowLifecycleEventType;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+
+import org.apache.commons.lang3.StringUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Push the final state of the sub workflow instance to the SubWorkflowLogicTask in the parent workflow, so that the
+ * parent doesn't need to poll the sub workflow instance from the database.
+ * <p> If the parent workflow is running in this master, the state is set to its {@link SubWorkflowTracker} directly,
+ * otherwise the state is sent to the master of the parent workflow by {@link IWorkflowControlClient}.
+ */
+@Slf4j
+@Component
+public class SubWorkflowFinishedLifecycleListener implements IWorkflowLifecycleListener {
+
+    @Autowired
+    private SubWorkflowTrackerRepository subWorkflowTrackerRepository;
+
+    @Autowired
+    private WorkflowInstanceMapDao workflowInstanceMapDao;
+
+    @Autowired
+    private WorkflowInstanceDao workflowInstanceDao;
+
+    @Override
+    public void notifyWorkflowLifecycleEvent(final IWorkflowExecutionRunnable workflowExecutionRunnable,
+                                             final AbstractWorkflowLifecycleLifecycleEvent lifecycleEvent) {
+        final WorkflowInstance workflowInstance = workflowExecutionRunnable.getWorkflowInstance();
+        if (Flag.YES != workflowInstance.getIsSubWorkflow()) {
+            return;
+        }
+        final WorkflowExecutionStatus state = workflowInstance.getState();
+        if (!state.isFinished()) {
+            return;
+        }
+        final Integer subWorkflowInstanceId = workflowInstance.getId();
+        final SubWorkflowTracker subWorkflowTracker = subWorkflowTrackerRepository.get(subWorkflowInstanceId);
+        if (subWorkflowTracker != null) {
+            subWorkflowTracker.onSubWorkflowFinished(state);
+            return;
+        }
+        notifyRemoteParentWorkflow(subWorkflowInstanceId, state);
+    }
+
+    private void notifyRemoteParentWorkflow(final Integer subWorkflowInstanceId,
+                                            final WorkflowExecutionStatus state) {
+        final WorkflowInstanceRelation workflowInstanceRelation =
+                workflowInstanceMapDao.queryWorkflowMapBySubWorkflowId(subWorkflowInstanceId);
+        if (workflowInstanceRelation == null) {
+            log.warn("Cannot find the parent workflow of SubWorkflow instance: {}", subWorkflowInstanceId);
+            return;
+        }
+        final WorkflowInstance parentWorkflowInstance =
+                workflowInstanceDao.queryById(workflowInstanceRelation.getParentWorkflowInstanceId());
+        if (parentWorkflowInstance == null || StringUtils.isEmpty(parentWorkflowInstance.getHost())) {
+            log.warn("Cannot find the master of the parent workflow: {} of SubWorkflow instance: {}",
+                    workflowInstanceRelation.getParentWorkflowInstanceId(), subWorkflowInstanceId);
+            return;
+        }
+        // The parent will reconcile the sub workflow state from db if the notification failed
+        final SubWorkflowInstanceFinishedNotifyResponse notifyResponse = Clients
+                .withService(IWorkflowControlClient.class)
+                .withHost(parentWorkflowInstance.getHost())
+                .notifySubWorkflowInstanceFinished(
+                        new SubWorkflowInstanceFinishedNotifyRequest(subWorkflowInstanceId, state));
+        if (!notifyResponse.isSuccess()) {
+            log.warn("Notify the parent workflow: {} SubWorkflow instance: {} finished failed: {}",
+                    parentWorkflowInstance.getName(), subWorkflowInstanceId, notifyResponse.getMessage());
+        }
+    }
+
+    @Override
+    public boolean match(final AbstractWorkflowLifecycleLifecycleEvent event) {
+        return event.getEventType() == WorkflowLifecycleEventType.FINALIZE;
+    }
+
+}
@@ -27,6 +27,9 @@ import org.apache.dolphinscheduler.dao.repository.UserDao;
 import org.apache.dolphinscheduler.dao.repository.WorkflowDefinitionLogDao;
 import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceDao;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -61,6 +64,32 @@ public abstract class AbstractWorkflowTrigger<TriggerRequest, TriggerResponse>
         return onTriggerSuccess(workflowInstance);
     }
 
+    /**
+     * Trigger several workflows in one transaction, the workflow instances and commands are inserted in jdbc batches
+     * and the responses are in the same order as the requests.
+     */
+    @Transactional
+    public List<TriggerResponse> batchTriggerWorkflow(final List<TriggerRequest> triggerRequests) {
+        final List<WorkflowInstance> workflowInstances = new ArrayList<>(triggerRequests.size());
+        for (TriggerRequest triggerRequest : triggerRequests) {
+            workflowInstances.add(constructWorkflowInstance(triggerRequest));
+        }
+        // The commands need the generated workflow instance ids, so the workflow instances are inserted first
+        workflowInstanceDao.insertBatch(workflowInstances);
+
+        final List<Command> commands = new ArrayList<>(triggerRequests.size());
+        for (int i = 0; i < triggerRequests.size(); i++) {
+            commands.add(constructTriggerCommand(triggerRequests.get(i), workflowInstances.get(i)));
+        }
+        commandDao.insertBatch(commands);
+
+        final List<TriggerResponse> triggerResponses = new ArrayList<>(workflowInstances.size());
+        for (WorkflowInstance workflowInstance : workflowInstances) {
+            triggerResponses.add(onTriggerSuccess(workflowInstance));
+        }
+        return triggerResponses;
+    }
+
     protected abstract WorkflowInstance constructWorkflowInstance(final TriggerRequest triggerRequest);
 
     protected abstract Command constructTriggerCommand(final TriggerRequest triggerRequest,
@@ -43,6 +43,14 @@ public class MasterServerMetrics {
                     .description("Master server consume command count")
                     .register(Metrics.globalRegistry);
 
+    /**
+     * Used to measure the master stops consuming commands since the running workflows exceed the memory budget.
+     */
+    private final Counter masterWorkflowMemoryBudgetExceededCounter =
+            Counter.builder("ds.master.workflow.memory.budget.exceeded.count")
+                    .description("Master workflow memory budget exceeded count")
+                    .register(Metrics.globalRegistry);
+
     private final Counter masterHeartBeatCounter =
             Counter.builder("ds.master.heartbeat.count")
                     .description("master heartbeat count")
@@ -76,6 +84,10 @@ public class MasterServerMetrics {
         masterOverloadCounter.increment();
     }
 
+    public void incMasterWorkflowMemoryBudgetExceeded() {
+        masterWorkflowMemoryBudgetExceededCounter.increment();
+    }
+
     public void incMasterConsumeCommand(int commandCount) {
         masterConsumeCommandCounter.increment(commandCount);
     }
@@ -65,6 +65,18 @@ public class TaskMetrics {
                     .description("Number of errors during task dispatch")
                     .register(Metrics.globalRegistry);
 
+    private final Counter taskCacheHitCounter =
+            Counter.builder("ds.task.cache.count")
+                    .tags("result", "hit")
+                    .description("Task cache hit count")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter taskCacheMissCounter =
+            Counter.builder("ds.task.cache.count")
+                    .tags("result", "miss")
+                    .description("Task cache miss count")
+                    .register(Metrics.globalRegistry);
+
     public synchronized void registerTaskPrepared(Supplier<Number> consumer) {
         Gauge.builder("ds.task.prepared", consumer)
                 .description("Task prepared count")
@@ -83,6 +95,14 @@ public class TaskMetrics {
         taskDispatchCounter.increment();
     }
 
+    public void incTaskCacheHit() {
+        taskCacheHitCounter.increment();
+    }
+
+    public void incTaskCacheMiss() {
+        taskCacheMissCounter.increment();
+    }
+
     public void incTaskInstanceByState(final String state) {
         if (taskInstanceCounters.get(state) == null) {
             return;
@@ -72,6 +72,38 @@ public class WorkflowInstanceMetrics {
                 .register(Metrics.globalRegistry);
     }
 
+    public synchronized void registerWorkflowInstanceEstimatedMemoryGauge(Supplier<Number> function) {
+        Gauge.builder("ds.workflow.instance.memory.estimated", function)
+                .description("The estimated heap bytes occupied by the running workflow instances")
+                .baseUnit("bytes")
+                .register(Metrics.globalRegistry);
+    }
+
+    public synchronized void registerWorkflowInstanceMaxEstimatedMemoryGauge(Supplier<Number> function) {
+        Gauge.builder("ds.workflow.instance.memory.estimated.max", function)
+                .description("The estimated heap bytes occupied by the largest running workflow instance")
+                .baseUnit("bytes")
+                .register(Metrics.globalRegistry);
+    }
+
+    public synchronized void registerWorkflowDefinitionEstimatedMemoryGauge(final Long workflowDefinitionCode,
+                                                                            final Supplier<Number> function) {
+        Gauge.builder("ds.workflow.definition.memory.estimated", function)
+                .tag("workflow.definition.code", String.valueOf(workflowDefinitionCode))
+                .description("The estimated heap bytes occupied by the running instances of the workflow definition")
+                .baseUnit("bytes")
+                .register(Metrics.globalRegistry);
+    }
+
+    public synchronized void removeWorkflowDefinitionEstimatedMemoryGauge(final Long workflowDefinitionCode) {
+        final Gauge gauge = Metrics.globalRegistry.find("ds.workflow.definition.memory.estimated")
+                .tag("workflow.definition.code", String.valueOf(workflowDefinitionCode))
+                .gauge();
+        if (gauge != null) {
+            Metrics.globalRegistry.remove(gauge);
+        }
+    }
+
     public synchronized void registerWorkflowInstanceResubmitGauge(Supplier<Number> function) {
         Gauge.builder("ds.workflow.instance.resubmit", function)
                 .description("The current workflow instance need to resubmit count")
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.rpc;
+
+import org.apache.dolphinscheduler.extract.master.IWorkerLoadListener;
+import org.apache.dolphinscheduler.extract.master.transportor.WorkerLoadDelta;
+import org.apache.dolphinscheduler.extract.master.transportor.WorkerLoadReportResponse;
+import org.apache.dolphinscheduler.server.master.cluster.ClusterManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class WorkerLoadListenerImpl implements IWorkerLoadListener {
+
+    @Autowired
+    private ClusterManager clusterManager;
+
+    @Override
+    public WorkerLoadReportResponse onWorkerLoadReport(final WorkerLoadDelta workerLoadDelta) {
+        if (clusterManager.getWorkerClusters().onWorkerLoadReport(workerLoadDelta)) {
+            return WorkerLoadReportResponse.accepted();
+        }
+        log.debug("Cannot apply the worker load delta: {}, require a full snapshot", workerLoadDelta);
+        return WorkerLoadReportResponse.resyncRequired();
+    }
+
+}
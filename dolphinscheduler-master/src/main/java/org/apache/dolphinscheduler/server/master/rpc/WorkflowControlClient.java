@@ -18,8 +18,14 @@
 package org.apache.dolphinscheduler.server.master.rpc;
 
 import org.apache.dolphinscheduler.extract.master.IWorkflowControlClient;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.SubWorkflowInstanceFinishedNotifyRequest;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.SubWorkflowInstanceFinishedNotifyResponse;
 import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBackfillTriggerRequest;
 import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBackfillTriggerResponse;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBatchBackfillTriggerRequest;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBatchBackfillTriggerResponse;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBatchScheduleTriggerRequest;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBatchScheduleTriggerResponse;
 import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowInstancePauseRequest;
 import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowInstancePauseResponse;
 import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowInstanceRecoverFailureTasksRequest;
@@ -35,6 +41,8 @@ import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowM
 import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowScheduleTriggerRequest;
 import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowScheduleTriggerResponse;
 import org.apache.dolphinscheduler.server.master.engine.WorkflowCacheRepository;
+import org.apache.dolphinscheduler.server.master.engine.executor.plugin.subworkflow.SubWorkflowTracker;
+import org.apache.dolphinscheduler.server.master.engine.executor.plugin.subworkflow.SubWorkflowTrackerRepository;
 import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.engine.workflow.trigger.WorkflowBackfillTrigger;
 import org.apache.dolphinscheduler.server.master.engine.workflow.trigger.WorkflowInstanceRecoverFailureTaskTrigger;
@@ -45,6 +53,9 @@ import org.apache.dolphinscheduler.server.master.engine.workflow.trigger.Workflo
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -75,6 +86,9 @@ public class WorkflowControlClient implements IWorkflowControlClient {
     @Autowired
     private WorkflowCacheRepository workflowRepository;
 
+    @Autowired
+    private SubWorkflowTrackerRepository subWorkflowTrackerRepository;
+
     @Override
     public WorkflowManualTriggerResponse manualTriggerWorkflow(final WorkflowManualTriggerRequest manualTriggerRequest) {
         try {
@@ -95,6 +109,22 @@ public class WorkflowControlClient implements IWorkflowControlClient {
         }
     }
 
+    @Override
+    public WorkflowBatchBackfillTriggerResponse batchBackfillTriggerWorkflow(final WorkflowBatchBackfillTriggerRequest batchBackfillTriggerRequest) {
+        try {
+            final List<Integer> workflowInstanceIds = workflowBackfillTrigger
+                    .batchTriggerWorkflow(batchBackfillTriggerRequest.getBackfillTriggerRequests())
+                    .stream()
+                    .map(WorkflowBackfillTriggerResponse::getWorkflowInstanceId)
+                    .collect(Collectors.toList());
+            return WorkflowBatchBackfillTriggerResponse.success(workflowInstanceIds);
+        } catch (Exception ex) {
+            log.error("Handle workflowBatchBackfillTriggerRequest: {} failed", batchBackfillTriggerRequest, ex);
+            return WorkflowBatchBackfillTriggerResponse
+                    .fail("Batch backfill workflow failed: " + ExceptionUtils.getMessage(ex));
+        }
+    }
+
     @Override
     public WorkflowScheduleTriggerResponse scheduleTriggerWorkflow(final WorkflowScheduleTriggerRequest workflowScheduleTriggerRequest) {
         try {
@@ -106,6 +136,22 @@ public class WorkflowControlClient implements IWorkflowControlClient {
         }
     }
 
+    @Override
+    public WorkflowBatchScheduleTriggerResponse batchScheduleTriggerWorkflow(final WorkflowBatchScheduleTriggerRequest batchScheduleTriggerRequest) {
+        try {
+            final List<Integer> workflowInstanceIds = workflowScheduleTrigger
+                    .batchTriggerWorkflow(batchScheduleTriggerRequest.getScheduleTriggerRequests())
+                    .stream()
+                    .map(WorkflowScheduleTriggerResponse::getWorkflowInstanceId)
+                    .collect(Collectors.toList());
+            return WorkflowBatchScheduleTriggerResponse.success(workflowInstanceIds);
+        } catch (Exception ex) {
+            log.error("Handle workflowBatchScheduleTriggerRequest: {} failed", batchScheduleTriggerRequest, ex);
+            return WorkflowBatchScheduleTriggerResponse
+                    .fail("Batch schedule trigger workflow failed: " + ExceptionUtils.getMessage(ex));
+        }
+    }
+
     @Override
     public WorkflowInstanceRepeatRunningResponse repeatTriggerWorkflowInstance(final WorkflowInstanceRepeatRunningRequest workflowInstanceRepeatRunningRequest) {
         try {
@@ -179,4 +225,24 @@ public class WorkflowControlClient implements IWorkflowControlClient {
                     "Stop workflow instance failed:" + ExceptionUtils.getMessage(ex));
         }
     }
+
+    @Override
+    public SubWorkflowInstanceFinishedNotifyResponse notifySubWorkflowInstanceFinished(final SubWorkflowInstanceFinishedNotifyRequest subWorkflowInstanceFinishedNotifyRequest) {
+        try {
+            final Integer subWorkflowInstanceId = subWorkflowInstanceFinishedNotifyRequest.getSubWorkflowInstanceId();
+            final SubWorkflowTracker subWorkflowTracker = subWorkflowTrackerRepository.get(subWorkflowInstanceId);
+            if (subWorkflowTracker == null) {
+                return SubWorkflowInstanceFinishedNotifyResponse
+                        .fail("Cannot find the SubWorkflowTracker: " + subWorkflowInstanceId);
+            }
+            subWorkflowTracker.onSubWorkflowFinished(
+                    subWorkflowInstanceFinishedNotifyRequest.getSubWorkflowInstanceState());
+            return SubWorkflowInstanceFinishedNotifyResponse.success();
+        } catch (Exception ex) {
+            log.error("Handle subWorkflowInstanceFinishedNotifyRequest: {} failed",
+                    subWorkflowInstanceFinishedNotifyRequest, ex);
+            return SubWorkflowInstanceFinishedNotifyResponse.fail(
+                    "Notify sub workflow instance finished failed: " + ExceptionUtils.getMessage(ex));
+        }
+    }
 }
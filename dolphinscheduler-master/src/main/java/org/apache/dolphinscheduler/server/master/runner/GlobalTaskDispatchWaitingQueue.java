@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.server.master.runner;
 
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.runner.queue.DelayEntry;
 import org.apache.dolphinscheduler.server.master.runner.queue.PriorityDelayQueue;
@@ -41,8 +42,11 @@ import org.springframework.stereotype.Component;
 public class GlobalTaskDispatchWaitingQueue {
 
     private final Set<Integer> waitingTaskInstanceIds = ConcurrentHashMap.newKeySet();
-    private final PriorityDelayQueue<DelayEntry<ITaskExecutionRunnable>> priorityDelayQueue =
-            new PriorityDelayQueue<>();
+    private final PriorityDelayQueue<DelayEntry<ITaskExecutionRunnable>> priorityDelayQueue;
+
+    public GlobalTaskDispatchWaitingQueue(MasterConfig masterConfig) {
+        this.priorityDelayQueue = new PriorityDelayQueue<>(masterConfig.getDelayQueue().newDelayQueue());
+    }
 
     /**
      * Submit a {@link ITaskExecutionRunnable} with delay time 0, it will be consumed immediately.
@@ -17,16 +17,25 @@
 
 package org.apache.dolphinscheduler.server.master.runner.queue;
 
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.DelayQueue;
 
 import lombok.SneakyThrows;
 
 public class PriorityDelayQueue<V extends DelayEntry> {
 
-    private final DelayQueue<V> queue = new DelayQueue<>();
+    private final BlockingQueue<V> queue;
+
+    public PriorityDelayQueue() {
+        this(new DelayQueue<>());
+    }
+
+    public PriorityDelayQueue(BlockingQueue<V> queue) {
+        this.queue = queue;
+    }
 
     public void add(V v) {
-        queue.put(v);
+        queue.offer(v);
     }
 
     @SneakyThrows
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.utils;
+
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.server.master.engine.graph.IWorkflowExecutionGraph;
+import org.apache.dolphinscheduler.server.master.engine.graph.IWorkflowGraph;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.runner.IWorkflowExecuteContext;
+
+import java.util.Map;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Estimate the heap occupied by a running workflow in the master.
+ * <p> The estimate only counts the variable-length fields which grow with the workflow, e.g. the task params and the
+ * var pools, plus a fixed overhead for each workflow and task, it's not the exact retained size.
+ * <p> The estimate reads the maps of the workflow without locking, which are modified by the workflow event thread,
+ * so it might throw {@link java.util.ConcurrentModificationException} and the caller should keep the latest estimate.
+ */
+@UtilityClass
+public class WorkflowMemoryUtils {
+
+    /**
+     * The fixed overhead of a workflow, e.g. the context, the state machine, the event bus and the graph.
+     */
+    static final long WORKFLOW_OVERHEAD_BYTES = 16 * 1024;
+
+    /**
+     * The fixed overhead of a task, e.g. the task execution runnable and the entities.
+     */
+    static final long TASK_OVERHEAD_BYTES = 4 * 1024;
+
+    private static final long STRING_OVERHEAD_BYTES = 40;
+
+    public long estimateMemory(final IWorkflowExecutionRunnable workflowExecutionRunnable) {
+        final IWorkflowExecuteContext workflowExecuteContext = workflowExecutionRunnable.getWorkflowExecuteContext();
+        long bytes = WORKFLOW_OVERHEAD_BYTES;
+        bytes += estimateWorkflowInstance(workflowExecuteContext.getWorkflowInstance());
+
+        final IWorkflowGraph workflowGraph = workflowExecuteContext.getWorkflowGraph();
+        if (workflowGraph != null) {
+            for (final TaskDefinition taskDefinition : workflowGraph.getAllTaskNodes()) {
+                bytes += TASK_OVERHEAD_BYTES + sizeOf(taskDefinition.getTaskParams());
+            }
+        }
+
+        final IWorkflowExecutionGraph workflowExecutionGraph = workflowExecuteContext.getWorkflowExecutionGraph();
+        if (workflowExecutionGraph != null) {
+            for (final ITaskExecutionRunnable taskExecutionRunnable : workflowExecutionGraph
+                    .getAllTaskExecutionRunnable()) {
+                if (taskExecutionRunnable.isTaskInstanceInitialized()) {
+                    bytes += estimateTaskInstance(taskExecutionRunnable.getTaskInstance());
+                }
+                bytes += estimateTaskExecutionContext(taskExecutionRunnable.getResidentTaskExecutionContext());
+            }
+        }
+        return bytes;
+    }
+
+    private long estimateWorkflowInstance(final WorkflowInstance workflowInstance) {
+        if (workflowInstance == null) {
+            return 0;
+        }
+        return sizeOf(workflowInstance.getGlobalParams())
+                + sizeOf(workflowInstance.getVarPool())
+                + sizeOf(workflowInstance.getCommandParam())
+                + sizeOf(workflowInstance.getStateHistory());
+    }
+
+    private long estimateTaskInstance(final TaskInstance taskInstance) {
+        if (taskInstance == null) {
+            return 0;
+        }
+        return sizeOf(taskInstance.getTaskParams())
+                + sizeOf(taskInstance.getVarPool())
+                + sizeOf(taskInstance.getAppLink())
+                + sizeOf(taskInstance.getEnvironmentConfig());
+    }
+
+    private long estimateTaskExecutionContext(final TaskExecutionContext taskExecutionContext) {
+        if (taskExecutionContext == null) {
+            return 0;
+        }
+        return sizeOf(taskExecutionContext.getTaskParams())
+                + sizeOf(taskExecutionContext.getVarPool())
+                + sizeOf(taskExecutionContext.getGlobalParams())
+                + sizeOf(taskExecutionContext.getEnvironmentConfig())
+                + sizeOf(taskExecutionContext.getDefinedParams())
+                + sizeOf(taskExecutionContext.getPrepareParamsMap())
+                + sizeOf(taskExecutionContext.getParamsMap());
+    }
+
+    private long sizeOf(final String value) {
+        // Most of the params are latin1 strings which take one byte for each char
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + value.length();
+    }
+
+    private long sizeOf(final Map<String, ?> map) {
+        if (map == null) {
+            return 0;
+        }
+        long bytes = 0;
+        for (final Map.Entry<String, ?> entry : map.entrySet()) {
+            bytes += sizeOf(entry.getKey()) + sizeOfValue(entry.getValue());
+        }
+        return bytes;
+    }
+
+    private long sizeOfValue(final Object value) {
+        if (value instanceof String) {
+            return sizeOf((String) value);
+        }
+        if (value instanceof Property) {
+            final Property property = (Property) value;
+            return STRING_OVERHEAD_BYTES + sizeOf(property.getProp()) + sizeOf(property.getValue());
+        }
+        return value == null ? 0 : STRING_OVERHEAD_BYTES;
+    }
+}
@@ -21,6 +21,7 @@ import static com.google.common.truth.Truth.assertThat;
 
 import org.apache.dolphinscheduler.common.enums.ServerStatus;
 import org.apache.dolphinscheduler.dao.entity.WorkerGroup;
+import org.apache.dolphinscheduler.extract.master.transportor.WorkerLoadDelta;
 
 import org.junit.jupiter.api.Test;
 
@@ -144,6 +145,98 @@ class WorkerClustersTest {
         assertThat(workerClusters.getServers()).containsExactly(normalWorkerServerMetadata, workerServerMetadata);
     }
 
+    @Test
+    void testOnWorkerLoadReport() {
+        WorkerServerMetadata normalWorkerServerMetadata = getNormalWorkerServerMetadata();
+        WorkerClusters workerClusters = new WorkerClusters();
+        workerClusters.onServerAdded(normalWorkerServerMetadata);
+
+        assertThat(workerClusters.onWorkerLoadReport(fullSnapshot(1, 100))).isTrue();
+        WorkerLoadDelta busyDelta = WorkerLoadDelta.builder()
+                .workerAddress(normalWorkerServerMetadata.getAddress())
+                .sequence(2)
+                .reportTime(200)
+                .changedFields(WorkerLoadDelta.TASK_THREAD_POOL_USAGE | WorkerLoadDelta.SERVER_STATUS)
+                .taskThreadPoolUsage(1)
+                .serverStatus(ServerStatus.BUSY)
+                .build();
+        assertThat(workerClusters.onWorkerLoadReport(busyDelta)).isTrue();
+
+        WorkerServerMetadata workerServer = workerClusters.getServer(normalWorkerServerMetadata.getAddress()).get();
+        assertThat(workerServer.getCpuUsage()).isEqualTo(0.1);
+        assertThat(workerServer.getMemoryUsage()).isEqualTo(0.1);
+        assertThat(workerServer.getTaskThreadPoolUsage()).isEqualTo(1);
+        assertThat(workerServer.getServerStatus()).isEqualTo(ServerStatus.BUSY);
+        assertThat(workerServer.getWorkerWeight()).isEqualTo(2);
+        assertThat(workerClusters.getNormalWorkerServerAddressByGroup("default")).isEmpty();
+    }
+
+    @Test
+    void testOnWorkerLoadReport_requireResync() {
+        WorkerServerMetadata normalWorkerServerMetadata = getNormalWorkerServerMetadata();
+        WorkerClusters workerClusters = new WorkerClusters();
+        // The worker is not registered
+        assertThat(workerClusters.onWorkerLoadReport(fullSnapshot(1, 100))).isFalse();
+
+        workerClusters.onServerAdded(normalWorkerServerMetadata);
+        // The master doesn't have the base of the delta
+        WorkerLoadDelta delta = WorkerLoadDelta.builder()
+                .workerAddress(normalWorkerServerMetadata.getAddress())
+                .sequence(2)
+                .reportTime(200)
+                .changedFields(WorkerLoadDelta.CPU_USAGE)
+                .cpuUsage(0.9)
+                .build();
+        assertThat(workerClusters.onWorkerLoadReport(delta)).isFalse();
+
+        assertThat(workerClusters.onWorkerLoadReport(fullSnapshot(3, 300))).isTrue();
+        // The delta is missed
+        delta.setSequence(5);
+        assertThat(workerClusters.onWorkerLoadReport(delta)).isFalse();
+        assertThat(workerClusters.getServer(normalWorkerServerMetadata.getAddress()).get().getCpuUsage())
+                .isEqualTo(0.1);
+    }
+
+    @Test
+    void testOnServerUpdate_keepNewerLoadReport() {
+        WorkerServerMetadata normalWorkerServerMetadata = getNormalWorkerServerMetadata();
+        WorkerClusters workerClusters = new WorkerClusters();
+        workerClusters.onServerAdded(normalWorkerServerMetadata);
+        workerClusters.onWorkerLoadReport(fullSnapshot(1, 100));
+
+        WorkerServerMetadata staleHeartbeat = WorkerServerMetadata.builder()
+                .address("127.0.0.1:1235")
+                .cpuUsage(0.8)
+                .memoryUsage(0.8)
+                .serverStatus(ServerStatus.NORMAL)
+                .taskThreadPoolUsage(0.8)
+                .workerWeight(3)
+                .loadReportTime(50)
+                .build();
+        workerClusters.onServerUpdate(staleHeartbeat);
+
+        WorkerServerMetadata workerServer = workerClusters.getServer(normalWorkerServerMetadata.getAddress()).get();
+        assertThat(workerServer.getCpuUsage()).isEqualTo(0.1);
+        assertThat(workerServer.getWorkerWeight()).isEqualTo(3);
+
+        workerClusters.onServerRemove(staleHeartbeat);
+        assertThat(workerClusters.getServers()).isEmpty();
+    }
+
+    private WorkerLoadDelta fullSnapshot(long sequence, long reportTime) {
+        return WorkerLoadDelta.builder()
+                .workerAddress("127.0.0.1:1235")
+                .sequence(sequence)
+                .reportTime(reportTime)
+                .fullSnapshot(true)
+                .changedFields(WorkerLoadDelta.ALL_FIELDS)
+                .cpuUsage(0.1)
+                .memoryUsage(0.1)
+                .taskThreadPoolUsage(0.1)
+                .serverStatus(ServerStatus.NORMAL)
+                .build();
+    }
+
     private WorkerServerMetadata getNormalWorkerServerMetadata() {
         return WorkerServerMetadata.builder()
                 .address("127.0.0.1:1235")
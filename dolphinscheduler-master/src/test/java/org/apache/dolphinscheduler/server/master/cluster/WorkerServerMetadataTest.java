@@ -43,6 +43,8 @@ class WorkerServerMetadataTest {
                 .workerHostWeight(2)
                 .threadPoolUsage(0.6)
                 .workerGroup("test")
+                .cpuQuotaCapacity(400)
+                .availableCpuQuota(300)
                 .build();
         WorkerServerMetadata workerServerMetadata = WorkerServerMetadata.parseFromHeartBeat(workerHeartBeat);
         Truth.assertThat(workerServerMetadata.getCpuUsage()).isEqualTo(0.2);
@@ -52,5 +54,9 @@ class WorkerServerMetadataTest {
         Truth.assertThat(workerServerMetadata.getWorkerWeight()).isEqualTo(2);
         Truth.assertThat(workerServerMetadata.getTaskThreadPoolUsage()).isEqualTo(0.6);
         Truth.assertThat(workerServerMetadata.getWorkerGroup()).isEqualTo("test");
+        Truth.assertThat(workerServerMetadata.getCpuQuotaCapacity()).isEqualTo(400);
+        Truth.assertThat(workerServerMetadata.getAvailableCpuQuota()).isEqualTo(300);
+        Truth.assertThat(workerServerMetadata.getMemoryMaxCapacity()).isEqualTo(-1);
+        Truth.assertThat(workerServerMetadata.getAvailableMemoryMax()).isEqualTo(-1);
     }
 }
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.master.engine.graph.IWorkflowExecutionGraph;
+import org.apache.dolphinscheduler.server.master.engine.graph.IWorkflowGraph;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.runner.IWorkflowExecuteContext;
+import org.apache.dolphinscheduler.server.master.utils.WorkflowMemoryUtils;
+
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class WorkflowCacheRepositoryTest {
+
+    @Test
+    void testGetEstimatedMemory_cachedWithinRefreshInterval() {
+        final WorkflowCacheRepository workflowCacheRepository =
+                new WorkflowCacheRepository(TimeUnit.HOURS.toMillis(1), 0);
+        final IWorkflowExecutionRunnable workflow1 = mockWorkflowExecutionRunnable(1, mock(IWorkflowGraph.class));
+        workflowCacheRepository.put(workflow1);
+        final long estimatedMemory = workflowCacheRepository.getEstimatedMemory();
+        assertThat(estimatedMemory).isEqualTo(WorkflowMemoryUtils.estimateMemory(workflow1));
+
+        workflowCacheRepository.put(mockWorkflowExecutionRunnable(2, mock(IWorkflowGraph.class)));
+        assertThat(workflowCacheRepository.getEstimatedMemory()).isEqualTo(estimatedMemory);
+        assertThat(workflowCacheRepository.getMaxEstimatedMemory()).isEqualTo(estimatedMemory);
+    }
+
+    @Test
+    void testGetEstimatedMemory_refreshedAfterRefreshInterval() {
+        final WorkflowCacheRepository workflowCacheRepository = new WorkflowCacheRepository(0, 0);
+        final IWorkflowExecutionRunnable workflow1 = mockWorkflowExecutionRunnable(1, mock(IWorkflowGraph.class));
+        workflowCacheRepository.put(workflow1);
+        final long estimatedMemory = workflowCacheRepository.getEstimatedMemory();
+
+        workflowCacheRepository.put(mockWorkflowExecutionRunnable(2, mock(IWorkflowGraph.class)));
+        assertThat(workflowCacheRepository.getEstimatedMemory()).isEqualTo(estimatedMemory * 2);
+
+        workflowCacheRepository.remove(1);
+        workflowCacheRepository.remove(2);
+        assertThat(workflowCacheRepository.getEstimatedMemory()).isEqualTo(0);
+        assertThat(workflowCacheRepository.getMaxEstimatedMemory()).isEqualTo(0);
+    }
+
+    @Test
+    void testGetEstimatedMemory_keepLatestEstimateWhenModifiedConcurrently() {
+        final WorkflowCacheRepository workflowCacheRepository = new WorkflowCacheRepository(0, 0);
+        final TaskDefinition taskDefinition = new TaskDefinition();
+        taskDefinition.setTaskParams("{}");
+        final IWorkflowGraph workflowGraph = mock(IWorkflowGraph.class);
+        when(workflowGraph.getAllTaskNodes())
+                .thenReturn(Collections.singletonList(taskDefinition))
+                .thenThrow(new ConcurrentModificationException());
+        workflowCacheRepository.put(mockWorkflowExecutionRunnable(1, workflowGraph));
+
+        final long estimatedMemory = workflowCacheRepository.getEstimatedMemory();
+        assertThat(estimatedMemory).isGreaterThan(0);
+        assertThat(workflowCacheRepository.getEstimatedMemory()).isEqualTo(estimatedMemory);
+    }
+
+    @Test
+    void testGetEstimatedMemory_offloadFinishedTasksOnlyWhenBudgetExceeded() {
+        final ITaskExecutionRunnable taskExecutionRunnable = mockFinishedTaskExecutionRunnable();
+        final IWorkflowExecutionRunnable workflow = mockWorkflowExecutionRunnable(1, mock(IWorkflowGraph.class));
+        final IWorkflowExecutionGraph workflowExecutionGraph = mock(IWorkflowExecutionGraph.class);
+        when(workflowExecutionGraph.getAllTaskExecutionRunnable())
+                .thenReturn(Collections.singletonList(taskExecutionRunnable));
+        when(workflow.getWorkflowExecuteContext().getWorkflowExecutionGraph()).thenReturn(workflowExecutionGraph);
+        final long residentMemory = WorkflowMemoryUtils.estimateMemory(workflow);
+
+        final WorkflowCacheRepository withinBudget = new WorkflowCacheRepository(0, residentMemory);
+        withinBudget.put(workflow);
+        assertThat(withinBudget.getEstimatedMemory()).isEqualTo(residentMemory);
+        verify(taskExecutionRunnable, never()).offloadTaskExecutionContext();
+
+        final WorkflowCacheRepository exceedBudget = new WorkflowCacheRepository(0, residentMemory - 1);
+        exceedBudget.put(workflow);
+        assertThat(exceedBudget.getEstimatedMemory()).isLessThan(residentMemory);
+        assertThat(taskExecutionRunnable.getResidentTaskExecutionContext()).isNull();
+    }
+
+    @Test
+    void testGetWorkflowDefinitionEstimatedMemory() {
+        final WorkflowCacheRepository workflowCacheRepository = new WorkflowCacheRepository(0, 0);
+        final IWorkflowExecutionRunnable workflow1 = mockWorkflowExecutionRunnable(1, mock(IWorkflowGraph.class));
+        final IWorkflowExecutionRunnable workflow2 = mockWorkflowExecutionRunnable(2, mock(IWorkflowGraph.class));
+        workflow1.getWorkflowExecuteContext().getWorkflowInstance().setWorkflowDefinitionCode(1L);
+        workflow2.getWorkflowExecuteContext().getWorkflowInstance().setWorkflowDefinitionCode(1L);
+        workflowCacheRepository.put(workflow1);
+        workflowCacheRepository.put(workflow2);
+
+        final long estimatedMemory = workflowCacheRepository.getEstimatedMemory();
+        assertThat(workflowCacheRepository.getWorkflowDefinitionEstimatedMemory(1L)).isEqualTo(estimatedMemory);
+
+        workflowCacheRepository.remove(1);
+        workflowCacheRepository.remove(2);
+        workflowCacheRepository.getEstimatedMemory();
+        assertThat(workflowCacheRepository.getWorkflowDefinitionEstimatedMemory(1L)).isEqualTo(0);
+    }
+
+    private ITaskExecutionRunnable mockFinishedTaskExecutionRunnable() {
+        final TaskExecutionContext taskExecutionContext = new TaskExecutionContext();
+        taskExecutionContext.setTaskParams("{}");
+        final AtomicReference<TaskExecutionContext> residentTaskExecutionContext =
+                new AtomicReference<>(taskExecutionContext);
+        final ITaskExecutionRunnable taskExecutionRunnable = mock(ITaskExecutionRunnable.class);
+        when(taskExecutionRunnable.getResidentTaskExecutionContext())
+                .thenAnswer(invocation -> residentTaskExecutionContext.get());
+        when(taskExecutionRunnable.offloadTaskExecutionContext())
+                .thenAnswer(invocation -> residentTaskExecutionContext.getAndSet(null) != null);
+        return taskExecutionRunnable;
+    }
+
+    private IWorkflowExecutionRunnable mockWorkflowExecutionRunnable(final int workflowInstanceId,
+                                                                     final IWorkflowGraph workflowGraph) {
+        final IWorkflowExecuteContext workflowExecuteContext = mock(IWorkflowExecuteContext.class);
+        when(workflowExecuteContext.getWorkflowInstance()).thenReturn(new WorkflowInstance());
+        when(workflowExecuteContext.getWorkflowGraph()).thenReturn(workflowGraph);
+
+        final IWorkflowExecutionRunnable workflowExecutionRunnable = mock(IWorkflowExecutionRunnable.class);
+        when(workflowExecutionRunnable.getId()).thenReturn(workflowInstanceId);
+        when(workflowExecutionRunnable.getName()).thenReturn("workflow-" + workflowInstanceId);
+        when(workflowExecutionRunnable.getWorkflowExecuteContext()).thenReturn(workflowExecuteContext);
+        return workflowExecutionRunnable;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.executor.plugin.subworkflow;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceDao;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SubWorkflowTrackerTest {
+
+    private static final int SUB_WORKFLOW_INSTANCE_ID = 1;
+
+    private WorkflowInstanceDao workflowInstanceDao;
+
+    @BeforeEach
+    void setUp() {
+        workflowInstanceDao = mock(WorkflowInstanceDao.class);
+    }
+
+    @Test
+    void getSubWorkflowState_withoutNotification_shouldNotQueryDbBeforeReconcileInterval() {
+        final SubWorkflowTracker subWorkflowTracker = new SubWorkflowTracker(
+                SubWorkflowLogicTaskRuntimeContext.of(SUB_WORKFLOW_INSTANCE_ID), workflowInstanceDao);
+
+        assertThat(subWorkflowTracker.getSubWorkflowState()).isEqualTo(TaskExecutionStatus.RUNNING_EXECUTION);
+        verifyNoInteractions(workflowInstanceDao);
+    }
+
+    @Test
+    void getSubWorkflowState_afterNotification_shouldReturnTheNotifiedState() {
+        final SubWorkflowTracker subWorkflowTracker = new SubWorkflowTracker(
+                SubWorkflowLogicTaskRuntimeContext.of(SUB_WORKFLOW_INSTANCE_ID), workflowInstanceDao);
+
+        subWorkflowTracker.onSubWorkflowFinished(WorkflowExecutionStatus.STOP);
+
+        assertThat(subWorkflowTracker.getSubWorkflowState()).isEqualTo(TaskExecutionStatus.KILL);
+        verifyNoInteractions(workflowInstanceDao);
+    }
+
+    @Test
+    void getSubWorkflowState_afterReconcileInterval_shouldReconcileFromDb() {
+        final WorkflowInstance subWorkflowInstance = new WorkflowInstance();
+        subWorkflowInstance.setState(WorkflowExecutionStatus.SUCCESS);
+        when(workflowInstanceDao.queryById(SUB_WORKFLOW_INSTANCE_ID)).thenReturn(subWorkflowInstance);
+        final SubWorkflowTracker subWorkflowTracker = new SubWorkflowTracker(
+                SubWorkflowLogicTaskRuntimeContext.of(SUB_WORKFLOW_INSTANCE_ID), workflowInstanceDao, 0);
+
+        assertThat(subWorkflowTracker.getSubWorkflowState()).isEqualTo(TaskExecutionStatus.SUCCESS);
+        verify(workflowInstanceDao, times(1)).queryById(SUB_WORKFLOW_INSTANCE_ID);
+    }
+
+    @Test
+    void getSubWorkflowState_triggeredSubWorkflowFinishedBeforeRegistration_shouldReconcileAtFirstTrack() {
+        // The push is sent to nobody since the sub workflow is finished before the tracker is registered
+        final WorkflowInstance subWorkflowInstance = new WorkflowInstance();
+        subWorkflowInstance.setState(WorkflowExecutionStatus.SUCCESS);
+        when(workflowInstanceDao.queryById(SUB_WORKFLOW_INSTANCE_ID)).thenReturn(subWorkflowInstance);
+        final SubWorkflowTracker subWorkflowTracker = SubWorkflowTracker.ofTriggeredSubWorkflow(
+                SubWorkflowLogicTaskRuntimeContext.of(SUB_WORKFLOW_INSTANCE_ID), workflowInstanceDao);
+
+        assertThat(subWorkflowTracker.getSubWorkflowState()).isEqualTo(TaskExecutionStatus.SUCCESS);
+        verify(workflowInstanceDao, times(1)).queryById(SUB_WORKFLOW_INSTANCE_ID);
+    }
+
+    @Test
+    void getSubWorkflowState_triggeredSubWorkflowRunning_shouldWaitReconcileIntervalAfterFirstTrack() {
+        final WorkflowInstance subWorkflowInstance = new WorkflowInstance();
+        subWorkflowInstance.setState(WorkflowExecutionStatus.RUNNING_EXECUTION);
+        when(workflowInstanceDao.queryById(SUB_WORKFLOW_INSTANCE_ID)).thenReturn(subWorkflowInstance);
+        final SubWorkflowTracker subWorkflowTracker = SubWorkflowTracker.ofTriggeredSubWorkflow(
+                SubWorkflowLogicTaskRuntimeContext.of(SUB_WORKFLOW_INSTANCE_ID), workflowInstanceDao);
+
+        assertThat(subWorkflowTracker.getSubWorkflowState()).isEqualTo(TaskExecutionStatus.RUNNING_EXECUTION);
+        assertThat(subWorkflowTracker.getSubWorkflowState()).isEqualTo(TaskExecutionStatus.RUNNING_EXECUTION);
+        verify(workflowInstanceDao, times(1)).queryById(SUB_WORKFLOW_INSTANCE_ID);
+    }
+
+    @Test
+    void getSubWorkflowState_subWorkflowDeleted_shouldReturnFailure() {
+        final SubWorkflowTracker subWorkflowTracker = new SubWorkflowTracker(
+                SubWorkflowLogicTaskRuntimeContext.of(SUB_WORKFLOW_INSTANCE_ID), workflowInstanceDao, 0);
+
+        assertThat(subWorkflowTracker.getSubWorkflowState()).isEqualTo(TaskExecutionStatus.FAILURE);
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.executor.plugin.switchtask;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+class SwitchConditionCompilerTest {
+
+    @Test
+    void compile_supportedCondition_shouldBeSameAsJavascript() {
+        final Map<String, Property> params = new HashMap<>();
+        params.put("int", new Property("int", Direct.IN, DataType.INTEGER, "10"));
+        params.put("negative", new Property("negative", Direct.IN, DataType.LONG, "-3"));
+        params.put("double", new Property("double", Direct.IN, DataType.DOUBLE, "1.5"));
+        params.put("float", new Property("float", Direct.IN, DataType.FLOAT, "0.1"));
+        params.put("bool", new Property("bool", Direct.IN, DataType.BOOLEAN, "true"));
+        params.put("str", new Property("str", Direct.IN, DataType.VARCHAR, "abc"));
+        params.put("numStr", new Property("numStr", Direct.IN, DataType.VARCHAR, " 10 "));
+        params.put("empty", new Property("empty", Direct.IN, DataType.VARCHAR, ""));
+
+        // The expected result is the result of the condition replaced by parameters in javascript
+        final Object[][] conditions = {
+                {"${int} == 10", true},
+                {"${int} === 10.0", true},
+                {"${int} > 9 && ${int} <= 10", true},
+                {"${int} < 9 || ${str} == 'abc'", true},
+                {"${negative} < 0", true},
+                {"- ${negative} == 3", true},
+                {"${double} >= 1.5 && ${float} == 0.1", true},
+                {"${bool}", true},
+                {"!${bool}", false},
+                {"${bool} == 1", true},
+                {"${bool} === 1", false},
+                {"${str} != \"abd\"", true},
+                {"${str} !== 'abc'", false},
+                {"${str} < 'abd'", true},
+                {"${str} > 1", false},
+                {"${numStr} == 10", true},
+                {"${numStr} === 10", false},
+                {"${numStr} >= ${int}", true},
+                {"${empty} == 0", true},
+                {"${empty} || true", true},
+                {"${int} && true", true},
+                {"true && ${int}", false},
+                {"(${int} > 1 || false) && !(${str} == 'x')", true},
+                {"1e1 == ${int} && .5 < 1", true},
+                {"'10' == ${int} && '9' > '10'", true},
+        };
+        for (Object[] condition : conditions) {
+            final String expression = (String) condition[0];
+            final Optional<CompiledSwitchCondition> compiledCondition = SwitchConditionCompiler.compile(expression);
+            assertWithMessage(expression).that(compiledCondition.isPresent()).isTrue();
+            assertWithMessage(expression)
+                    .that(compiledCondition.get().evaluate(params))
+                    .isEqualTo(Optional.of(condition[1]));
+        }
+    }
+
+    @Test
+    void compile_unsupportedCondition_shouldReturnEmpty() {
+        final String[] conditions = {
+                "['abc','def'].includes('abc')",
+                "${a}.length > 1",
+                "${a} + 1 > 2",
+                "${a} = 1",
+                "010 == 8",
+                "--${a} > 1",
+                "-${a} > 1",
+                "'${a}' == 'x'",
+                "java.lang.Runtime.getRuntime().exec(${cmd})",
+                "(${a} == 1",
+                "${a} == 1)",
+                "",
+        };
+        for (String condition : conditions) {
+            assertWithMessage(condition).that(SwitchConditionCompiler.compile(condition).isPresent()).isFalse();
+        }
+    }
+
+    @Test
+    void evaluate_parameterCannotBeBound_shouldReturnEmpty() {
+        final CompiledSwitchCondition compiledCondition = SwitchConditionCompiler.compile("${a} == 'x'").get();
+
+        assertThat(compiledCondition.evaluate(Collections.emptyMap())).isEmpty();
+        assertThat(compiledCondition.evaluate(Collections.singletonMap("a",
+                new Property("a", Direct.IN, DataType.VARCHAR, "x\"y")))).isEmpty();
+        assertThat(compiledCondition.evaluate(Collections.singletonMap("a",
+                new Property("a", Direct.IN, DataType.INTEGER, "x")))).isEmpty();
+    }
+
+    @Test
+    void evaluate_unsupportedCondition_shouldFallbackToSandbox() throws Exception {
+        assertThat(SwitchConditionEvaluator.evaluate(1L, 1, "['abc','def'].includes('abc')",
+                Collections.emptyMap())).isTrue();
+        assertThat(SwitchConditionEvaluator.evaluate(1L, 1, "${a} == 'x'",
+                Collections.singletonMap("a", new Property("a", Direct.IN, DataType.VARCHAR, "x")))).isTrue();
+    }
+}
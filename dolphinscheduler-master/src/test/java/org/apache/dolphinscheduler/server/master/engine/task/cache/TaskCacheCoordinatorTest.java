@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.task.cache;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceDirtyFields;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.dao.utils.TaskCacheUtils;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.utils.TaskTypeUtils;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.TaskCacheConfig;
+import org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceGroupCommitter;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TaskCacheCoordinatorTest {
+
+    @InjectMocks
+    private TaskCacheCoordinator taskCacheCoordinator;
+
+    @Mock
+    private TaskInstanceDao taskInstanceDao;
+
+    @Mock
+    private TaskInstanceGroupCommitter taskInstanceGroupCommitter;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    @Mock
+    private ITaskExecutionRunnable taskExecutionRunnable;
+
+    private final TaskCacheConfig taskCacheConfig = new TaskCacheConfig();
+
+    private final TaskInstance taskInstance = new TaskInstance();
+
+    private MockedStatic<TaskTypeUtils> taskTypeUtilsMockedStatic;
+
+    @BeforeEach
+    void setUp() {
+        taskTypeUtilsMockedStatic = Mockito.mockStatic(TaskTypeUtils.class);
+        taskTypeUtilsMockedStatic.when(() -> TaskTypeUtils.isLogicTask(anyString())).thenReturn(false);
+        when(masterConfig.getTaskCache()).thenReturn(taskCacheConfig);
+
+        taskInstance.setId(10);
+        taskInstance.setName("shell");
+        taskInstance.setTaskType("SHELL");
+        taskInstance.setTaskCode(1L);
+        taskInstance.setTaskDefinitionVersion(1);
+        taskInstance.setIsCache(Flag.YES);
+        taskInstance.setTaskParams("{\"localParams\":[],\"rawScript\":\"echo ${dt}\"}");
+        taskInstance.setVarPool("[]");
+        when(taskExecutionRunnable.getTaskInstance()).thenReturn(taskInstance);
+        when(taskExecutionRunnable.getTaskExecutionContext()).thenReturn(new TaskExecutionContext());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskTypeUtilsMockedStatic.close();
+    }
+
+    @Test
+    void testFindCachedTaskInstance_hit() {
+        final TaskInstance cachedTaskInstance = new TaskInstance();
+        cachedTaskInstance.setId(1);
+        when(taskInstanceDao.queryLastSuccessByCacheKey(anyString(), isNull())).thenReturn(cachedTaskInstance);
+
+        final Optional<TaskInstance> result = taskCacheCoordinator.findCachedTaskInstance(taskExecutionRunnable);
+
+        assertThat(result).hasValue(cachedTaskInstance);
+        assertThat(TaskCacheUtils.revertCacheKey(taskInstance.getCacheKey()).getLeft()).isEqualTo(1);
+        verify(taskInstanceGroupCommitter).commit(any(TaskInstanceDirtyFields.class));
+    }
+
+    @Test
+    void testFindCachedTaskInstance_miss() {
+        final Optional<TaskInstance> result = taskCacheCoordinator.findCachedTaskInstance(taskExecutionRunnable);
+
+        assertThat(result).isEmpty();
+        final ArgumentCaptor<TaskInstanceDirtyFields> dirtyFieldsCaptor =
+                ArgumentCaptor.forClass(TaskInstanceDirtyFields.class);
+        verify(taskInstanceGroupCommitter).commit(dirtyFieldsCaptor.capture());
+        assertThat(dirtyFieldsCaptor.getValue().isCacheKeyDirty()).isTrue();
+        assertThat(dirtyFieldsCaptor.getValue().getCacheKey()).isNotEmpty();
+        assertThat(taskInstance.getCacheKey()).isEqualTo(dirtyFieldsCaptor.getValue().getCacheKey());
+    }
+
+    @Test
+    void testFindCachedTaskInstance_expireTime() {
+        taskCacheConfig.setExpireTime(Duration.ofDays(1));
+
+        taskCacheCoordinator.findCachedTaskInstance(taskExecutionRunnable);
+
+        final ArgumentCaptor<Date> endTimeAfterCaptor = ArgumentCaptor.forClass(Date.class);
+        verify(taskInstanceDao).queryLastSuccessByCacheKey(anyString(), endTimeAfterCaptor.capture());
+        assertThat(endTimeAfterCaptor.getValue().getTime())
+                .isAtMost(System.currentTimeMillis() - Duration.ofDays(1).toMillis());
+    }
+
+    @Test
+    void testFindCachedTaskInstance_cacheDisabled() {
+        taskInstance.setIsCache(Flag.NO);
+        assertThat(taskCacheCoordinator.findCachedTaskInstance(taskExecutionRunnable)).isEmpty();
+
+        taskInstance.setIsCache(Flag.YES);
+        taskInstance.setDryRun(Flag.YES.getCode());
+        assertThat(taskCacheCoordinator.findCachedTaskInstance(taskExecutionRunnable)).isEmpty();
+
+        taskInstance.setDryRun(Flag.NO.getCode());
+        taskCacheConfig.setEnabled(false);
+        assertThat(taskCacheCoordinator.findCachedTaskInstance(taskExecutionRunnable)).isEmpty();
+
+        verify(taskInstanceDao, never()).queryLastSuccessByCacheKey(anyString(), any());
+        verify(taskInstanceGroupCommitter, never()).commit(any());
+    }
+
+    @Test
+    void testFindCachedTaskInstance_fileInputWithoutStorage() {
+        taskInstance.setVarPool("[{\"prop\":\"file\",\"direct\":\"IN\",\"type\":\"FILE\",\"value\":\"a.txt\"}]");
+
+        assertThat(taskCacheCoordinator.findCachedTaskInstance(taskExecutionRunnable)).isEmpty();
+        verify(taskInstanceDao, never()).queryLastSuccessByCacheKey(anyString(), any());
+    }
+
+    @Test
+    void testFindCachedTaskInstance_sameCacheKeyDifferentInput() {
+        when(taskInstanceDao.queryLastSuccessByCacheKey(anyString(), isNull())).thenReturn(null);
+        taskCacheCoordinator.findCachedTaskInstance(taskExecutionRunnable);
+        final String cacheKey = taskInstance.getCacheKey();
+
+        taskInstance.setTaskDefinitionVersion(2);
+        taskCacheCoordinator.findCachedTaskInstance(taskExecutionRunnable);
+        assertThat(taskInstance.getCacheKey()).isNotEqualTo(cacheKey);
+        verify(taskInstanceDao).queryLastSuccessByCacheKey(eq(cacheKey), isNull());
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.task.client;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.common.enums.ServerStatus;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.master.cluster.ClusterManager;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerClusters;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerServerMetadata;
+import org.apache.dolphinscheduler.server.master.exception.dispatch.TaskDispatchException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ResourceAwareWorkerSelectorTest {
+
+    @Mock
+    private ClusterManager clusterManager;
+
+    @InjectMocks
+    private ResourceAwareWorkerSelector resourceAwareWorkerSelector;
+
+    @Test
+    void select_taskNotDeclareResource_returnEmpty() throws TaskDispatchException {
+        mockWorkerClusters(
+                workerServer("127.0.0.1:1234", 400, 400, 0.1),
+                workerServer("127.0.0.2:1234", 400, 100, 0.1));
+
+        assertThat(resourceAwareWorkerSelector.select(taskExecutionContext(null, 0))).isEmpty();
+    }
+
+    @Test
+    void select_workersNotLimitResource_returnEmpty() throws TaskDispatchException {
+        mockWorkerClusters(
+                workerServer("127.0.0.1:1234", -1, -1, 0.1),
+                workerServer("127.0.0.2:1234", -1, -1, 0.1));
+
+        assertThat(resourceAwareWorkerSelector.select(taskExecutionContext(100, null))).isEmpty();
+    }
+
+    @Test
+    void select_bestFitWorker() throws TaskDispatchException {
+        mockWorkerClusters(
+                workerServer("127.0.0.1:1234", 400, 400, 0.1),
+                workerServer("127.0.0.2:1234", 400, 150, 0.5),
+                workerServer("127.0.0.3:1234", 400, 50, 0.9));
+
+        assertThat(resourceAwareWorkerSelector.select(taskExecutionContext(100, null)))
+                .hasValue("127.0.0.2:1234");
+    }
+
+    @Test
+    void select_sameLeftResource_preferLessBusyWorker() throws TaskDispatchException {
+        mockWorkerClusters(
+                workerServer("127.0.0.1:1234", 400, 200, 0.6),
+                workerServer("127.0.0.2:1234", 400, 200, 0.2));
+
+        assertThat(resourceAwareWorkerSelector.select(taskExecutionContext(100, null)))
+                .hasValue("127.0.0.2:1234");
+    }
+
+    @Test
+    void select_oversizedTask_onlyIdleWorker() throws TaskDispatchException {
+        mockWorkerClusters(
+                workerServer("127.0.0.1:1234", 400, 300, 0.1),
+                workerServer("127.0.0.2:1234", 400, 400, 0.1));
+
+        assertThat(resourceAwareWorkerSelector.select(taskExecutionContext(800, null)))
+                .hasValue("127.0.0.2:1234");
+    }
+
+    @Test
+    void select_noWorkerHasEnoughResource_throwException() {
+        mockWorkerClusters(
+                workerServer("127.0.0.1:1234", 400, 50, 0.1),
+                workerServer("127.0.0.2:1234", 400, 0, 0.1));
+
+        assertThrows(TaskDispatchException.class,
+                () -> resourceAwareWorkerSelector.select(taskExecutionContext(100, null)));
+    }
+
+    @Test
+    void isResourceEnough() {
+        mockWorkerClusters(workerServer("127.0.0.1:1234", 400, 50, 0.1));
+
+        assertThat(resourceAwareWorkerSelector.isResourceEnough("127.0.0.1:1234", taskExecutionContext(50, null)))
+                .isTrue();
+        assertThat(resourceAwareWorkerSelector.isResourceEnough("127.0.0.1:1234", taskExecutionContext(100, null)))
+                .isFalse();
+        assertThat(resourceAwareWorkerSelector.isResourceEnough("127.0.0.1:1234", taskExecutionContext(null, 1024)))
+                .isTrue();
+        assertThat(resourceAwareWorkerSelector.isResourceEnough("127.0.0.9:1234", taskExecutionContext(100, null)))
+                .isTrue();
+    }
+
+    private void mockWorkerClusters(final WorkerServerMetadata... workerServers) {
+        final WorkerClusters workerClusters = new WorkerClusters();
+        for (WorkerServerMetadata workerServer : workerServers) {
+            workerClusters.onServerAdded(workerServer);
+        }
+        when(clusterManager.getWorkerClusters()).thenReturn(workerClusters);
+    }
+
+    private WorkerServerMetadata workerServer(final String address,
+                                              final int cpuQuotaCapacity,
+                                              final int availableCpuQuota,
+                                              final double taskThreadPoolUsage) {
+        return WorkerServerMetadata.builder()
+                .address(address)
+                .serverStatus(ServerStatus.NORMAL)
+                .taskThreadPoolUsage(taskThreadPoolUsage)
+                .cpuQuotaCapacity(cpuQuotaCapacity)
+                .availableCpuQuota(availableCpuQuota)
+                .build();
+    }
+
+    private TaskExecutionContext taskExecutionContext(final Integer cpuQuota, final Integer memoryMax) {
+        return TaskExecutionContext.builder()
+                .taskName("test")
+                .workerGroup("default")
+                .cpuQuota(cpuQuota)
+                .memoryMax(memoryMax)
+                .build();
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.task.persistence;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceDirtyFields;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.TaskInstanceGroupCommitConfig;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.google.common.collect.Lists;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TaskInstanceGroupCommitterTest {
+
+    @InjectMocks
+    private TaskInstanceGroupCommitter taskInstanceGroupCommitter;
+
+    @Mock
+    private TaskInstanceDao taskInstanceDao;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    private final TaskInstanceGroupCommitConfig groupCommitConfig = new TaskInstanceGroupCommitConfig();
+
+    @BeforeEach
+    void setUp() {
+        when(masterConfig.getTaskInstanceGroupCommit()).thenReturn(groupCommitConfig);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        taskInstanceGroupCommitter.close();
+    }
+
+    @Test
+    void testCommitDirectlyWhenDisabled() {
+        taskInstanceGroupCommitter.start();
+
+        final TaskInstanceDirtyFields dirtyFields = TaskInstanceDirtyFields.of(createTaskInstance(1)).state();
+        taskInstanceGroupCommitter.commit(dirtyFields);
+
+        verify(taskInstanceDao).updateDirtyFieldsById(dirtyFields);
+        verify(taskInstanceDao, never()).batchUpdateDirtyFieldsById(anyList());
+    }
+
+    @Test
+    void testCommitEmptyDirtyFields() {
+        taskInstanceGroupCommitter.start();
+
+        taskInstanceGroupCommitter.commit(TaskInstanceDirtyFields.of(createTaskInstance(1)));
+
+        verify(taskInstanceDao, never()).updateDirtyFieldsById(any());
+    }
+
+    @Test
+    void testCommitByBatchWhenEnabled() {
+        groupCommitConfig.setEnabled(true);
+        taskInstanceGroupCommitter.start();
+
+        final TaskInstanceDirtyFields dirtyFields = TaskInstanceDirtyFields.of(createTaskInstance(1)).state();
+        taskInstanceGroupCommitter.commit(dirtyFields);
+
+        verify(taskInstanceDao).batchUpdateDirtyFieldsById(Lists.newArrayList(dirtyFields));
+        verify(taskInstanceDao, never()).updateDirtyFieldsById(any());
+    }
+
+    @Test
+    void testFlushMergeTheUpdatesOfSameTaskInstance() {
+        final TaskInstance taskInstance = createTaskInstance(1);
+        taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        taskInstance.setStartTime(new Date());
+        final TaskInstanceGroupCommitter.PendingCommit running = new TaskInstanceGroupCommitter.PendingCommit(
+                TaskInstanceDirtyFields.of(taskInstance).state().startTime());
+        taskInstance.setState(TaskExecutionStatus.SUCCESS);
+        taskInstance.setEndTime(new Date());
+        final TaskInstanceGroupCommitter.PendingCommit success = new TaskInstanceGroupCommitter.PendingCommit(
+                TaskInstanceDirtyFields.of(taskInstance).state().endTime());
+        final TaskInstanceGroupCommitter.PendingCommit other = new TaskInstanceGroupCommitter.PendingCommit(
+                TaskInstanceDirtyFields.of(createTaskInstance(2)).state());
+
+        taskInstanceGroupCommitter.flush(Lists.newArrayList(running, success, other));
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<TaskInstanceDirtyFields>> captor = ArgumentCaptor.forClass(List.class);
+        verify(taskInstanceDao).batchUpdateDirtyFieldsById(captor.capture());
+        final List<TaskInstanceDirtyFields> flushed = captor.getValue();
+        assertThat(flushed).hasSize(2);
+        assertThat(flushed.get(0).getState()).isEqualTo(TaskExecutionStatus.SUCCESS);
+        assertThat(flushed.get(0).isStartTimeDirty()).isTrue();
+        assertThat(flushed.get(0).isEndTimeDirty()).isTrue();
+        assertThat(running.getFuture().isDone()).isTrue();
+        assertThat(success.getFuture().isDone()).isTrue();
+        assertThat(other.getFuture().isDone()).isTrue();
+    }
+
+    @Test
+    void testFlushFallbackToUpdateOneByOneWhenBatchFailed() {
+        final TaskInstanceDirtyFields succeed = TaskInstanceDirtyFields.of(createTaskInstance(1)).state();
+        final TaskInstanceDirtyFields failed = TaskInstanceDirtyFields.of(createTaskInstance(2)).state();
+        doThrow(new IllegalStateException("batch failed")).when(taskInstanceDao).batchUpdateDirtyFieldsById(anyList());
+        doThrow(new IllegalStateException("update failed")).when(taskInstanceDao).updateDirtyFieldsById(failed);
+        final TaskInstanceGroupCommitter.PendingCommit succeedCommit =
+                new TaskInstanceGroupCommitter.PendingCommit(succeed);
+        final TaskInstanceGroupCommitter.PendingCommit failedCommit =
+                new TaskInstanceGroupCommitter.PendingCommit(failed);
+
+        taskInstanceGroupCommitter.flush(Lists.newArrayList(succeedCommit, failedCommit));
+
+        verify(taskInstanceDao).updateDirtyFieldsById(succeed);
+        assertThat(succeedCommit.getFuture().isCompletedExceptionally()).isFalse();
+        assertThat(failedCommit.getFuture().isCompletedExceptionally()).isTrue();
+    }
+
+    @Test
+    void testCommitThrowExceptionWhenUpdateFailed() {
+        groupCommitConfig.setEnabled(true);
+        taskInstanceGroupCommitter.start();
+        final TaskInstanceDirtyFields dirtyFields = TaskInstanceDirtyFields.of(createTaskInstance(1)).state();
+        doThrow(new IllegalStateException("batch failed")).when(taskInstanceDao).batchUpdateDirtyFieldsById(anyList());
+        doThrow(new IllegalStateException("update failed")).when(taskInstanceDao).updateDirtyFieldsById(dirtyFields);
+
+        assertThrows(IllegalStateException.class, () -> taskInstanceGroupCommitter.commit(dirtyFields));
+    }
+
+    @Test
+    void testCommitThrowExceptionWhenFlushFailedUnexpectedly() {
+        groupCommitConfig.setEnabled(true);
+        taskInstanceGroupCommitter.start();
+        final TaskInstanceDirtyFields dirtyFields = TaskInstanceDirtyFields.of(createTaskInstance(1)).state();
+        // The error is not handled by the flush
+        doThrow(new NoClassDefFoundError("flush failed")).when(taskInstanceDao).batchUpdateDirtyFieldsById(anyList());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> assertThrows(IllegalStateException.class, () -> taskInstanceGroupCommitter.commit(dirtyFields)));
+        verify(taskInstanceDao, never()).updateDirtyFieldsById(any());
+    }
+
+    private TaskInstance createTaskInstance(int id) {
+        final TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(id);
+        taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
+        return taskInstance;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.task.runnable;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.dao.entity.Project;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.WorkflowDefinition;
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBus;
+import org.apache.dolphinscheduler.server.master.engine.graph.WorkflowExecutionGraph;
+import org.apache.dolphinscheduler.server.master.runner.TaskExecutionContextFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+
+class TaskExecutionRunnableTest {
+
+    private TaskExecutionContextFactory taskExecutionContextFactory;
+
+    private TaskInstance taskInstance;
+
+    private TaskExecutionRunnable taskExecutionRunnable;
+
+    @BeforeEach
+    void setUp() {
+        taskExecutionContextFactory = mock(TaskExecutionContextFactory.class);
+        when(taskExecutionContextFactory.createTaskExecutionContext(any()))
+                .thenAnswer(invocation -> new TaskExecutionContext());
+        final ApplicationContext applicationContext = mock(ApplicationContext.class);
+        when(applicationContext.getBean(TaskExecutionContextFactory.class)).thenReturn(taskExecutionContextFactory);
+
+        taskInstance = new TaskInstance();
+        taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        taskExecutionRunnable = new TaskExecutionRunnable(TaskExecutionRunnableBuilder.builder()
+                .applicationContext(applicationContext)
+                .workflowInstance(new WorkflowInstance())
+                .taskInstance(taskInstance)
+                .workflowExecutionGraph(new WorkflowExecutionGraph())
+                .workflowDefinition(new WorkflowDefinition())
+                .project(new Project())
+                .taskDefinition(new TaskDefinition())
+                .workflowEventBus(new WorkflowEventBus())
+                .build());
+    }
+
+    @Test
+    void testOffloadTaskExecutionContext_runningTask() {
+        final TaskExecutionContext taskExecutionContext = taskExecutionRunnable.getTaskExecutionContext();
+
+        assertThat(taskExecutionRunnable.offloadTaskExecutionContext()).isFalse();
+        assertThat(taskExecutionRunnable.getResidentTaskExecutionContext()).isSameInstanceAs(taskExecutionContext);
+    }
+
+    @Test
+    void testOffloadTaskExecutionContext_finishedTaskIsRebuiltOnNextAccess() {
+        final TaskExecutionContext taskExecutionContext = taskExecutionRunnable.getTaskExecutionContext();
+        taskInstance.setState(TaskExecutionStatus.SUCCESS);
+
+        assertThat(taskExecutionRunnable.offloadTaskExecutionContext()).isTrue();
+        assertThat(taskExecutionRunnable.getResidentTaskExecutionContext()).isNull();
+        assertThat(taskExecutionRunnable.offloadTaskExecutionContext()).isFalse();
+
+        final TaskExecutionContext rebuiltTaskExecutionContext = taskExecutionRunnable.getTaskExecutionContext();
+        assertThat(rebuiltTaskExecutionContext).isNotNull();
+        assertThat(rebuiltTaskExecutionContext).isNotSameInstanceAs(taskExecutionContext);
+        assertThat(taskExecutionRunnable.getResidentTaskExecutionContext())
+                .isSameInstanceAs(rebuiltTaskExecutionContext);
+        verify(taskExecutionContextFactory, times(2)).createTaskExecutionContext(any());
+    }
+}
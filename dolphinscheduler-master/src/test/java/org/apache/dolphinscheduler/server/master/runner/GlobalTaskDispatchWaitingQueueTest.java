@@ -29,6 +29,7 @@ import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.WorkflowDefinition;
 import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBus;
 import org.apache.dolphinscheduler.server.master.engine.graph.WorkflowExecutionGraph;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
@@ -55,7 +56,11 @@ class GlobalTaskDispatchWaitingQueueTest {
 
     @BeforeEach
     public void setUp() {
-        globalTaskDispatchWaitingQueue = new GlobalTaskDispatchWaitingQueue();
+        globalTaskDispatchWaitingQueue = new GlobalTaskDispatchWaitingQueue(createMasterConfig());
+    }
+
+    protected MasterConfig createMasterConfig() {
+        return new MasterConfig();
     }
 
     @Test
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.utils;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.server.master.engine.graph.IWorkflowExecutionGraph;
+import org.apache.dolphinscheduler.server.master.engine.graph.IWorkflowGraph;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.runner.IWorkflowExecuteContext;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.base.Strings;
+
+class WorkflowMemoryUtilsTest {
+
+    @Test
+    void testEstimateMemory_emptyWorkflow() {
+        final IWorkflowExecutionRunnable workflowExecutionRunnable = mockWorkflowExecutionRunnable(null);
+        assertThat(WorkflowMemoryUtils.estimateMemory(workflowExecutionRunnable))
+                .isEqualTo(WorkflowMemoryUtils.WORKFLOW_OVERHEAD_BYTES);
+    }
+
+    @Test
+    void testEstimateMemory_growsWithVarPool() {
+        final TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setTaskParams("{}");
+        final IWorkflowExecutionRunnable workflowExecutionRunnable = mockWorkflowExecutionRunnable(taskInstance);
+        final long before = WorkflowMemoryUtils.estimateMemory(workflowExecutionRunnable);
+        assertThat(before).isGreaterThan(
+                WorkflowMemoryUtils.WORKFLOW_OVERHEAD_BYTES + WorkflowMemoryUtils.TASK_OVERHEAD_BYTES);
+
+        taskInstance.setVarPool(Strings.repeat("x", 1024 * 1024));
+        assertThat(WorkflowMemoryUtils.estimateMemory(workflowExecutionRunnable) - before)
+                .isAtLeast(1024L * 1024);
+    }
+
+    private IWorkflowExecutionRunnable mockWorkflowExecutionRunnable(final TaskInstance taskInstance) {
+        final IWorkflowExecuteContext workflowExecuteContext = mock(IWorkflowExecuteContext.class);
+        when(workflowExecuteContext.getWorkflowInstance()).thenReturn(new WorkflowInstance());
+
+        final IWorkflowGraph workflowGraph = mock(IWorkflowGraph.class);
+        final IWorkflowExecutionGraph workflowExecutionGraph = mock(IWorkflowExecutionGraph.class);
+        if (taskInstance == null) {
+            when(workflowGraph.getAllTaskNodes()).thenReturn(Collections.emptyList());
+            when(workflowExecutionGraph.getAllTaskExecutionRunnable()).thenReturn(Collections.emptyList());
+        } else {
+            final TaskDefinition taskDefinition = new TaskDefinition();
+            taskDefinition.setTaskParams(taskInstance.getTaskParams());
+            when(workflowGraph.getAllTaskNodes()).thenReturn(Collections.singletonList(taskDefinition));
+
+            final ITaskExecutionRunnable taskExecutionRunnable = mock(ITaskExecutionRunnable.class);
+            when(taskExecutionRunnable.isTaskInstanceInitialized()).thenReturn(true);
+            when(taskExecutionRunnable.getTaskInstance()).thenReturn(taskInstance);
+            when(workflowExecutionGraph.getAllTaskExecutionRunnable())
+                    .thenReturn(Collections.singletonList(taskExecutionRunnable));
+        }
+        when(workflowExecuteContext.getWorkflowGraph()).thenReturn(workflowGraph);
+        when(workflowExecuteContext.getWorkflowExecutionGraph()).thenReturn(workflowExecutionGraph);
+
+        final IWorkflowExecutionRunnable workflowExecutionRunnable = mock(IWorkflowExecutionRunnable.class);
+        when(workflowExecutionRunnable.getWorkflowExecuteContext()).thenReturn(workflowExecuteContext);
+        return workflowExecutionRunnable;
+    }
+}
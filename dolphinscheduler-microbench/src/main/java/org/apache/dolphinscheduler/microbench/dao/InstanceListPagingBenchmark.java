@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.dao;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compare the offset paging used by the task instance list api with the keyset paging, on an in-memory H2 table
+ * which has the same (project_code, submit_time, id) index as t_ds_task_instance, the index is declared descending
+ * since H2 doesn't scan an ascending index backwards.
+ * <p>
+ * The offset paging has to count all the matched rows and skip (pageNo - 1) * pageSize rows, so its cost grows with
+ * the page number, the keyset paging seeks the index from the cursor and only reads pageSize rows.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class InstanceListPagingBenchmark extends AbstractBaseBenchmark {
+
+    private static final long PROJECT_CODE = 1L;
+
+    // H2 only reads the rows in index order when the equality column is part of the order by, MySQL and PostgreSQL
+    // don't need it
+    private static final String OFFSET_QUERY = "select id, name, state, submit_time from t_ds_task_instance"
+            + " where project_code = ? order by project_code, submit_time desc, id desc limit ? offset ?";
+
+    private static final String COUNT_QUERY = "select count(1) from t_ds_task_instance where project_code = ?";
+
+    private static final String KEYSET_QUERY = "select id, name, state, submit_time from t_ds_task_instance"
+            + " where project_code = ? and submit_time <= ? and (submit_time < ? or id < ?)"
+            + " order by project_code, submit_time desc, id desc limit ?";
+
+    @Param({"200000"})
+    private int rowCount;
+
+    @Param({"1", "1000"})
+    private int pageNo;
+
+    @Param({"20"})
+    private int pageSize;
+
+    private Connection connection;
+
+    private Timestamp cursorSubmitTime;
+
+    private int cursorId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection =
+                DriverManager.getConnection("jdbc:h2:mem:instance_list_paging;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=0");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists t_ds_task_instance");
+            statement.execute("create table t_ds_task_instance (id int not null auto_increment,"
+                    + " name varchar(255), project_code bigint, state tinyint, submit_time datetime,"
+                    + " primary key (id))");
+            statement.execute("create index idx_task_instance_project_code_submit_time"
+                    + " on t_ds_task_instance (project_code, submit_time desc, id desc)");
+        }
+        long now = System.currentTimeMillis();
+        try (
+                PreparedStatement insert = connection.prepareStatement(
+                        "insert into t_ds_task_instance (name, project_code, state, submit_time) values (?, ?, ?, ?)")) {
+            for (int i = 0; i < rowCount; i++) {
+                insert.setString(1, "task-" + i);
+                // a few other projects share the table, several tasks are submitted at the same second
+                insert.setLong(2, i % 10 == 0 ? PROJECT_CODE + 1 : PROJECT_CODE);
+                insert.setInt(3, i % 8);
+                insert.setTimestamp(4, new Timestamp(now - (rowCount - i) / 4 * 1000L));
+                insert.addBatch();
+                if (i % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        // the cursor of the previous page is the last row of page (pageNo - 1)
+        if (pageNo > 1) {
+            try (PreparedStatement query = connection.prepareStatement(OFFSET_QUERY)) {
+                query.setLong(1, PROJECT_CODE);
+                query.setInt(2, 1);
+                query.setInt(3, (pageNo - 1) * pageSize - 1);
+                try (ResultSet resultSet = query.executeQuery()) {
+                    resultSet.next();
+                    cursorId = resultSet.getInt("id");
+                    cursorSubmitTime = resultSet.getTimestamp("submit_time");
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table t_ds_task_instance");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void offsetPaging(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement count = connection.prepareStatement(COUNT_QUERY)) {
+            count.setLong(1, PROJECT_CODE);
+            try (ResultSet resultSet = count.executeQuery()) {
+                resultSet.next();
+                blackhole.consume(resultSet.getLong(1));
+            }
+        }
+        offsetPagingWithoutCount(blackhole);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void offsetPagingWithoutCount(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(OFFSET_QUERY)) {
+            query.setLong(1, PROJECT_CODE);
+            query.setInt(2, pageSize);
+            query.setInt(3, (pageNo - 1) * pageSize);
+            consume(query, blackhole);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void keysetPaging(Blackhole blackhole) throws SQLException {
+        if (cursorSubmitTime == null) {
+            try (PreparedStatement query = connection.prepareStatement(OFFSET_QUERY)) {
+                query.setLong(1, PROJECT_CODE);
+                query.setInt(2, pageSize + 1);
+                query.setInt(3, 0);
+                consume(query, blackhole);
+            }
+            return;
+        }
+        try (PreparedStatement query = connection.prepareStatement(KEYSET_QUERY)) {
+            query.setLong(1, PROJECT_CODE);
+            query.setTimestamp(2, cursorSubmitTime);
+            query.setTimestamp(3, cursorSubmitTime);
+            query.setInt(4, cursorId);
+            query.setInt(5, pageSize + 1);
+            consume(query, blackhole);
+        }
+    }
+
+    private void consume(PreparedStatement query, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = query.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getInt("id"));
+                blackhole.consume(resultSet.getString("name"));
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.dao;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the task instance state transitions persisted by the master, on an H2 table which has the wide columns of
+ * t_ds_task_instance:
+ * <ul>
+ *     <li>fullRowUpdate: every transition rewrites the whole row and commits, the same as updateById</li>
+ *     <li>dirtyFieldsUpdate: every transition only updates the changed columns and commits</li>
+ *     <li>groupCommit: the transitions are updated by the changed columns in one jdbc batch and one transaction,
+ *     the same as the TaskInstanceGroupCommitter of the master</li>
+ * </ul>
+ * The result is the number of transitions per second. The in-memory H2 doesn't flush the log when committing, so the
+ * difference between them is mostly hidden by the noise, the benefit of the group commit comes from the log flush of
+ * MySQL and PostgreSQL. Set the jdbcUrl param (e.g. {@code -p jdbcUrl=jdbc:mysql://localhost:3306/bench?user=..})
+ * and add the jdbc driver to the classpath to compare them on MySQL or PostgreSQL, the table is created by the
+ * benchmark.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class TaskInstanceTransitionBenchmark extends AbstractBaseBenchmark {
+
+    private static final int ROW_COUNT = 1000;
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final String FULL_ROW_UPDATE = "update t_ds_task_instance set name = ?, state = ?, host = ?,"
+            + " start_time = ?, end_time = ?, log_path = ?, app_link = ?, var_pool = ?, task_params = ? where id = ?";
+
+    private static final String DIRTY_FIELDS_UPDATE =
+            "update t_ds_task_instance set state = ?, end_time = ? where id = ?";
+
+    @Param({"jdbc:h2:mem:task_instance_transition;DB_CLOSE_DELAY=-1"})
+    private String jdbcUrl;
+
+    @Param({"4096"})
+    private int wideColumnLength;
+
+    private Connection connection;
+
+    private String wideColumn;
+
+    private int nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(jdbcUrl);
+        wideColumn = String.join("", Collections.nCopies(wideColumnLength, "x"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists t_ds_task_instance");
+            statement.execute("create table t_ds_task_instance (id int not null, name varchar(255),"
+                    + " state int, host varchar(135), start_time timestamp, end_time timestamp,"
+                    + " log_path text, app_link text, var_pool text, task_params text,"
+                    + " primary key (id))");
+        }
+        try (
+                PreparedStatement insert = connection.prepareStatement(
+                        "insert into t_ds_task_instance (id, name, state, host, start_time, log_path, app_link,"
+                                + " var_pool, task_params) values (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= ROW_COUNT; i++) {
+                insert.setInt(1, i);
+                insert.setString(2, "task-" + i);
+                insert.setInt(3, 1);
+                insert.setString(4, "127.0.0.1:1234");
+                insert.setTimestamp(5, new Timestamp(System.currentTimeMillis()));
+                insert.setString(6, "/tmp/logs/task-" + i + ".log");
+                insert.setString(7, wideColumn);
+                insert.setString(8, wideColumn);
+                insert.setString(9, wideColumn);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table t_ds_task_instance");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void fullRowUpdate() throws SQLException {
+        final int id = nextId();
+        try (PreparedStatement update = connection.prepareStatement(FULL_ROW_UPDATE)) {
+            update.setString(1, "task-" + id);
+            update.setInt(2, 7);
+            update.setString(3, "127.0.0.1:1234");
+            update.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+            update.setTimestamp(5, new Timestamp(System.currentTimeMillis()));
+            update.setString(6, "/tmp/logs/task-" + id + ".log");
+            update.setString(7, wideColumn);
+            update.setString(8, wideColumn);
+            update.setString(9, wideColumn);
+            update.setInt(10, id);
+            update.executeUpdate();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void dirtyFieldsUpdate() throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(DIRTY_FIELDS_UPDATE)) {
+            setDirtyFields(update, nextId());
+            update.executeUpdate();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void groupCommit() throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement update = connection.prepareStatement(DIRTY_FIELDS_UPDATE)) {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                setDirtyFields(update, nextId());
+                update.addBatch();
+            }
+            update.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private void setDirtyFields(PreparedStatement update, int id) throws SQLException {
+        update.setInt(1, 7);
+        update.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+        update.setInt(3, id);
+    }
+
+    private int nextId() {
+        nextId = nextId % ROW_COUNT + 1;
+        return nextId;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.eventbus;
+
+import org.apache.dolphinscheduler.eventbus.DelayQueueType;
+import org.apache.dolphinscheduler.eventbus.TimingWheelDelayQueue;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the backing queues of the master event buses when there are a lot of pending delayed elements, e.g. the
+ * task retries and the workflow/task timeouts, which are delayed for minutes or hours:
+ * <ul>
+ *     <li>offerAndPollReady: offer an element without delay and poll it out, the same as the most events fired to the
+ *     event bus</li>
+ *     <li>offerDelayed: offer an element delayed for a random time in one hour</li>
+ * </ul>
+ * The {@link DelayQueue} is a binary heap, both of them cost O(log(pending)). The {@link TimingWheelDelayQueue} puts the
+ * delayed element into the bucket of its deadline, which costs O(1) no matter how many elements are pending.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class DelayQueueBenchmark extends AbstractBaseBenchmark {
+
+    private static final long MAX_DELAY_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    @Param({"10000", "100000", "1000000"})
+    private int pending;
+
+    @Param({"DELAY_QUEUE", "TIMING_WHEEL"})
+    private DelayQueueType type;
+
+    private BlockingQueue<DelayedElement> queue;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        queue = type == DelayQueueType.TIMING_WHEEL ? new TimingWheelDelayQueue<>(10, 512) : new DelayQueue<>();
+        for (int i = 0; i < pending; i++) {
+            queue.offer(randomDelayed());
+        }
+        // Move the pending elements into the timing wheel before measuring, no element is expired yet
+        queue.poll();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public DelayedElement offerAndPollReady() {
+        queue.offer(new DelayedElement(System.nanoTime()));
+        return queue.poll();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean offerDelayed() {
+        return queue.offer(randomDelayed());
+    }
+
+    private static DelayedElement randomDelayed() {
+        return new DelayedElement(System.nanoTime() + ThreadLocalRandom.current().nextLong(1, MAX_DELAY_NANOS));
+    }
+
+    private static class DelayedElement implements Delayed {
+
+        private final long deadlineNanos;
+
+        private DelayedElement(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return Long.compare(deadlineNanos, ((DelayedElement) o).deadlineNanos);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.eventbus;
+
+import org.apache.dolphinscheduler.eventbus.AbstractDelayEvent;
+import org.apache.dolphinscheduler.eventbus.AbstractDelayEventBus;
+import org.apache.dolphinscheduler.eventbus.AbstractMpscDelayEventBus;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the events per second per core of the workflow event bus, the event is published and polled by the same
+ * thread, which is the fire worker publishing the next event when handling an event:
+ * <ul>
+ *     <li>delayEventBus: all the events are stored in a locked DelayQueue and polled in an Optional, which is the
+ *     workflow event bus before it's consumed by a single thread</li>
+ *     <li>mpscDelayEventBus: the events without delay are stored in a lock-free MPSC queue, the delayed events are
+ *     stored in the DelayQueue</li>
+ * </ul>
+ * The pendingDelayEvents param is the count of pending delayed events in the bus, e.g. the task timeouts.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class WorkflowEventBusBenchmark extends AbstractBaseBenchmark {
+
+    @Param({"0", "100"})
+    private int pendingDelayEvents;
+
+    private DelayEventBus delayEventBus;
+
+    private MpscDelayEventBus mpscDelayEventBus;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        delayEventBus = new DelayEventBus();
+        mpscDelayEventBus = new MpscDelayEventBus();
+        // The DelayQueue is ordered by the create time, the delayed events are created in the future, otherwise they
+        // block the later events in the delayEventBus
+        final long createTimeInNano = System.nanoTime() + TimeUnit.HOURS.toNanos(1);
+        for (int i = 0; i < pendingDelayEvents; i++) {
+            delayEventBus.publish(new BenchmarkEvent(0, createTimeInNano));
+            mpscDelayEventBus.publish(new BenchmarkEvent(0, createTimeInNano));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Optional<BenchmarkEvent> delayEventBus() {
+        delayEventBus.publish(new BenchmarkEvent(0, System.nanoTime()));
+        return delayEventBus.poll();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public BenchmarkEvent mpscDelayEventBus() {
+        mpscDelayEventBus.publish(new BenchmarkEvent(0, System.nanoTime()));
+        return mpscDelayEventBus.pollEvent();
+    }
+
+    private static class DelayEventBus extends AbstractDelayEventBus<BenchmarkEvent> {
+    }
+
+    private static class MpscDelayEventBus extends AbstractMpscDelayEventBus<BenchmarkEvent> {
+    }
+
+    private static class BenchmarkEvent extends AbstractDelayEvent {
+
+        private BenchmarkEvent(long delayTime, long createTimeInNano) {
+            super(delayTime, createTimeInNano);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.master;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.server.master.engine.executor.plugin.switchtask.SwitchConditionEvaluator;
+import org.apache.dolphinscheduler.server.master.utils.SwitchTaskUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.script.ScriptException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the evaluation of a switch condition:
+ * <ul>
+ *     <li>nashorn: replace the parameters in the condition and evaluate it by the shared nashorn sandbox</li>
+ *     <li>compiled: evaluate the condition compiled by SwitchConditionCompiler, which is cached by the task
+ *     definition version</li>
+ * </ul>
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class SwitchConditionBenchmark extends AbstractBaseBenchmark {
+
+    @Param({"${count} > 10 && ${type} == 'full'", "${count} == 0 || (${type} != 'full' && !${skip})"})
+    private String condition;
+
+    private Map<String, Property> params;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        params = new HashMap<>();
+        params.put("count", new Property("count", Direct.IN, DataType.INTEGER, "100"));
+        params.put("type", new Property("type", Direct.IN, DataType.VARCHAR, "full"));
+        params.put("skip", new Property("skip", Direct.IN, DataType.BOOLEAN, "false"));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean nashorn() throws ScriptException {
+        return SwitchTaskUtils.evaluate(
+                SwitchTaskUtils.generateContentWithTaskParams(condition, params, Collections.emptyMap()));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean compiled() throws ScriptException {
+        return SwitchConditionEvaluator.evaluate(1L, 1, condition, params);
+    }
+}
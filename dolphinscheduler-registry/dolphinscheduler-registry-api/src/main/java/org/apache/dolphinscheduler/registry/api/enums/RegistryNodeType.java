@@ -34,7 +34,11 @@ public enum RegistryNodeType {
     WORKER("Worker", "/nodes/worker"),
 
     ALERT_SERVER("AlertServer", "/nodes/alert-server"),
-    ALERT_HA_LEADER("AlertHALeader", "/nodes/alert-server-ha-leader");
+    ALERT_HA_LEADER("AlertHALeader", "/nodes/alert-server-ha-leader"),
+
+    API_CACHE_INVALIDATION("ApiCacheInvalidation", "/cache/api-server"),
+    API_STATISTICS_COMPACTION_LOCK("StatisticsCompactionLock", "/lock/api-statistics-compaction"),
+    API_INSTANCE_ARCHIVE_LOCK("InstanceArchiveLock", "/lock/api-instance-archive");
 
     private final String name;
 
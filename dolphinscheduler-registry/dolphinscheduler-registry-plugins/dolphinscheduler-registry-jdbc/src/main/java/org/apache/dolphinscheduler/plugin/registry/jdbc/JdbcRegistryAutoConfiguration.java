@@ -26,6 +26,7 @@ import org.apache.dolphinscheduler.plugin.registry.jdbc.repository.JdbcRegistryD
 import org.apache.dolphinscheduler.plugin.registry.jdbc.repository.JdbcRegistryDataRepository;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.repository.JdbcRegistryLockRepository;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.server.IJdbcRegistryServer;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.server.JdbcRegistryChangeNotifier;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.server.JdbcRegistryServer;
 
 import org.apache.ibatis.session.SqlSessionFactory;
@@ -62,13 +63,17 @@ public class JdbcRegistryAutoConfiguration {
                                                   JdbcRegistryLockRepository jdbcRegistryLockRepository,
                                                   JdbcRegistryClientRepository jdbcRegistryClientRepository,
                                                   JdbcRegistryDataChanceEventRepository jdbcRegistryDataChanceEventRepository,
-                                                  JdbcRegistryProperties jdbcRegistryProperties) {
+                                                  JdbcRegistryProperties jdbcRegistryProperties,
+                                                  SqlSessionFactory sqlSessionFactory) {
         return new JdbcRegistryServer(
                 jdbcRegistryDataRepository,
                 jdbcRegistryLockRepository,
                 jdbcRegistryClientRepository,
                 jdbcRegistryDataChanceEventRepository,
-                jdbcRegistryProperties);
+                jdbcRegistryProperties,
+                JdbcRegistryChangeNotifier.create(
+                        jdbcRegistryProperties,
+                        sqlSessionFactory.getConfiguration().getEnvironment().getDataSource()));
     }
 
     @Bean
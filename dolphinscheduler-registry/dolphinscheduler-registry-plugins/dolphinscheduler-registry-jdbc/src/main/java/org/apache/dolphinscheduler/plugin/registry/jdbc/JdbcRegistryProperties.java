@@ -54,6 +54,7 @@ public class JdbcRegistryProperties implements Validator {
     private Duration heartbeatRefreshInterval = Duration.ofSeconds(3);
     private Duration sessionTimeout = Duration.ofSeconds(60);
     private HikariConfig hikariConfig;
+    private LowLatency lowLatency = new LowLatency();
 
     @Override
     public boolean supports(Class<?> clazz) {
@@ -73,6 +74,17 @@ public class JdbcRegistryProperties implements Validator {
             errors.rejectValue("sessionTimeout", "sessionTimeout",
                     "sessionTimeout must be greater than 3 * heartbeatRefreshInterval");
         }
+        LowLatency lowLatency = jdbcRegistryProperties.getLowLatency();
+        if (lowLatency.isEnabled()) {
+            if (lowLatency.getMinPollingInterval().toMillis() <= 0) {
+                errors.rejectValue("lowLatency.minPollingInterval", "lowLatency.minPollingInterval",
+                        "lowLatency.minPollingInterval must be greater than 0");
+            }
+            if (lowLatency.getMaxPollingInterval().compareTo(lowLatency.getMinPollingInterval()) < 0) {
+                errors.rejectValue("lowLatency.maxPollingInterval", "lowLatency.maxPollingInterval",
+                        "lowLatency.maxPollingInterval must be greater than lowLatency.minPollingInterval");
+            }
+        }
         if (StringUtils.isEmpty(jdbcRegistryClientName)) {
             jdbcRegistryClientName = NetUtils.getHost() + ":" + serverPort;
         }
@@ -87,7 +99,20 @@ public class JdbcRegistryProperties implements Validator {
                         "\n  heartbeatRefreshInterval -> " + heartbeatRefreshInterval +
                         "\n  sessionTimeout -> " + sessionTimeout +
                         "\n  hikariConfig -> " + hikariConfig +
+                        "\n  lowLatency -> " + lowLatency +
                         "\n****************************JdbcRegistryProperties**************************************";
         log.info(config);
     }
+
+    @Data
+    public static class LowLatency {
+
+        /**
+         * If enabled, the registry data change and the lock release will be detected by the database notification
+         * (only postgresql), or by polling with an adaptive interval between minPollingInterval and maxPollingInterval.
+         */
+        private boolean enabled = false;
+        private Duration minPollingInterval = Duration.ofMillis(50);
+        private Duration maxPollingInterval = Duration.ofSeconds(1);
+    }
 }
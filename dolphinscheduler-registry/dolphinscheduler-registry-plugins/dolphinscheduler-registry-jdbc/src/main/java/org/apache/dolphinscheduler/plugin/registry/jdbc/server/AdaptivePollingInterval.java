@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.registry.jdbc.server;
+
+import java.time.Duration;
+
+/**
+ * The polling interval which is reset to the min interval once a change is detected, otherwise it will be doubled until
+ * the max interval.
+ */
+class AdaptivePollingInterval {
+
+    private final long minIntervalMillis;
+
+    private final long maxIntervalMillis;
+
+    private long currentIntervalMillis;
+
+    AdaptivePollingInterval(Duration minInterval, Duration maxInterval) {
+        this.minIntervalMillis = minInterval.toMillis();
+        this.maxIntervalMillis = maxInterval.toMillis();
+        this.currentIntervalMillis = minIntervalMillis;
+    }
+
+    long next(boolean changed) {
+        if (changed) {
+            currentIntervalMillis = minIntervalMillis;
+        } else {
+            currentIntervalMillis = Math.min(currentIntervalMillis * 2, maxIntervalMillis);
+        }
+        return currentIntervalMillis;
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.registry.jdbc.server;
+
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryProperties;
+
+import java.sql.Connection;
+
+import javax.sql.DataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.postgresql.PGConnection;
+
+/**
+ * Used to wake up the threads which are waiting for the change of the jdbc registry, e.g. the data change event
+ * detector and the lock waiters.
+ * <p>
+ * The change made by the current server is signaled locally, the change made by other servers can only be found by
+ * polling, unless the database supports notification, see {@link PostgresqlJdbcRegistryChangeNotifier}.
+ */
+@Slf4j
+public class JdbcRegistryChangeNotifier implements AutoCloseable {
+
+    private long changeVersion = 0;
+
+    public static JdbcRegistryChangeNotifier create(final JdbcRegistryProperties jdbcRegistryProperties,
+                                                    final DataSource dataSource) {
+        final JdbcRegistryProperties.LowLatency lowLatency = jdbcRegistryProperties.getLowLatency();
+        if (!lowLatency.isEnabled()) {
+            return new JdbcRegistryChangeNotifier();
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                log.info("The jdbc registry will use LISTEN/NOTIFY to detect the change");
+                return new PostgresqlJdbcRegistryChangeNotifier(dataSource, lowLatency.getMaxPollingInterval());
+            }
+        } catch (Exception ex) {
+            log.warn("Cannot detect whether the jdbc registry database supports notification", ex);
+        }
+        log.info("The jdbc registry will use adaptive polling to detect the change");
+        return new JdbcRegistryChangeNotifier();
+    }
+
+    public void start() {
+    }
+
+    public synchronized long getChangeVersion() {
+        return changeVersion;
+    }
+
+    /**
+     * Make the change of the current server and publish it once it is done.
+     */
+    public void publishChange(final Runnable change) {
+        change.run();
+        signalChange();
+    }
+
+    /**
+     * Wait until the change version is not equal to the given version or timeout.
+     *
+     * @return true if there is a change after the given version
+     */
+    public synchronized boolean awaitChange(final long version, final long timeoutMillis) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeoutMillis;
+        long remaining = timeoutMillis;
+        while (changeVersion == version && remaining > 0) {
+            wait(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+        return changeVersion != version;
+    }
+
+    protected synchronized void signalChange() {
+        changeVersion++;
+        notifyAll();
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.plugin.registry.jdbc.server;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryProperties;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryThreadFactory;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.DTO.DataType;
@@ -58,12 +59,18 @@ public class JdbcRegistryDataManager
 
     private final List<RegistryRowChangeListener<JdbcRegistryDataDTO>> registryRowChangeListeners;
 
+    private final JdbcRegistryChangeNotifier jdbcRegistryChangeNotifier;
+
     private long lastDetectedJdbcRegistryDataChangeEventId = -1;
 
+    private volatile boolean running = true;
+
     public JdbcRegistryDataManager(JdbcRegistryProperties registryProperties,
                                    JdbcRegistryDataRepository jdbcRegistryDataRepository,
-                                   JdbcRegistryDataChanceEventRepository jdbcRegistryDataChanceEventRepository) {
+                                   JdbcRegistryDataChanceEventRepository jdbcRegistryDataChanceEventRepository,
+                                   JdbcRegistryChangeNotifier jdbcRegistryChangeNotifier) {
         this.registryProperties = registryProperties;
+        this.jdbcRegistryChangeNotifier = jdbcRegistryChangeNotifier;
         this.jdbcRegistryDataChanceEventRepository = jdbcRegistryDataChanceEventRepository;
         this.jdbcRegistryDataRepository = jdbcRegistryDataRepository;
         this.registryRowChangeListeners = new CopyOnWriteArrayList<>();
@@ -73,11 +80,21 @@ public class JdbcRegistryDataManager
 
     @Override
     public void start() {
-        JdbcRegistryThreadFactory.getDefaultSchedulerThreadExecutor().scheduleWithFixedDelay(
-                this::detectJdbcRegistryDataChangeEvent,
-                registryProperties.getHeartbeatRefreshInterval().toMillis(),
-                registryProperties.getHeartbeatRefreshInterval().toMillis(),
-                TimeUnit.MILLISECONDS);
+        if (registryProperties.getLowLatency().isEnabled()) {
+            new BaseDaemonThread("JdbcRegistryDataChangeDetectThread") {
+
+                @Override
+                public void run() {
+                    detectJdbcRegistryDataChangeEventAdaptively();
+                }
+            }.start();
+        } else {
+            JdbcRegistryThreadFactory.getDefaultSchedulerThreadExecutor().scheduleWithFixedDelay(
+                    this::detectJdbcRegistryDataChangeEvent,
+                    registryProperties.getHeartbeatRefreshInterval().toMillis(),
+                    registryProperties.getHeartbeatRefreshInterval().toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
 
         JdbcRegistryThreadFactory.getDefaultSchedulerThreadExecutor().scheduleWithFixedDelay(
                 this::purgeHistoryJdbcRegistryDataChangeEvent,
@@ -86,11 +103,40 @@ public class JdbcRegistryDataManager
                 TimeUnit.HOURS);
     }
 
-    private void detectJdbcRegistryDataChangeEvent() {
+    public void close() {
+        running = false;
+    }
+
+    /**
+     * Detect the change event once be notified, or poll with an adaptive interval when there is no notification.
+     */
+    private void detectJdbcRegistryDataChangeEventAdaptively() {
+        final JdbcRegistryProperties.LowLatency lowLatency = registryProperties.getLowLatency();
+        final AdaptivePollingInterval pollingInterval = new AdaptivePollingInterval(
+                lowLatency.getMinPollingInterval(), lowLatency.getMaxPollingInterval());
+        while (running) {
+            final long changeVersion = jdbcRegistryChangeNotifier.getChangeVersion();
+            boolean detected = false;
+            try {
+                detected = detectJdbcRegistryDataChangeEvent();
+            } catch (Exception ex) {
+                log.error("Detect JdbcRegistryDataChangeEvent failed", ex);
+            }
+            try {
+                jdbcRegistryChangeNotifier.awaitChange(changeVersion, pollingInterval.next(detected));
+            } catch (InterruptedException e) {
+                log.warn("JdbcRegistryDataChangeDetectThread has been interrupted", e);
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private boolean detectJdbcRegistryDataChangeEvent() {
         final List<JdbcRegistryDataChanceEventDTO> jdbcRegistryDataChanceEvents = jdbcRegistryDataChanceEventRepository
                 .selectJdbcRegistryDataChangeEventWhereIdAfter(lastDetectedJdbcRegistryDataChangeEventId);
         if (CollectionUtils.isEmpty(jdbcRegistryDataChanceEvents)) {
-            return;
+            return false;
         }
         for (JdbcRegistryDataChanceEventDTO jdbcRegistryDataChanceEvent : jdbcRegistryDataChanceEvents) {
             log.debug("Detect JdbcRegistryDataChangeEvent: {}", jdbcRegistryDataChanceEvent);
@@ -115,6 +161,7 @@ public class JdbcRegistryDataManager
                 lastDetectedJdbcRegistryDataChangeEventId = jdbcRegistryDataChanceEvent.getId();
             }
         }
+        return true;
     }
 
     private void purgeHistoryJdbcRegistryDataChangeEvent() {
@@ -162,50 +209,51 @@ public class JdbcRegistryDataManager
         checkNotNull(key);
         checkNotNull(dataType);
 
-        Optional<JdbcRegistryDataDTO> jdbcRegistryDataOptional = jdbcRegistryDataRepository.selectByKey(key);
-        if (jdbcRegistryDataOptional.isPresent()) {
-            JdbcRegistryDataDTO jdbcRegistryData = jdbcRegistryDataOptional.get();
-            if (!dataType.name().equals(jdbcRegistryData.getDataType())) {
-                throw new UnsupportedOperationException("The data type: " + jdbcRegistryData.getDataType()
-                        + " of the key: " + key + " cannot be updated");
-            }
-
-            if (DataType.EPHEMERAL.name().equals(jdbcRegistryData.getDataType())) {
-                if (!jdbcRegistryData.getClientId().equals(clientId)) {
-                    throw new UnsupportedOperationException(
-                            "The EPHEMERAL data: " + key + " can only be updated by its owner: "
-                                    + jdbcRegistryData.getClientId() + " but not: " + clientId);
+        jdbcRegistryChangeNotifier.publishChange(() -> {
+            Optional<JdbcRegistryDataDTO> jdbcRegistryDataOptional = jdbcRegistryDataRepository.selectByKey(key);
+            if (jdbcRegistryDataOptional.isPresent()) {
+                JdbcRegistryDataDTO jdbcRegistryData = jdbcRegistryDataOptional.get();
+                if (!dataType.name().equals(jdbcRegistryData.getDataType())) {
+                    throw new UnsupportedOperationException("The data type: " + jdbcRegistryData.getDataType()
+                            + " of the key: " + key + " cannot be updated");
                 }
-            }
-
-            jdbcRegistryData.setDataValue(value);
-            jdbcRegistryData.setLastUpdateTime(new Date());
-            jdbcRegistryDataRepository.updateById(jdbcRegistryData);
 
-            JdbcRegistryDataChanceEventDTO jdbcRegistryDataChanceEvent = JdbcRegistryDataChanceEventDTO.builder()
-                    .jdbcRegistryData(jdbcRegistryData)
-                    .eventType(JdbcRegistryDataChanceEventDTO.EventType.UPDATE)
-                    .createTime(new Date())
-                    .build();
-            jdbcRegistryDataChanceEventRepository.insert(jdbcRegistryDataChanceEvent);
-        } else {
-            JdbcRegistryDataDTO jdbcRegistryDataDTO = JdbcRegistryDataDTO.builder()
-                    .clientId(clientId)
-                    .dataKey(key)
-                    .dataValue(value)
-                    .dataType(dataType.name())
-                    .createTime(new Date())
-                    .lastUpdateTime(new Date())
-                    .build();
-            jdbcRegistryDataRepository.insert(jdbcRegistryDataDTO);
-            JdbcRegistryDataChanceEventDTO registryDataChanceEvent = JdbcRegistryDataChanceEventDTO.builder()
-                    .jdbcRegistryData(jdbcRegistryDataDTO)
-                    .eventType(JdbcRegistryDataChanceEventDTO.EventType.ADD)
-                    .createTime(new Date())
-                    .build();
-            jdbcRegistryDataChanceEventRepository.insert(registryDataChanceEvent);
-        }
+                if (DataType.EPHEMERAL.name().equals(jdbcRegistryData.getDataType())) {
+                    if (!jdbcRegistryData.getClientId().equals(clientId)) {
+                        throw new UnsupportedOperationException(
+                                "The EPHEMERAL data: " + key + " can only be updated by its owner: "
+                                        + jdbcRegistryData.getClientId() + " but not: " + clientId);
+                    }
+                }
 
+                jdbcRegistryData.setDataValue(value);
+                jdbcRegistryData.setLastUpdateTime(new Date());
+                jdbcRegistryDataRepository.updateById(jdbcRegistryData);
+
+                JdbcRegistryDataChanceEventDTO jdbcRegistryDataChanceEvent = JdbcRegistryDataChanceEventDTO.builder()
+                        .jdbcRegistryData(jdbcRegistryData)
+                        .eventType(JdbcRegistryDataChanceEventDTO.EventType.UPDATE)
+                        .createTime(new Date())
+                        .build();
+                jdbcRegistryDataChanceEventRepository.insert(jdbcRegistryDataChanceEvent);
+            } else {
+                JdbcRegistryDataDTO jdbcRegistryDataDTO = JdbcRegistryDataDTO.builder()
+                        .clientId(clientId)
+                        .dataKey(key)
+                        .dataValue(value)
+                        .dataType(dataType.name())
+                        .createTime(new Date())
+                        .lastUpdateTime(new Date())
+                        .build();
+                jdbcRegistryDataRepository.insert(jdbcRegistryDataDTO);
+                JdbcRegistryDataChanceEventDTO registryDataChanceEvent = JdbcRegistryDataChanceEventDTO.builder()
+                        .jdbcRegistryData(jdbcRegistryDataDTO)
+                        .eventType(JdbcRegistryDataChanceEventDTO.EventType.ADD)
+                        .createTime(new Date())
+                        .build();
+                jdbcRegistryDataChanceEventRepository.insert(registryDataChanceEvent);
+            }
+        });
     }
 
     @Override
@@ -216,13 +264,15 @@ public class JdbcRegistryDataManager
         if (!jdbcRegistryDataOptional.isPresent()) {
             return;
         }
-        jdbcRegistryDataRepository.deleteByKey(key);
-        final JdbcRegistryDataChanceEventDTO registryDataChanceEvent = JdbcRegistryDataChanceEventDTO.builder()
-                .jdbcRegistryData(jdbcRegistryDataOptional.get())
-                .eventType(JdbcRegistryDataChanceEventDTO.EventType.DELETE)
-                .createTime(new Date())
-                .build();
-        jdbcRegistryDataChanceEventRepository.insert(registryDataChanceEvent);
+        jdbcRegistryChangeNotifier.publishChange(() -> {
+            jdbcRegistryDataRepository.deleteByKey(key);
+            final JdbcRegistryDataChanceEventDTO registryDataChanceEvent = JdbcRegistryDataChanceEventDTO.builder()
+                    .jdbcRegistryData(jdbcRegistryDataOptional.get())
+                    .eventType(JdbcRegistryDataChanceEventDTO.EventType.DELETE)
+                    .createTime(new Date())
+                    .build();
+            jdbcRegistryDataChanceEventRepository.insert(registryDataChanceEvent);
+        });
     }
 
     private void doTriggerJdbcRegistryDataAddedListener(List<JdbcRegistryDataDTO> valuesToAdd) {
@@ -17,15 +17,16 @@
 
 package org.apache.dolphinscheduler.plugin.registry.jdbc.server;
 
-import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryProperties;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.LockUtils;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.DTO.JdbcRegistryLockDTO;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.repository.JdbcRegistryLockRepository;
 
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -35,91 +36,96 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.dao.DuplicateKeyException;
 
+/**
+ * The waiters of a lock in the current server are queued fairly, only the head of the queue will try to acquire the lock
+ * from database, and it will be woken up once the lock is released by this server or the change is notified by
+ * {@link JdbcRegistryChangeNotifier}.
+ */
 @Slf4j
 public class JdbcRegistryLockManager implements IJdbcRegistryLockManager {
 
     private final JdbcRegistryProperties jdbcRegistryProperties;
     private final JdbcRegistryLockRepository jdbcRegistryLockRepository;
+    private final JdbcRegistryChangeNotifier jdbcRegistryChangeNotifier;
 
     // lockKey -> LockEntry
-    private final Map<String, LockEntry> jdbcRegistryLockHolderMap = new HashMap<>();
+    private final Map<String, LockEntry> jdbcRegistryLockHolderMap = new ConcurrentHashMap<>();
+
+    // lockKey -> the fair queue of the local waiters, the permit is held until the lock is released
+    private final Map<String, Semaphore> localLockWaitQueues = new ConcurrentHashMap<>();
 
     public JdbcRegistryLockManager(JdbcRegistryProperties jdbcRegistryProperties,
-                                   JdbcRegistryLockRepository jdbcRegistryLockRepository) {
+                                   JdbcRegistryLockRepository jdbcRegistryLockRepository,
+                                   JdbcRegistryChangeNotifier jdbcRegistryChangeNotifier) {
         this.jdbcRegistryProperties = jdbcRegistryProperties;
         this.jdbcRegistryLockRepository = jdbcRegistryLockRepository;
+        this.jdbcRegistryChangeNotifier = jdbcRegistryChangeNotifier;
     }
 
     @Override
-    public void acquireJdbcRegistryLock(Long clientId, String lockKey) {
+    public void acquireJdbcRegistryLock(Long clientId, String lockKey) throws InterruptedException {
         String lockOwner = LockUtils.getLockOwner();
-        while (true) {
-            LockEntry lockEntry = jdbcRegistryLockHolderMap.get(lockKey);
-            if (lockEntry != null && lockOwner.equals(lockEntry.getLockOwner())) {
-                return;
-            }
-            JdbcRegistryLockDTO jdbcRegistryLock = JdbcRegistryLockDTO.builder()
-                    .lockKey(lockKey)
-                    .clientId(clientId)
-                    .lockOwner(lockOwner)
-                    .createTime(new Date())
-                    .build();
-            try {
-                jdbcRegistryLockRepository.insert(jdbcRegistryLock);
-                if (jdbcRegistryLock != null) {
-                    jdbcRegistryLockHolderMap.put(lockKey, LockEntry.builder()
-                            .lockKey(lockKey)
-                            .lockOwner(lockOwner)
-                            .jdbcRegistryLock(jdbcRegistryLock)
-                            .build());
+        if (isLockHeldBy(lockKey, lockOwner)) {
+            return;
+        }
+        Semaphore localLockWaitQueue = getLocalLockWaitQueue(lockKey);
+        localLockWaitQueue.acquire();
+        try {
+            AdaptivePollingInterval pollingInterval = createPollingInterval();
+            while (true) {
+                long changeVersion = jdbcRegistryChangeNotifier.getChangeVersion();
+                if (tryAcquireJdbcRegistryLock(clientId, lockKey, lockOwner)) {
                     return;
                 }
-                log.debug("{} acquire the lock {} success", lockOwner, lockKey);
-            } catch (DuplicateKeyException duplicateKeyException) {
-                // The lock is already exist, wait it release.
-                continue;
+                log.debug("Acquire the lock {} failed try again", lockKey);
+                jdbcRegistryChangeNotifier.awaitChange(changeVersion, pollingInterval.next(false));
             }
-            log.debug("Acquire the lock {} failed try again", lockKey);
-            // acquire failed, wait and try again
-            ThreadUtils.sleep(jdbcRegistryProperties.getHeartbeatRefreshInterval().toMillis());
+        } catch (Throwable throwable) {
+            localLockWaitQueue.release();
+            throw throwable;
         }
     }
 
     @Override
     public boolean acquireJdbcRegistryLock(Long clientId, String lockKey, long timeout) {
         String lockOwner = LockUtils.getLockOwner();
-        long start = System.currentTimeMillis();
-        while (System.currentTimeMillis() - start <= timeout) {
-            LockEntry lockEntry = jdbcRegistryLockHolderMap.get(lockKey);
-            if (lockEntry != null && lockOwner.equals(lockEntry.getLockOwner())) {
-                return true;
+        if (isLockHeldBy(lockKey, lockOwner)) {
+            return true;
+        }
+        long deadline = System.currentTimeMillis() + timeout;
+        Semaphore localLockWaitQueue = getLocalLockWaitQueue(lockKey);
+        try {
+            if (!localLockWaitQueue.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                return false;
             }
-            JdbcRegistryLockDTO jdbcRegistryLock = JdbcRegistryLockDTO.builder()
-                    .lockKey(lockKey)
-                    .clientId(clientId)
-                    .lockOwner(lockOwner)
-                    .createTime(new Date())
-                    .build();
-            try {
-                jdbcRegistryLockRepository.insert(jdbcRegistryLock);
-                if (jdbcRegistryLock != null) {
-                    jdbcRegistryLockHolderMap.put(lockKey, LockEntry.builder()
-                            .lockKey(lockKey)
-                            .lockOwner(lockOwner)
-                            .jdbcRegistryLock(jdbcRegistryLock)
-                            .build());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        try {
+            AdaptivePollingInterval pollingInterval = createPollingInterval();
+            while (true) {
+                long changeVersion = jdbcRegistryChangeNotifier.getChangeVersion();
+                if (tryAcquireJdbcRegistryLock(clientId, lockKey, lockOwner)) {
                     return true;
                 }
-                log.debug("{} acquire the lock {} success", lockOwner, lockKey);
-            } catch (DuplicateKeyException duplicateKeyException) {
-                // The lock is already exist, wait it release.
-                continue;
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    localLockWaitQueue.release();
+                    return false;
+                }
+                log.debug("Acquire the lock {} failed try again", lockKey);
+                jdbcRegistryChangeNotifier.awaitChange(changeVersion,
+                        Math.min(pollingInterval.next(false), remaining));
             }
-            log.debug("Acquire the lock {} failed try again", lockKey);
-            // acquire failed, wait and try again
-            ThreadUtils.sleep(jdbcRegistryProperties.getHeartbeatRefreshInterval().toMillis());
+        } catch (InterruptedException e) {
+            localLockWaitQueue.release();
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Throwable throwable) {
+            localLockWaitQueue.release();
+            throw throwable;
         }
-        return false;
     }
 
     @Override
@@ -132,8 +138,54 @@ public class JdbcRegistryLockManager implements IJdbcRegistryLockManager {
             throw new UnsupportedOperationException(
                     "The client " + clientId + " is not the lock owner of the lock: " + lockKey);
         }
-        jdbcRegistryLockRepository.deleteById(lockEntry.getJdbcRegistryLock().getId());
-        jdbcRegistryLockHolderMap.remove(lockKey);
+        // Wake up the waiters in other servers
+        jdbcRegistryChangeNotifier.publishChange(
+                () -> jdbcRegistryLockRepository.deleteById(lockEntry.getJdbcRegistryLock().getId()));
+        if (jdbcRegistryLockHolderMap.remove(lockKey, lockEntry)) {
+            // Wake up the next local waiter
+            getLocalLockWaitQueue(lockKey).release();
+        }
+    }
+
+    private boolean isLockHeldBy(String lockKey, String lockOwner) {
+        LockEntry lockEntry = jdbcRegistryLockHolderMap.get(lockKey);
+        return lockEntry != null && lockOwner.equals(lockEntry.getLockOwner());
+    }
+
+    private boolean tryAcquireJdbcRegistryLock(Long clientId, String lockKey, String lockOwner) {
+        JdbcRegistryLockDTO jdbcRegistryLock = JdbcRegistryLockDTO.builder()
+                .lockKey(lockKey)
+                .clientId(clientId)
+                .lockOwner(lockOwner)
+                .createTime(new Date())
+                .build();
+        try {
+            jdbcRegistryLockRepository.insert(jdbcRegistryLock);
+        } catch (DuplicateKeyException duplicateKeyException) {
+            // The lock is already exist, wait it release.
+            return false;
+        }
+        jdbcRegistryLockHolderMap.put(lockKey, LockEntry.builder()
+                .lockKey(lockKey)
+                .lockOwner(lockOwner)
+                .jdbcRegistryLock(jdbcRegistryLock)
+                .build());
+        log.debug("{} acquire the lock {} success", lockOwner, lockKey);
+        return true;
+    }
+
+    private Semaphore getLocalLockWaitQueue(String lockKey) {
+        return localLockWaitQueues.computeIfAbsent(lockKey, key -> new Semaphore(1, true));
+    }
+
+    private AdaptivePollingInterval createPollingInterval() {
+        JdbcRegistryProperties.LowLatency lowLatency = jdbcRegistryProperties.getLowLatency();
+        if (lowLatency.isEnabled()) {
+            return new AdaptivePollingInterval(lowLatency.getMinPollingInterval(), lowLatency.getMaxPollingInterval());
+        }
+        return new AdaptivePollingInterval(
+                jdbcRegistryProperties.getHeartbeatRefreshInterval(),
+                jdbcRegistryProperties.getHeartbeatRefreshInterval());
     }
 
     @Data
@@ -68,6 +68,8 @@ public class JdbcRegistryServer implements IJdbcRegistryServer {
 
     private final JdbcRegistryLockManager jdbcRegistryLockManager;
 
+    private final JdbcRegistryChangeNotifier jdbcRegistryChangeNotifier;
+
     private JdbcRegistryServerState jdbcRegistryServerState;
 
     private final List<IJdbcRegistryClient> jdbcRegistryClients = new CopyOnWriteArrayList<>();
@@ -84,14 +86,32 @@ public class JdbcRegistryServer implements IJdbcRegistryServer {
                               JdbcRegistryClientRepository jdbcRegistryClientRepository,
                               JdbcRegistryDataChanceEventRepository jdbcRegistryDataChanceEventRepository,
                               JdbcRegistryProperties jdbcRegistryProperties) {
+        this(jdbcRegistryDataRepository,
+                jdbcRegistryLockRepository,
+                jdbcRegistryClientRepository,
+                jdbcRegistryDataChanceEventRepository,
+                jdbcRegistryProperties,
+                new JdbcRegistryChangeNotifier());
+    }
+
+    public JdbcRegistryServer(JdbcRegistryDataRepository jdbcRegistryDataRepository,
+                              JdbcRegistryLockRepository jdbcRegistryLockRepository,
+                              JdbcRegistryClientRepository jdbcRegistryClientRepository,
+                              JdbcRegistryDataChanceEventRepository jdbcRegistryDataChanceEventRepository,
+                              JdbcRegistryProperties jdbcRegistryProperties,
+                              JdbcRegistryChangeNotifier jdbcRegistryChangeNotifier) {
         this.jdbcRegistryDataRepository = checkNotNull(jdbcRegistryDataRepository);
         this.jdbcRegistryLockRepository = checkNotNull(jdbcRegistryLockRepository);
         this.jdbcRegistryClientRepository = checkNotNull(jdbcRegistryClientRepository);
         this.jdbcRegistryProperties = checkNotNull(jdbcRegistryProperties);
+        this.jdbcRegistryChangeNotifier = checkNotNull(jdbcRegistryChangeNotifier);
         this.jdbcRegistryDataManager = new JdbcRegistryDataManager(
-                jdbcRegistryProperties, jdbcRegistryDataRepository, jdbcRegistryDataChanceEventRepository);
+                jdbcRegistryProperties,
+                jdbcRegistryDataRepository,
+                jdbcRegistryDataChanceEventRepository,
+                jdbcRegistryChangeNotifier);
         this.jdbcRegistryLockManager = new JdbcRegistryLockManager(
-                jdbcRegistryProperties, jdbcRegistryLockRepository);
+                jdbcRegistryProperties, jdbcRegistryLockRepository, jdbcRegistryChangeNotifier);
         this.jdbcRegistryServerState = JdbcRegistryServerState.INIT;
         lastSuccessHeartbeat = System.currentTimeMillis();
     }
@@ -105,6 +125,7 @@ public class JdbcRegistryServer implements IJdbcRegistryServer {
         // Start the Purge thread
         // The Purge thread will clear the invalidated data
         purgeInvalidJdbcRegistryMetadata();
+        jdbcRegistryChangeNotifier.start();
         JdbcRegistryThreadFactory.getDefaultSchedulerThreadExecutor().scheduleWithFixedDelay(
                 this::purgeInvalidJdbcRegistryMetadata,
                 jdbcRegistryProperties.getSessionTimeout().toMillis(),
@@ -249,6 +270,7 @@ public class JdbcRegistryServer implements IJdbcRegistryServer {
     public void close() {
         jdbcRegistryServerState = JdbcRegistryServerState.STOPPED;
         JdbcRegistryThreadFactory.getDefaultSchedulerThreadExecutor().shutdown();
+        jdbcRegistryDataManager.close();
         List<Long> clientIds = jdbcRegistryClients.stream()
                 .map(IJdbcRegistryClient::getJdbcRegistryClientIdentify)
                 .map(JdbcRegistryClientIdentify::getClientId)
@@ -256,6 +278,7 @@ public class JdbcRegistryServer implements IJdbcRegistryServer {
         doPurgeJdbcRegistryClientInDB(clientIds);
         jdbcRegistryClients.clear();
         jdbcRegistryClientDTOMap.clear();
+        jdbcRegistryChangeNotifier.close();
     }
 
     private void purgeInvalidJdbcRegistryMetadata() {
@@ -292,7 +315,8 @@ public class JdbcRegistryServer implements IJdbcRegistryServer {
                 .forEach(jdbcRegistryLockDTO -> {
                     log.info("Remove the JdbcRegistryLock: {} which client is not exist in the registry",
                             jdbcRegistryLockDTO);
-                    jdbcRegistryLockRepository.deleteById(jdbcRegistryLockDTO.getId());
+                    jdbcRegistryChangeNotifier.publishChange(
+                            () -> jdbcRegistryLockRepository.deleteById(jdbcRegistryLockDTO.getId()));
                 });
         stopWatch.stop();
         log.debug("Success purge invalid jdbcRegistryMetadata, cost: {} ms", stopWatch.getTime());
@@ -303,9 +327,12 @@ public class JdbcRegistryServer implements IJdbcRegistryServer {
             return;
         }
         log.info("Begin to delete dead jdbcRegistryClient: {}", jdbcRegistryClientIds);
-        jdbcRegistryDataRepository.deleteEphemeralDateByClientIds(jdbcRegistryClientIds);
-        jdbcRegistryLockRepository.deleteByClientIds(jdbcRegistryClientIds);
-        jdbcRegistryClientRepository.deleteByIds(jdbcRegistryClientIds);
+        // Wake up the waiters of the locks which are held by the dead clients
+        jdbcRegistryChangeNotifier.publishChange(() -> {
+            jdbcRegistryDataRepository.deleteEphemeralDateByClientIds(jdbcRegistryClientIds);
+            jdbcRegistryLockRepository.deleteByClientIds(jdbcRegistryClientIds);
+            jdbcRegistryClientRepository.deleteByIds(jdbcRegistryClientIds);
+        });
         log.info("Success delete dead jdbcRegistryClient: {}", jdbcRegistryClientIds);
     }
 
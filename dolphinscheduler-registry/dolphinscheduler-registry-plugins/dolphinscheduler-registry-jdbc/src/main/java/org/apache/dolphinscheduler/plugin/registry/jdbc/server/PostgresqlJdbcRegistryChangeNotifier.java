@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.registry.jdbc.server;
+
+import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.registry.api.RegistryException;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Use the LISTEN/NOTIFY of postgresql to find the change made by other servers.
+ * <p>
+ * The channel is listened by a dedicated connection which is created outside of the pool, so the pool will not lose a
+ * connection and the listen connection will not be evicted by the pool. The change is notified by the connection of
+ * the transaction which makes it, so the notification is delivered only after the change is committed.
+ */
+@Slf4j
+public class PostgresqlJdbcRegistryChangeNotifier extends JdbcRegistryChangeNotifier {
+
+    static final String CHANNEL = "ds_jdbc_registry_change";
+
+    private final DataSource dataSource;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final long listenTimeoutMillis;
+
+    private final ListenThread listenThread;
+
+    private volatile boolean running;
+
+    private volatile Connection listenConnection;
+
+    public PostgresqlJdbcRegistryChangeNotifier(DataSource dataSource, Duration listenTimeout) {
+        this.dataSource = dataSource;
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.listenTimeoutMillis = listenTimeout.toMillis();
+        this.listenThread = new ListenThread();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listenThread.start();
+    }
+
+    @Override
+    public void publishChange(final Runnable change) {
+        transactionTemplate.executeWithoutResult(status -> {
+            change.run();
+            notifyChange();
+        });
+        signalChange();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        listenThread.interrupt();
+        closeListenConnection();
+    }
+
+    private void notifyChange() {
+        // Bound to the current transaction, so it is the same connection with the change
+        final Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("NOTIFY " + CHANNEL);
+        } catch (SQLException ex) {
+            throw new RegistryException("Notify the jdbc registry change failed", ex);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private Connection createListenConnection() throws SQLException {
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            final HikariDataSource hikariDataSource = dataSource.unwrap(HikariDataSource.class);
+            if (hikariDataSource.getJdbcUrl() != null) {
+                final Properties properties = new Properties();
+                properties.putAll(hikariDataSource.getDataSourceProperties());
+                if (hikariDataSource.getUsername() != null) {
+                    properties.setProperty("user", hikariDataSource.getUsername());
+                }
+                if (hikariDataSource.getPassword() != null) {
+                    properties.setProperty("password", hikariDataSource.getPassword());
+                }
+                return DriverManager.getConnection(hikariDataSource.getJdbcUrl(), properties);
+            }
+        }
+        log.warn("Cannot create a dedicated connection from the datasource: {}, will listen by the pooled connection",
+                dataSource.getClass().getName());
+        return dataSource.getConnection();
+    }
+
+    private void closeListenConnection() {
+        final Connection connection = listenConnection;
+        listenConnection = null;
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ex) {
+            log.debug("Close the jdbc registry listen connection failed", ex);
+        }
+    }
+
+    private class ListenThread extends BaseDaemonThread {
+
+        ListenThread() {
+            super("JdbcRegistryChangeListenThread");
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    listenConnection = createListenConnection();
+                    final PGConnection pgConnection = listenConnection.unwrap(PGConnection.class);
+                    try (Statement statement = listenConnection.createStatement()) {
+                        statement.execute("LISTEN " + CHANNEL);
+                    }
+                    // The change might be missed before listening
+                    signalChange();
+                    while (running) {
+                        final PGNotification[] notifications =
+                                pgConnection.getNotifications((int) listenTimeoutMillis);
+                        if (notifications != null && notifications.length > 0) {
+                            signalChange();
+                        }
+                    }
+                } catch (Exception ex) {
+                    if (!running) {
+                        return;
+                    }
+                    log.warn("Listen the jdbc registry change failed, will retry after {} ms", listenTimeoutMillis,
+                            ex);
+                    ThreadUtils.sleep(listenTimeoutMillis);
+                } finally {
+                    closeListenConnection();
+                }
+            }
+        }
+    }
+}
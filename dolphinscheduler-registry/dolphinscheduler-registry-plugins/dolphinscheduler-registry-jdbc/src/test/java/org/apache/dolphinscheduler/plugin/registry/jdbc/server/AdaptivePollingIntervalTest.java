@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.registry.jdbc.server;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptivePollingIntervalTest {
+
+    @Test
+    void next() {
+        AdaptivePollingInterval pollingInterval =
+                new AdaptivePollingInterval(Duration.ofMillis(50), Duration.ofMillis(300));
+        assertThat(pollingInterval.next(false)).isEqualTo(100);
+        assertThat(pollingInterval.next(false)).isEqualTo(200);
+        assertThat(pollingInterval.next(false)).isEqualTo(300);
+        assertThat(pollingInterval.next(false)).isEqualTo(300);
+        assertThat(pollingInterval.next(true)).isEqualTo(50);
+    }
+}
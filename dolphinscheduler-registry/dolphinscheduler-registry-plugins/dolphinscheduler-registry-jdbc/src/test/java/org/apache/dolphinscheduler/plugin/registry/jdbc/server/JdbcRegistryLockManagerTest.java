@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.registry.jdbc.server;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryProperties;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.DTO.JdbcRegistryLockDTO;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.repository.JdbcRegistryLockRepository;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+
+class JdbcRegistryLockManagerTest {
+
+    private JdbcRegistryProperties jdbcRegistryProperties;
+
+    private JdbcRegistryLockRepository jdbcRegistryLockRepository;
+
+    private JdbcRegistryChangeNotifier jdbcRegistryChangeNotifier;
+
+    // Simulate the lock held by other servers
+    private final AtomicBoolean lockedInDatabase = new AtomicBoolean(false);
+
+    @BeforeEach
+    void setUp() {
+        jdbcRegistryProperties = new JdbcRegistryProperties();
+        jdbcRegistryProperties.setHeartbeatRefreshInterval(Duration.ofSeconds(30));
+        jdbcRegistryLockRepository = mock(JdbcRegistryLockRepository.class);
+        jdbcRegistryChangeNotifier = new JdbcRegistryChangeNotifier();
+        AtomicLong idGenerator = new AtomicLong();
+        doAnswer(invocation -> {
+            if (!lockedInDatabase.compareAndSet(false, true)) {
+                throw new DuplicateKeyException("duplicate lock");
+            }
+            JdbcRegistryLockDTO jdbcRegistryLock = invocation.getArgument(0);
+            jdbcRegistryLock.setId(idGenerator.incrementAndGet());
+            return null;
+        }).when(jdbcRegistryLockRepository).insert(any());
+        doAnswer(invocation -> {
+            lockedInDatabase.set(false);
+            return null;
+        }).when(jdbcRegistryLockRepository).deleteById(any());
+    }
+
+    @Test
+    void acquireJdbcRegistryLock_wakeUpLocalWaiterOnRelease() throws Exception {
+        JdbcRegistryLockManager lockManager = new JdbcRegistryLockManager(
+                jdbcRegistryProperties, jdbcRegistryLockRepository, jdbcRegistryChangeNotifier);
+        lockManager.acquireJdbcRegistryLock(1L, "lock");
+
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(
+                () -> lockManager.acquireJdbcRegistryLock(1L, "lock", 10_000));
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertThat(waiter.isDone()).isFalse();
+
+        lockManager.releaseJdbcRegistryLock(1L, "lock");
+        // Should not wait the heartbeat refresh interval
+        assertThat(waiter.get(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void acquireJdbcRegistryLock_wakeUpByChangeNotification() throws Exception {
+        JdbcRegistryLockManager lockManager = new JdbcRegistryLockManager(
+                jdbcRegistryProperties, jdbcRegistryLockRepository, jdbcRegistryChangeNotifier);
+        lockedInDatabase.set(true);
+
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(
+                () -> lockManager.acquireJdbcRegistryLock(1L, "lock", 10_000));
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertThat(waiter.isDone()).isFalse();
+
+        // The lock is released by other server
+        jdbcRegistryChangeNotifier.publishChange(() -> lockedInDatabase.set(false));
+        assertThat(waiter.get(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void acquireJdbcRegistryLock_timeout() {
+        JdbcRegistryLockManager lockManager = new JdbcRegistryLockManager(
+                jdbcRegistryProperties, jdbcRegistryLockRepository, jdbcRegistryChangeNotifier);
+        lockedInDatabase.set(true);
+
+        assertThat(lockManager.acquireJdbcRegistryLock(1L, "lock", 100)).isFalse();
+
+        // The local queue should be released after timeout
+        lockedInDatabase.set(false);
+        await().atMost(Duration.ofSeconds(2))
+                .untilAsserted(() -> assertThat(lockManager.acquireJdbcRegistryLock(1L, "lock", 100)).isTrue());
+    }
+}
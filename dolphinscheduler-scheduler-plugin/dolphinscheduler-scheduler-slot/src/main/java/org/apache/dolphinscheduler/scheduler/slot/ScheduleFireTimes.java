@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.slot;
+
+import static com.cronutils.model.CronType.QUARTZ;
+
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.Optional;
+
+import com.cronutils.model.definition.CronDefinitionBuilder;
+import com.cronutils.model.time.ExecutionTime;
+import com.cronutils.parser.CronParser;
+
+/**
+ * Calculate the fire times of a {@link Schedule}, the same as the cron trigger created by the quartz scheduler.
+ */
+public class ScheduleFireTimes {
+
+    private static final CronParser QUARTZ_CRON_PARSER =
+            new CronParser(CronDefinitionBuilder.instanceDefinitionFor(QUARTZ));
+
+    private final ExecutionTime executionTime;
+
+    private final ZoneId zoneId;
+
+    private final Date startTime;
+
+    private final Date endTime;
+
+    private ScheduleFireTimes(ExecutionTime executionTime, ZoneId zoneId, Date startTime, Date endTime) {
+        this.executionTime = executionTime;
+        this.zoneId = zoneId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the crontab of the schedule is invalid
+     */
+    public static ScheduleFireTimes of(Schedule schedule) {
+        final ExecutionTime executionTime = ExecutionTime.forCron(QUARTZ_CRON_PARSER.parse(schedule.getCrontab()));
+        final ZoneId zoneId = StringUtils.isEmpty(schedule.getTimezoneId())
+                ? ZoneId.systemDefault()
+                : ZoneId.of(schedule.getTimezoneId());
+        // The api saves the start/end time of the schedule in the server timezone without transform, see
+        // QuartzCornTriggerBuilder
+        return new ScheduleFireTimes(
+                executionTime,
+                zoneId,
+                DateUtils.transformTimezoneDate(schedule.getStartTime(), schedule.getTimezoneId()),
+                DateUtils.transformTimezoneDate(schedule.getEndTime(), schedule.getTimezoneId()));
+    }
+
+    /**
+     * Get the first fire time which is after the given time and in the [startTime, endTime] of the schedule.
+     */
+    public Optional<Date> nextFireTimeAfter(Date time) {
+        // The start time itself can be a fire time
+        Date from = time;
+        if (startTime != null && startTime.after(time)) {
+            from = new Date(startTime.getTime() - 1);
+        }
+        final Optional<ZonedDateTime> nextExecution =
+                executionTime.nextExecution(ZonedDateTime.ofInstant(from.toInstant(), zoneId));
+        if (!nextExecution.isPresent()) {
+            return Optional.empty();
+        }
+        final Date nextFireTime = Date.from(nextExecution.get().toInstant());
+        if (endTime != null && nextFireTime.after(endTime)) {
+            return Optional.empty();
+        }
+        return Optional.of(nextFireTime);
+    }
+}
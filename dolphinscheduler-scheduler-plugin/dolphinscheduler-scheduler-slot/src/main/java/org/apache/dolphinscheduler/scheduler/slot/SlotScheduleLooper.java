@@ -0,0 +1,492 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.slot;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.enums.ReleaseState;
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
+import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+import org.apache.dolphinscheduler.dao.entity.ScheduleCheckpoint;
+import org.apache.dolphinscheduler.dao.entity.WorkflowDefinition;
+import org.apache.dolphinscheduler.dao.mapper.ScheduleMapper;
+import org.apache.dolphinscheduler.dao.mapper.WorkflowDefinitionMapper;
+import org.apache.dolphinscheduler.dao.repository.ScheduleCheckpointDao;
+import org.apache.dolphinscheduler.dao.utils.WorkerGroupUtils;
+import org.apache.dolphinscheduler.eventbus.HierarchicalTimingWheel;
+import org.apache.dolphinscheduler.extract.master.IWorkflowControlClient;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBatchScheduleTriggerRequest;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBatchScheduleTriggerResponse;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowScheduleTriggerRequest;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fire the schedules of the current slot.
+ * <p> The next fire time of each schedule is kept in a {@link HierarchicalTimingWheel}, the schedules are loaded from
+ * the database when the slot changes or the full refresh interval elapses, and the schedules registered online since
+ * the last refresh are loaded incrementally. Only the fire watermark is persisted, in {@link ScheduleCheckpoint}.
+ * <p> At each tick, the due fires are validated against the latest schedules and checkpoints in one query, the
+ * workflow definitions are loaded in one query, then the workflows are triggered by batches of at most
+ * {@link #MAX_FIRE_BATCH_SIZE} fires in one rpc, and the watermarks are advanced right after each batch is
+ * triggered. If a batch fails to be triggered, the watermarks of its schedules are kept and the fires are retried at
+ * the next tick. After a master change, the new owner of a schedule fires all the fire times after the persisted
+ * watermark, and the fire times which have been fired by the previous owner are skipped by checking the watermark.
+ */
+@Slf4j
+public class SlotScheduleLooper extends BaseDaemonThread implements AutoCloseable {
+
+    private static final int MAX_FIRE_BATCH_SIZE = 100;
+
+    private final SlotSchedulerProperties slotSchedulerProperties;
+
+    private final IScheduleSlotProvider scheduleSlotProvider;
+
+    private final ScheduleMapper scheduleMapper;
+
+    private final ScheduleCheckpointDao scheduleCheckpointDao;
+
+    private final WorkflowDefinitionMapper workflowDefinitionMapper;
+
+    private final IWorkflowControlClient workflowControlClient;
+
+    private final AtomicBoolean runningFlag = new AtomicBoolean(false);
+
+    // The following fields are only accessed by the looper thread
+    private final Map<Integer, SlotScheduleState> scheduleStates = new HashMap<>();
+
+    private final List<ScheduledFire> overdueFires = new ArrayList<>();
+
+    private HierarchicalTimingWheel<ScheduledFire> timingWheel;
+
+    private int loadedSlot = -1;
+
+    private int loadedTotalSlots = 0;
+
+    private long lastRefreshMillis;
+
+    private long lastFullRefreshMillis;
+
+    private long version;
+
+    public SlotScheduleLooper(SlotSchedulerProperties slotSchedulerProperties,
+                              IScheduleSlotProvider scheduleSlotProvider,
+                              ScheduleMapper scheduleMapper,
+                              ScheduleCheckpointDao scheduleCheckpointDao,
+                              WorkflowDefinitionMapper workflowDefinitionMapper,
+                              IWorkflowControlClient workflowControlClient) {
+        super("SlotScheduleLooper");
+        this.slotSchedulerProperties = slotSchedulerProperties;
+        this.scheduleSlotProvider = scheduleSlotProvider;
+        this.scheduleMapper = scheduleMapper;
+        this.scheduleCheckpointDao = scheduleCheckpointDao;
+        this.workflowDefinitionMapper = workflowDefinitionMapper;
+        this.workflowControlClient = workflowControlClient;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!runningFlag.compareAndSet(false, true)) {
+            log.error("The SlotScheduleLooper already started, will not start again");
+            return;
+        }
+        log.info("SlotScheduleLooper starting...");
+        super.start();
+        log.info("SlotScheduleLooper started...");
+    }
+
+    @Override
+    public void run() {
+        final long tickMillis = slotSchedulerProperties.getTickDuration().toMillis();
+        while (runningFlag.get()) {
+            try {
+                loop(System.currentTimeMillis());
+            } catch (Throwable ex) {
+                // The fires popped from the timing wheel are recovered from the watermark by the full refresh
+                log.error("SlotScheduleLooper loop error, will reload the schedules", ex);
+                lastFullRefreshMillis = 0;
+            }
+            ThreadUtils.sleep(tickMillis - System.currentTimeMillis() % tickMillis);
+        }
+    }
+
+    void loop(long nowMillis) {
+        refreshIfNeeded(nowMillis);
+        if (timingWheel == null) {
+            return;
+        }
+        final List<ScheduledFire> dueFires = new ArrayList<>(overdueFires);
+        overdueFires.clear();
+        timingWheel.advanceTo(nowMillis, dueFires::add);
+        fire(dueFires, nowMillis);
+    }
+
+    private void refreshIfNeeded(long nowMillis) {
+        final int currentSlot = scheduleSlotProvider.getCurrentSlot();
+        final int totalSlots = scheduleSlotProvider.getTotalSlots();
+        if (currentSlot < 0 || totalSlots <= 0) {
+            if (timingWheel != null) {
+                log.warn("The current slot is not available, will stop firing the {} schedules", scheduleStates.size());
+                clear();
+            }
+            return;
+        }
+        if (currentSlot != loadedSlot
+                || totalSlots != loadedTotalSlots
+                || nowMillis - lastFullRefreshMillis >= slotSchedulerProperties.getFullRefreshInterval().toMillis()) {
+            fullRefresh(currentSlot, totalSlots, nowMillis);
+            return;
+        }
+        if (nowMillis - lastRefreshMillis >= slotSchedulerProperties.getRefreshInterval().toMillis()) {
+            incrementalRefresh(nowMillis);
+        }
+    }
+
+    private void fullRefresh(int currentSlot, int totalSlots, long nowMillis) {
+        clear();
+        final List<Schedule> schedules = scheduleMapper.queryOnlineScheduleBySlot(currentSlot, totalSlots);
+        final Map<Integer, ScheduleCheckpoint> checkpoints = queryCheckpoints(
+                schedules.stream().map(Schedule::getId).collect(Collectors.toList()));
+
+        // The schedule which is online before the slot scheduler is used doesn't have a checkpoint
+        final List<Integer> unregisteredScheduleIds = schedules.stream()
+                .map(Schedule::getId)
+                .filter(scheduleId -> !checkpoints.containsKey(scheduleId))
+                .collect(Collectors.toList());
+        if (!unregisteredScheduleIds.isEmpty()) {
+            final Date registerTime = new Date(nowMillis);
+            unregisteredScheduleIds.forEach(scheduleId -> scheduleCheckpointDao.register(scheduleId, registerTime));
+            checkpoints.putAll(queryCheckpoints(unregisteredScheduleIds));
+        }
+
+        timingWheel = new HierarchicalTimingWheel<>(
+                slotSchedulerProperties.getTickDuration().toMillis(),
+                slotSchedulerProperties.getWheelSize(),
+                nowMillis);
+        for (Schedule schedule : schedules) {
+            final ScheduleCheckpoint checkpoint = checkpoints.get(schedule.getId());
+            if (checkpoint != null) {
+                loadSchedule(schedule, checkpoint, overdueFires::add);
+            }
+        }
+        loadedSlot = currentSlot;
+        loadedTotalSlots = totalSlots;
+        lastRefreshMillis = nowMillis;
+        lastFullRefreshMillis = nowMillis;
+        log.info("Loaded {} schedules of slot: {}/{}", scheduleStates.size(), currentSlot, totalSlots);
+    }
+
+    private void incrementalRefresh(long nowMillis) {
+        // The register time is generated by other servers, look back one more interval to tolerate the clock skew
+        // and the transactions committed late, the checkpoints which are already loaded are skipped
+        final Date registerTimeAfter = new Date(
+                lastRefreshMillis - slotSchedulerProperties.getRefreshInterval().toMillis());
+        final List<ScheduleCheckpoint> registeredCheckpoints = scheduleCheckpointDao
+                .queryBySlotAndRegisterTimeAfter(loadedSlot, loadedTotalSlots, registerTimeAfter)
+                .stream()
+                .filter(checkpoint -> {
+                    final SlotScheduleState state = scheduleStates.get(checkpoint.getScheduleId());
+                    return state == null || !state.getRegisterTime().equals(checkpoint.getRegisterTime());
+                })
+                .collect(Collectors.toList());
+        lastRefreshMillis = nowMillis;
+        if (registeredCheckpoints.isEmpty()) {
+            return;
+        }
+        final Map<Integer, Schedule> schedules = querySchedules(registeredCheckpoints.stream()
+                .map(ScheduleCheckpoint::getScheduleId)
+                .collect(Collectors.toList()));
+        for (ScheduleCheckpoint checkpoint : registeredCheckpoints) {
+            final Schedule schedule = schedules.get(checkpoint.getScheduleId());
+            if (schedule == null || schedule.getReleaseState() != ReleaseState.ONLINE) {
+                scheduleStates.remove(checkpoint.getScheduleId());
+                continue;
+            }
+            loadSchedule(schedule, checkpoint, overdueFires::add);
+            log.info("Loaded schedule: {} registered at: {}", schedule.getId(), checkpoint.getRegisterTime());
+        }
+    }
+
+    private void loadSchedule(Schedule schedule, ScheduleCheckpoint checkpoint, Consumer<ScheduledFire> overdue) {
+        final ScheduleFireTimes fireTimes;
+        try {
+            fireTimes = ScheduleFireTimes.of(schedule);
+        } catch (Exception ex) {
+            log.error("Parse the crontab: {} of schedule: {} failed, the schedule will not be fired",
+                    schedule.getCrontab(), schedule.getId(), ex);
+            scheduleStates.remove(schedule.getId());
+            return;
+        }
+        // The stale fires of the previous state in the timing wheel are skipped by the version
+        final SlotScheduleState state = new SlotScheduleState(
+                schedule.getId(), ++version, checkpoint.getRegisterTime(), checkpoint.getFireWatermark(), fireTimes);
+        scheduleStates.put(schedule.getId(), state);
+        scheduleNextFire(state, overdue);
+    }
+
+    private void scheduleNextFire(SlotScheduleState state, Consumer<ScheduledFire> overdue) {
+        final Optional<Date> nextFireTime = state.getFireTimes().nextFireTimeAfter(state.getFireWatermark());
+        if (!nextFireTime.isPresent()) {
+            log.info("The schedule: {} has no fire time after: {}", state.getScheduleId(), state.getFireWatermark());
+            return;
+        }
+        final ScheduledFire scheduledFire =
+                new ScheduledFire(state.getScheduleId(), state.getVersion(), nextFireTime.get());
+        if (!timingWheel.add(nextFireTime.get().getTime(), scheduledFire)) {
+            overdue.accept(scheduledFire);
+        }
+    }
+
+    private void fire(List<ScheduledFire> dueFires, long nowMillis) {
+        final List<ScheduledFire> validFires = dueFires.stream()
+                .filter(this::isCurrentVersion)
+                .sorted(Comparator.comparing(ScheduledFire::getFireTime))
+                .collect(Collectors.toList());
+        if (validFires.isEmpty()) {
+            return;
+        }
+        final Set<Integer> scheduleIds =
+                validFires.stream().map(ScheduledFire::getScheduleId).collect(Collectors.toSet());
+        final Map<Integer, Schedule> schedules = querySchedules(scheduleIds);
+        final Map<Integer, ScheduleCheckpoint> checkpoints = queryCheckpoints(scheduleIds);
+        final Map<Long, WorkflowDefinition> workflowDefinitions = queryWorkflowDefinitions(schedules.values());
+
+        FireBatch fireBatch = new FireBatch();
+        final Deque<ScheduledFire> fireQueue = new ArrayDeque<>(validFires);
+        while (!fireQueue.isEmpty()) {
+            final ScheduledFire scheduledFire = fireQueue.poll();
+            if (!isCurrentVersion(scheduledFire)) {
+                continue;
+            }
+            final SlotScheduleState state = scheduleStates.get(scheduledFire.getScheduleId());
+            final Schedule schedule = schedules.get(scheduledFire.getScheduleId());
+            final ScheduleCheckpoint checkpoint = checkpoints.get(scheduledFire.getScheduleId());
+            if (schedule == null || schedule.getReleaseState() != ReleaseState.ONLINE || checkpoint == null) {
+                log.info("The schedule: {} is offline or deleted, will not fire it", scheduledFire.getScheduleId());
+                scheduleStates.remove(scheduledFire.getScheduleId());
+                continue;
+            }
+            if (!checkpoint.getRegisterTime().equals(state.getRegisterTime())) {
+                // The schedule is registered again, the fires are calculated from the new register time
+                loadSchedule(schedule, checkpoint, fireQueue::add);
+                continue;
+            }
+            if (!checkpoint.getFireWatermark().before(scheduledFire.getFireTime())) {
+                // The fire time has been fired by the previous owner of the schedule
+                state.setFireWatermark(checkpoint.getFireWatermark());
+                scheduleNextFire(state, fireQueue::add);
+                continue;
+            }
+            fireBatch.add(schedule, state,
+                    createTriggerRequest(schedule, workflowDefinitions.get(schedule.getWorkflowDefinitionCode()),
+                            scheduledFire.getFireTime()),
+                    scheduledFire.getFireTime());
+            state.setFireWatermark(scheduledFire.getFireTime());
+            scheduleNextFire(state, fireQueue::add);
+            if (fireBatch.getTriggerRequests().size() >= MAX_FIRE_BATCH_SIZE) {
+                triggerFireBatch(fireBatch, nowMillis);
+                fireBatch = new FireBatch();
+            }
+        }
+        triggerFireBatch(fireBatch, nowMillis);
+    }
+
+    /**
+     * Trigger the workflows of the batch, then persist the watermarks of the batch if they are triggered, otherwise
+     * reload the schedules of the batch from their previous watermarks, so the fires are retried at the next tick.
+     */
+    private void triggerFireBatch(FireBatch fireBatch, long nowMillis) {
+        if (fireBatch.getFireWatermarks().isEmpty()) {
+            return;
+        }
+        if (!triggerWorkflows(fireBatch.getTriggerRequests())) {
+            for (ScheduleCheckpoint previousCheckpoint : fireBatch.getPreviousCheckpoints().values()) {
+                loadSchedule(fireBatch.getSchedules().get(previousCheckpoint.getScheduleId()), previousCheckpoint,
+                        overdueFires::add);
+            }
+            return;
+        }
+        final Date updateTime = new Date(nowMillis);
+        scheduleCheckpointDao.batchAdvanceFireWatermark(fireBatch.getFireWatermarks().entrySet()
+                .stream()
+                .map(entry -> ScheduleCheckpoint.builder()
+                        .scheduleId(entry.getKey())
+                        .fireWatermark(entry.getValue())
+                        .updateTime(updateTime)
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Trigger the workflows in one rpc, the master triggers them in one transaction.
+     *
+     * @return true if all the workflows are triggered, false if none of them is triggered or the result is unknown
+     */
+    private boolean triggerWorkflows(List<WorkflowScheduleTriggerRequest> triggerRequests) {
+        if (triggerRequests.isEmpty()) {
+            return true;
+        }
+        try {
+            final WorkflowBatchScheduleTriggerResponse batchScheduleTriggerResponse =
+                    workflowControlClient.batchScheduleTriggerWorkflow(WorkflowBatchScheduleTriggerRequest.builder()
+                            .scheduleTriggerRequests(triggerRequests)
+                            .build());
+            if (batchScheduleTriggerResponse.isSuccess()) {
+                return true;
+            }
+            log.error("Fire {} schedules failed: {}, will retry at the next tick", triggerRequests.size(),
+                    batchScheduleTriggerResponse.getMessage());
+        } catch (Exception ex) {
+            log.error("Fire {} schedules failed, will retry at the next tick", triggerRequests.size(), ex);
+        }
+        return false;
+    }
+
+    /**
+     * Create the trigger request of the fire, null if the workflow definition is offline and the fire is skipped.
+     */
+    private WorkflowScheduleTriggerRequest createTriggerRequest(Schedule schedule,
+                                                                WorkflowDefinition workflowDefinition,
+                                                                Date scheduledFireTime) {
+        if (workflowDefinition == null || workflowDefinition.getReleaseState() != ReleaseState.ONLINE) {
+            log.warn("The workflow definition: {} of schedule: {} does not exist or offline, skip the fire time: {}",
+                    schedule.getWorkflowDefinitionCode(), schedule.getId(), scheduledFireTime);
+            return null;
+        }
+        log.info("Fire schedule: {}, scheduled fire time: {}", schedule.getId(), scheduledFireTime);
+        return WorkflowScheduleTriggerRequest.builder()
+                .userId(schedule.getUserId())
+                .scheduleTIme(scheduledFireTime)
+                .timezoneId(schedule.getTimezoneId())
+                .workflowCode(workflowDefinition.getCode())
+                .workflowVersion(workflowDefinition.getVersion())
+                .failureStrategy(schedule.getFailureStrategy())
+                .taskDependType(TaskDependType.TASK_POST)
+                .warningType(schedule.getWarningType())
+                .warningGroupId(schedule.getWarningGroupId())
+                .workflowInstancePriority(schedule.getWorkflowInstancePriority())
+                .workerGroup(WorkerGroupUtils.getWorkerGroupOrDefault(schedule.getWorkerGroup()))
+                .tenantCode(schedule.getTenantCode())
+                .environmentCode(schedule.getEnvironmentCode())
+                .dryRun(Flag.NO)
+                .testFlag(Flag.NO)
+                .build();
+    }
+
+    private boolean isCurrentVersion(ScheduledFire scheduledFire) {
+        final SlotScheduleState state = scheduleStates.get(scheduledFire.getScheduleId());
+        return state != null && state.getVersion() == scheduledFire.getVersion();
+    }
+
+    private Map<Integer, Schedule> querySchedules(Collection<Integer> scheduleIds) {
+        if (CollectionUtils.isEmpty(scheduleIds)) {
+            return new HashMap<>();
+        }
+        return scheduleMapper.selectBatchIds(scheduleIds)
+                .stream()
+                .collect(Collectors.toMap(Schedule::getId, Function.identity()));
+    }
+
+    private Map<Integer, ScheduleCheckpoint> queryCheckpoints(Collection<Integer> scheduleIds) {
+        if (CollectionUtils.isEmpty(scheduleIds)) {
+            return new HashMap<>();
+        }
+        return scheduleCheckpointDao.queryByIds(scheduleIds)
+                .stream()
+                .collect(Collectors.toMap(ScheduleCheckpoint::getScheduleId, Function.identity()));
+    }
+
+    private Map<Long, WorkflowDefinition> queryWorkflowDefinitions(Collection<Schedule> schedules) {
+        if (CollectionUtils.isEmpty(schedules)) {
+            return new HashMap<>();
+        }
+        final Set<Long> workflowDefinitionCodes =
+                schedules.stream().map(Schedule::getWorkflowDefinitionCode).collect(Collectors.toSet());
+        return workflowDefinitionMapper.queryByCodes(workflowDefinitionCodes)
+                .stream()
+                .collect(Collectors.toMap(WorkflowDefinition::getCode, Function.identity()));
+    }
+
+    private void clear() {
+        scheduleStates.clear();
+        overdueFires.clear();
+        timingWheel = null;
+        loadedSlot = -1;
+        loadedTotalSlots = 0;
+    }
+
+    /**
+     * The fires which are triggered in one rpc, the skipped fires are kept in the batch only to advance the watermark.
+     */
+    @Getter
+    private static class FireBatch {
+
+        private final List<WorkflowScheduleTriggerRequest> triggerRequests = new ArrayList<>();
+
+        private final Map<Integer, Date> fireWatermarks = new LinkedHashMap<>();
+
+        private final Map<Integer, ScheduleCheckpoint> previousCheckpoints = new HashMap<>();
+
+        private final Map<Integer, Schedule> schedules = new HashMap<>();
+
+        void add(Schedule schedule, SlotScheduleState state, WorkflowScheduleTriggerRequest triggerRequest,
+                 Date fireTime) {
+            if (triggerRequest != null) {
+                triggerRequests.add(triggerRequest);
+            }
+            fireWatermarks.put(state.getScheduleId(), fireTime);
+            schedules.put(state.getScheduleId(), schedule);
+            previousCheckpoints.computeIfAbsent(state.getScheduleId(), scheduleId -> ScheduleCheckpoint.builder()
+                    .scheduleId(scheduleId)
+                    .registerTime(state.getRegisterTime())
+                    .fireWatermark(state.getFireWatermark())
+                    .build());
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (runningFlag.compareAndSet(true, false)) {
+            log.info("SlotScheduleLooper stopping...");
+            join(TimeUnit.SECONDS.toMillis(10));
+            log.info("SlotScheduleLooper stopped...");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.slot;
+
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+import org.apache.dolphinscheduler.dao.repository.ScheduleCheckpointDao;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerApi;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerException;
+import org.apache.dolphinscheduler.scheduler.slot.exception.SlotSchedulerExceptionEnum;
+
+import java.util.Date;
+
+import javax.annotation.Nullable;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The scheduler which fires the schedules by the slot of the master, without the database lock of the clustered
+ * quartz.
+ * <p> Registering a schedule only resets its {@link org.apache.dolphinscheduler.dao.entity.ScheduleCheckpoint}, the
+ * master which owns the slot of the schedule loads it at the next refresh. The server which doesn't own a slot, e.g.
+ * the api server, doesn't have a {@link SlotScheduleLooper} and only registers the schedules.
+ */
+@Slf4j
+public class SlotScheduler implements SchedulerApi {
+
+    private final ScheduleCheckpointDao scheduleCheckpointDao;
+
+    private final SlotScheduleLooper slotScheduleLooper;
+
+    public SlotScheduler(ScheduleCheckpointDao scheduleCheckpointDao,
+                         @Nullable SlotScheduleLooper slotScheduleLooper) {
+        this.scheduleCheckpointDao = scheduleCheckpointDao;
+        this.slotScheduleLooper = slotScheduleLooper;
+    }
+
+    @Override
+    public void start() throws SchedulerException {
+        if (slotScheduleLooper == null) {
+            log.info("The current server doesn't own a slot, the SlotScheduler will only register the schedules");
+            return;
+        }
+        try {
+            slotScheduleLooper.start();
+        } catch (Exception e) {
+            throw new SchedulerException(SlotSchedulerExceptionEnum.SLOT_SCHEDULER_START_ERROR, e);
+        }
+    }
+
+    @Override
+    public void insertOrUpdateScheduleTask(int projectId, Schedule schedule) throws SchedulerException {
+        try {
+            // The fire times before the register time are not fired, the same as the quartz trigger
+            scheduleCheckpointDao.register(schedule.getId(), new Date());
+            log.info("Success register schedule: {} to SlotScheduler", schedule.getId());
+        } catch (Exception e) {
+            log.error("Failed to register schedule, projectId: {}, schedule: {}", projectId, schedule, e);
+            throw new SchedulerException(SlotSchedulerExceptionEnum.SLOT_REGISTER_SCHEDULE_ERROR, e);
+        }
+    }
+
+    @Override
+    public void deleteScheduleTask(int projectId, int scheduleId) throws SchedulerException {
+        try {
+            scheduleCheckpointDao.deleteById(scheduleId);
+            log.info("Success unregister schedule: {} from SlotScheduler", scheduleId);
+        } catch (Exception e) {
+            log.error("Failed to unregister schedule, projectId: {}, scheduleId: {}", projectId, scheduleId, e);
+            throw new SchedulerException(SlotSchedulerExceptionEnum.SLOT_UNREGISTER_SCHEDULE_ERROR, e);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (slotScheduleLooper != null) {
+            slotScheduleLooper.close();
+        }
+    }
+}
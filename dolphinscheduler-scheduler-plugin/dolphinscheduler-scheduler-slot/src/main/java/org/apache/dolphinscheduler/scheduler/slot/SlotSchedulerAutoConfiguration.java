@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.slot;
+
+import org.apache.dolphinscheduler.dao.mapper.ScheduleMapper;
+import org.apache.dolphinscheduler.dao.mapper.WorkflowDefinitionMapper;
+import org.apache.dolphinscheduler.dao.repository.ScheduleCheckpointDao;
+import org.apache.dolphinscheduler.extract.master.IWorkflowControlClient;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerApi;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+@AutoConfiguration(beforeName = "org.apache.dolphinscheduler.scheduler.quartz.QuartzSchedulerAutoConfiguration")
+@ConditionalOnProperty(prefix = "scheduler", name = "type", havingValue = "slot")
+@EnableConfigurationProperties(SlotSchedulerProperties.class)
+public class SlotSchedulerAutoConfiguration {
+
+    @Bean
+    public SchedulerApi schedulerApi(SlotSchedulerProperties slotSchedulerProperties,
+                                     ScheduleMapper scheduleMapper,
+                                     ScheduleCheckpointDao scheduleCheckpointDao,
+                                     WorkflowDefinitionMapper workflowDefinitionMapper,
+                                     ObjectProvider<IScheduleSlotProvider> scheduleSlotProvider,
+                                     ObjectProvider<IWorkflowControlClient> workflowControlClient) {
+        final IScheduleSlotProvider slotProvider = scheduleSlotProvider.getIfAvailable();
+        final IWorkflowControlClient controlClient = workflowControlClient.getIfAvailable();
+        if (slotProvider == null || controlClient == null) {
+            return new SlotScheduler(scheduleCheckpointDao, null);
+        }
+        final SlotScheduleLooper slotScheduleLooper = new SlotScheduleLooper(
+                slotSchedulerProperties,
+                slotProvider,
+                scheduleMapper,
+                scheduleCheckpointDao,
+                workflowDefinitionMapper,
+                controlClient);
+        return new SlotScheduler(scheduleCheckpointDao, slotScheduleLooper);
+    }
+}
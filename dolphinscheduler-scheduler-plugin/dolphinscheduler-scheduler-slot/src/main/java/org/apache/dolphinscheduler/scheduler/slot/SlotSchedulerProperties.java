@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.slot;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "scheduler.slot")
+public class SlotSchedulerProperties {
+
+    /**
+     * The tick of the timing wheel, the schedule is fired at the first tick after its fire time.
+     */
+    private Duration tickDuration = Duration.ofSeconds(1);
+
+    /**
+     * The bucket number of each level of the timing wheel.
+     */
+    private int wheelSize = 60;
+
+    /**
+     * The interval to load the schedules registered online since last refresh.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(10);
+
+    /**
+     * The interval to reload all the schedules of the current slot.
+     */
+    private Duration fullRefreshInterval = Duration.ofMinutes(10);
+
+}
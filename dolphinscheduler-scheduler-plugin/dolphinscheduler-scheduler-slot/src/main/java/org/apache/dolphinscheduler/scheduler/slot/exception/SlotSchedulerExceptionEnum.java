@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.slot.exception;
+
+import org.apache.dolphinscheduler.scheduler.api.SchedulerExceptionEnum;
+
+public enum SlotSchedulerExceptionEnum implements SchedulerExceptionEnum {
+
+    SLOT_SCHEDULER_START_ERROR("SLOT-001", "Slot Scheduler start error"),
+    SLOT_REGISTER_SCHEDULE_ERROR("SLOT-002", "Register schedule to slot scheduler error"),
+    SLOT_UNREGISTER_SCHEDULE_ERROR("SLOT-003", "Unregister schedule from slot scheduler error"),
+    ;
+
+    private final String code;
+
+    private final String message;
+
+    SlotSchedulerExceptionEnum(String code, String message) {
+        this.code = code;
+        this.message = message;
+    }
+
+    @Override
+    public String getCode() {
+        return code;
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+}
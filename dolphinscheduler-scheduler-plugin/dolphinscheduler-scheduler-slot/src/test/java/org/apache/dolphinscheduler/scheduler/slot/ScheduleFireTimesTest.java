@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.slot;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+class ScheduleFireTimesTest {
+
+    @Test
+    void testNextFireTimeAfter() {
+        final ScheduleFireTimes fireTimes = ScheduleFireTimes.of(schedule("0 0 * * * ? *",
+                date("2024-01-01T00:00:00"), date("2024-01-02T00:00:00")));
+
+        assertThat(fireTimes.nextFireTimeAfter(date("2024-01-01T05:30:00")))
+                .isEqualTo(Optional.of(date("2024-01-01T06:00:00")));
+        assertThat(fireTimes.nextFireTimeAfter(date("2024-01-01T06:00:00")))
+                .isEqualTo(Optional.of(date("2024-01-01T07:00:00")));
+    }
+
+    @Test
+    void testNextFireTimeAfter_beforeStartTime() {
+        final ScheduleFireTimes fireTimes = ScheduleFireTimes.of(schedule("0 0 * * * ? *",
+                date("2024-01-01T00:00:00"), date("2024-01-02T00:00:00")));
+
+        assertThat(fireTimes.nextFireTimeAfter(date("2023-12-31T00:00:00")))
+                .isEqualTo(Optional.of(date("2024-01-01T00:00:00")));
+    }
+
+    @Test
+    void testNextFireTimeAfter_afterEndTime() {
+        final ScheduleFireTimes fireTimes = ScheduleFireTimes.of(schedule("0 0 * * * ? *",
+                date("2024-01-01T00:00:00"), date("2024-01-02T00:00:00")));
+
+        assertThat(fireTimes.nextFireTimeAfter(date("2024-01-01T23:30:00")))
+                .isEqualTo(Optional.of(date("2024-01-02T00:00:00")));
+        assertThat(fireTimes.nextFireTimeAfter(date("2024-01-02T00:00:00"))).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    void testOf_invalidCrontab() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ScheduleFireTimes.of(schedule("invalid", new Date(), new Date())));
+    }
+
+    private static Schedule schedule(String crontab, Date startTime, Date endTime) {
+        final Schedule schedule = new Schedule();
+        schedule.setCrontab(crontab);
+        schedule.setStartTime(startTime);
+        schedule.setEndTime(endTime);
+        schedule.setTimezoneId(ZoneId.systemDefault().getId());
+        return schedule;
+    }
+
+    private static Date date(String isoTime) {
+        return Date.from(LocalDateTime.parse(isoTime).atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
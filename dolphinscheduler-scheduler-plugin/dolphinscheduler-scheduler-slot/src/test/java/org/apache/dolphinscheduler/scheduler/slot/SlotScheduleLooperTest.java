@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.slot;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.common.enums.ReleaseState;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+import org.apache.dolphinscheduler.dao.entity.ScheduleCheckpoint;
+import org.apache.dolphinscheduler.dao.entity.WorkflowDefinition;
+import org.apache.dolphinscheduler.dao.mapper.ScheduleMapper;
+import org.apache.dolphinscheduler.dao.mapper.WorkflowDefinitionMapper;
+import org.apache.dolphinscheduler.dao.repository.ScheduleCheckpointDao;
+import org.apache.dolphinscheduler.extract.master.IWorkflowControlClient;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBatchScheduleTriggerRequest;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowBatchScheduleTriggerResponse;
+import org.apache.dolphinscheduler.extract.master.transportor.workflow.WorkflowScheduleTriggerRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SlotScheduleLooperTest {
+
+    @Mock
+    private IScheduleSlotProvider scheduleSlotProvider;
+
+    @Mock
+    private ScheduleMapper scheduleMapper;
+
+    @Mock
+    private ScheduleCheckpointDao scheduleCheckpointDao;
+
+    @Mock
+    private WorkflowDefinitionMapper workflowDefinitionMapper;
+
+    @Mock
+    private IWorkflowControlClient workflowControlClient;
+
+    private SlotScheduleLooper slotScheduleLooper;
+
+    private final Schedule schedule = Schedule.builder()
+            .id(1)
+            .workflowDefinitionCode(10L)
+            .crontab("0 0 * * * ? *")
+            .timezoneId(ZoneId.systemDefault().getId())
+            .startTime(date("2024-01-01T00:00:00"))
+            .endTime(date("2025-01-01T00:00:00"))
+            .releaseState(ReleaseState.ONLINE)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        slotScheduleLooper = new SlotScheduleLooper(
+                new SlotSchedulerProperties(),
+                scheduleSlotProvider,
+                scheduleMapper,
+                scheduleCheckpointDao,
+                workflowDefinitionMapper,
+                workflowControlClient);
+        when(scheduleSlotProvider.getCurrentSlot()).thenReturn(0);
+        when(scheduleSlotProvider.getTotalSlots()).thenReturn(1);
+        when(scheduleMapper.queryOnlineScheduleBySlot(0, 1)).thenReturn(Collections.singletonList(schedule));
+    }
+
+    @Test
+    void testLoop_fireMisfiresAfterWatermark() {
+        final ScheduleCheckpoint checkpoint = checkpoint(date("2024-01-01T10:00:00"));
+        when(scheduleCheckpointDao.queryByIds(anyCollection())).thenReturn(Collections.singletonList(checkpoint));
+        when(scheduleMapper.selectBatchIds(anyCollection())).thenReturn(Collections.singletonList(schedule));
+        when(workflowDefinitionMapper.queryByCodes(anyCollection()))
+                .thenReturn(Collections.singletonList(workflowDefinition()));
+        when(workflowControlClient.batchScheduleTriggerWorkflow(any()))
+                .thenReturn(WorkflowBatchScheduleTriggerResponse.success(Arrays.asList(1, 2)));
+
+        slotScheduleLooper.loop(date("2024-01-01T12:30:00").getTime());
+
+        final ArgumentCaptor<WorkflowBatchScheduleTriggerRequest> requestCaptor =
+                ArgumentCaptor.forClass(WorkflowBatchScheduleTriggerRequest.class);
+        verify(workflowControlClient).batchScheduleTriggerWorkflow(requestCaptor.capture());
+        assertThat(fireTimes(requestCaptor.getValue()))
+                .containsExactly(date("2024-01-01T11:00:00"), date("2024-01-01T12:00:00"))
+                .inOrder();
+
+        final ArgumentCaptor<List<ScheduleCheckpoint>> checkpointCaptor = ArgumentCaptor.forClass(List.class);
+        verify(scheduleCheckpointDao).batchAdvanceFireWatermark(checkpointCaptor.capture());
+        assertThat(checkpointCaptor.getValue()).hasSize(1);
+        assertThat(checkpointCaptor.getValue().get(0).getFireWatermark()).isEqualTo(date("2024-01-01T12:00:00"));
+    }
+
+    @Test
+    void testLoop_skipFiredByOtherMaster() {
+        when(scheduleCheckpointDao.queryByIds(anyCollection()))
+                .thenReturn(Collections.singletonList(checkpoint(date("2024-01-01T10:00:00"))))
+                .thenReturn(Collections.singletonList(checkpoint(date("2024-01-01T12:00:00"))));
+        when(scheduleMapper.selectBatchIds(anyCollection())).thenReturn(Collections.singletonList(schedule));
+        when(workflowDefinitionMapper.queryByCodes(anyCollection()))
+                .thenReturn(Collections.singletonList(workflowDefinition()));
+
+        slotScheduleLooper.loop(date("2024-01-01T12:30:00").getTime());
+
+        verify(workflowControlClient, never()).batchScheduleTriggerWorkflow(any());
+        verify(scheduleCheckpointDao, never()).batchAdvanceFireWatermark(anyList());
+    }
+
+    @Test
+    void testLoop_keepWatermarkAndRetryIfTriggerFailed() {
+        final ScheduleCheckpoint checkpoint = checkpoint(date("2024-01-01T10:00:00"));
+        when(scheduleCheckpointDao.queryByIds(anyCollection())).thenReturn(Collections.singletonList(checkpoint));
+        when(scheduleMapper.selectBatchIds(anyCollection())).thenReturn(Collections.singletonList(schedule));
+        when(workflowDefinitionMapper.queryByCodes(anyCollection()))
+                .thenReturn(Collections.singletonList(workflowDefinition()));
+        when(workflowControlClient.batchScheduleTriggerWorkflow(any()))
+                .thenReturn(WorkflowBatchScheduleTriggerResponse.fail("Master is overloaded"))
+                .thenReturn(WorkflowBatchScheduleTriggerResponse.success(Arrays.asList(1, 2)));
+
+        slotScheduleLooper.loop(date("2024-01-01T12:30:00").getTime());
+        verify(scheduleCheckpointDao, never()).batchAdvanceFireWatermark(anyList());
+
+        // The failed fires are retried at the next tick from the kept watermark
+        slotScheduleLooper.loop(date("2024-01-01T12:30:01").getTime());
+
+        final ArgumentCaptor<WorkflowBatchScheduleTriggerRequest> requestCaptor =
+                ArgumentCaptor.forClass(WorkflowBatchScheduleTriggerRequest.class);
+        verify(workflowControlClient, times(2)).batchScheduleTriggerWorkflow(requestCaptor.capture());
+        for (WorkflowBatchScheduleTriggerRequest request : requestCaptor.getAllValues()) {
+            assertThat(fireTimes(request))
+                    .containsExactly(date("2024-01-01T11:00:00"), date("2024-01-01T12:00:00"))
+                    .inOrder();
+        }
+        final ArgumentCaptor<List<ScheduleCheckpoint>> checkpointCaptor = ArgumentCaptor.forClass(List.class);
+        verify(scheduleCheckpointDao).batchAdvanceFireWatermark(checkpointCaptor.capture());
+        assertThat(checkpointCaptor.getValue().get(0).getFireWatermark()).isEqualTo(date("2024-01-01T12:00:00"));
+    }
+
+    @Test
+    void testLoop_advanceWatermarkOfSkippedFires() {
+        final ScheduleCheckpoint checkpoint = checkpoint(date("2024-01-01T10:00:00"));
+        when(scheduleCheckpointDao.queryByIds(anyCollection())).thenReturn(Collections.singletonList(checkpoint));
+        when(scheduleMapper.selectBatchIds(anyCollection())).thenReturn(Collections.singletonList(schedule));
+        final WorkflowDefinition offlineWorkflowDefinition = workflowDefinition();
+        offlineWorkflowDefinition.setReleaseState(ReleaseState.OFFLINE);
+        when(workflowDefinitionMapper.queryByCodes(anyCollection()))
+                .thenReturn(Collections.singletonList(offlineWorkflowDefinition));
+
+        slotScheduleLooper.loop(date("2024-01-01T12:30:00").getTime());
+
+        verify(workflowControlClient, never()).batchScheduleTriggerWorkflow(any());
+        final ArgumentCaptor<List<ScheduleCheckpoint>> checkpointCaptor = ArgumentCaptor.forClass(List.class);
+        verify(scheduleCheckpointDao).batchAdvanceFireWatermark(checkpointCaptor.capture());
+        assertThat(checkpointCaptor.getValue().get(0).getFireWatermark()).isEqualTo(date("2024-01-01T12:00:00"));
+    }
+
+    @Test
+    void testLoop_registerScheduleWithoutCheckpoint() {
+        when(scheduleCheckpointDao.queryByIds(anyCollection())).thenReturn(Collections.emptyList());
+
+        slotScheduleLooper.loop(date("2024-01-01T12:30:00").getTime());
+
+        verify(scheduleCheckpointDao).register(1, date("2024-01-01T12:30:00"));
+        verify(workflowControlClient, never()).batchScheduleTriggerWorkflow(any());
+        verify(scheduleCheckpointDao, never()).batchAdvanceFireWatermark(anyList());
+    }
+
+    private List<Date> fireTimes(WorkflowBatchScheduleTriggerRequest batchScheduleTriggerRequest) {
+        return batchScheduleTriggerRequest.getScheduleTriggerRequests()
+                .stream()
+                .map(WorkflowScheduleTriggerRequest::getScheduleTIme)
+                .collect(Collectors.toList());
+    }
+
+    private ScheduleCheckpoint checkpoint(Date fireWatermark) {
+        return ScheduleCheckpoint.builder()
+                .scheduleId(schedule.getId())
+                .fireWatermark(fireWatermark)
+                .registerTime(date("2024-01-01T09:59:00"))
+                .build();
+    }
+
+    private WorkflowDefinition workflowDefinition() {
+        final WorkflowDefinition workflowDefinition = new WorkflowDefinition();
+        workflowDefinition.setCode(schedule.getWorkflowDefinitionCode());
+        workflowDefinition.setVersion(1);
+        workflowDefinition.setReleaseState(ReleaseState.ONLINE);
+        return workflowDefinition;
+    }
+
+    private static Date date(String localDateTime) {
+        return Date.from(LocalDateTime.parse(localDateTime).atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -44,18 +44,47 @@ public abstract class AbstractTaskExecutorContainer implements ITaskExecutorCont
 
     protected final TaskExecutorWorkers taskExecutorWorkers;
 
+    private final int cpuQuotaCapacity;
+
+    private final int memoryMaxCapacity;
+
+    // The resources declared by the registered task executors, guarded by this
+    private int allocatedCpuQuota;
+
+    private int allocatedMemoryMax;
+
     public AbstractTaskExecutorContainer(final TaskExecutorContainerConfig containerConfig) {
-        final String threadPoolFormat = containerConfig.getContainerName() + "-worker-%d";
+        this(containerConfig, false);
+    }
+
+    /**
+     * @param workStealing whether the idle worker can steal the late task executors from the other workers
+     */
+    protected AbstractTaskExecutorContainer(final TaskExecutorContainerConfig containerConfig,
+                                            final boolean workStealing) {
+        final String containerName = containerConfig.getContainerName();
+        final String threadPoolFormat = containerName + "-worker-%d";
         final int threadPoolSize = containerConfig.getTaskExecutorThreadPoolSize();
         this.taskExecutorThreadPool = ThreadUtils.newDaemonFixedThreadExecutor(threadPoolFormat, threadPoolSize);
-        this.taskExecutorWorkers = new TaskExecutorWorkers(threadPoolSize);
+        this.taskExecutorWorkers = new TaskExecutorWorkers(containerName, threadPoolSize, workStealing);
         this.taskExecutorAssignmentTable = new TaskExecutorAssignmentTable();
+        this.cpuQuotaCapacity = containerConfig.getCpuQuotaCapacity();
+        this.memoryMaxCapacity = containerConfig.getMemoryMaxCapacity();
         startAllThreadTaskExecutorWorker();
     }
 
     @Override
     public void dispatch(final ITaskExecutor taskExecutor) {
         synchronized (this) {
+            final int cpuQuota = getDeclaredCpuQuota(taskExecutor);
+            final int memoryMax = getDeclaredMemoryMax(taskExecutor);
+            if (!isResourceEnough(cpuQuotaCapacity, allocatedCpuQuota, cpuQuota)
+                    || !isResourceEnough(memoryMaxCapacity, allocatedMemoryMax, memoryMax)) {
+                log.info(
+                        "The available resource is not enough for taskExecutor(id={}, cpuQuota={}, memoryMax={}), availableCpuQuota: {}, availableMemoryMax: {}",
+                        taskExecutor.getId(), cpuQuota, memoryMax, availableCpuQuota(), availableMemoryMax());
+                throw new TaskExecutorRuntimeException("The available cpu quota or memory is not enough");
+            }
             Optional<TaskExecutorWorker> taskExecutorWorkerCandidate = getTaskExecutorWorkerCandidate(taskExecutor);
             if (!taskExecutorWorkerCandidate.isPresent()) {
                 log.info("All ExclusiveThreadTaskExecutorWorker are busy, cannot submit taskExecutor(id={})",
@@ -65,6 +94,8 @@ public abstract class AbstractTaskExecutorContainer implements ITaskExecutorCont
             final TaskExecutorWorker taskExecutorWorker = taskExecutorWorkerCandidate.get();
             taskExecutorWorker.registerTaskExecutor(taskExecutor);
             taskExecutorAssignmentTable.registerTaskExecutor(taskExecutor, taskExecutorWorker);
+            allocatedCpuQuota += cpuQuota;
+            allocatedMemoryMax += memoryMax;
         }
     }
 
@@ -91,10 +122,14 @@ public abstract class AbstractTaskExecutorContainer implements ITaskExecutorCont
 
     @Override
     public void finalize(final ITaskExecutor taskExecutor) {
-        if (taskExecutorAssignmentTable.isTaskExecutorRegistered(taskExecutor)) {
-            final Integer taskExecutorWorkerId = taskExecutorAssignmentTable.getTaskExecutorWorkerId(taskExecutor);
-            taskExecutorWorkers.getWorkerById(taskExecutorWorkerId).unRegisterTaskExecutor(taskExecutor);
-            taskExecutorAssignmentTable.unregisterTaskExecutor(taskExecutor);
+        synchronized (this) {
+            if (taskExecutorAssignmentTable.isTaskExecutorRegistered(taskExecutor)) {
+                final Integer taskExecutorWorkerId = taskExecutorAssignmentTable.getTaskExecutorWorkerId(taskExecutor);
+                taskExecutorWorkers.getWorkerById(taskExecutorWorkerId).unRegisterTaskExecutor(taskExecutor);
+                taskExecutorAssignmentTable.unregisterTaskExecutor(taskExecutor);
+                allocatedCpuQuota -= getDeclaredCpuQuota(taskExecutor);
+                allocatedMemoryMax -= getDeclaredMemoryMax(taskExecutor);
+            }
         }
         log.info(FINALIZE_SESSION_MARKER, FINALIZE_SESSION_MARKER.toString());
         pushTaskExecutorLogToRemote(taskExecutor);
@@ -110,6 +145,16 @@ public abstract class AbstractTaskExecutorContainer implements ITaskExecutorCont
         return activeWorkerCount / (double) allWorkers.size();
     }
 
+    @Override
+    public synchronized int availableCpuQuota() {
+        return getAvailableResource(cpuQuotaCapacity, allocatedCpuQuota);
+    }
+
+    @Override
+    public synchronized int availableMemoryMax() {
+        return getAvailableResource(memoryMaxCapacity, allocatedMemoryMax);
+    }
+
     @VisibleForTesting
     public TaskExecutorAssignmentTable getTaskExecutorAssignmentTable() {
         return taskExecutorAssignmentTable;
@@ -132,6 +177,28 @@ public abstract class AbstractTaskExecutorContainer implements ITaskExecutorCont
      */
     protected abstract Optional<TaskExecutorWorker> getTaskExecutorWorkerCandidate(final ITaskExecutor taskExecutor);
 
+    private int getDeclaredCpuQuota(final ITaskExecutor taskExecutor) {
+        final Integer cpuQuota = taskExecutor.getTaskExecutionContext().getCpuQuota();
+        return cpuQuota == null || cpuQuota <= 0 ? 0 : cpuQuota;
+    }
+
+    private int getDeclaredMemoryMax(final ITaskExecutor taskExecutor) {
+        final Integer memoryMax = taskExecutor.getTaskExecutionContext().getMemoryMax();
+        return memoryMax == null || memoryMax <= 0 ? 0 : memoryMax;
+    }
+
+    private boolean isResourceEnough(final int capacity, final int allocated, final int required) {
+        if (capacity < 0 || required == 0) {
+            return true;
+        }
+        // The task requiring more than the capacity is admitted when nothing is allocated, otherwise it never runs
+        return allocated + required <= capacity || allocated == 0;
+    }
+
+    private int getAvailableResource(final int capacity, final int allocated) {
+        return capacity < 0 ? -1 : Math.max(0, capacity - allocated);
+    }
+
     private void pushTaskExecutorLogToRemote(final ITaskExecutor taskExecutor) {
         // todo: move this to customer listener, e.g. RemoteLogApaptor
         final TaskExecutionContext taskExecutionContext = taskExecutor.getTaskExecutionContext();
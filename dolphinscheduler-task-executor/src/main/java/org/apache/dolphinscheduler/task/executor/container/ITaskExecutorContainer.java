@@ -57,4 +57,14 @@ public interface ITaskExecutorContainer {
      */
     double slotUsage();
 
+    /**
+     * Get the cpu quota which can be allocated to the new task executors, -1 means not limited.
+     */
+    int availableCpuQuota();
+
+    /**
+     * Get the memory(MB) which can be allocated to the new task executors, -1 means not limited.
+     */
+    int availableMemoryMax();
+
 }
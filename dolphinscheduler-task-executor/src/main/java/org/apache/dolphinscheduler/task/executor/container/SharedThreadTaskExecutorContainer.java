@@ -26,12 +26,14 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * The container to execute a {@link ITaskExecutor} with shared thread mode.
+ * <p> The task executors are assigned to the workers by round-robin, the idle worker will steal the late task executors
+ * from the worker which is blocked by a long-blocking task executor.
  */
 @Slf4j
 public class SharedThreadTaskExecutorContainer extends AbstractTaskExecutorContainer {
 
     public SharedThreadTaskExecutorContainer(final TaskExecutorContainerConfig taskExecutorContainerConfig) {
-        super(taskExecutorContainerConfig);
+        super(taskExecutorContainerConfig, true);
     }
 
     @Override
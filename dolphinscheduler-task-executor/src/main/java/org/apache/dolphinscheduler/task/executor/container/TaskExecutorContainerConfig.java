@@ -33,4 +33,16 @@ public class TaskExecutorContainerConfig {
     @Builder.Default
     private int taskExecutorThreadPoolSize = Runtime.getRuntime().availableProcessors() * 2 + 1;
 
+    /**
+     * The cpu quota(percentage of a core) which can be allocated to the tasks declaring cpu quota, -1 means not limited.
+     */
+    @Builder.Default
+    private int cpuQuotaCapacity = -1;
+
+    /**
+     * The memory(MB) which can be allocated to the tasks declaring max memory, -1 means not limited.
+     */
+    @Builder.Default
+    private int memoryMaxCapacity = -1;
+
 }
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.task.executor.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import lombok.experimental.UtilityClass;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+@UtilityClass
+public class TaskExecutorMetrics {
+
+    /**
+     * The max count of the lateness timers, the task types beyond it share the timer of {@link #OTHER_TASK_TYPE}, so
+     * the task types of the plugins cannot blow up the registry.
+     */
+    @VisibleForTesting
+    final int MAX_TRACK_LATENESS_TIMERS = 64;
+
+    @VisibleForTesting
+    final String OTHER_TASK_TYPE = "OTHER";
+
+    // The meters are registered once per tag, then the track only costs a hash lookup
+    private final Map<String, Timer> taskExecutorTrackLatenessTimers = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> taskExecutorStolenCounters = new ConcurrentHashMap<>();
+
+    /**
+     * Record how late the task executor is tracked after its next track deadline.
+     */
+    public void recordTrackLateness(final String containerName, final String taskType, final long milliseconds) {
+        getTrackLatenessTimer(String.valueOf(containerName), String.valueOf(taskType))
+                .record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public void incTaskExecutorStolen(final String containerName) {
+        taskExecutorStolenCounters.computeIfAbsent(String.valueOf(containerName),
+                container -> Counter.builder("ds.task.executor.stolen.count")
+                        .tag("container", container)
+                        .description("The count of the task executors stolen by the idle workers")
+                        .register(Metrics.globalRegistry))
+                .increment();
+    }
+
+    @VisibleForTesting
+    Timer getTrackLatenessTimer(final String containerName, final String taskType) {
+        final Timer timer = taskExecutorTrackLatenessTimers.get(containerName + "/" + taskType);
+        if (timer != null) {
+            return timer;
+        }
+        final String boundedTaskType =
+                taskExecutorTrackLatenessTimers.size() < MAX_TRACK_LATENESS_TIMERS ? taskType : OTHER_TASK_TYPE;
+        return taskExecutorTrackLatenessTimers.computeIfAbsent(containerName + "/" + boundedTaskType,
+                key -> Timer.builder("ds.task.executor.track.lateness")
+                        .tags("container", containerName, "task.type", boundedTaskType)
+                        .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                        .description("The lateness of tracking the task executor after its next track deadline")
+                        .register(Metrics.globalRegistry));
+    }
+
+}
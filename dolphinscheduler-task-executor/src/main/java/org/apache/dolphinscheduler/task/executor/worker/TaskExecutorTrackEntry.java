@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.task.executor.worker;
+
+import org.apache.dolphinscheduler.task.executor.ITaskExecutor;
+
+import lombok.Getter;
+
+/**
+ * The entry in the timer heap of the {@link TaskExecutorWorker}, the task executor will be tracked at the deadline.
+ */
+@Getter
+class TaskExecutorTrackEntry implements Comparable<TaskExecutorTrackEntry> {
+
+    private final ITaskExecutor taskExecutor;
+
+    private final long deadline;
+
+    TaskExecutorTrackEntry(final ITaskExecutor taskExecutor, final long deadline) {
+        this.taskExecutor = taskExecutor;
+        this.deadline = deadline;
+    }
+
+    long getLateness(final long now) {
+        return now - deadline;
+    }
+
+    @Override
+    public int compareTo(final TaskExecutorTrackEntry o) {
+        return Long.compare(deadline, o.deadline);
+    }
+}
@@ -20,8 +20,11 @@ package org.apache.dolphinscheduler.task.executor.worker;
 import org.apache.dolphinscheduler.task.executor.ITaskExecutor;
 import org.apache.dolphinscheduler.task.executor.log.TaskExecutorMDCUtils;
 import org.apache.dolphinscheduler.task.executor.log.TaskExecutorMDCUtils.MDCAutoClosable;
+import org.apache.dolphinscheduler.task.executor.metrics.TaskExecutorMetrics;
 
 import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
@@ -31,22 +34,47 @@ import java.util.concurrent.locks.ReentrantLock;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * The worker tracks its active task executors in the order of their next track deadline, which are kept in a timer
+ * heap.
+ * <p> If work stealing is enabled, the worker which has no due task executor will steal the late task executor from
+ * the other worker, e.g. the worker is blocked by tracking a long-blocking task executor.
+ */
 @Slf4j
 public class TaskExecutorWorker extends AbstractTaskExecutorWorker {
 
+    // The min delay between two tracks of a task executor, avoid busy tracking
+    private static final long MIN_TRACK_DELAY = 100;
+
+    // The max wait time before the worker looks for the late task executors of the other workers
+    private static final long STEAL_CHECK_INTERVAL = 100;
+
+    // Only the task executor which is late more than this can be stolen, otherwise its owner will track it soon
+    static final long STEAL_LATENESS_THRESHOLD = 100;
+
     private final Map<Integer, ITaskExecutor> registeredTaskExecutors = new ConcurrentHashMap<>();
 
     private final Map<Integer, ITaskExecutor> activeTaskExecutors = new ConcurrentHashMap<>();
 
+    // The next track deadline of the active task executors which are not being tracked
+    private final PriorityQueue<TaskExecutorTrackEntry> trackQueue = new PriorityQueue<>();
+
     private final Lock activeTaskExecutorsChangeLock = new ReentrantLock();
 
-    private final Condition activeTaskExecutorEmptyCondition = activeTaskExecutorsChangeLock.newCondition();
+    private final Condition trackQueueChangeCondition = activeTaskExecutorsChangeLock.newCondition();
 
     @Getter
     private final int workerId;
 
-    public TaskExecutorWorker(int workerId) {
+    private final String containerName;
+
+    // The workers to steal from, null if work stealing is disabled
+    private final TaskExecutorWorkers stealableWorkers;
+
+    public TaskExecutorWorker(int workerId, String containerName, TaskExecutorWorkers stealableWorkers) {
         this.workerId = workerId;
+        this.containerName = containerName;
+        this.stealableWorkers = stealableWorkers;
     }
 
     @Override
@@ -57,40 +85,116 @@ public class TaskExecutorWorker extends AbstractTaskExecutorWorker {
     @Override
     public void start() {
         while (true) {
-            long minNextTrackDelay = 100;
-            for (final ITaskExecutor taskExecutor : activeTaskExecutors.values()) {
-                try (final MDCAutoClosable closable = TaskExecutorMDCUtils.logWithMDC(taskExecutor)) {
-                    try {
-                        if (!taskExecutor.isStarted()) {
-                            taskExecutor.start();
-                        }
-
-                        final long remainingTrackDelay = taskExecutor.getRemainingTrackDelay();
-                        if (remainingTrackDelay > 0) {
-                            minNextTrackDelay = Math.min(minNextTrackDelay, remainingTrackDelay);
-                        } else {
-                            trackTaskExecutorState(taskExecutor);
-                        }
-                    } catch (Throwable e) {
-                        log.error("{} execute failed", taskExecutor, e);
-                        onTaskExecutorFailed(taskExecutor);
-                    }
-                }
+            final TaskExecutorTrackEntry trackEntry;
+            try {
+                trackEntry = takeDueTrackEntry();
+            } catch (InterruptedException e) {
+                log.info("TaskExecutorWorker(id={}) is interrupted", workerId, e);
+                break;
             }
+            trackTaskExecutor(trackEntry);
+        }
+    }
 
+    private TaskExecutorTrackEntry takeDueTrackEntry() throws InterruptedException {
+        boolean stealAttempted = false;
+        while (true) {
             activeTaskExecutorsChangeLock.lock();
             try {
-                if (activeTaskExecutors.isEmpty()) {
-                    activeTaskExecutorEmptyCondition.await();
-                } else {
-                    activeTaskExecutorEmptyCondition.await(minNextTrackDelay, TimeUnit.MILLISECONDS);
+                final TaskExecutorTrackEntry head = trackQueue.peek();
+                final long now = System.currentTimeMillis();
+                if (head != null && head.getDeadline() <= now) {
+                    return trackQueue.poll();
+                }
+                if (stealableWorkers == null || stealAttempted) {
+                    final long waitTime = head == null ? Long.MAX_VALUE : head.getDeadline() - now;
+                    if (stealableWorkers != null) {
+                        trackQueueChangeCondition.await(Math.min(waitTime, STEAL_CHECK_INTERVAL),
+                                TimeUnit.MILLISECONDS);
+                    } else if (head == null) {
+                        trackQueueChangeCondition.await();
+                    } else {
+                        trackQueueChangeCondition.await(waitTime, TimeUnit.MILLISECONDS);
+                    }
+                    stealAttempted = false;
+                    continue;
                 }
-            } catch (InterruptedException e) {
-                log.info("TaskExecutorWorker(id={}) is interrupted", workerId, e);
-                break;
             } finally {
                 activeTaskExecutorsChangeLock.unlock();
             }
+            // Steal without holding the lock of this worker, so that the workers never wait for each other
+            stealAttempted = true;
+            final Optional<TaskExecutorTrackEntry> stolenTrackEntry = stealableWorkers.stealLateTrackEntry(this);
+            if (stolenTrackEntry.isPresent()) {
+                final ITaskExecutor taskExecutor = stolenTrackEntry.get().getTaskExecutor();
+                activeTaskExecutors.put(taskExecutor.getId(), taskExecutor);
+                TaskExecutorMetrics.incTaskExecutorStolen(containerName);
+                log.debug("TaskExecutorWorker(id={}) stole taskExecutor(id={})", workerId, taskExecutor.getId());
+                return stolenTrackEntry.get();
+            }
+        }
+    }
+
+    private void trackTaskExecutor(final TaskExecutorTrackEntry trackEntry) {
+        final ITaskExecutor taskExecutor = trackEntry.getTaskExecutor();
+        TaskExecutorMetrics.recordTrackLateness(
+                containerName,
+                taskExecutor.getTaskType(),
+                Math.max(0, trackEntry.getLateness(System.currentTimeMillis())));
+        try (final MDCAutoClosable closable = TaskExecutorMDCUtils.logWithMDC(taskExecutor)) {
+            try {
+                if (!taskExecutor.isStarted()) {
+                    taskExecutor.start();
+                }
+                if (taskExecutor.getRemainingTrackDelay() <= 0) {
+                    trackTaskExecutorState(taskExecutor);
+                }
+            } catch (Throwable e) {
+                log.error("{} execute failed", taskExecutor, e);
+                onTaskExecutorFailed(taskExecutor);
+            }
+        }
+        activeTaskExecutorsChangeLock.lock();
+        try {
+            // The task executor has been unfired if it is finished
+            if (activeTaskExecutors.containsKey(taskExecutor.getId())) {
+                final long nextTrackDelay = Math.max(taskExecutor.getRemainingTrackDelay(), MIN_TRACK_DELAY);
+                trackQueue.add(new TaskExecutorTrackEntry(taskExecutor, System.currentTimeMillis() + nextTrackDelay));
+            }
+        } finally {
+            activeTaskExecutorsChangeLock.unlock();
+        }
+    }
+
+    /**
+     * Steal the head of the timer heap if it is late more than {@link #STEAL_LATENESS_THRESHOLD}, the stolen task
+     * executor is no longer active in this worker.
+     */
+    Optional<TaskExecutorTrackEntry> stealLateTrackEntry() {
+        activeTaskExecutorsChangeLock.lock();
+        try {
+            final TaskExecutorTrackEntry head = trackQueue.peek();
+            if (head == null || head.getLateness(System.currentTimeMillis()) < STEAL_LATENESS_THRESHOLD) {
+                return Optional.empty();
+            }
+            trackQueue.poll();
+            activeTaskExecutors.remove(head.getTaskExecutor().getId());
+            return Optional.of(head);
+        } finally {
+            activeTaskExecutorsChangeLock.unlock();
+        }
+    }
+
+    /**
+     * Get the lateness of the head of the timer heap, 0 if there is no late task executor.
+     */
+    long getMaxTrackLateness() {
+        activeTaskExecutorsChangeLock.lock();
+        try {
+            final TaskExecutorTrackEntry head = trackQueue.peek();
+            return head == null ? 0 : Math.max(0, head.getLateness(System.currentTimeMillis()));
+        } finally {
+            activeTaskExecutorsChangeLock.unlock();
         }
     }
 
@@ -128,7 +232,8 @@ public class TaskExecutorWorker extends AbstractTaskExecutorWorker {
                         "The TaskExecutorWorker has already fired " + taskExecutor);
             }
             activeTaskExecutors.put(taskExecutorId, taskExecutor);
-            activeTaskExecutorEmptyCondition.signalAll();
+            trackQueue.add(new TaskExecutorTrackEntry(taskExecutor, System.currentTimeMillis()));
+            trackQueueChangeCondition.signalAll();
         } finally {
             activeTaskExecutorsChangeLock.unlock();
         }
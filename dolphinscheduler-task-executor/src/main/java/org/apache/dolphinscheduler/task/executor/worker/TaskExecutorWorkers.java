@@ -29,10 +29,13 @@ public class TaskExecutorWorkers {
 
     private final LongAdder longAdder = new LongAdder();
 
-    public TaskExecutorWorkers(final int workerSize) {
+    /**
+     * @param workStealing whether the idle worker can steal the late task executors from the other workers
+     */
+    public TaskExecutorWorkers(final String containerName, final int workerSize, final boolean workStealing) {
         this.taskExecutorWorkers = IntStream
                 .range(0, workerSize)
-                .mapToObj(TaskExecutorWorker::new)
+                .mapToObj(workerId -> new TaskExecutorWorker(workerId, containerName, workStealing ? this : null))
                 .collect(Collectors.toList());
     }
 
@@ -58,4 +61,26 @@ public class TaskExecutorWorkers {
         }
         return Optional.empty();
     }
+
+    /**
+     * Steal the most late task executor from the workers except the thief.
+     */
+    Optional<TaskExecutorTrackEntry> stealLateTrackEntry(final TaskExecutorWorker thief) {
+        TaskExecutorWorker victim = null;
+        long maxTrackLateness = TaskExecutorWorker.STEAL_LATENESS_THRESHOLD - 1;
+        for (TaskExecutorWorker taskExecutorWorker : taskExecutorWorkers) {
+            if (taskExecutorWorker == thief) {
+                continue;
+            }
+            final long trackLateness = taskExecutorWorker.getMaxTrackLateness();
+            if (trackLateness > maxTrackLateness) {
+                victim = taskExecutorWorker;
+                maxTrackLateness = trackLateness;
+            }
+        }
+        if (victim == null) {
+            return Optional.empty();
+        }
+        return victim.stealLateTrackEntry();
+    }
 }
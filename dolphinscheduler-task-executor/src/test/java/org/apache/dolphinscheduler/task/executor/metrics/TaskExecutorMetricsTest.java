@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.task.executor.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Timer;
+
+class TaskExecutorMetricsTest {
+
+    @Test
+    void getTrackLatenessTimer_shouldRegisterOncePerTag() {
+        final Timer shellTimer = TaskExecutorMetrics.getTrackLatenessTimer("test", "SHELL");
+
+        Assertions.assertSame(shellTimer, TaskExecutorMetrics.getTrackLatenessTimer("test", "SHELL"));
+        Assertions.assertNotSame(shellTimer, TaskExecutorMetrics.getTrackLatenessTimer("other", "SHELL"));
+        Assertions.assertEquals("SHELL", shellTimer.getId().getTag("task.type"));
+        Assertions.assertEquals("test", shellTimer.getId().getTag("container"));
+    }
+
+    @Test
+    void getTrackLatenessTimer_shouldShareTheTimerOfOtherTaskTypeBeyondTheBound() {
+        for (int i = 0; i < TaskExecutorMetrics.MAX_TRACK_LATENESS_TIMERS; i++) {
+            TaskExecutorMetrics.getTrackLatenessTimer("bounded", "TASK_TYPE_" + i);
+        }
+        final Timer timer = TaskExecutorMetrics.getTrackLatenessTimer("bounded", "NEW_TASK_TYPE");
+
+        Assertions.assertEquals(TaskExecutorMetrics.OTHER_TASK_TYPE, timer.getId().getTag("task.type"));
+        Assertions.assertSame(timer, TaskExecutorMetrics.getTrackLatenessTimer("bounded", "ANOTHER_TASK_TYPE"));
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.task.executor.worker;
+
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.task.executor.ITaskExecutor;
+import org.apache.dolphinscheduler.task.executor.TaskExecutorState;
+import org.apache.dolphinscheduler.task.executor.eventbus.TaskExecutorEventBus;
+import org.apache.dolphinscheduler.task.executor.events.TaskExecutorFinalizeLifecycleEvent;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TaskExecutorWorkerTest {
+
+    private ExecutorService workerThreadPool;
+
+    @BeforeEach
+    void setUp() {
+        workerThreadPool = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        workerThreadPool.shutdownNow();
+    }
+
+    @Test
+    void trackTaskExecutor_shouldTrackByTheNextTrackDeadline() {
+        final TaskExecutorWorker taskExecutorWorker = new TaskExecutorWorker(0, "test", null);
+        final AtomicInteger slowTrackCount = new AtomicInteger();
+        final AtomicInteger fastTrackCount = new AtomicInteger();
+        final ITaskExecutor slowTaskExecutor = mockRunningTaskExecutor(1, 60_000, slowTrackCount);
+        final ITaskExecutor fastTaskExecutor = mockRunningTaskExecutor(2, 0, fastTrackCount);
+        fireTaskExecutor(taskExecutorWorker, slowTaskExecutor);
+        fireTaskExecutor(taskExecutorWorker, fastTaskExecutor);
+
+        workerThreadPool.submit(taskExecutorWorker::start);
+
+        // The fast one is tracked every MIN_TRACK_DELAY, the slow one is not due again before its deadline
+        await().atMost(Duration.ofSeconds(10)).until(() -> fastTrackCount.get() >= 5);
+        Assertions.assertEquals(1, slowTrackCount.get());
+        Assertions.assertEquals(2, taskExecutorWorker.getFiredTaskExecutorSize());
+    }
+
+    @Test
+    void stealLateTrackEntry_notLateEnough_shouldReturnEmpty() {
+        final TaskExecutorWorker taskExecutorWorker = new TaskExecutorWorker(0, "test", null);
+        fireTaskExecutor(taskExecutorWorker, mockTaskExecutor(1));
+
+        Assertions.assertFalse(taskExecutorWorker.stealLateTrackEntry().isPresent());
+        Assertions.assertEquals(1, taskExecutorWorker.getFiredTaskExecutorSize());
+    }
+
+    @Test
+    void stealLateTrackEntry_shouldStealTheEarliestDeadlineFirst() throws InterruptedException {
+        final TaskExecutorWorker taskExecutorWorker = new TaskExecutorWorker(0, "test", null);
+        final ITaskExecutor taskExecutor1 = mockTaskExecutor(1);
+        final ITaskExecutor taskExecutor2 = mockTaskExecutor(2);
+        fireTaskExecutor(taskExecutorWorker, taskExecutor1);
+        Thread.sleep(10);
+        fireTaskExecutor(taskExecutorWorker, taskExecutor2);
+        Thread.sleep(TaskExecutorWorker.STEAL_LATENESS_THRESHOLD + 10);
+
+        Assertions.assertTrue(taskExecutorWorker.getMaxTrackLateness() >= TaskExecutorWorker.STEAL_LATENESS_THRESHOLD);
+        final Optional<TaskExecutorTrackEntry> firstStolen = taskExecutorWorker.stealLateTrackEntry();
+        final Optional<TaskExecutorTrackEntry> secondStolen = taskExecutorWorker.stealLateTrackEntry();
+
+        Assertions.assertSame(taskExecutor1, firstStolen.get().getTaskExecutor());
+        Assertions.assertSame(taskExecutor2, secondStolen.get().getTaskExecutor());
+        Assertions.assertFalse(taskExecutorWorker.stealLateTrackEntry().isPresent());
+        Assertions.assertEquals(0, taskExecutorWorker.getFiredTaskExecutorSize());
+        Assertions.assertEquals(0, taskExecutorWorker.getMaxTrackLateness());
+        // The registration stays with the worker which the task executor is assigned to
+        Assertions.assertEquals(2, taskExecutorWorker.getRegisteredTaskExecutorSize());
+    }
+
+    @Test
+    void stealLateTrackEntry_stolenTaskExecutorFinished_shouldBeFinalizedByTheAssignedWorker() throws Exception {
+        final TaskExecutorWorkers taskExecutorWorkers = new TaskExecutorWorkers("test", 2, true);
+        final TaskExecutorWorker victim = taskExecutorWorkers.getWorkerById(0);
+        final TaskExecutorWorker thief = taskExecutorWorkers.getWorkerById(1);
+        final ITaskExecutor taskExecutor = mockTaskExecutor(1);
+        when(taskExecutor.trackTaskExecutorState()).thenReturn(TaskExecutorState.SUCCEEDED);
+        final TaskExecutorEventBus taskExecutorEventBus = taskExecutor.getTaskExecutorEventBus();
+        final AtomicInteger finalizeEventCount = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0) instanceof TaskExecutorFinalizeLifecycleEvent) {
+                finalizeEventCount.incrementAndGet();
+            }
+            return null;
+        }).when(taskExecutorEventBus).publish(any());
+        fireTaskExecutor(victim, taskExecutor);
+        Thread.sleep(TaskExecutorWorker.STEAL_LATENESS_THRESHOLD + 10);
+
+        // Only the thief is running, the victim is blocked
+        workerThreadPool.submit(thief::start);
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> finalizeEventCount.get() == 1);
+        verify(taskExecutor).start();
+        Assertions.assertEquals(0, victim.getFiredTaskExecutorSize());
+        Assertions.assertEquals(0, thief.getFiredTaskExecutorSize());
+        Assertions.assertEquals(0, thief.getRegisteredTaskExecutorSize());
+
+        victim.unRegisterTaskExecutor(taskExecutor);
+        Assertions.assertEquals(0, victim.getRegisteredTaskExecutorSize());
+        verify(taskExecutor, atMost(1)).trackTaskExecutorState();
+    }
+
+    private void fireTaskExecutor(final TaskExecutorWorker taskExecutorWorker, final ITaskExecutor taskExecutor) {
+        taskExecutorWorker.registerTaskExecutor(taskExecutor);
+        taskExecutorWorker.fireTaskExecutor(taskExecutor);
+    }
+
+    private ITaskExecutor mockRunningTaskExecutor(final int id,
+                                                  final long trackDelay,
+                                                  final AtomicInteger trackCount) {
+        final ITaskExecutor taskExecutor = mockTaskExecutor(id);
+        when(taskExecutor.isStarted()).thenReturn(true);
+        when(taskExecutor.getRemainingTrackDelay()).thenReturn(0L, trackDelay);
+        when(taskExecutor.trackTaskExecutorState()).thenAnswer(invocation -> {
+            trackCount.incrementAndGet();
+            return TaskExecutorState.RUNNING;
+        });
+        return taskExecutor;
+    }
+
+    private ITaskExecutor mockTaskExecutor(final int id) {
+        final TaskExecutionContext taskExecutionContext = TaskExecutionContext.builder()
+                .taskInstanceId(id)
+                .taskName("task-" + id)
+                .taskType("SHELL")
+                .build();
+        final ITaskExecutor taskExecutor = mock(ITaskExecutor.class);
+        when(taskExecutor.getId()).thenReturn(id);
+        when(taskExecutor.getTaskType()).thenReturn("SHELL");
+        when(taskExecutor.getTaskExecutionContext()).thenReturn(taskExecutionContext);
+        when(taskExecutor.getTaskExecutorEventBus()).thenReturn(mock(TaskExecutorEventBus.class));
+        return taskExecutor;
+    }
+
+}
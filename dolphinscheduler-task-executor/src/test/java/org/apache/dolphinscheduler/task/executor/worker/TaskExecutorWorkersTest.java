@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.task.executor.worker;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.task.executor.ITaskExecutor;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TaskExecutorWorkersTest {
+
+    @Test
+    void stealLateTrackEntry_shouldStealFromTheMostLateWorker() throws InterruptedException {
+        final TaskExecutorWorkers taskExecutorWorkers = new TaskExecutorWorkers("test", 3, true);
+        final ITaskExecutor mostLateTaskExecutor = mockTaskExecutor(1);
+        final ITaskExecutor lateTaskExecutor = mockTaskExecutor(2);
+        fireTaskExecutor(taskExecutorWorkers.getWorkerById(1), mostLateTaskExecutor);
+        Thread.sleep(10);
+        fireTaskExecutor(taskExecutorWorkers.getWorkerById(2), lateTaskExecutor);
+        Thread.sleep(TaskExecutorWorker.STEAL_LATENESS_THRESHOLD + 10);
+
+        final Optional<TaskExecutorTrackEntry> stolenTrackEntry =
+                taskExecutorWorkers.stealLateTrackEntry(taskExecutorWorkers.getWorkerById(0));
+
+        Assertions.assertSame(mostLateTaskExecutor, stolenTrackEntry.get().getTaskExecutor());
+        Assertions.assertEquals(0, taskExecutorWorkers.getWorkerById(1).getFiredTaskExecutorSize());
+        Assertions.assertEquals(1, taskExecutorWorkers.getWorkerById(2).getFiredTaskExecutorSize());
+    }
+
+    @Test
+    void stealLateTrackEntry_shouldNotStealFromTheThief() throws InterruptedException {
+        final TaskExecutorWorkers taskExecutorWorkers = new TaskExecutorWorkers("test", 2, true);
+        final TaskExecutorWorker thief = taskExecutorWorkers.getWorkerById(0);
+        fireTaskExecutor(thief, mockTaskExecutor(1));
+        Thread.sleep(TaskExecutorWorker.STEAL_LATENESS_THRESHOLD + 10);
+
+        Assertions.assertFalse(taskExecutorWorkers.stealLateTrackEntry(thief).isPresent());
+        Assertions.assertEquals(1, thief.getFiredTaskExecutorSize());
+    }
+
+    @Test
+    void stealLateTrackEntry_belowStealLatenessThreshold_shouldReturnEmpty() {
+        final TaskExecutorWorkers taskExecutorWorkers = new TaskExecutorWorkers("test", 2, true);
+        fireTaskExecutor(taskExecutorWorkers.getWorkerById(1), mockTaskExecutor(1));
+
+        Assertions.assertFalse(
+                taskExecutorWorkers.stealLateTrackEntry(taskExecutorWorkers.getWorkerById(0)).isPresent());
+        Assertions.assertEquals(1, taskExecutorWorkers.getWorkerById(1).getFiredTaskExecutorSize());
+    }
+
+    private void fireTaskExecutor(final TaskExecutorWorker taskExecutorWorker, final ITaskExecutor taskExecutor) {
+        taskExecutorWorker.registerTaskExecutor(taskExecutor);
+        taskExecutorWorker.fireTaskExecutor(taskExecutor);
+    }
+
+    private ITaskExecutor mockTaskExecutor(final int id) {
+        final ITaskExecutor taskExecutor = mock(ITaskExecutor.class);
+        when(taskExecutor.getId()).thenReturn(id);
+        when(taskExecutor.getTaskExecutionContext())
+                .thenReturn(TaskExecutionContext.builder().taskInstanceId(id).build());
+        return taskExecutor;
+    }
+
+}
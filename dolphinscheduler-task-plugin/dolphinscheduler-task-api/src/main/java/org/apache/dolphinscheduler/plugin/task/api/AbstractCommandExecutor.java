@@ -25,6 +25,7 @@ import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.EXIT_COD
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.plugin.task.api.log.TaskOutputLogWriter;
 import org.apache.dolphinscheduler.plugin.task.api.model.TaskResponse;
 import org.apache.dolphinscheduler.plugin.task.api.parser.TaskOutputParameterParser;
 import org.apache.dolphinscheduler.plugin.task.api.shell.IShellInterceptor;
@@ -244,9 +245,13 @@ public abstract class AbstractCommandExecutor {
                     throw new RuntimeException("The driver pod does not exist.");
                 } else {
                     String line;
-                    try (BufferedReader reader = new BufferedReader(new InputStreamReader(watcher.getOutput()))) {
+                    try (
+                            BufferedReader reader = new BufferedReader(new InputStreamReader(watcher.getOutput()));
+                            TaskOutputLogWriter taskOutputLogWriter =
+                                    TaskOutputLogWriter.open(taskRequest.getLogPath()).orElse(null)) {
                         while ((line = reader.readLine()) != null) {
-                            logBuffer.add(String.format("[K8S-pod-log-%s]: %s", taskRequest.getTaskName(), line));
+                            appendTaskOutput(taskOutputLogWriter,
+                                    String.format("[K8S-pod-log-%s]: %s", taskRequest.getTaskName(), line));
                         }
                     }
                 }
@@ -267,11 +272,14 @@ public abstract class AbstractCommandExecutor {
                 .newSingleDaemonScheduledExecutorService("ResolveOutputLog-thread-" + taskRequest.getTaskName());
         getOutputLogService.execute(() -> {
             TaskOutputParameterParser taskOutputParameterParser = new TaskOutputParameterParser();
-            try (BufferedReader inReader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            try (
+                    BufferedReader inReader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+                    TaskOutputLogWriter taskOutputLogWriter =
+                            TaskOutputLogWriter.open(taskRequest.getLogPath()).orElse(null)) {
                 LogUtils.setTaskInstanceLogFullPathMDC(taskRequest.getLogPath());
                 String line;
                 while ((line = inReader.readLine()) != null) {
-                    logBuffer.add(line);
+                    appendTaskOutput(taskOutputLogWriter, line);
                     taskOutputParameterParser.appendParseLog(line);
                 }
                 processLogOutputIsSuccess = true;
@@ -309,6 +317,18 @@ public abstract class AbstractCommandExecutor {
         parseProcessOutputExecutorService.shutdown();
     }
 
+    /**
+     * Write the task output into the task log sink directly if it is enabled, otherwise buffer it in the logBuffer
+     * which is flushed by the logHandler.
+     */
+    private void appendTaskOutput(TaskOutputLogWriter taskOutputLogWriter, String line) {
+        if (taskOutputLogWriter != null) {
+            taskOutputLogWriter.write(line);
+        } else {
+            logBuffer.add(line);
+        }
+    }
+
     /**
      * get remain time（s）
      *
@@ -21,10 +21,13 @@ import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.APPID_CO
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.DEFAULT_COLLECT_WAY;
 
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
+import org.apache.dolphinscheduler.plugin.task.api.am.YarnApplicationManager;
 import org.apache.dolphinscheduler.plugin.task.api.model.TaskResponse;
 import org.apache.dolphinscheduler.plugin.task.api.shell.IShellInterceptorBuilder;
 import org.apache.dolphinscheduler.plugin.task.api.shell.ShellInterceptorBuilderFactory;
+import org.apache.dolphinscheduler.plugin.task.api.stream.StreamTask;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
+import org.apache.dolphinscheduler.plugin.task.api.utils.ProcessUtils;
 
 import java.util.List;
 import java.util.Map;
@@ -53,8 +56,10 @@ public abstract class AbstractYarnTask extends AbstractRemoteTask {
             TaskResponse response = shellCommandExecutor.run(shellActuatorBuilder, taskCallBack);
             setExitStatusCode(response.getExitStatusCode());
             // set appIds
-            setAppIds(String.join(TaskConstants.COMMA, getApplicationIds()));
+            List<String> appIds = getApplicationIds();
+            setAppIds(String.join(TaskConstants.COMMA, appIds));
             setProcessId(response.getProcessId());
+            awaitApplicationsFinished(appIds);
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
             log.info("The current yarn task has been interrupted", ex);
@@ -67,6 +72,25 @@ public abstract class AbstractYarnTask extends AbstractRemoteTask {
         }
     }
 
+    /**
+     * The submit command may exit before the applications finish, e.g. in the detached mode, so wait for the
+     * applications by the reports of the in-process yarn client if it is enabled. The stream task is not waited since
+     * its application keeps running.
+     */
+    private void awaitApplicationsFinished(List<String> appIds) throws InterruptedException {
+        if (getExitStatusCode() != TaskConstants.EXIT_CODE_SUCCESS || appIds.isEmpty() || this instanceof StreamTask) {
+            return;
+        }
+        YarnApplicationManager yarnApplicationManager = ProcessUtils.getYarnApplicationManager();
+        if (yarnApplicationManager == null || !yarnApplicationManager.isInProcessClientEnabled()) {
+            return;
+        }
+        if (!yarnApplicationManager.awaitApplicationsFinished(appIds)) {
+            log.error("The yarn applications {} are not succeeded", appIds);
+            setExitStatusCode(TaskConstants.EXIT_CODE_FAILURE);
+        }
+    }
+
     // todo
     @Override
     public void submitApplication() throws TaskException {
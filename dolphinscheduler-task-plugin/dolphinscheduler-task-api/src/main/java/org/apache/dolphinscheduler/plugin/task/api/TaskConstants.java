@@ -377,6 +377,17 @@ public class TaskConstants {
 
     public static final String LOGIN_USER_KEY_TAB_PATH = "login.user.keytab.path";
 
+    /**
+     * whether to kill and query the yarn applications by the YarnClient in worker instead of the yarn command
+     */
+    public static final String YARN_IN_PROCESS_CLIENT_ENABLED = "yarn.in-process.client.enabled";
+
+    /**
+     * how long the report of the active yarn applications can be reused, the unit is millisecond
+     */
+    public static final String YARN_IN_PROCESS_CLIENT_REPORT_CACHE_MILLIS =
+            "yarn.in-process.client.report.cache.millis";
+
     /**
      * fetch applicationId way
      */
@@ -20,17 +20,17 @@ package org.apache.dolphinscheduler.plugin.task.api.am;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.SLEEP_TIME_MILLIS;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.UNIQUE_LABEL_NAME;
 
-import org.apache.dolphinscheduler.plugin.task.api.K8sTaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.enums.ResourceManagerType;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.plugin.task.api.k8s.K8sClientPool;
+import org.apache.dolphinscheduler.plugin.task.api.k8s.K8sClusterClient;
 
 import org.apache.commons.collections4.CollectionUtils;
 
+import java.io.InputStream;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -38,13 +38,8 @@ import lombok.extern.slf4j.Slf4j;
 import com.google.auto.service.AutoService;
 
 import io.fabric8.kubernetes.api.model.Pod;
-import io.fabric8.kubernetes.api.model.PodList;
-import io.fabric8.kubernetes.client.Config;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.KubernetesClientBuilder;
-import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
 import io.fabric8.kubernetes.client.dsl.LogWatch;
-import io.fabric8.kubernetes.client.dsl.PodResource;
 
 @Slf4j
 @AutoService(ApplicationManager.class)
@@ -58,36 +53,30 @@ public class KubernetesApplicationManager implements ApplicationManager {
 
     private static final int MAX_RETRY_TIMES = 10;
 
-    /**
-     * cache k8s client for same task
-     */
-    private final Map<String, KubernetesClient> cacheClientMap = new ConcurrentHashMap<>();
-
     @Override
     public boolean killApplication(ApplicationManagerContext applicationManagerContext) throws TaskException {
         KubernetesApplicationManagerContext kubernetesApplicationManagerContext =
                 (KubernetesApplicationManagerContext) applicationManagerContext;
 
-        boolean isKill;
         String labelValue = kubernetesApplicationManagerContext.getLabelValue();
-        FilterWatchListDeletable<Pod, PodList, PodResource> watchList =
-                getListenPod(kubernetesApplicationManagerContext);
+        K8sClusterClient clusterClient = null;
         try {
-            if (getApplicationStatus(kubernetesApplicationManagerContext, watchList).isFailure()) {
+            clusterClient = acquireClusterClient(kubernetesApplicationManagerContext);
+            List<Pod> podList = getListenPod(clusterClient, kubernetesApplicationManagerContext);
+            if (getApplicationStatus(podList).isFailure()) {
                 log.error("Driver pod is in FAILED or UNKNOWN status.");
-                isKill = false;
-            } else {
-                watchList.delete();
-                isKill = true;
+                return false;
             }
+            clusterClient.getClient().pods()
+                    .inNamespace(kubernetesApplicationManagerContext.getK8sTaskExecutionContext().getNamespace())
+                    .withLabel(UNIQUE_LABEL_NAME, labelValue)
+                    .delete();
+            return true;
         } catch (Exception e) {
             throw new TaskException("Failed to kill Kubernetes application with label " + labelValue, e);
         } finally {
-            // remove client cache after killing application
-            removeCache(labelValue);
+            K8sClientPool.releaseClusterClient(clusterClient);
         }
-
-        return isKill;
     }
 
     @Override
@@ -96,23 +85,21 @@ public class KubernetesApplicationManager implements ApplicationManager {
     }
 
     /**
-     * get driver pod
+     * get driver pod from the pod informer of the cluster
      *
+     * @param clusterClient
      * @param kubernetesApplicationManagerContext
      * @return
      */
     @SneakyThrows
-    private FilterWatchListDeletable<Pod, PodList, PodResource> getListenPod(KubernetesApplicationManagerContext kubernetesApplicationManagerContext) {
-        KubernetesClient client = getClient(kubernetesApplicationManagerContext);
+    private List<Pod> getListenPod(K8sClusterClient clusterClient,
+                                   KubernetesApplicationManagerContext kubernetesApplicationManagerContext) {
+        String namespace = kubernetesApplicationManagerContext.getK8sTaskExecutionContext().getNamespace();
         String labelValue = kubernetesApplicationManagerContext.getLabelValue();
         List<Pod> podList = null;
-        FilterWatchListDeletable<Pod, PodList, PodResource> watchList = null;
         int retryTimes = 0;
         while (CollectionUtils.isEmpty(podList) && retryTimes < MAX_RETRY_TIMES) {
-            watchList = client.pods()
-                    .inNamespace(kubernetesApplicationManagerContext.getK8sTaskExecutionContext().getNamespace())
-                    .withLabel(UNIQUE_LABEL_NAME, labelValue);
-            podList = watchList.list().getItems();
+            podList = clusterClient.getPodsByLabelValue(namespace, labelValue);
             if (!CollectionUtils.isEmpty(podList)) {
                 break;
             }
@@ -120,26 +107,18 @@ public class KubernetesApplicationManager implements ApplicationManager {
             retryTimes += 1;
         }
 
-        return watchList;
+        return podList;
     }
 
     /**
-     * create client or get from cache map
+     * acquire the client shared by the tasks in the same cluster, the caller should release it once it is not used
      *
      * @param kubernetesApplicationManagerContext
      * @return
      */
-    private KubernetesClient getClient(KubernetesApplicationManagerContext kubernetesApplicationManagerContext) {
-        K8sTaskExecutionContext k8sTaskExecutionContext =
-                kubernetesApplicationManagerContext.getK8sTaskExecutionContext();
-        return cacheClientMap.computeIfAbsent(kubernetesApplicationManagerContext.getLabelValue(),
-                key -> new KubernetesClientBuilder()
-                        .withConfig(Config.fromKubeconfig(k8sTaskExecutionContext.getConfigYaml())).build());
-    }
-
-    public void removeCache(String cacheKey) {
-        try (KubernetesClient ignored = cacheClientMap.remove(cacheKey)) {
-        }
+    private K8sClusterClient acquireClusterClient(KubernetesApplicationManagerContext kubernetesApplicationManagerContext) {
+        return K8sClientPool.acquireClusterClient(
+                kubernetesApplicationManagerContext.getK8sTaskExecutionContext().getConfigYaml());
     }
 
     /**
@@ -150,35 +129,32 @@ public class KubernetesApplicationManager implements ApplicationManager {
      * @throws TaskException
      */
     public TaskExecutionStatus getApplicationStatus(KubernetesApplicationManagerContext kubernetesApplicationManagerContext) throws TaskException {
-        return getApplicationStatus(kubernetesApplicationManagerContext, null);
+        K8sClusterClient clusterClient = null;
+        try {
+            clusterClient = acquireClusterClient(kubernetesApplicationManagerContext);
+            return getApplicationStatus(getListenPod(clusterClient, kubernetesApplicationManagerContext));
+        } catch (Exception e) {
+            throw new TaskException("Failed to get Kubernetes application status", e);
+        } finally {
+            K8sClientPool.releaseClusterClient(clusterClient);
+        }
     }
 
     /**
      * get application (driver pod) status
      *
-     * @param kubernetesApplicationManagerContext
-     * @param watchList
+     * @param driverPod
      * @return
-     * @throws TaskException
      */
-    private TaskExecutionStatus getApplicationStatus(KubernetesApplicationManagerContext kubernetesApplicationManagerContext,
-                                                     FilterWatchListDeletable<Pod, PodList, PodResource> watchList) throws TaskException {
+    private TaskExecutionStatus getApplicationStatus(List<Pod> driverPod) {
         String phase;
-        try {
-            if (Objects.isNull(watchList)) {
-                watchList = getListenPod(kubernetesApplicationManagerContext);
-            }
-            List<Pod> driverPod = watchList.list().getItems();
-            if (!driverPod.isEmpty()) {
-                // cluster mode
-                Pod driver = driverPod.get(0);
-                phase = driver.getStatus().getPhase();
-            } else {
-                // client mode
-                phase = FINISH;
-            }
-        } catch (Exception e) {
-            throw new TaskException("Failed to get Kubernetes application status", e);
+        if (!CollectionUtils.isEmpty(driverPod)) {
+            // cluster mode
+            Pod driver = driverPod.get(0);
+            phase = driver.getStatus().getPhase();
+        } else {
+            // client mode
+            phase = FINISH;
         }
 
         return phase.equals(FAILED) || phase.equals(UNKNOWN) ? TaskExecutionStatus.FAILURE
@@ -186,36 +162,76 @@ public class KubernetesApplicationManager implements ApplicationManager {
     }
 
     /**
-     * get pod's log watcher
+     * get pod's log watcher, the shared client is held until the log watcher is closed
      *
      * @param kubernetesApplicationManagerContext
      * @return
      */
     @SneakyThrows
     public LogWatch getPodLogWatcher(KubernetesApplicationManagerContext kubernetesApplicationManagerContext) {
-        KubernetesClient client = getClient(kubernetesApplicationManagerContext);
-        boolean podIsReady = false;
-        Pod pod = null;
-        while (!podIsReady) {
-            FilterWatchListDeletable<Pod, PodList, PodResource> watchList =
-                    getListenPod(kubernetesApplicationManagerContext);
-            List<Pod> podList = watchList == null ? null : watchList.list().getItems();
-            if (CollectionUtils.isEmpty(podList)) {
-                return null;
-            }
-            pod = podList.get(0);
-            String phase = pod.getStatus().getPhase();
-            if (phase.equals(PENDING) || phase.equals(UNKNOWN)) {
-                Thread.sleep(SLEEP_TIME_MILLIS);
-            } else {
-                podIsReady = true;
+        K8sClusterClient clusterClient = acquireClusterClient(kubernetesApplicationManagerContext);
+        try {
+            KubernetesClient client = clusterClient.getClient();
+            boolean podIsReady = false;
+            Pod pod = null;
+            while (!podIsReady) {
+                List<Pod> podList = getListenPod(clusterClient, kubernetesApplicationManagerContext);
+                if (CollectionUtils.isEmpty(podList)) {
+                    K8sClientPool.releaseClusterClient(clusterClient);
+                    return null;
+                }
+                pod = podList.get(0);
+                String phase = pod.getStatus().getPhase();
+                if (phase.equals(PENDING) || phase.equals(UNKNOWN)) {
+                    Thread.sleep(SLEEP_TIME_MILLIS);
+                } else {
+                    podIsReady = true;
+                }
             }
+
+            LogWatch logWatch = client.pods().inNamespace(pod.getMetadata().getNamespace())
+                    .withName(pod.getMetadata().getName())
+                    .inContainer(kubernetesApplicationManagerContext.getContainerName())
+                    .watchLog();
+            return new ClusterClientLogWatch(clusterClient, logWatch);
+        } catch (Exception e) {
+            K8sClientPool.releaseClusterClient(clusterClient);
+            throw e;
         }
+    }
+
+    /**
+     * Release the shared client once the log watcher is closed.
+     */
+    private static class ClusterClientLogWatch implements LogWatch {
+
+        private final K8sClusterClient clusterClient;
 
-        return client.pods().inNamespace(pod.getMetadata().getNamespace())
-                .withName(pod.getMetadata().getName())
-                .inContainer(kubernetesApplicationManagerContext.getContainerName())
-                .watchLog();
+        private final LogWatch logWatch;
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        ClusterClientLogWatch(K8sClusterClient clusterClient, LogWatch logWatch) {
+            this.clusterClient = clusterClient;
+            this.logWatch = logWatch;
+        }
+
+        @Override
+        public InputStream getOutput() {
+            return logWatch.getOutput();
+        }
+
+        @Override
+        public void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                logWatch.close();
+            } finally {
+                K8sClientPool.releaseClusterClient(clusterClient);
+            }
+        }
     }
 
 }
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.am;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
+import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
+import org.apache.dolphinscheduler.plugin.task.api.TaskException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.hadoop.yarn.api.records.ApplicationId;
+import org.apache.hadoop.yarn.api.records.ApplicationReport;
+import org.apache.hadoop.yarn.api.records.YarnApplicationState;
+import org.apache.hadoop.yarn.client.api.YarnClient;
+import org.apache.hadoop.yarn.conf.YarnConfiguration;
+import org.apache.hadoop.yarn.exceptions.ApplicationNotFoundException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * The long-lived {@link YarnClient} of the worker, used to kill and query the yarn applications of the tasks without
+ * forking a yarn command for each task.
+ * <p> The tasks track the applications they submitted, the reports of the tracked applications are refreshed by one
+ * scheduled thread in every refresh interval and shared by all the callers, so neither the status query nor the kill
+ * needs to fetch the applications of the whole cluster.
+ */
+@Slf4j
+public class YarnApplicationClient implements AutoCloseable {
+
+    static final EnumSet<YarnApplicationState> ACTIVE_STATES = EnumSet.of(
+            YarnApplicationState.NEW,
+            YarnApplicationState.NEW_SAVING,
+            YarnApplicationState.SUBMITTED,
+            YarnApplicationState.ACCEPTED,
+            YarnApplicationState.RUNNING);
+
+    private final YarnClient yarnClient;
+
+    @Getter
+    private final long refreshIntervalMillis;
+
+    private final Set<String> trackedAppIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The latest reports of the tracked applications, the application which is unknown to yarn has no report.
+     */
+    private volatile Map<String, ApplicationReport> applicationReports = Collections.emptyMap();
+
+    private final Set<String> unknownAppIds = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService refreshExecutor;
+
+    YarnApplicationClient(YarnClient yarnClient, long refreshIntervalMillis) {
+        this.yarnClient = yarnClient;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+    }
+
+    /**
+     * Create the client by the yarn-site.xml in the classpath of the worker, will login by the keytab if kerberos is
+     * enabled.
+     */
+    public static YarnApplicationClient create() {
+        try {
+            Configuration configuration = new YarnConfiguration();
+            if (PropertyUtils.getBoolean(TaskConstants.HADOOP_SECURITY_AUTHENTICATION_STARTUP_STATE, false)) {
+                System.setProperty(TaskConstants.JAVA_SECURITY_KRB5_CONF,
+                        PropertyUtils.getString(TaskConstants.JAVA_SECURITY_KRB5_CONF_PATH));
+                configuration.set(Constants.HADOOP_SECURITY_AUTHENTICATION, Constants.KERBEROS);
+                UserGroupInformation.setConfiguration(configuration);
+                UserGroupInformation.loginUserFromKeytab(
+                        PropertyUtils.getString(TaskConstants.LOGIN_USER_KEY_TAB_USERNAME),
+                        PropertyUtils.getString(TaskConstants.LOGIN_USER_KEY_TAB_PATH));
+            }
+            YarnClient yarnClient = YarnClient.createYarnClient();
+            yarnClient.init(configuration);
+            yarnClient.start();
+            YarnApplicationClient yarnApplicationClient = new YarnApplicationClient(yarnClient,
+                    PropertyUtils.getLong(TaskConstants.YARN_IN_PROCESS_CLIENT_REPORT_CACHE_MILLIS, 10_000L));
+            yarnApplicationClient.start();
+            log.info("Started the in-process yarn client");
+            return yarnApplicationClient;
+        } catch (Exception e) {
+            throw new TaskException("Failed to create the in-process yarn client", e);
+        }
+    }
+
+    private void start() {
+        refreshExecutor = ThreadUtils.newSingleDaemonScheduledExecutorService("YarnApplicationReportRefresher");
+        refreshExecutor.scheduleWithFixedDelay(this::refreshTrackedApplications, refreshIntervalMillis,
+                refreshIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Track the given applications, their reports are fetched at once and then refreshed in every refresh interval
+     * until they are untracked.
+     */
+    public synchronized void trackApplications(Collection<String> appIds) {
+        Map<String, ApplicationReport> reports = new HashMap<>(applicationReports);
+        for (String appId : appIds) {
+            if (trackedAppIds.add(appId)) {
+                fetchApplicationReport(appId, reports);
+            }
+        }
+        applicationReports = reports;
+    }
+
+    public synchronized void untrackApplications(Collection<String> appIds) {
+        trackedAppIds.removeAll(appIds);
+        unknownAppIds.removeAll(appIds);
+        Map<String, ApplicationReport> reports = new HashMap<>(applicationReports);
+        reports.keySet().removeAll(appIds);
+        applicationReports = reports;
+    }
+
+    /**
+     * Get the latest report of the given application.
+     *
+     * @return the report, or null if the application is not tracked, unknown to yarn or failed to be fetched
+     */
+    public ApplicationReport getApplicationReport(String appId) {
+        return applicationReports.get(appId);
+    }
+
+    /**
+     * Whether the given tracked application is unknown to yarn, e.g. it has been removed from the resource manager.
+     */
+    public boolean isApplicationUnknown(String appId) {
+        return unknownAppIds.contains(appId);
+    }
+
+    /**
+     * Kill the given applications, the applications which are known to be finished by the latest report are skipped.
+     * <p> Only the kill rpc is sent for each application, the applications which are not tracked are killed directly
+     * since yarn ignores the kill request of a finished application.
+     */
+    public void killApplications(List<String> appIds) throws TaskException {
+        List<String> failedAppIds = new ArrayList<>();
+        for (String appId : appIds) {
+            ApplicationReport applicationReport = applicationReports.get(appId);
+            if (applicationReport != null && !ACTIVE_STATES.contains(applicationReport.getYarnApplicationState())) {
+                log.info("The yarn application: {} is {}, skip kill it", appId,
+                        applicationReport.getYarnApplicationState());
+                continue;
+            }
+            try {
+                yarnClient.killApplication(ApplicationId.fromString(appId));
+                log.info("Killed the yarn application: {}", appId);
+            } catch (Exception e) {
+                log.error("Kill the yarn application: {} failed", appId, e);
+                failedAppIds.add(appId);
+            }
+        }
+        if (!failedAppIds.isEmpty()) {
+            throw new TaskException("Kill yarn applications " + failedAppIds + " failed");
+        }
+    }
+
+    /**
+     * Refresh the reports of the tracked applications, the previous report is kept if the refresh of an application
+     * failed.
+     */
+    @VisibleForTesting
+    synchronized void refreshTrackedApplications() {
+        if (trackedAppIds.isEmpty()) {
+            return;
+        }
+        try {
+            if (UserGroupInformation.isSecurityEnabled()) {
+                UserGroupInformation.getLoginUser().checkTGTAndReloginFromKeytab();
+            }
+            Map<String, ApplicationReport> reports = new HashMap<>(applicationReports);
+            for (String appId : trackedAppIds) {
+                fetchApplicationReport(appId, reports);
+            }
+            applicationReports = reports;
+        } catch (Exception e) {
+            log.error("Refresh the reports of the tracked yarn applications failed", e);
+        }
+    }
+
+    private void fetchApplicationReport(String appId, Map<String, ApplicationReport> reports) {
+        try {
+            reports.put(appId, yarnClient.getApplicationReport(ApplicationId.fromString(appId)));
+        } catch (ApplicationNotFoundException e) {
+            log.warn("The yarn application: {} is unknown to yarn", appId);
+            reports.remove(appId);
+            unknownAppIds.add(appId);
+        } catch (Exception e) {
+            log.warn("Fetch the report of the yarn application: {} failed", appId, e);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+        yarnClient.close();
+    }
+}
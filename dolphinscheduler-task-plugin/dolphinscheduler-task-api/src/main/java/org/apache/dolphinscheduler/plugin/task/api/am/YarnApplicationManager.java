@@ -23,6 +23,10 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.enums.ResourceManagerType;
 
+import org.apache.hadoop.yarn.api.records.ApplicationReport;
+import org.apache.hadoop.yarn.api.records.FinalApplicationStatus;
+import org.apache.hadoop.yarn.api.records.YarnApplicationState;
+
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -30,11 +34,26 @@ import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 
 import com.google.auto.service.AutoService;
+import com.google.common.annotations.VisibleForTesting;
 
 @Slf4j
 @AutoService(ApplicationManager.class)
 public class YarnApplicationManager implements ApplicationManager {
 
+    private final boolean inProcessClientEnabled;
+
+    private volatile YarnApplicationClient yarnApplicationClient;
+
+    public YarnApplicationManager() {
+        this.inProcessClientEnabled = PropertyUtils.getBoolean(TaskConstants.YARN_IN_PROCESS_CLIENT_ENABLED, false);
+    }
+
+    @VisibleForTesting
+    YarnApplicationManager(YarnApplicationClient yarnApplicationClient) {
+        this.inProcessClientEnabled = true;
+        this.yarnApplicationClient = yarnApplicationClient;
+    }
+
     @Override
     public boolean killApplication(ApplicationManagerContext applicationManagerContext) throws TaskException {
         YarnApplicationManagerContext yarnApplicationManagerContext =
@@ -43,6 +62,10 @@ public class YarnApplicationManager implements ApplicationManager {
         String tenantCode = yarnApplicationManagerContext.getTenantCode();
         List<String> appIds = yarnApplicationManagerContext.getAppIds();
 
+        if (inProcessClientEnabled) {
+            getYarnApplicationClient().killApplications(appIds);
+            return true;
+        }
         try {
             String commandFile = String.format("%s/%s.kill", executePath, String.join(Constants.UNDERLINE, appIds));
             String cmd = getKerberosInitCommand() + "yarn application -kill " + String.join(Constants.SPACE, appIds);
@@ -60,6 +83,84 @@ public class YarnApplicationManager implements ApplicationManager {
         return ResourceManagerType.YARN;
     }
 
+    public boolean isInProcessClientEnabled() {
+        return inProcessClientEnabled;
+    }
+
+    /**
+     * Wait until the given applications are not active in yarn, the state comes from the reports of the tracked
+     * applications which are refreshed by the in-process yarn client.
+     *
+     * @return true if none of the applications is failed or killed
+     * @throws TaskException if the in-process yarn client is not enabled
+     */
+    public boolean awaitApplicationsFinished(List<String> appIds) throws TaskException, InterruptedException {
+        YarnApplicationClient client = getEnabledYarnApplicationClient();
+        client.trackApplications(appIds);
+        try {
+            while (appIds.stream().anyMatch(this::isApplicationActive)) {
+                Thread.sleep(client.getRefreshIntervalMillis());
+            }
+            boolean succeeded = true;
+            for (String appId : appIds) {
+                ApplicationReport applicationReport = client.getApplicationReport(appId);
+                if (applicationReport == null) {
+                    log.warn("The yarn application: {} is unknown to yarn, its final status is unknown", appId);
+                    continue;
+                }
+                log.info("The yarn application: {} is {}, final status: {}", appId,
+                        applicationReport.getYarnApplicationState(), applicationReport.getFinalApplicationStatus());
+                if (isApplicationFailed(applicationReport)) {
+                    succeeded = false;
+                }
+            }
+            return succeeded;
+        } finally {
+            client.untrackApplications(appIds);
+        }
+    }
+
+    /**
+     * Whether the given application is still active in yarn, the state comes from the latest report of the
+     * in-process yarn client, the application whose report is not fetched yet is regarded as active.
+     *
+     * @throws TaskException if the in-process yarn client is not enabled
+     */
+    public boolean isApplicationActive(String appId) throws TaskException {
+        YarnApplicationClient client = getEnabledYarnApplicationClient();
+        ApplicationReport applicationReport = client.getApplicationReport(appId);
+        if (applicationReport == null) {
+            return !client.isApplicationUnknown(appId);
+        }
+        return YarnApplicationClient.ACTIVE_STATES.contains(applicationReport.getYarnApplicationState());
+    }
+
+    private boolean isApplicationFailed(ApplicationReport applicationReport) {
+        return applicationReport.getYarnApplicationState() == YarnApplicationState.FAILED
+                || applicationReport.getYarnApplicationState() == YarnApplicationState.KILLED
+                || applicationReport.getFinalApplicationStatus() == FinalApplicationStatus.FAILED
+                || applicationReport.getFinalApplicationStatus() == FinalApplicationStatus.KILLED;
+    }
+
+    private YarnApplicationClient getEnabledYarnApplicationClient() throws TaskException {
+        if (!inProcessClientEnabled) {
+            throw new TaskException("The in-process yarn client is not enabled, please set "
+                    + TaskConstants.YARN_IN_PROCESS_CLIENT_ENABLED + "=true");
+        }
+        return getYarnApplicationClient();
+    }
+
+    private YarnApplicationClient getYarnApplicationClient() {
+        if (yarnApplicationClient == null) {
+            synchronized (this) {
+                if (yarnApplicationClient == null) {
+                    yarnApplicationClient = YarnApplicationClient.create();
+                }
+            }
+        }
+        return yarnApplicationClient;
+    }
+
     /**
      * build kill command for yarn application
      *
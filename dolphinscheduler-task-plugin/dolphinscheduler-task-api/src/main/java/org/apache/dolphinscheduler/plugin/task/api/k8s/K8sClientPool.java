@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.k8s;
+
+import org.apache.dolphinscheduler.plugin.task.api.TaskException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+
+/**
+ * The k8s clients of the worker, keyed by the kube config of the cluster. The tasks submitted to the same cluster
+ * share one client, including its http connection pool and informers.
+ * <p> The client is reference counted, the caller should call {@link #releaseClusterClient(K8sClusterClient)} once it
+ * doesn't use the client. The client which is not referenced for {@link #IDLE_TIMEOUT_MILLIS} is closed and evicted,
+ * so the clusters which are no longer used will not keep the informers and the watch connections.
+ */
+@Slf4j
+@UtilityClass
+public class K8sClientPool {
+
+    @VisibleForTesting
+    static final long IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final Map<String, K8sClusterClient> CLUSTER_CLIENTS = new ConcurrentHashMap<>();
+
+    public static K8sClusterClient acquireClusterClient(String configYaml) {
+        evictIdleClusterClients(System.currentTimeMillis());
+        return CLUSTER_CLIENTS.compute(configYaml, (key, clusterClient) -> {
+            final K8sClusterClient acquiredClusterClient =
+                    clusterClient == null ? createClusterClient(key) : clusterClient;
+            acquiredClusterClient.retain();
+            return acquiredClusterClient;
+        });
+    }
+
+    public static void releaseClusterClient(K8sClusterClient clusterClient) {
+        if (clusterClient == null) {
+            return;
+        }
+        clusterClient.release();
+    }
+
+    /**
+     * Close all the clients, should only be called when the worker is closing.
+     */
+    public static void closeAll() {
+        final List<K8sClusterClient> clusterClients = new ArrayList<>(CLUSTER_CLIENTS.values());
+        CLUSTER_CLIENTS.clear();
+        clusterClients.forEach(K8sClientPool::closeClusterClient);
+    }
+
+    @VisibleForTesting
+    static void evictIdleClusterClients(long now) {
+        final List<K8sClusterClient> idleClusterClients = new ArrayList<>();
+        for (String configYaml : CLUSTER_CLIENTS.keySet()) {
+            CLUSTER_CLIENTS.computeIfPresent(configYaml, (key, clusterClient) -> {
+                if (!clusterClient.isIdleSince(now - IDLE_TIMEOUT_MILLIS)) {
+                    return clusterClient;
+                }
+                idleClusterClients.add(clusterClient);
+                return null;
+            });
+        }
+        idleClusterClients.forEach(K8sClientPool::closeClusterClient);
+    }
+
+    @VisibleForTesting
+    static int size() {
+        return CLUSTER_CLIENTS.size();
+    }
+
+    private static K8sClusterClient createClusterClient(String configYaml) {
+        try {
+            final Config config = Config.fromKubeconfig(configYaml);
+            log.info("Create k8s client for cluster: {}", config.getMasterUrl());
+            return new K8sClusterClient(new KubernetesClientBuilder().withConfig(config).build());
+        } catch (Exception e) {
+            throw new TaskException("fail to build k8s ApiClient", e);
+        }
+    }
+
+    private static void closeClusterClient(K8sClusterClient clusterClient) {
+        try {
+            log.info("Close the k8s client for cluster: {}", clusterClient.getClient().getMasterUrl());
+            clusterClient.close();
+        } catch (Exception e) {
+            log.warn("Close the k8s client failed", e);
+        }
+    }
+}
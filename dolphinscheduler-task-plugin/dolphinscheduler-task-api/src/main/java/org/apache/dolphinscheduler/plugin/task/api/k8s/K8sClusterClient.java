@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.k8s;
+
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.UNIQUE_LABEL_NAME;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+
+/**
+ * The client of one k8s cluster, which is shared by all the tasks running in the cluster. The jobs and pods created
+ * by DolphinScheduler are cached by the informers of each namespace, so that the tasks don't need to open a watch
+ * or list the pods for each task.
+ * <p> The client is reference counted by {@link K8sClientPool}, and closed once it is idle for a while.
+ */
+@Slf4j
+public class K8sClusterClient implements AutoCloseable {
+
+    private static final String UNIQUE_LABEL_INDEX = "byUniqueLabel";
+
+    @Getter
+    private final KubernetesClient client;
+
+    private final Map<String, K8sJobInformer> jobInformers = new ConcurrentHashMap<>();
+
+    private final Map<String, SharedIndexInformer<Pod>> podInformers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger referenceCount = new AtomicInteger();
+
+    private volatile long latestReleaseTime = System.currentTimeMillis();
+
+    public K8sClusterClient(KubernetesClient client) {
+        this.client = client;
+    }
+
+    void retain() {
+        referenceCount.incrementAndGet();
+    }
+
+    void release() {
+        if (referenceCount.updateAndGet(count -> Math.max(count - 1, 0)) == 0) {
+            latestReleaseTime = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Whether the client is not referenced since the given time.
+     */
+    boolean isIdleSince(long time) {
+        return referenceCount.get() == 0 && latestReleaseTime <= time;
+    }
+
+    public K8sJobInformer getJobInformer(String namespace) {
+        return jobInformers.computeIfAbsent(namespace, key -> new K8sJobInformer(client, key));
+    }
+
+    /**
+     * Get the pods whose {@link org.apache.dolphinscheduler.plugin.task.api.TaskConstants#UNIQUE_LABEL_NAME} is the
+     * given label value from the informer cache.
+     */
+    public List<Pod> getPodsByLabelValue(String namespace, String labelValue) {
+        return getPodInformer(namespace).getIndexer().byIndex(UNIQUE_LABEL_INDEX, labelValue);
+    }
+
+    private SharedIndexInformer<Pod> getPodInformer(String namespace) {
+        return podInformers.computeIfAbsent(namespace, key -> {
+            final SharedIndexInformer<Pod> podInformer = client.pods()
+                    .inNamespace(key)
+                    .withLabel(UNIQUE_LABEL_NAME)
+                    .runnableInformer(0);
+            podInformer.addIndexers(Collections.singletonMap(UNIQUE_LABEL_INDEX,
+                    pod -> Collections.singletonList(pod.getMetadata().getLabels().get(UNIQUE_LABEL_NAME))));
+            podInformer.run();
+            log.info("Started the k8s pod informer in namespace: {}", key);
+            return podInformer;
+        });
+    }
+
+    @Override
+    public void close() {
+        jobInformers.values().forEach(K8sJobInformer::close);
+        jobInformers.clear();
+        podInformers.values().forEach(SharedIndexInformer::close);
+        podInformers.clear();
+        client.close();
+    }
+}
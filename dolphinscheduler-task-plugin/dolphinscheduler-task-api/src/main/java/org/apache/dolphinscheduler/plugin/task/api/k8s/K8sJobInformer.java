@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.k8s;
+
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.LAYER_LABEL;
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.LAYER_LABEL_VALUE;
+
+import org.apache.dolphinscheduler.plugin.task.api.TaskException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.batch.v1.JobStatus;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+
+/**
+ * Shared informer of the jobs created by DolphinScheduler in one namespace, all the k8s tasks running in the same
+ * namespace share one watch connection and get the result of their job by the callback of the informer.
+ */
+@Slf4j
+public class K8sJobInformer implements ResourceEventHandler<Job>, AutoCloseable {
+
+    private final String namespace;
+
+    /**
+     * job name -> the future which will be completed once the job is finished
+     */
+    private final Map<String, CompletableFuture<Job>> jobFinishedFutures = new ConcurrentHashMap<>();
+
+    private final SharedIndexInformer<Job> informer;
+
+    public K8sJobInformer(KubernetesClient client, String namespace) {
+        this.namespace = namespace;
+        this.informer = client.batch()
+                .v1()
+                .jobs()
+                .inNamespace(namespace)
+                .withLabel(LAYER_LABEL, LAYER_LABEL_VALUE)
+                .inform(this, 0);
+        log.info("Started the k8s job informer in namespace: {}", namespace);
+    }
+
+    /**
+     * Get a future which will be completed with the job once the job is succeeded or failed, the future will be
+     * completed exceptionally if the job is deleted before it finished.
+     * <p> The caller should call {@link #unwatchJob(String)} once it doesn't care about the job.
+     */
+    public CompletableFuture<Job> watchJob(String jobName) {
+        final CompletableFuture<Job> jobFinishedFuture =
+                jobFinishedFutures.computeIfAbsent(jobName, key -> new CompletableFuture<>());
+        // The job may already finish before register the future
+        final Job job = informer.getStore().getByKey(namespace + "/" + jobName);
+        if (job != null) {
+            onAdd(job);
+        }
+        return jobFinishedFuture;
+    }
+
+    public void unwatchJob(String jobName) {
+        jobFinishedFutures.remove(jobName);
+    }
+
+    @Override
+    public void onAdd(Job job) {
+        if (!isJobFinished(job)) {
+            return;
+        }
+        final CompletableFuture<Job> jobFinishedFuture = jobFinishedFutures.remove(job.getMetadata().getName());
+        if (jobFinishedFuture != null) {
+            jobFinishedFuture.complete(job);
+        }
+    }
+
+    @Override
+    public void onUpdate(Job oldJob, Job newJob) {
+        onAdd(newJob);
+    }
+
+    @Override
+    public void onDelete(Job job, boolean deletedFinalStateUnknown) {
+        final CompletableFuture<Job> jobFinishedFuture = jobFinishedFutures.remove(job.getMetadata().getName());
+        if (jobFinishedFuture != null) {
+            jobFinishedFuture.completeExceptionally(
+                    new TaskException("The job: " + job.getMetadata().getName() + " is deleted in k8s"));
+        }
+    }
+
+    private boolean isJobFinished(Job job) {
+        final JobStatus jobStatus = job.getStatus();
+        if (jobStatus == null) {
+            return false;
+        }
+        return (jobStatus.getSucceeded() != null && jobStatus.getSucceeded() > 0)
+                || (jobStatus.getFailed() != null && jobStatus.getFailed() > 0);
+    }
+
+    @Override
+    public void close() {
+        informer.close();
+        jobFinishedFutures.values().forEach(future -> future.completeExceptionally(
+                new TaskException("The k8s job informer in namespace: " + namespace + " is closed")));
+        jobFinishedFutures.clear();
+    }
+}
@@ -40,6 +40,7 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskTimeoutStrategy;
 import org.apache.dolphinscheduler.plugin.task.api.k8s.AbstractK8sTaskExecutor;
+import org.apache.dolphinscheduler.plugin.task.api.k8s.K8sJobInformer;
 import org.apache.dolphinscheduler.plugin.task.api.k8s.K8sTaskMainParameters;
 import org.apache.dolphinscheduler.plugin.task.api.model.TaskResponse;
 import org.apache.dolphinscheduler.plugin.task.api.parser.TaskOutputParameterParser;
@@ -56,11 +57,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import lombok.extern.slf4j.Slf4j;
 import io.fabric8.kubernetes.api.model.Affinity;
@@ -73,9 +75,6 @@ import io.fabric8.kubernetes.api.model.ResourceRequirements;
 import io.fabric8.kubernetes.api.model.batch.v1.Job;
 import io.fabric8.kubernetes.api.model.batch.v1.JobBuilder;
 import io.fabric8.kubernetes.api.model.batch.v1.JobStatus;
-import io.fabric8.kubernetes.client.Watch;
-import io.fabric8.kubernetes.client.Watcher;
-import io.fabric8.kubernetes.client.WatcherException;
 import io.fabric8.kubernetes.client.dsl.LogWatch;
 
 /**
@@ -199,61 +198,38 @@ public class K8sTaskExecutor extends AbstractK8sTaskExecutor {
     }
 
     public void registerBatchJobWatcher(Job job, String taskInstanceId, TaskResponse taskResponse) {
-        CountDownLatch countDownLatch = new CountDownLatch(1);
-        Watcher<Job> watcher = new Watcher<Job>() {
-
-            @Override
-            public void eventReceived(Action action, Job job) {
-                try {
-                    LogUtils.setWorkflowAndTaskInstanceIDMDC(taskRequest.getWorkflowInstanceId(),
-                            taskRequest.getTaskInstanceId());
-                    LogUtils.setTaskInstanceLogFullPathMDC(taskRequest.getLogPath());
-                    log.info("event received : job:{} action:{}", job.getMetadata().getName(), action);
-                    if (action == Action.DELETED) {
-                        log.error("[K8sJobExecutor-{}] fail in k8s", job.getMetadata().getName());
-                        taskResponse.setExitStatusCode(EXIT_CODE_FAILURE);
-                        countDownLatch.countDown();
-                    } else if (action != Action.ADDED) {
-                        int jobStatus = getK8sJobStatus(job);
-                        log.info("job {} status {}", job.getMetadata().getName(), jobStatus);
-                        if (jobStatus == TaskConstants.RUNNING_CODE) {
-                            return;
-                        }
-                        setTaskStatus(jobStatus, taskInstanceId, taskResponse);
-                        countDownLatch.countDown();
-                    }
-                } finally {
-                    LogUtils.removeTaskInstanceLogFullPathMDC();
-                    LogUtils.removeWorkflowAndTaskInstanceIdMDC();
-                }
-            }
-
-            @Override
-            public void onClose(WatcherException e) {
-                LogUtils.setWorkflowAndTaskInstanceIDMDC(taskRequest.getWorkflowInstanceId(),
-                        taskRequest.getTaskInstanceId());
-                log.error("[K8sJobExecutor-{}] fail in k8s: {}", job.getMetadata().getName(), e.getMessage());
-                taskResponse.setExitStatusCode(EXIT_CODE_FAILURE);
-                countDownLatch.countDown();
-                LogUtils.removeWorkflowAndTaskInstanceIdMDC();
-            }
-        };
-        try (Watch watch = k8sUtils.createBatchJobWatcher(job.getMetadata().getName(), watcher)) {
+        String jobName = job.getMetadata().getName();
+        K8sJobInformer jobInformer = k8sUtils.getJobInformer(job.getMetadata().getNamespace());
+        CompletableFuture<Job> jobFinishedFuture = jobInformer.watchJob(jobName);
+        try {
             boolean timeoutFlag = taskRequest.getTaskTimeoutStrategy() == TaskTimeoutStrategy.FAILED
                     || taskRequest.getTaskTimeoutStrategy() == TaskTimeoutStrategy.WARNFAILED;
+            Job finishedJob;
             if (timeoutFlag) {
-                Boolean timeout = !(countDownLatch.await(taskRequest.getTaskTimeout(), TimeUnit.SECONDS));
-                waitTimeout(timeout);
+                try {
+                    finishedJob = jobFinishedFuture.get(taskRequest.getTaskTimeout(), TimeUnit.SECONDS);
+                } catch (TimeoutException e) {
+                    waitTimeout(true);
+                    return;
+                }
             } else {
-                countDownLatch.await();
+                finishedJob = jobFinishedFuture.get();
             }
+            int jobStatus = getK8sJobStatus(finishedJob);
+            log.info("job {} status {}", jobName, jobStatus);
+            setTaskStatus(jobStatus, taskInstanceId, taskResponse);
         } catch (InterruptedException e) {
             log.error("job failed in k8s: {}", e.getMessage(), e);
             Thread.currentThread().interrupt();
             taskResponse.setExitStatusCode(EXIT_CODE_FAILURE);
+        } catch (ExecutionException e) {
+            log.error("[K8sJobExecutor-{}] fail in k8s: {}", jobName, e.getCause().getMessage());
+            taskResponse.setExitStatusCode(EXIT_CODE_FAILURE);
         } catch (Exception e) {
             log.error("job failed in k8s: {}", e.getMessage(), e);
             taskResponse.setExitStatusCode(EXIT_CODE_FAILURE);
+        } finally {
+            jobInformer.unwatchJob(jobName);
         }
     }
 
@@ -320,7 +296,7 @@ public class K8sTaskExecutor extends AbstractK8sTaskExecutor {
             result.setExitStatusCode(EXIT_CODE_FAILURE);
             throw e;
         } finally {
-            ProcessUtils.removeK8sClientCache(taskRequest.getTaskAppId());
+            k8sUtils.releaseClient();
         }
         return result;
     }
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import static ch.qos.logback.classic.ClassicConstants.FINALIZE_SESSION_MARKER;
+
+import org.apache.dolphinscheduler.common.log.TaskLogSink;
+import org.apache.dolphinscheduler.common.log.TaskLogSinks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import lombok.Getter;
+import lombok.Setter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.encoder.Encoder;
+
+/**
+ * The task log appender which writes the task log by the {@link TaskLogSink}, it should be used as the appender of
+ * the {@link ch.qos.logback.classic.sift.SiftingAppender} discriminated by {@link TaskLogDiscriminator}.
+ * <p> The sink is released once the task log is finalized, the events after that are appended to the file directly.
+ */
+public class TaskLogSinkAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    @Getter
+    @Setter
+    private String file;
+
+    @Getter
+    @Setter
+    private Encoder<ILoggingEvent> encoder;
+
+    @Getter
+    @Setter
+    private int ringBufferSize = TaskLogSinks.DEFAULT_RING_BUFFER_SIZE;
+
+    @Getter
+    @Setter
+    private int segmentSize = TaskLogSinks.DEFAULT_SEGMENT_SIZE;
+
+    @Getter
+    @Setter
+    private boolean blockWhenFull = true;
+
+    @Getter
+    @Setter
+    private long flushInterval = TaskLogSinks.DEFAULT_FLUSH_INTERVAL_MILLS;
+
+    private TaskLogSink taskLogSink;
+
+    private boolean finalized;
+
+    @Override
+    public void start() {
+        if (file == null) {
+            addError("No file set for the appender named [" + name + "].");
+            return;
+        }
+        if (encoder == null) {
+            addError("No encoder set for the appender named [" + name + "].");
+            return;
+        }
+        TaskLogSinks.configure(ringBufferSize, segmentSize, blockWhenFull, flushInterval);
+        super.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        final byte[] bytes = encoder.encode(event);
+        try {
+            final TaskLogSink sink = acquireSink();
+            if (sink == null || !sink.append(bytes) && sink.isClosed()) {
+                Files.write(Paths.get(file), bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        } catch (IOException | RuntimeException ex) {
+            addError("Append the task log: " + file + " failed", ex);
+        }
+        if (event.getMarker() != null && event.getMarker().contains(FINALIZE_SESSION_MARKER)) {
+            releaseSink(true);
+        }
+    }
+
+    @Override
+    public void stop() {
+        releaseSink(false);
+        super.stop();
+    }
+
+    private synchronized TaskLogSink acquireSink() throws IOException {
+        if (taskLogSink == null && !finalized) {
+            taskLogSink = TaskLogSinks.open(file);
+        }
+        return taskLogSink;
+    }
+
+    private synchronized void releaseSink(boolean finalize) {
+        finalized |= finalize;
+        if (taskLogSink != null) {
+            TaskLogSinks.release(taskLogSink);
+            taskLogSink = null;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import org.apache.dolphinscheduler.common.log.SensitiveDataConverter;
+import org.apache.dolphinscheduler.common.log.TaskLogSink;
+import org.apache.dolphinscheduler.common.log.TaskLogSinks;
+import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write the output of the task process into the {@link TaskLogSink} directly, instead of buffering the whole output in
+ * memory and printing it by the logger. The output is formatted the same as
+ * {@link org.apache.dolphinscheduler.plugin.task.api.AbstractTask#logHandle}.
+ * <p> The writer is not thread-safe, each output reader should use its own writer.
+ */
+@Slf4j
+public class TaskOutputLogWriter implements Closeable {
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    private final TaskLogSink taskLogSink;
+
+    private long lastHeaderTime;
+
+    private TaskOutputLogWriter(TaskLogSink taskLogSink) {
+        this.taskLogSink = taskLogSink;
+    }
+
+    /**
+     * Open the writer of the given task log, return empty if the task log sink is not enabled or cannot be opened.
+     */
+    public static Optional<TaskOutputLogWriter> open(String logPath) {
+        if (!TaskLogSinks.isEnabled() || logPath == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new TaskOutputLogWriter(TaskLogSinks.open(logPath)));
+        } catch (IOException e) {
+            log.warn("Open the task log sink: {} failed, the task output will be printed by the logger", logPath, e);
+            return Optional.empty();
+        }
+    }
+
+    public void write(String line) {
+        final StringBuilder builder = new StringBuilder(line.length() + 64);
+        final long now = System.currentTimeMillis();
+        if (now - lastHeaderTime >= TaskConstants.DEFAULT_LOG_FLUSH_INTERVAL) {
+            builder.append(LocalDateTime.now().format(DATE_TIME_FORMATTER))
+                    .append(" INFO  [")
+                    .append(Thread.currentThread().getName())
+                    .append("] -  -> ")
+                    .append(System.lineSeparator());
+            lastHeaderTime = now;
+        }
+        builder.append('\t').append(SensitiveDataConverter.maskSensitiveData(line)).append(System.lineSeparator());
+        taskLogSink.append(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void close() {
+        TaskLogSinks.release(taskLogSink);
+    }
+}
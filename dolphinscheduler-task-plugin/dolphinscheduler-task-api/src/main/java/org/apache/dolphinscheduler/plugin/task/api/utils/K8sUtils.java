@@ -20,21 +20,22 @@ package org.apache.dolphinscheduler.plugin.task.api.utils;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.LOG_LINES;
 
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
+import org.apache.dolphinscheduler.plugin.task.api.k8s.K8sClientPool;
+import org.apache.dolphinscheduler.plugin.task.api.k8s.K8sClusterClient;
+import org.apache.dolphinscheduler.plugin.task.api.k8s.K8sJobInformer;
 
 import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.batch.v1.Job;
-import io.fabric8.kubernetes.client.Config;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.KubernetesClientBuilder;
-import io.fabric8.kubernetes.client.Watch;
-import io.fabric8.kubernetes.client.Watcher;
 
 @Slf4j
 public class K8sUtils {
 
+    private K8sClusterClient clusterClient;
+
     private KubernetesClient client;
 
     public void createJob(String namespace, Job job) {
@@ -71,15 +72,11 @@ public class K8sUtils {
         }
     }
 
-    public Watch createBatchJobWatcher(String jobName, Watcher<Job> watcher) {
+    public K8sJobInformer getJobInformer(String namespace) {
         try {
-            return client.batch()
-                    .v1()
-                    .jobs()
-                    .withName(jobName)
-                    .watch(watcher);
+            return clusterClient.getJobInformer(namespace);
         } catch (Exception e) {
-            throw new TaskException("fail to register batch job watcher", e);
+            throw new TaskException("fail to start job informer", e);
         }
     }
 
@@ -105,12 +102,17 @@ public class K8sUtils {
     }
 
     public void buildClient(String configYaml) {
-        try {
-            Config config = Config.fromKubeconfig(configYaml);
-            client = new KubernetesClientBuilder().withConfig(config).build();
-        } catch (Exception e) {
-            throw new TaskException("fail to build k8s ApiClient", e);
-        }
+        releaseClient();
+        clusterClient = K8sClientPool.acquireClusterClient(configYaml);
+        client = clusterClient.getClient();
+    }
+
+    /**
+     * Release the shared client, it will be closed by the {@link K8sClientPool} once no task uses it for a while.
+     */
+    public void releaseClient() {
+        K8sClientPool.releaseClusterClient(clusterClient);
+        clusterClient = null;
     }
 
 }
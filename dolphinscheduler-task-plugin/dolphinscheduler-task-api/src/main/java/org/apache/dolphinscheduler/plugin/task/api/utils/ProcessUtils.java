@@ -31,6 +31,7 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.am.ApplicationManager;
 import org.apache.dolphinscheduler.plugin.task.api.am.KubernetesApplicationManager;
 import org.apache.dolphinscheduler.plugin.task.api.am.KubernetesApplicationManagerContext;
+import org.apache.dolphinscheduler.plugin.task.api.am.YarnApplicationManager;
 import org.apache.dolphinscheduler.plugin.task.api.am.YarnApplicationManagerContext;
 import org.apache.dolphinscheduler.plugin.task.api.enums.ResourceManagerType;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
@@ -209,6 +210,10 @@ public final class ProcessUtils {
         }
     }
 
+    public static YarnApplicationManager getYarnApplicationManager() {
+        return (YarnApplicationManager) applicationManagerMap.get(ResourceManagerType.YARN);
+    }
+
     /**
      * get k8s application status
      *
@@ -243,10 +248,4 @@ public final class ProcessUtils {
                 .getPodLogWatcher(
                         new KubernetesApplicationManagerContext(k8sTaskExecutionContext, taskAppId, containerName));
     }
-
-    public static void removeK8sClientCache(String taskAppId) {
-        KubernetesApplicationManager applicationManager =
-                (KubernetesApplicationManager) applicationManagerMap.get(ResourceManagerType.KUBERNETES);
-        applicationManager.removeCache(taskAppId);
-    }
 }
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.am;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.plugin.task.api.TaskException;
+
+import org.apache.hadoop.yarn.api.records.ApplicationId;
+import org.apache.hadoop.yarn.api.records.ApplicationReport;
+import org.apache.hadoop.yarn.api.records.YarnApplicationState;
+import org.apache.hadoop.yarn.client.api.YarnClient;
+import org.apache.hadoop.yarn.exceptions.ApplicationNotFoundException;
+import org.apache.hadoop.yarn.exceptions.YarnException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+
+class YarnApplicationClientTest {
+
+    private static final String RUNNING_APP_ID = "application_1700000000000_0001";
+
+    private static final String FINISHED_APP_ID = "application_1700000000000_0002";
+
+    private static final String UNKNOWN_APP_ID = "application_1700000000000_0003";
+
+    private YarnClient yarnClient;
+
+    private ApplicationReport runningApplicationReport;
+
+    private ApplicationReport finishedApplicationReport;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        yarnClient = mock(YarnClient.class);
+        runningApplicationReport = mock(ApplicationReport.class);
+        when(runningApplicationReport.getYarnApplicationState()).thenReturn(YarnApplicationState.RUNNING);
+        finishedApplicationReport = mock(ApplicationReport.class);
+        when(finishedApplicationReport.getYarnApplicationState()).thenReturn(YarnApplicationState.FINISHED);
+        when(yarnClient.getApplicationReport(ApplicationId.fromString(RUNNING_APP_ID)))
+                .thenReturn(runningApplicationReport);
+        when(yarnClient.getApplicationReport(ApplicationId.fromString(FINISHED_APP_ID)))
+                .thenReturn(finishedApplicationReport);
+        when(yarnClient.getApplicationReport(ApplicationId.fromString(UNKNOWN_APP_ID)))
+                .thenThrow(new ApplicationNotFoundException("not found"));
+    }
+
+    @Test
+    void testRefreshTrackedApplications_onlyTrackedApplications() throws Exception {
+        YarnApplicationClient yarnApplicationClient = new YarnApplicationClient(yarnClient, 60_000L);
+
+        yarnApplicationClient.refreshTrackedApplications();
+        verify(yarnClient, never()).getApplicationReport(ArgumentMatchers.any());
+
+        yarnApplicationClient.trackApplications(Arrays.asList(RUNNING_APP_ID, UNKNOWN_APP_ID));
+        assertThat(yarnApplicationClient.getApplicationReport(RUNNING_APP_ID)).isSameInstanceAs(
+                runningApplicationReport);
+        assertThat(yarnApplicationClient.getApplicationReport(UNKNOWN_APP_ID)).isNull();
+        assertThat(yarnApplicationClient.isApplicationUnknown(UNKNOWN_APP_ID)).isTrue();
+
+        yarnApplicationClient.refreshTrackedApplications();
+        verify(yarnClient, times(2)).getApplicationReport(ApplicationId.fromString(RUNNING_APP_ID));
+        verify(yarnClient, never()).getApplicationReport(ApplicationId.fromString(FINISHED_APP_ID));
+        verify(yarnClient, never()).getApplications(ArgumentMatchers.<EnumSet<YarnApplicationState>>any());
+
+        yarnApplicationClient.untrackApplications(Arrays.asList(RUNNING_APP_ID, UNKNOWN_APP_ID));
+        yarnApplicationClient.refreshTrackedApplications();
+        assertThat(yarnApplicationClient.getApplicationReport(RUNNING_APP_ID)).isNull();
+        assertThat(yarnApplicationClient.isApplicationUnknown(UNKNOWN_APP_ID)).isFalse();
+        verify(yarnClient, times(2)).getApplicationReport(ApplicationId.fromString(RUNNING_APP_ID));
+    }
+
+    @Test
+    void testKillApplications_skipFinishedApplications() throws Exception {
+        YarnApplicationClient yarnApplicationClient = new YarnApplicationClient(yarnClient, 60_000L);
+        yarnApplicationClient.trackApplications(Arrays.asList(RUNNING_APP_ID, FINISHED_APP_ID));
+
+        yarnApplicationClient.killApplications(Arrays.asList(RUNNING_APP_ID, FINISHED_APP_ID, UNKNOWN_APP_ID));
+        verify(yarnClient).killApplication(ApplicationId.fromString(RUNNING_APP_ID));
+        verify(yarnClient).killApplication(ApplicationId.fromString(UNKNOWN_APP_ID));
+        verify(yarnClient, never()).killApplication(ApplicationId.fromString(FINISHED_APP_ID));
+        verify(yarnClient, never()).getApplications(ArgumentMatchers.<EnumSet<YarnApplicationState>>any());
+    }
+
+    @Test
+    void testKillApplications_failed() throws Exception {
+        YarnApplicationClient yarnApplicationClient = new YarnApplicationClient(yarnClient, 60_000L);
+        doThrow(new YarnException("kill failed")).when(yarnClient)
+                .killApplication(ApplicationId.fromString(RUNNING_APP_ID));
+
+        TaskException taskException = assertThrows(TaskException.class,
+                () -> yarnApplicationClient.killApplications(Collections.singletonList(RUNNING_APP_ID)));
+        assertThat(taskException).hasMessageThat().contains(RUNNING_APP_ID);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.am;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.hadoop.yarn.api.records.ApplicationId;
+import org.apache.hadoop.yarn.api.records.ApplicationReport;
+import org.apache.hadoop.yarn.api.records.FinalApplicationStatus;
+import org.apache.hadoop.yarn.api.records.YarnApplicationState;
+import org.apache.hadoop.yarn.client.api.YarnClient;
+
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class YarnApplicationManagerTest {
+
+    private static final String APP_ID = "application_1700000000000_0001";
+
+    @Test
+    void testAwaitApplicationsFinished_succeeded() throws Exception {
+        YarnApplicationClient yarnApplicationClient = new YarnApplicationClient(
+                mockYarnClient(FinalApplicationStatus.SUCCEEDED), 10L);
+
+        assertThat(awaitApplicationsFinished(yarnApplicationClient)).isTrue();
+        assertThat(yarnApplicationClient.getApplicationReport(APP_ID)).isNull();
+    }
+
+    @Test
+    void testAwaitApplicationsFinished_failed() throws Exception {
+        YarnApplicationClient yarnApplicationClient = new YarnApplicationClient(
+                mockYarnClient(FinalApplicationStatus.FAILED), 10L);
+
+        assertThat(awaitApplicationsFinished(yarnApplicationClient)).isFalse();
+    }
+
+    private boolean awaitApplicationsFinished(YarnApplicationClient yarnApplicationClient) throws Exception {
+        YarnApplicationManager yarnApplicationManager = new YarnApplicationManager(yarnApplicationClient);
+        // refresh the reports like the scheduled refresher of the in-process yarn client
+        ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor();
+        refresher.scheduleWithFixedDelay(yarnApplicationClient::refreshTrackedApplications, 10, 10,
+                TimeUnit.MILLISECONDS);
+        try {
+            return yarnApplicationManager.awaitApplicationsFinished(Collections.singletonList(APP_ID));
+        } finally {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * The application is running in the first report and finished in the later reports.
+     */
+    private YarnClient mockYarnClient(FinalApplicationStatus finalApplicationStatus) throws Exception {
+        ApplicationReport runningApplicationReport = mock(ApplicationReport.class);
+        when(runningApplicationReport.getYarnApplicationState()).thenReturn(YarnApplicationState.RUNNING);
+        when(runningApplicationReport.getFinalApplicationStatus()).thenReturn(FinalApplicationStatus.UNDEFINED);
+        ApplicationReport finishedApplicationReport = mock(ApplicationReport.class);
+        when(finishedApplicationReport.getYarnApplicationState()).thenReturn(YarnApplicationState.FINISHED);
+        when(finishedApplicationReport.getFinalApplicationStatus()).thenReturn(finalApplicationStatus);
+        YarnClient yarnClient = mock(YarnClient.class);
+        when(yarnClient.getApplicationReport(ApplicationId.fromString(APP_ID)))
+                .thenReturn(runningApplicationReport, finishedApplicationReport);
+        return yarnClient;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.k8s;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class K8sClientPoolTest {
+
+    private static final String CONFIG_YAML = "apiVersion: v1\n"
+            + "kind: Config\n"
+            + "clusters:\n"
+            + "- name: test\n"
+            + "  cluster:\n"
+            + "    server: https://127.0.0.1:6443\n"
+            + "contexts:\n"
+            + "- name: test\n"
+            + "  context:\n"
+            + "    cluster: test\n"
+            + "    user: test\n"
+            + "current-context: test\n"
+            + "users:\n"
+            + "- name: test\n"
+            + "  user:\n"
+            + "    token: test\n";
+
+    @AfterEach
+    void tearDown() {
+        K8sClientPool.closeAll();
+    }
+
+    @Test
+    void testAcquireClusterClient_sharedBySameCluster() {
+        final K8sClusterClient clusterClient1 = K8sClientPool.acquireClusterClient(CONFIG_YAML);
+        final K8sClusterClient clusterClient2 = K8sClientPool.acquireClusterClient(CONFIG_YAML);
+
+        assertThat(clusterClient2).isSameInstanceAs(clusterClient1);
+        assertThat(K8sClientPool.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testEvictIdleClusterClients_onlyEvictUnreferencedClient() {
+        final K8sClusterClient clusterClient = K8sClientPool.acquireClusterClient(CONFIG_YAML);
+        final long afterIdleTimeout = System.currentTimeMillis() + K8sClientPool.IDLE_TIMEOUT_MILLIS + 1;
+
+        K8sClientPool.evictIdleClusterClients(afterIdleTimeout);
+        assertThat(K8sClientPool.size()).isEqualTo(1);
+
+        K8sClientPool.releaseClusterClient(clusterClient);
+        K8sClientPool.evictIdleClusterClients(System.currentTimeMillis());
+        assertThat(K8sClientPool.size()).isEqualTo(1);
+
+        K8sClientPool.evictIdleClusterClients(afterIdleTimeout);
+        assertThat(K8sClientPool.size()).isEqualTo(0);
+        assertThat(K8sClientPool.acquireClusterClient(CONFIG_YAML)).isNotSameInstanceAs(clusterClient);
+    }
+
+    @Test
+    void testReleaseClusterClient_referenceCountNotBelowZero() {
+        final K8sClusterClient clusterClient = K8sClientPool.acquireClusterClient(CONFIG_YAML);
+        K8sClientPool.releaseClusterClient(clusterClient);
+        K8sClientPool.releaseClusterClient(clusterClient);
+
+        assertThat(K8sClientPool.acquireClusterClient(CONFIG_YAML)).isSameInstanceAs(clusterClient);
+        K8sClientPool.evictIdleClusterClients(System.currentTimeMillis() + K8sClientPool.IDLE_TIMEOUT_MILLIS + 1);
+        assertThat(K8sClientPool.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testCloseAll() {
+        K8sClientPool.acquireClusterClient(CONFIG_YAML);
+
+        K8sClientPool.closeAll();
+        assertThat(K8sClientPool.size()).isEqualTo(0);
+    }
+}
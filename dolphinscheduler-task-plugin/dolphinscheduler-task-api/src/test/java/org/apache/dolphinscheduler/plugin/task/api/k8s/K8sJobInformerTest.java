@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.k8s;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.LAYER_LABEL;
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.LAYER_LABEL_VALUE;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.plugin.task.api.TaskException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.batch.v1.JobBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.cache.Store;
+
+class K8sJobInformerTest {
+
+    private static final String NAMESPACE = "default";
+
+    private Store<Job> store;
+
+    private K8sJobInformer k8sJobInformer;
+
+    @BeforeEach
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void setUp() {
+        final KubernetesClient client = mock(KubernetesClient.class, RETURNS_DEEP_STUBS);
+        final MixedOperation jobs = mock(MixedOperation.class);
+        final NonNamespaceOperation namespacedJobs = mock(NonNamespaceOperation.class);
+        final FilterWatchListDeletable labeledJobs = mock(FilterWatchListDeletable.class);
+        final SharedIndexInformer<Job> informer = mock(SharedIndexInformer.class);
+        store = mock(Store.class);
+        when(client.batch().v1().jobs()).thenReturn(jobs);
+        when(jobs.inNamespace(NAMESPACE)).thenReturn(namespacedJobs);
+        when(namespacedJobs.withLabel(LAYER_LABEL, LAYER_LABEL_VALUE)).thenReturn(labeledJobs);
+        when(labeledJobs.inform(any(), anyLong())).thenReturn(informer);
+        when(informer.getStore()).thenReturn(store);
+        k8sJobInformer = new K8sJobInformer(client, NAMESPACE);
+    }
+
+    @Test
+    void testWatchJob_jobFinishedAfterWatch() throws Exception {
+        final CompletableFuture<Job> jobFinishedFuture = k8sJobInformer.watchJob("job1");
+
+        k8sJobInformer.onUpdate(createJob("job1", null), createJob("job2", 1));
+        assertThat(jobFinishedFuture.isDone()).isFalse();
+
+        k8sJobInformer.onUpdate(createJob("job1", null), createJob("job1", 1));
+        assertThat(jobFinishedFuture.get().getStatus().getSucceeded()).isEqualTo(1);
+    }
+
+    @Test
+    void testWatchJob_jobFinishedBeforeWatch() {
+        when(store.getByKey(NAMESPACE + "/job1")).thenReturn(createJob("job1", 1));
+
+        assertThat(k8sJobInformer.watchJob("job1").isDone()).isTrue();
+    }
+
+    @Test
+    void testWatchJob_jobDeleted() {
+        final CompletableFuture<Job> jobFinishedFuture = k8sJobInformer.watchJob("job1");
+
+        k8sJobInformer.onDelete(createJob("job1", null), false);
+        final ExecutionException executionException = assertThrows(ExecutionException.class, jobFinishedFuture::get);
+        assertThat(executionException).hasCauseThat().isInstanceOf(TaskException.class);
+    }
+
+    @Test
+    void testUnwatchJob() {
+        final CompletableFuture<Job> jobFinishedFuture = k8sJobInformer.watchJob("job1");
+        k8sJobInformer.unwatchJob("job1");
+
+        k8sJobInformer.onUpdate(createJob("job1", null), createJob("job1", 1));
+        assertThat(jobFinishedFuture.isDone()).isFalse();
+    }
+
+    private Job createJob(String jobName, Integer succeeded) {
+        return new JobBuilder()
+                .withNewMetadata()
+                .withName(jobName)
+                .withNamespace(NAMESPACE)
+                .endMetadata()
+                .withNewStatus()
+                .withSucceeded(succeeded)
+                .endStatus()
+                .build();
+    }
+}
@@ -83,16 +83,4 @@ public class ProcessUtilsTest {
         String actualPidsStr3 = ProcessUtils.getPidsStr(processId3);
         Assertions.assertEquals(exceptPidsStr3, actualPidsStr3);
     }
-
-    @Test
-    public void tetRemoveK8sClientCache() {
-        Assertions.assertDoesNotThrow(() -> {
-            ProcessUtils.removeK8sClientCache("a");
-        });
-
-        Assertions.assertThrows(Exception.class, () -> {
-            ProcessUtils.removeK8sClientCache(null);
-        });
-    }
-
 }
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import { onBeforeUnmount } from 'vue'
+import { tailLog } from '@/service/modules/log'
+
+// Only the latest lines are kept, so tailing a long running task does not grow the log without bound
+const MAX_LOG_LINES = 1000
+
+interface LogTailVariables {
+  logRef: string
+  logLoadingRef: boolean
+}
+
+/**
+ * Receive the appended log of the task instance from the server instead of reading the whole log again in every
+ * refresh, the fallback is called once the server rejects the subscription.
+ */
+export function useLogTail(variables: LogTailVariables) {
+  let logEventSource: EventSource | undefined
+
+  const appendLog = (content: string) => {
+    if (!content) return
+    const lines = (variables.logRef + content).split('\n')
+    // The content ends with a line break, so the last element is empty
+    variables.logRef =
+      lines.length > MAX_LOG_LINES + 1
+        ? lines.slice(lines.length - MAX_LOG_LINES - 1).join('\n')
+        : variables.logRef + content
+  }
+
+  const closeLogTail = () => {
+    if (logEventSource) {
+      logEventSource.close()
+      logEventSource = undefined
+    }
+  }
+
+  const tailLogs = (taskInstanceId: number, fallback: () => void) => {
+    closeLogTail()
+    variables.logRef = ''
+    variables.logLoadingRef = true
+    const eventSource = tailLog({ taskInstanceId })
+    eventSource.addEventListener('log', (event: MessageEvent) => {
+      appendLog(JSON.parse(event.data).content || '')
+      variables.logLoadingRef = false
+    })
+    eventSource.addEventListener('end', () => {
+      variables.logLoadingRef = false
+      closeLogTail()
+    })
+    eventSource.onerror = () => {
+      // The browser reconnects by itself unless the server rejects the subscription
+      if (eventSource.readyState === EventSource.CLOSED) {
+        closeLogTail()
+        variables.logRef = ''
+        fallback()
+      }
+    }
+    logEventSource = eventSource
+  }
+
+  onBeforeUnmount(closeLogTail)
+
+  return { tailLogs, closeLogTail }
+}
@@ -33,3 +33,19 @@ export function downloadTaskLog(params: IdReq): any {
     params
   })
 }
+
+/**
+ * Tail the log of the task instance by server-sent events, each 'log' event carries the appended content and the
+ * browser resumes from the byte offset of the last event once reconnected, the 'end' event is sent once the task
+ * instance is finished.
+ */
+export function tailLog(params: IdReq): EventSource {
+  const baseURL =
+    import.meta.env.MODE === 'development'
+      ? '/dolphinscheduler'
+      : import.meta.env.VITE_APP_PROD_WEB_URL + '/dolphinscheduler'
+  return new EventSource(
+    `${baseURL}/log/tail?taskInstanceId=${params.taskInstanceId}`,
+    { withCredentials: true }
+  )
+}
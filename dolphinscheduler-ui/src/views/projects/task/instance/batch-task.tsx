@@ -40,6 +40,7 @@ import { queryLog } from '@/service/modules/log'
 import { stateType } from '@/common/common'
 import { useUISettingStore } from '@/store/ui-setting/ui-setting'
 import Card from '@/components/card'
+import { useLogTail } from '@/components/log-modal/use-log-tail'
 import LogModal from '@/components/log-modal'
 import totalCount from '@/utils/tableTotalCount'
 
@@ -150,7 +151,21 @@ const BatchTaskInstance = defineComponent({
       return state
     }
 
+    const { tailLogs: tailTaskLogs, closeLogTail } = useLogTail(variables)
+
+    const tailLogs = (row: any) => {
+      tailTaskLogs(Number(row.id), () => {
+        variables.limit = 1000
+        variables.skipLineNum = 0
+        getLogs(row, 0)
+      })
+    }
+
     const refreshLogs = (row: any) => {
+      if (logTimer !== 0) {
+        tailLogs(row)
+        return
+      }
       variables.logRef = ''
       variables.limit = 1000
       variables.skipLineNum = 0
@@ -172,8 +187,13 @@ const BatchTaskInstance = defineComponent({
       () => variables.showModalRef,
       () => {
         if (variables.showModalRef) {
-          getLogs(variables.row, logTimer)
+          if (logTimer !== 0) {
+            tailLogs(variables.row)
+          } else {
+            getLogs(variables.row, logTimer)
+          }
         } else {
+          closeLogTail()
           variables.row = {}
           variables.logRef = ''
           variables.logLoadingRef = true
@@ -51,6 +51,7 @@ import ContextMenuItem from './dag-context-menu'
 import TaskModal from '@/views/projects/task/components/node/detail-modal'
 import StartModal from '@/views/projects/workflow/definition/components/start-modal'
 import LogModal from '@/components/log-modal'
+import { useLogTail } from '@/components/log-modal/use-log-tail'
 import './x6-style.scss'
 import { queryLog } from '@/service/modules/log'
 import { useAsyncState } from '@vueuse/core'
@@ -247,7 +248,21 @@ export default defineComponent({
       taskModalVisible.value = false
       viewLog(taskId, taskType)
 
-      getLogs(logTimer)
+      if (logTimer !== 0) {
+        tailLogs()
+      } else {
+        getLogs(logTimer)
+      }
+    }
+
+    const { tailLogs: tailTaskLogs, closeLogTail } = useLogTail(nodeVariables)
+
+    const tailLogs = () => {
+      tailTaskLogs(nodeVariables.logTaskId, () => {
+        nodeVariables.limit = 1000
+        nodeVariables.skipLineNum = 0
+        getLogs(0)
+      })
     }
 
     let getLogsID: number
@@ -285,6 +300,10 @@ export default defineComponent({
     }
 
     const refreshLogs = (logTimer: number) => {
+      if (logTimer !== 0) {
+        tailLogs()
+        return
+      }
       nodeVariables.logRef = ''
       nodeVariables.limit = 1000
       nodeVariables.skipLineNum = 0
@@ -357,6 +376,7 @@ export default defineComponent({
       () => nodeVariables.showModalRef,
       () => {
         if (!nodeVariables.showModalRef) {
+          closeLogTail()
           nodeVariables.row = {}
           nodeVariables.logRef = ''
           nodeVariables.logLoadingRef = true
@@ -28,6 +28,7 @@ import org.apache.dolphinscheduler.meter.metrics.SystemMetrics;
 import org.apache.dolphinscheduler.plugin.datasource.api.plugin.DataSourceProcessorProvider;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageConfiguration;
 import org.apache.dolphinscheduler.plugin.task.api.TaskPluginManager;
+import org.apache.dolphinscheduler.plugin.task.api.k8s.K8sClientPool;
 import org.apache.dolphinscheduler.registry.api.RegistryConfiguration;
 import org.apache.dolphinscheduler.server.worker.executor.PhysicalTaskEngineDelegator;
 import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
@@ -84,11 +85,12 @@ public class WorkerServer implements IStoppable {
 
         DataSourceProcessorProvider.initialize();
 
+        // Recover from the journal before registering, the master will failover the tasks once the worker registered
+        this.physicalTaskEngineDelegator.start();
+
         this.workerRegistryClient.setRegistryStoppable(this);
         this.workerRegistryClient.start();
 
-        this.physicalTaskEngineDelegator.start();
-
         WorkerServerMetrics.registerWorkerCpuUsageGauge(() -> {
             SystemMetrics systemMetrics = metricsProvider.getSystemMetrics();
             return systemMetrics.getSystemCpuUsagePercentage();
@@ -127,6 +129,9 @@ public class WorkerServer implements IStoppable {
         } catch (Exception e) {
             log.error("Worker server stop failed, current cause: {}", cause, e);
             return;
+        } finally {
+            // The k8s tasks are stopped together with the task engine, close the k8s clients shared by them
+            K8sClientPool.closeAll();
         }
         log.info("Worker server stopped, current cause: {}", cause);
     }
@@ -24,4 +24,14 @@ public class PhysicalTaskConfig {
 
     private int taskExecutorThreadSize = Runtime.getRuntime().availableProcessors() * 2 + 1;
 
+    /**
+     * The cpu quota(percentage of a core) which can be allocated to the tasks declaring cpu quota, -1 means not limited.
+     */
+    private int cpuQuotaCapacity = -1;
+
+    /**
+     * The memory(MB) which can be allocated to the tasks declaring max memory, -1 means not limited.
+     */
+    private int memoryMaxCapacity = -1;
+
 }
@@ -56,6 +56,10 @@ public class WorkerConfig implements Validator {
 
     private PhysicalTaskConfig physicalTaskConfig = new PhysicalTaskConfig();
 
+    private WorkerLoadReportConfig loadReportConfig = new WorkerLoadReportConfig();
+
+    private WorkerJournalConfig journalConfig = new WorkerJournalConfig();
+
     @Override
     public boolean supports(Class<?> clazz) {
         return WorkerConfig.class.isAssignableFrom(clazz);
@@ -67,6 +71,20 @@ public class WorkerConfig implements Validator {
         if (workerConfig.getMaxHeartbeatInterval().getSeconds() <= 0) {
             errors.rejectValue("max-heartbeat-interval", null, "shoule be a valid duration");
         }
+        WorkerLoadReportConfig loadReportConfig = workerConfig.getLoadReportConfig();
+        if (loadReportConfig.getReportInterval().toMillis() <= 0) {
+            errors.rejectValue("load-report-config.report-interval", null, "should be a valid duration");
+        }
+        if (loadReportConfig.getFullReportInterval().compareTo(loadReportConfig.getReportInterval()) < 0) {
+            errors.rejectValue("load-report-config.full-report-interval", null,
+                    "should be greater than report-interval");
+        }
+        if (workerConfig.getJournalConfig().getCompactInterval().toMillis() <= 0) {
+            errors.rejectValue("journal-config.compact-interval", null, "should be a valid duration");
+        }
+        if (workerConfig.getJournalConfig().getFsyncInterval().toMillis() <= 0) {
+            errors.rejectValue("journal-config.fsync-interval", null, "should be a valid duration");
+        }
         if (StringUtils.isEmpty(workerConfig.getWorkerAddress())) {
             workerConfig.setWorkerAddress(NetUtils.getAddr(workerConfig.getListenPort()));
         }
@@ -92,6 +110,8 @@ public class WorkerConfig implements Validator {
                         "\n  address -> " + workerAddress +
                         "\n  registry-path: " + workerRegistryPath +
                         "\n  physical-task-config -> " + physicalTaskConfig +
+                        "\n  load-report-config -> " + loadReportConfig +
+                        "\n  journal-config -> " + journalConfig +
                         "\n  group -> " + group +
                         "\n****************************Worker Configuration**************************************";
         log.info(config);
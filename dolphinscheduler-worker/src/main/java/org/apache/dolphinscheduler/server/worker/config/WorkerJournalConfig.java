@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.config;
+
+import org.apache.dolphinscheduler.common.utils.FileUtils;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+/**
+ * The worker journals the physical task executors and their unacknowledged lifecycle events into a local file, so that
+ * the events of the finished tasks can be resent to the master after the worker restarts.
+ */
+@Data
+public class WorkerJournalConfig {
+
+    private boolean enabled = true;
+
+    private String journalDir = FileUtils.DATA_BASEDIR + "/journal";
+
+    /**
+     * The interval to rewrite the journal with only the running executors and the unacknowledged events.
+     */
+    private Duration compactInterval = Duration.ofMinutes(10);
+
+    /**
+     * How the appended records are flushed to the disk, see {@link FsyncPolicy}.
+     */
+    private FsyncPolicy fsyncPolicy = FsyncPolicy.GROUP;
+
+    /**
+     * The interval to flush the appended records to the disk, only used by {@link FsyncPolicy#INTERVAL}.
+     */
+    private Duration fsyncInterval = Duration.ofSeconds(1);
+
+    public enum FsyncPolicy {
+        /**
+         * The append returns after the record is flushed, the records appended concurrently are flushed by one fsync.
+         */
+        GROUP,
+        /**
+         * The append returns once the record is written, the records are flushed in every fsync-interval, so the
+         * records of the latest interval might be lost if the machine crashes.
+         */
+        INTERVAL,
+        ;
+    }
+
+}
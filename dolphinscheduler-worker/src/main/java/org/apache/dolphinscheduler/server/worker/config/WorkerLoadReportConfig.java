@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+/**
+ * The worker streams its load to the masters by rpc, so that the masters can dispatch tasks by the near-real-time
+ * load, the liveness of the worker is still maintained by the heartbeat in registry.
+ */
+@Data
+public class WorkerLoadReportConfig {
+
+    private boolean enabled = true;
+
+    private Duration reportInterval = Duration.ofMillis(500);
+
+    /**
+     * The interval to send a full snapshot of the load and refresh the master list, the reports between two full
+     * snapshots only carry the changed fields.
+     */
+    private Duration fullReportInterval = Duration.ofSeconds(10);
+
+    /**
+     * The usage which changed less than this value will not be reported until the next full snapshot.
+     */
+    private double minUsageChange = 0.01;
+
+    /**
+     * The interval to write the heartbeat into registry while all the masters accept the streamed load, the heartbeat
+     * in registry is only used as the fallback of the streamed load, otherwise max-heartbeat-interval is used.
+     */
+    private Duration registryHeartbeatInterval = Duration.ofSeconds(60);
+
+}
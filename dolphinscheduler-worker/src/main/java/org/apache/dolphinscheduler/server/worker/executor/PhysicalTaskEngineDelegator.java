@@ -39,19 +39,24 @@ public class PhysicalTaskEngineDelegator implements AutoCloseable {
 
     private final PhysicalTaskExecutorRepository physicalTaskExecutorRepository;
 
+    private final PhysicalTaskExecutorJournal physicalTaskExecutorJournal;
+
     public PhysicalTaskEngineDelegator(final PhysicalTaskEngineFactory physicalTaskEngineFactory,
                                        final PhysicalTaskExecutorFactory physicalTaskExecutorFactory,
                                        final PhysicalTaskExecutorRepository physicalTaskExecutorRepository,
-                                       final PhysicalTaskExecutorLifecycleEventReporter physicalTaskExecutorEventReporter) {
+                                       final PhysicalTaskExecutorLifecycleEventReporter physicalTaskExecutorEventReporter,
+                                       final PhysicalTaskExecutorJournal physicalTaskExecutorJournal) {
         this.physicalTaskExecutorFactory = physicalTaskExecutorFactory;
         this.taskEngine = physicalTaskEngineFactory.createTaskEngine();
         this.physicalTaskExecutorRepository = physicalTaskExecutorRepository;
         this.physicalTaskExecutorEventReporter = physicalTaskExecutorEventReporter;
+        this.physicalTaskExecutorJournal = physicalTaskExecutorJournal;
     }
 
     public void start() {
         taskEngine.start();
         physicalTaskExecutorEventReporter.start();
+        physicalTaskExecutorJournal.start(physicalTaskExecutorEventReporter);
         log.info("PhysicalTaskEngineDelegator started");
     }
 
@@ -84,5 +89,6 @@ public class PhysicalTaskEngineDelegator implements AutoCloseable {
     @Override
     public void close() {
         taskEngine.close();
+        physicalTaskExecutorJournal.close();
     }
 }
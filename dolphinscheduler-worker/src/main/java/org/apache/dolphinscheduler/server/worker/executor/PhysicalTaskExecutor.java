@@ -88,7 +88,21 @@ public class PhysicalTaskExecutor extends AbstractTaskExecutor {
 
     @Override
     protected TaskExecutorState doTrackTaskPluginStatus() {
-        return TaskExecutorStateMappings.mapState(physicalTask.getExitStatus());
+        final TaskExecutorState taskExecutorState = TaskExecutorStateMappings.mapState(physicalTask.getExitStatus());
+        if (taskExecutorState != TaskExecutorState.SUCCEEDED) {
+            return taskExecutorState;
+        }
+        try {
+            // The resource path of the output files is grouped by the end time
+            taskExecutionContext.setEndTime(System.currentTimeMillis());
+            TaskFilesTransferUtils.uploadOutputFiles(taskExecutionContext, storageOperator);
+            log.info("Upload output files: {} successfully",
+                    TaskFilesTransferUtils.getFileLocalParams(taskExecutionContext, Direct.OUT));
+            return taskExecutorState;
+        } catch (Exception ex) {
+            log.error("Upload output files failed, the task will be failed", ex);
+            return TaskExecutorState.FAILED;
+        }
     }
 
     @Override
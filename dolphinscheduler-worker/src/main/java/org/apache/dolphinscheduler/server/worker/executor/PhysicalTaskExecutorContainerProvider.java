@@ -34,6 +34,8 @@ public class PhysicalTaskExecutorContainerProvider implements ITaskExecutorConta
         final TaskExecutorContainerConfig containerConfig = TaskExecutorContainerConfig.builder()
                 .containerName("exclusive-task-executor-container")
                 .taskExecutorThreadPoolSize(workerConfig.getPhysicalTaskConfig().getTaskExecutorThreadSize())
+                .cpuQuotaCapacity(workerConfig.getPhysicalTaskConfig().getCpuQuotaCapacity())
+                .memoryMaxCapacity(workerConfig.getPhysicalTaskConfig().getMemoryMaxCapacity())
                 .build();
         this.taskExecutorContainer = new ExclusiveThreadTaskExecutorContainer(containerConfig);
     }
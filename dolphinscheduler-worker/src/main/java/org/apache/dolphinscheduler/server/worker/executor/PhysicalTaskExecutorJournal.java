@@ -0,0 +1,539 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.executor;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.common.utils.OSUtils;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.utils.ProcessUtils;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.config.WorkerJournalConfig;
+import org.apache.dolphinscheduler.task.executor.events.IReportableTaskExecutorLifecycleEvent;
+import org.apache.dolphinscheduler.task.executor.events.TaskExecutorLifecycleEventType;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * An append-only journal of the physical task executors and their unacknowledged lifecycle events.
+ * <p> When the worker restarts, the unacknowledged events of the finished tasks are resent to the master, then the
+ * master can take over these tasks rather than failover and re-run them. The journal is compacted to the running
+ * executors and the unacknowledged events periodically.
+ * <p> The records are written under the lock and flushed out of it, the records appended concurrently are flushed by
+ * one fsync, see {@link WorkerJournalConfig.FsyncPolicy}.
+ */
+@Slf4j
+@Component
+public class PhysicalTaskExecutorJournal implements AutoCloseable {
+
+    static final String JOURNAL_FILE_NAME = "physical-task-executor.journal";
+
+    private static final Set<TaskExecutorLifecycleEventType> FINAL_EVENT_TYPES = EnumSet.of(
+            TaskExecutorLifecycleEventType.SUCCESS,
+            TaskExecutorLifecycleEventType.FAILED,
+            TaskExecutorLifecycleEventType.KILLED,
+            TaskExecutorLifecycleEventType.PAUSED);
+
+    private final WorkerJournalConfig journalConfig;
+
+    private final Path journalFile;
+
+    // The content of the journal after compaction
+    private final Map<Integer, TaskExecutionContext> taskExecutionContexts = new LinkedHashMap<>();
+
+    private final Map<Integer, List<IReportableTaskExecutorLifecycleEvent>> unAckedEvents = new LinkedHashMap<>();
+
+    private boolean started;
+
+    private FileChannel journalChannel;
+
+    // The sequence of the latest record written into the journal
+    private long appendedSequence;
+
+    // The sequence of the latest record flushed to the disk
+    private final AtomicLong forcedSequence = new AtomicLong();
+
+    // Only one thread flushes the journal at a time, the others wait for it and might be covered by its fsync
+    private final Object forceLock = new Object();
+
+    private ScheduledExecutorService journalExecutor;
+
+    public PhysicalTaskExecutorJournal(final WorkerConfig workerConfig) {
+        this.journalConfig = workerConfig.getJournalConfig();
+        this.journalFile = Paths.get(journalConfig.getJournalDir(), JOURNAL_FILE_NAME);
+    }
+
+    /**
+     * Replay the journal left by the last run of the worker and resend the unacknowledged events of the finished tasks.
+     * <p> The executors which were still running cannot be reattached, since their exit code and output are lost with
+     * the worker, so their process tree and remote applications are killed and their events are dropped, then the
+     * master failover will re-run them.
+     */
+    public synchronized void start(final PhysicalTaskExecutorLifecycleEventReporter physicalTaskExecutorEventReporter) {
+        if (!journalConfig.isEnabled()) {
+            log.info("PhysicalTaskExecutorJournal is disabled");
+            return;
+        }
+        try {
+            Files.createDirectories(journalFile.getParent());
+            replay();
+            recover(physicalTaskExecutorEventReporter);
+            started = true;
+            compact();
+        } catch (IOException e) {
+            throw new IllegalStateException("Start PhysicalTaskExecutorJournal: " + journalFile + " failed", e);
+        }
+        final long compactInterval = journalConfig.getCompactInterval().toMillis();
+        journalExecutor = ThreadUtils.newSingleDaemonScheduledExecutorService("PhysicalTaskExecutorJournal");
+        journalExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                compact();
+            } catch (Throwable e) {
+                log.error("Compact PhysicalTaskExecutorJournal: {} failed", journalFile, e);
+            }
+        }, compactInterval, compactInterval, TimeUnit.MILLISECONDS);
+        if (journalConfig.getFsyncPolicy() == WorkerJournalConfig.FsyncPolicy.INTERVAL) {
+            final long fsyncInterval = journalConfig.getFsyncInterval().toMillis();
+            journalExecutor.scheduleWithFixedDelay(this::forceAppended, fsyncInterval, fsyncInterval,
+                    TimeUnit.MILLISECONDS);
+        }
+        log.info("PhysicalTaskExecutorJournal: {} started", journalFile);
+    }
+
+    /**
+     * Journal the fields of the executor which are used to kill the orphan task after the worker restarts, the whole
+     * {@link TaskExecutionContext} is not journaled since its params and resources might be large.
+     */
+    public void journalTaskExecutor(final TaskExecutionContext taskExecutionContext) {
+        append(JournalRecord.builder()
+                .type(JournalRecordType.EXECUTOR)
+                .taskInstanceId(taskExecutionContext.getTaskInstanceId())
+                .taskExecutionContext(toJournaledTaskExecutionContext(taskExecutionContext))
+                .build());
+    }
+
+    public void journalTaskExecutorRemoved(final int taskInstanceId) {
+        append(JournalRecord.builder()
+                .type(JournalRecordType.EXECUTOR_REMOVED)
+                .taskInstanceId(taskInstanceId)
+                .build());
+    }
+
+    public void journalEventReported(final IReportableTaskExecutorLifecycleEvent event) {
+        append(JournalRecord.builder()
+                .type(JournalRecordType.EVENT_REPORTED)
+                .taskInstanceId(event.getTaskInstanceId())
+                .eventClass(event.getClass().getName())
+                .event(JSONUtils.toJsonString(event))
+                .build());
+    }
+
+    public void journalEventAcked(final int taskInstanceId, final TaskExecutorLifecycleEventType eventType) {
+        append(JournalRecord.builder()
+                .type(JournalRecordType.EVENT_ACKED)
+                .taskInstanceId(taskInstanceId)
+                .eventType(eventType)
+                .build());
+    }
+
+    public void journalWorkflowInstanceHostReassigned(final int taskInstanceId, final String workflowInstanceHost) {
+        append(JournalRecord.builder()
+                .type(JournalRecordType.WORKFLOW_INSTANCE_HOST_REASSIGNED)
+                .taskInstanceId(taskInstanceId)
+                .workflowInstanceHost(workflowInstanceHost)
+                .build());
+    }
+
+    /**
+     * Rewrite the journal with the running executors and the unacknowledged events.
+     */
+    @VisibleForTesting
+    synchronized void compact() throws IOException {
+        final Path compactingFile = journalFile.resolveSibling(JOURNAL_FILE_NAME + ".compacting");
+        try (
+                FileChannel compactingChannel = FileChannel.open(compactingFile,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (TaskExecutionContext taskExecutionContext : taskExecutionContexts.values()) {
+                write(compactingChannel, JournalRecord.builder()
+                        .type(JournalRecordType.EXECUTOR)
+                        .taskInstanceId(taskExecutionContext.getTaskInstanceId())
+                        .taskExecutionContext(taskExecutionContext)
+                        .build());
+            }
+            for (List<IReportableTaskExecutorLifecycleEvent> events : unAckedEvents.values()) {
+                for (IReportableTaskExecutorLifecycleEvent event : events) {
+                    write(compactingChannel, JournalRecord.builder()
+                            .type(JournalRecordType.EVENT_REPORTED)
+                            .taskInstanceId(event.getTaskInstanceId())
+                            .eventClass(event.getClass().getName())
+                            .event(JSONUtils.toJsonString(event))
+                            .build());
+                }
+            }
+            compactingChannel.force(true);
+        }
+        closeJournalChannel();
+        try {
+            Files.move(compactingFile, journalFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            // The compacted journal contains all the records appended before, and it is flushed
+            forcedSequence.accumulateAndGet(appendedSequence, Math::max);
+        } finally {
+            // Reopen the journal even if the move failed, the origin journal is still complete
+            openJournalChannel();
+        }
+        log.debug("Compacted PhysicalTaskExecutorJournal: {}, executors: {}, unAckedEvents: {}",
+                journalFile, taskExecutionContexts.size(), unAckedEvents.size());
+    }
+
+    @VisibleForTesting
+    synchronized Map<Integer, TaskExecutionContext> getTaskExecutionContexts() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(taskExecutionContexts));
+    }
+
+    @VisibleForTesting
+    synchronized Map<Integer, List<IReportableTaskExecutorLifecycleEvent>> getUnAckedEvents() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(unAckedEvents));
+    }
+
+    @VisibleForTesting
+    synchronized long getAppendedSequence() {
+        return appendedSequence;
+    }
+
+    @VisibleForTesting
+    long getForcedSequence() {
+        return forcedSequence.get();
+    }
+
+    /**
+     * Flush all the records appended so far to the disk.
+     */
+    @VisibleForTesting
+    void forceAppended() {
+        final long sequence;
+        synchronized (this) {
+            sequence = appendedSequence;
+        }
+        force(sequence);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (journalExecutor != null) {
+            journalExecutor.shutdownNow();
+        }
+        started = false;
+        closeJournalChannel();
+        log.info("PhysicalTaskExecutorJournal: {} closed", journalFile);
+    }
+
+    private void append(final JournalRecord journalRecord) {
+        // Serialize the record out of the lock, the lock only guards the state and the write
+        final ByteBuffer byteBuffer = serialize(journalRecord);
+        final long sequence;
+        synchronized (this) {
+            if (!started) {
+                return;
+            }
+            // The state is always applied, the records failed to append will be written by the next compaction
+            apply(journalRecord);
+            if (journalChannel == null && !openJournalChannel()) {
+                return;
+            }
+            try {
+                write(journalChannel, byteBuffer);
+                sequence = ++appendedSequence;
+            } catch (IOException e) {
+                // The journal only helps the failover, so the task should not be affected
+                log.error("Append {} to PhysicalTaskExecutorJournal: {} failed", journalRecord.getType(), journalFile,
+                        e);
+                return;
+            }
+        }
+        if (journalConfig.getFsyncPolicy() == WorkerJournalConfig.FsyncPolicy.GROUP) {
+            force(sequence);
+        }
+    }
+
+    /**
+     * Flush the journal until the record of the given sequence is on the disk, the fsync is out of the lock of the
+     * journal so the other threads can keep appending, and their records are flushed by the next fsync together.
+     */
+    private void force(final long sequence) {
+        synchronized (forceLock) {
+            while (forcedSequence.get() < sequence) {
+                final long appended;
+                final FileChannel channel;
+                synchronized (this) {
+                    if (!started || journalChannel == null) {
+                        return;
+                    }
+                    appended = appendedSequence;
+                    channel = journalChannel;
+                }
+                try {
+                    channel.force(false);
+                    forcedSequence.accumulateAndGet(appended, Math::max);
+                } catch (ClosedChannelException e) {
+                    // The channel is replaced by the compaction, which flushes the records appended before it
+                    log.debug("PhysicalTaskExecutorJournal: {} is compacted during the fsync", journalFile);
+                } catch (IOException e) {
+                    log.error("Flush PhysicalTaskExecutorJournal: {} failed", journalFile, e);
+                    return;
+                }
+            }
+        }
+    }
+
+    private TaskExecutionContext toJournaledTaskExecutionContext(final TaskExecutionContext taskExecutionContext) {
+        return TaskExecutionContext.builder()
+                .taskInstanceId(taskExecutionContext.getTaskInstanceId())
+                .taskName(taskExecutionContext.getTaskName())
+                .taskType(taskExecutionContext.getTaskType())
+                .workflowInstanceId(taskExecutionContext.getWorkflowInstanceId())
+                .workflowInstanceHost(taskExecutionContext.getWorkflowInstanceHost())
+                .host(taskExecutionContext.getHost())
+                .tenantCode(taskExecutionContext.getTenantCode())
+                .executePath(taskExecutionContext.getExecutePath())
+                .logPath(taskExecutionContext.getLogPath())
+                .appInfoPath(taskExecutionContext.getAppInfoPath())
+                .processId(taskExecutionContext.getProcessId())
+                .appIds(taskExecutionContext.getAppIds())
+                .taskAppId(taskExecutionContext.getTaskAppId())
+                .k8sTaskExecutionContext(taskExecutionContext.getK8sTaskExecutionContext())
+                .build();
+    }
+
+    private void replay() throws IOException {
+        if (!Files.exists(journalFile)) {
+            return;
+        }
+        int replayedRecords = 0;
+        for (String line : Files.readAllLines(journalFile, StandardCharsets.UTF_8)) {
+            if (StringUtils.isBlank(line)) {
+                continue;
+            }
+            final JournalRecord journalRecord = JSONUtils.parseObject(line, JournalRecord.class);
+            if (journalRecord == null || journalRecord.getType() == null) {
+                // The last record might be partially written when the worker crashed
+                log.warn("Skip the broken record at the end of PhysicalTaskExecutorJournal: {}", journalFile);
+                break;
+            }
+            apply(journalRecord);
+            replayedRecords++;
+        }
+        log.info("Replayed {} records from PhysicalTaskExecutorJournal: {}, executors: {}, unAckedEvents: {}",
+                replayedRecords, journalFile, taskExecutionContexts.size(), unAckedEvents.size());
+    }
+
+    private void recover(final PhysicalTaskExecutorLifecycleEventReporter physicalTaskExecutorEventReporter) {
+        for (TaskExecutionContext taskExecutionContext : taskExecutionContexts.values()) {
+            final int taskInstanceId = taskExecutionContext.getTaskInstanceId();
+            final boolean finished = unAckedEvents.getOrDefault(taskInstanceId, Collections.emptyList())
+                    .stream()
+                    .anyMatch(event -> FINAL_EVENT_TYPES.contains(event.getType()));
+            if (finished) {
+                continue;
+            }
+            log.warn("The task executor: {} was running when the worker stopped, it will be failover by master",
+                    taskInstanceId);
+            killOrphanTask(taskExecutionContext);
+            unAckedEvents.remove(taskInstanceId);
+        }
+        // No executor survives the restart of the worker
+        taskExecutionContexts.clear();
+
+        for (List<IReportableTaskExecutorLifecycleEvent> events : unAckedEvents.values()) {
+            for (IReportableTaskExecutorLifecycleEvent event : events) {
+                event.setLatestReportTime(null);
+                physicalTaskExecutorEventReporter.resendTaskExecutorLifecycleEvent(event);
+                log.info("Resend the unacknowledged {}: {}", event.getType(), event.getTaskInstanceId());
+            }
+        }
+    }
+
+    private void killOrphanTask(final TaskExecutionContext taskExecutionContext) {
+        final int processId = taskExecutionContext.getProcessId();
+        // The pid might be reused by another process after the worker restarts
+        if (processId > 0 && isTaskProcess(processId, taskExecutionContext.getExecutePath())) {
+            ProcessUtils.kill(taskExecutionContext);
+        }
+        ProcessUtils.cancelApplication(taskExecutionContext);
+    }
+
+    private boolean isTaskProcess(final int processId, final String executePath) {
+        if (StringUtils.isEmpty(executePath)) {
+            return false;
+        }
+        try {
+            return OSUtils.exeCmd(String.format("ps -o args= -p %d", processId)).contains(executePath);
+        } catch (Exception e) {
+            // The process is not exist
+            return false;
+        }
+    }
+
+    private void apply(final JournalRecord journalRecord) {
+        final int taskInstanceId = journalRecord.getTaskInstanceId();
+        switch (journalRecord.getType()) {
+            case EXECUTOR:
+                taskExecutionContexts.put(taskInstanceId, journalRecord.getTaskExecutionContext());
+                break;
+            case EXECUTOR_REMOVED:
+                taskExecutionContexts.remove(taskInstanceId);
+                break;
+            case EVENT_REPORTED:
+                final IReportableTaskExecutorLifecycleEvent event = parseEvent(journalRecord);
+                if (event != null) {
+                    unAckedEvents.computeIfAbsent(taskInstanceId, k -> new ArrayList<>()).add(event);
+                }
+                break;
+            case EVENT_ACKED:
+                final List<IReportableTaskExecutorLifecycleEvent> events = unAckedEvents.get(taskInstanceId);
+                if (events != null) {
+                    events.removeIf(e -> e.getType() == journalRecord.getEventType());
+                    if (events.isEmpty()) {
+                        unAckedEvents.remove(taskInstanceId);
+                    }
+                }
+                break;
+            case WORKFLOW_INSTANCE_HOST_REASSIGNED:
+                final String workflowInstanceHost = journalRecord.getWorkflowInstanceHost();
+                final TaskExecutionContext taskExecutionContext = taskExecutionContexts.get(taskInstanceId);
+                if (taskExecutionContext != null) {
+                    taskExecutionContext.setWorkflowInstanceHost(workflowInstanceHost);
+                }
+                unAckedEvents.getOrDefault(taskInstanceId, Collections.emptyList())
+                        .forEach(e -> e.setWorkflowInstanceHost(workflowInstanceHost));
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported JournalRecordType: " + journalRecord.getType());
+        }
+    }
+
+    private IReportableTaskExecutorLifecycleEvent parseEvent(final JournalRecord journalRecord) {
+        try {
+            final Class<?> eventClass = Class.forName(journalRecord.getEventClass());
+            return (IReportableTaskExecutorLifecycleEvent) JSONUtils.parseObject(journalRecord.getEvent(), eventClass);
+        } catch (ClassNotFoundException e) {
+            log.warn("Skip the unknown event: {} in PhysicalTaskExecutorJournal", journalRecord.getEventClass());
+            return null;
+        }
+    }
+
+    private void write(final FileChannel fileChannel, final JournalRecord journalRecord) throws IOException {
+        write(fileChannel, serialize(journalRecord));
+    }
+
+    private void write(final FileChannel fileChannel, final ByteBuffer byteBuffer) throws IOException {
+        while (byteBuffer.hasRemaining()) {
+            fileChannel.write(byteBuffer);
+        }
+    }
+
+    private ByteBuffer serialize(final JournalRecord journalRecord) {
+        return ByteBuffer.wrap((JSONUtils.toJsonString(journalRecord) + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private boolean openJournalChannel() {
+        try {
+            journalChannel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            return true;
+        } catch (IOException e) {
+            log.error("Open PhysicalTaskExecutorJournal: {} failed, will retry at the next append", journalFile, e);
+            return false;
+        }
+    }
+
+    private void closeJournalChannel() {
+        if (journalChannel == null) {
+            return;
+        }
+        try {
+            journalChannel.close();
+        } catch (IOException e) {
+            log.warn("Close PhysicalTaskExecutorJournal: {} failed", journalFile, e);
+        }
+        journalChannel = null;
+    }
+
+    enum JournalRecordType {
+        EXECUTOR,
+        EXECUTOR_REMOVED,
+        EVENT_REPORTED,
+        EVENT_ACKED,
+        WORKFLOW_INSTANCE_HOST_REASSIGNED,
+        ;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class JournalRecord {
+
+        private JournalRecordType type;
+
+        private int taskInstanceId;
+
+        private TaskExecutionContext taskExecutionContext;
+
+        private String eventClass;
+
+        private String event;
+
+        private TaskExecutorLifecycleEventType eventType;
+
+        private String workflowInstanceHost;
+
+    }
+}
@@ -17,6 +17,12 @@
 
 package org.apache.dolphinscheduler.server.worker.executor;
 
+import org.apache.dolphinscheduler.task.executor.ITaskExecutor;
+import org.apache.dolphinscheduler.task.executor.events.ITaskExecutorLifecycleEvent;
+import org.apache.dolphinscheduler.task.executor.events.TaskExecutorDispatchedLifecycleEvent;
+import org.apache.dolphinscheduler.task.executor.events.TaskExecutorFinalizeLifecycleEvent;
+import org.apache.dolphinscheduler.task.executor.events.TaskExecutorRuntimeContextChangedLifecycleEvent;
+import org.apache.dolphinscheduler.task.executor.events.TaskExecutorStartedLifecycleEvent;
 import org.apache.dolphinscheduler.task.executor.listener.TaskExecutorLifecycleEventListener;
 
 import org.springframework.stereotype.Component;
@@ -24,13 +30,51 @@ import org.springframework.stereotype.Component;
 @Component
 public class PhysicalTaskExecutorLifecycleEventListener extends TaskExecutorLifecycleEventListener {
 
+    private final PhysicalTaskExecutorRepository physicalTaskExecutorRepository;
+
+    private final PhysicalTaskExecutorJournal physicalTaskExecutorJournal;
+
     public PhysicalTaskExecutorLifecycleEventListener(
                                                       final PhysicalTaskExecutorContainerProvider physicalTaskExecutorContainerDelegator,
                                                       final PhysicalTaskExecutorRepository physicalTaskExecutorRepository,
-                                                      final PhysicalTaskExecutorLifecycleEventReporter physicalTaskExecutorEventReporter) {
+                                                      final PhysicalTaskExecutorLifecycleEventReporter physicalTaskExecutorEventReporter,
+                                                      final PhysicalTaskExecutorJournal physicalTaskExecutorJournal) {
         super(
                 physicalTaskExecutorContainerDelegator,
                 physicalTaskExecutorRepository,
                 physicalTaskExecutorEventReporter);
+        this.physicalTaskExecutorRepository = physicalTaskExecutorRepository;
+        this.physicalTaskExecutorJournal = physicalTaskExecutorJournal;
+    }
+
+    @Override
+    public void onTaskExecutorDispatchedLifecycleEvent(final TaskExecutorDispatchedLifecycleEvent event) {
+        journalTaskExecutor(event);
+        super.onTaskExecutorDispatchedLifecycleEvent(event);
+    }
+
+    @Override
+    public void onTaskExecutorStartedLifecycleEvent(final TaskExecutorStartedLifecycleEvent event) {
+        journalTaskExecutor(event);
+        super.onTaskExecutorStartedLifecycleEvent(event);
+    }
+
+    @Override
+    public void onTaskExecutorRuntimeContextChangedEvent(final TaskExecutorRuntimeContextChangedLifecycleEvent event) {
+        // The process id and the remote application ids are used to kill the orphan task after the worker restarts
+        journalTaskExecutor(event);
+        super.onTaskExecutorRuntimeContextChangedEvent(event);
+    }
+
+    @Override
+    public void onTaskExecutorFinalizeLifecycleEvent(final TaskExecutorFinalizeLifecycleEvent event) {
+        super.onTaskExecutorFinalizeLifecycleEvent(event);
+        physicalTaskExecutorJournal.journalTaskExecutorRemoved(event.getTaskInstanceId());
+    }
+
+    private void journalTaskExecutor(final ITaskExecutorLifecycleEvent event) {
+        physicalTaskExecutorRepository.get(event.getTaskInstanceId())
+                .map(ITaskExecutor::getTaskExecutionContext)
+                .ifPresent(physicalTaskExecutorJournal::journalTaskExecutor);
     }
 }
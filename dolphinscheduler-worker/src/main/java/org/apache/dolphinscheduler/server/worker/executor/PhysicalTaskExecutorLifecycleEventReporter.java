@@ -18,14 +18,46 @@
 package org.apache.dolphinscheduler.server.worker.executor;
 
 import org.apache.dolphinscheduler.task.executor.eventbus.TaskExecutorLifecycleEventRemoteReporter;
+import org.apache.dolphinscheduler.task.executor.events.IReportableTaskExecutorLifecycleEvent;
 
 import org.springframework.stereotype.Component;
 
 @Component
 public class PhysicalTaskExecutorLifecycleEventReporter extends TaskExecutorLifecycleEventRemoteReporter {
 
+    private final PhysicalTaskExecutorJournal physicalTaskExecutorJournal;
+
     public PhysicalTaskExecutorLifecycleEventReporter(
-                                                      final PhysicalTaskExecutorEventRemoteReporterClient physicalTaskExecutorEventRemoteReporterClient) {
+                                                      final PhysicalTaskExecutorEventRemoteReporterClient physicalTaskExecutorEventRemoteReporterClient,
+                                                      final PhysicalTaskExecutorJournal physicalTaskExecutorJournal) {
         super("PhysicalTaskExecutorLifecycleEventReporter", physicalTaskExecutorEventRemoteReporterClient);
+        this.physicalTaskExecutorJournal = physicalTaskExecutorJournal;
+    }
+
+    @Override
+    public void reportTaskExecutorLifecycleEvent(final IReportableTaskExecutorLifecycleEvent reportableTaskExecutorLifecycleEvent) {
+        physicalTaskExecutorJournal.journalEventReported(reportableTaskExecutorLifecycleEvent);
+        super.reportTaskExecutorLifecycleEvent(reportableTaskExecutorLifecycleEvent);
+    }
+
+    /**
+     * Resend the event replayed from the {@link PhysicalTaskExecutorJournal}, the event is already in the journal.
+     */
+    public void resendTaskExecutorLifecycleEvent(final IReportableTaskExecutorLifecycleEvent reportableTaskExecutorLifecycleEvent) {
+        super.reportTaskExecutorLifecycleEvent(reportableTaskExecutorLifecycleEvent);
+    }
+
+    @Override
+    public void receiveTaskExecutorLifecycleEventACK(final TaskExecutorLifecycleEventAck eventAck) {
+        super.receiveTaskExecutorLifecycleEventACK(eventAck);
+        physicalTaskExecutorJournal.journalEventAcked(eventAck.getTaskExecutorId(),
+                eventAck.getTaskExecutorLifecycleEventType());
+    }
+
+    @Override
+    public boolean reassignWorkflowInstanceHost(final int taskInstanceId, final String workflowHost) {
+        final boolean reassigned = super.reassignWorkflowInstanceHost(taskInstanceId, workflowHost);
+        physicalTaskExecutorJournal.journalWorkflowInstanceHostReassigned(taskInstanceId, workflowHost);
+        return reassigned;
     }
 }
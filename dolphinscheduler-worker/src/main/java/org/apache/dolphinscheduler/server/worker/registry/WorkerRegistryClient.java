@@ -34,6 +34,7 @@ import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.executor.PhysicalTaskExecutorContainerProvider;
 import org.apache.dolphinscheduler.server.worker.task.WorkerHeartBeatTask;
+import org.apache.dolphinscheduler.server.worker.task.WorkerLoadReportTask;
 
 import org.apache.commons.collections4.CollectionUtils;
 
@@ -66,6 +67,8 @@ public class WorkerRegistryClient implements AutoCloseable {
 
     private WorkerHeartBeatTask workerHeartBeatTask;
 
+    private WorkerLoadReportTask workerLoadReportTask;
+
     @PostConstruct
     public void initWorkRegistry() {
         this.workerHeartBeatTask = new WorkerHeartBeatTask(
@@ -73,6 +76,9 @@ public class WorkerRegistryClient implements AutoCloseable {
                 metricsProvider,
                 registryClient,
                 physicalTaskExecutorContainerDelegator.getExecutorContainer());
+        if (workerConfig.getLoadReportConfig().isEnabled()) {
+            this.workerLoadReportTask = new WorkerLoadReportTask(workerConfig, registryClient, workerHeartBeatTask);
+        }
     }
 
     public void start() {
@@ -106,6 +112,9 @@ public class WorkerRegistryClient implements AutoCloseable {
         ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
 
         workerHeartBeatTask.start();
+        if (workerLoadReportTask != null) {
+            workerLoadReportTask.start();
+        }
         log.info("Worker node: {} registry finished", workerConfig.getWorkerAddress());
     }
 
@@ -127,6 +136,9 @@ public class WorkerRegistryClient implements AutoCloseable {
         if (workerHeartBeatTask != null) {
             workerHeartBeatTask.shutdown();
         }
+        if (workerLoadReportTask != null) {
+            workerLoadReportTask.shutdown();
+        }
         registryClient.close();
         log.info("Closed WorkerRegistryClient");
     }
@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.server.worker.rpc;
 
+import org.apache.dolphinscheduler.common.log.TaskLogSinks;
 import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.common.utils.LogUtils;
 import org.apache.dolphinscheduler.extract.common.ILogService;
@@ -24,7 +25,10 @@ import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFil
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailResponse;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
@@ -54,6 +58,21 @@ public class WorkerLogServiceImpl implements ILogService {
         return new TaskInstanceLogPageQueryResponse(logContent);
     }
 
+    @Override
+    public TaskInstanceLogTailResponse tailTaskInstanceLog(TaskInstanceLogTailRequest taskInstanceLogTailRequest) {
+        final String logPath = taskInstanceLogTailRequest.getTaskInstanceLogAbsolutePath();
+        // Check whether the log is being written before reading, otherwise the tail may be missed
+        final boolean writing = TaskLogSinks.isOpened(logPath);
+        final byte[] bytes = LogUtils.readFileContentFromOffset(
+                logPath,
+                taskInstanceLogTailRequest.getOffset(),
+                taskInstanceLogTailRequest.getMaxBytes());
+        return new TaskInstanceLogTailResponse(
+                new String(bytes, StandardCharsets.UTF_8),
+                taskInstanceLogTailRequest.getOffset() + bytes.length,
+                writing);
+    }
+
     @Override
     public void removeTaskInstanceLog(String taskInstanceLogAbsolutePath) {
         FileUtils.deleteFile(taskInstanceLogAbsolutePath);
@@ -34,6 +34,7 @@ import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
 import org.apache.dolphinscheduler.task.executor.container.ITaskExecutorContainer;
 
 import lombok.NonNull;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -48,6 +49,13 @@ public class WorkerHeartBeatTask extends BaseHeartBeatTask<WorkerHeartBeat> {
 
     private final ITaskExecutorContainer taskExecutorContainer;
 
+    /**
+     * Whether all the masters accept the load streamed by {@link WorkerLoadReportTask}, if so the heartbeat is written
+     * into registry less frequently, since the masters only read the load from registry as a fallback.
+     */
+    @Setter
+    private volatile boolean loadStreamed;
+
     public WorkerHeartBeatTask(@NonNull WorkerConfig workerConfig,
                                @NonNull MetricsProvider metricsProvider,
                                @NonNull RegistryClient registryClient,
@@ -60,6 +68,15 @@ public class WorkerHeartBeatTask extends BaseHeartBeatTask<WorkerHeartBeat> {
         this.processId = OSUtils.getProcessID();
     }
 
+    @Override
+    protected long getHeartBeatInterval() {
+        if (loadStreamed) {
+            return Math.max(super.getHeartBeatInterval(),
+                    workerConfig.getLoadReportConfig().getRegistryHeartbeatInterval().toMillis());
+        }
+        return super.getHeartBeatInterval();
+    }
+
     @Override
     public WorkerHeartBeat getHeartBeat() {
         SystemMetrics systemMetrics = metricsProvider.getSystemMetrics();
@@ -76,6 +93,10 @@ public class WorkerHeartBeatTask extends BaseHeartBeatTask<WorkerHeartBeat> {
                 .processId(processId)
                 .workerHostWeight(workerConfig.getHostWeight())
                 .threadPoolUsage(taskExecutorContainer.slotUsage())
+                .cpuQuotaCapacity(workerConfig.getPhysicalTaskConfig().getCpuQuotaCapacity())
+                .availableCpuQuota(taskExecutorContainer.availableCpuQuota())
+                .memoryMaxCapacity(workerConfig.getPhysicalTaskConfig().getMemoryMaxCapacity())
+                .availableMemoryMax(taskExecutorContainer.availableMemoryMax())
                 .serverStatus(serverStatus)
                 .host(NetUtils.getHost())
                 .port(workerConfig.getListenPort())
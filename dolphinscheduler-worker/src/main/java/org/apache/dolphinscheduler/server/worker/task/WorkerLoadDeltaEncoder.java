@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.task;
+
+import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
+import org.apache.dolphinscheduler.extract.master.transportor.WorkerLoadDelta;
+
+import java.util.Optional;
+
+/**
+ * Encode the load of the worker into {@link WorkerLoadDelta} for one master.
+ * <p> The encoder assumes the encoded delta is delivered, once the delivery failed or the master asks for a resync,
+ * {@link #reset()} should be called then the next delta will be a full snapshot.
+ */
+public class WorkerLoadDeltaEncoder {
+
+    private final String workerAddress;
+
+    private final long fullReportIntervalMillis;
+
+    private final double minUsageChange;
+
+    private long sequence;
+
+    private long lastFullReportTime;
+
+    // The load which has been sent to the master, null means the master doesn't have the base
+    private WorkerLoadDelta base;
+
+    public WorkerLoadDeltaEncoder(final String workerAddress,
+                                  final long fullReportIntervalMillis,
+                                  final double minUsageChange) {
+        this.workerAddress = workerAddress;
+        this.fullReportIntervalMillis = fullReportIntervalMillis;
+        this.minUsageChange = minUsageChange;
+    }
+
+    /**
+     * @return empty if nothing changed since the last report
+     */
+    public Optional<WorkerLoadDelta> encode(final WorkerHeartBeat workerHeartBeat) {
+        if (base == null
+                || base.getServerStartupTime() != workerHeartBeat.getStartupTime()
+                || workerHeartBeat.getReportTime() - lastFullReportTime >= fullReportIntervalMillis) {
+            return Optional.of(encodeFullSnapshot(workerHeartBeat));
+        }
+
+        int changedFields = 0;
+        if (isChanged(base.getCpuUsage(), workerHeartBeat.getCpuUsage())) {
+            changedFields |= WorkerLoadDelta.CPU_USAGE;
+            base.setCpuUsage(workerHeartBeat.getCpuUsage());
+        }
+        if (isChanged(base.getMemoryUsage(), workerHeartBeat.getMemoryUsage())) {
+            changedFields |= WorkerLoadDelta.MEMORY_USAGE;
+            base.setMemoryUsage(workerHeartBeat.getMemoryUsage());
+        }
+        if (isChanged(base.getTaskThreadPoolUsage(), workerHeartBeat.getThreadPoolUsage())) {
+            changedFields |= WorkerLoadDelta.TASK_THREAD_POOL_USAGE;
+            base.setTaskThreadPoolUsage(workerHeartBeat.getThreadPoolUsage());
+        }
+        if (base.getServerStatus() != workerHeartBeat.getServerStatus()) {
+            changedFields |= WorkerLoadDelta.SERVER_STATUS;
+            base.setServerStatus(workerHeartBeat.getServerStatus());
+        }
+        if (base.getAvailableCpuQuota() != workerHeartBeat.getAvailableCpuQuota()
+                || base.getAvailableMemoryMax() != workerHeartBeat.getAvailableMemoryMax()) {
+            changedFields |= WorkerLoadDelta.AVAILABLE_RESOURCE;
+            base.setAvailableCpuQuota(workerHeartBeat.getAvailableCpuQuota());
+            base.setAvailableMemoryMax(workerHeartBeat.getAvailableMemoryMax());
+        }
+        if (changedFields == 0) {
+            return Optional.empty();
+        }
+
+        final WorkerLoadDelta workerLoadDelta = WorkerLoadDelta.builder()
+                .workerAddress(workerAddress)
+                .serverStartupTime(base.getServerStartupTime())
+                .sequence(++sequence)
+                .reportTime(workerHeartBeat.getReportTime())
+                .fullSnapshot(false)
+                .changedFields(changedFields)
+                .build();
+        if (workerLoadDelta.isChanged(WorkerLoadDelta.CPU_USAGE)) {
+            workerLoadDelta.setCpuUsage(workerHeartBeat.getCpuUsage());
+        }
+        if (workerLoadDelta.isChanged(WorkerLoadDelta.MEMORY_USAGE)) {
+            workerLoadDelta.setMemoryUsage(workerHeartBeat.getMemoryUsage());
+        }
+        if (workerLoadDelta.isChanged(WorkerLoadDelta.TASK_THREAD_POOL_USAGE)) {
+            workerLoadDelta.setTaskThreadPoolUsage(workerHeartBeat.getThreadPoolUsage());
+        }
+        if (workerLoadDelta.isChanged(WorkerLoadDelta.SERVER_STATUS)) {
+            workerLoadDelta.setServerStatus(workerHeartBeat.getServerStatus());
+        }
+        if (workerLoadDelta.isChanged(WorkerLoadDelta.AVAILABLE_RESOURCE)) {
+            workerLoadDelta.setAvailableCpuQuota(workerHeartBeat.getAvailableCpuQuota());
+            workerLoadDelta.setAvailableMemoryMax(workerHeartBeat.getAvailableMemoryMax());
+        }
+        return Optional.of(workerLoadDelta);
+    }
+
+    public void reset() {
+        base = null;
+    }
+
+    private WorkerLoadDelta encodeFullSnapshot(final WorkerHeartBeat workerHeartBeat) {
+        base = WorkerLoadDelta.builder()
+                .workerAddress(workerAddress)
+                .serverStartupTime(workerHeartBeat.getStartupTime())
+                .cpuUsage(workerHeartBeat.getCpuUsage())
+                .memoryUsage(workerHeartBeat.getMemoryUsage())
+                .taskThreadPoolUsage(workerHeartBeat.getThreadPoolUsage())
+                .serverStatus(workerHeartBeat.getServerStatus())
+                .availableCpuQuota(workerHeartBeat.getAvailableCpuQuota())
+                .availableMemoryMax(workerHeartBeat.getAvailableMemoryMax())
+                .build();
+        lastFullReportTime = workerHeartBeat.getReportTime();
+        return WorkerLoadDelta.builder()
+                .workerAddress(workerAddress)
+                .serverStartupTime(base.getServerStartupTime())
+                .sequence(++sequence)
+                .reportTime(workerHeartBeat.getReportTime())
+                .fullSnapshot(true)
+                .changedFields(WorkerLoadDelta.ALL_FIELDS)
+                .cpuUsage(base.getCpuUsage())
+                .memoryUsage(base.getMemoryUsage())
+                .taskThreadPoolUsage(base.getTaskThreadPoolUsage())
+                .serverStatus(base.getServerStatus())
+                .availableCpuQuota(base.getAvailableCpuQuota())
+                .availableMemoryMax(base.getAvailableMemoryMax())
+                .build();
+    }
+
+    private boolean isChanged(final double lastUsage, final double currentUsage) {
+        return Math.abs(currentUsage - lastUsage) >= minUsageChange;
+    }
+
+}
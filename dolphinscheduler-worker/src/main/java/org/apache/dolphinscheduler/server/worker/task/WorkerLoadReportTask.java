@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.task;
+
+import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
+import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.extract.base.client.Clients;
+import org.apache.dolphinscheduler.extract.master.IWorkerLoadListener;
+import org.apache.dolphinscheduler.extract.master.transportor.WorkerLoadDelta;
+import org.apache.dolphinscheduler.extract.master.transportor.WorkerLoadReportResponse;
+import org.apache.dolphinscheduler.registry.api.RegistryClient;
+import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.config.WorkerLoadReportConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stream the load of the worker to all the masters at sub-second intervals, each master has its own
+ * {@link WorkerLoadDeltaEncoder} so that a failed master will not break the deltas of the others.
+ * <p>
+ * The reports are sent to the masters concurrently, a master which doesn't respond in time only skips its own
+ * reports until the in-flight one completes. While all the masters accept the reports, the heartbeat is written into
+ * registry by the registry-heartbeat-interval instead of max-heartbeat-interval.
+ */
+@Slf4j
+public class WorkerLoadReportTask extends BaseDaemonThread {
+
+    private static final int REPORT_THREADS = 4;
+
+    private final WorkerConfig workerConfig;
+
+    private final WorkerLoadReportConfig loadReportConfig;
+
+    private final RegistryClient registryClient;
+
+    private final WorkerHeartBeatTask workerHeartBeatTask;
+
+    private final ExecutorService reportExecutor;
+
+    // MasterAddress -> reporter, only accessed by the report thread
+    private final Map<String, MasterLoadReporter> masterReporters = new HashMap<>();
+
+    private long lastRefreshMasterTime = 0L;
+
+    private volatile boolean runningFlag = true;
+
+    public WorkerLoadReportTask(@NonNull WorkerConfig workerConfig,
+                                @NonNull RegistryClient registryClient,
+                                @NonNull WorkerHeartBeatTask workerHeartBeatTask) {
+        super("WorkerLoadReportTask");
+        this.workerConfig = workerConfig;
+        this.loadReportConfig = workerConfig.getLoadReportConfig();
+        this.registryClient = registryClient;
+        this.workerHeartBeatTask = workerHeartBeatTask;
+        this.reportExecutor = ThreadUtils.newDaemonFixedThreadExecutor("WorkerLoadReporter-%d", REPORT_THREADS);
+    }
+
+    @Override
+    public void run() {
+        while (runningFlag) {
+            try {
+                reportLoad();
+            } catch (Exception ex) {
+                log.error("WorkerLoadReportTask execute failed", ex);
+            } finally {
+                try {
+                    Thread.sleep(loadReportConfig.getReportInterval().toMillis());
+                } catch (InterruptedException e) {
+                    log.warn("WorkerLoadReportTask has been interrupted", e);
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    public void shutdown() {
+        runningFlag = false;
+        reportExecutor.shutdownNow();
+        workerHeartBeatTask.setLoadStreamed(false);
+        log.warn("WorkerLoadReportTask finished...");
+    }
+
+    void reportLoad() {
+        refreshMastersIfNeeded();
+        if (masterReporters.isEmpty()) {
+            workerHeartBeatTask.setLoadStreamed(false);
+            return;
+        }
+        final WorkerHeartBeat workerHeartBeat = workerHeartBeatTask.getHeartBeat();
+        final long now = System.currentTimeMillis();
+        // A full snapshot is sent to each master in every full report interval even if the load doesn't change
+        final long streamedTimeout = 2 * loadReportConfig.getFullReportInterval().toMillis();
+        boolean loadStreamed = true;
+        for (MasterLoadReporter masterReporter : masterReporters.values()) {
+            masterReporter.report(workerHeartBeat);
+            loadStreamed &= now - masterReporter.lastAcceptedTime <= streamedTimeout;
+        }
+        workerHeartBeatTask.setLoadStreamed(loadStreamed);
+    }
+
+    private void refreshMastersIfNeeded() {
+        final long now = System.currentTimeMillis();
+        if (now - lastRefreshMasterTime < loadReportConfig.getFullReportInterval().toMillis()) {
+            return;
+        }
+        final Set<String> masterAddresses = registryClient.getServerNodeSet(RegistryNodeType.MASTER);
+        masterReporters.keySet().retainAll(masterAddresses);
+        for (String masterAddress : masterAddresses) {
+            masterReporters.computeIfAbsent(masterAddress, MasterLoadReporter::new);
+        }
+        lastRefreshMasterTime = now;
+    }
+
+    /**
+     * Report the load to one master, at most one report of a master is in flight, so the encoder is only accessed by
+     * one thread at a time.
+     */
+    private class MasterLoadReporter {
+
+        private final String masterAddress;
+
+        private final WorkerLoadDeltaEncoder encoder;
+
+        private final AtomicBoolean inFlight = new AtomicBoolean(false);
+
+        private volatile long lastAcceptedTime = 0L;
+
+        MasterLoadReporter(String masterAddress) {
+            this.masterAddress = masterAddress;
+            this.encoder = new WorkerLoadDeltaEncoder(
+                    workerConfig.getWorkerAddress(),
+                    loadReportConfig.getFullReportInterval().toMillis(),
+                    loadReportConfig.getMinUsageChange());
+        }
+
+        void report(WorkerHeartBeat workerHeartBeat) {
+            if (!inFlight.compareAndSet(false, true)) {
+                log.debug("The last report to master: {} is not completed, skip this report", masterAddress);
+                return;
+            }
+            try {
+                reportExecutor.execute(() -> {
+                    try {
+                        doReport(workerHeartBeat);
+                    } finally {
+                        inFlight.set(false);
+                    }
+                });
+            } catch (Exception ex) {
+                inFlight.set(false);
+                throw ex;
+            }
+        }
+
+        private void doReport(WorkerHeartBeat workerHeartBeat) {
+            final Optional<WorkerLoadDelta> workerLoadDelta = encoder.encode(workerHeartBeat);
+            if (!workerLoadDelta.isPresent()) {
+                return;
+            }
+            try {
+                final WorkerLoadReportResponse response = Clients
+                        .withService(IWorkerLoadListener.class)
+                        .withHost(masterAddress)
+                        .onWorkerLoadReport(workerLoadDelta.get());
+                if (response.isResyncRequired()) {
+                    log.debug("Master: {} requires a full snapshot of the worker load", masterAddress);
+                    encoder.reset();
+                    return;
+                }
+                lastAcceptedTime = System.currentTimeMillis();
+            } catch (Exception ex) {
+                // The master will receive a full snapshot once it comes back
+                log.debug("Report worker load: {} to master: {} failed", workerLoadDelta.get(), masterAddress, ex);
+                encoder.reset();
+            }
+        }
+    }
+
+}
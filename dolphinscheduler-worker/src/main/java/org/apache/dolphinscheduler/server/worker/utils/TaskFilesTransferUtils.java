@@ -22,6 +22,7 @@ import static org.apache.dolphinscheduler.common.constants.Constants.CRC_SUFFIX;
 import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
@@ -33,12 +34,22 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.zeroturnaround.zip.ZipUtil;
@@ -57,6 +68,19 @@ public class TaskFilesTransferUtils {
     // root path in resource storage
     final static String RESOURCE_TAG = "DATA_TRANSFER";
 
+    // local path to cache the output files, the downstream tasks dispatched to the same worker read the files from it
+    final static String LOCAL_CACHE_PATH = String.format("%s/data_transfer_cache", FileUtils.DATA_BASEDIR);
+
+    // the cached files of the days before are evicted
+    final static int LOCAL_CACHE_RETENTION_DAYS = 1;
+
+    // suffix of the metadata file of the cached file
+    final static String LOCAL_CACHE_META_SUFFIX = ".meta";
+
+    // the least recently used cached files are evicted once the total size of the cached files exceeds it
+    final static long LOCAL_CACHE_MAX_BYTES =
+            PropertyUtils.getLong("data.transfer.local.cache.max.bytes", 10L * 1024 * 1024 * 1024);
+
     private TaskFilesTransferUtils() {
         throw new IllegalStateException("Utility class");
     }
@@ -113,6 +137,7 @@ public class TaskFilesTransferUtils {
             } catch (Exception ex) {
                 throw new TaskException("Upload file to storage error", ex);
             }
+            cacheOutputFile(srcPath, resourcePath);
 
             // update varPool
             Property oriProperty;
@@ -168,11 +193,27 @@ public class TaskFilesTransferUtils {
 
             String resourcePath = inVarPool.getValue();
             String targetPath = String.format("%s/%s", executePath, property.getProp());
+            boolean isPack = resourcePath.endsWith(PACK_SUFFIX);
+
+            // The upstream task may run on this worker, read the file from the local cache if exist
+            File cachedFile = new File(LOCAL_CACHE_PATH, resourcePath);
+            if (verifyCachedFile(cachedFile)) {
+                log.info("{} --- Local cache:{} to Local:{}", property, cachedFile, targetPath);
+                try {
+                    if (isPack) {
+                        ZipUtil.unpack(cachedFile, new File(targetPath));
+                    } else {
+                        org.apache.commons.io.FileUtils.copyFile(cachedFile, new File(targetPath));
+                    }
+                    continue;
+                } catch (Exception ex) {
+                    log.warn("Read {} from local cache failed, will download it from storage", cachedFile, ex);
+                }
+            }
 
             String downloadPath;
             // If the data is packaged, download it to a special directory (DOWNLOAD_TMP) and unpack it to the
             // targetPath
-            boolean isPack = resourcePath.endsWith(PACK_SUFFIX);
             if (isPack) {
                 downloadPath = String.format("%s/%s", downloadTmpPath, new File(resourcePath).getName());
             } else {
@@ -200,6 +241,159 @@ public class TaskFilesTransferUtils {
         }
     }
 
+    /**
+     * Link the uploaded output file into the local cache, and evict the expired cached files.
+     * Failing to cache the file will not affect the task, the downstream tasks will download it from storage.
+     *
+     * @param srcPath      is the local path of the output file
+     * @param resourcePath is the path of the file in storage
+     */
+    static void cacheOutputFile(String srcPath, String resourcePath) {
+        evictExpiredCachedFiles();
+        Path cachePath = Paths.get(LOCAL_CACHE_PATH, resourcePath);
+        Path cacheMetaPath = Paths.get(LOCAL_CACHE_PATH, resourcePath + LOCAL_CACHE_META_SUFFIX);
+        try {
+            Files.createDirectories(cachePath.getParent());
+            Files.deleteIfExists(cacheMetaPath);
+            Files.deleteIfExists(cachePath);
+            Files.createLink(cachePath, Paths.get(srcPath));
+            // the checksum of the cached file itself, the uploaded crc file is calculated before the dir is packed
+            writeCachedFileMeta(cachePath.toFile(), FileUtils.getFileChecksum(srcPath));
+            log.info("Cache output file {} to {}", srcPath, cachePath);
+        } catch (Exception ex) {
+            log.warn("Cache output file {} to {} failed, this will not affect the task status", srcPath, cachePath,
+                    ex);
+        }
+        evictCachedFilesExceedingSize(LOCAL_CACHE_MAX_BYTES);
+    }
+
+    /**
+     * The cached file is linked to the output file of the upstream task, check it is not changed since it is cached.
+     * The checksum is only calculated when the size or the modified time of the file is changed.
+     *
+     * @param cachedFile is the cached file
+     * @return true if the cached file exists and matches its metadata file
+     */
+    static boolean verifyCachedFile(File cachedFile) {
+        File cachedMetaFile = new File(cachedFile.getPath() + LOCAL_CACHE_META_SUFFIX);
+        if (!cachedFile.isFile() || !cachedMetaFile.isFile()) {
+            return false;
+        }
+        try {
+            CachedFileMeta cachedFileMeta = JSONUtils.parseObject(
+                    new String(Files.readAllBytes(cachedMetaFile.toPath()), StandardCharsets.UTF_8),
+                    CachedFileMeta.class);
+            if (cachedFileMeta == null) {
+                log.warn("The metadata of cached file {} is invalid, will download it from storage", cachedFile);
+                return false;
+            }
+            if (cachedFileMeta.getSize() == cachedFile.length()
+                    && cachedFileMeta.getLastModified() == cachedFile.lastModified()) {
+                // the modified time of the metadata file is the latest time the cached file is used
+                cachedMetaFile.setLastModified(System.currentTimeMillis());
+                return true;
+            }
+            if (cachedFileMeta.getChecksum().equals(FileUtils.getFileChecksum(cachedFile.getPath()))) {
+                // the file is touched but not changed, record the new metadata to skip the checksum next time
+                writeCachedFileMeta(cachedFile, cachedFileMeta.getChecksum());
+                return true;
+            }
+            log.warn("The checksum of cached file {} mismatch, will download it from storage", cachedFile);
+        } catch (IOException ex) {
+            log.warn("Verify cached file {} failed, will download it from storage", cachedFile, ex);
+        }
+        return false;
+    }
+
+    private static void writeCachedFileMeta(File cachedFile, String checksum) throws IOException {
+        CachedFileMeta cachedFileMeta = new CachedFileMeta(checksum, cachedFile.length(), cachedFile.lastModified());
+        Files.write(Paths.get(cachedFile.getPath() + LOCAL_CACHE_META_SUFFIX),
+                JSONUtils.toJsonString(cachedFileMeta).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Delete the least recently used cached files until the total size of the cached files does not exceed the given
+     * size, the cached files without metadata are left to {@link #evictExpiredCachedFiles}.
+     *
+     * @param maxBytes is the max total size of the cached files
+     */
+    static synchronized void evictCachedFilesExceedingSize(long maxBytes) {
+        File cacheDir = new File(LOCAL_CACHE_PATH, RESOURCE_TAG);
+        if (!cacheDir.isDirectory()) {
+            return;
+        }
+        Collection<File> cachedMetaFiles = org.apache.commons.io.FileUtils.listFiles(cacheDir,
+                new String[]{LOCAL_CACHE_META_SUFFIX.substring(1)}, true);
+        long totalBytes = 0;
+        for (File cachedMetaFile : cachedMetaFiles) {
+            totalBytes += getCachedFile(cachedMetaFile).length();
+        }
+        if (totalBytes <= maxBytes) {
+            return;
+        }
+        List<File> leastRecentlyUsedMetaFiles = cachedMetaFiles.stream()
+                .sorted(Comparator.comparingLong(File::lastModified))
+                .collect(Collectors.toList());
+        for (File cachedMetaFile : leastRecentlyUsedMetaFiles) {
+            if (totalBytes <= maxBytes) {
+                break;
+            }
+            File cachedFile = getCachedFile(cachedMetaFile);
+            long cachedBytes = cachedFile.length();
+            try {
+                Files.deleteIfExists(cachedMetaFile.toPath());
+                Files.deleteIfExists(cachedFile.toPath());
+                totalBytes -= cachedBytes;
+                log.info("Evict cached file {} since the cache exceeds {} bytes", cachedFile, maxBytes);
+            } catch (IOException e) {
+                log.warn("Evict cached file {} failed", cachedFile, e);
+            }
+        }
+    }
+
+    private static File getCachedFile(File cachedMetaFile) {
+        String path = cachedMetaFile.getPath();
+        return new File(path.substring(0, path.length() - LOCAL_CACHE_META_SUFFIX.length()));
+    }
+
+    /**
+     * The cached files are grouped by date, see {@link #getResourcePath}, delete the dates which are expired.
+     */
+    private static void evictExpiredCachedFiles() {
+        File[] dateDirs = new File(LOCAL_CACHE_PATH, RESOURCE_TAG).listFiles(File::isDirectory);
+        if (dateDirs == null) {
+            return;
+        }
+        String expiredDate = DateUtils.formatTimeStamp(
+                System.currentTimeMillis() - TimeUnit.DAYS.toMillis(LOCAL_CACHE_RETENTION_DAYS),
+                DateTimeFormatter.ofPattern("yyyyMMdd"));
+        for (File dateDir : dateDirs) {
+            if (dateDir.getName().compareTo(expiredDate) < 0) {
+                try {
+                    org.apache.commons.io.FileUtils.deleteDirectory(dateDir);
+                    log.info("Evict expired cached files {}", dateDir);
+                } catch (IOException e) {
+                    log.warn("Evict expired cached files {} failed", dateDir, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * The metadata of the cached file, used to verify the cached file is not changed since it is cached.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class CachedFileMeta {
+
+        private String checksum;
+
+        private long size;
+
+        private long lastModified;
+    }
+
     /**
      * get local parameters property which type is FILE and direction is equal to direct
      *
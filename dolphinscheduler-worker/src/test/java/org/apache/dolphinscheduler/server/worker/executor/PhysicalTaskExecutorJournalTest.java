@@ -0,0 +1,279 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.executor;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.config.WorkerJournalConfig;
+import org.apache.dolphinscheduler.task.executor.events.IReportableTaskExecutorLifecycleEvent;
+import org.apache.dolphinscheduler.task.executor.events.TaskExecutorLifecycleEventType;
+import org.apache.dolphinscheduler.task.executor.events.TaskExecutorStartedLifecycleEvent;
+import org.apache.dolphinscheduler.task.executor.events.TaskExecutorSuccessLifecycleEvent;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import com.google.common.base.Strings;
+
+class PhysicalTaskExecutorJournalTest {
+
+    @TempDir
+    private Path journalDir;
+
+    private WorkerConfig workerConfig;
+
+    private PhysicalTaskExecutorJournal physicalTaskExecutorJournal;
+
+    @BeforeEach
+    void setUp() {
+        workerConfig = new WorkerConfig();
+        workerConfig.getJournalConfig().setJournalDir(journalDir.toString());
+        physicalTaskExecutorJournal = new PhysicalTaskExecutorJournal(workerConfig);
+        physicalTaskExecutorJournal.start(mock(PhysicalTaskExecutorLifecycleEventReporter.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        physicalTaskExecutorJournal.close();
+    }
+
+    @Test
+    void restart_resendUnAckedEventsOfFinishedTask() {
+        physicalTaskExecutorJournal.journalTaskExecutor(taskExecutionContext(1));
+        physicalTaskExecutorJournal.journalEventReported(startedEvent(1));
+        physicalTaskExecutorJournal.journalEventReported(successEvent(1));
+        physicalTaskExecutorJournal.journalEventAcked(1, TaskExecutorLifecycleEventType.RUNNING);
+        physicalTaskExecutorJournal.journalTaskExecutorRemoved(1);
+
+        final PhysicalTaskExecutorLifecycleEventReporter reporter = restart();
+
+        final ArgumentCaptor<IReportableTaskExecutorLifecycleEvent> eventCaptor =
+                ArgumentCaptor.forClass(IReportableTaskExecutorLifecycleEvent.class);
+        verify(reporter).resendTaskExecutorLifecycleEvent(eventCaptor.capture());
+        final IReportableTaskExecutorLifecycleEvent resentEvent = eventCaptor.getValue();
+        assertThat(resentEvent).isInstanceOf(TaskExecutorSuccessLifecycleEvent.class);
+        assertThat(resentEvent.getTaskInstanceId()).isEqualTo(1);
+        assertThat(resentEvent.getWorkflowInstanceHost()).isEqualTo("127.0.0.1:5678");
+        assertThat(resentEvent.getLatestReportTime()).isNull();
+        assertThat(((TaskExecutorSuccessLifecycleEvent) resentEvent).getVarPool()).isEqualTo("[]");
+        assertThat(physicalTaskExecutorJournal.getTaskExecutionContexts()).isEmpty();
+        assertThat(physicalTaskExecutorJournal.getUnAckedEvents()).containsKey(1);
+    }
+
+    @Test
+    void restart_dropEventsOfRunningTask() {
+        physicalTaskExecutorJournal.journalTaskExecutor(taskExecutionContext(1));
+        physicalTaskExecutorJournal.journalEventReported(startedEvent(1));
+
+        final PhysicalTaskExecutorLifecycleEventReporter reporter = restart();
+
+        verify(reporter, never()).resendTaskExecutorLifecycleEvent(any());
+        assertThat(physicalTaskExecutorJournal.getTaskExecutionContexts()).isEmpty();
+        assertThat(physicalTaskExecutorJournal.getUnAckedEvents()).isEmpty();
+    }
+
+    @Test
+    void restart_resendEventsToReassignedWorkflowInstanceHost() {
+        physicalTaskExecutorJournal.journalEventReported(successEvent(1));
+        physicalTaskExecutorJournal.journalWorkflowInstanceHostReassigned(1, "127.0.0.2:5678");
+
+        final PhysicalTaskExecutorLifecycleEventReporter reporter = restart();
+
+        final ArgumentCaptor<IReportableTaskExecutorLifecycleEvent> eventCaptor =
+                ArgumentCaptor.forClass(IReportableTaskExecutorLifecycleEvent.class);
+        verify(reporter).resendTaskExecutorLifecycleEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getWorkflowInstanceHost()).isEqualTo("127.0.0.2:5678");
+    }
+
+    @Test
+    void restart_skipBrokenRecordAtTheEnd() throws Exception {
+        physicalTaskExecutorJournal.journalEventReported(successEvent(1));
+        Files.write(journalDir.resolve(PhysicalTaskExecutorJournal.JOURNAL_FILE_NAME),
+                "{\"type\":\"EVENT_ACK".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        final PhysicalTaskExecutorLifecycleEventReporter reporter = restart();
+
+        verify(reporter).resendTaskExecutorLifecycleEvent(any());
+    }
+
+    @Test
+    void compact_onlyKeepRunningExecutorsAndUnAckedEvents() throws Exception {
+        for (int i = 1; i <= 10; i++) {
+            physicalTaskExecutorJournal.journalTaskExecutor(taskExecutionContext(i));
+            physicalTaskExecutorJournal.journalEventReported(successEvent(i));
+            physicalTaskExecutorJournal.journalEventAcked(i, TaskExecutorLifecycleEventType.SUCCESS);
+            physicalTaskExecutorJournal.journalTaskExecutorRemoved(i);
+        }
+        physicalTaskExecutorJournal.journalTaskExecutor(taskExecutionContext(11));
+        physicalTaskExecutorJournal.journalEventReported(successEvent(12));
+
+        physicalTaskExecutorJournal.compact();
+
+        final List<String> records =
+                Files.readAllLines(journalDir.resolve(PhysicalTaskExecutorJournal.JOURNAL_FILE_NAME));
+        assertThat(records).hasSize(2);
+        assertThat(physicalTaskExecutorJournal.getTaskExecutionContexts().keySet()).containsExactly(11);
+        assertThat(physicalTaskExecutorJournal.getUnAckedEvents().keySet()).containsExactly(12);
+    }
+
+    @Test
+    void compact_keepAppendingAfterFailedToMoveTheCompactedJournal() throws Exception {
+        physicalTaskExecutorJournal.journalEventReported(successEvent(1));
+        // The compacted journal cannot replace a non-empty directory
+        final Path journalFile = journalDir.resolve(PhysicalTaskExecutorJournal.JOURNAL_FILE_NAME);
+        Files.delete(journalFile);
+        Files.createDirectories(journalFile.resolve("blocker"));
+        assertThrows(IOException.class, physicalTaskExecutorJournal::compact);
+
+        Files.delete(journalFile.resolve("blocker"));
+        Files.delete(journalFile);
+        physicalTaskExecutorJournal.journalEventReported(successEvent(2));
+        assertThat(Files.readAllLines(journalFile)).hasSize(1);
+
+        physicalTaskExecutorJournal.compact();
+        final PhysicalTaskExecutorLifecycleEventReporter reporter = restart();
+        verify(reporter, times(2)).resendTaskExecutorLifecycleEvent(any());
+    }
+
+    @Test
+    void append_groupCommitTheConcurrentRecords() throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 1; i <= 100; i++) {
+                final int taskInstanceId = i;
+                futures.add(executorService
+                        .submit(() -> physicalTaskExecutorJournal.journalEventReported(successEvent(taskInstanceId))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        // Every append returns after its record is flushed
+        assertThat(physicalTaskExecutorJournal.getAppendedSequence()).isEqualTo(100L);
+        assertThat(physicalTaskExecutorJournal.getForcedSequence()).isEqualTo(100L);
+
+        final PhysicalTaskExecutorLifecycleEventReporter reporter = restart();
+        verify(reporter, times(100)).resendTaskExecutorLifecycleEvent(any());
+    }
+
+    @Test
+    void append_flushInIntervalWithIntervalFsyncPolicy() {
+        physicalTaskExecutorJournal.close();
+        workerConfig.getJournalConfig().setFsyncPolicy(WorkerJournalConfig.FsyncPolicy.INTERVAL);
+        workerConfig.getJournalConfig().setFsyncInterval(Duration.ofHours(1));
+        physicalTaskExecutorJournal = new PhysicalTaskExecutorJournal(workerConfig);
+        physicalTaskExecutorJournal.start(mock(PhysicalTaskExecutorLifecycleEventReporter.class));
+
+        physicalTaskExecutorJournal.journalEventReported(successEvent(1));
+        physicalTaskExecutorJournal.journalEventReported(successEvent(2));
+        assertThat(physicalTaskExecutorJournal.getAppendedSequence()).isEqualTo(2L);
+        assertThat(physicalTaskExecutorJournal.getForcedSequence()).isEqualTo(0L);
+
+        physicalTaskExecutorJournal.forceAppended();
+        assertThat(physicalTaskExecutorJournal.getForcedSequence()).isEqualTo(2L);
+
+        physicalTaskExecutorJournal.journalEventReported(successEvent(3));
+        assertThat(physicalTaskExecutorJournal.getForcedSequence()).isEqualTo(2L);
+    }
+
+    @Test
+    void journalTaskExecutor_onlyJournalFieldsToKillOrphanTask() throws Exception {
+        final TaskExecutionContext taskExecutionContext = taskExecutionContext(1);
+        taskExecutionContext.setProcessId(100);
+        taskExecutionContext.setExecutePath("/tmp/dolphinscheduler/exec/1");
+        taskExecutionContext.setAppIds("application_1");
+        taskExecutionContext.setTaskParams(Strings.repeat("x", 1024 * 1024));
+        physicalTaskExecutorJournal.journalTaskExecutor(taskExecutionContext);
+
+        assertThat(Files.size(journalDir.resolve(PhysicalTaskExecutorJournal.JOURNAL_FILE_NAME))).isLessThan(1024L);
+        final TaskExecutionContext journaledTaskExecutionContext =
+                physicalTaskExecutorJournal.getTaskExecutionContexts().get(1);
+        assertThat(journaledTaskExecutionContext.getProcessId()).isEqualTo(100);
+        assertThat(journaledTaskExecutionContext.getExecutePath()).isEqualTo("/tmp/dolphinscheduler/exec/1");
+        assertThat(journaledTaskExecutionContext.getAppIds()).isEqualTo("application_1");
+        assertThat(journaledTaskExecutionContext.getWorkflowInstanceHost()).isEqualTo("127.0.0.1:5678");
+        assertThat(journaledTaskExecutionContext.getTaskParams()).isNull();
+    }
+
+    private PhysicalTaskExecutorLifecycleEventReporter restart() {
+        physicalTaskExecutorJournal.close();
+        final PhysicalTaskExecutorLifecycleEventReporter reporter =
+                mock(PhysicalTaskExecutorLifecycleEventReporter.class);
+        physicalTaskExecutorJournal = new PhysicalTaskExecutorJournal(workerConfig);
+        physicalTaskExecutorJournal.start(reporter);
+        return reporter;
+    }
+
+    private TaskExecutionContext taskExecutionContext(final int taskInstanceId) {
+        return TaskExecutionContext.builder()
+                .taskInstanceId(taskInstanceId)
+                .workflowInstanceId(1)
+                .workflowInstanceHost("127.0.0.1:5678")
+                .taskName("task-" + taskInstanceId)
+                .build();
+    }
+
+    private TaskExecutorStartedLifecycleEvent startedEvent(final int taskInstanceId) {
+        return TaskExecutorStartedLifecycleEvent.builder()
+                .taskInstanceId(taskInstanceId)
+                .workflowInstanceId(1)
+                .workflowInstanceHost("127.0.0.1:5678")
+                .type(TaskExecutorLifecycleEventType.RUNNING)
+                .startTime(System.currentTimeMillis())
+                .build();
+    }
+
+    private TaskExecutorSuccessLifecycleEvent successEvent(final int taskInstanceId) {
+        return TaskExecutorSuccessLifecycleEvent.builder()
+                .taskInstanceId(taskInstanceId)
+                .workflowInstanceId(1)
+                .workflowInstanceHost("127.0.0.1:5678")
+                .type(TaskExecutorLifecycleEventType.SUCCESS)
+                .varPool("[]")
+                .endTime(System.currentTimeMillis())
+                .latestReportTime(System.currentTimeMillis())
+                .build();
+    }
+}
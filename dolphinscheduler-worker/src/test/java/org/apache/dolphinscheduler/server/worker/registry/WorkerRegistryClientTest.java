@@ -26,7 +26,9 @@ import org.apache.dolphinscheduler.meter.metrics.MetricsProvider;
 import org.apache.dolphinscheduler.meter.metrics.SystemMetrics;
 import org.apache.dolphinscheduler.registry.api.RegistryClient;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+import org.apache.dolphinscheduler.server.worker.config.PhysicalTaskConfig;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.config.WorkerLoadReportConfig;
 import org.apache.dolphinscheduler.server.worker.config.WorkerServerLoadProtection;
 import org.apache.dolphinscheduler.server.worker.executor.PhysicalTaskExecutorContainerProvider;
 import org.apache.dolphinscheduler.task.executor.container.ExclusiveThreadTaskExecutorContainer;
@@ -78,6 +80,8 @@ public class WorkerRegistryClientTest {
         given(workerConfig.getWorkerAddress()).willReturn(NetUtils.getAddr(1234));
         given(workerConfig.getMaxHeartbeatInterval()).willReturn(Duration.ofSeconds(1));
         given(workerConfig.getServerLoadProtection()).willReturn(new WorkerServerLoadProtection());
+        given(workerConfig.getLoadReportConfig()).willReturn(new WorkerLoadReportConfig());
+        given(workerConfig.getPhysicalTaskConfig()).willReturn(new PhysicalTaskConfig());
         given(metricsProvider.getSystemMetrics()).willReturn(new SystemMetrics());
         given(registryClient.checkNodeExists(Mockito.anyString(), Mockito.any(RegistryNodeType.class)))
                 .willReturn(true);
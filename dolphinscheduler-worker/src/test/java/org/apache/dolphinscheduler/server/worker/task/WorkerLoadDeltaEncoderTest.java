@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.task;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.common.enums.ServerStatus;
+import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
+import org.apache.dolphinscheduler.extract.master.transportor.WorkerLoadDelta;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+class WorkerLoadDeltaEncoderTest {
+
+    private static final long STARTUP_TIME = 1_000L;
+
+    @Test
+    void encode_firstReport_isFullSnapshot() {
+        WorkerLoadDeltaEncoder encoder = new WorkerLoadDeltaEncoder("127.0.0.1:1234", 10_000L, 0.01);
+
+        WorkerLoadDelta delta = encoder.encode(heartBeat(2_000L, 0.2, 0.3, 0.4, ServerStatus.NORMAL)).get();
+
+        assertThat(delta.isFullSnapshot()).isTrue();
+        assertThat(delta.getSequence()).isEqualTo(1L);
+        assertThat(delta.getWorkerAddress()).isEqualTo("127.0.0.1:1234");
+        assertThat(delta.getServerStartupTime()).isEqualTo(STARTUP_TIME);
+        assertThat(delta.getChangedFields()).isEqualTo(WorkerLoadDelta.ALL_FIELDS);
+        assertThat(delta.getCpuUsage()).isEqualTo(0.2);
+        assertThat(delta.getMemoryUsage()).isEqualTo(0.3);
+        assertThat(delta.getTaskThreadPoolUsage()).isEqualTo(0.4);
+        assertThat(delta.getServerStatus()).isEqualTo(ServerStatus.NORMAL);
+    }
+
+    @Test
+    void encode_onlyCarryChangedFields() {
+        WorkerLoadDeltaEncoder encoder = new WorkerLoadDeltaEncoder("127.0.0.1:1234", 10_000L, 0.01);
+        encoder.encode(heartBeat(2_000L, 0.2, 0.3, 0.4, ServerStatus.NORMAL));
+
+        WorkerLoadDelta delta = encoder.encode(heartBeat(2_500L, 0.201, 0.3, 1, ServerStatus.BUSY)).get();
+
+        assertThat(delta.isFullSnapshot()).isFalse();
+        assertThat(delta.getSequence()).isEqualTo(2L);
+        assertThat(delta.getReportTime()).isEqualTo(2_500L);
+        assertThat(delta.isChanged(WorkerLoadDelta.CPU_USAGE)).isFalse();
+        assertThat(delta.isChanged(WorkerLoadDelta.MEMORY_USAGE)).isFalse();
+        assertThat(delta.isChanged(WorkerLoadDelta.TASK_THREAD_POOL_USAGE)).isTrue();
+        assertThat(delta.isChanged(WorkerLoadDelta.SERVER_STATUS)).isTrue();
+        assertThat(delta.getTaskThreadPoolUsage()).isEqualTo(1);
+        assertThat(delta.getServerStatus()).isEqualTo(ServerStatus.BUSY);
+    }
+
+    @Test
+    void encode_availableResourceChanged() {
+        WorkerLoadDeltaEncoder encoder = new WorkerLoadDeltaEncoder("127.0.0.1:1234", 10_000L, 0.01);
+        encoder.encode(heartBeat(2_000L, 0.2, 0.3, 0.4, ServerStatus.NORMAL));
+
+        WorkerHeartBeat workerHeartBeat = heartBeat(2_500L, 0.2, 0.3, 0.4, ServerStatus.NORMAL);
+        workerHeartBeat.setAvailableCpuQuota(100);
+        WorkerLoadDelta delta = encoder.encode(workerHeartBeat).get();
+
+        assertThat(delta.getChangedFields()).isEqualTo(WorkerLoadDelta.AVAILABLE_RESOURCE);
+        assertThat(delta.getAvailableCpuQuota()).isEqualTo(100);
+        assertThat(delta.getAvailableMemoryMax()).isEqualTo(-1);
+    }
+
+    @Test
+    void encode_nothingChanged_returnEmpty() {
+        WorkerLoadDeltaEncoder encoder = new WorkerLoadDeltaEncoder("127.0.0.1:1234", 10_000L, 0.01);
+        encoder.encode(heartBeat(2_000L, 0.2, 0.3, 0.4, ServerStatus.NORMAL));
+
+        Optional<WorkerLoadDelta> delta = encoder.encode(heartBeat(2_500L, 0.205, 0.3, 0.4, ServerStatus.NORMAL));
+
+        assertThat(delta.isPresent()).isFalse();
+    }
+
+    @Test
+    void encode_smallChangesAccumulate() {
+        WorkerLoadDeltaEncoder encoder = new WorkerLoadDeltaEncoder("127.0.0.1:1234", 10_000L, 0.01);
+        encoder.encode(heartBeat(2_000L, 0.2, 0.3, 0.4, ServerStatus.NORMAL));
+        encoder.encode(heartBeat(2_500L, 0.205, 0.3, 0.4, ServerStatus.NORMAL));
+
+        WorkerLoadDelta delta = encoder.encode(heartBeat(3_000L, 0.215, 0.3, 0.4, ServerStatus.NORMAL)).get();
+
+        assertThat(delta.getChangedFields()).isEqualTo(WorkerLoadDelta.CPU_USAGE);
+        assertThat(delta.getCpuUsage()).isEqualTo(0.215);
+    }
+
+    @Test
+    void encode_fullReportIntervalElapsed_isFullSnapshot() {
+        WorkerLoadDeltaEncoder encoder = new WorkerLoadDeltaEncoder("127.0.0.1:1234", 10_000L, 0.01);
+        encoder.encode(heartBeat(2_000L, 0.2, 0.3, 0.4, ServerStatus.NORMAL));
+
+        WorkerLoadDelta delta = encoder.encode(heartBeat(12_000L, 0.2, 0.3, 0.4, ServerStatus.NORMAL)).get();
+
+        assertThat(delta.isFullSnapshot()).isTrue();
+        assertThat(delta.getSequence()).isEqualTo(2L);
+    }
+
+    @Test
+    void encode_afterReset_isFullSnapshot() {
+        WorkerLoadDeltaEncoder encoder = new WorkerLoadDeltaEncoder("127.0.0.1:1234", 10_000L, 0.01);
+        encoder.encode(heartBeat(2_000L, 0.2, 0.3, 0.4, ServerStatus.NORMAL));
+        encoder.reset();
+
+        WorkerLoadDelta delta = encoder.encode(heartBeat(2_500L, 0.2, 0.3, 0.4, ServerStatus.NORMAL)).get();
+
+        assertThat(delta.isFullSnapshot()).isTrue();
+    }
+
+    private WorkerHeartBeat heartBeat(long reportTime,
+                                      double cpuUsage,
+                                      double memoryUsage,
+                                      double threadPoolUsage,
+                                      ServerStatus serverStatus) {
+        return WorkerHeartBeat.builder()
+                .startupTime(STARTUP_TIME)
+                .reportTime(reportTime)
+                .cpuUsage(cpuUsage)
+                .memoryUsage(memoryUsage)
+                .threadPoolUsage(threadPoolUsage)
+                .serverStatus(serverStatus)
+                .build();
+    }
+}
@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.server.worker.utils;
 
 import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
@@ -28,7 +29,9 @@ import org.apache.curator.shaded.com.google.common.io.Files;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.Assertions;
@@ -160,6 +163,125 @@ public class TaskFilesTransferUtilsTest {
                 () -> TaskFilesTransferUtils.downloadUpstreamFiles(taskExecutionContext, storageOperator));
     }
 
+    @Test
+    void testDownloadUpstreamFilesFromLocalCache() throws Exception {
+        File upstreamExecutePath = Files.createTempDir();
+        File upstreamFile = new File(upstreamExecutePath, "cached.txt");
+        Files.write("cached content", upstreamFile, StandardCharsets.UTF_8);
+        String resourcePath = exceptTemplate + "_" + System.nanoTime() + "_cached.txt";
+        TaskFilesTransferUtils.cacheOutputFile(upstreamFile.getPath(), resourcePath);
+
+        File executePath = Files.createTempDir();
+        String varPool = String.format(
+                "[{\"prop\":\"task1.file\",\"direct\":\"IN\",\"type\":\"FILE\",\"value\":\"%s\"}]",
+                resourcePath);
+        String taskParams =
+                "{\"localParams\": [{\"prop\":\"file\",\"direct\":\"IN\",\"type\":\"FILE\",\"value\":\"task1.file\"}]}";
+        TaskExecutionContext taskExecutionContext = TaskExecutionContext.builder()
+                .varPool(varPool)
+                .taskParams(taskParams)
+                .tenantCode(tenantCode)
+                .executePath(executePath.toString())
+                .build();
+
+        StorageOperator storageOperator = Mockito.mock(StorageOperator.class);
+        TaskFilesTransferUtils.downloadUpstreamFiles(taskExecutionContext, storageOperator);
+
+        Mockito.verify(storageOperator, Mockito.never()).download(Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+        Assertions.assertEquals("cached content",
+                Files.asCharSource(new File(executePath, "file"), StandardCharsets.UTF_8).read());
+    }
+
+    @Test
+    void testDownloadUpstreamFilesWithChangedLocalCache() throws Exception {
+        File upstreamExecutePath = Files.createTempDir();
+        File upstreamFile = new File(upstreamExecutePath, "changed.txt");
+        Files.write("cached content", upstreamFile, StandardCharsets.UTF_8);
+        String resourcePath = exceptTemplate + "_" + System.nanoTime() + "_changed.txt";
+        TaskFilesTransferUtils.cacheOutputFile(upstreamFile.getPath(), resourcePath);
+        // the cached file is linked to the output file, so it is changed as well
+        Files.write("changed content", upstreamFile, StandardCharsets.UTF_8);
+        Assertions.assertFalse(
+                TaskFilesTransferUtils
+                        .verifyCachedFile(new File(TaskFilesTransferUtils.LOCAL_CACHE_PATH, resourcePath)));
+
+        File executePath = Files.createTempDir();
+        String varPool = String.format(
+                "[{\"prop\":\"task1.file\",\"direct\":\"IN\",\"type\":\"FILE\",\"value\":\"%s\"}]",
+                resourcePath);
+        String taskParams =
+                "{\"localParams\": [{\"prop\":\"file\",\"direct\":\"IN\",\"type\":\"FILE\",\"value\":\"task1.file\"}]}";
+        TaskExecutionContext taskExecutionContext = TaskExecutionContext.builder()
+                .varPool(varPool)
+                .taskParams(taskParams)
+                .tenantCode(tenantCode)
+                .executePath(executePath.toString())
+                .build();
+
+        StorageOperator storageOperator = Mockito.mock(StorageOperator.class);
+        TaskFilesTransferUtils.downloadUpstreamFiles(taskExecutionContext, storageOperator);
+
+        Mockito.verify(storageOperator).download(Mockito.any(), Mockito.eq(executePath + "/file"), Mockito.eq(true));
+    }
+
+    @Test
+    void testVerifyCachedFile() throws Exception {
+        File upstreamExecutePath = Files.createTempDir();
+        File upstreamFile = new File(upstreamExecutePath, "verified.txt");
+        Files.write("cached content", upstreamFile, StandardCharsets.UTF_8);
+        String resourcePath = exceptTemplate + "_" + System.nanoTime() + "_verified.txt";
+        TaskFilesTransferUtils.cacheOutputFile(upstreamFile.getPath(), resourcePath);
+        File cachedFile = new File(TaskFilesTransferUtils.LOCAL_CACHE_PATH, resourcePath);
+        File cachedMetaFile = new File(cachedFile.getPath() + TaskFilesTransferUtils.LOCAL_CACHE_META_SUFFIX);
+
+        // the checksum is not calculated when the size and the modified time are not changed
+        Files.write(JSONUtils.toJsonString(new TaskFilesTransferUtils.CachedFileMeta("unknown",
+                cachedFile.length(), cachedFile.lastModified())), cachedMetaFile, StandardCharsets.UTF_8);
+        Assertions.assertTrue(TaskFilesTransferUtils.verifyCachedFile(cachedFile));
+
+        // the checksum is calculated when the file is touched
+        Assertions.assertTrue(cachedFile.setLastModified(cachedFile.lastModified() - 60_000L));
+        Assertions.assertFalse(TaskFilesTransferUtils.verifyCachedFile(cachedFile));
+
+        TaskFilesTransferUtils.cacheOutputFile(upstreamFile.getPath(), resourcePath);
+        Assertions.assertTrue(cachedFile.setLastModified(cachedFile.lastModified() - 60_000L));
+        Assertions.assertTrue(TaskFilesTransferUtils.verifyCachedFile(cachedFile));
+        TaskFilesTransferUtils.CachedFileMeta cachedFileMeta = JSONUtils.parseObject(
+                Files.asCharSource(cachedMetaFile, StandardCharsets.UTF_8).read(),
+                TaskFilesTransferUtils.CachedFileMeta.class);
+        Assertions.assertEquals(cachedFile.lastModified(), cachedFileMeta.getLastModified());
+    }
+
+    @Test
+    void testEvictCachedFilesExceedingSize() throws Exception {
+        org.apache.commons.io.FileUtils.deleteDirectory(
+                new File(TaskFilesTransferUtils.LOCAL_CACHE_PATH, TaskFilesTransferUtils.RESOURCE_TAG));
+        File upstreamExecutePath = Files.createTempDir();
+        String resourcePrefix = exceptTemplate + "_" + System.nanoTime();
+        List<File> cachedFiles = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            File upstreamFile = new File(upstreamExecutePath, "evicted" + i + ".txt");
+            Files.write("cached content", upstreamFile, StandardCharsets.UTF_8);
+            String resourcePath = resourcePrefix + "_evicted" + i + ".txt";
+            TaskFilesTransferUtils.cacheOutputFile(upstreamFile.getPath(), resourcePath);
+            File cachedFile = new File(TaskFilesTransferUtils.LOCAL_CACHE_PATH, resourcePath);
+            // the first file is the least recently used one
+            Assertions.assertTrue(new File(cachedFile.getPath() + TaskFilesTransferUtils.LOCAL_CACHE_META_SUFFIX)
+                    .setLastModified(System.currentTimeMillis() - 60_000L * (3 - i)));
+            cachedFiles.add(cachedFile);
+        }
+        // the first file is used again, so the second one is the least recently used one
+        Assertions.assertTrue(TaskFilesTransferUtils.verifyCachedFile(cachedFiles.get(0)));
+
+        TaskFilesTransferUtils.evictCachedFilesExceedingSize(cachedFiles.get(0).length() * 2);
+
+        Assertions.assertTrue(cachedFiles.get(0).exists());
+        Assertions.assertFalse(cachedFiles.get(1).exists());
+        Assertions.assertFalse(new File(cachedFiles.get(1).getPath() + TaskFilesTransferUtils.LOCAL_CACHE_META_SUFFIX)
+                .exists());
+        Assertions.assertTrue(cachedFiles.get(2).exists());
+    }
+
     @Test
     void testGetFileLocalParams() {
         String taskParams = "{\"localParams\":[" +